@@ -29,7 +29,6 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.tools.compare.simple.CompareObjectsExecutor;
 import org.jkiss.dbeaver.tools.compare.simple.CompareObjectsSettings;
-import org.jkiss.dbeaver.tools.compare.simple.CompareReport;
 import org.jkiss.dbeaver.tools.compare.simple.CompareReportRenderer;
 import org.jkiss.dbeaver.tools.compare.simple.ui.internal.CompareUIMessages;
 import org.jkiss.dbeaver.ui.DialogSettingsDelegate;
@@ -108,8 +107,7 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
         try {
             UIUtils.run(getContainer(), true, true, monitor -> {
                 try {
-                    CompareReport report = generateReport(monitor, executor);
-                    renderReport(monitor, report);
+                    generateReport(monitor, executor);
                 } catch (DBException e) {
                     throw new InvocationTargetException(e);
                 }
@@ -134,15 +132,7 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
         return true;
     }
 
-    private CompareReport generateReport(DBRProgressMonitor monitor, CompareObjectsExecutor executor) throws DBException, InterruptedException
-    {
-        monitor.beginTask("Compare objects", 1000);
-        CompareReport report = executor.compareObjects(monitor, getSettings().getNodes());
-        monitor.done();
-        return report;
-    }
-
-    private void renderReport(DBRProgressMonitor monitor, CompareReport report)
+    private void generateReport(DBRProgressMonitor monitor, CompareObjectsExecutor executor) throws DBException, InterruptedException
     {
         try {
             File reportFile;
@@ -153,7 +143,7 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
                 default:
                 {
                     StringBuilder fileName = new StringBuilder("compare");//"compare-report.html";
-                    for (DBNDatabaseNode node : report.getNodes()) {
+                    for (DBNDatabaseNode node : settings.getNodes()) {
                         fileName.append("-").append(CommonUtils.escapeIdentifier(node.getName()));
                     }
                     fileName.append("-report.html");
@@ -170,9 +160,11 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
 
             reportFile.deleteOnExit();
             try (OutputStream outputStream = new FileOutputStream(reportFile)) {
-                monitor.beginTask("Render report", report.getReportLines().size());
+                // Report lines are rendered while objects are compared
+                monitor.beginTask("Compare objects", 1000);
                 CompareReportRenderer reportRenderer = new CompareReportRenderer();
-                reportRenderer.renderReport(monitor, report, getSettings(), outputStream);
+                reportRenderer.beginReport(monitor, getSettings(), outputStream);
+                executor.compareObjects(monitor, getSettings().getNodes(), reportRenderer);
                 monitor.done();
             }
             if (settings.getOutputType() == CompareObjectsSettings.OutputType.BROWSER) {
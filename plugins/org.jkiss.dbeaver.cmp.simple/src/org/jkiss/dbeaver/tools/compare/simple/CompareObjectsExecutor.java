@@ -17,6 +17,8 @@
 package org.jkiss.dbeaver.tools.compare.simple;
 
 import org.eclipse.core.runtime.IStatus;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBConstants;
@@ -27,38 +29,53 @@ import org.jkiss.dbeaver.model.navigator.DBNDatabaseFolder;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.meta.DBXTreeNode;
 import org.jkiss.dbeaver.model.preferences.DBPPropertyDescriptor;
-import org.jkiss.dbeaver.model.runtime.DBRProgressListener;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.SubTaskProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.dbeaver.runtime.properties.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-
+import java.util.concurrent.*;
+
+/**
+ * Compares object trees.
+ * <p>
+ * If only differences are shown then executor first computes structural fingerprints of all compared trees (in parallel, one task per tree).
+ * Fingerprint of object is a hash of its compared properties and fingerprints of its children,
+ * so identical subtrees are skipped without reading their properties once again.
+ * Report lines are passed to {@link CompareReportSink} as soon as they are produced.
+ */
 public class CompareObjectsExecutor {
 
     private static final Log log = Log.getLog(CompareObjectsExecutor.class);
 
+    private static final String FINGERPRINT_ALGORITHM = "MD5";
+
     private final Object PROPS_LOCK = new Object();
 
     private CompareObjectsSettings settings;
 
     private final List<DBNDatabaseNode> rootNodes;
     private final Map<DBPDataSource, DataSourcePropertyFilter> dataSourceFilters = new IdentityHashMap<>();
+    private final Map<PropertySetKey, ComparedProperties> comparedProperties = new ConcurrentHashMap<>();
 
-    private final DBRProgressListener initializeFinisher;
     private final ILazyPropertyLoadListener lazyPropertyLoadListener;
 
-    private volatile int initializedCount = 0;
     private volatile IStatus initializeError;
     private final Map<Object, Map<DBPPropertyDescriptor, Object>> propertyValues = new IdentityHashMap<>();
+    // Fingerprints of all compared trees. Null if subtrees are not skipped.
+    private Map<DBNDatabaseNode, NodeFingerprint> fingerprints;
 
-    private final List<CompareReportLine> reportLines = new ArrayList<>();
+    private CompareReportSink reportSink;
     private int reportDepth = 0;
     private CompareReportLine lastLine;
 
-    private void reportObjectsCompareBegin(List<DBNDatabaseNode> objects)
+    private CompareReportLine reportObjectsCompareBegin(List<DBNDatabaseNode> objects)
     {
         reportDepth++;
         lastLine = new CompareReportLine();
@@ -79,7 +96,7 @@ public class CompareObjectsExecutor {
                 break;
             }
         }
-        reportLines.add(lastLine);
+        return lastLine;
     }
 
     private void reportPropertyCompare(ObjectPropertyDescriptor property)
@@ -120,17 +137,6 @@ public class CompareObjectsExecutor {
         this.settings = settings;
         this.rootNodes = settings.getNodes();
 
-        initializeFinisher = new DBRProgressListener() {
-            @Override
-            public void onTaskFinished(IStatus status)
-            {
-                if (!status.isOK()) {
-                    initializeError = status;
-                } else {
-                    initializedCount++;
-                }
-            }
-        };
         lazyPropertyLoadListener = new ILazyPropertyLoadListener() {
             @Override
             public void handlePropertyLoad(Object object, DBPPropertyDescriptor property, Object propertyValue, boolean completed)
@@ -156,29 +162,87 @@ public class CompareObjectsExecutor {
         PropertiesContributor.getInstance().removeLazyListener(lazyPropertyLoadListener);
     }
 
+    /**
+     * Compares objects and keeps all report lines in memory.
+     * Use {@link #compareObjects(DBRProgressMonitor, List, CompareReportSink)} for big trees.
+     */
     public CompareReport compareObjects(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
         throws DBException, InterruptedException
     {
-        reportLines.clear();
-        lastLine = null;
+        List<CompareReportLine> reportLines = new ArrayList<>();
+        compareObjects(monitor, nodes, new CompareReportSink() {
+            @Override
+            public void reportStart(@NotNull List<DBNDatabaseNode> nodes) {
+            }
+
+            @Override
+            public void reportLine(@NotNull CompareReportLine line) {
+                reportLines.add(line);
+            }
+
+            @Override
+            public void reportSkipped(int lineCount) {
+            }
 
-        compareNodes(monitor, nodes);
+            @Override
+            public void reportEnd() {
+            }
+        });
         return new CompareReport(rootNodes, reportLines);
     }
 
-    private void compareNodes(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
+    public void compareObjects(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes, CompareReportSink sink)
         throws DBException, InterruptedException
     {
-        reportObjectsCompareBegin(nodes);
+        this.reportSink = sink;
+        this.lastLine = null;
+        this.reportDepth = 0;
+        this.fingerprints = null;
+        this.initializeError = null;
+        try {
+            if (settings.isShowOnlyDifferences() && nodes.size() > 1) {
+                // Identical subtrees are not shown, so there is no need to compare them
+                fingerprints = computeFingerprints(monitor, nodes);
+            }
+            sink.reportStart(rootNodes);
+            compareNodes(monitor, nodes);
+            sink.reportEnd();
+        } catch (IOException e) {
+            throw new DBException("Error writing compare report", e);
+        } finally {
+            this.reportSink = null;
+            this.lastLine = null;
+            this.fingerprints = null;
+        }
+    }
+
+    private void compareNodes(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
+        throws DBException, InterruptedException, IOException
+    {
+        CompareReportLine line = reportObjectsCompareBegin(nodes);
 
         try {
             if (nodes.size() > 1) {
+                if (fingerprints != null) {
+                    NodeFingerprint fingerprint = getSameFingerprint(nodes);
+                    if (fingerprint != null) {
+                        reportSink.reportSkipped(fingerprint.lineCount);
+                        return;
+                    }
+                    // Something differs in subtree
+                    line.hasDifference = true;
+                }
                 // Go deeper only if we have more than one node
                 if (!(nodes.get(0) instanceof DBNDatabaseFolder)) {
                     compareProperties(monitor, nodes);
                 }
+                reportSink.reportLine(line);
+                lastLine = null;
 
                 compareChildren(monitor, nodes);
+            } else {
+                reportSink.reportLine(line);
+                lastLine = null;
             }
         } finally {
             reportObjectsCompareEnd();
@@ -187,11 +251,7 @@ public class CompareObjectsExecutor {
 
     private void compareProperties(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes) throws DBException, InterruptedException
     {
-        boolean onlyStruct = settings.isCompareOnlyStructure();
-
         // Clear compare singletons
-        this.initializedCount = 0;
-        this.initializeError = null;
         this.propertyValues.clear();
 
         StringBuilder title = new StringBuilder();
@@ -201,39 +261,16 @@ public class CompareObjectsExecutor {
             for (DBNDatabaseNode node : nodes) {
                 if (title.length() > 0) title.append(", ");
                 title.append(node.getNodeFullName());
-                node.initializeNode(null, initializeFinisher);
+                initializeNode(monitor, node);
                 monitor.worked(1);
             }
-            while (initializedCount != nodes.size()) {
-                if (initializeError != null) {
-                    throw new DBException(initializeError.getMessage());
-                }
-                Thread.sleep(50);
-                if (monitor.isCanceled()) {
-                    throw new InterruptedException();
-                }
-            }
         }
 
         monitor.subTask("Compare " + title.toString());
-        boolean compareLazyProperties = false;
 
         DBNDatabaseNode firstNode = nodes.get(0);
-        List<ObjectPropertyDescriptor> properties = ObjectPropertyDescriptor.extractAnnotations(
-            null,
-            firstNode.getObject().getClass(),
-            getDataSourceFilter(firstNode), null);
-        for (ObjectPropertyDescriptor prop : properties) {
-            if (prop.isLazy()) {
-                compareLazyProperties = true;
-                break;
-            }
-        }
-
-        boolean compareScripts = compareLazyProperties && settings.isCompareScripts();
-        compareLazyProperties = compareLazyProperties && settings.isCompareLazyProperties();
-
-        if (onlyStruct && !compareScripts) {
+        ComparedProperties properties = getComparedProperties(firstNode);
+        if (properties.skip) {
             return;
         }
 
@@ -242,53 +279,20 @@ public class CompareObjectsExecutor {
             if (monitor.isCanceled()) {
                 throw new InterruptedException();
             }
-            DBSObject databaseObject = node.getObject();
-            Map<DBPPropertyDescriptor, Object> nodeProperties = propertyValues.get(databaseObject);
-            if (nodeProperties == null) {
-                nodeProperties = new IdentityHashMap<>();
-                propertyValues.put(databaseObject, nodeProperties);
-            }
-            PropertyCollector propertySource = new PropertyCollector(databaseObject, compareLazyProperties || compareScripts);
-            for (ObjectPropertyDescriptor prop : properties) {
-                boolean isScriptProperty = prop.getId().equals(DBConstants.PARAM_OBJECT_DEFINITION_TEXT) || prop.getId().equals(DBConstants.PARAM_EXTENDED_DEFINITION_TEXT);
-                if (prop.isLazy()) {
-                    if (!compareLazyProperties) {
-                        if (compareScripts) {
-                            // Only DBPScriptObject methods
-                            if (!isScriptProperty) {
-                                continue;
-                            }
-                        } else {
-                            continue;
-                        }
-                    }
-                } else {
-                    if (prop.isHidden()) {
-                        continue;
-                    }
-                }
-                if (onlyStruct && !isScriptProperty) {
-                    continue;
-                }
-                Object propertyValue = propertySource.getPropertyValue(monitor, databaseObject, prop, true);
-                synchronized (PROPS_LOCK) {
-                    if (propertyValue instanceof DBPNamedObject) {
-                        // Compare just object names
-                        propertyValue = ((DBPNamedObject) propertyValue).getName();
-                    }
-                    nodeProperties.put(prop, propertyValue);
-                }
+            Map<DBPPropertyDescriptor, Object> nodeProperties = readProperties(monitor, node, properties);
+            synchronized (propertyValues) {
+                propertyValues.put(node.getObject(), nodeProperties);
             }
             monitor.worked(1);
         }
 
         // Compare properties
-        for (ObjectPropertyDescriptor prop : properties) {
+        for (ObjectPropertyDescriptor prop : properties.allProperties) {
             reportPropertyCompare(prop);
         }
     }
 
-    private void compareChildren(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes) throws DBException, InterruptedException
+    private void compareChildren(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes) throws DBException, InterruptedException, IOException
     {
         // Compare children
         int nodeCount = nodes.size();
@@ -296,87 +300,391 @@ public class CompareObjectsExecutor {
         // Use submonitor to avoid huge number of tasks
         DBRProgressMonitor subMonitor = new SubTaskProgressMonitor(monitor);
         for (int i = 0; i < nodeCount; i++) {
-            DBNDatabaseNode node = nodes.get(i);
-            // Cache structure if possible
-            if (node.getObject() instanceof DBSObjectContainer) {
-                ((DBSObjectContainer) node.getObject()).cacheStructure(subMonitor, DBSObjectContainer.STRUCT_ALL);
-            }
             try {
-                DBNDatabaseNode[] children = node.getChildren(subMonitor);
-                allChildren.add(children);
+                allChildren.add(readChildren(subMonitor, nodes.get(i)));
             } catch (Exception e) {
                 log.warn("Error reading child nodes for compare", e);
                 allChildren.add(null);
             }
         }
 
+        // Index children by name. Only the first child with the same name is compared.
+        List<Map<String, DBNDatabaseNode>> childrenByName = new ArrayList<>(nodeCount);
         Set<String> allChildNames = new LinkedHashSet<>();
         for (DBNDatabaseNode[] childList : allChildren) {
+            Map<String, DBNDatabaseNode> childMap = new HashMap<>();
+            childrenByName.add(childMap);
             if (childList == null) continue;
             for (DBNDatabaseNode child : childList) {
-                DBXTreeNode meta = child.getMeta();
-                if (meta.isVirtual()) {
-                    // Skip virtual nodes
-                    continue;
+                childMap.putIfAbsent(child.getNodeName(), child);
+                if (isComparedChild(child)) {
+                    allChildNames.add(child.getNodeName());
                 }
-                if (settings.isSkipSystemObjects() && DBUtils.isSystemObject(child.getObject())) {
-                    // Skip system objects
-                    continue;
-                }
-                allChildNames.add(child.getNodeName());
             }
         }
 
         for (String childName : allChildNames) {
-            int[] childIndexes = new int[nodeCount];
+            List<DBNDatabaseNode> nodesToCompare = new ArrayList<>(nodeCount);
             for (int i = 0; i < nodeCount; i++) {
-                childIndexes[i] = -1;
-                DBNDatabaseNode[] childList = allChildren.get(i);
-                if (childList == null) continue;
-                for (int k = 0; k < childList.length; k++) {
-                    DBNDatabaseNode child = childList[k];
-                    if (child.getNodeName().equals(childName)) {
-                        childIndexes[i] = k;
+                DBNDatabaseNode child = childrenByName.get(i).get(childName);
+                if (child != null) {
+                    nodesToCompare.add(child);
+                }
+            }
+            // Compare children recursively
+            compareNodes(monitor, nodesToCompare);
+        }
+    }
+
+    @Nullable
+    private NodeFingerprint getSameFingerprint(List<DBNDatabaseNode> nodes)
+    {
+        if (nodes.size() != rootNodes.size()) {
+            return null;
+        }
+        NodeFingerprint first = fingerprints.get(nodes.get(0));
+        if (first == null || first.hash == null) {
+            return null;
+        }
+        for (int i = 1; i < nodes.size(); i++) {
+            NodeFingerprint fingerprint = fingerprints.get(nodes.get(i));
+            if (fingerprint == null || !Arrays.equals(first.hash, fingerprint.hash)) {
+                return null;
+            }
+        }
+        return first;
+    }
+
+    private Map<DBNDatabaseNode, NodeFingerprint> computeFingerprints(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
+        throws DBException, InterruptedException
+    {
+        monitor.subTask("Compute object fingerprints");
+        ExecutorService executorService = Executors.newFixedThreadPool(
+            Math.min(nodes.size(), Runtime.getRuntime().availableProcessors()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "Compare objects fingerprint");
+                thread.setDaemon(true);
+                return thread;
+            });
+        try {
+            List<Future<Map<DBNDatabaseNode, NodeFingerprint>>> results = new ArrayList<>(nodes.size());
+            for (DBNDatabaseNode node : nodes) {
+                results.add(executorService.submit(() -> {
+                    Map<DBNDatabaseNode, NodeFingerprint> treeFingerprints = new IdentityHashMap<>();
+                    computeFingerprint(new SubTaskProgressMonitor(monitor), node, treeFingerprints);
+                    return treeFingerprints;
+                }));
+            }
+            Map<DBNDatabaseNode, NodeFingerprint> allFingerprints = new IdentityHashMap<>();
+            for (Future<Map<DBNDatabaseNode, NodeFingerprint>> result : results) {
+                try {
+                    allFingerprints.putAll(result.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof DBException) {
+                        throw (DBException) cause;
+                    } else if (cause instanceof InterruptedException) {
+                        throw (InterruptedException) cause;
+                    }
+                    throw new DBException("Error computing object fingerprints", cause);
+                }
+            }
+            return allFingerprints;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Computes fingerprint of node subtree.
+     * Fingerprint doesn't include node name, names of children are included in parent fingerprint.
+     */
+    private NodeFingerprint computeFingerprint(DBRProgressMonitor monitor, DBNDatabaseNode node, Map<DBNDatabaseNode, NodeFingerprint> result)
+        throws DBException, InterruptedException
+    {
+        if (monitor.isCanceled()) {
+            throw new InterruptedException();
+        }
+        MessageDigest digest = createDigest();
+        updateDigest(digest, node.getNodeType());
+        boolean complete = true;
+        if (!(node instanceof DBNDatabaseFolder)) {
+            initializeNode(monitor, node);
+            ComparedProperties properties = getComparedProperties(node);
+            if (!properties.skip) {
+                Map<DBPPropertyDescriptor, Object> values = readProperties(monitor, node, properties);
+                for (ObjectPropertyDescriptor prop : properties.properties) {
+                    String value = getFingerprintValue(values.get(prop));
+                    if (value == null) {
+                        // Value can't be fingerprinted, so subtree is compared as usual
+                        complete = false;
                         break;
                     }
+                    updateDigest(digest, prop.getId());
+                    updateDigest(digest, value);
                 }
             }
+            monitor.worked(1);
+        }
 
-            List<DBNDatabaseNode> nodesToCompare = new ArrayList<>(nodeCount);
-            for (int i = 0; i < nodeCount; i++) {
-                if (childIndexes[i] == -1) {
-                    // Missing
-                } else {
-                    for (int k = 0; k < nodeCount; k++) {
-                        if (k != i && childIndexes[k] != childIndexes[i]) {
-                            // Wrong index - add to report
-                            break;
+        int lineCount = 1;
+        DBNDatabaseNode[] children;
+        try {
+            children = readChildren(monitor, node);
+        } catch (Exception e) {
+            log.warn("Error reading child nodes for compare", e);
+            children = null;
+            complete = false;
+        }
+        if (children != null) {
+            // Children are matched by name, so their order doesn't matter
+            Map<String, NodeFingerprint> childFingerprints = new TreeMap<>();
+            Set<String> processedNames = new HashSet<>();
+            for (DBNDatabaseNode child : children) {
+                if (!processedNames.add(child.getNodeName()) || !isComparedChild(child)) {
+                    continue;
+                }
+                NodeFingerprint childFingerprint = computeFingerprint(monitor, child, result);
+                childFingerprints.put(child.getNodeName(), childFingerprint);
+                lineCount += childFingerprint.lineCount;
+            }
+            for (Map.Entry<String, NodeFingerprint> entry : childFingerprints.entrySet()) {
+                if (entry.getValue().hash == null) {
+                    complete = false;
+                    break;
+                }
+                updateDigest(digest, entry.getKey());
+                digest.update(entry.getValue().hash);
+            }
+        }
+        // Incomplete fingerprint never matches, such subtrees are compared as usual
+        NodeFingerprint fingerprint = new NodeFingerprint(complete ? digest.digest() : null, lineCount);
+        result.put(node, fingerprint);
+        return fingerprint;
+    }
+
+    /**
+     * Named objects are already replaced with their names, simple values are fingerprinted by their string representation.
+     * Returns null for other values: equal strings don't mean that {@link CompareUtils#equalPropertyValues} treats them as equal.
+     */
+    @Nullable
+    private static String getFingerprintValue(@Nullable Object value)
+    {
+        if (value == null) {
+            return "";
+        }
+        if (!(value instanceof CharSequence || value instanceof Number || value instanceof Boolean ||
+            value instanceof Character || value instanceof Enum))
+        {
+            return null;
+        }
+        return value.getClass().getName() + ':' + value;
+    }
+
+    private static MessageDigest createDigest() throws DBException
+    {
+        try {
+            return MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new DBException("Fingerprint algorithm is not supported", e);
+        }
+    }
+
+    private static void updateDigest(MessageDigest digest, String value)
+    {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        // Separator
+        digest.update((byte) 0);
+    }
+
+    private void initializeNode(DBRProgressMonitor monitor, DBNDatabaseNode node) throws DBException, InterruptedException
+    {
+        // Status is kept per call: nodes are initialized concurrently by fingerprint tasks
+        CountDownLatch latch = new CountDownLatch(1);
+        IStatus[] nodeStatus = new IStatus[1];
+        node.initializeNode(null, status -> {
+            nodeStatus[0] = status;
+            latch.countDown();
+        });
+        while (!latch.await(50, TimeUnit.MILLISECONDS)) {
+            if (monitor.isCanceled()) {
+                throw new InterruptedException();
+            }
+        }
+        IStatus error = nodeStatus[0];
+        if (error != null && !error.isOK()) {
+            initializeError = error;
+            throw new DBException(error.getMessage());
+        }
+    }
+
+    private DBNDatabaseNode[] readChildren(DBRProgressMonitor monitor, DBNDatabaseNode node) throws DBException
+    {
+        // Cache structure if possible
+        if (node.getObject() instanceof DBSObjectContainer) {
+            ((DBSObjectContainer) node.getObject()).cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+        }
+        return node.getChildren(monitor);
+    }
+
+    private boolean isComparedChild(DBNDatabaseNode child)
+    {
+        DBXTreeNode meta = child.getMeta();
+        if (meta.isVirtual()) {
+            // Skip virtual nodes
+            return false;
+        }
+        if (settings.isSkipSystemObjects() && DBUtils.isSystemObject(child.getObject())) {
+            // Skip system objects
+            return false;
+        }
+        return true;
+    }
+
+    private Map<DBPPropertyDescriptor, Object> readProperties(DBRProgressMonitor monitor, DBNDatabaseNode node, ComparedProperties properties)
+    {
+        DBSObject databaseObject = node.getObject();
+        Map<DBPPropertyDescriptor, Object> nodeProperties = new IdentityHashMap<>();
+        PropertyCollector propertySource = new PropertyCollector(databaseObject, properties.loadLazy);
+        for (ObjectPropertyDescriptor prop : properties.properties) {
+            Object propertyValue = propertySource.getPropertyValue(monitor, databaseObject, prop, true);
+            synchronized (PROPS_LOCK) {
+                if (propertyValue instanceof DBPNamedObject) {
+                    // Compare just object names
+                    propertyValue = ((DBPNamedObject) propertyValue).getName();
+                }
+                nodeProperties.put(prop, propertyValue);
+            }
+        }
+        return nodeProperties;
+    }
+
+    /**
+     * Returns properties which are compared for objects of the same type.
+     * Properties are extracted once per object class and data source.
+     */
+    private ComparedProperties getComparedProperties(DBNDatabaseNode node)
+    {
+        DataSourcePropertyFilter filter = getDataSourceFilter(node);
+        PropertySetKey key = new PropertySetKey(node.getObject().getClass(), filter);
+        return comparedProperties.computeIfAbsent(key, k -> createComparedProperties(k.objectClass, filter));
+    }
+
+    private ComparedProperties createComparedProperties(Class<?> objectClass, DataSourcePropertyFilter filter)
+    {
+        boolean onlyStruct = settings.isCompareOnlyStructure();
+        boolean compareLazyProperties = false;
+
+        List<ObjectPropertyDescriptor> allProperties = ObjectPropertyDescriptor.extractAnnotations(
+            null,
+            objectClass,
+            filter, null);
+        for (ObjectPropertyDescriptor prop : allProperties) {
+            if (prop.isLazy()) {
+                compareLazyProperties = true;
+                break;
+            }
+        }
+
+        boolean compareScripts = compareLazyProperties && settings.isCompareScripts();
+        compareLazyProperties = compareLazyProperties && settings.isCompareLazyProperties();
+
+        List<ObjectPropertyDescriptor> properties = new ArrayList<>();
+        for (ObjectPropertyDescriptor prop : allProperties) {
+            boolean isScriptProperty = prop.getId().equals(DBConstants.PARAM_OBJECT_DEFINITION_TEXT) || prop.getId().equals(DBConstants.PARAM_EXTENDED_DEFINITION_TEXT);
+            if (prop.isLazy()) {
+                if (!compareLazyProperties) {
+                    if (compareScripts) {
+                        // Only DBPScriptObject methods
+                        if (!isScriptProperty) {
+                            continue;
                         }
-                    }
-                    final DBNDatabaseNode[] childList = allChildren.get(i);
-                    if (childList != null) {
-                        nodesToCompare.add(childList[childIndexes[i]]);
+                    } else {
+                        continue;
                     }
                 }
+            } else {
+                if (prop.isHidden()) {
+                    continue;
+                }
             }
-            // Compare children recursively
-            compareNodes(monitor, nodesToCompare);
+            if (onlyStruct && !isScriptProperty) {
+                continue;
+            }
+            properties.add(prop);
         }
+        return new ComparedProperties(
+            allProperties,
+            properties,
+            compareLazyProperties || compareScripts,
+            onlyStruct && !compareScripts);
     }
 
-
     private DataSourcePropertyFilter getDataSourceFilter(DBNDatabaseNode node)
     {
         DBPDataSource dataSource = node.getDataSourceContainer().getDataSource();
         if (dataSource == null) {
             return null;
         }
-        DataSourcePropertyFilter filter = dataSourceFilters.get(dataSource);
-        if (filter == null) {
-            filter = new DataSourcePropertyFilter(dataSource);
-            dataSourceFilters.put(dataSource, filter);
+        synchronized (dataSourceFilters) {
+            DataSourcePropertyFilter filter = dataSourceFilters.get(dataSource);
+            if (filter == null) {
+                filter = new DataSourcePropertyFilter(dataSource);
+                dataSourceFilters.put(dataSource, filter);
+            }
+            return filter;
+        }
+    }
+
+    private static class PropertySetKey {
+        private final Class<?> objectClass;
+        private final DataSourcePropertyFilter filter;
+
+        PropertySetKey(Class<?> objectClass, DataSourcePropertyFilter filter) {
+            this.objectClass = objectClass;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof PropertySetKey &&
+                ((PropertySetKey) obj).objectClass == objectClass &&
+                ((PropertySetKey) obj).filter == filter;
+        }
+
+        @Override
+        public int hashCode() {
+            return objectClass.hashCode() * 31 + System.identityHashCode(filter);
+        }
+    }
+
+    private static class ComparedProperties {
+        // All object properties. They are added to report lines.
+        private final List<ObjectPropertyDescriptor> allProperties;
+        // Properties which are actually read
+        private final List<ObjectPropertyDescriptor> properties;
+        private final boolean loadLazy;
+        // Nothing to compare
+        private final boolean skip;
+
+        ComparedProperties(List<ObjectPropertyDescriptor> allProperties, List<ObjectPropertyDescriptor> properties, boolean loadLazy, boolean skip) {
+            this.allProperties = allProperties;
+            this.properties = properties;
+            this.loadLazy = loadLazy;
+            this.skip = skip;
+        }
+    }
+
+    private static class NodeFingerprint {
+        // Null if subtree was not read completely
+        private final byte[] hash;
+        // Number of report lines of subtree
+        private final int lineCount;
+
+        NodeFingerprint(byte[] hash, int lineCount) {
+            this.hash = hash;
+            this.lineCount = lineCount;
         }
-        return filter;
     }
 
-}
\ No newline at end of file
+}
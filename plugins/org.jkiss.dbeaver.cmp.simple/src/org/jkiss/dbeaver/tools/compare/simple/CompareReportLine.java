@@ -23,7 +23,7 @@ import java.util.List;
 /**
 * Report line
 */
-class CompareReportLine {
+public class CompareReportLine {
     DBNDatabaseNode structure;
     DBNDatabaseNode[] nodes;
     List<CompareReportProperty> properties;
@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.tools.compare.simple;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseFolder;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -27,23 +28,25 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
 
-public class CompareReportRenderer {
+/**
+ * Renders compare report in HTML.
+ * Renderer may be used as report sink, in this case lines are written as soon as executor produces them.
+ */
+public class CompareReportRenderer implements CompareReportSink {
+
+    // Max nesting level which has its own style
+    private static final int MAX_STYLE_LEVEL = 32;
 
-    private CompareReport report;
     private XMLBuilder xml;
     private CompareObjectsSettings settings;
+    private DBRProgressMonitor monitor;
+    private int objectCount;
+    private int lineCount;
+    // Folder line which is rendered only if it is not empty
+    private CompareReportLine pendingFolder;
 
     public void renderReport(DBRProgressMonitor monitor, CompareReport report, CompareObjectsSettings settings, OutputStream outputStream) throws IOException
     {
-        this.report = report;
-        this.settings = settings;
-        this.xml = new XMLBuilder(outputStream, GeneralUtils.UTF8_ENCODING, true);
-        this.xml.setButify(true);
-        xml.addContent(
-            "<!DOCTYPE html \n" +
-            "     PUBLIC \"-//W3C//DTD XHTML 1.0 Strict//EN\"\n" +
-            "    \"http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd\">");
-
         if (settings.isShowOnlyDifferences()) {
             // Mark differences on tree nodes
             List<CompareReportLine> reportLines = report.getReportLines();
@@ -66,6 +69,37 @@ public class CompareReportRenderer {
             }
         }
 
+        beginReport(monitor, settings, outputStream);
+        reportStart(report.getNodes());
+        for (CompareReportLine line : report.getReportLines()) {
+            reportLine(line);
+        }
+        reportEnd();
+    }
+
+    /**
+     * Prepares renderer for streaming. Report lines must be passed via {@link CompareReportSink} methods.
+     * Executor marks lines of changed subtrees when only differences are shown, so no post-processing is needed.
+     */
+    public void beginReport(DBRProgressMonitor monitor, CompareObjectsSettings settings, OutputStream outputStream)
+    {
+        this.monitor = monitor;
+        this.settings = settings;
+        this.xml = new XMLBuilder(outputStream, GeneralUtils.UTF8_ENCODING, true);
+        this.xml.setButify(true);
+        this.lineCount = 0;
+        this.pendingFolder = null;
+    }
+
+    @Override
+    public void reportStart(@NotNull List<DBNDatabaseNode> nodes) throws IOException
+    {
+        this.objectCount = nodes.size();
+        xml.addContent(
+            "<!DOCTYPE html \n" +
+            "     PUBLIC \"-//W3C//DTD XHTML 1.0 Strict//EN\"\n" +
+            "    \"http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd\">");
+
         xml.startElement("html");
         xml.startElement("head");
         xml.startElement("meta");
@@ -75,17 +109,71 @@ public class CompareReportRenderer {
         xml.startElement("title");
         xml.addText("Compare report");
         xml.endElement();
+        renderStyles();
         xml.endElement();
         xml.startElement("body");
 
-        renderHeader();
-
         xml.startElement("table");
         xml.addAttribute("width", "100%");
         //xml.addAttribute("border", "1");
         xml.addAttribute("cellspacing", 0);
         xml.addAttribute("cellpadding", 0);
-        renderBody(monitor);
+
+        // Table head
+        xml.startElement("tr");
+        xml.startElement("th");
+        xml.addText("Structure");
+        xml.endElement();
+        for (DBNDatabaseNode node : nodes) {
+            xml.startElement("th");
+            xml.addText(node.getNodeFullName());
+            xml.endElement();
+        }
+        xml.endElement();
+    }
+
+    @Override
+    public void reportLine(@NotNull CompareReportLine line) throws IOException
+    {
+        monitor.worked(1);
+        lineCount++;
+        if (pendingFolder != null) {
+            // Skip empty folders
+            if (line.depth > pendingFolder.depth) {
+                renderLine(pendingFolder);
+            }
+            pendingFolder = null;
+        }
+        if (settings.isShowOnlyDifferences() && !line.hasDifference) {
+            return;
+        }
+        if (isOnlyStructure(line)) {
+            pendingFolder = line;
+        } else {
+            renderLine(line);
+        }
+    }
+
+    @Override
+    public void reportSkipped(int lineCount) throws IOException
+    {
+        monitor.worked(lineCount);
+        this.lineCount += lineCount;
+        // Skipped objects are identical, so there is nothing to show in pending folder
+        pendingFolder = null;
+    }
+
+    @Override
+    public void reportEnd() throws IOException
+    {
+        // Table footer
+        xml.startElement("tr");
+        xml.addAttribute("class", "object");
+        xml.startElement("td");
+        xml.addAttribute("colspan", objectCount + 1);
+        xml.addText("" + lineCount + " objects compared");
+        xml.endElement();
+        xml.endElement();
 
         xml.endElement();
         xml.endElement();
@@ -94,15 +182,8 @@ public class CompareReportRenderer {
         this.xml.flush();
     }
 
-    private void renderHeader() throws IOException
+    private void renderStyles() throws IOException
     {
-        int maxLevel = 0;
-        for (CompareReportLine line : report.getReportLines()) {
-            if (line.depth > maxLevel) {
-                maxLevel = line.depth;
-            }
-        }
-        maxLevel++;
         xml.startElement("style");
         StringBuilder styles = new StringBuilder();
         styles.append("table {font-family:\"Lucida Sans Unicode\", \"Lucida Grande\", Sans-Serif;font-size:12px;text-align:left;} ");
@@ -112,134 +193,109 @@ public class CompareReportRenderer {
         styles.append(".struct {border-top:none; !important } ");
 //        styles.append(".object:first-child {border:none; } ");
 //        styles.append(".property:first-child {border:none; } ");
-        for (int i = 1; i <= maxLevel; i++) {
+        // Report depth is unknown until the end, so styles are written for all reasonable levels
+        for (int i = 1; i <= MAX_STYLE_LEVEL; i++) {
             styles.append(".level").append(i).append(" td,th { text-align:left; padding-left:").append(20 * i).append("px; } ");
         }
         xml.addText(styles.toString(), false);
         xml.endElement();
     }
 
-    private void renderBody(DBRProgressMonitor monitor) throws IOException
+    private static boolean isOnlyStructure(CompareReportLine line)
     {
-        // Table head
-        xml.startElement("tr");
-        xml.startElement("th");
-        xml.addText("Structure");
-        xml.endElement();
-        for (DBNDatabaseNode node : report.getNodes()) {
-            xml.startElement("th");
-            xml.addText(node.getNodeFullName());
-            xml.endElement();
-        }
-        xml.endElement();
+        return line.structure instanceof DBNDatabaseFolder && !line.hasDifference;
+    }
 
-        // Table body
+    private static String getLevelStyle(int level)
+    {
+        return "level" + Math.min(level, MAX_STYLE_LEVEL);
+    }
+
+    private void renderLine(CompareReportLine line) throws IOException
+    {
         boolean showOnlyDifferences = settings.isShowOnlyDifferences();
-        int objectCount = report.getNodes().size();
-        List<CompareReportLine> reportLines = report.getReportLines();
-        int reportLinesSize = reportLines.size();
-        for (int i = 0; i < reportLinesSize; i++) {
-            monitor.worked(1);
-            CompareReportLine line = reportLines.get(i);
-            if (showOnlyDifferences && !line.hasDifference) {
-                continue;
-            }
-            boolean onlyStructure = line.structure instanceof DBNDatabaseFolder && !line.hasDifference;
-            // Skip empty folders
-            if (onlyStructure && (i >= reportLinesSize - 1 || reportLines.get(i + 1).depth <= line.depth)) {
-                continue;
-            }
+        boolean onlyStructure = isOnlyStructure(line);
 
-            xml.startElement("tr");
-            xml.addAttribute("class", "object level" + line.depth);
-            xml.addAttribute("valign", "top");
+        xml.startElement("tr");
+        xml.addAttribute("class", "object " + getLevelStyle(line.depth));
+        xml.addAttribute("valign", "top");
+        xml.startElement("td");
+        xml.addText(line.structure.getNodeType());
+        xml.endElement();
+        if (onlyStructure) {
             xml.startElement("td");
-            xml.addText(line.structure.getNodeType());
+            xml.addAttribute("colspan", line.nodes.length);
+            xml.addText("&nbsp;", false);
             xml.endElement();
-            if (onlyStructure) {
+        } else {
+            for (int k = 0; k < objectCount; k++) {
                 xml.startElement("td");
-                xml.addAttribute("colspan", line.nodes.length);
-                xml.addText("&nbsp;", false);
-                xml.endElement();
-            } else {
-                for (int k = 0; k < objectCount; k++) {
-                    xml.startElement("td");
-                    if (line.nodes[k] == null) {
-                        xml.addAttribute("class", "missing");
-                        xml.addText("N/A");
-                    } else {
-                        xml.addText(line.nodes[k].getName());
-                    }
-                    xml.endElement();
+                if (line.nodes[k] == null) {
+                    xml.addAttribute("class", "missing");
+                    xml.addText("N/A");
+                } else {
+                    xml.addText(line.nodes[k].getName());
                 }
+                xml.endElement();
             }
+        }
 
-            xml.endElement();
+        xml.endElement();
 
-            if (line.properties != null) {
-                for (CompareReportProperty reportProperty : line.properties) {
-                    boolean differs = false;
-                    Object firstValue = null;
-                    boolean hasValue = false;
-                    for (int k = 0; k < reportProperty.values.length; k++) {
-                        if (line.nodes[k] == null) {
-                            // Ignore properties of missing objects
-                            continue;
-                        }
-                        Object value = reportProperty.values[k];
-                        if (value != null) {
-                            hasValue = true;
-                            if (firstValue == null) {
-                                firstValue = value;
-                            }
-                        }
-                        if (!CompareUtils.equalPropertyValues(value, firstValue)) {
-                            differs = true;
-                            break;
-                        }
-                    }
-                    if (!hasValue) {
-                        // Skip[ properties when nobody have it's value
-                        continue;
-                    }
-                    if (showOnlyDifferences && !differs) {
+        if (line.properties != null) {
+            for (CompareReportProperty reportProperty : line.properties) {
+                boolean differs = false;
+                Object firstValue = null;
+                boolean hasValue = false;
+                for (int k = 0; k < reportProperty.values.length; k++) {
+                    if (line.nodes[k] == null) {
+                        // Ignore properties of missing objects
                         continue;
                     }
-                    xml.startElement("tr");
-                    xml.addAttribute("class", "property level" + (line.depth + 1) + (differs ? " differs" : ""));
-                    xml.addAttribute("valign", "top");
-                    xml.startElement("td");
-                    xml.addText(reportProperty.property.getDisplayName());
-                    xml.endElement();
-
-                    for (int k = 0; k < objectCount; k++) {
-                        xml.startElement("td");
-                        String stringValue = "";
-                        if (reportProperty.values[k] != null) {
-                            stringValue = reportProperty.values[k].toString();
-                        }
-                        if (CommonUtils.isEmpty(stringValue)) {
-                            xml.addText("&nbsp;", false);
-                        } else {
-                            xml.addText(stringValue);
+                    Object value = reportProperty.values[k];
+                    if (value != null) {
+                        hasValue = true;
+                        if (firstValue == null) {
+                            firstValue = value;
                         }
+                    }
+                    if (!CompareUtils.equalPropertyValues(value, firstValue)) {
+                        differs = true;
+                        break;
+                    }
+                }
+                if (!hasValue) {
+                    // Skip[ properties when nobody have it's value
+                    continue;
+                }
+                if (showOnlyDifferences && !differs) {
+                    continue;
+                }
+                xml.startElement("tr");
+                xml.addAttribute("class", "property " + getLevelStyle(line.depth + 1) + (differs ? " differs" : ""));
+                xml.addAttribute("valign", "top");
+                xml.startElement("td");
+                xml.addText(reportProperty.property.getDisplayName());
+                xml.endElement();
 
-                        xml.endElement();
+                for (int k = 0; k < objectCount; k++) {
+                    xml.startElement("td");
+                    String stringValue = "";
+                    if (reportProperty.values[k] != null) {
+                        stringValue = reportProperty.values[k].toString();
+                    }
+                    if (CommonUtils.isEmpty(stringValue)) {
+                        xml.addText("&nbsp;", false);
+                    } else {
+                        xml.addText(stringValue);
                     }
 
                     xml.endElement();
                 }
+
+                xml.endElement();
             }
         }
-
-        // Table footer
-        xml.startElement("tr");
-        xml.addAttribute("class", "object");
-        xml.startElement("td");
-        xml.addAttribute("colspan", report.getNodes().size() + 1);
-        xml.addText("" + reportLines.size() + " objects compared");
-        xml.endElement();
-        xml.endElement();
-
     }
-}
\ No newline at end of file
+
+}
@@ -0,0 +1,43 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives compare report lines in tree order as soon as they are produced.
+ * Lines are not kept by executor, so sink may render and forget them.
+ */
+public interface CompareReportSink {
+
+    void reportStart(@NotNull List<DBNDatabaseNode> nodes) throws IOException;
+
+    void reportLine(@NotNull CompareReportLine line) throws IOException;
+
+    /**
+     * Identical subtrees are not compared when only differences are shown.
+     * @param lineCount number of lines which would be reported for skipped objects
+     */
+    void reportSkipped(int lineCount) throws IOException;
+
+    void reportEnd() throws IOException;
+
+}
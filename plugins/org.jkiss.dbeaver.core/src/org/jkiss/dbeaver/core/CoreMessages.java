@@ -278,6 +278,8 @@ public class CoreMessages extends NLS {
     public static String pref_page_confirmations_table_column_confirm_tip;
 
 	public static String pref_page_database_general_separate_meta_connection;
+	public static String pref_page_database_general_connection_pool_size;
+	public static String pref_page_database_general_connection_pool_size_tip;
 	public static String pref_page_database_general_checkbox_case_sensitive_names;
 	public static String pref_page_database_general_checkbox_rollback_on_error;
 	public static String pref_page_database_general_checkbox_show_row_count;
@@ -326,6 +328,12 @@ public class CoreMessages extends NLS {
 	public static String pref_page_query_manager_label_days_to_store_log;
 	public static String pref_page_query_manager_label_entries_per_page;
 	public static String pref_page_query_manager_log_file_hint;
+	public static String pref_page_query_manager_label_log_format;
+	public static String pref_page_query_manager_log_format_text;
+	public static String pref_page_query_manager_log_format_json;
+	public static String pref_page_query_manager_label_max_log_size;
+	public static String pref_page_query_manager_label_max_log_size_tip;
+	public static String pref_page_query_manager_checkbox_compress_log;
 
 	public static String pref_page_ui_general_checkbox_automatic_updates;
     public static String pref_page_ui_general_group_browser;
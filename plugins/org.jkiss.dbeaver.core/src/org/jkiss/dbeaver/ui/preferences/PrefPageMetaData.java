@@ -25,6 +25,7 @@ import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Spinner;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.ModelPreferences.SeparateConnectionBehavior;
@@ -45,6 +46,7 @@ public class PrefPageMetaData extends TargetPrefPage
 
     private Button readExpensiveCheck;
     private Combo separateMetaConnectionCombo;
+    private Spinner connectionPoolSizeSpinner;
     private Button caseSensitiveNamesCheck;
     private Button serverSideFiltersCheck;
 
@@ -60,6 +62,7 @@ public class PrefPageMetaData extends TargetPrefPage
         return
             store.contains(ModelPreferences.READ_EXPENSIVE_PROPERTIES) ||
             store.contains(ModelPreferences.META_SEPARATE_CONNECTION) ||
+            store.contains(ModelPreferences.CONNECTION_POOL_SIZE) ||
             store.contains(ModelPreferences.META_CASE_SENSITIVE) ||
             store.contains(ModelPreferences.META_USE_SERVER_SIDE_FILTERS)
             ;
@@ -85,8 +88,9 @@ public class PrefPageMetaData extends TargetPrefPage
         {
             Group metadataGroup = UIUtils.createControlGroup(composite, CoreMessages.pref_page_database_general_group_metadata, 1, GridData.HORIZONTAL_ALIGN_BEGINNING, 0);
 
+            Composite connectionComposite = UIUtils.createComposite(metadataGroup, 2);
             separateMetaConnectionCombo = UIUtils.createLabelCombo(
-                UIUtils.createComposite(metadataGroup, 3),
+                connectionComposite,
                 CoreMessages.pref_page_database_general_separate_meta_connection,
                 SWT.READ_ONLY | SWT.DROP_DOWN
             );
@@ -96,6 +100,11 @@ public class PrefPageMetaData extends TargetPrefPage
             ((GridData) separateMetaConnectionCombo.getLayoutData()).grabExcessHorizontalSpace = false;
             separateMetaConnectionCombo.setItems(metaUseSeparateConnectionValues.stream()
                 .map(SeparateConnectionBehavior::getTitle).toArray(String[]::new));
+            connectionPoolSizeSpinner = UIUtils.createLabelSpinner(
+                connectionComposite,
+                CoreMessages.pref_page_database_general_connection_pool_size,
+                CoreMessages.pref_page_database_general_connection_pool_size_tip,
+                0, 0, 16);
             caseSensitiveNamesCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_case_sensitive_names, CoreMessages.pref_page_database_general_checkbox_case_sensitive_names_tip, false, 1);
             readExpensiveCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_show_row_count, CoreMessages.pref_page_database_general_checkbox_show_row_count_tip, false, 1);
             serverSideFiltersCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_server_side_object_filters, CoreMessages.pref_page_database_general_server_side_object_filters_tip, false, 1);
@@ -112,6 +121,7 @@ public class PrefPageMetaData extends TargetPrefPage
             separateMetaConnectionCombo.select(metaUseSeparateConnectionValues.indexOf(
                 SeparateConnectionBehavior.parse(store.getString(ModelPreferences.META_SEPARATE_CONNECTION))
             ));
+            connectionPoolSizeSpinner.setSelection(store.getInt(ModelPreferences.CONNECTION_POOL_SIZE));
             caseSensitiveNamesCheck.setSelection(store.getBoolean(ModelPreferences.META_CASE_SENSITIVE));
             serverSideFiltersCheck.setSelection(store.getBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS));
 
@@ -129,6 +139,7 @@ public class PrefPageMetaData extends TargetPrefPage
                 ModelPreferences.META_SEPARATE_CONNECTION,
                 metaUseSeparateConnectionValues.get(separateMetaConnectionCombo.getSelectionIndex()).name()
             );
+            store.setValue(ModelPreferences.CONNECTION_POOL_SIZE, connectionPoolSizeSpinner.getSelection());
             store.setValue(ModelPreferences.META_CASE_SENSITIVE, caseSensitiveNamesCheck.getSelection());
             store.setValue(ModelPreferences.META_USE_SERVER_SIDE_FILTERS, serverSideFiltersCheck.getSelection());
 
@@ -143,6 +154,7 @@ public class PrefPageMetaData extends TargetPrefPage
     {
         store.setToDefault(ModelPreferences.READ_EXPENSIVE_PROPERTIES);
         store.setToDefault(ModelPreferences.META_SEPARATE_CONNECTION);
+        store.setToDefault(ModelPreferences.CONNECTION_POOL_SIZE);
         store.setToDefault(ModelPreferences.META_CASE_SENSITIVE);
         store.setToDefault(ModelPreferences.META_USE_SERVER_SIDE_FILTERS);
 
@@ -61,6 +61,9 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
     private Text textEntriesPerPage;
     private Button checkStoreLog;
     private Text textOutputFolder;
+    private Combo comboLogFormat;
+    private Button checkCompressLog;
+    private Spinner spinnerMaxLogSize;
 
 
     @Override
@@ -107,12 +110,16 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
                 @Override
                 public void widgetSelected(SelectionEvent e)
                 {
-                    UIUtils.enableWithChildren(textOutputFolder.getParent(), checkStoreLog.getSelection());
-                    UIUtils.enableWithChildren(textHistoryDays, checkStoreLog.getSelection());
+                    enableLogFileControls();
                 }
             });
             textOutputFolder = DialogUtils.createOutputFolderChooser(storageSettings, CoreMessages.pref_page_query_manager_logs_folder, null);
             textHistoryDays = UIUtils.createLabelText(storageSettings, CoreMessages.pref_page_query_manager_label_days_to_store_log, "", SWT.BORDER, new GridData(50, SWT.DEFAULT)); //$NON-NLS-2$
+            comboLogFormat = UIUtils.createLabelCombo(storageSettings, CoreMessages.pref_page_query_manager_label_log_format, SWT.DROP_DOWN | SWT.READ_ONLY);
+            comboLogFormat.add(CoreMessages.pref_page_query_manager_log_format_text);
+            comboLogFormat.add(CoreMessages.pref_page_query_manager_log_format_json);
+            spinnerMaxLogSize = UIUtils.createLabelSpinner(storageSettings, CoreMessages.pref_page_query_manager_label_max_log_size, CoreMessages.pref_page_query_manager_label_max_log_size_tip, 0, 0, Integer.MAX_VALUE);
+            checkCompressLog = UIUtils.createCheckbox(storageSettings, CoreMessages.pref_page_query_manager_checkbox_compress_log, null, false, 2);
 
             Control infoLabel = UIUtils.createInfoLabel(storageSettings, CoreMessages.pref_page_query_manager_log_file_hint);
             infoLabel.setLayoutData(new GridData(GridData.FILL, GridData.BEGINNING, true, false, 2, 1));
@@ -145,12 +152,23 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
 
         checkStoreLog.setSelection(store.getBoolean(QMConstants.PROP_STORE_LOG_FILE));
         textOutputFolder.setText(store.getString(QMConstants.PROP_LOG_DIRECTORY));
-        UIUtils.enableWithChildren(textOutputFolder.getParent(), checkStoreLog.getSelection());
-        UIUtils.enableWithChildren(textHistoryDays, checkStoreLog.getSelection());
+        comboLogFormat.select(QMConstants.LOG_FORMAT_JSON.equals(store.getString(QMConstants.PROP_LOG_FORMAT)) ? 1 : 0);
+        checkCompressLog.setSelection(store.getBoolean(QMConstants.PROP_LOG_COMPRESS));
+        spinnerMaxLogSize.setSelection(store.getInt(QMConstants.PROP_LOG_MAX_SIZE));
+        enableLogFileControls();
 
         super.performDefaults();
     }
 
+    private void enableLogFileControls() {
+        boolean enabled = checkStoreLog.getSelection();
+        UIUtils.enableWithChildren(textOutputFolder.getParent(), enabled);
+        UIUtils.enableWithChildren(textHistoryDays, enabled);
+        UIUtils.enableWithChildren(comboLogFormat, enabled);
+        UIUtils.enableWithChildren(checkCompressLog, enabled);
+        UIUtils.enableWithChildren(spinnerMaxLogSize, enabled);
+    }
+
     @Override
     public boolean performOk()
     {
@@ -181,6 +199,9 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
         }
         store.setValue(QMConstants.PROP_STORE_LOG_FILE, checkStoreLog.getSelection());
         store.setValue(QMConstants.PROP_LOG_DIRECTORY, textOutputFolder.getText());
+        store.setValue(QMConstants.PROP_LOG_FORMAT, comboLogFormat.getSelectionIndex() == 1 ? QMConstants.LOG_FORMAT_JSON : QMConstants.LOG_FORMAT_TEXT);
+        store.setValue(QMConstants.PROP_LOG_COMPRESS, checkCompressLog.getSelection());
+        store.setValue(QMConstants.PROP_LOG_MAX_SIZE, spinnerMaxLogSize.getSelection());
         PrefUtils.savePreferenceStore(store);
 
         return super.performOk();
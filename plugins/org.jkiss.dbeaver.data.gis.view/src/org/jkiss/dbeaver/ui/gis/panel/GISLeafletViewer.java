@@ -18,6 +18,10 @@ package org.jkiss.dbeaver.ui.gis.panel;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.action.ToolBarManager;
@@ -43,6 +47,8 @@ import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.gis.*;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceListener;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.virtual.DBVEntity;
 import org.jkiss.dbeaver.model.virtual.DBVEntityAttribute;
@@ -68,7 +74,9 @@ import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKTReader;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -104,6 +112,12 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
     private boolean flipCoordinates = false;
     private final Composite composite;
 
+    // Spatial index of rendered geometries. Used when there are too many geometries to render them at once.
+    private GisGeometryTileIndex tileIndex;
+    private List<String> tileTips;
+    // Background preparation of geometries. Its results are dropped if data was reloaded meanwhile.
+    private AbstractJob loadJob;
+
     public GISLeafletViewer(Composite parent, @NotNull DBDAttributeBinding[] bindings, @Nullable SpatialDataProvider spatialDataProvider, @Nullable IResultSetPresentation presentation) {
         this.bindings = bindings;
 
@@ -140,6 +154,17 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
                 }
             };
 
+            new BrowserFunction(browser, "loadViewportGeometries") {
+                @Override
+                public Object function(Object[] arguments) {
+                    return loadViewportGeometries(new Bounds(
+                        CommonUtils.toDouble(arguments[0]),
+                        CommonUtils.toDouble(arguments[1]),
+                        CommonUtils.toDouble(arguments[2]),
+                        CommonUtils.toDouble(arguments[3])));
+                }
+            };
+
             if (presentation instanceof AbstractPresentation) {
                 new BrowserFunction(browser, "setPresentationSelection") {
                     @Override
@@ -268,24 +293,22 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         if (!force && CommonUtils.equalObjects(lastValue, values)) {
             return;
         }
-        int maxObjects = GISViewerActivator.getDefault().getPreferences().getInt(GeometryViewerConstants.PREF_MAX_OBJECTS_RENDER);
-        if (maxObjects <= 0) {
-            maxObjects = GeometryViewerConstants.DEFAULT_MAX_OBJECTS_RENDER;
-        }
-        if (values != null && values.length > maxObjects) {
-            // Truncate value list
-            DBGeometry[] truncValues = new DBGeometry[maxObjects];
-            System.arraycopy(values, 0, truncValues, 0, maxObjects);
-            values = truncValues;
-        }
         if (browser != null) {
+            // Results of the previous background load are not needed anymore
+            loadJob = null;
             try {
                 if (ArrayUtils.isEmpty(values)) {
+                    tileIndex = null;
+                    tileTips = null;
                     browser.setUrl("about:blank");
                 } else {
                     final Bounds bounds = recenter ? null : Bounds.tryExtractFromBrowser(browser);
-                    final Path file = generateViewScript(values, bounds);
-                    browser.setUrl(file.toFile().toURI().toURL().toString());
+                    if (values.length > getMaxObjectsToRender()) {
+                        // Geometries will be parsed and indexed for tiled rendering. Do it in background.
+                        loadGeometryData(values, bounds);
+                    } else {
+                        showViewData(prepareViewData(values, bounds));
+                    }
                 }
             } catch (IOException e) {
                 throw new DBException("Error generating viewer script", e);
@@ -295,14 +318,53 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         updateToolbar();
     }
 
-    private Path generateViewScript(DBGeometry[] values, @Nullable Bounds bounds) throws IOException {
-        if (scriptFile == null) {
-            Path tempDir = DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), "gis-viewer-files");
-            checkIncludesExistence(tempDir);
+    private void loadGeometryData(@NotNull DBGeometry[] values, @Nullable Bounds bounds) {
+        final ViewData[] viewData = new ViewData[1];
+        final AbstractJob job = new AbstractJob("Prepare geometries") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                viewData[0] = prepareViewData(values, bounds);
+                return Status.OK_STATUS;
+            }
+        };
+        job.addJobChangeListener(new JobChangeAdapter() {
+            @Override
+            public void done(IJobChangeEvent event) {
+                if (!event.getResult().isOK()) {
+                    return;
+                }
+                UIUtils.asyncExec(() -> {
+                    if (loadJob != job || browser == null || browser.isDisposed()) {
+                        return;
+                    }
+                    loadJob = null;
+                    try {
+                        showViewData(viewData[0]);
+                    } catch (IOException e) {
+                        DBWorkbench.getPlatformUI().showError("Geometry viewer", "Error generating viewer script", e);
+                    }
+                    updateToolbar();
+                });
+            }
+        });
+        loadJob = job;
+        job.schedule();
+    }
 
-            scriptFile = Files.createTempFile(tempDir, "view", "gis.html");
-        }
+    private void showViewData(@NotNull ViewData viewData) throws IOException {
+        this.actualSourceSRID = viewData.sourceSRID;
+        this.defaultSRID = viewData.sourceSRID;
+        this.tileIndex = viewData.tileIndex;
+        this.tileTips = viewData.tileTips;
+        final Path file = generateViewScript(viewData);
+        browser.setUrl(file.toFile().toURI().toURL().toString());
+    }
 
+    /**
+     * Transforms geometries for rendering. Doesn't access UI, thus may be called in background.
+     */
+    @NotNull
+    private ViewData prepareViewData(@NotNull DBGeometry[] values, @Nullable Bounds bounds) {
         int attributeSrid = GisConstants.SRID_SIMPLE;
         if (bindings[0].getAttribute() instanceof GisAttribute) {
             try {
@@ -313,8 +375,10 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
             }
         }
 
-        List<String> geomValues = new ArrayList<>();
-        List<String> geomTipValues = new ArrayList<>();
+        final ViewData viewData = new ViewData(bounds);
+        int actualSourceSRID = this.actualSourceSRID;
+        List<Object> targetValues = new ArrayList<>();
+        List<String> targetTips = new ArrayList<>();
         boolean showMap = false;
         for (int i = 0; i < values.length; i++) {
             DBGeometry value = values[i];
@@ -370,22 +434,53 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
             if (targetValue == null) {
                 continue;
             }
-            geomValues.add("'" + targetValue + "'");
+            targetValues.add(targetValue);
+            String tip = "null";
             try {
-                if (CommonUtils.isEmpty(value.getProperties())) {
-                    geomTipValues.add("null");
-                } else {
-                    geomTipValues.add(gson.toJson(value.getProperties()));
+                if (!CommonUtils.isEmpty(value.getProperties())) {
+                    tip = gson.toJson(value.getProperties());
                 }
             } catch (Exception e) {
                 log.debug(e);
             }
+            targetTips.add(tip);
+        }
+        viewData.sourceSRID = actualSourceSRID;
+        viewData.showMap = showMap;
+
+        int maxObjects = getMaxObjectsToRender();
+        if (targetValues.size() > maxObjects) {
+            // Render only geometries from the visible area. The rest is loaded on map move.
+            viewData.tileIndex = new GisGeometryTileIndex(getTargetGeometries(targetValues));
+            viewData.tileTips = targetTips;
+            // Only part of geometries is rendered, so map must be fit to all of them
+            final Envelope extent = viewData.tileIndex.getExtent();
+            viewData.dataBounds = extent.isNull() ? null : Bounds.fromEnvelope(extent);
+            for (GisGeometryTileIndex.Feature feature : viewData.tileIndex.query(bounds == null ? null : bounds.toEnvelope(), maxObjects)) {
+                viewData.geomValues.add("'" + feature.getGeometry() + "'");
+                viewData.geomTipValues.add(targetTips.get(feature.getIndex()));
+            }
+        } else {
+            for (int i = 0; i < targetValues.size(); i++) {
+                viewData.geomValues.add("'" + targetValues.get(i) + "'");
+                viewData.geomTipValues.add(targetTips.get(i));
+            }
         }
-        this.defaultSRID = actualSourceSRID;
-        String geomValuesString = String.join(",", geomValues);
-        String geomTipValuesString = String.join(",", geomTipValues);
-        String geomCRS = actualSourceSRID == GisConstants.SRID_SIMPLE ? GisConstants.LL_CRS_SIMPLE : GisConstants.LL_CRS_3857;
-        boolean isShowMap = showMap;
+        return viewData;
+    }
+
+    private Path generateViewScript(@NotNull ViewData viewData) throws IOException {
+        if (scriptFile == null) {
+            Path tempDir = DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), "gis-viewer-files");
+            checkIncludesExistence(tempDir);
+
+            scriptFile = Files.createTempFile(tempDir, "view", "gis.html");
+        }
+
+        String geomValuesString = String.join(",", viewData.geomValues);
+        String geomTipValuesString = String.join(",", viewData.geomTipValues);
+        String geomCRS = viewData.sourceSRID == GisConstants.SRID_SIMPLE ? GisConstants.LL_CRS_SIMPLE : GisConstants.LL_CRS_3857;
+        boolean tiledMode = viewData.tileIndex != null;
 
         InputStream fis = GISViewerActivator.getDefault().getResourceStream(GISBrowserViewerConstants.VIEW_TEMPLATE_PATH);
         if (fis == null) {
@@ -402,13 +497,17 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
                     case "geomSRID":
                         return String.valueOf(defaultSRID);
                     case "showMap":
-                        return String.valueOf(isShowMap);
+                        return String.valueOf(viewData.showMap);
                     case "showTools":
                         return String.valueOf(toolsVisible);
+                    case "tiledMode":
+                        return String.valueOf(tiledMode);
                     case "geomCRS":
                         return geomCRS;
                     case "geomBounds":
-                        return CommonUtils.toString(bounds, "undefined");
+                        return CommonUtils.toString(viewData.bounds, "undefined");
+                    case "dataBounds":
+                        return CommonUtils.toString(viewData.dataBounds, "undefined");
                     case "minZoomLevel":
                         return String.valueOf(GISViewerActivator.getDefault().getPreferences().getInt(GeometryViewerConstants.PREF_MIN_ZOOM_LEVEL));
                     case "defaultTiles":
@@ -430,6 +529,58 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         return scriptFile;
     }
 
+    private static int getMaxObjectsToRender() {
+        int maxObjects = GISViewerActivator.getDefault().getPreferences().getInt(GeometryViewerConstants.PREF_MAX_OBJECTS_RENDER);
+        if (maxObjects <= 0) {
+            maxObjects = GeometryViewerConstants.DEFAULT_MAX_OBJECTS_RENDER;
+        }
+        return maxObjects;
+    }
+
+    @NotNull
+    private static List<Geometry> getTargetGeometries(@NotNull List<Object> targetValues) {
+        final List<Geometry> geometries = new ArrayList<>(targetValues.size());
+        final WKTReader wktReader = new WKTReader();
+        for (Object value : targetValues) {
+            Geometry geometry = null;
+            if (value instanceof Geometry) {
+                geometry = (Geometry) value;
+            } else {
+                try {
+                    geometry = wktReader.read(value.toString());
+                } catch (Exception e) {
+                    log.debug("Error parsing geometry WKT", e);
+                }
+            }
+            geometries.add(geometry);
+        }
+        return geometries;
+    }
+
+    /**
+     * Called from the map script when visible area changes
+     *
+     * @return JSON array of geometries visible in the specified bounds or null if all geometries are already rendered
+     */
+    @Nullable
+    private String loadViewportGeometries(@NotNull Bounds bounds) {
+        final GisGeometryTileIndex index = tileIndex;
+        if (index == null) {
+            return null;
+        }
+        final StringBuilder json = new StringBuilder();
+        json.append("[");
+        for (GisGeometryTileIndex.Feature feature : index.query(bounds.toEnvelope(), getMaxObjectsToRender())) {
+            if (json.length() > 1) {
+                json.append(",");
+            }
+            json.append("{\"wkt\":").append(gson.toJson(feature.getGeometry().toText()))
+                .append(",\"tip\":").append(tileTips.get(feature.getIndex())).append("}");
+        }
+        json.append("]");
+        return json.toString();
+    }
+
     private void checkIncludesExistence(Path scriptDir) throws IOException {
         Path incFolder = scriptDir.resolve("inc");
         if (!Files.exists(incFolder)) {
@@ -639,6 +790,22 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         }
     }
 
+    private static class ViewData {
+        private final Bounds bounds;
+        private final List<String> geomValues = new ArrayList<>();
+        private final List<String> geomTipValues = new ArrayList<>();
+        private int sourceSRID;
+        private boolean showMap;
+        // Set only when geometries are rendered by viewport
+        private GisGeometryTileIndex tileIndex;
+        private List<String> tileTips;
+        private Bounds dataBounds;
+
+        private ViewData(@Nullable Bounds bounds) {
+            this.bounds = bounds;
+        }
+    }
+
     private static class Bounds {
         private final double north;
         private final double east;
@@ -680,6 +847,16 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
             }
         }
 
+        @NotNull
+        public static Bounds fromEnvelope(@NotNull Envelope envelope) {
+            return new Bounds(envelope.getMaxY(), envelope.getMaxX(), envelope.getMinY(), envelope.getMinX());
+        }
+
+        @NotNull
+        public Envelope toEnvelope() {
+            return new Envelope(west, east, south, north);
+        }
+
         @Override
         public String toString() {
             return String.format("L.latLngBounds(L.latLng(%f, %f), L.latLng(%f, %f))", north, east, south, west);
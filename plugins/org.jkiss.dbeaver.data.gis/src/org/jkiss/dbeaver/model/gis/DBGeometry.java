@@ -20,10 +20,13 @@ package org.jkiss.dbeaver.model.gis;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.data.DBDValue;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateFilter;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
 import org.locationtech.jts.io.WKTReader;
 import org.locationtech.jts.io.WKTWriter;
 
@@ -32,10 +35,26 @@ import java.util.Map;
 
 /**
  * Geometry value (LOB).
+ * <p>
+ * Value may be created from binary (WKB or EWKB) data, see {@link #fromWKB(byte[], int)}.
+ * In that case geometry is decoded on the first access, so values which are only fetched
+ * (and never shown or transformed) do not consume resources on geometry parsing.
  */
 public class DBGeometry implements DBDValue {
 
+    private static final Log log = Log.getLog(DBGeometry.class);
+
+    // EWKB type flag which means that SRID follows geometry type
+    private static final int EWKB_SRID_FLAG = 0x20000000;
+
+    private static final ThreadLocal<WKBReader> WKB_READER = ThreadLocal.withInitial(WKBReader::new);
+
     private Object rawValue;
+    // Binary geometry which wasn't decoded yet (or can't be decoded)
+    private byte[] wkb;
+    private volatile boolean decoded = true;
+    // Error which happened during binary geometry decoding
+    private Throwable decodeError;
     private int srid;
     private Map<String, Object> properties;
 
@@ -49,6 +68,9 @@ public class DBGeometry implements DBDValue {
 
     public DBGeometry(DBGeometry source) {
         this.rawValue = source.rawValue;
+        this.wkb = source.wkb;
+        this.decoded = source.decoded;
+        this.decodeError = source.decodeError;
         this.srid = source.srid;
         this.properties = source.properties == null ? null : new LinkedHashMap<>(source.properties);
     }
@@ -69,15 +91,60 @@ public class DBGeometry implements DBDValue {
         this.properties = properties == null ? null : new LinkedHashMap<>(properties);
     }
 
+    /**
+     * Creates geometry from WKB or EWKB data. Geometry is decoded on demand.
+     *
+     * @param srid geometry SRID. If zero then SRID is read from EWKB header (if present).
+     */
+    @NotNull
+    public static DBGeometry fromWKB(@NotNull byte[] wkb, int srid) {
+        DBGeometry geometry = new DBGeometry();
+        geometry.wkb = wkb;
+        geometry.decoded = false;
+        geometry.srid = srid != 0 ? srid : readEWKBSRID(wkb);
+        return geometry;
+    }
+
     @Nullable
     public Geometry getGeometry() {
+        decodeGeometry();
         return rawValue instanceof Geometry ? (Geometry) rawValue : null;
     }
 
+    /**
+     * Returns source binary geometry (WKB or EWKB) if value was created from binary data.
+     * It doesn't decode geometry so it can be used to copy geometry as is.
+     * Note that binary value may have no SRID (or different SRID), use {@link #getSRID()}.
+     */
+    @Nullable
+    public byte[] getWKB() {
+        return wkb;
+    }
+
+    /**
+     * @return false if geometry was created from binary data and wasn't decoded yet.
+     * Geometry which wasn't decoded can't be modified, so its binary value is actual.
+     */
+    public boolean isDecoded() {
+        return decoded;
+    }
+
+    /**
+     * Decodes binary geometry (if needed) and returns decode error.
+     *
+     * @return error if binary geometry is corrupted or null if geometry is valid
+     */
+    @Nullable
+    public Throwable getDecodeError() {
+        decodeGeometry();
+        return decodeError;
+    }
+
     @Nullable
     public String getString() {
+        decodeGeometry();
         if (rawValue == null) {
-            return null;
+            return wkb == null ? null : WKBWriter.toHex(wkb);
         }
         if (rawValue instanceof Geometry) {
             // Use all possible dimensions (4 stands for XYZM) for the most verbose output
@@ -88,12 +155,13 @@ public class DBGeometry implements DBDValue {
 
     @Override
     public Object getRawValue() {
-        return rawValue;
+        decodeGeometry();
+        return rawValue != null ? rawValue : wkb;
     }
 
     @Override
     public boolean isNull() {
-        return rawValue == null;
+        return rawValue == null && wkb == null;
     }
 
     @Override
@@ -197,6 +265,48 @@ public class DBGeometry implements DBDValue {
         return true;
     }
 
+    private void decodeGeometry() {
+        if (decoded) {
+            return;
+        }
+        try {
+            Geometry geometry = WKB_READER.get().read(wkb);
+            geometry.setSRID(srid);
+            rawValue = geometry;
+        } catch (Exception e) {
+            // Corrupted value is kept as is (shown as hex string), but it shouldn't be lost silently
+            log.warn("Error decoding geometry WKB (" + wkb.length + " bytes): " + e.getMessage());
+            decodeError = e;
+        }
+        decoded = true;
+    }
+
+    /**
+     * Reads SRID from EWKB header (byte order, type with flags, SRID).
+     *
+     * @return SRID or 0 if it is a plain WKB
+     */
+    private static int readEWKBSRID(@Nullable byte[] wkb) {
+        if (wkb == null || wkb.length < 9) {
+            return 0;
+        }
+        boolean littleEndian = wkb[0] == 1;
+        int type = readInt(wkb, 1, littleEndian);
+        if ((type & EWKB_SRID_FLAG) == 0) {
+            return 0;
+        }
+        return readInt(wkb, 5, littleEndian);
+    }
+
+    private static int readInt(@NotNull byte[] bytes, int offset, boolean littleEndian) {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = bytes[offset + (littleEndian ? 3 - i : i)] & 0xFF;
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+
     private static class InvertCoordinateFilter implements CoordinateFilter {
         public static final InvertCoordinateFilter INSTANCE = new InvertCoordinateFilter();
 
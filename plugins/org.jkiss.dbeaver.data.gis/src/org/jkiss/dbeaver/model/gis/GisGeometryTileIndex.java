@@ -0,0 +1,219 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Puntal;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.simplify.DouglasPeuckerSimplifier;
+
+import java.util.*;
+
+/**
+ * Spatial index over fetched geometries.
+ *
+ * Geometries are indexed with STR-tree and served by tiles: viewport is covered with tiles of
+ * a zoom level which matches viewport size, and each tile keeps geometries simplified
+ * (Douglas-Peucker) with a tolerance of about one pixel of that zoom level.
+ * Tiles are cached, so panning and zooming back and forth doesn't recompute them.
+ *
+ * Geometries are expected to be in the same CRS as requested viewports.
+ */
+public class GisGeometryTileIndex {
+
+    private static final int TILE_PIXELS = 512;
+    private static final int MAX_ZOOM = 24;
+    private static final int MAX_CACHED_TILES = 256;
+    private static final double MIN_EXTENT_SIZE = 1e-9;
+
+    public static class Feature {
+        private final int index;
+        private final Geometry geometry;
+
+        Feature(int index, Geometry geometry) {
+            this.index = index;
+            this.geometry = geometry;
+        }
+
+        /**
+         * Index of the source geometry
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Simplified geometry
+         */
+        @NotNull
+        public Geometry getGeometry() {
+            return geometry;
+        }
+    }
+
+    private static class Tile {
+        private final int[] indexes;
+        private final Geometry[] geometries;
+
+        Tile(int[] indexes, Geometry[] geometries) {
+            this.indexes = indexes;
+            this.geometries = geometries;
+        }
+    }
+
+    private final Geometry[] geometries;
+    private final double[] sizes;
+    private final STRtree tree;
+    private final Envelope extent;
+    private final Map<Long, Tile> tileCache = new LinkedHashMap<>(MAX_CACHED_TILES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Tile> eldest) {
+            return size() > MAX_CACHED_TILES;
+        }
+    };
+
+    /**
+     * @param geometries geometries to index. Null elements are skipped.
+     */
+    public GisGeometryTileIndex(@NotNull List<Geometry> geometries) {
+        this.geometries = geometries.toArray(new Geometry[0]);
+        this.sizes = new double[this.geometries.length];
+        this.tree = new STRtree();
+        this.extent = new Envelope();
+        for (int i = 0; i < this.geometries.length; i++) {
+            final Geometry geometry = this.geometries[i];
+            if (geometry == null || geometry.isEmpty()) {
+                continue;
+            }
+            final Envelope envelope = geometry.getEnvelopeInternal();
+            sizes[i] = Math.max(envelope.getWidth(), envelope.getHeight());
+            tree.insert(envelope, i);
+            extent.expandToInclude(envelope);
+        }
+        tree.build();
+    }
+
+    public int size() {
+        return geometries.length;
+    }
+
+    /**
+     * Bounds of all indexed geometries
+     */
+    @NotNull
+    public Envelope getExtent() {
+        return new Envelope(extent);
+    }
+
+    /**
+     * Returns geometries which intersect the viewport, simplified for its scale.
+     * If there are more geometries than {@code maxFeatures} then the biggest ones are returned.
+     *
+     * @param viewport    visible area. Whole extent is used if null.
+     * @param maxFeatures maximum number of features to return
+     */
+    @NotNull
+    public synchronized List<Feature> query(@Nullable Envelope viewport, int maxFeatures) {
+        if (extent.isNull()) {
+            return Collections.emptyList();
+        }
+        if (viewport == null || viewport.isNull()) {
+            viewport = extent;
+        } else if (!viewport.intersects(extent)) {
+            return Collections.emptyList();
+        }
+        final double extentWidth = Math.max(extent.getWidth(), MIN_EXTENT_SIZE);
+        final double extentHeight = Math.max(extent.getHeight(), MIN_EXTENT_SIZE);
+        final double viewportSize = Math.max(
+            Math.max(viewport.getWidth() / extentWidth, viewport.getHeight() / extentHeight),
+            1.0 / (1L << MAX_ZOOM));
+        final int zoom = Math.max(0, Math.min(MAX_ZOOM, (int) Math.floor(-Math.log(viewportSize) / Math.log(2))));
+        final long tilesCount = 1L << zoom;
+        final double tileWidth = extentWidth / tilesCount;
+        final double tileHeight = extentHeight / tilesCount;
+
+        final long minX = clampTile((long) Math.floor((viewport.getMinX() - extent.getMinX()) / tileWidth), tilesCount);
+        final long maxX = clampTile((long) Math.floor((viewport.getMaxX() - extent.getMinX()) / tileWidth), tilesCount);
+        final long minY = clampTile((long) Math.floor((viewport.getMinY() - extent.getMinY()) / tileHeight), tilesCount);
+        final long maxY = clampTile((long) Math.floor((viewport.getMaxY() - extent.getMinY()) / tileHeight), tilesCount);
+
+        final BitSet visited = new BitSet(geometries.length);
+        final List<Feature> result = new ArrayList<>();
+        for (long x = minX; x <= maxX; x++) {
+            for (long y = minY; y <= maxY; y++) {
+                final Tile tile = getTile(zoom, x, y, tileWidth, tileHeight);
+                for (int i = 0; i < tile.indexes.length; i++) {
+                    final int index = tile.indexes[i];
+                    if (!visited.get(index)) {
+                        visited.set(index);
+                        result.add(new Feature(index, tile.geometries[i]));
+                    }
+                }
+            }
+        }
+        if (result.size() > maxFeatures) {
+            result.sort(Comparator.comparingDouble((Feature f) -> sizes[f.index]).reversed());
+            return new ArrayList<>(result.subList(0, Math.max(maxFeatures, 0)));
+        }
+        return result;
+    }
+
+    private Tile getTile(int zoom, long x, long y, double tileWidth, double tileHeight) {
+        // 24 zoom levels fit into 5 bits, tile coordinates into 24 bits each
+        final long key = ((long) zoom << 48) | (x << 24) | y;
+        Tile tile = tileCache.get(key);
+        if (tile == null) {
+            final double tileMinX = extent.getMinX() + x * tileWidth;
+            final double tileMinY = extent.getMinY() + y * tileHeight;
+            final Envelope tileEnvelope = new Envelope(tileMinX, tileMinX + tileWidth, tileMinY, tileMinY + tileHeight);
+            final double tolerance = Math.max(tileWidth, tileHeight) / TILE_PIXELS;
+
+            final List<?> items = tree.query(tileEnvelope);
+            final int[] indexes = new int[items.size()];
+            final Geometry[] simplified = new Geometry[items.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = (Integer) items.get(i);
+                simplified[i] = simplify(geometries[indexes[i]], tolerance);
+            }
+            tile = new Tile(indexes, simplified);
+            tileCache.put(key, tile);
+        }
+        return tile;
+    }
+
+    private static long clampTile(long tile, long tilesCount) {
+        return Math.max(0, Math.min(tilesCount - 1, tile));
+    }
+
+    @NotNull
+    public static Geometry simplify(@NotNull Geometry geometry, double tolerance) {
+        if (geometry instanceof Puntal || tolerance <= 0) {
+            return geometry;
+        }
+        final Geometry simplified = DouglasPeuckerSimplifier.simplify(geometry, tolerance);
+        if (simplified == null || simplified.isEmpty()) {
+            // Geometry is smaller than a pixel
+            return geometry;
+        }
+        simplified.setSRID(geometry.getSRID());
+        return simplified;
+    }
+
+}
@@ -60,6 +60,9 @@ class SQLScriptTaskPageSettings extends ActiveWizardPage<SQLScriptTaskConfigurat
     private Button ignoreErrorsCheck;
     private Button dumpQueryCheck;
     private Button autoCommitCheck;
+    private Button streamScriptsCheck;
+    private Button batchInsertsCheck;
+    private Spinner commitLinesSpinner;
     private TableViewer scriptsViewer;
     private TableViewer dataSourceViewer;
 
@@ -293,6 +296,33 @@ class SQLScriptTaskPageSettings extends ActiveWizardPage<SQLScriptTaskConfigurat
             ignoreErrorsCheck = UIUtils.createCheckbox(settingsGroup, DTMessages.sql_script_task_page_settings_option_ignore_errors, "", dtSettings.isIgnoreErrors(), 1);
             dumpQueryCheck = UIUtils.createCheckbox(settingsGroup, DTMessages.sql_script_task_page_settings_option_dump_results, "", dtSettings.isDumpQueryResultsToLog(), 1);
             autoCommitCheck = UIUtils.createCheckbox(settingsGroup, DTMessages.sql_script_task_page_settings_option_auto_commit, "", dtSettings.isAutoCommit(), 1);
+            streamScriptsCheck = UIUtils.createCheckbox(
+                settingsGroup,
+                DTMessages.sql_script_task_page_settings_option_stream_scripts,
+                DTMessages.sql_script_task_page_settings_option_stream_scripts_tip,
+                dtSettings.isStreamScripts(),
+                1);
+            batchInsertsCheck = UIUtils.createCheckbox(
+                settingsGroup,
+                DTMessages.sql_script_task_page_settings_option_batch_inserts,
+                DTMessages.sql_script_task_page_settings_option_batch_inserts_tip,
+                dtSettings.isBatchInserts(),
+                1);
+            Composite commitLinesComposite = UIUtils.createComposite(settingsGroup, 2);
+            commitLinesSpinner = UIUtils.createLabelSpinner(
+                commitLinesComposite,
+                DTMessages.sql_script_task_page_settings_option_commit_lines,
+                DTMessages.sql_script_task_page_settings_option_commit_lines_tip,
+                dtSettings.getCommitLines(),
+                0,
+                Integer.MAX_VALUE);
+            commitLinesSpinner.setEnabled(!dtSettings.isAutoCommit());
+            autoCommitCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    commitLinesSpinner.setEnabled(!autoCommitCheck.getSelection());
+                }
+            });
         }
 
         getWizard().createVariablesEditButton(composite);
@@ -439,6 +469,15 @@ class SQLScriptTaskPageSettings extends ActiveWizardPage<SQLScriptTaskConfigurat
         if (autoCommitCheck != null) {
             settings.setAutoCommit(autoCommitCheck.getSelection());
         }
+        if (streamScriptsCheck != null) {
+            settings.setStreamScripts(streamScriptsCheck.getSelection());
+        }
+        if (batchInsertsCheck != null) {
+            settings.setBatchInserts(batchInsertsCheck.getSelection());
+        }
+        if (commitLinesSpinner != null) {
+            settings.setCommitLines(commitLinesSpinner.getSelection());
+        }
     }
 
 }
\ No newline at end of file
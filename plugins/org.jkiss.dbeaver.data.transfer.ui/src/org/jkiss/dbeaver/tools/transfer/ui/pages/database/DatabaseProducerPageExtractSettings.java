@@ -53,6 +53,7 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
     private Button selectedColumnsOnlyCheckbox;
     private Button selectedRowsOnlyCheckbox;
     private Text fetchSizeText;
+    private Button adaptiveFetchSizeCheckbox;
 
     public DatabaseProducerPageExtractSettings() {
         super(DTUIMessages.database_producer_page_extract_settings_name_and_title);
@@ -146,6 +147,14 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
             fetchSizeText.addModifyListener(e -> {
                 settings.setFetchSize(Integer.parseInt(fetchSizeText.getText()));
             });
+            adaptiveFetchSizeCheckbox = UIUtils.createCheckbox(generalSettings, DTUIMessages.database_producer_page_extract_settings_adaptive_fetch_size_checkbox_label, DTUIMessages.database_producer_page_extract_settings_adaptive_fetch_size_checkbox_tooltip, false, 2);
+            adaptiveFetchSizeCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setAdaptiveFetchSize(adaptiveFetchSizeCheckbox.getSelection());
+                    fetchSizeText.setEnabled(!settings.isAdaptiveFetchSize());
+                }
+            });
 
             IStructuredSelection curSelection = getWizard().getCurrentSelection();
             boolean hasSelection = curSelection != null && !curSelection.isEmpty() && curSelection.getFirstElement() instanceof DBDCellValue;
@@ -238,6 +247,8 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
             }
         }
         fetchSizeText.setText(String.valueOf(settings.getFetchSize()));
+        adaptiveFetchSizeCheckbox.setSelection(settings.isAdaptiveFetchSize());
+        fetchSizeText.setEnabled(!settings.isAdaptiveFetchSize());
         if (selectedColumnsOnlyCheckbox != null) {
             selectedColumnsOnlyCheckbox.setSelection(settings.isSelectedColumnsOnly());
         }
@@ -51,6 +51,10 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
     private boolean ignoreErrors;
     private boolean dumpQueryResultsToLog;
 
+    private boolean streamScripts;
+    private int commitLines;
+    private boolean batchInserts;
+
     public List<String> getScriptFiles() {
         return scriptFiles;
     }
@@ -83,6 +87,36 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
         this.dumpQueryResultsToLog = dumpQueryResultsToLog;
     }
 
+    /**
+     * Scripts are parsed and executed statement by statement without reading whole file in memory
+     */
+    public boolean isStreamScripts() {
+        return streamScripts;
+    }
+
+    public void setStreamScripts(boolean streamScripts) {
+        this.streamScripts = streamScripts;
+    }
+
+    /**
+     * Commit after each N statements. Zero means commit at the end of script.
+     */
+    public int getCommitLines() {
+        return commitLines;
+    }
+
+    public void setCommitLines(int commitLines) {
+        this.commitLines = commitLines;
+    }
+
+    public boolean isBatchInserts() {
+        return batchInserts;
+    }
+
+    public void setBatchInserts(boolean batchInserts) {
+        this.batchInserts = batchInserts;
+    }
+
     public boolean isAutoCommit() {
         return autoCommit;
     }
@@ -134,6 +168,10 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
         dumpQueryResultsToLog = JSONUtils.getBoolean(config, "dumpQueryResultsToLog");
 
         autoCommit = JSONUtils.getBoolean(config, "autoCommit");
+
+        streamScripts = JSONUtils.getBoolean(config, "streamScripts");
+        commitLines = JSONUtils.getInteger(config, "commitLines");
+        batchInserts = JSONUtils.getBoolean(config, "batchInserts");
     }
 
     public void saveConfiguration(Map<String, Object> config) {
@@ -151,6 +189,10 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
         config.put("dumpQueryResultsToLog", dumpQueryResultsToLog);
 
         config.put("autoCommit", autoCommit);
+
+        config.put("streamScripts", streamScripts);
+        config.put("commitLines", commitLines);
+        config.put("batchInserts", batchInserts);
     }
 
     public static IFile getWorkspaceFile(String filePath) {
@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.tools.sql.task;
 
 import org.eclipse.core.resources.IFile;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
@@ -33,6 +34,7 @@ import org.jkiss.dbeaver.model.sql.SQLScriptElement;
 import org.jkiss.dbeaver.model.sql.SQLScriptErrorHandling;
 import org.jkiss.dbeaver.model.sql.exec.SQLScriptProcessor;
 import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptStreamParser;
 import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.dbeaver.model.task.*;
@@ -49,6 +51,8 @@ import java.util.Locale;
  */
 public class SQLScriptExecuteHandler implements DBTTaskHandler {
 
+    private static final int INSERT_BATCH_SIZE = 1000;
+
     private final DBCStatistics totalStatistics = new DBCStatistics();
 
     @Override
@@ -99,38 +103,45 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
 
         for (String filePath : settings.getScriptFiles()) {
             IFile sqlFile = SQLScriptExecuteSettings.getWorkspaceFile(filePath);
-            try (InputStream sqlStream = sqlFile.getContents(true)) {
-                try (Reader fileReader = new InputStreamReader(sqlStream, sqlFile.getCharset())) {
-                    String sqlScriptContent = IOUtils.readToString(fileReader);
-                    try {
-                        for (DBPDataSourceContainer dataSourceContainer : dataSources) {
-                            if (!dataSourceContainer.isConnected()) {
-                                dataSourceContainer.connect(monitor, true, true);
+            try {
+                // In streaming mode script is read for each connection separately
+                String sqlScriptContent = settings.isStreamScripts() ? null : readScript(sqlFile);
+                try {
+                    for (DBPDataSourceContainer dataSourceContainer : dataSources) {
+                        if (!dataSourceContainer.isConnected()) {
+                            dataSourceContainer.connect(monitor, true, true);
+                        }
+                        DBPDataSource dataSource = dataSourceContainer.getDataSource();
+                        if (dataSource == null) {
+                            throw new DBException("Can't obtain data source connection");
+                        }
+                        DBCExecutionContext executionContext = dataSource.getDefaultInstance().getDefaultContext(monitor, false);
+
+                        log.debug("> Execute script [" + filePath + "] in [" + dataSourceContainer.getName() + "]");
+                        DBCExecutionContextDefaults contextDefaults = executionContext.getContextDefaults();
+                        if (contextDefaults != null) {
+                            DBSCatalog defaultCatalog = contextDefaults.getDefaultCatalog();
+                            if (defaultCatalog != null) {
+                                log.debug("> Default catalog: " + defaultCatalog.getName());
                             }
-                            DBPDataSource dataSource = dataSourceContainer.getDataSource();
-                            if (dataSource == null) {
-                                throw new DBException("Can't obtain data source connection");
+                            DBSSchema defaultSchema = contextDefaults.getDefaultSchema();
+                            if (defaultSchema != null) {
+                                log.debug("> Default schema: " + defaultSchema.getName());
                             }
-                            DBCExecutionContext executionContext = dataSource.getDefaultInstance().getDefaultContext(monitor, false);
-
-                            log.debug("> Execute script [" + filePath + "] in [" + dataSourceContainer.getName() + "]");
-                            DBCExecutionContextDefaults contextDefaults = executionContext.getContextDefaults();
-                            if (contextDefaults != null) {
-                                DBSCatalog defaultCatalog = contextDefaults.getDefaultCatalog();
-                                if (defaultCatalog != null) {
-                                    log.debug("> Default catalog: " + defaultCatalog.getName());
-                                }
-                                DBSSchema defaultSchema = contextDefaults.getDefaultSchema();
-                                if (defaultSchema != null) {
-                                    log.debug("> Default schema: " + defaultSchema.getName());
+                        }
+
+                        if (sqlScriptContent != null) {
+                            processScript(monitor, task, settings, executionContext, filePath, sqlScriptContent, null, log, logStream);
+                        } else {
+                            try (InputStream sqlStream = sqlFile.getContents(true)) {
+                                try (Reader fileReader = new InputStreamReader(sqlStream, sqlFile.getCharset())) {
+                                    processScript(monitor, task, settings, executionContext, filePath, null, fileReader, log, logStream);
                                 }
                             }
-
-                            processScript(monitor, task, settings, executionContext, filePath, sqlScriptContent, log, logStream);
                         }
-                    } catch (Exception e) {
-                        throw new InvocationTargetException(e);
                     }
+                } catch (Exception e) {
+                    throw new InvocationTargetException(e);
                 }
             } catch (Throwable e) {
                 Throwable error = e instanceof InvocationTargetException ? ((InvocationTargetException) e).getTargetException() : e;
@@ -139,16 +150,50 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
         }
     }
 
-    private void processScript(DBRProgressMonitor monitor, DBTTask task, SQLScriptExecuteSettings settings, DBCExecutionContext executionContext, String filePath, String sqlScriptContent, Log log, PrintStream logStream) throws DBException {
+    private static String readScript(IFile sqlFile) throws Exception {
+        try (InputStream sqlStream = sqlFile.getContents(true)) {
+            try (Reader fileReader = new InputStreamReader(sqlStream, sqlFile.getCharset())) {
+                return IOUtils.readToString(fileReader);
+            }
+        }
+    }
+
+    private void processScript(
+        DBRProgressMonitor monitor,
+        DBTTask task,
+        SQLScriptExecuteSettings settings,
+        DBCExecutionContext executionContext,
+        String filePath,
+        @Nullable String sqlScriptContent,
+        @Nullable Reader sqlScriptReader,
+        Log log,
+        PrintStream logStream
+    ) throws DBException {
         PrintWriter logWriter = new PrintWriter(logStream, true);
-        List<SQLScriptElement> scriptElements = SQLScriptParser.parseScript(executionContext.getDataSource(), sqlScriptContent);
         SQLScriptContext scriptContext = new SQLScriptContext(null, () -> executionContext, null, logWriter, null);
         scriptContext.setVariables(DBTaskUtils.getVariables(task));
         SQLScriptDataReceiver dataReceiver = new SQLScriptDataReceiver();
-        SQLScriptProcessor scriptProcessor = new SQLScriptProcessor(executionContext, scriptElements, scriptContext, dataReceiver, log);
+        SQLScriptProcessor scriptProcessor;
+        if (sqlScriptReader != null) {
+            SQLScriptStreamParser scriptParser = new SQLScriptStreamParser(executionContext.getDataSource(), sqlScriptReader);
+            scriptProcessor = new SQLScriptProcessor(executionContext, scriptParser, scriptContext, dataReceiver, log);
+        } else {
+            List<SQLScriptElement> scriptElements = SQLScriptParser.parseScript(executionContext.getDataSource(), sqlScriptContent);
+            scriptProcessor = new SQLScriptProcessor(executionContext, scriptElements, scriptContext, dataReceiver, log);
+        }
 
-        scriptProcessor.setCommitType(settings.isAutoCommit() ? SQLScriptCommitType.AUTOCOMMIT : SQLScriptCommitType.AT_END);
+        if (settings.isAutoCommit()) {
+            scriptProcessor.setCommitType(SQLScriptCommitType.AUTOCOMMIT);
+        } else if (settings.getCommitLines() > 0) {
+            scriptProcessor.setCommitType(SQLScriptCommitType.NLINES);
+            scriptProcessor.setCommitLines(settings.getCommitLines());
+        } else {
+            scriptProcessor.setCommitType(SQLScriptCommitType.AT_END);
+        }
         scriptProcessor.setErrorHandling(settings.isIgnoreErrors() ? SQLScriptErrorHandling.IGNORE : SQLScriptErrorHandling.STOP_ROLLBACK);
+        if (settings.isBatchInserts()) {
+            scriptProcessor.setInsertBatchSize(INSERT_BATCH_SIZE);
+        }
         if (settings.isDumpQueryResultsToLog()) {
             dataReceiver.setDumpWriter(logWriter);
         }
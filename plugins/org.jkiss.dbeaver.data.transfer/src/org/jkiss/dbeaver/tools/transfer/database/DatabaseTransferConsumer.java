@@ -23,7 +23,9 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDAttributeBindingCustom;
+import org.jkiss.dbeaver.model.data.DBDDataReceiverBatch;
 import org.jkiss.dbeaver.model.data.DBDInsertReplaceMethod;
+import org.jkiss.dbeaver.model.data.DBDRowBatch;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
@@ -60,7 +62,7 @@ import java.util.*;
  */
 @DBSerializable("databaseTransferConsumer")
 public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseConsumerSettings, IDataTransferProcessor>,
-        IDataTransferNodePrimary, DBPReferentialIntegrityController {
+        IDataTransferNodePrimary, DBPReferentialIntegrityController, DBDDataReceiverBatch {
     private static final Log log = Log.getLog(DatabaseTransferConsumer.class);
 
     private final DBCStatistics statistics = new DBCStatistics();
@@ -335,19 +337,68 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 // No value handler - get raw value
                 attrValue = resultSet.getAttributeValue(i);
             }
+            setTargetValue(column, rowValues, attrValue);
+        }
 
-            if (containerMapping != null && containerMapping.getTarget() instanceof DBSDocumentContainer) {
-                rowValues[column.targetIndex] = attrValue;
-            } else {
-                DatabaseMappingAttribute targetAttr = column.targetAttr;
-                rowValues[column.targetIndex] = column.targetValueHandler.getValueFromObject(
-                    targetSession,
-                    targetAttr.getTarget() == null ? targetAttr.getSource() : targetAttr.getTarget(),
-                    attrValue,
-                    false, false);
+        addRow(session, rowValues, document);
+    }
+
+    @Nullable
+    @Override
+    public DBDRowBatch createRowBatch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        if (isPreview || session.getDataSource().getInfo().isDynamicMetadata()) {
+            // Preview reads limited number of rows. Documents are read as a whole.
+            return null;
+        }
+        DBDAttributeBinding[] bindings = new DBDAttributeBinding[columnMappings.length];
+        for (int i = 0; i < columnMappings.length; i++) {
+            ColumnMapping column = columnMappings[i];
+            if (column == null || column.targetIndex < 0) {
+                continue;
             }
+            if (column.sourceValueHandler == null || column.sourceAttr instanceof DBDAttributeBindingCustom) {
+                return null;
+            }
+            bindings[i] = column.sourceAttr;
         }
+        return DBExecUtils.createRowBatch(session, resultSet, bindings, bindings);
+    }
+
+    @Override
+    public void fetchBatch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch) throws DBCException {
+        for (int rowNum = 0; rowNum < batch.getRowCount(); rowNum++) {
+            Object[] rowValues = new Object[targetAttributes.size()];
+            for (int i = 0; i < columnMappings.length; i++) {
+                ColumnMapping column = columnMappings[i];
+                if (column == null || column.targetIndex < 0) {
+                    continue;
+                }
+                Throwable error = batch.getError(rowNum, i);
+                if (error instanceof DBCException) {
+                    throw (DBCException) error;
+                } else if (error != null) {
+                    throw new DBCException("Error reading attribute '" + column.sourceAttr.getName() + "' value", error);
+                }
+                setTargetValue(column, rowValues, batch.getValue(rowNum, i));
+            }
+            addRow(session, rowValues, null);
+        }
+    }
+
+    private void setTargetValue(ColumnMapping column, Object[] rowValues, Object attrValue) throws DBCException {
+        if (containerMapping != null && containerMapping.getTarget() instanceof DBSDocumentContainer) {
+            rowValues[column.targetIndex] = attrValue;
+        } else {
+            DatabaseMappingAttribute targetAttr = column.targetAttr;
+            rowValues[column.targetIndex] = column.targetValueHandler.getValueFromObject(
+                targetSession,
+                targetAttr.getTarget() == null ? targetAttr.getSource() : targetAttr.getTarget(),
+                attrValue,
+                false, false);
+        }
+    }
 
+    private void addRow(DBCSession session, Object[] rowValues, @Nullable Object document) throws DBCException {
         // Transform value
         for (ColumnMapping column : columnMappings) {
             if (column == null || column.targetIndex < 0) {
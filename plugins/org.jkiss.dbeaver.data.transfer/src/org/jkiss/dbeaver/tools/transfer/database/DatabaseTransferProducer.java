@@ -252,18 +252,20 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
 
                         try {
                             monitor.subTask("Read data");
+                            // Zero fetch size lets the data container tune it adaptively
+                            int fetchSize = settings.isAdaptiveFetchSize() ? 0 : settings.getFetchSize();
 
                             // Perform export
                             if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY) {
                                 // Just do it in single query
-                                producerStatistics.accumulate(dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, readFlags, settings.getFetchSize()));
+                                producerStatistics.accumulate(dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, readFlags, fetchSize));
                             } else {
                                 // Read all data by segments
                                 long offset = 0;
                                 int segmentSize = settings.getSegmentSize();
                                 for (; ; ) {
                                     DBCStatistics statistics = dataContainer.readData(
-                                        transferSource, session, consumer, dataFilter, offset, segmentSize, readFlags, settings.getFetchSize());
+                                        transferSource, session, consumer, dataFilter, offset, segmentSize, readFlags, fetchSize);
                                     if (statistics == null || statistics.getRowsFetched() < segmentSize) {
                                         // Done
                                         break;
@@ -130,6 +130,12 @@ public class DTMessages extends NLS {
 	public static String sql_script_task_page_settings_option_ignore_errors;
 	public static String sql_script_task_page_settings_option_dump_results;
 	public static String sql_script_task_page_settings_option_auto_commit;
+	public static String sql_script_task_page_settings_option_stream_scripts;
+	public static String sql_script_task_page_settings_option_stream_scripts_tip;
+	public static String sql_script_task_page_settings_option_batch_inserts;
+	public static String sql_script_task_page_settings_option_batch_inserts_tip;
+	public static String sql_script_task_page_settings_option_commit_lines;
+	public static String sql_script_task_page_settings_option_commit_lines_tip;
 	public static String database_consumer_settings_option_use_transactions;
 	public static String database_consumer_settings_option_commit_after;
 	public static String database_consumer_settings_option_use_multi_insert;
@@ -35,17 +35,25 @@ import org.jkiss.dbeaver.tools.transfer.stream.model.StreamDataSource;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.*;
 
 public class StreamEntityMapping implements DBSEntity, DBSDataContainer, DBPQualifiedObject {
-    private final File inputFile;
+    private final Path inputPath;
     private final DBPDataSource dataSource;
     private final String entityName;
     private final List<StreamDataImporterColumnInfo> streamColumns = new ArrayList<>();
 
     public StreamEntityMapping(File inputFile) {
-        this.inputFile = inputFile;
-        this.entityName = inputFile.getName();
+        this(inputFile.toPath());
+    }
+
+    /**
+     * Mapping of a file which may reside in a virtual file system
+     */
+    public StreamEntityMapping(@NotNull Path inputPath) {
+        this.inputPath = inputPath;
+        this.entityName = String.valueOf(inputPath.getFileName());
         this.dataSource = new StreamDataSource(entityName);
     }
 
@@ -56,13 +64,21 @@ public class StreamEntityMapping implements DBSEntity, DBSDataContainer, DBPQual
         if (CommonUtils.isEmpty(inputFileName)) {
             inputFileName = this.entityName;
         }
-        this.inputFile = new File(inputFileName);
+        this.inputPath = new File(inputFileName).toPath();
 
         this.dataSource = new StreamDataSource(entityName);
     }
 
+    /**
+     * Local input file. Use {@link #getInputPath()} to read the data, it works for virtual file systems too.
+     */
     public File getInputFile() {
-        return inputFile;
+        return inputPath.toFile();
+    }
+
+    @NotNull
+    public Path getInputPath() {
+        return inputPath;
     }
 
     public String getEntityName() {
@@ -189,17 +205,17 @@ public class StreamEntityMapping implements DBSEntity, DBSDataContainer, DBPQual
 
     @Override
     public String toString() {
-        return inputFile.getAbsolutePath();
+        return inputPath.toAbsolutePath().toString();
     }
 
     @Override
     public int hashCode() {
-        return inputFile.hashCode();
+        return inputPath.hashCode();
     }
 
     @Override
     public boolean equals(Object obj) {
         return obj instanceof StreamEntityMapping &&
-            CommonUtils.equalObjects(inputFile, ((StreamEntityMapping) obj).inputFile);
+            CommonUtils.equalObjects(inputPath, ((StreamEntityMapping) obj).inputPath);
     }
 }
@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.tools.transfer.stream;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.fs.stream.FSStreamUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.tools.transfer.DataTransferPipe;
@@ -27,7 +28,6 @@ import org.jkiss.dbeaver.tools.transfer.IDataTransferProcessor;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferSettings;
 import org.jkiss.utils.CommonUtils;
 
-import java.io.FileInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -111,7 +111,7 @@ public class StreamProducerSettings implements IDataTransferSettings {
 
         if (entityMapping != null && importer instanceof IStreamDataImporter) {
             IStreamDataImporter sdi = (IStreamDataImporter) importer;
-            try (InputStream is = new FileInputStream(entityMapping.getInputFile())) {
+            try (InputStream is = FSStreamUtils.openInputStream(entityMapping.getInputPath())) {
                 sdi.init(new StreamDataImporterSite(this, entityMapping, procProps));
                 try {
                     columnInfos = sdi.readColumnsInfo(entityMapping, is);
@@ -27,6 +27,8 @@ import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBExecUtils;
+import org.jkiss.dbeaver.model.fs.stream.FSStreamUtils;
 import org.jkiss.dbeaver.model.meta.DBSerializable;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -62,6 +64,9 @@ import org.jkiss.utils.io.ByteOrderMark;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.zip.ZipEntry;
@@ -71,7 +76,7 @@ import java.util.zip.ZipOutputStream;
  * Stream transfer consumer
  */
 @DBSerializable("streamTransferConsumer")
-public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsumerSettings, IStreamDataExporter> {
+public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsumerSettings, IStreamDataExporter>, DBDDataReceiverBatch {
 
     private static final Log log = Log.getLog(StreamTransferConsumer.class);
 
@@ -190,6 +195,36 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     @Override
     public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
+        exportRow(session, resultSet, fetchRow(session, resultSet, columnMetas));
+    }
+
+    @Nullable
+    @Override
+    public DBDRowBatch createRowBatch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        DBSAttributeBase[] attributes = new DBSAttributeBase[columnMetas.length];
+        for (int i = 0; i < columnMetas.length; i++) {
+            attributes[i] = columnMetas[i].getMetaAttribute();
+        }
+        return DBExecUtils.createRowBatch(session, resultSet, columnMetas, attributes);
+    }
+
+    @Override
+    public void fetchBatch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch) throws DBCException {
+        for (int rowNum = 0; rowNum < batch.getRowCount(); rowNum++) {
+            Object[] srcRow = new Object[columnMetas.length];
+            for (int i = 0; i < columnMetas.length; i++) {
+                Throwable error = batch.getError(rowNum, i);
+                if (error != null) {
+                    log.debug("Error fetching '" + columnMetas[i].getName() + "' value: " + error.getMessage());
+                } else {
+                    srcRow[i] = batch.getValue(rowNum, i);
+                }
+            }
+            exportRow(session, resultSet, srcRow);
+        }
+    }
+
+    private void exportRow(DBCSession session, DBCResultSet resultSet, Object[] srcRow) throws DBCException {
         try {
             // Check for file split
             if (settings.isSplitOutFiles() && !parameters.isBinary && !firstRow) {
@@ -204,7 +239,6 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
 
             // Get values
-            Object[] srcRow = fetchRow(session, resultSet, columnMetas);
             Object[] targetRow;
             targetRow = new Object[columnBindings.length];
             for (int i = 0; i < columnBindings.length; i++) {
@@ -490,7 +524,11 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             truncate = true;
         }
 
-        this.outputStream = new BufferedOutputStream(new FileOutputStream(outputFile, !truncate), OUT_FILE_BUFFER_SIZE);
+        final Path outputPath = outputFile.toPath();
+        final OutputStream fileStream = truncate ?
+            FSStreamUtils.openOutputStream(outputPath) :
+            Files.newOutputStream(outputPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.outputStream = new BufferedOutputStream(fileStream, OUT_FILE_BUFFER_SIZE);
         this.outputStream = this.statStream = new StatOutputStream(outputStream);
 
         if (settings.isCompressResults()) {
@@ -23,6 +23,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBIcon;
 import org.jkiss.dbeaver.model.DBPImage;
+import org.jkiss.dbeaver.model.fs.stream.FSStreamUtils;
 import org.jkiss.dbeaver.model.meta.DBSerializable;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
@@ -39,9 +40,10 @@ import org.jkiss.dbeaver.tools.transfer.registry.DataTransferRegistry;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
 import java.util.Map;
 
 /**
@@ -97,8 +99,8 @@ public class StreamTransferProducer implements IDataTransferProducer<StreamProdu
         if (entityMapping == null) {
             return "";
         }
-        File inputFile = entityMapping.getInputFile();
-        return inputFile == null ? null : inputFile.getParentFile().getAbsolutePath();
+        Path parent = entityMapping.getInputPath().toAbsolutePath().getParent();
+        return parent == null ? null : parent.toString();
     }
 
     @Override
@@ -139,7 +141,7 @@ public class StreamTransferProducer implements IDataTransferProducer<StreamProdu
         importer.init(site);
 
         // Perform transfer
-        try (InputStream is = new FileInputStream(entityMapping.getInputFile())) {
+        try (InputStream is = FSStreamUtils.openInputStream(entityMapping.getInputPath())) {
             importer.runImport(monitor, entityMapping.getDataSource(), is, consumer);
         } catch (IOException e) {
             throw new DBException("IO error", e);
@@ -160,7 +162,10 @@ public class StreamTransferProducer implements IDataTransferProducer<StreamProdu
 
         @Override
         public void serializeObject(DBRRunnableContext runnableContext, DBTTask context, StreamTransferProducer object, Map<String, Object> state) {
-            state.put("file", object.getInputFile().getAbsolutePath());
+            Path inputPath = object.getEntityMapping().getInputPath();
+            // Remote paths are stored as URI, so they can be resolved by their file system provider
+            state.put("file", FSStreamUtils.isRemotePath(inputPath) ?
+                inputPath.toUri().toString() : inputPath.toAbsolutePath().toString());
             if (object.defaultProcessor != null) {
                 state.put("node", object.defaultProcessor.getNode().getId());
                 state.put("processor", object.defaultProcessor.getId());
@@ -169,7 +174,8 @@ public class StreamTransferProducer implements IDataTransferProducer<StreamProdu
 
         @Override
         public StreamTransferProducer deserializeObject(DBRRunnableContext runnableContext, DBTTask objectContext, Map<String, Object> state) {
-            File inputFile = new File(CommonUtils.toString(state.get("file")));
+            String fileName = CommonUtils.toString(state.get("file"));
+            Path inputPath = isRemoteFileURI(fileName) ? Path.of(URI.create(fileName)) : new File(fileName).toPath();
             String nodeId = CommonUtils.toString(state.get("node"));
             String processorId = CommonUtils.toString(state.get("processor"));
             DataTransferProcessorDescriptor processor = null;
@@ -184,7 +190,13 @@ public class StreamTransferProducer implements IDataTransferProducer<StreamProdu
                     }
                 }
             }
-            return new StreamTransferProducer(new StreamEntityMapping(inputFile), processor);
+            return new StreamTransferProducer(new StreamEntityMapping(inputPath), processor);
+        }
+
+        private static boolean isRemoteFileURI(@NotNull String fileName) {
+            int schemeEnd = fileName.indexOf("://");
+            // Single letter scheme is a Windows drive
+            return schemeEnd > 1 && !fileName.startsWith("file:");
         }
     }
 
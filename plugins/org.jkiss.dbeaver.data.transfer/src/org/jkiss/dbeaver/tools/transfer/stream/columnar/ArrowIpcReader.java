@@ -0,0 +1,396 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ArrowIpcWriter.*;
+
+/**
+ * Sequential reader of Arrow IPC files (Feather v2) and streams.
+ *
+ * Record batches are read one by one, so memory usage doesn't depend on the file size.
+ * Dictionary encoded, nested and compressed data is not supported.
+ */
+public class ArrowIpcReader implements ColumnarReader {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final DataInputStream in;
+    private final List<ArrowField> fields = new ArrayList<>();
+    private boolean endOfStream;
+
+    public ArrowIpcReader(@NotNull InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    @NotNull
+    @Override
+    public List<ColumnarColumn> readSchema() throws IOException {
+        byte[] prefix = new byte[8];
+        in.readFully(prefix);
+        final byte[] metadata;
+        if (Arrays.equals(Arrays.copyOf(prefix, MAGIC.length), MAGIC)) {
+            metadata = readMessageMetadata(null);
+        } else {
+            // Stream format - there is no file magic
+            metadata = readMessageMetadata(prefix);
+        }
+        if (metadata == null) {
+            throw new IOException("Arrow schema is missing");
+        }
+        final FlatBufferTable message = FlatBufferTable.getRoot(metadata);
+        if (message.getByte(1, (byte) 0) != HEADER_SCHEMA) {
+            throw new IOException("Arrow schema message expected");
+        }
+        skipFully(message.getLong(3, 0));
+
+        final FlatBufferTable schema = message.getTable(2);
+        if (schema.getShort(0, (short) 0) != 0) {
+            throw new IOException("Big-endian Arrow files are not supported");
+        }
+        final List<ColumnarColumn> columns = new ArrayList<>();
+        final int fieldCount = schema.getVectorLength(1);
+        for (int i = 0; i < fieldCount; i++) {
+            final ArrowField field = readField(schema.getTableElement(1, i));
+            fields.add(field);
+            columns.add(field.column);
+        }
+        return columns;
+    }
+
+    @Nullable
+    @Override
+    public ColumnarVector[] readBatch() throws IOException {
+        while (!endOfStream) {
+            final byte[] metadata = readMessageMetadata(null);
+            if (metadata == null) {
+                return null;
+            }
+            final FlatBufferTable message = FlatBufferTable.getRoot(metadata);
+            final long bodyLength = message.getLong(3, 0);
+            final byte headerType = message.getByte(1, (byte) 0);
+            if (headerType != HEADER_RECORD_BATCH) {
+                // Dictionary batches, tensors, etc
+                if (headerType == 2) {
+                    throw new IOException("Dictionary encoded Arrow data is not supported");
+                }
+                skipFully(bodyLength);
+                continue;
+            }
+            if (bodyLength > Integer.MAX_VALUE) {
+                throw new IOException("Arrow record batch is too big (" + bodyLength + " bytes)");
+            }
+            final byte[] body = new byte[(int) bodyLength];
+            in.readFully(body);
+            return readRecordBatch(message.getTable(2), ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN));
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Reads message metadata. Returns null on end of stream.
+     */
+    @Nullable
+    private byte[] readMessageMetadata(@Nullable byte[] prefix) throws IOException {
+        int length;
+        if (prefix != null) {
+            length = readIntLE(prefix, 0);
+            if (length == CONTINUATION_MARKER) {
+                length = readIntLE(prefix, 4);
+            } else {
+                // Legacy format without continuation marker: rest of prefix is metadata
+                final byte[] metadata = new byte[length];
+                System.arraycopy(prefix, 4, metadata, 0, Math.min(4, length));
+                in.readFully(metadata, 4, length - 4);
+                return metadata;
+            }
+        } else {
+            try {
+                length = readIntLE();
+            } catch (EOFException e) {
+                endOfStream = true;
+                return null;
+            }
+            if (length == CONTINUATION_MARKER) {
+                length = readIntLE();
+            }
+        }
+        if (length == 0) {
+            endOfStream = true;
+            return null;
+        }
+        final byte[] metadata = new byte[length];
+        in.readFully(metadata);
+        return metadata;
+    }
+
+    private ArrowField readField(FlatBufferTable field) throws IOException {
+        final String name = field.getString(0);
+        if (field.getTable(4) != null) {
+            throw new IOException("Dictionary encoded field '" + name + "' is not supported");
+        }
+        final byte typeType = field.getByte(2, (byte) 0);
+        final FlatBufferTable type = field.getTable(3);
+        final ArrowField result = new ArrowField(typeType);
+        switch (typeType) {
+            case TYPE_NULL:
+                result.column = new ColumnarColumn(name, ColumnarDataType.STRING);
+                break;
+            case TYPE_INT:
+                result.bitWidth = type.getInt(0, 0);
+                final boolean signed = type.getBoolean(1, false);
+                if (result.bitWidth != 8 && result.bitWidth != 16 && result.bitWidth != 32 && result.bitWidth != 64) {
+                    throw new IOException("Unsupported integer bit width " + result.bitWidth + " in field '" + name + "'");
+                }
+                result.unsigned = !signed;
+                result.column = new ColumnarColumn(name,
+                    result.bitWidth < 32 || (result.bitWidth == 32 && signed) ? ColumnarDataType.INT32 : ColumnarDataType.INT64);
+                break;
+            case TYPE_FLOATING_POINT: {
+                final short precision = type.getShort(0, PRECISION_HALF);
+                if (precision == PRECISION_HALF) {
+                    throw new IOException("Half precision floats are not supported in field '" + name + "'");
+                }
+                result.bitWidth = precision == PRECISION_SINGLE ? 32 : 64;
+                result.column = new ColumnarColumn(name, precision == PRECISION_SINGLE ? ColumnarDataType.FLOAT32 : ColumnarDataType.FLOAT64);
+                break;
+            }
+            case TYPE_DECIMAL: {
+                final int bitWidth = type.getInt(2, 128);
+                if (bitWidth != 128) {
+                    throw new IOException("Unsupported decimal bit width " + bitWidth + " in field '" + name + "'");
+                }
+                result.column = new ColumnarColumn(name, ColumnarDataType.DECIMAL, type.getInt(0, 0), type.getInt(1, 0));
+                break;
+            }
+            case TYPE_DATE:
+                result.unit = type.getShort(0, DATE_UNIT_MILLISECOND);
+                result.bitWidth = result.unit == DATE_UNIT_DAY ? 32 : 64;
+                result.column = new ColumnarColumn(name, ColumnarDataType.DATE);
+                break;
+            case TYPE_TIME:
+                result.unit = type.getShort(0, TIME_UNIT_MILLISECOND);
+                result.bitWidth = type.getInt(1, 32);
+                result.column = new ColumnarColumn(name, ColumnarDataType.TIME);
+                break;
+            case TYPE_TIMESTAMP:
+                result.unit = type.getShort(0, TIME_UNIT_SECOND);
+                result.bitWidth = 64;
+                result.column = new ColumnarColumn(name,
+                    type.getString(1) == null ? ColumnarDataType.TIMESTAMP : ColumnarDataType.TIMESTAMP_TZ);
+                break;
+            case TYPE_UTF8:
+            case TYPE_LARGE_UTF8:
+                result.column = new ColumnarColumn(name, ColumnarDataType.STRING);
+                break;
+            case TYPE_BINARY:
+            case TYPE_LARGE_BINARY:
+                result.column = new ColumnarColumn(name, ColumnarDataType.BINARY);
+                break;
+            case TYPE_BOOL:
+                result.column = new ColumnarColumn(name, ColumnarDataType.BOOLEAN);
+                break;
+            default:
+                throw new IOException("Unsupported Arrow type " + typeType + " in field '" + name + "'");
+        }
+        return result;
+    }
+
+    private ColumnarVector[] readRecordBatch(FlatBufferTable batch, ByteBuffer body) throws IOException {
+        if (batch.getTable(3) != null) {
+            throw new IOException("Compressed Arrow record batches are not supported");
+        }
+        final int length = (int) batch.getLong(0, 0);
+        final ColumnarVector[] vectors = new ColumnarVector[fields.size()];
+        int bufferIndex = 0;
+        for (int i = 0; i < vectors.length; i++) {
+            final ArrowField field = fields.get(i);
+            final ColumnarVector vector = new ColumnarVector(field.column);
+            vectors[i] = vector;
+            final long nullCount = batch.getStructLong(1, i, 16, 8);
+            if (field.typeType == TYPE_NULL) {
+                for (int row = 0; row < length; row++) {
+                    vector.addNull();
+                }
+                continue;
+            }
+            final int validityOffset = (int) batch.getStructLong(2, bufferIndex, 16, 0);
+            final boolean hasValidity = nullCount > 0 && batch.getStructLong(2, bufferIndex, 16, 8) > 0;
+            bufferIndex++;
+            final int valuesOffset = (int) batch.getStructLong(2, bufferIndex++, 16, 0);
+            int dataOffset = 0;
+            final boolean variableLength = field.typeType == TYPE_UTF8 || field.typeType == TYPE_BINARY ||
+                field.typeType == TYPE_LARGE_UTF8 || field.typeType == TYPE_LARGE_BINARY;
+            if (variableLength) {
+                dataOffset = (int) batch.getStructLong(2, bufferIndex++, 16, 0);
+            }
+            for (int row = 0; row < length; row++) {
+                if (hasValidity && !getBit(body, validityOffset, row)) {
+                    vector.addNull();
+                    continue;
+                }
+                switch (field.typeType) {
+                    case TYPE_BOOL:
+                        vector.addLong(getBit(body, valuesOffset, row) ? 1 : 0);
+                        break;
+                    case TYPE_INT:
+                        vector.addLong(readInteger(body, valuesOffset, row, field.bitWidth, field.unsigned));
+                        break;
+                    case TYPE_FLOATING_POINT:
+                        vector.addDouble(field.bitWidth == 32 ?
+                            body.getFloat(valuesOffset + row * 4) :
+                            body.getDouble(valuesOffset + row * 8));
+                        break;
+                    case TYPE_DECIMAL: {
+                        final byte[] bigEndian = new byte[16];
+                        for (int b = 0; b < 16; b++) {
+                            bigEndian[15 - b] = body.get(valuesOffset + row * 16 + b);
+                        }
+                        vector.addDecimal(new BigInteger(bigEndian));
+                        break;
+                    }
+                    case TYPE_DATE: {
+                        final long value = readInteger(body, valuesOffset, row, field.bitWidth, false);
+                        vector.addLong(field.unit == DATE_UNIT_DAY ? value : Math.floorDiv(value, MILLIS_PER_DAY));
+                        break;
+                    }
+                    case TYPE_TIME:
+                        vector.addLong(toMillis(readInteger(body, valuesOffset, row, field.bitWidth, false), field.unit));
+                        break;
+                    case TYPE_TIMESTAMP:
+                        vector.addLong(toMicros(body.getLong(valuesOffset + row * 8), field.unit));
+                        break;
+                    default: {
+                        final boolean large = field.typeType == TYPE_LARGE_UTF8 || field.typeType == TYPE_LARGE_BINARY;
+                        final long start = large ? body.getLong(valuesOffset + row * 8) : body.getInt(valuesOffset + row * 4);
+                        final long end = large ? body.getLong(valuesOffset + (row + 1) * 8) : body.getInt(valuesOffset + (row + 1) * 4);
+                        vector.addBytes(body.array(), dataOffset + (int) start, (int) (end - start));
+                        break;
+                    }
+                }
+            }
+        }
+        return vectors;
+    }
+
+    private static boolean getBit(ByteBuffer body, int offset, int index) {
+        return (body.get(offset + (index >> 3)) & (1 << (index & 7))) != 0;
+    }
+
+    private static long readInteger(ByteBuffer body, int offset, int index, int bitWidth, boolean unsigned) {
+        switch (bitWidth) {
+            case 8: {
+                final byte value = body.get(offset + index);
+                return unsigned ? value & 0xFFL : value;
+            }
+            case 16: {
+                final short value = body.getShort(offset + index * 2);
+                return unsigned ? value & 0xFFFFL : value;
+            }
+            case 32: {
+                final int value = body.getInt(offset + index * 4);
+                return unsigned ? value & 0xFFFFFFFFL : value;
+            }
+            default:
+                return body.getLong(offset + index * 8);
+        }
+    }
+
+    private static long toMillis(long value, short unit) {
+        switch (unit) {
+            case TIME_UNIT_SECOND:
+                return value * 1000;
+            case TIME_UNIT_MICROSECOND:
+                return value / 1000;
+            case TIME_UNIT_NANOSECOND:
+                return value / 1_000_000;
+            default:
+                return value;
+        }
+    }
+
+    private static long toMicros(long value, short unit) {
+        switch (unit) {
+            case TIME_UNIT_SECOND:
+                return value * 1_000_000;
+            case TIME_UNIT_MILLISECOND:
+                return value * 1000;
+            case TIME_UNIT_NANOSECOND:
+                return Math.floorDiv(value, 1000);
+            default:
+                return value;
+        }
+    }
+
+    private int readIntLE() throws IOException {
+        final int b1 = in.read();
+        if (b1 < 0) {
+            throw new EOFException();
+        }
+        return b1 | (in.readUnsignedByte() << 8) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 24);
+    }
+
+    private static int readIntLE(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | ((bytes[offset + 1] & 0xFF) << 8) |
+            ((bytes[offset + 2] & 0xFF) << 16) | ((bytes[offset + 3] & 0xFF) << 24);
+    }
+
+    private void skipFully(long count) throws IOException {
+        while (count > 0) {
+            final long skipped = in.skip(count);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException();
+                }
+                count--;
+            } else {
+                count -= skipped;
+            }
+        }
+    }
+
+    private static class ArrowField {
+        final byte typeType;
+        ColumnarColumn column;
+        int bitWidth;
+        boolean unsigned;
+        short unit;
+
+        ArrowField(byte typeType) {
+            this.typeType = typeType;
+        }
+    }
+
+}
@@ -0,0 +1,408 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arrow IPC file format (Feather v2) writer.
+ *
+ * File consists of schema message, record batch per each written vectors batch and a footer
+ * which references all record batches. Body compression is not used.
+ */
+public class ArrowIpcWriter {
+
+    static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+    static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+
+    static final short METADATA_V5 = 4;
+
+    static final byte HEADER_SCHEMA = 1;
+    static final byte HEADER_RECORD_BATCH = 3;
+
+    static final byte TYPE_NULL = 1;
+    static final byte TYPE_INT = 2;
+    static final byte TYPE_FLOATING_POINT = 3;
+    static final byte TYPE_BINARY = 4;
+    static final byte TYPE_UTF8 = 5;
+    static final byte TYPE_BOOL = 6;
+    static final byte TYPE_DECIMAL = 7;
+    static final byte TYPE_DATE = 8;
+    static final byte TYPE_TIME = 9;
+    static final byte TYPE_TIMESTAMP = 10;
+    static final byte TYPE_LARGE_BINARY = 19;
+    static final byte TYPE_LARGE_UTF8 = 20;
+
+    static final short PRECISION_HALF = 0;
+    static final short PRECISION_SINGLE = 1;
+    static final short PRECISION_DOUBLE = 2;
+
+    static final short DATE_UNIT_DAY = 0;
+    static final short DATE_UNIT_MILLISECOND = 1;
+
+    static final short TIME_UNIT_SECOND = 0;
+    static final short TIME_UNIT_MILLISECOND = 1;
+    static final short TIME_UNIT_MICROSECOND = 2;
+    static final short TIME_UNIT_NANOSECOND = 3;
+
+    private static final int DECIMAL_BIT_WIDTH = 128;
+    private static final int BLOCK_SIZE = 24;
+
+    private final OutputStream out;
+    private final List<ColumnarColumn> columns;
+    private final List<long[]> blocks = new ArrayList<>();
+    private final ByteArrayBody body = new ByteArrayBody();
+    private long position;
+
+    public ArrowIpcWriter(@NotNull OutputStream out, @NotNull List<ColumnarColumn> columns) {
+        this.out = out;
+        this.columns = columns;
+    }
+
+    /**
+     * Writes file magic and schema message
+     */
+    public void writeHeader() throws IOException {
+        write(MAGIC);
+        write(new byte[2]);
+
+        final FlatBufferBuilder builder = new FlatBufferBuilder();
+        final int schema = buildSchema(builder);
+        writeMessage(builder, HEADER_SCHEMA, schema, 0);
+    }
+
+    /**
+     * Writes vectors as a single record batch. All vectors must have the same size.
+     */
+    public void writeBatch(@NotNull ColumnarVector[] vectors) throws IOException {
+        if (vectors.length != columns.size()) {
+            throw new IOException("Batch has " + vectors.length + " vectors while schema has " + columns.size() + " columns");
+        }
+        final int rowCount = vectors.length == 0 ? 0 : vectors[0].size();
+        body.reset();
+        final List<long[]> nodes = new ArrayList<>();
+        final List<long[]> buffers = new ArrayList<>();
+        for (ColumnarVector vector : vectors) {
+            if (vector.size() != rowCount) {
+                throw new IOException("Vector '" + vector.getColumn().getName() + "' size " + vector.size() + " differs from batch size " + rowCount);
+            }
+            nodes.add(new long[]{rowCount, vector.getNullCount()});
+            writeVector(vector, buffers);
+        }
+
+        final FlatBufferBuilder builder = new FlatBufferBuilder();
+        final int nodesVector = createStructVector(builder, nodes);
+        final int buffersVector = createStructVector(builder, buffers);
+        builder.startTable(4);
+        builder.addLong(0, rowCount);
+        builder.addOffset(1, nodesVector);
+        builder.addOffset(2, buffersVector);
+        final int recordBatch = builder.endTable();
+
+        final long blockOffset = position;
+        final int metadataLength = writeMessage(builder, HEADER_RECORD_BATCH, recordBatch, body.size());
+        body.writeTo(out);
+        position += body.size();
+        blocks.add(new long[]{blockOffset, metadataLength, body.size()});
+    }
+
+    /**
+     * Writes end-of-stream marker and file footer
+     */
+    public void writeFooter() throws IOException {
+        writeInt(CONTINUATION_MARKER);
+        writeInt(0);
+
+        final FlatBufferBuilder builder = new FlatBufferBuilder();
+        final int schema = buildSchema(builder);
+        builder.startVector(BLOCK_SIZE, 0, 8);
+        final int dictionaries = builder.endVector(0);
+        builder.startVector(BLOCK_SIZE, blocks.size(), 8);
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            final long[] block = blocks.get(i);
+            builder.prep(8, BLOCK_SIZE);
+            builder.putLong(block[2]);
+            builder.pad(4);
+            builder.putInt((int) block[1]);
+            builder.putLong(block[0]);
+        }
+        final int recordBatches = builder.endVector(blocks.size());
+        builder.startTable(5);
+        builder.addShort(0, METADATA_V5);
+        builder.addOffset(1, schema);
+        builder.addOffset(2, dictionaries);
+        builder.addOffset(3, recordBatches);
+        final byte[] footer = builder.finish(builder.endTable());
+
+        write(footer);
+        writeInt(footer.length);
+        write(MAGIC);
+        out.flush();
+    }
+
+    private int buildSchema(FlatBufferBuilder builder) {
+        final int[] fields = new int[columns.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = buildField(builder, columns.get(i));
+        }
+        final int fieldsVector = builder.createOffsetVector(fields);
+        builder.startTable(4);
+        builder.addOffset(1, fieldsVector);
+        return builder.endTable();
+    }
+
+    private int buildField(FlatBufferBuilder builder, ColumnarColumn column) {
+        final int name = builder.createString(column.getName());
+        final int children = builder.createOffsetVector(new int[0]);
+        final byte typeType;
+        final int type;
+        switch (column.getType()) {
+            case BOOLEAN:
+                typeType = TYPE_BOOL;
+                builder.startTable(0);
+                type = builder.endTable();
+                break;
+            case INT32:
+            case INT64:
+                typeType = TYPE_INT;
+                builder.startTable(2);
+                builder.addInt(0, column.getType() == ColumnarDataType.INT32 ? 32 : 64);
+                builder.addBoolean(1, true);
+                type = builder.endTable();
+                break;
+            case FLOAT32:
+            case FLOAT64:
+                typeType = TYPE_FLOATING_POINT;
+                builder.startTable(1);
+                builder.addShort(0, column.getType() == ColumnarDataType.FLOAT32 ? PRECISION_SINGLE : PRECISION_DOUBLE);
+                type = builder.endTable();
+                break;
+            case DECIMAL:
+                typeType = TYPE_DECIMAL;
+                builder.startTable(3);
+                builder.addInt(0, column.getPrecision());
+                builder.addInt(1, column.getScale());
+                builder.addInt(2, DECIMAL_BIT_WIDTH);
+                type = builder.endTable();
+                break;
+            case DATE:
+                typeType = TYPE_DATE;
+                builder.startTable(1);
+                builder.addShort(0, DATE_UNIT_DAY);
+                type = builder.endTable();
+                break;
+            case TIME:
+                typeType = TYPE_TIME;
+                builder.startTable(2);
+                builder.addShort(0, TIME_UNIT_MILLISECOND);
+                builder.addInt(1, 32);
+                type = builder.endTable();
+                break;
+            case TIMESTAMP:
+            case TIMESTAMP_TZ: {
+                typeType = TYPE_TIMESTAMP;
+                final int timezone = column.getType() == ColumnarDataType.TIMESTAMP_TZ ? builder.createString("UTC") : 0;
+                builder.startTable(2);
+                builder.addShort(0, TIME_UNIT_MICROSECOND);
+                builder.addOffset(1, timezone);
+                type = builder.endTable();
+                break;
+            }
+            case BINARY:
+                typeType = TYPE_BINARY;
+                builder.startTable(0);
+                type = builder.endTable();
+                break;
+            default:
+                typeType = TYPE_UTF8;
+                builder.startTable(0);
+                type = builder.endTable();
+                break;
+        }
+        builder.startTable(7);
+        builder.addOffset(0, name);
+        builder.addOffset(3, type);
+        builder.addOffset(5, children);
+        builder.addBoolean(1, true);
+        builder.addByte(2, typeType);
+        return builder.endTable();
+    }
+
+    private void writeVector(ColumnarVector vector, List<long[]> buffers) throws IOException {
+        final int size = vector.size();
+
+        // Validity bitmap may be omitted if there are no nulls
+        long start = body.size();
+        if (vector.getNullCount() > 0) {
+            final byte[] bitmap = new byte[(size + 7) / 8];
+            for (int i = 0; i < size; i++) {
+                if (!vector.isNull(i)) {
+                    bitmap[i >> 3] |= 1 << (i & 7);
+                }
+            }
+            body.write(bitmap, 0, bitmap.length);
+            body.align();
+        }
+        buffers.add(new long[]{start, body.size() - start});
+
+        start = body.size();
+        final ColumnarDataType type = vector.getColumn().getType();
+        switch (type) {
+            case BOOLEAN: {
+                final byte[] bitmap = new byte[(size + 7) / 8];
+                for (int i = 0; i < size; i++) {
+                    if (!vector.isNull(i) && vector.getLong(i) != 0) {
+                        bitmap[i >> 3] |= 1 << (i & 7);
+                    }
+                }
+                body.write(bitmap, 0, bitmap.length);
+                break;
+            }
+            case INT32:
+            case DATE:
+            case TIME:
+                for (int i = 0; i < size; i++) {
+                    body.writeInt(vector.isNull(i) ? 0 : (int) vector.getLong(i));
+                }
+                break;
+            case INT64:
+            case TIMESTAMP:
+            case TIMESTAMP_TZ:
+                for (int i = 0; i < size; i++) {
+                    body.writeLong(vector.isNull(i) ? 0 : vector.getLong(i));
+                }
+                break;
+            case FLOAT32:
+                for (int i = 0; i < size; i++) {
+                    body.writeInt(vector.isNull(i) ? 0 : Float.floatToIntBits((float) vector.getDouble(i)));
+                }
+                break;
+            case FLOAT64:
+                for (int i = 0; i < size; i++) {
+                    body.writeLong(vector.isNull(i) ? 0 : Double.doubleToLongBits(vector.getDouble(i)));
+                }
+                break;
+            case DECIMAL:
+                for (int i = 0; i < size; i++) {
+                    writeDecimal128(vector.isNull(i) ? BigInteger.ZERO : vector.getDecimal(i));
+                }
+                break;
+            default:
+                for (int i = 0; i <= size; i++) {
+                    body.writeInt(vector.getDataOffset(i));
+                }
+                body.align();
+                buffers.add(new long[]{start, body.size() - start});
+                start = body.size();
+                body.write(vector.getData(), 0, vector.getDataSize());
+                break;
+        }
+        body.align();
+        buffers.add(new long[]{start, body.size() - start});
+    }
+
+    private void writeDecimal128(BigInteger value) throws IOException {
+        final byte[] bigEndian = value.toByteArray();
+        if (bigEndian.length > 16) {
+            throw new IOException("Decimal value " + value + " doesn't fit into 128 bits");
+        }
+        final byte fill = (byte) (value.signum() < 0 ? 0xFF : 0);
+        for (int i = 0; i < 16; i++) {
+            body.writeByte(i < bigEndian.length ? bigEndian[bigEndian.length - 1 - i] : fill);
+        }
+    }
+
+    private static int createStructVector(FlatBufferBuilder builder, List<long[]> structs) {
+        builder.startVector(16, structs.size(), 8);
+        for (int i = structs.size() - 1; i >= 0; i--) {
+            final long[] struct = structs.get(i);
+            builder.prep(8, 16);
+            builder.putLong(struct[1]);
+            builder.putLong(struct[0]);
+        }
+        return builder.endVector(structs.size());
+    }
+
+    /**
+     * Writes encapsulated message. Returns length of message prefix and metadata.
+     */
+    private int writeMessage(FlatBufferBuilder builder, byte headerType, int header, long bodyLength) throws IOException {
+        builder.startTable(5);
+        builder.addLong(3, bodyLength);
+        builder.addOffset(2, header);
+        builder.addShort(0, METADATA_V5);
+        builder.addByte(1, headerType);
+        final byte[] metadata = builder.finish(builder.endTable());
+        // Body must start on 8-byte boundary
+        final int paddedLength = (metadata.length + 8 + 7) / 8 * 8 - 8;
+        writeInt(CONTINUATION_MARKER);
+        writeInt(paddedLength);
+        write(metadata);
+        write(new byte[paddedLength - metadata.length]);
+        return paddedLength + 8;
+    }
+
+    private void writeInt(int value) throws IOException {
+        write(new byte[]{(byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24)});
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    /**
+     * Little-endian message body buffer
+     */
+    private static class ByteArrayBody extends ByteArrayOutputStream {
+
+        ByteArrayBody() {
+            super(64 * 1024);
+        }
+
+        void writeByte(int value) {
+            write(value);
+        }
+
+        void writeInt(int value) {
+            write(value);
+            write(value >> 8);
+            write(value >> 16);
+            write(value >> 24);
+        }
+
+        void writeLong(long value) {
+            writeInt((int) value);
+            writeInt((int) (value >> 32));
+        }
+
+        void align() {
+            while ((count & 7) != 0) {
+                write(0);
+            }
+        }
+    }
+
+}
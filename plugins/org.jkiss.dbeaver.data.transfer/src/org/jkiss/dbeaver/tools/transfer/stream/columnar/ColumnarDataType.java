@@ -0,0 +1,50 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+/**
+ * Column types supported by columnar formats.
+ *
+ * Integer, boolean and temporal values are kept as longs, floating point values as doubles.
+ */
+public enum ColumnarDataType {
+    BOOLEAN,
+    INT32,
+    INT64,
+    FLOAT32,
+    FLOAT64,
+    // Unscaled value with precision and scale
+    DECIMAL,
+    // Days since epoch
+    DATE,
+    // Milliseconds since midnight
+    TIME,
+    // Microseconds since epoch, local date/time
+    TIMESTAMP,
+    // Microseconds since epoch, UTC
+    TIMESTAMP_TZ,
+    STRING,
+    BINARY;
+
+    public boolean isFixedWidth() {
+        return this != STRING && this != BINARY && this != DECIMAL;
+    }
+
+    public boolean isFloatingPoint() {
+        return this == FLOAT32 || this == FLOAT64;
+    }
+}
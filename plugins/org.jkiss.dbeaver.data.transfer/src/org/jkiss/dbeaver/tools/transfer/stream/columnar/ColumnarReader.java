@@ -0,0 +1,45 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sequential reader of columnar files. Data is read batch by batch.
+ */
+public interface ColumnarReader extends Closeable {
+
+    /**
+     * Reads schema. Must be called before reading batches.
+     */
+    @NotNull
+    List<ColumnarColumn> readSchema() throws IOException;
+
+    /**
+     * Reads next batch
+     *
+     * @return vectors or null if there are no more batches
+     */
+    @Nullable
+    ColumnarVector[] readBatch() throws IOException;
+
+}
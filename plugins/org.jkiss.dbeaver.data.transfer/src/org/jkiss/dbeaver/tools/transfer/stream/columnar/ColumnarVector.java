@@ -0,0 +1,436 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Batch of values of a single column.
+ * Values are kept in primitive arrays, variable length values are kept in a single byte array.
+ */
+public class ColumnarVector {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final ColumnarColumn column;
+    private int size;
+    private int nullCount;
+    private boolean[] nulls;
+    private long[] longs;
+    private double[] doubles;
+    private BigInteger[] decimals;
+    private int[] offsets;
+    private byte[] data;
+
+    public ColumnarVector(@NotNull ColumnarColumn column) {
+        this.column = column;
+        this.nulls = new boolean[INITIAL_CAPACITY];
+        switch (column.getType()) {
+            case FLOAT32:
+            case FLOAT64:
+                doubles = new double[INITIAL_CAPACITY];
+                break;
+            case DECIMAL:
+                decimals = new BigInteger[INITIAL_CAPACITY];
+                break;
+            case STRING:
+            case BINARY:
+                offsets = new int[INITIAL_CAPACITY + 1];
+                data = new byte[INITIAL_CAPACITY * 16];
+                break;
+            default:
+                longs = new long[INITIAL_CAPACITY];
+                break;
+        }
+    }
+
+    @NotNull
+    public ColumnarColumn getColumn() {
+        return column;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getNullCount() {
+        return nullCount;
+    }
+
+    public boolean isNull(int index) {
+        return nulls[index];
+    }
+
+    public long getLong(int index) {
+        return longs[index];
+    }
+
+    public double getDouble(int index) {
+        return doubles[index];
+    }
+
+    /**
+     * Unscaled decimal value
+     */
+    public BigInteger getDecimal(int index) {
+        return decimals[index];
+    }
+
+    /**
+     * Variable length values buffer
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getDataOffset(int index) {
+        return offsets[index];
+    }
+
+    public int getDataLength(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Total length of variable length values
+     */
+    public int getDataSize() {
+        return offsets[size];
+    }
+
+    /**
+     * Approximate memory used by values
+     */
+    public long getEstimatedSize() {
+        switch (column.getType()) {
+            case STRING:
+            case BINARY:
+                return offsets[size] + size * 4L;
+            case DECIMAL:
+                return size * 16L;
+            default:
+                return size * 8L;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(nulls, 0, size, false);
+        if (decimals != null) {
+            Arrays.fill(decimals, 0, size, null);
+        }
+        size = 0;
+        nullCount = 0;
+    }
+
+    public void addNull() {
+        ensureCapacity();
+        nulls[size] = true;
+        nullCount++;
+        if (offsets != null) {
+            offsets[size + 1] = offsets[size];
+        }
+        size++;
+    }
+
+    public void addLong(long value) {
+        ensureCapacity();
+        longs[size++] = value;
+    }
+
+    public void addDouble(double value) {
+        ensureCapacity();
+        doubles[size++] = value;
+    }
+
+    public void addDecimal(@NotNull BigInteger unscaledValue) {
+        ensureCapacity();
+        decimals[size++] = unscaledValue;
+    }
+
+    public void addBytes(@NotNull byte[] value, int offset, int length) {
+        ensureCapacity();
+        final int start = offsets[size];
+        if (start + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, start + length));
+        }
+        System.arraycopy(value, offset, data, start, length);
+        offsets[size + 1] = start + length;
+        size++;
+    }
+
+    public void addString(@NotNull String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        addBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Converts value to the column type and adds it
+     *
+     * @throws IllegalArgumentException if value can't be converted
+     */
+    public void addValue(@Nullable Object value) {
+        if (value == null) {
+            addNull();
+            return;
+        }
+        switch (column.getType()) {
+            case BOOLEAN:
+                addLong(toBoolean(value) ? 1 : 0);
+                break;
+            case INT32:
+                addLong(toExactLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+                break;
+            case INT64:
+                addLong(toExactLong(value, Long.MIN_VALUE, Long.MAX_VALUE));
+                break;
+            case FLOAT32:
+            case FLOAT64:
+                addDouble(toNumber(value).doubleValue());
+                break;
+            case DECIMAL: {
+                final BigDecimal decimal;
+                try {
+                    // Values are never rounded, only trailing zeros may be added or removed
+                    decimal = toBigDecimal(value).setScale(column.getScale());
+                } catch (ArithmeticException e) {
+                    throw new IllegalArgumentException("Value " + value + " exceeds decimal scale " + column.getScale(), e);
+                }
+                if (decimal.precision() > column.getPrecision()) {
+                    throw new IllegalArgumentException("Value " + decimal + " exceeds decimal precision " + column.getPrecision());
+                }
+                addDecimal(decimal.unscaledValue());
+                break;
+            }
+            case DATE:
+                addLong(toLocalDate(value).toEpochDay());
+                break;
+            case TIME:
+                addLong(toLocalTime(value).toNanoOfDay() / 1_000_000L);
+                break;
+            case TIMESTAMP: {
+                final LocalDateTime dateTime = toLocalDateTime(value);
+                addLong(toMicros(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano()));
+                break;
+            }
+            case TIMESTAMP_TZ: {
+                final Instant instant = toInstant(value);
+                addLong(toMicros(instant.getEpochSecond(), instant.getNano()));
+                break;
+            }
+            default:
+                if (value instanceof byte[]) {
+                    addBytes((byte[]) value, 0, ((byte[]) value).length);
+                } else {
+                    addString(value.toString());
+                }
+                break;
+        }
+    }
+
+    /**
+     * Returns value as a Java object (JDBC-like types are used for temporal values)
+     */
+    @Nullable
+    public Object getValue(int index) {
+        if (nulls[index]) {
+            return null;
+        }
+        switch (column.getType()) {
+            case BOOLEAN:
+                return longs[index] != 0;
+            case INT32:
+                return (int) longs[index];
+            case INT64:
+                return longs[index];
+            case FLOAT32:
+                return (float) doubles[index];
+            case FLOAT64:
+                return doubles[index];
+            case DECIMAL:
+                return new BigDecimal(decimals[index], column.getScale());
+            case DATE:
+                return java.sql.Date.valueOf(LocalDate.ofEpochDay(longs[index]));
+            case TIME: {
+                final Time time = Time.valueOf(LocalTime.ofNanoOfDay(longs[index] * 1_000_000L));
+                time.setTime(time.getTime() + longs[index] % 1000);
+                return time;
+            }
+            case TIMESTAMP:
+                return Timestamp.valueOf(LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(longs[index], MICROS_PER_SECOND),
+                    (int) Math.floorMod(longs[index], MICROS_PER_SECOND) * 1000,
+                    ZoneOffset.UTC));
+            case TIMESTAMP_TZ:
+                return Timestamp.from(Instant.ofEpochSecond(
+                    Math.floorDiv(longs[index], MICROS_PER_SECOND),
+                    Math.floorMod(longs[index], MICROS_PER_SECOND) * 1000));
+            case BINARY:
+                return Arrays.copyOfRange(data, offsets[index], offsets[index + 1]);
+            default:
+                return new String(data, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size < nulls.length) {
+            return;
+        }
+        final int capacity = nulls.length * 2;
+        nulls = Arrays.copyOf(nulls, capacity);
+        if (longs != null) {
+            longs = Arrays.copyOf(longs, capacity);
+        }
+        if (doubles != null) {
+            doubles = Arrays.copyOf(doubles, capacity);
+        }
+        if (decimals != null) {
+            decimals = Arrays.copyOf(decimals, capacity);
+        }
+        if (offsets != null) {
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+        }
+    }
+
+    private static long toMicros(long epochSecond, int nanos) {
+        return Math.addExact(Math.multiplyExact(epochSecond, MICROS_PER_SECOND), nanos / 1000);
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
+        }
+        final String str = value.toString().trim();
+        if (str.equalsIgnoreCase("true") || str.equals("1")) {
+            return true;
+        } else if (str.equalsIgnoreCase("false") || str.equals("0")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Bad boolean value: " + str);
+    }
+
+    private static Number toNumber(Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    /**
+     * Converts value to integer without truncation
+     *
+     * @throws ArithmeticException if value has fractional part or doesn't fit into the range
+     */
+    private static long toExactLong(Object value, long minValue, long maxValue) {
+        final Number number = toNumber(value);
+        final long result;
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            result = number.longValue();
+        } else {
+            result = toBigDecimal(number).longValueExact();
+        }
+        if (result < minValue || result > maxValue) {
+            throw new ArithmeticException("Value " + result + " is out of range [" + minValue + ", " + maxValue + "]");
+        }
+        return result;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue());
+        } else if (value instanceof Number) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        } else if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toLocalDate();
+        } else if (value instanceof Date) {
+            return ((Date) value).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        } else if (value instanceof TemporalAccessor) {
+            return LocalDate.from((TemporalAccessor) value);
+        }
+        return LocalDate.parse(value.toString().trim());
+    }
+
+    private static LocalTime toLocalTime(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toLocalTime();
+        } else if (value instanceof Date) {
+            // java.sql.Time.toLocalTime() loses milliseconds
+            return Instant.ofEpochMilli(((Date) value).getTime()).atZone(ZoneId.systemDefault()).toLocalTime();
+        } else if (value instanceof TemporalAccessor) {
+            return LocalTime.from((TemporalAccessor) value);
+        }
+        return LocalTime.parse(value.toString().trim());
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        } else if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().atStartOfDay();
+        } else if (value instanceof Date) {
+            return LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault());
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).atStartOfDay();
+        } else if (value instanceof TemporalAccessor) {
+            return LocalDateTime.from((TemporalAccessor) value);
+        }
+        return Timestamp.valueOf(value.toString().trim()).toLocalDateTime();
+    }
+
+    private static Instant toInstant(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().atStartOfDay(ZoneId.systemDefault()).toInstant();
+        } else if (value instanceof Date) {
+            // Timestamp.toInstant keeps nanoseconds
+            return ((Date) value).toInstant();
+        } else if (value instanceof Instant) {
+            return (Instant) value;
+        } else if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).toInstant();
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toInstant();
+        }
+        return toLocalDateTime(value).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal FlatBuffers builder. Enough to write Arrow IPC metadata.
+ *
+ * Buffer is filled from the end, so children must be created before their parents.
+ * All offsets returned by builder methods are measured from the end of the buffer.
+ */
+class FlatBufferBuilder {
+
+    private byte[] buf;
+    private int space;
+    private int minAlign = 1;
+    private int[] vtable;
+    private int objectStart;
+
+    FlatBufferBuilder() {
+        this.buf = new byte[1024];
+        this.space = buf.length;
+    }
+
+    int offset() {
+        return buf.length - space;
+    }
+
+    private void grow(int needed) {
+        final int oldSize = buf.length;
+        int newSize = oldSize * 2;
+        while (newSize - oldSize + space < needed) {
+            newSize *= 2;
+        }
+        final byte[] newBuf = new byte[newSize];
+        System.arraycopy(buf, space, newBuf, newSize - (oldSize - space), oldSize - space);
+        space += newSize - oldSize;
+        buf = newBuf;
+    }
+
+    void pad(int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            buf[--space] = 0;
+        }
+    }
+
+    /**
+     * Aligns buffer so that after writing {@code additionalBytes} the next value of {@code size} is aligned
+     */
+    void prep(int size, int additionalBytes) {
+        if (size > minAlign) {
+            minAlign = size;
+        }
+        final int alignSize = (~(buf.length - space + additionalBytes) + 1) & (size - 1);
+        if (space < alignSize + size + additionalBytes) {
+            grow(alignSize + size + additionalBytes);
+        }
+        pad(alignSize);
+    }
+
+    void putByte(byte value) {
+        buf[--space] = value;
+    }
+
+    void putShort(short value) {
+        space -= 2;
+        buf[space] = (byte) value;
+        buf[space + 1] = (byte) (value >> 8);
+    }
+
+    void putInt(int value) {
+        space -= 4;
+        writeInt(space, value);
+    }
+
+    void putLong(long value) {
+        space -= 8;
+        for (int i = 0; i < 8; i++) {
+            buf[space + i] = (byte) (value >> (i * 8));
+        }
+    }
+
+    private void writeInt(int position, int value) {
+        buf[position] = (byte) value;
+        buf[position + 1] = (byte) (value >> 8);
+        buf[position + 2] = (byte) (value >> 16);
+        buf[position + 3] = (byte) (value >> 24);
+    }
+
+    void addOffset(int offset) {
+        prep(4, 0);
+        putInt(offset() - offset + 4);
+    }
+
+    int createString(String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        prep(4, bytes.length + 1);
+        putByte((byte) 0);
+        space -= bytes.length;
+        System.arraycopy(bytes, 0, buf, space, bytes.length);
+        putInt(bytes.length);
+        return offset();
+    }
+
+    void startVector(int elementSize, int count, int alignment) {
+        prep(4, elementSize * count);
+        prep(alignment, elementSize * count);
+    }
+
+    int endVector(int count) {
+        putInt(count);
+        return offset();
+    }
+
+    int createOffsetVector(int[] offsets) {
+        startVector(4, offsets.length, 4);
+        for (int i = offsets.length - 1; i >= 0; i--) {
+            addOffset(offsets[i]);
+        }
+        return endVector(offsets.length);
+    }
+
+    void startTable(int fieldCount) {
+        vtable = new int[fieldCount];
+        objectStart = offset();
+    }
+
+    private void slot(int field) {
+        vtable[field] = offset();
+    }
+
+    void addBoolean(int field, boolean value) {
+        prep(1, 0);
+        putByte((byte) (value ? 1 : 0));
+        slot(field);
+    }
+
+    void addByte(int field, byte value) {
+        prep(1, 0);
+        putByte(value);
+        slot(field);
+    }
+
+    void addShort(int field, short value) {
+        prep(2, 0);
+        putShort(value);
+        slot(field);
+    }
+
+    void addInt(int field, int value) {
+        prep(4, 0);
+        putInt(value);
+        slot(field);
+    }
+
+    void addLong(int field, long value) {
+        prep(8, 0);
+        putLong(value);
+        slot(field);
+    }
+
+    void addOffset(int field, int offset) {
+        if (offset != 0) {
+            addOffset(offset);
+            slot(field);
+        }
+    }
+
+    int endTable() {
+        // Placeholder for the vtable offset
+        prep(4, 0);
+        putInt(0);
+        final int tableOffset = offset();
+        int fieldCount = vtable.length;
+        while (fieldCount > 0 && vtable[fieldCount - 1] == 0) {
+            fieldCount--;
+        }
+        for (int i = fieldCount - 1; i >= 0; i--) {
+            prep(2, 0);
+            putShort((short) (vtable[i] != 0 ? tableOffset - vtable[i] : 0));
+        }
+        prep(2, 0);
+        putShort((short) (tableOffset - objectStart));
+        prep(2, 0);
+        putShort((short) ((fieldCount + 2) * 2));
+        final int vtableOffset = offset();
+        // soffset from table to its vtable (vtable is located before the table)
+        writeInt(buf.length - tableOffset, vtableOffset - tableOffset);
+        vtable = null;
+        return tableOffset;
+    }
+
+    /**
+     * Finishes the buffer and returns its bytes
+     */
+    byte[] finish(int rootTable) {
+        prep(minAlign, 4);
+        addOffset(rootTable);
+        return Arrays.copyOfRange(buf, space, buf.length);
+    }
+
+}
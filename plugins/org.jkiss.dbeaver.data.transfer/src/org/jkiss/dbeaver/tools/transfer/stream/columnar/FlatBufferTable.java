@@ -0,0 +1,126 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal FlatBuffers table reader
+ */
+class FlatBufferTable {
+
+    private final ByteBuffer bb;
+    private final int position;
+    private final int vtable;
+    private final int vtableSize;
+
+    private FlatBufferTable(ByteBuffer bb, int position) {
+        this.bb = bb;
+        this.position = position;
+        this.vtable = position - bb.getInt(position);
+        this.vtableSize = bb.getShort(vtable);
+    }
+
+    static FlatBufferTable getRoot(byte[] data) {
+        final ByteBuffer bb = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        return new FlatBufferTable(bb, bb.getInt(0));
+    }
+
+    private int fieldOffset(int field) {
+        final int vtableOffset = 4 + field * 2;
+        return vtableOffset < vtableSize ? bb.getShort(vtable + vtableOffset) : 0;
+    }
+
+    boolean hasField(int field) {
+        return fieldOffset(field) != 0;
+    }
+
+    boolean getBoolean(int field, boolean defaultValue) {
+        final int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : bb.get(position + offset) != 0;
+    }
+
+    byte getByte(int field, byte defaultValue) {
+        final int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : bb.get(position + offset);
+    }
+
+    short getShort(int field, short defaultValue) {
+        final int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : bb.getShort(position + offset);
+    }
+
+    int getInt(int field, int defaultValue) {
+        final int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : bb.getInt(position + offset);
+    }
+
+    long getLong(int field, long defaultValue) {
+        final int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : bb.getLong(position + offset);
+    }
+
+    private int indirect(int field) {
+        final int offset = fieldOffset(field);
+        if (offset == 0) {
+            return 0;
+        }
+        return position + offset + bb.getInt(position + offset);
+    }
+
+    String getString(int field) {
+        final int start = indirect(field);
+        if (start == 0) {
+            return null;
+        }
+        final int length = bb.getInt(start);
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = bb.get(start + 4 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    FlatBufferTable getTable(int field) {
+        final int start = indirect(field);
+        return start == 0 ? null : new FlatBufferTable(bb, start);
+    }
+
+    int getVectorLength(int field) {
+        final int start = indirect(field);
+        return start == 0 ? 0 : bb.getInt(start);
+    }
+
+    FlatBufferTable getTableElement(int field, int index) {
+        final int elementPosition = indirect(field) + 4 + index * 4;
+        return new FlatBufferTable(bb, elementPosition + bb.getInt(elementPosition));
+    }
+
+    /**
+     * Reads long value from a vector of structs
+     */
+    long getStructLong(int field, int index, int structSize, int fieldOffset) {
+        return bb.getLong(indirect(field) + 4 + index * structSize + fieldOffset);
+    }
+
+    int getStructInt(int field, int index, int structSize, int fieldOffset) {
+        return bb.getInt(indirect(field) + 4 + index * structSize + fieldOffset);
+    }
+
+}
@@ -0,0 +1,950 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Parquet file reader.
+ *
+ * Row groups are read one by one, so memory usage depends on the row group size rather than on the file size.
+ * Only flat schemas are supported. Pages may use PLAIN and dictionary encodings and be uncompressed
+ * or compressed with Snappy or GZIP. Other encodings and codecs (delta encodings, ZSTD, LZ4, etc) are reported as errors.
+ */
+public class ParquetFileReader implements ColumnarReader {
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+
+    // Physical types
+    private static final int TYPE_BOOLEAN = 0;
+    private static final int TYPE_INT32 = 1;
+    private static final int TYPE_INT64 = 2;
+    private static final int TYPE_INT96 = 3;
+    private static final int TYPE_FLOAT = 4;
+    private static final int TYPE_DOUBLE = 5;
+    private static final int TYPE_BYTE_ARRAY = 6;
+    private static final int TYPE_FIXED_LEN_BYTE_ARRAY = 7;
+
+    // Converted types
+    private static final int CONVERTED_UTF8 = 0;
+    private static final int CONVERTED_ENUM = 4;
+    private static final int CONVERTED_DECIMAL = 5;
+    private static final int CONVERTED_DATE = 6;
+    private static final int CONVERTED_TIME_MILLIS = 7;
+    private static final int CONVERTED_TIME_MICROS = 8;
+    private static final int CONVERTED_TIMESTAMP_MILLIS = 9;
+    private static final int CONVERTED_TIMESTAMP_MICROS = 10;
+    private static final int CONVERTED_UINT_8 = 11;
+    private static final int CONVERTED_UINT_64 = 14;
+    private static final int CONVERTED_INT_8 = 15;
+    private static final int CONVERTED_INT_64 = 18;
+    private static final int CONVERTED_JSON = 19;
+
+    // Logical types (members of LogicalType union)
+    private static final int LOGICAL_STRING = 1;
+    private static final int LOGICAL_ENUM = 4;
+    private static final int LOGICAL_DECIMAL = 5;
+    private static final int LOGICAL_DATE = 6;
+    private static final int LOGICAL_TIME = 7;
+    private static final int LOGICAL_TIMESTAMP = 8;
+    private static final int LOGICAL_INTEGER = 10;
+    private static final int LOGICAL_JSON = 12;
+
+    private static final int ENCODING_PLAIN = 0;
+    private static final int ENCODING_PLAIN_DICTIONARY = 2;
+    private static final int ENCODING_RLE = 3;
+    private static final int ENCODING_RLE_DICTIONARY = 8;
+
+    private static final int PAGE_TYPE_DATA = 0;
+    private static final int PAGE_TYPE_DICTIONARY = 2;
+    private static final int PAGE_TYPE_DATA_V2 = 3;
+
+    private static final int CODEC_UNCOMPRESSED = 0;
+    private static final int CODEC_SNAPPY = 1;
+    private static final int CODEC_GZIP = 2;
+    private static final String[] CODEC_NAMES = {"UNCOMPRESSED", "SNAPPY", "GZIP", "LZO", "BROTLI", "LZ4", "ZSTD", "LZ4_RAW"};
+
+    private static final int REPETITION_REQUIRED = 0;
+    private static final int REPETITION_REPEATED = 2;
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long NANOS_PER_MICRO = 1_000L;
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+    // Julian day of 1970-01-01
+    private static final long JULIAN_EPOCH_DAY = 2_440_588L;
+
+    private final SeekableByteChannel channel;
+    private final List<ParquetField> fields = new ArrayList<>();
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private long rowCount;
+    private int nextRowGroup;
+
+    public ParquetFileReader(@NotNull SeekableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    @NotNull
+    @Override
+    public List<ColumnarColumn> readSchema() throws IOException {
+        final long fileSize = channel.size();
+        if (fileSize < MAGIC.length * 2 + 4) {
+            throw new IOException("File is too small to be a Parquet file");
+        }
+        final ByteBuffer head = readFully(0, MAGIC.length);
+        final ByteBuffer tail = readFully(fileSize - 4 - MAGIC.length, 4 + MAGIC.length);
+        final int metadataLength = tail.getInt();
+        if (!Arrays.equals(head.array(), MAGIC) || !Arrays.equals(Arrays.copyOfRange(tail.array(), 4, 4 + MAGIC.length), MAGIC)) {
+            throw new IOException("Not a Parquet file");
+        }
+        if (metadataLength <= 0 || metadataLength > fileSize - MAGIC.length * 2 - 4) {
+            throw new IOException("Bad Parquet metadata length " + metadataLength);
+        }
+        final ByteBuffer metadata = readFully(fileSize - 4 - MAGIC.length - metadataLength, metadataLength);
+        try {
+            readFileMetadata(new ThriftCompactReader(metadata));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupted Parquet metadata", e);
+        }
+
+        final List<ColumnarColumn> columns = new ArrayList<>(fields.size());
+        for (ParquetField field : fields) {
+            columns.add(field.column);
+        }
+        return columns;
+    }
+
+    /**
+     * Total number of rows in the file
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Reads next row group
+     *
+     * @return vectors or null if there are no more row groups
+     */
+    @Nullable
+    @Override
+    public ColumnarVector[] readBatch() throws IOException {
+        if (nextRowGroup >= rowGroups.size()) {
+            return null;
+        }
+        final RowGroup rowGroup = rowGroups.get(nextRowGroup++);
+        if (rowGroup.rowCount > Integer.MAX_VALUE) {
+            throw new IOException("Parquet row group is too big (" + rowGroup.rowCount + " rows)");
+        }
+        final ColumnarVector[] vectors = new ColumnarVector[fields.size()];
+        for (int i = 0; i < vectors.length; i++) {
+            final ParquetField field = fields.get(i);
+            try {
+                vectors[i] = readColumnChunk(field, rowGroup.chunks.get(i), (int) rowGroup.rowCount);
+            } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException | ArithmeticException e) {
+                throw new IOException("Corrupted data of Parquet column '" + field.column.getName() + "'", e);
+            }
+        }
+        return vectors;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readFileMetadata(@NotNull ThriftCompactReader thrift) throws IOException {
+        final List<ParquetField> schema = new ArrayList<>();
+        thrift.beginStruct();
+        for (int id = thrift.readField(); id != 0; id = thrift.readField()) {
+            switch (id) {
+                case 2: {
+                    final int size = thrift.readListSize();
+                    for (int i = 0; i < size; i++) {
+                        schema.add(readSchemaElement(thrift));
+                    }
+                    break;
+                }
+                case 3:
+                    rowCount = thrift.readI64();
+                    break;
+                case 4: {
+                    final int size = thrift.readListSize();
+                    for (int i = 0; i < size; i++) {
+                        rowGroups.add(readRowGroup(thrift));
+                    }
+                    break;
+                }
+                default:
+                    thrift.skipField();
+                    break;
+            }
+        }
+        if (schema.isEmpty()) {
+            throw new IOException("Parquet schema is missing");
+        }
+        // The first element is the schema root
+        for (int i = 1; i < schema.size(); i++) {
+            final ParquetField field = schema.get(i);
+            if (field.name == null) {
+                field.name = "column" + i;
+            }
+            if (field.childCount > 0 || field.repetition == REPETITION_REPEATED) {
+                throw new IOException("Nested Parquet column '" + field.name + "' is not supported");
+            }
+            field.column = resolveColumn(field);
+            fields.add(field);
+        }
+        for (RowGroup rowGroup : rowGroups) {
+            if (rowGroup.chunks.size() != fields.size()) {
+                throw new IOException("Parquet row group has " + rowGroup.chunks.size() + " columns while schema has " + fields.size());
+            }
+        }
+    }
+
+    @NotNull
+    private static ParquetField readSchemaElement(@NotNull ThriftCompactReader thrift) throws IOException {
+        final ParquetField field = new ParquetField();
+        thrift.beginStruct();
+        for (int id = thrift.readField(); id != 0; id = thrift.readField()) {
+            switch (id) {
+                case 1:
+                    field.physicalType = thrift.readI32();
+                    break;
+                case 2:
+                    field.typeLength = thrift.readI32();
+                    break;
+                case 3:
+                    field.repetition = thrift.readI32();
+                    break;
+                case 4:
+                    field.name = thrift.readString();
+                    break;
+                case 5:
+                    field.childCount = thrift.readI32();
+                    break;
+                case 6:
+                    field.convertedType = thrift.readI32();
+                    break;
+                case 7:
+                    field.scale = thrift.readI32();
+                    break;
+                case 8:
+                    field.precision = thrift.readI32();
+                    break;
+                case 10:
+                    readLogicalType(thrift, field);
+                    break;
+                default:
+                    thrift.skipField();
+                    break;
+            }
+        }
+        return field;
+    }
+
+    private static void readLogicalType(@NotNull ThriftCompactReader thrift, @NotNull ParquetField field) throws IOException {
+        thrift.beginStruct();
+        for (int type = thrift.readField(); type != 0; type = thrift.readField()) {
+            field.logicalType = type;
+            if (type != LOGICAL_DECIMAL && type != LOGICAL_TIME && type != LOGICAL_TIMESTAMP && type != LOGICAL_INTEGER) {
+                thrift.skipField();
+                continue;
+            }
+            thrift.beginStruct();
+            for (int id = thrift.readField(); id != 0; id = thrift.readField()) {
+                if (type == LOGICAL_DECIMAL && id == 1) {
+                    field.scale = thrift.readI32();
+                } else if (type == LOGICAL_DECIMAL && id == 2) {
+                    field.precision = thrift.readI32();
+                } else if (type == LOGICAL_INTEGER && id == 1) {
+                    field.intBitWidth = thrift.readByte();
+                } else if (type == LOGICAL_INTEGER && id == 2) {
+                    field.intSigned = thrift.readBool();
+                } else if (type != LOGICAL_INTEGER && id == 1) {
+                    field.adjustedToUTC = thrift.readBool();
+                } else if (type != LOGICAL_INTEGER && id == 2) {
+                    field.unitNanos = readTimeUnit(thrift);
+                } else {
+                    thrift.skipField();
+                }
+            }
+        }
+    }
+
+    private static long readTimeUnit(@NotNull ThriftCompactReader thrift) throws IOException {
+        long unitNanos = 0;
+        thrift.beginStruct();
+        for (int id = thrift.readField(); id != 0; id = thrift.readField()) {
+            switch (id) {
+                case 1:
+                    unitNanos = NANOS_PER_MILLI;
+                    break;
+                case 2:
+                    unitNanos = NANOS_PER_MICRO;
+                    break;
+                case 3:
+                    unitNanos = 1;
+                    break;
+                default:
+                    break;
+            }
+            thrift.skipField();
+        }
+        return unitNanos;
+    }
+
+    @NotNull
+    private static RowGroup readRowGroup(@NotNull ThriftCompactReader thrift) throws IOException {
+        final RowGroup rowGroup = new RowGroup();
+        thrift.beginStruct();
+        for (int id = thrift.readField(); id != 0; id = thrift.readField()) {
+            switch (id) {
+                case 1: {
+                    final int size = thrift.readListSize();
+                    for (int i = 0; i < size; i++) {
+                        rowGroup.chunks.add(readColumnChunkMetadata(thrift));
+                    }
+                    break;
+                }
+                case 3:
+                    rowGroup.rowCount = thrift.readI64();
+                    break;
+                default:
+                    thrift.skipField();
+                    break;
+            }
+        }
+        return rowGroup;
+    }
+
+    @NotNull
+    private static ColumnChunk readColumnChunkMetadata(@NotNull ThriftCompactReader thrift) throws IOException {
+        final ColumnChunk chunk = new ColumnChunk();
+        thrift.beginStruct();
+        for (int id = thrift.readField(); id != 0; id = thrift.readField()) {
+            if (id == 1) {
+                thrift.readString();
+                throw new IOException("Parquet columns stored in external files are not supported");
+            } else if (id != 3) {
+                thrift.skipField();
+                continue;
+            }
+            thrift.beginStruct();
+            for (int metaId = thrift.readField(); metaId != 0; metaId = thrift.readField()) {
+                switch (metaId) {
+                    case 4:
+                        chunk.codec = thrift.readI32();
+                        break;
+                    case 7:
+                        chunk.compressedSize = thrift.readI64();
+                        break;
+                    case 9:
+                        chunk.dataPageOffset = thrift.readI64();
+                        break;
+                    case 11:
+                        chunk.dictionaryPageOffset = thrift.readI64();
+                        break;
+                    default:
+                        thrift.skipField();
+                        break;
+                }
+            }
+        }
+        return chunk;
+    }
+
+    @NotNull
+    private static ColumnarColumn resolveColumn(@NotNull ParquetField field) throws IOException {
+        final String name = field.name;
+        final boolean decimal = field.logicalType == LOGICAL_DECIMAL || field.convertedType == CONVERTED_DECIMAL;
+        final boolean string = field.logicalType == LOGICAL_STRING || field.logicalType == LOGICAL_ENUM || field.logicalType == LOGICAL_JSON
+            || field.convertedType == CONVERTED_UTF8 || field.convertedType == CONVERTED_ENUM || field.convertedType == CONVERTED_JSON;
+        if (field.convertedType >= CONVERTED_UINT_8 && field.convertedType <= CONVERTED_INT_64) {
+            // UINT_8, UINT_16, UINT_32, UINT_64, INT_8, INT_16, INT_32, INT_64
+            field.intSigned = field.convertedType >= CONVERTED_INT_8;
+            field.intBitWidth = 8 << (field.convertedType - (field.intSigned ? CONVERTED_INT_8 : CONVERTED_UINT_8));
+        }
+        switch (field.convertedType) {
+            case CONVERTED_TIME_MILLIS:
+            case CONVERTED_TIMESTAMP_MILLIS:
+                field.unitNanos = NANOS_PER_MILLI;
+                break;
+            case CONVERTED_TIME_MICROS:
+            case CONVERTED_TIMESTAMP_MICROS:
+                field.unitNanos = NANOS_PER_MICRO;
+                break;
+            default:
+                break;
+        }
+        // Unsigned values which don't fit into the signed type of the same width
+        field.unsigned = !field.intSigned && field.intBitWidth >= 32;
+
+        switch (field.physicalType) {
+            case TYPE_BOOLEAN:
+                return new ColumnarColumn(name, ColumnarDataType.BOOLEAN);
+            case TYPE_INT32:
+            case TYPE_INT64:
+                if (decimal) {
+                    return new ColumnarColumn(name, ColumnarDataType.DECIMAL, field.precision, field.scale);
+                } else if (field.logicalType == LOGICAL_DATE || field.convertedType == CONVERTED_DATE) {
+                    return new ColumnarColumn(name, ColumnarDataType.DATE);
+                } else if (field.logicalType == LOGICAL_TIME || field.convertedType == CONVERTED_TIME_MILLIS || field.convertedType == CONVERTED_TIME_MICROS) {
+                    if (field.unitNanos == 0) {
+                        field.unitNanos = field.physicalType == TYPE_INT32 ? NANOS_PER_MILLI : NANOS_PER_MICRO;
+                    }
+                    return new ColumnarColumn(name, ColumnarDataType.TIME);
+                } else if (field.logicalType == LOGICAL_TIMESTAMP
+                    || field.convertedType == CONVERTED_TIMESTAMP_MILLIS || field.convertedType == CONVERTED_TIMESTAMP_MICROS) {
+                    if (field.unitNanos == 0) {
+                        field.unitNanos = NANOS_PER_MICRO;
+                    }
+                    // Legacy converted types are always adjusted to UTC
+                    final boolean utc = field.logicalType != LOGICAL_TIMESTAMP || field.adjustedToUTC;
+                    return new ColumnarColumn(name, utc ? ColumnarDataType.TIMESTAMP_TZ : ColumnarDataType.TIMESTAMP);
+                } else if (field.unsigned) {
+                    // Widen to the next signed type
+                    return field.physicalType == TYPE_INT32
+                        ? new ColumnarColumn(name, ColumnarDataType.INT64)
+                        : new ColumnarColumn(name, ColumnarDataType.DECIMAL, 20, 0);
+                }
+                return new ColumnarColumn(name, field.physicalType == TYPE_INT32 ? ColumnarDataType.INT32 : ColumnarDataType.INT64);
+            case TYPE_INT96:
+                // Legacy timestamps (Impala, Spark)
+                return new ColumnarColumn(name, ColumnarDataType.TIMESTAMP_TZ);
+            case TYPE_FLOAT:
+                return new ColumnarColumn(name, ColumnarDataType.FLOAT32);
+            case TYPE_DOUBLE:
+                return new ColumnarColumn(name, ColumnarDataType.FLOAT64);
+            case TYPE_BYTE_ARRAY:
+            case TYPE_FIXED_LEN_BYTE_ARRAY:
+                if (decimal) {
+                    return new ColumnarColumn(name, ColumnarDataType.DECIMAL, field.precision, field.scale);
+                }
+                return new ColumnarColumn(name, string ? ColumnarDataType.STRING : ColumnarDataType.BINARY);
+            default:
+                throw new IOException("Unsupported type " + field.physicalType + " of Parquet column '" + name + "'");
+        }
+    }
+
+    @NotNull
+    private ColumnarVector readColumnChunk(@NotNull ParquetField field, @NotNull ColumnChunk chunk, int rows) throws IOException {
+        long start = chunk.dataPageOffset;
+        if (chunk.dictionaryPageOffset > 0 && chunk.dictionaryPageOffset < start) {
+            start = chunk.dictionaryPageOffset;
+        }
+        if (chunk.compressedSize < 0 || chunk.compressedSize > Integer.MAX_VALUE) {
+            throw new IOException("Bad size of Parquet column chunk (" + chunk.compressedSize + " bytes)");
+        }
+        final ByteBuffer data = readFully(start, (int) chunk.compressedSize);
+        final ColumnarVector vector = new ColumnarVector(field.column);
+        ColumnarVector dictionary = null;
+        while (vector.size() < rows && data.hasRemaining()) {
+            final PageHeader header = readPageHeader(new ThriftCompactReader(data));
+            if (header.compressedSize < 0 || header.compressedSize > data.remaining()) {
+                throw new IOException("Truncated Parquet page");
+            }
+            final ByteBuffer page = slice(data, header.compressedSize);
+            switch (header.type) {
+                case PAGE_TYPE_DICTIONARY:
+                    if (header.encoding != ENCODING_PLAIN && header.encoding != ENCODING_PLAIN_DICTIONARY) {
+                        throw new IOException("Parquet dictionary encoding " + header.encoding + " is not supported");
+                    }
+                    dictionary = new ColumnarVector(field.column);
+                    decodePlain(field, decompress(chunk.codec, page, header.uncompressedSize), header.valueCount, dictionary);
+                    break;
+                case PAGE_TYPE_DATA: {
+                    final ByteBuffer values = decompress(chunk.codec, page, header.uncompressedSize);
+                    int[] levels = null;
+                    if (field.repetition != REPETITION_REQUIRED) {
+                        if (header.definitionLevelEncoding != ENCODING_RLE) {
+                            throw new IOException("Parquet definition level encoding " + header.definitionLevelEncoding + " is not supported");
+                        }
+                        levels = decodeHybrid(slice(values, values.getInt()), 1, header.valueCount);
+                    }
+                    readValues(field, header.encoding, values, header.valueCount, levels, dictionary, vector);
+                    break;
+                }
+                case PAGE_TYPE_DATA_V2: {
+                    // Levels are never compressed
+                    slice(page, header.repetitionLevelsLength);
+                    final ByteBuffer levelData = slice(page, header.definitionLevelsLength);
+                    final int[] levels = field.repetition == REPETITION_REQUIRED ? null : decodeHybrid(levelData, 1, header.valueCount);
+                    final ByteBuffer values = header.compressed
+                        ? decompress(chunk.codec, page, header.uncompressedSize - header.repetitionLevelsLength - header.definitionLevelsLength)
+                        : page;
+                    readValues(field, header.encoding, values, header.valueCount, levels, dictionary, vector);
+                    break;
+                }
+                default:
+                    // Index pages
+                    break;
+            }
+        }
+        if (vector.size() != rows) {
+            throw new IOException("Parquet column '" + field.column.getName() + "' has " + vector.size() + " values while row group has " + rows + " rows");
+        }
+        return vector;
+    }
+
+    @NotNull
+    private static PageHeader readPageHeader(@NotNull ThriftCompactReader thrift) throws IOException {
+        final PageHeader header = new PageHeader();
+        thrift.beginStruct();
+        for (int id = thrift.readField(); id != 0; id = thrift.readField()) {
+            switch (id) {
+                case 1:
+                    header.type = thrift.readI32();
+                    break;
+                case 2:
+                    header.uncompressedSize = thrift.readI32();
+                    break;
+                case 3:
+                    header.compressedSize = thrift.readI32();
+                    break;
+                case 5:
+                case 7:
+                case 8:
+                    readDataPageHeader(thrift, header, id);
+                    break;
+                default:
+                    thrift.skipField();
+                    break;
+            }
+        }
+        return header;
+    }
+
+    private static void readDataPageHeader(@NotNull ThriftCompactReader thrift, @NotNull PageHeader header, int headerType) throws IOException {
+        thrift.beginStruct();
+        for (int id = thrift.readField(); id != 0; id = thrift.readField()) {
+            if (id == 1) {
+                header.valueCount = thrift.readI32();
+            } else if (headerType == 8) {
+                // Data page v2
+                switch (id) {
+                    case 4:
+                        header.encoding = thrift.readI32();
+                        break;
+                    case 5:
+                        header.definitionLevelsLength = thrift.readI32();
+                        break;
+                    case 6:
+                        header.repetitionLevelsLength = thrift.readI32();
+                        break;
+                    case 7:
+                        header.compressed = thrift.readBool();
+                        break;
+                    default:
+                        thrift.skipField();
+                        break;
+                }
+            } else if (id == 2) {
+                header.encoding = thrift.readI32();
+            } else if (id == 3 && headerType == 5) {
+                header.definitionLevelEncoding = thrift.readI32();
+            } else {
+                thrift.skipField();
+            }
+        }
+    }
+
+    private static void readValues(
+        @NotNull ParquetField field,
+        int encoding,
+        @NotNull ByteBuffer buffer,
+        int valueCount,
+        @Nullable int[] levels,
+        @Nullable ColumnarVector dictionary,
+        @NotNull ColumnarVector vector
+    ) throws IOException {
+        int nonNullCount = valueCount;
+        if (levels != null) {
+            nonNullCount = 0;
+            for (int level : levels) {
+                nonNullCount += level;
+            }
+        }
+        final ColumnarVector values = nonNullCount == valueCount ? vector : new ColumnarVector(field.column);
+        switch (encoding) {
+            case ENCODING_PLAIN:
+                decodePlain(field, buffer, nonNullCount, values);
+                break;
+            case ENCODING_PLAIN_DICTIONARY:
+            case ENCODING_RLE_DICTIONARY: {
+                if (dictionary == null) {
+                    throw new IOException("Dictionary page of Parquet column '" + field.column.getName() + "' is missing");
+                }
+                final int bitWidth = buffer.get() & 0xFF;
+                for (int index : decodeHybrid(buffer, bitWidth, nonNullCount)) {
+                    if (index >= dictionary.size()) {
+                        throw new IOException("Bad dictionary index " + index + " of Parquet column '" + field.column.getName() + "'");
+                    }
+                    copyValue(dictionary, index, values);
+                }
+                break;
+            }
+            case ENCODING_RLE:
+                if (field.physicalType != TYPE_BOOLEAN) {
+                    throw new IOException("RLE encoding of Parquet column '" + field.column.getName() + "' is not supported");
+                }
+                for (int value : decodeHybrid(slice(buffer, buffer.getInt()), 1, nonNullCount)) {
+                    values.addLong(value);
+                }
+                break;
+            default:
+                throw new IOException("Encoding " + encoding + " of Parquet column '" + field.column.getName() + "' is not supported");
+        }
+        if (values != vector) {
+            int index = 0;
+            for (int level : levels) {
+                if (level == 0) {
+                    vector.addNull();
+                } else {
+                    copyValue(values, index++, vector);
+                }
+            }
+        }
+    }
+
+    private static void decodePlain(@NotNull ParquetField field, @NotNull ByteBuffer buffer, int count, @NotNull ColumnarVector target) throws IOException {
+        final ColumnarDataType type = field.column.getType();
+        switch (field.physicalType) {
+            case TYPE_BOOLEAN: {
+                final int start = buffer.position();
+                for (int i = 0; i < count; i++) {
+                    target.addLong((buffer.get(start + (i >> 3)) >> (i & 7)) & 1);
+                }
+                buffer.position(start + (count + 7) / 8);
+                break;
+            }
+            case TYPE_INT32:
+                for (int i = 0; i < count; i++) {
+                    final int value = buffer.getInt();
+                    if (type == ColumnarDataType.DECIMAL) {
+                        target.addDecimal(BigInteger.valueOf(value));
+                    } else if (field.unsigned) {
+                        target.addLong(Integer.toUnsignedLong(value));
+                    } else if (type == ColumnarDataType.TIME) {
+                        target.addLong(convertUnit(value, field.unitNanos, NANOS_PER_MILLI));
+                    } else {
+                        target.addLong(value);
+                    }
+                }
+                break;
+            case TYPE_INT64:
+                for (int i = 0; i < count; i++) {
+                    final long value = buffer.getLong();
+                    if (type == ColumnarDataType.DECIMAL) {
+                        target.addDecimal(field.unsigned ? new BigInteger(Long.toUnsignedString(value)) : BigInteger.valueOf(value));
+                    } else if (type == ColumnarDataType.TIME) {
+                        target.addLong(convertUnit(value, field.unitNanos, NANOS_PER_MILLI));
+                    } else if (type == ColumnarDataType.TIMESTAMP || type == ColumnarDataType.TIMESTAMP_TZ) {
+                        target.addLong(convertUnit(value, field.unitNanos, NANOS_PER_MICRO));
+                    } else {
+                        target.addLong(value);
+                    }
+                }
+                break;
+            case TYPE_INT96:
+                for (int i = 0; i < count; i++) {
+                    // Nanoseconds of day and Julian day
+                    final long nanos = buffer.getLong();
+                    final int julianDay = buffer.getInt();
+                    target.addLong(Math.addExact(Math.multiplyExact(julianDay - JULIAN_EPOCH_DAY, MICROS_PER_DAY), nanos / NANOS_PER_MICRO));
+                }
+                break;
+            case TYPE_FLOAT:
+                for (int i = 0; i < count; i++) {
+                    target.addDouble(buffer.getFloat());
+                }
+                break;
+            case TYPE_DOUBLE:
+                for (int i = 0; i < count; i++) {
+                    target.addDouble(buffer.getDouble());
+                }
+                break;
+            default:
+                for (int i = 0; i < count; i++) {
+                    final int length = field.physicalType == TYPE_FIXED_LEN_BYTE_ARRAY ? field.typeLength : buffer.getInt();
+                    if (length < 0 || length > buffer.remaining()) {
+                        throw new IOException("Bad value length " + length + " of Parquet column '" + field.column.getName() + "'");
+                    }
+                    if (type == ColumnarDataType.DECIMAL) {
+                        final byte[] bytes = new byte[length];
+                        buffer.get(bytes);
+                        target.addDecimal(length == 0 ? BigInteger.ZERO : new BigInteger(bytes));
+                    } else {
+                        target.addBytes(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+                        buffer.position(buffer.position() + length);
+                    }
+                }
+                break;
+        }
+    }
+
+    private static void copyValue(@NotNull ColumnarVector source, int index, @NotNull ColumnarVector target) {
+        switch (source.getColumn().getType()) {
+            case FLOAT32:
+            case FLOAT64:
+                target.addDouble(source.getDouble(index));
+                break;
+            case DECIMAL:
+                target.addDecimal(source.getDecimal(index));
+                break;
+            case STRING:
+            case BINARY:
+                target.addBytes(source.getData(), source.getDataOffset(index), source.getDataLength(index));
+                break;
+            default:
+                target.addLong(source.getLong(index));
+                break;
+        }
+    }
+
+    private static long convertUnit(long value, long unitNanos, long targetUnitNanos) {
+        if (unitNanos >= targetUnitNanos) {
+            return Math.multiplyExact(value, unitNanos / targetUnitNanos);
+        }
+        return Math.floorDiv(value, targetUnitNanos / unitNanos);
+    }
+
+    /**
+     * Decodes values in RLE/bit-packed hybrid encoding
+     */
+    @NotNull
+    private static int[] decodeHybrid(@NotNull ByteBuffer buffer, int bitWidth, int count) throws IOException {
+        if (bitWidth > 32) {
+            throw new IOException("Bad Parquet RLE bit width " + bitWidth);
+        }
+        final int[] values = new int[count];
+        final long mask = (1L << bitWidth) - 1;
+        int index = 0;
+        while (index < count) {
+            final long header = readUnsignedVarint(buffer);
+            if ((header & 1) == 0) {
+                // RLE run
+                final int runLength = (int) (header >>> 1);
+                int value = 0;
+                for (int i = 0; i < (bitWidth + 7) / 8; i++) {
+                    value |= (buffer.get() & 0xFF) << (i * 8);
+                }
+                final int end = Math.min(count, index + runLength);
+                Arrays.fill(values, index, end, value);
+                index = end;
+            } else {
+                // Bit-packed run, groups of 8 values
+                final int runLength = (int) (header >>> 1) * 8;
+                long bits = 0;
+                int bitCount = 0;
+                for (int i = 0; i < runLength; i++) {
+                    while (bitCount < bitWidth) {
+                        bits |= (long) (buffer.get() & 0xFF) << bitCount;
+                        bitCount += 8;
+                    }
+                    if (index < count) {
+                        values[index++] = (int) (bits & mask);
+                    }
+                    bits >>>= bitWidth;
+                    bitCount -= bitWidth;
+                }
+            }
+        }
+        return values;
+    }
+
+    @NotNull
+    private static ByteBuffer decompress(int codec, @NotNull ByteBuffer data, int uncompressedSize) throws IOException {
+        switch (codec) {
+            case CODEC_UNCOMPRESSED:
+                return data;
+            case CODEC_SNAPPY:
+                return ByteBuffer.wrap(decompressSnappy(data, uncompressedSize)).order(ByteOrder.LITTLE_ENDIAN);
+            case CODEC_GZIP: {
+                final byte[] result = new byte[uncompressedSize];
+                try (DataInputStream in = new DataInputStream(new GZIPInputStream(
+                    new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(), data.remaining()))))
+                {
+                    in.readFully(result);
+                }
+                return ByteBuffer.wrap(result).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            default:
+                throw new IOException("Parquet compression codec " +
+                    (codec >= 0 && codec < CODEC_NAMES.length ? CODEC_NAMES[codec] : String.valueOf(codec)) + " is not supported");
+        }
+    }
+
+    /**
+     * Decompresses raw Snappy block
+     */
+    @NotNull
+    private static byte[] decompressSnappy(@NotNull ByteBuffer in, int uncompressedSize) throws IOException {
+        final long length = readUnsignedVarint(in);
+        if (length != uncompressedSize) {
+            throw new IOException("Snappy block size " + length + " differs from page size " + uncompressedSize);
+        }
+        final byte[] out = new byte[uncompressedSize];
+        int position = 0;
+        while (in.hasRemaining()) {
+            final int tag = in.get() & 0xFF;
+            final int copyLength;
+            final int offset;
+            switch (tag & 3) {
+                case 0: {
+                    int literalLength = tag >>> 2;
+                    if (literalLength >= 60) {
+                        // Length is in the next 1-4 bytes
+                        final int lengthBytes = literalLength - 59;
+                        literalLength = 0;
+                        for (int i = 0; i < lengthBytes; i++) {
+                            literalLength |= (in.get() & 0xFF) << (i * 8);
+                        }
+                    }
+                    literalLength++;
+                    if (literalLength <= 0 || position + literalLength > out.length) {
+                        throw new IOException("Corrupted Snappy data");
+                    }
+                    in.get(out, position, literalLength);
+                    position += literalLength;
+                    continue;
+                }
+                case 1:
+                    copyLength = 4 + ((tag >>> 2) & 7);
+                    offset = ((tag >>> 5) << 8) | (in.get() & 0xFF);
+                    break;
+                case 2:
+                    copyLength = (tag >>> 2) + 1;
+                    offset = in.getShort() & 0xFFFF;
+                    break;
+                default:
+                    copyLength = (tag >>> 2) + 1;
+                    offset = in.getInt();
+                    break;
+            }
+            if (offset <= 0 || offset > position || position + copyLength > out.length) {
+                throw new IOException("Corrupted Snappy data");
+            }
+            // Source and target may overlap
+            for (int i = 0; i < copyLength; i++) {
+                out[position + i] = out[position - offset + i];
+            }
+            position += copyLength;
+        }
+        if (position != out.length) {
+            throw new IOException("Truncated Snappy data");
+        }
+        return out;
+    }
+
+    private static long readUnsignedVarint(@NotNull ByteBuffer buffer) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = buffer.get() & 0xFF;
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Bad varint");
+    }
+
+    /**
+     * Returns little-endian view of the next bytes and skips them in the source buffer
+     */
+    @NotNull
+    private static ByteBuffer slice(@NotNull ByteBuffer buffer, int length) throws IOException {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Bad Parquet data length " + length);
+        }
+        final ByteBuffer slice = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    @NotNull
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        channel.position(position);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of Parquet file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static class ParquetField {
+        String name;
+        int physicalType = -1;
+        int typeLength;
+        int repetition;
+        int childCount;
+        int convertedType = -1;
+        int logicalType;
+        int scale;
+        int precision;
+        int intBitWidth;
+        boolean intSigned = true;
+        boolean adjustedToUTC;
+        long unitNanos;
+        boolean unsigned;
+        ColumnarColumn column;
+    }
+
+    private static class RowGroup {
+        final List<ColumnChunk> chunks = new ArrayList<>();
+        long rowCount;
+    }
+
+    private static class ColumnChunk {
+        int codec;
+        long compressedSize;
+        long dataPageOffset;
+        long dictionaryPageOffset;
+    }
+
+    private static class PageHeader {
+        int type;
+        int uncompressedSize;
+        int compressedSize;
+        int valueCount;
+        int encoding;
+        int definitionLevelEncoding = ENCODING_RLE;
+        int definitionLevelsLength;
+        int repetitionLevelsLength;
+        boolean compressed = true;
+    }
+
+}
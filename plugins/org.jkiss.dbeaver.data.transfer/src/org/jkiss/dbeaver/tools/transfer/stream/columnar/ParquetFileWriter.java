@@ -0,0 +1,479 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Parquet file writer.
+ *
+ * All columns are written as optional flat columns with PLAIN encoding.
+ * Each written vectors batch becomes a row group, row group is split into data pages.
+ */
+public class ParquetFileWriter {
+
+    public enum Compression {
+        NONE(0),
+        GZIP(2);
+
+        private final int codec;
+
+        Compression(int codec) {
+            this.codec = codec;
+        }
+    }
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+    private static final String CREATED_BY = "DBeaver";
+    private static final int PAGE_ROWS = 20_000;
+
+    // Physical types
+    private static final int TYPE_BOOLEAN = 0;
+    private static final int TYPE_INT32 = 1;
+    private static final int TYPE_INT64 = 2;
+    private static final int TYPE_FLOAT = 4;
+    private static final int TYPE_DOUBLE = 5;
+    private static final int TYPE_BYTE_ARRAY = 6;
+
+    // Converted types
+    private static final int CONVERTED_UTF8 = 0;
+    private static final int CONVERTED_DECIMAL = 5;
+    private static final int CONVERTED_DATE = 6;
+    private static final int CONVERTED_TIMESTAMP_MICROS = 10;
+
+    private static final int ENCODING_PLAIN = 0;
+    private static final int ENCODING_RLE = 3;
+    private static final int PAGE_TYPE_DATA = 0;
+    private static final int REPETITION_OPTIONAL = 1;
+
+    private final OutputStream out;
+    private final List<ColumnarColumn> columns;
+    private final Compression compression;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private long position;
+    private long rowCount;
+
+    public ParquetFileWriter(@NotNull OutputStream out, @NotNull List<ColumnarColumn> columns, @NotNull Compression compression) {
+        this.out = out;
+        this.columns = columns;
+        this.compression = compression;
+    }
+
+    public void writeHeader() throws IOException {
+        write(MAGIC);
+    }
+
+    /**
+     * Writes vectors as a single row group. All vectors must have the same size.
+     */
+    public void writeRowGroup(@NotNull ColumnarVector[] vectors) throws IOException {
+        if (vectors.length != columns.size()) {
+            throw new IOException("Row group has " + vectors.length + " vectors while schema has " + columns.size() + " columns");
+        }
+        final int rows = vectors.length == 0 ? 0 : vectors[0].size();
+        if (rows == 0) {
+            return;
+        }
+        final RowGroup rowGroup = new RowGroup(rows);
+        for (ColumnarVector vector : vectors) {
+            if (vector.size() != rows) {
+                throw new IOException("Vector '" + vector.getColumn().getName() + "' size " + vector.size() + " differs from row group size " + rows);
+            }
+            final ColumnChunk chunk = new ColumnChunk(vector.getColumn(), position, rows);
+            for (int start = 0; start < rows; start += PAGE_ROWS) {
+                writePage(vector, start, Math.min(rows, start + PAGE_ROWS), chunk);
+            }
+            rowGroup.chunks.add(chunk);
+            rowGroup.totalByteSize += chunk.uncompressedSize;
+        }
+        rowGroups.add(rowGroup);
+        rowCount += rows;
+    }
+
+    /**
+     * Writes file metadata
+     */
+    public void writeFooter() throws IOException {
+        final ThriftCompactWriter thrift = new ThriftCompactWriter();
+        thrift.beginStruct();
+        thrift.writeI32Field(1, 1);
+        thrift.beginListField(2, ThriftCompactWriter.TYPE_STRUCT, columns.size() + 1);
+        thrift.beginStruct();
+        thrift.writeStringField(4, "schema");
+        thrift.writeI32Field(5, columns.size());
+        thrift.endStruct();
+        for (ColumnarColumn column : columns) {
+            writeSchemaElement(thrift, column);
+        }
+        thrift.writeI64Field(3, rowCount);
+        thrift.beginListField(4, ThriftCompactWriter.TYPE_STRUCT, rowGroups.size());
+        for (RowGroup rowGroup : rowGroups) {
+            thrift.beginStruct();
+            thrift.beginListField(1, ThriftCompactWriter.TYPE_STRUCT, rowGroup.chunks.size());
+            for (ColumnChunk chunk : rowGroup.chunks) {
+                writeColumnChunk(thrift, chunk);
+            }
+            thrift.writeI64Field(2, rowGroup.totalByteSize);
+            thrift.writeI64Field(3, rowGroup.rowCount);
+            thrift.endStruct();
+        }
+        thrift.writeStringField(6, CREATED_BY);
+        thrift.endStruct();
+
+        final byte[] metadata = thrift.toByteArray();
+        write(metadata);
+        write(new byte[]{(byte) metadata.length, (byte) (metadata.length >> 8), (byte) (metadata.length >> 16), (byte) (metadata.length >> 24)});
+        write(MAGIC);
+        out.flush();
+    }
+
+    private void writeSchemaElement(ThriftCompactWriter thrift, ColumnarColumn column) {
+        thrift.beginStruct();
+        thrift.writeI32Field(1, getPhysicalType(column));
+        thrift.writeI32Field(3, REPETITION_OPTIONAL);
+        thrift.writeStringField(4, column.getName());
+        switch (column.getType()) {
+            case STRING:
+                thrift.writeI32Field(6, CONVERTED_UTF8);
+                thrift.beginStructField(10);
+                thrift.writeEmptyStructField(1);
+                thrift.endStruct();
+                break;
+            case DECIMAL:
+                thrift.writeI32Field(6, CONVERTED_DECIMAL);
+                thrift.writeI32Field(7, column.getScale());
+                thrift.writeI32Field(8, column.getPrecision());
+                thrift.beginStructField(10);
+                thrift.beginStructField(5);
+                thrift.writeI32Field(1, column.getScale());
+                thrift.writeI32Field(2, column.getPrecision());
+                thrift.endStruct();
+                thrift.endStruct();
+                break;
+            case DATE:
+                thrift.writeI32Field(6, CONVERTED_DATE);
+                thrift.beginStructField(10);
+                thrift.writeEmptyStructField(6);
+                thrift.endStruct();
+                break;
+            case TIME:
+                // Local time: there is no matching converted type
+                thrift.beginStructField(10);
+                thrift.beginStructField(7);
+                thrift.writeBoolField(1, false);
+                thrift.beginStructField(2);
+                thrift.writeEmptyStructField(1);
+                thrift.endStruct();
+                thrift.endStruct();
+                thrift.endStruct();
+                break;
+            case TIMESTAMP:
+            case TIMESTAMP_TZ: {
+                final boolean utc = column.getType() == ColumnarDataType.TIMESTAMP_TZ;
+                if (utc) {
+                    thrift.writeI32Field(6, CONVERTED_TIMESTAMP_MICROS);
+                }
+                thrift.beginStructField(10);
+                thrift.beginStructField(8);
+                thrift.writeBoolField(1, utc);
+                thrift.beginStructField(2);
+                thrift.writeEmptyStructField(2);
+                thrift.endStruct();
+                thrift.endStruct();
+                thrift.endStruct();
+                break;
+            }
+            default:
+                break;
+        }
+        thrift.endStruct();
+    }
+
+    private void writeColumnChunk(ThriftCompactWriter thrift, ColumnChunk chunk) {
+        thrift.beginStruct();
+        thrift.writeI64Field(2, chunk.offset);
+        thrift.beginStructField(3);
+        thrift.writeI32Field(1, getPhysicalType(chunk.column));
+        thrift.beginListField(2, ThriftCompactWriter.TYPE_I32, 2);
+        thrift.writeI32Element(ENCODING_PLAIN);
+        thrift.writeI32Element(ENCODING_RLE);
+        thrift.beginListField(3, ThriftCompactWriter.TYPE_BINARY, 1);
+        thrift.writeString(chunk.column.getName());
+        thrift.writeI32Field(4, compression.codec);
+        thrift.writeI64Field(5, chunk.valueCount);
+        thrift.writeI64Field(6, chunk.uncompressedSize);
+        thrift.writeI64Field(7, chunk.compressedSize);
+        thrift.writeI64Field(9, chunk.offset);
+        thrift.endStruct();
+        thrift.endStruct();
+    }
+
+    private void writePage(ColumnarVector vector, int start, int end, ColumnChunk chunk) throws IOException {
+        final PageBuffer page = new PageBuffer();
+        writeDefinitionLevels(vector, start, end, page);
+        writePlainValues(vector, start, end, page);
+
+        final byte[] uncompressed = page.toByteArray();
+        final byte[] compressed;
+        if (compression == Compression.GZIP) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream(uncompressed.length / 2 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(uncompressed);
+            }
+            compressed = buffer.toByteArray();
+        } else {
+            compressed = uncompressed;
+        }
+
+        final ThriftCompactWriter header = new ThriftCompactWriter();
+        header.beginStruct();
+        header.writeI32Field(1, PAGE_TYPE_DATA);
+        header.writeI32Field(2, uncompressed.length);
+        header.writeI32Field(3, compressed.length);
+        header.beginStructField(5);
+        header.writeI32Field(1, end - start);
+        header.writeI32Field(2, ENCODING_PLAIN);
+        header.writeI32Field(3, ENCODING_RLE);
+        header.writeI32Field(4, ENCODING_RLE);
+        header.endStruct();
+        header.endStruct();
+        final byte[] headerBytes = header.toByteArray();
+
+        write(headerBytes);
+        write(compressed);
+        chunk.uncompressedSize += headerBytes.length + uncompressed.length;
+        chunk.compressedSize += headerBytes.length + compressed.length;
+    }
+
+    /**
+     * Definition levels in RLE/bit-packed hybrid encoding with bit width 1, prefixed with length
+     */
+    private static void writeDefinitionLevels(ColumnarVector vector, int start, int end, PageBuffer page) {
+        final PageBuffer levels = new PageBuffer();
+        final int count = end - start;
+        int nullCount = 0;
+        for (int i = start; i < end; i++) {
+            if (vector.isNull(i)) {
+                nullCount++;
+            }
+        }
+        if (nullCount == 0 || nullCount == count) {
+            // Single RLE run
+            levels.writeVarint((long) count << 1);
+            levels.write(nullCount == 0 ? 1 : 0);
+        } else {
+            // Bit-packed run, groups of 8 values
+            final int groups = (count + 7) / 8;
+            levels.writeVarint(((long) groups << 1) | 1);
+            for (int group = 0; group < groups; group++) {
+                int bits = 0;
+                for (int bit = 0; bit < 8; bit++) {
+                    final int index = start + group * 8 + bit;
+                    if (index < end && !vector.isNull(index)) {
+                        bits |= 1 << bit;
+                    }
+                }
+                levels.write(bits);
+            }
+        }
+        page.writeInt(levels.size());
+        levels.writeTo(page);
+    }
+
+    private static void writePlainValues(ColumnarVector vector, int start, int end, PageBuffer page) {
+        final ColumnarColumn column = vector.getColumn();
+        switch (column.getType()) {
+            case BOOLEAN: {
+                int bits = 0;
+                int bitCount = 0;
+                for (int i = start; i < end; i++) {
+                    if (vector.isNull(i)) {
+                        continue;
+                    }
+                    if (vector.getLong(i) != 0) {
+                        bits |= 1 << bitCount;
+                    }
+                    if (++bitCount == 8) {
+                        page.write(bits);
+                        bits = 0;
+                        bitCount = 0;
+                    }
+                }
+                if (bitCount > 0) {
+                    page.write(bits);
+                }
+                break;
+            }
+            case INT32:
+            case DATE:
+            case TIME:
+                for (int i = start; i < end; i++) {
+                    if (!vector.isNull(i)) {
+                        page.writeInt((int) vector.getLong(i));
+                    }
+                }
+                break;
+            case INT64:
+            case TIMESTAMP:
+            case TIMESTAMP_TZ:
+                for (int i = start; i < end; i++) {
+                    if (!vector.isNull(i)) {
+                        page.writeLong(vector.getLong(i));
+                    }
+                }
+                break;
+            case FLOAT32:
+                for (int i = start; i < end; i++) {
+                    if (!vector.isNull(i)) {
+                        page.writeInt(Float.floatToIntBits((float) vector.getDouble(i)));
+                    }
+                }
+                break;
+            case FLOAT64:
+                for (int i = start; i < end; i++) {
+                    if (!vector.isNull(i)) {
+                        page.writeLong(Double.doubleToLongBits(vector.getDouble(i)));
+                    }
+                }
+                break;
+            case DECIMAL: {
+                final int physicalType = getPhysicalType(column);
+                for (int i = start; i < end; i++) {
+                    if (vector.isNull(i)) {
+                        continue;
+                    }
+                    final BigInteger value = vector.getDecimal(i);
+                    if (physicalType == TYPE_INT32) {
+                        page.writeInt(value.intValue());
+                    } else if (physicalType == TYPE_INT64) {
+                        page.writeLong(value.longValue());
+                    } else {
+                        final byte[] bytes = value.toByteArray();
+                        page.writeInt(bytes.length);
+                        page.write(bytes, 0, bytes.length);
+                    }
+                }
+                break;
+            }
+            default:
+                for (int i = start; i < end; i++) {
+                    if (!vector.isNull(i)) {
+                        page.writeInt(vector.getDataLength(i));
+                        page.write(vector.getData(), vector.getDataOffset(i), vector.getDataLength(i));
+                    }
+                }
+                break;
+        }
+    }
+
+    private static int getPhysicalType(ColumnarColumn column) {
+        switch (column.getType()) {
+            case BOOLEAN:
+                return TYPE_BOOLEAN;
+            case INT32:
+            case DATE:
+            case TIME:
+                return TYPE_INT32;
+            case INT64:
+            case TIMESTAMP:
+            case TIMESTAMP_TZ:
+                return TYPE_INT64;
+            case FLOAT32:
+                return TYPE_FLOAT;
+            case FLOAT64:
+                return TYPE_DOUBLE;
+            case DECIMAL:
+                if (column.getPrecision() <= 9) {
+                    return TYPE_INT32;
+                } else if (column.getPrecision() <= 18) {
+                    return TYPE_INT64;
+                }
+                return TYPE_BYTE_ARRAY;
+            default:
+                return TYPE_BYTE_ARRAY;
+        }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    private static class RowGroup {
+        final long rowCount;
+        final List<ColumnChunk> chunks = new ArrayList<>();
+        long totalByteSize;
+
+        RowGroup(long rowCount) {
+            this.rowCount = rowCount;
+        }
+    }
+
+    private static class ColumnChunk {
+        final ColumnarColumn column;
+        final long offset;
+        final long valueCount;
+        long uncompressedSize;
+        long compressedSize;
+
+        ColumnChunk(ColumnarColumn column, long offset, long valueCount) {
+            this.column = column;
+            this.offset = offset;
+            this.valueCount = valueCount;
+        }
+    }
+
+    /**
+     * Little-endian page buffer
+     */
+    private static class PageBuffer extends ByteArrayOutputStream {
+
+        void writeInt(int value) {
+            write(value);
+            write(value >> 8);
+            write(value >> 16);
+            write(value >> 24);
+        }
+
+        void writeLong(long value) {
+            writeInt((int) value);
+            writeInt((int) (value >> 32));
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeTo(PageBuffer target) {
+            target.write(buf, 0, count);
+        }
+    }
+
+}
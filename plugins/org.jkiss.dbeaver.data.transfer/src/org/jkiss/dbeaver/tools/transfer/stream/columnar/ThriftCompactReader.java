@@ -0,0 +1,202 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Minimal Thrift compact protocol reader. Enough to read Parquet metadata.
+ * <p>
+ * Fields are read in a loop: {@link #beginStruct()}, then {@link #readField()} until it returns 0.
+ * Unknown fields must be skipped with {@link #skipField()}.
+ */
+class ThriftCompactReader {
+
+    private static final byte TYPE_BOOL_TRUE = 1;
+    private static final byte TYPE_BOOL_FALSE = 2;
+    private static final byte TYPE_BYTE = 3;
+    private static final byte TYPE_I16 = 4;
+    private static final byte TYPE_I32 = 5;
+    private static final byte TYPE_I64 = 6;
+    private static final byte TYPE_DOUBLE = 7;
+    private static final byte TYPE_BINARY = 8;
+    private static final byte TYPE_LIST = 9;
+    private static final byte TYPE_SET = 10;
+    private static final byte TYPE_MAP = 11;
+    private static final byte TYPE_STRUCT = 12;
+
+    private final ByteBuffer buffer;
+    private final Deque<Integer> fieldStack = new ArrayDeque<>();
+    private int lastField;
+    private byte fieldType;
+
+    ThriftCompactReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    void beginStruct() {
+        fieldStack.push(lastField);
+        lastField = 0;
+    }
+
+    /**
+     * Reads next field header of the current struct
+     *
+     * @return field id or 0 if struct is finished
+     */
+    int readField() throws IOException {
+        try {
+            final int header = buffer.get() & 0xFF;
+            if (header == 0) {
+                lastField = fieldStack.pop();
+                return 0;
+            }
+            fieldType = (byte) (header & 0x0F);
+            final int delta = header >> 4;
+            lastField = delta != 0 ? lastField + delta : (int) unzigzag(readVarint());
+            return lastField;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Unexpected end of Thrift data");
+        }
+    }
+
+    boolean readBool() {
+        return fieldType == TYPE_BOOL_TRUE;
+    }
+
+    byte readByte() {
+        return buffer.get();
+    }
+
+    int readI32() throws IOException {
+        return (int) unzigzag(readVarint());
+    }
+
+    long readI64() throws IOException {
+        return unzigzag(readVarint());
+    }
+
+    String readString() throws IOException {
+        final int length = (int) readVarint();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Bad Thrift string length " + length);
+        }
+        final String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Reads list header. Elements must be read or skipped by the caller.
+     *
+     * @return number of elements
+     */
+    int readListSize() throws IOException {
+        final int header = buffer.get() & 0xFF;
+        final int size = header >> 4;
+        return size == 15 ? (int) readVarint() : size;
+    }
+
+    /**
+     * Skips value of the last read field
+     */
+    void skipField() throws IOException {
+        skipValue(fieldType, false);
+    }
+
+    private void skipValue(byte type, boolean element) throws IOException {
+        try {
+            switch (type) {
+                case TYPE_BOOL_TRUE:
+                case TYPE_BOOL_FALSE:
+                    // Field booleans are kept in the field header
+                    if (element) {
+                        buffer.get();
+                    }
+                    break;
+                case TYPE_BYTE:
+                    buffer.get();
+                    break;
+                case TYPE_I16:
+                case TYPE_I32:
+                case TYPE_I64:
+                    readVarint();
+                    break;
+                case TYPE_DOUBLE:
+                    buffer.position(buffer.position() + 8);
+                    break;
+                case TYPE_BINARY: {
+                    final int length = (int) readVarint();
+                    buffer.position(buffer.position() + length);
+                    break;
+                }
+                case TYPE_LIST:
+                case TYPE_SET: {
+                    final int header = buffer.get() & 0xFF;
+                    final int size = header >> 4 == 15 ? (int) readVarint() : header >> 4;
+                    for (int i = 0; i < size; i++) {
+                        skipValue((byte) (header & 0x0F), true);
+                    }
+                    break;
+                }
+                case TYPE_MAP: {
+                    final int size = (int) readVarint();
+                    if (size > 0) {
+                        final int types = buffer.get() & 0xFF;
+                        for (int i = 0; i < size; i++) {
+                            skipValue((byte) (types >> 4), true);
+                            skipValue((byte) (types & 0x0F), true);
+                        }
+                    }
+                    break;
+                }
+                case TYPE_STRUCT:
+                    beginStruct();
+                    while (readField() != 0) {
+                        skipField();
+                    }
+                    break;
+                default:
+                    throw new IOException("Unsupported Thrift type " + type);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Unexpected end of Thrift data");
+        }
+    }
+
+    private long readVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = buffer.get() & 0xFF;
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Bad Thrift varint");
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
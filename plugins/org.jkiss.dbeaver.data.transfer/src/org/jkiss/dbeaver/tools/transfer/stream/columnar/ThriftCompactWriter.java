@@ -0,0 +1,130 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Minimal Thrift compact protocol writer. Enough to write Parquet metadata.
+ */
+class ThriftCompactWriter {
+
+    static final byte TYPE_BOOL_TRUE = 1;
+    static final byte TYPE_BOOL_FALSE = 2;
+    static final byte TYPE_I32 = 5;
+    static final byte TYPE_I64 = 6;
+    static final byte TYPE_BINARY = 8;
+    static final byte TYPE_LIST = 9;
+    static final byte TYPE_STRUCT = 12;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final Deque<Integer> fieldStack = new ArrayDeque<>();
+    private int lastField;
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    void beginStruct() {
+        fieldStack.push(lastField);
+        lastField = 0;
+    }
+
+    void endStruct() {
+        out.write(0);
+        lastField = fieldStack.pop();
+    }
+
+    void beginStructField(int id) {
+        writeFieldHeader(id, TYPE_STRUCT);
+        beginStruct();
+    }
+
+    /**
+     * Writes empty struct field (used for union members without parameters)
+     */
+    void writeEmptyStructField(int id) {
+        beginStructField(id);
+        endStruct();
+    }
+
+    void writeBoolField(int id, boolean value) {
+        writeFieldHeader(id, value ? TYPE_BOOL_TRUE : TYPE_BOOL_FALSE);
+    }
+
+    void writeI32Field(int id, int value) {
+        writeFieldHeader(id, TYPE_I32);
+        writeVarint(zigzag(value));
+    }
+
+    void writeI64Field(int id, long value) {
+        writeFieldHeader(id, TYPE_I64);
+        writeVarint(zigzag(value));
+    }
+
+    void writeStringField(int id, String value) {
+        writeFieldHeader(id, TYPE_BINARY);
+        writeString(value);
+    }
+
+    void beginListField(int id, byte elementType, int size) {
+        writeFieldHeader(id, TYPE_LIST);
+        if (size < 15) {
+            out.write((size << 4) | elementType);
+        } else {
+            out.write(0xF0 | elementType);
+            writeVarint(size);
+        }
+    }
+
+    void writeI32Element(int value) {
+        writeVarint(zigzag(value));
+    }
+
+    void writeString(String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private void writeFieldHeader(int id, byte type) {
+        final int delta = id - lastField;
+        if (delta > 0 && delta <= 15) {
+            out.write((delta << 4) | type);
+        } else {
+            out.write(type);
+            writeVarint(zigzag(id));
+        }
+        lastField = id;
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.exporter;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ArrowIpcWriter;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarColumn;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarVector;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Apache Arrow IPC file (Feather v2) exporter
+ */
+public class DataExporterArrow extends StreamExporterColumnar {
+
+    private static final String PROP_BATCH_SIZE = "batchSize";
+
+    private static final int DEFAULT_BATCH_SIZE = 10000;
+    // Limit batch memory for wide rows
+    private static final long MAX_BATCH_BYTES = 64L * 1024 * 1024;
+
+    private int batchSize;
+    private ArrowIpcWriter writer;
+
+    @Override
+    public void init(IStreamDataExporterSite site) throws DBException {
+        super.init(site);
+        batchSize = Math.max(CommonUtils.toInt(site.getProperties().get(PROP_BATCH_SIZE), DEFAULT_BATCH_SIZE), 1);
+    }
+
+    @Override
+    protected void writeHeader(@NotNull List<ColumnarColumn> columns) throws IOException {
+        writer = new ArrowIpcWriter(getOutputStream(), columns);
+        writer.writeHeader();
+    }
+
+    @Override
+    protected boolean isBatchFull(int rowCount, long estimatedSize) {
+        return rowCount >= batchSize || estimatedSize >= MAX_BATCH_BYTES;
+    }
+
+    @Override
+    protected void writeBatch(@NotNull ColumnarVector[] vectors) throws IOException {
+        writer.writeBatch(vectors);
+    }
+
+    @Override
+    protected void writeFooter() throws IOException {
+        writer.writeFooter();
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.exporter;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarColumn;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarVector;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ParquetFileWriter;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Apache Parquet exporter
+ */
+public class DataExporterParquet extends StreamExporterColumnar {
+
+    private static final String PROP_ROW_GROUP_SIZE = "rowGroupSize";
+    private static final String PROP_COMPRESSION = "compression";
+
+    private static final int DEFAULT_ROW_GROUP_SIZE_MB = 64;
+
+    private long rowGroupSize;
+    private ParquetFileWriter.Compression compression;
+    private ParquetFileWriter writer;
+
+    @Override
+    public void init(IStreamDataExporterSite site) throws DBException {
+        super.init(site);
+        rowGroupSize = Math.max(CommonUtils.toInt(site.getProperties().get(PROP_ROW_GROUP_SIZE), DEFAULT_ROW_GROUP_SIZE_MB), 1) * 1024L * 1024L;
+        compression = CommonUtils.valueOf(
+            ParquetFileWriter.Compression.class,
+            CommonUtils.toString(site.getProperties().get(PROP_COMPRESSION)).toUpperCase(),
+            ParquetFileWriter.Compression.GZIP);
+    }
+
+    @Override
+    protected void writeHeader(@NotNull List<ColumnarColumn> columns) throws IOException {
+        writer = new ParquetFileWriter(getOutputStream(), columns, compression);
+        writer.writeHeader();
+    }
+
+    @Override
+    protected boolean isBatchFull(int rowCount, long estimatedSize) {
+        return estimatedSize >= rowGroupSize;
+    }
+
+    @Override
+    protected void writeBatch(@NotNull ColumnarVector[] vectors) throws IOException {
+        writer.writeRowGroup(vectors);
+    }
+
+    @Override
+    protected void writeFooter() throws IOException {
+        writer.writeFooter();
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.exporter;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.DTUtils;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarColumn;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarDataType;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarVector;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.IOUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Types;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Base exporter for columnar binary formats.
+ * Rows are accumulated in typed column vectors which are flushed by batches.
+ */
+public abstract class StreamExporterColumnar extends StreamExporterAbstract {
+
+    private DBDAttributeBinding[] attributes;
+    private ColumnarVector[] vectors;
+
+    @Override
+    public void exportHeader(DBCSession session) throws DBException, IOException {
+        attributes = getSite().getAttributes();
+        final List<ColumnarColumn> columns = new ArrayList<>(attributes.length);
+        vectors = new ColumnarVector[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            final ColumnarColumn column = createColumn(attributes[i]);
+            columns.add(column);
+            vectors[i] = new ColumnarVector(column);
+        }
+        writeHeader(columns);
+    }
+
+    @Override
+    public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException {
+        for (int i = 0; i < vectors.length; i++) {
+            final ColumnarVector vector = vectors[i];
+            Object value = row[i];
+            if (DBUtils.isNullValue(value)) {
+                vector.addNull();
+                continue;
+            }
+            if (value instanceof DBDContent) {
+                value = readContent(session.getProgressMonitor(), resultSet, (DBDContent) value);
+            } else if (vector.getColumn().getType() == ColumnarDataType.STRING) {
+                value = getValueDisplayString(attributes[i], value);
+            }
+            try {
+                vector.addValue(value);
+            } catch (IllegalArgumentException | ArithmeticException | DateTimeException e) {
+                throw new DBException("Can't convert value of column '" + vector.getColumn().getName() + "' to " + vector.getColumn().getType(), e);
+            }
+        }
+        long batchSize = 0;
+        for (ColumnarVector vector : vectors) {
+            batchSize += vector.getEstimatedSize();
+        }
+        if (vectors.length > 0 && isBatchFull(vectors[0].size(), batchSize)) {
+            flushBatch();
+        }
+    }
+
+    @Override
+    public void exportFooter(DBRProgressMonitor monitor) throws DBException, IOException {
+        if (vectors.length > 0 && vectors[0].size() > 0) {
+            flushBatch();
+        }
+        writeFooter();
+    }
+
+    /**
+     * Writes file header
+     */
+    protected abstract void writeHeader(@NotNull List<ColumnarColumn> columns) throws IOException;
+
+    /**
+     * Checks whether accumulated rows should be written
+     *
+     * @param rowCount      rows in current batch
+     * @param estimatedSize approximate size of current batch in bytes
+     */
+    protected abstract boolean isBatchFull(int rowCount, long estimatedSize);
+
+    protected abstract void writeBatch(@NotNull ColumnarVector[] vectors) throws IOException;
+
+    protected abstract void writeFooter() throws IOException;
+
+    private void flushBatch() throws IOException {
+        writeBatch(vectors);
+        for (ColumnarVector vector : vectors) {
+            vector.clear();
+        }
+    }
+
+    private Object readContent(DBRProgressMonitor monitor, DBCResultSet resultSet, DBDContent content) throws DBException, IOException {
+        try {
+            final DBDContentStorage cs = content.getContents(monitor);
+            if (cs == null) {
+                return null;
+            }
+            if (ContentUtils.isTextContent(content)) {
+                try (Reader in = cs.getContentReader()) {
+                    return IOUtils.readToString(in);
+                }
+            } else {
+                try (InputStream in = cs.getContentStream()) {
+                    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                    IOUtils.fastCopy(in, buffer);
+                    return buffer.toByteArray();
+                }
+            }
+        } finally {
+            DTUtils.closeContents(resultSet, content);
+        }
+    }
+
+    @NotNull
+    private static ColumnarColumn createColumn(@NotNull DBDAttributeBinding attribute) {
+        String name = attribute.getLabel();
+        if (CommonUtils.isEmpty(name)) {
+            name = attribute.getName();
+        }
+        switch (attribute.getDataKind()) {
+            case BOOLEAN:
+                return new ColumnarColumn(name, ColumnarDataType.BOOLEAN);
+            case NUMERIC:
+                final boolean unsigned = CommonUtils.notEmpty(attribute.getTypeName()).toUpperCase(Locale.ENGLISH).contains("UNSIGNED");
+                switch (attribute.getTypeID()) {
+                    case Types.TINYINT:
+                    case Types.SMALLINT:
+                        return new ColumnarColumn(name, ColumnarDataType.INT32);
+                    case Types.INTEGER:
+                        // Unsigned values are widened to the next signed type
+                        return new ColumnarColumn(name, unsigned ? ColumnarDataType.INT64 : ColumnarDataType.INT32);
+                    case Types.BIGINT:
+                        if (unsigned) {
+                            return new ColumnarColumn(name, ColumnarDataType.DECIMAL, 20, 0);
+                        }
+                        return new ColumnarColumn(name, ColumnarDataType.INT64);
+                    case Types.REAL:
+                        return new ColumnarColumn(name, ColumnarDataType.FLOAT32);
+                    case Types.FLOAT:
+                    case Types.DOUBLE:
+                        return new ColumnarColumn(name, ColumnarDataType.FLOAT64);
+                    default: {
+                        // DECIMAL, NUMERIC and unknown numeric types
+                        final int precision = CommonUtils.toInt(attribute.getPrecision());
+                        final int scale = CommonUtils.toInt(attribute.getScale());
+                        if (precision > 0 && precision <= ColumnarColumn.MAX_DECIMAL_PRECISION && scale >= 0 && scale <= precision) {
+                            return new ColumnarColumn(name, ColumnarDataType.DECIMAL, precision, scale);
+                        }
+                        // Unbounded numbers are kept as strings to avoid precision loss
+                        return new ColumnarColumn(name, ColumnarDataType.STRING);
+                    }
+                }
+            case DATETIME:
+                switch (attribute.getTypeID()) {
+                    case Types.DATE:
+                        return new ColumnarColumn(name, ColumnarDataType.DATE);
+                    case Types.TIME:
+                        return new ColumnarColumn(name, ColumnarDataType.TIME);
+                    case Types.TIMESTAMP_WITH_TIMEZONE:
+                        return new ColumnarColumn(name, ColumnarDataType.TIMESTAMP_TZ);
+                    case Types.TIME_WITH_TIMEZONE:
+                        return new ColumnarColumn(name, ColumnarDataType.STRING);
+                    default:
+                        return new ColumnarColumn(name, ColumnarDataType.TIMESTAMP);
+                }
+            case BINARY:
+                return new ColumnarColumn(name, ColumnarDataType.BINARY);
+            case CONTENT:
+                switch (attribute.getTypeID()) {
+                    case Types.CLOB:
+                    case Types.NCLOB:
+                    case Types.LONGVARCHAR:
+                    case Types.LONGNVARCHAR:
+                    case Types.SQLXML:
+                        return new ColumnarColumn(name, ColumnarDataType.STRING);
+                    default:
+                        return new ColumnarColumn(name, ColumnarDataType.BINARY);
+                }
+            default:
+                return new ColumnarColumn(name, ColumnarDataType.STRING);
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ArrowIpcReader;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarReader;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+
+/**
+ * Apache Arrow IPC file (Feather v2) importer.
+ * Record batches are read one by one, values are passed to the consumer with their native types.
+ */
+public class DataImporterArrow extends StreamImporterColumnar {
+
+    private static final int READ_BUFFER_SIZE = 255 * 1024;
+
+    @NotNull
+    @Override
+    protected String getFormatName() {
+        return "Arrow";
+    }
+
+    @NotNull
+    @Override
+    protected ColumnarReader openReader(@NotNull StreamEntityMapping entityMapping, @NotNull InputStream inputStream) {
+        return new ArrowIpcReader(new BufferedInputStream(inputStream, READ_BUFFER_SIZE));
+    }
+
+}
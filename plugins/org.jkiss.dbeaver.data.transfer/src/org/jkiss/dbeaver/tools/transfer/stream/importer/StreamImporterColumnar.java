@@ -0,0 +1,184 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferResultSet;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarColumn;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarReader;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarVector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base importer of columnar formats.
+ * Batches are read one by one, values are passed to the consumer with their native types.
+ */
+public abstract class StreamImporterColumnar extends StreamImporterAbstract {
+
+    /**
+     * Format name for error messages
+     */
+    @NotNull
+    protected abstract String getFormatName();
+
+    @NotNull
+    protected abstract ColumnarReader openReader(@NotNull StreamEntityMapping entityMapping, @NotNull InputStream inputStream) throws IOException;
+
+    @NotNull
+    @Override
+    public List<StreamDataImporterColumnInfo> readColumnsInfo(StreamEntityMapping entityMapping, @NotNull InputStream inputStream) throws DBException {
+        final List<ColumnarColumn> columns;
+        try (ColumnarReader reader = openReader(entityMapping, inputStream)) {
+            columns = reader.readSchema();
+        } catch (IOException e) {
+            throw new DBException("IO error reading " + getFormatName() + " file", e);
+        }
+        final List<StreamDataImporterColumnInfo> columnsInfo = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            final ColumnarColumn column = columns.get(i);
+            final StreamDataImporterColumnInfo columnInfo = new StreamDataImporterColumnInfo(
+                entityMapping, i, column.getName(), getTypeName(column), 0, getDataKind(column));
+            if (column.getPrecision() > 0) {
+                columnInfo.setPrecision(column.getPrecision());
+                columnInfo.setScale(column.getScale());
+            }
+            columnInfo.setMappingMetadataPresent(true);
+            columnsInfo.add(columnInfo);
+        }
+        return columnsInfo;
+    }
+
+    @Override
+    public void runImport(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource streamDataSource, @NotNull InputStream inputStream, @NotNull IDataTransferConsumer consumer) throws DBException {
+        IStreamDataImporterSite site = getSite();
+        StreamEntityMapping entityMapping = site.getSourceObject();
+        int maxRows = site.getSettings().getMaxRows();
+
+        DBCExecutionContext context = streamDataSource.getDefaultInstance().getDefaultContext(monitor, false);
+        try (DBCSession producerSession = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
+            LocalStatement localStatement = new LocalStatement(producerSession, "SELECT * FROM Stream");
+            StreamTransferResultSet resultSet = new StreamTransferResultSet(producerSession, localStatement, entityMapping);
+
+            consumer.fetchStart(producerSession, resultSet, -1, -1);
+
+            applyTransformHints(resultSet, consumer, site.getProcessorProperties(), null, null);
+
+            try (ColumnarReader reader = openReader(entityMapping, inputStream)) {
+                int columnCount = reader.readSchema().size();
+                long rowNum = 0;
+                readLoop:
+                for (ColumnarVector[] batch = reader.readBatch(); batch != null; batch = reader.readBatch()) {
+                    int batchRows = columnCount == 0 ? 0 : batch[0].size();
+                    for (int row = 0; row < batchRows; row++) {
+                        if (monitor.isCanceled() || (maxRows > 0 && rowNum >= maxRows)) {
+                            break readLoop;
+                        }
+                        Object[] values = new Object[columnCount];
+                        for (int i = 0; i < columnCount; i++) {
+                            values[i] = batch[i].getValue(row);
+                        }
+                        resultSet.setStreamRow(values);
+                        consumer.fetchRow(producerSession, resultSet);
+                        rowNum++;
+
+                        if (DBFetchProgress.monitorFetchProgress(rowNum)) {
+                            monitor.subTask(Long.toUnsignedString(rowNum) + " rows processed");
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new DBException("IO error reading " + getFormatName() + " file", e);
+            } finally {
+                try {
+                    consumer.fetchEnd(producerSession, resultSet);
+                } finally {
+                    consumer.close();
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static String getTypeName(@NotNull ColumnarColumn column) {
+        switch (column.getType()) {
+            case BOOLEAN:
+                return "BOOLEAN";
+            case INT32:
+                return "INTEGER";
+            case INT64:
+                return "BIGINT";
+            case FLOAT32:
+                return "REAL";
+            case FLOAT64:
+                return "DOUBLE";
+            case DECIMAL:
+                return "NUMERIC";
+            case DATE:
+                return "DATE";
+            case TIME:
+                return "TIME";
+            case TIMESTAMP:
+            case TIMESTAMP_TZ:
+                return "TIMESTAMP";
+            case BINARY:
+                return "BINARY";
+            default:
+                return "VARCHAR";
+        }
+    }
+
+    @NotNull
+    private static DBPDataKind getDataKind(@NotNull ColumnarColumn column) {
+        switch (column.getType()) {
+            case BOOLEAN:
+                return DBPDataKind.BOOLEAN;
+            case INT32:
+            case INT64:
+            case FLOAT32:
+            case FLOAT64:
+            case DECIMAL:
+                return DBPDataKind.NUMERIC;
+            case DATE:
+            case TIME:
+            case TIMESTAMP:
+            case TIMESTAMP_TZ:
+                return DBPDataKind.DATETIME;
+            case BINARY:
+                return DBPDataKind.BINARY;
+            default:
+                return DBPDataKind.STRING;
+        }
+    }
+
+}
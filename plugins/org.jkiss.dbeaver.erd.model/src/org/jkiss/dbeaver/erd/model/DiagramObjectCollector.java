@@ -57,7 +57,7 @@ public class DiagramObjectCollector {
         throws DBException
     {
         Set<DBSEntity> tables = new LinkedHashSet<>();
-        collectTables(monitor, roots, tables, settings, forceShowViews);
+        collectTables(monitor, roots, tables, new HashSet<>(), settings, forceShowViews);
         return tables;
     }
 
@@ -69,6 +69,7 @@ public class DiagramObjectCollector {
         DBRProgressMonitor monitor,
         Collection<? extends DBSObject> roots,
         Set<DBSEntity> tables,
+        Set<DBSObjectContainer> cachedContainers,
         DiagramCollectSettings settings,
         boolean forceShowViews)
         throws DBException
@@ -86,7 +87,7 @@ public class DiagramObjectCollector {
             }
 
             if (root instanceof DBSFolder) {
-                collectTables(monitor, ((DBSFolder) root).getChildrenObjects(monitor), tables, settings, false);
+                collectTables(monitor, ((DBSFolder) root).getChildrenObjects(monitor), tables, cachedContainers, settings, false);
             } else if (root instanceof DBSEntity) {
                 if ((root instanceof DBSTablePartition && !showPartitions) || (DBUtils.isView((DBSEntity) root) && !(showViews || forceShowViews))) {
                     continue;
@@ -94,7 +95,7 @@ public class DiagramObjectCollector {
                 tables.add((DBSEntity) root);
             }
             if (root instanceof DBSObjectContainer) {
-                collectTables(monitor, (DBSObjectContainer) root, tables, showViews, showPartitions);
+                collectTables(monitor, (DBSObjectContainer) root, tables, cachedContainers, showViews, showPartitions);
             }
         }
     }
@@ -103,6 +104,7 @@ public class DiagramObjectCollector {
         DBRProgressMonitor monitor,
         DBSObjectContainer container,
         Set<DBSEntity> tables,
+        Set<DBSObjectContainer> cachedContainers,
         boolean showViews,
         boolean showPartitions)
         throws DBException
@@ -111,6 +113,7 @@ public class DiagramObjectCollector {
             return;
         }
         container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+        cachedContainers.add(container);
         final Collection<? extends DBSObject> children = container.getChildren(monitor);
         if (!CommonUtils.isEmpty(children)) {
             Class<? extends DBSObject> childType = container.getPrimaryChildType(monitor);
@@ -134,7 +137,7 @@ public class DiagramObjectCollector {
 
                     tables.add(entity1);
                 } else if (entity instanceof DBSObjectContainer) {
-                    collectTables(monitor, (DBSObjectContainer) entity, tables, showViews, showPartitions);
+                    collectTables(monitor, (DBSObjectContainer) entity, tables, cachedContainers, showViews, showPartitions);
                 }
             }
         }
@@ -146,8 +149,18 @@ public class DiagramObjectCollector {
         DiagramCollectSettings settings)
         throws DBException
     {
-        Collection<DBSEntity> tables = collectTables(monitor, roots, settings, showViews);
+        Set<DBSEntity> tables = new LinkedHashSet<>();
+        Set<DBSObjectContainer> cachedContainers = new HashSet<>();
+        collectTables(monitor, roots, tables, cachedContainers, settings, showViews);
+
+        // Read metadata of explicitly selected tables in bulk, schema by schema.
+        // Otherwise attributes and keys are read with separate queries for each table.
+        prefetchEntitiesMetadata(monitor, tables, cachedContainers);
+
         for (DBSEntity table : tables) {
+            if (monitor.isCanceled()) {
+                break;
+            }
             if (DBUtils.isHiddenObject(table)) {
                 // Skip hidden tables
                 continue;
@@ -157,10 +170,50 @@ public class DiagramObjectCollector {
 
         // Add new relations
         for (ERDEntity erdEntity : erdEntities) {
+            if (monitor.isCanceled()) {
+                break;
+            }
             erdEntity.addModelRelations(monitor, diagram, true, false);
         }
     }
 
+    private static void prefetchEntitiesMetadata(
+        DBRProgressMonitor monitor,
+        Collection<DBSEntity> tables,
+        Set<DBSObjectContainer> cachedContainers)
+    {
+        final Map<DBSObjectContainer, Integer> containers = new LinkedHashMap<>();
+        for (DBSEntity table : tables) {
+            if (table.getParentObject() instanceof DBSObjectContainer) {
+                DBSObjectContainer container = (DBSObjectContainer) table.getParentObject();
+                if (!cachedContainers.contains(container)) {
+                    containers.merge(container, 1, Integer::sum);
+                }
+            }
+        }
+        monitor.beginTask("Read tables metadata", containers.size());
+        for (Map.Entry<DBSObjectContainer, Integer> entry : containers.entrySet()) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            if (entry.getValue() < 2) {
+                // Single table - no need to read the whole schema
+                monitor.worked(1);
+                continue;
+            }
+            DBSObjectContainer container = entry.getKey();
+            monitor.subTask("Read '" + container.getName() + "' metadata");
+            try {
+                container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ATTRIBUTES | DBSObjectContainer.STRUCT_ASSOCIATIONS);
+                cachedContainers.add(container);
+            } catch (DBException e) {
+                log.debug("Error reading '" + container.getName() + "' metadata", e);
+            }
+            monitor.worked(1);
+        }
+        monitor.done();
+    }
+
     private void addDiagramEntity(DBRProgressMonitor monitor, DBSEntity table)
     {
         if (diagram.containsTable(table) && !diagram.getContentProvider().allowEntityDuplicates()) {
@@ -173,15 +226,6 @@ public class DiagramObjectCollector {
         }
     }
 
-    private boolean aliasExist(String alias) {
-        for (ERDEntity entity : erdEntities) {
-            if (CommonUtils.equalObjects(entity.getAlias(), alias)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     public List<ERDEntity> getDiagramEntities()
     {
         return erdEntities;
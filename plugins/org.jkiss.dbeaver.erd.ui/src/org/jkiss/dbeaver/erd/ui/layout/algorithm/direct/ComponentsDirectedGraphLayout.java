@@ -0,0 +1,249 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.ui.layout.algorithm.direct;
+
+import org.eclipse.draw2dl.PositionConstants;
+import org.eclipse.draw2dl.graph.DirectedGraph;
+import org.eclipse.draw2dl.graph.Edge;
+import org.eclipse.draw2dl.graph.Node;
+import org.eclipse.draw2dl.graph.NodeList;
+import org.eclipse.draw2dl.graph.Subgraph;
+import org.eclipse.gef3.NodeEditPart;
+import org.eclipse.gef3.editparts.AbstractGraphicalEditPart;
+import org.eclipse.swt.graphics.Point;
+import org.jkiss.dbeaver.Log;
+
+import java.util.*;
+
+/**
+ * Layout for big diagrams.
+ * Splits graph into connected components, lays out each component separately (in parallel)
+ * and then packs resulting blocks into rows.
+ * Directed graph layout complexity grows much faster than linearly, so it is much cheaper
+ * to lay out many small graphs than a single huge one.
+ */
+public class ComponentsDirectedGraphLayout {
+
+    private static final Log log = Log.getLog(ComponentsDirectedGraphLayout.class);
+
+    /**
+     * Diagrams with fewer nodes are laid out as a whole
+     */
+    public static final int MIN_NODES_TO_SPLIT = 200;
+
+    private static final int COMPONENT_SPACING = 60;
+
+    private final AbstractGraphicalEditPart diagram;
+    private Map<Node, Integer> nodeHeights;
+    private Point diagramSize;
+
+    public ComponentsDirectedGraphLayout(AbstractGraphicalEditPart diagram) {
+        this.diagram = diagram;
+    }
+
+    public void visit(DirectedGraph graph) {
+        // StandaloneNodeConnector needs figure and viewer control sizes. SWT and Draw2D may be accessed
+        // only in UI thread, so sizes are read here, before components are laid out in parallel.
+        nodeHeights = new IdentityHashMap<>();
+        for (int i = 0; i < graph.nodes.size(); i++) {
+            final Node node = graph.nodes.getNode(i);
+            if (node.data instanceof NodeEditPart) {
+                nodeHeights.put(node, ((NodeEditPart) node.data).getFigure().getMinimumSize().height);
+            }
+        }
+        diagramSize = diagram.getViewer().getControl().getSize();
+
+        final List<GraphComponent> components = splitComponents(graph);
+        // Layout of each component works with its own graph and with sizes read above only
+        components.parallelStream().forEach(GraphComponent::layout);
+
+        packComponents(components);
+    }
+
+    private List<GraphComponent> splitComponents(DirectedGraph graph) {
+        final Map<Node, Node> roots = new IdentityHashMap<>();
+        for (int i = 0; i < graph.nodes.size(); i++) {
+            final Node node = graph.nodes.getNode(i);
+            roots.put(node, node);
+        }
+        for (int i = 0; i < graph.edges.size(); i++) {
+            final Edge edge = graph.edges.getEdge(i);
+            final Node source = findRoot(roots, getTopNode(edge.source));
+            final Node target = findRoot(roots, getTopNode(edge.target));
+            if (source != null && target != null && source != target) {
+                roots.put(source, target);
+            }
+        }
+
+        final Map<Node, GraphComponent> componentMap = new IdentityHashMap<>();
+        final GraphComponent standalone = new GraphComponent();
+        final List<GraphComponent> components = new ArrayList<>();
+        for (int i = 0; i < graph.nodes.size(); i++) {
+            final Node node = graph.nodes.getNode(i);
+            if (node.incoming.isEmpty() && node.outgoing.isEmpty() && !hasMemberEdges(node)) {
+                standalone.graph.nodes.add(node);
+                continue;
+            }
+            componentMap.computeIfAbsent(findRoot(roots, node), n -> {
+                GraphComponent component = new GraphComponent();
+                components.add(component);
+                return component;
+            }).graph.nodes.add(node);
+        }
+        for (int i = 0; i < graph.edges.size(); i++) {
+            final Edge edge = graph.edges.getEdge(i);
+            final GraphComponent component = componentMap.get(findRoot(roots, getTopNode(edge.source)));
+            if (component != null) {
+                component.graph.edges.add(edge);
+            }
+        }
+        if (!standalone.graph.nodes.isEmpty()) {
+            components.add(standalone);
+        }
+        return components;
+    }
+
+    private void packComponents(List<GraphComponent> components) {
+        long totalArea = 0;
+        for (GraphComponent component : components) {
+            component.calcBounds();
+            totalArea += (long) component.width * component.height;
+        }
+        // Make it roughly square
+        final int maxRowWidth = Math.max((int) Math.sqrt(totalArea), 1);
+
+        final List<GraphComponent> sorted = new ArrayList<>(components);
+        sorted.sort(Comparator.comparingInt((GraphComponent c) -> c.height).reversed());
+
+        int x = 0, y = 0, rowHeight = 0;
+        for (GraphComponent component : sorted) {
+            if (x > 0 && x + component.width > maxRowWidth) {
+                x = 0;
+                y += rowHeight + COMPONENT_SPACING;
+                rowHeight = 0;
+            }
+            component.moveTo(x, y);
+            x += component.width + COMPONENT_SPACING;
+            rowHeight = Math.max(rowHeight, component.height);
+        }
+    }
+
+    private static boolean hasMemberEdges(Node node) {
+        if (node instanceof Subgraph) {
+            final NodeList members = ((Subgraph) node).members;
+            for (int i = 0; i < members.size(); i++) {
+                final Node member = members.getNode(i);
+                if (!member.incoming.isEmpty() || !member.outgoing.isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Node getTopNode(Node node) {
+        while (node != null && node.getParent() != null) {
+            node = node.getParent();
+        }
+        return node;
+    }
+
+    private static Node findRoot(Map<Node, Node> roots, Node node) {
+        Node root = roots.get(node);
+        if (root == null) {
+            return null;
+        }
+        while (root != node) {
+            final Node parent = roots.get(root);
+            // Path halving
+            roots.put(node, parent);
+            node = root;
+            root = parent;
+        }
+        return root;
+    }
+
+    private class GraphComponent {
+        private final DirectedGraph graph = new DirectedGraph();
+        private int minX, minY, width, height;
+
+        GraphComponent() {
+            this.graph.setDirection(PositionConstants.EAST);
+        }
+
+        void layout() {
+            try {
+                new NodeJoiningDirectedGraphLayout(diagram) {
+                    @Override
+                    protected StandaloneNodeConnector createNodeConnector() {
+                        return new StandaloneNodeConnector(diagram) {
+                            @Override
+                            protected int getNodeHeight(Node node) {
+                                return nodeHeights.getOrDefault(node, 0);
+                            }
+
+                            @Override
+                            protected Point getDiagramSize() {
+                                return diagramSize;
+                            }
+                        };
+                    }
+                }.visit(graph);
+            } catch (Exception e) {
+                log.error("Diagram component layout error", e);
+            }
+        }
+
+        void calcBounds() {
+            int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+            minX = Integer.MAX_VALUE;
+            minY = Integer.MAX_VALUE;
+            for (int i = 0; i < graph.nodes.size(); i++) {
+                final Node node = graph.nodes.getNode(i);
+                minX = Math.min(minX, node.x);
+                minY = Math.min(minY, node.y);
+                maxX = Math.max(maxX, node.x + node.width);
+                maxY = Math.max(maxY, node.y + node.height);
+            }
+            if (minX > maxX) {
+                minX = minY = maxX = maxY = 0;
+            }
+            width = maxX - minX;
+            height = maxY - minY;
+        }
+
+        void moveTo(int x, int y) {
+            final int dx = x - minX, dy = y - minY;
+            for (int i = 0; i < graph.nodes.size(); i++) {
+                final Node node = graph.nodes.getNode(i);
+                node.x += dx;
+                node.y += dy;
+            }
+            for (int i = 0; i < graph.edges.size(); i++) {
+                final NodeList vNodes = graph.edges.getEdge(i).vNodes;
+                if (vNodes != null) {
+                    for (int k = 0; k < vNodes.size(); k++) {
+                        final Node vNode = vNodes.getNode(k);
+                        vNode.x += dx;
+                        vNode.y += dy;
+                    }
+                }
+            }
+        }
+    }
+
+}
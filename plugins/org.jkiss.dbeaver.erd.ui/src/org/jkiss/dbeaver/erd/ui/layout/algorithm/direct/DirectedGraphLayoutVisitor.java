@@ -72,7 +72,12 @@ public class DirectedGraphLayoutVisitor {
             addDiagramEdges(diagram);
             try {
                 //new CompoundDirectedGraphLayout().visit(graph);
-                new NodeJoiningDirectedGraphLayout(diagram).visit(graph);
+                if (graph.nodes.size() >= ComponentsDirectedGraphLayout.MIN_NODES_TO_SPLIT) {
+                    // Lay out connected components independently
+                    new ComponentsDirectedGraphLayout(diagram).visit(graph);
+                } else {
+                    new NodeJoiningDirectedGraphLayout(diagram).visit(graph);
+                }
             } catch (Exception e) {
                 log.error("Diagram layout error", e);
             }
@@ -48,7 +48,7 @@ public class NodeJoiningDirectedGraphLayout extends DirectedGraphLayout
 	{
 		//add dummy edges so that graph does not fall over because some nodes
 		// are not in relationships
-		new StandaloneNodeConnector(diagram).visit(graph);
+		createNodeConnector().visit(graph);
 		
 		// create edges to join any isolated clusters
         // TODO: investigate - cluster edges makes diagram ugly
@@ -58,4 +58,9 @@ public class NodeJoiningDirectedGraphLayout extends DirectedGraphLayout
 		super.visit(graph);
 	}
 
+    protected StandaloneNodeConnector createNodeConnector()
+    {
+        return new StandaloneNodeConnector(diagram);
+    }
+
 }
\ No newline at end of file
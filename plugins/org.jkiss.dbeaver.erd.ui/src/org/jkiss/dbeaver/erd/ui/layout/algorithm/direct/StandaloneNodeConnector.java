@@ -72,7 +72,7 @@ public class StandaloneNodeConnector {
                     final int connCount2 = o1.outgoing.size() + o1.incoming.size();
                     if (connCount1 == 0 && connCount1 == connCount2) {
                         if (o1.data instanceof NodeEditPart && o2.data instanceof NodeEditPart) {
-                            return ((NodeEditPart) o1.data).getFigure().getMinimumSize().height - ((NodeEditPart) o2.data).getFigure().getMinimumSize().height;
+                            return getNodeHeight(o1) - getNodeHeight(o2);
                         } else {
                             return 0;
                         }
@@ -94,7 +94,7 @@ public class StandaloneNodeConnector {
             final int nodeCount = unconnectedNodes.size();
             if (nodeCount > 1) {
                 // Connect all unconnected nodes between each other
-                final Point diagramSize = diagram.getViewer().getControl().getSize();
+                final Point diagramSize = getDiagramSize();
                 double horizontalRatio = (float)diagramSize.x / (float)diagramSize.y;
                 double middleRowSize = Math.sqrt(nodeCount);
 
@@ -115,4 +115,20 @@ public class StandaloneNodeConnector {
         }
     }
 
+    /**
+     * Minimum height of node figure. Reads figure, so must be called in UI thread.
+     */
+    protected int getNodeHeight(Node node)
+    {
+        return ((NodeEditPart) node.data).getFigure().getMinimumSize().height;
+    }
+
+    /**
+     * Size of diagram viewer control. Must be called in UI thread.
+     */
+    protected Point getDiagramSize()
+    {
+        return diagram.getViewer().getControl().getSize();
+    }
+
 }
\ No newline at end of file
@@ -30,7 +30,7 @@ public class DB2NumericValueHandler extends JDBCNumberValueHandler {
     }
 
     @Override
-    protected boolean isReadDecimalsAsDouble() {
+    public boolean isReadDecimalsAsDouble() {
         return true;
     }
 }
@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.ext.postgresql;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataType;
@@ -37,12 +38,9 @@ import org.jkiss.dbeaver.model.struct.DBSDataType;
 import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 import org.jkiss.dbeaver.model.struct.DBSTypedObjectEx;
 import org.jkiss.utils.CommonUtils;
-import org.jkiss.utils.csv.CSVReaderBuilder;
-import org.jkiss.utils.csv.CSVReaderNullFieldIndicator;
 import org.jkiss.utils.csv.CSVWriter;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.sql.Struct;
 import java.sql.Types;
@@ -118,6 +116,14 @@ public class PostgreValueParser {
                 return string;
             } else {
                 if (componentType instanceof PostgreDataType) {
+                    if (isPlainArrayItemType(componentType)) {
+                        return new ArrayParser(
+                            session,
+                            (PostgreDataType) componentType,
+                            string,
+                            PostgreUtils.getArrayDelimiter(arrayDataType).charAt(0)
+                        ).parse();
+                    }
                     List<Object> itemStrings = parseArrayString(string, PostgreUtils.getArrayDelimiter(arrayDataType));
                     return startTransformListOfValuesIntoArray(session, (PostgreDataType) componentType, itemStrings);
                 } else {
@@ -133,6 +139,15 @@ public class PostgreValueParser {
         }
     }
 
+    /**
+     * Arrays of composites and nested arrays are parsed in two passes,
+     * everything else is parsed by {@link ArrayParser}.
+     */
+    private static boolean isPlainArrayItemType(@NotNull DBSDataType itemType) {
+        final DBPDataKind dataKind = itemType.getDataKind();
+        return dataKind != DBPDataKind.STRUCT && dataKind != DBPDataKind.ARRAY;
+    }
+
     private static Object startTransformListOfValuesIntoArray(
         DBCSession session,
         PostgreDataType itemType,
@@ -233,16 +248,41 @@ public class PostgreValueParser {
         if (string.isEmpty()) {
             return new String[0];
         }
-        try {
-            // Empty separators are NULLs, empty quotes are empty strings.
-            // https://www.postgresql.org/docs/current/rowtypes.html#id-1.5.7.24.6
-            return new CSVReaderBuilder(new StringReader(string))
-                .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS)
-                .build()
-                .readNext();
-        } catch (IOException e) {
-            throw new DBCException("Error parsing PGObject", e);
+        // Empty separators are NULLs, empty quotes are empty strings.
+        // https://www.postgresql.org/docs/current/rowtypes.html#id-1.5.7.24.6
+        final List<String> values = new ArrayList<>();
+        final StringBuilder buffer = new StringBuilder();
+        final int length = string.length();
+        boolean insideQuotes = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < length; i++) {
+            final char ch = string.charAt(i);
+            if (ch == '\\') {
+                if (++i < length) {
+                    buffer.append(string.charAt(i));
+                }
+            } else if (ch == '"') {
+                if (insideQuotes && i + 1 < length && string.charAt(i + 1) == '"') {
+                    // Doubled quote inside quoted value
+                    buffer.append('"');
+                    i++;
+                } else {
+                    insideQuotes = !insideQuotes;
+                    wasQuoted = true;
+                }
+            } else if (ch == ',' && !insideQuotes) {
+                values.add(buffer.length() == 0 && !wasQuoted ? null : buffer.toString());
+                buffer.setLength(0);
+                wasQuoted = false;
+            } else {
+                buffer.append(ch);
+            }
+        }
+        if (insideQuotes) {
+            throw new DBCException("Error parsing PGObject: unterminated quoted value in " + string);
         }
+        values.add(buffer.length() == 0 && !wasQuoted ? null : buffer.toString());
+        return values.toArray(new String[0]);
     }
 
     public static String generateObjectString(Object[] values) {
@@ -518,6 +558,246 @@ public class PostgreValueParser {
         return result.toArray(generator);
     }
 
+    /**
+     * Single-pass array literal parser.
+     * Items are converted while parsing, item value handler is resolved once per array.
+     * Integer items are parsed right from the literal without intermediate strings.
+     *
+     * @see <a href="https://www.postgresql.org/docs/current/arrays.html#ARRAYS-IO">8.15.6. Array Input and Output Syntax</a>
+     */
+    private static class ArrayParser {
+        private final DBCSession session;
+        private final PostgreDataType itemType;
+        private final int itemTypeID;
+        private final String string;
+        private final char delimiter;
+        private final int length;
+        private int offset;
+        private DBDValueHandler itemHandler;
+        private boolean itemHandlerResolved;
+        private StringBuilder buffer;
+
+        ArrayParser(@NotNull DBCSession session, @NotNull PostgreDataType itemType, @NotNull String string, char delimiter) {
+            this.session = session;
+            this.itemType = itemType;
+            this.itemTypeID = itemType.getTypeID();
+            this.string = string;
+            this.delimiter = delimiter;
+            this.length = string.length();
+        }
+
+        @NotNull
+        Object[] parse() throws DBCException {
+            if (length > 0 && string.charAt(0) == '[') {
+                // Non-standard bounds, e.g. "[0:3]={0,1,2,3}". We ignore them, as the old parser did.
+                offset = string.indexOf('=') + 1;
+                if (offset == 0) {
+                    throw error("Array dimensions without value");
+                }
+            }
+            skipWhitespace();
+            final Object[] values = parseDimension();
+            skipWhitespace();
+            if (offset < length) {
+                throw error("Junk after closing right brace");
+            }
+            return values;
+        }
+
+        @NotNull
+        private Object[] parseDimension() throws DBCException {
+            if (offset >= length || string.charAt(offset) != '{') {
+                throw error("Array value must start with \"{\"");
+            }
+            offset++;
+            skipWhitespace();
+            if (offset < length && string.charAt(offset) == '}') {
+                offset++;
+                return new Object[0];
+            }
+            final List<Object> values = new ArrayList<>();
+            Boolean nested = null;
+            while (true) {
+                skipWhitespace();
+                if (offset >= length) {
+                    throw error("Unexpected end of input");
+                }
+                final boolean subArray = string.charAt(offset) == '{';
+                if (nested == null) {
+                    nested = subArray;
+                } else if (nested != subArray) {
+                    throw error("Multidimensional arrays must have sub-arrays with matching dimensions");
+                }
+                if (subArray) {
+                    values.add(new JDBCCollection(session.getProgressMonitor(), itemType, getItemHandler(), parseDimension()));
+                } else {
+                    values.add(parseItem());
+                }
+                skipWhitespace();
+                if (offset >= length) {
+                    throw error("Unexpected end of input");
+                }
+                final char ch = string.charAt(offset++);
+                if (ch == '}') {
+                    break;
+                } else if (ch != delimiter) {
+                    throw error("Unexpected \"" + ch + "\" character");
+                }
+            }
+            return values.toArray();
+        }
+
+        @Nullable
+        private Object parseItem() throws DBCException {
+            if (string.charAt(offset) == '"') {
+                return convertItem(readQuotedItem());
+            }
+            final int start = offset;
+            int end = offset;
+            boolean escaped = false;
+            while (offset < length) {
+                final char ch = string.charAt(offset);
+                if (ch == delimiter || ch == '}') {
+                    break;
+                } else if (ch == '{' || ch == '"') {
+                    throw error("Unexpected \"" + ch + "\" character");
+                } else if (ch == '\\') {
+                    escaped = true;
+                    offset += 2;
+                    end = offset;
+                } else {
+                    offset++;
+                    if (!Character.isWhitespace(ch)) {
+                        end = offset;
+                    }
+                }
+            }
+            if (end == start) {
+                throw error("Unexpected \"" + (offset < length ? string.charAt(offset) : ' ') + "\" character");
+            }
+            end = Math.min(end, length);
+            if (escaped) {
+                return convertItem(unescape(start, end));
+            }
+            if (end - start == SQLConstants.NULL_VALUE.length() &&
+                string.regionMatches(true, start, SQLConstants.NULL_VALUE, 0, end - start))
+            {
+                return null;
+            }
+            return convertItem(start, end);
+        }
+
+        @NotNull
+        private String readQuotedItem() throws DBCException {
+            final int start = ++offset;
+            boolean escaped = false;
+            while (offset < length) {
+                final char ch = string.charAt(offset);
+                if (ch == '"') {
+                    final String value = escaped ? unescape(start, offset) : string.substring(start, offset);
+                    offset++;
+                    return value;
+                } else if (ch == '\\') {
+                    escaped = true;
+                    offset += 2;
+                } else {
+                    offset++;
+                }
+            }
+            throw error("Unexpected end of input");
+        }
+
+        @NotNull
+        private String unescape(int start, int end) {
+            if (buffer == null) {
+                buffer = new StringBuilder();
+            }
+            buffer.setLength(0);
+            for (int i = start; i < end; i++) {
+                final char ch = string.charAt(i);
+                if (ch == '\\') {
+                    if (++i < end) {
+                        buffer.append(string.charAt(i));
+                    }
+                } else {
+                    buffer.append(ch);
+                }
+            }
+            return buffer.toString();
+        }
+
+        @Nullable
+        private Object convertItem(int start, int end) throws DBCException {
+            try {
+                switch (itemTypeID) {
+                    case Types.TINYINT:
+                        return Byte.valueOf((byte) parseInt(start, end, Byte.MIN_VALUE, Byte.MAX_VALUE));
+                    case Types.SMALLINT:
+                        return Short.valueOf((short) parseInt(start, end, Short.MIN_VALUE, Short.MAX_VALUE));
+                    case Types.INTEGER:
+                        return Integer.parseInt(string, start, end, 10);
+                    case Types.BIGINT:
+                        return Long.parseLong(string, start, end, 10);
+                    default:
+                        return convertItem(string.substring(start, end));
+                }
+            } catch (NumberFormatException e) {
+                return string.substring(start, end);
+            }
+        }
+
+        @Nullable
+        private Object convertItem(@NotNull String value) throws DBCException {
+            switch (itemTypeID) {
+                case Types.BOOLEAN:
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                case Types.FLOAT:
+                case Types.REAL:
+                case Types.NUMERIC:
+                case Types.DOUBLE:
+                    return convertStringToValue(session, itemType, value);
+                default: {
+                    final DBDValueHandler valueHandler = getItemHandler();
+                    if (valueHandler != null) {
+                        return valueHandler.getValueFromObject(session, itemType, value, false, false);
+                    } else {
+                        return value;
+                    }
+                }
+            }
+        }
+
+        private int parseInt(int start, int end, int minValue, int maxValue) {
+            final int value = Integer.parseInt(string, start, end, 10);
+            if (value < minValue || value > maxValue) {
+                throw new NumberFormatException("Value out of range: " + value);
+            }
+            return value;
+        }
+
+        private DBDValueHandler getItemHandler() {
+            if (!itemHandlerResolved) {
+                itemHandler = DBUtils.findValueHandler(session, itemType);
+                itemHandlerResolved = true;
+            }
+            return itemHandler;
+        }
+
+        private void skipWhitespace() {
+            while (offset < length && Character.isWhitespace(string.charAt(offset))) {
+                offset++;
+            }
+        }
+
+        @NotNull
+        private DBCException error(@NotNull String message) {
+            return new DBCException(message + " at position " + offset + " of array '" + string + "'");
+        }
+    }
+
     private enum State {
         EXPECT_START,
         EXPECT_VALUE,
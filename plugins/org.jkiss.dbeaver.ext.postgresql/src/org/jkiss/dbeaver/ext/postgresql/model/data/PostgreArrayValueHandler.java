@@ -24,6 +24,7 @@ import org.jkiss.dbeaver.ext.postgresql.PostgreUtils;
 import org.jkiss.dbeaver.ext.postgresql.PostgreValueParser;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataType;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreOid;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreTypeType;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDCollection;
@@ -40,8 +41,10 @@ import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCArrayValueHandler;
 import org.jkiss.dbeaver.model.sql.SQLConstants;
 import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 
+import java.sql.Array;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Arrays;
 import java.util.StringJoiner;
 
 /**
@@ -80,6 +83,10 @@ public class PostgreArrayValueHandler extends JDBCArrayValueHandler {
                 className.equals(PostgreConstants.PG_ARRAY_CLASS))
             {
                 if (className.equals(PostgreConstants.PG_ARRAY_CLASS)) {
+                    final JDBCCollection collection = readDriverArray(session, itemType, (Array) object);
+                    if (collection != null) {
+                        return collection;
+                    }
                     // Convert arrays to string representation (#7468)
                     // Otherwise we may have problems with domain types decoding (as they come in form of PgObject)
                     String strValue = object.toString();
@@ -122,11 +129,52 @@ public class PostgreArrayValueHandler extends JDBCArrayValueHandler {
 
     private JDBCCollection convertStringArrayToCollection(@NotNull DBCSession session, @NotNull PostgreDataType arrayType, @NotNull PostgreDataType itemType, @NotNull String strValue) throws DBCException {
         Object parsedArray = PostgreValueParser.convertStringToValue(session, arrayType, strValue);
+        DBDValueHandler itemHandler = DBUtils.findValueHandler(session, itemType);
         if (parsedArray instanceof Object[]){
-            return new JDBCCollection(session.getProgressMonitor(), itemType, DBUtils.findValueHandler(session, itemType), (Object[]) parsedArray);
+            return new JDBCCollection(session.getProgressMonitor(), itemType, itemHandler, (Object[]) parsedArray);
         } else {
             log.error("Can't parse array");
-            return new JDBCCollection(session.getProgressMonitor(), itemType, DBUtils.findValueHandler(session, itemType), new Object[]{parsedArray});
+            return new JDBCCollection(session.getProgressMonitor(), itemType, itemHandler, new Object[]{parsedArray});
+        }
+    }
+
+    /**
+     * Reads one-dimensional arrays of base numeric and boolean types with the driver.
+     * Driver decodes them without text conversion if they were transferred in binary format.
+     * Driver returns the same value classes as the text parser does for these types.
+     *
+     * @return collection or null if array must be parsed from its text representation
+     */
+    @Nullable
+    private static JDBCCollection readDriverArray(@NotNull DBCSession session, @NotNull PostgreDataType itemType, @NotNull Array array) {
+        if (itemType.getTypeType() != PostgreTypeType.b) {
+            return null;
+        }
+        switch ((int) itemType.getObjectId()) {
+            case PostgreOid.INT4:
+            case PostgreOid.INT8:
+            case PostgreOid.FLOAT8:
+            case PostgreOid.BOOL:
+                break;
+            default:
+                return null;
+        }
+        try {
+            final Object value = array.getArray();
+            if (!(value instanceof Object[]) || value instanceof Object[][]) {
+                // Multidimensional arrays are represented with nested collections
+                return null;
+            }
+            final Object[] items = (Object[]) value;
+            return new JDBCCollection(
+                session.getProgressMonitor(),
+                itemType,
+                DBUtils.findValueHandler(session, itemType),
+                Arrays.copyOf(items, items.length, Object[].class)
+            );
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Error reading array with driver, parse it from string: " + e.getMessage());
+            return null;
         }
     }
 
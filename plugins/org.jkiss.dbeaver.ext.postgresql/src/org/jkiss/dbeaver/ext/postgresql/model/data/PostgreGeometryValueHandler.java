@@ -35,8 +35,8 @@ import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 import org.jkiss.utils.BeanUtils;
 import org.jkiss.utils.CommonUtils;
 import org.locationtech.jts.geom.Geometry;
-import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
 import org.locationtech.jts.io.WKTReader;
 import org.locationtech.jts.io.WKTWriter;
 
@@ -74,8 +74,14 @@ public class PostgreGeometryValueHandler extends JDBCAbstractValueHandler {
             paramType = ((DBDAttributeBinding) paramType).getAttribute();
         }
         if (value instanceof DBGeometry) {
-            valueSRID = ((DBGeometry) value).getSRID();
-            value = ((DBGeometry) value).getRawValue();
+            DBGeometry geometry = (DBGeometry) value;
+            valueSRID = geometry.getSRID();
+            if (!geometry.isDecoded() && geometry.getWKB() != null) {
+                // Geometry wasn't touched since fetch (e.g. data transfer) - pass binary as is, server parses hex (E)WKB
+                value = WKBWriter.toHex(geometry.getWKB());
+            } else {
+                value = geometry.getRawValue();
+            }
         }
         if (valueSRID == 0 && paramType instanceof GisAttribute) {
             valueSRID = ((GisAttribute) paramType).getAttributeGeometrySRID(session.getProgressMonitor());
@@ -138,6 +144,13 @@ public class PostgreGeometryValueHandler extends JDBCAbstractValueHandler {
             }
             return strValue;
         }
+        if (value instanceof DBGeometry && format == DBDDisplayFormat.UI) {
+            Throwable decodeError = ((DBGeometry) value).getDecodeError();
+            if (decodeError != null) {
+                // Do not show corrupted binary value as a regular one
+                return "[Invalid geometry: " + decodeError.getMessage() + "] " + value;
+            }
+        }
         return super.getValueDisplayString(column, value, format);
     }
 
@@ -145,12 +158,11 @@ public class PostgreGeometryValueHandler extends JDBCAbstractValueHandler {
         return makeGeometryFromWKB(WKBReader.hexToBytes(hexString));
     }
 
+    /**
+     * Geometry is decoded on demand, most of fetched values are never shown or transformed
+     */
     protected DBGeometry makeGeometryFromWKB(byte[] binary) throws DBCException {
-        try {
-            return new DBGeometry(new WKBReader().read(binary));
-        } catch (ParseException e) {
-            throw new DBCException("Error parsing WKB value", e);
-        }
+        return DBGeometry.fromWKB(binary, 0);
     }
 
     private DBGeometry makeGeometryFromPGGeometry(DBCSession session, Object value) throws DBCException {
@@ -224,7 +236,10 @@ public class PostgreGeometryValueHandler extends JDBCAbstractValueHandler {
         } catch (Throwable e) {
             try {
                 // May happen when geometry value was stored inside composite
-                return makeGeometryFromWKB(geometry);
+                final DBGeometry wkbGeometry = makeGeometryFromWKB(geometry);
+                if (wkbGeometry.getGeometry() != null) {
+                    return wkbGeometry;
+                }
             } catch (Throwable ignored) {
                 // Throw the original exception instead
             }
@@ -27,15 +27,11 @@ import org.jkiss.dbeaver.model.gis.DBGeometry;
 import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCAbstractValueHandler;
 import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 import org.jkiss.utils.CommonUtils;
-import org.locationtech.jts.geom.Geometry;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.PrecisionModel;
-import org.locationtech.jts.io.ByteArrayInStream;
-import org.locationtech.jts.io.WKBReader;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.sql.SQLException;
+import java.util.Arrays;
 
 public class SQLiteGeometryValueHandler extends JDBCAbstractValueHandler {
     public static final SQLiteGeometryValueHandler INSTANCE = new SQLiteGeometryValueHandler();
@@ -107,18 +103,13 @@ public class SQLiteGeometryValueHandler extends JDBCAbstractValueHandler {
                     break;
             }
 
-            byte[] wkb = new byte[bytes.length - buffer.position()];
-            System.arraycopy(bytes, buffer.position(), wkb, 0, wkb.length);
-
-            try {
-                GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), srsId);
-                WKBReader wkbReader = new WKBReader(geometryFactory);
-                Geometry geometry = wkbReader.read(new ByteArrayInStream(wkb));
-                return new DBGeometry(geometry, srsId);
-            } catch (Exception e) {
-                log.debug("Error reading GeoPackage WKB", e);
+            if (buffer.position() >= bytes.length) {
+                log.debug("Invalid GeoPackage data: no geometry");
                 return object;
             }
+
+            // Geometry is decoded on demand
+            return DBGeometry.fromWKB(Arrays.copyOfRange(bytes, buffer.position(), bytes.length), srsId);
         }
 
         return object;
@@ -22,7 +22,10 @@ public class LocksUIMessages extends NLS {
     private static final String BUNDLE_NAME = "org.jkiss.dbeaver.ext.ui.locks.LocksUIResources"; //$NON-NLS-1$
     public static String actions_refresh_control_kill_waiting_session;
     public static String actions_refresh_control_refresh_locks;
+    public static String actions_refresh_control_show_locks_history;
     public static String create_editor_control_name_lock;
+    public static String dialog_lock_history_minutes_ago;
+    public static String lock_history_info;
     static {
         // initialize resource bundle
         NLS.initializeMessages(BUNDLE_NAME, LocksUIMessages.class);
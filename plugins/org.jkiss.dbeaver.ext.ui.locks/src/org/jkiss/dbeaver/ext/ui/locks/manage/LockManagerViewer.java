@@ -37,6 +37,7 @@ import org.jkiss.dbeaver.ext.ui.locks.LocksUIMessages;
 import org.jkiss.dbeaver.ext.ui.locks.graph.LockGraphicalView;
 import org.jkiss.dbeaver.ext.ui.locks.table.LockTable;
 import org.jkiss.dbeaver.ext.ui.locks.table.LockTableDetail;
+import org.jkiss.dbeaver.model.DBIcon;
 import org.jkiss.dbeaver.model.admin.locks.DBAServerLock;
 import org.jkiss.dbeaver.model.admin.locks.DBAServerLockItem;
 import org.jkiss.dbeaver.model.admin.locks.DBAServerLockManager;
@@ -45,8 +46,13 @@ import org.jkiss.dbeaver.ui.DBeaverIcons;
 import org.jkiss.dbeaver.ui.UIIcon;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.autorefresh.AutoRefreshControl;
+import org.jkiss.dbeaver.ui.dialogs.EnterNameDialog;
+import org.jkiss.utils.CommonUtils;
 
+import java.text.SimpleDateFormat;
 import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -78,6 +84,18 @@ public class LockManagerViewer {
         }
     };
 
+    private Action historyAction = new Action(LocksUIMessages.actions_refresh_control_show_locks_history, DBeaverIcons.getImageDescriptor(DBIcon.TYPE_DATETIME)) {
+        @Override
+        public void run() {
+            String minutesAgo = EnterNameDialog.chooseName(getControl().getShell(), LocksUIMessages.dialog_lock_history_minutes_ago, "3");
+            if (minutesAgo != null) {
+                int minutes = CommonUtils.toInt(minutesAgo.trim());
+                if (minutes > 0) {
+                    showLocksAt(System.currentTimeMillis() - minutes * 60 * 1000L);
+                }
+            }
+        }
+    };
 
     public LockGraphManager getGraphManager() {
         return graphManager;
@@ -173,11 +191,27 @@ public class LockManagerViewer {
     }
 
     public void refreshLocks(DBAServerLock selected) {
+        killAction.setEnabled(true);
         lockTable.loadData(false);
         gv.drawGraf(selected);
         refreshControl.scheduleAutoRefresh(false);
     }
 
+    /**
+     * Shows locks which were loaded at the specified time.
+     * Auto-refresh is paused until locks are refreshed again.
+     */
+    public void showLocksAt(long time) {
+        refreshControl.cancelRefresh();
+        // Past locks may be gone, so they can't be killed
+        killAction.setEnabled(false);
+        List<DBAServerLock> locks = lockTable.getLockSampler().getSessionsAt(time);
+        lockTable.showLocks(locks, NLS.bind(
+            LocksUIMessages.lock_history_info,
+            locks.size(),
+            new SimpleDateFormat("HH:mm:ss").format(new Date(time))));
+    }
+
     protected void refreshDetail(Map<String, Object> options) {
         StringBuilder sb = new StringBuilder("Wait - ");
         if (curLock != null) {
@@ -227,11 +261,17 @@ public class LockManagerViewer {
             return new Class[] { locksType };
         }
 
+        void showLocks(Collection<DBAServerLock> locks, String info) {
+            setListData(locks, false, false, true);
+            setInfo(info);
+        }
+
         @Override
         public void fillCustomActions(IContributionManager contributionManager) {
             contributeToToolbar(getLockManager(), contributionManager);
             contributionManager.add(killAction);
             contributionManager.add(new Separator());
+            contributionManager.add(historyAction);
             refreshControl.populateRefreshButton(contributionManager);
             contributionManager.add(new Action(LocksUIMessages.actions_refresh_control_refresh_locks, DBeaverIcons.getImageDescriptor(UIIcon.REFRESH)) {
                 @Override
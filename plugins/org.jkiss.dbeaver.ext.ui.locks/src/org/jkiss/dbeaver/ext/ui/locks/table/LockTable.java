@@ -26,6 +26,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.admin.locks.DBAServerLock;
 import org.jkiss.dbeaver.model.admin.locks.DBAServerLockItem;
 import org.jkiss.dbeaver.model.admin.locks.DBAServerLockManager;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionSampler;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -46,17 +47,26 @@ import java.util.Map;
 public class LockTable extends DatabaseObjectListControl<DBAServerLock> {
 
     private DBAServerLockManager<DBAServerLock,DBAServerLockItem> lockManager;
+    private DBAServerSessionSampler<DBAServerLock> lockSampler;
 
     public LockTable(Composite parent, int style, IWorkbenchSite site, DBAServerLockManager<DBAServerLock,DBAServerLockItem> lockManager)
     {
         super(parent, style, site, CONTENT_PROVIDER);
         this.lockManager = lockManager;
+        this.lockSampler = DBAServerSessionSampler.forLocks(lockManager);
     }
 
     public DBAServerLockManager<DBAServerLock,DBAServerLockItem> getLockManager() {
         return lockManager;
     }
 
+    /**
+     * History of locks loaded by this table
+     */
+    public DBAServerSessionSampler<DBAServerLock> getLockSampler() {
+        return lockSampler;
+    }
+
     @NotNull
     @Override
     protected String getListConfigId(List<Class<?>> classList) {
@@ -86,6 +96,7 @@ public class LockTable extends DatabaseObjectListControl<DBAServerLock> {
     public void init(DBAServerLockManager<DBAServerLock, DBAServerLockItem> lockManager)
     {
         this.lockManager = lockManager;
+        this.lockSampler = DBAServerSessionSampler.forLocks(lockManager);
     }
 
     private static IStructuredContentProvider CONTENT_PROVIDER = new TreeContentProvider() { // Use Tree provider for the grouping elements support in ObjectListControl
@@ -134,7 +145,10 @@ public class LockTable extends DatabaseObjectListControl<DBAServerLock> {
             try {
                 try (DBCExecutionContext isolatedContext = lockManager.getDataSource().getDefaultInstance().openIsolatedContext(monitor, "View Locks", null)) {
                     try (DBCSession session = isolatedContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Retrieve server locks")) {
-                        return lockManager.getLocks(session, null).values();
+                        Collection<DBAServerLock> locks = lockManager.getLocks(session, null).values();
+                        // Locks are linked into new wait graphs on each read, so the list shows just read objects
+                        lockSampler.addSample(System.currentTimeMillis(), locks);
+                        return locks;
                     }
                 }
             } catch (Throwable ex) {
@@ -515,6 +515,8 @@ public abstract class JDBCDataSource extends AbstractDataSource
                 dataSourceInfo = new JDBCDataSourceInfo(container);
             }
         }
+        // Pooled contexts are opened in background after connect is finished
+        getDefaultInstance().scheduleContextPoolFill();
     }
 
     protected void readDatabaseServerVersion(DatabaseMetaData metaData) {
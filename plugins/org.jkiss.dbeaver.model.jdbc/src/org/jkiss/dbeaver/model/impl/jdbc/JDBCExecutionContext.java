@@ -27,6 +27,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCSavepointImpl;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
+import org.jkiss.dbeaver.model.qm.QMConstants;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
@@ -46,6 +47,7 @@ import java.sql.Savepoint;
 public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSource> implements DBCTransactionManager, IAdaptable {
     public static final String TYPE_MAIN = "Main";
     public static final String TYPE_METADATA = "Metadata";
+    public static final String TYPE_POOLED = "Pooled";
 
     protected static final String TASK_TITLE_SET_SCHEMA = "Set active schema"; //$NON-NLS-1$
 
@@ -100,6 +102,8 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
 
         Object exclusiveLock = currentInstance.getExclusiveLock().acquireExclusiveLock();
         try {
+            // Used by QM handlers to measure connect time (context open is reported after bootstrap)
+            setContextAttribute(QMConstants.QM_CONNECT_START_ATTR, System.nanoTime());
             this.connection = dataSource.openConnection(monitor, this, purpose);
             if (this.connection == null) {
                 throw new DBCException("Null connection returned");
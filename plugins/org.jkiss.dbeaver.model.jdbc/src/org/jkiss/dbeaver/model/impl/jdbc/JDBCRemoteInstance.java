@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.model.impl.jdbc;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
@@ -28,6 +30,7 @@ import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.impl.SimpleExclusiveLock;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSObject;
@@ -53,6 +56,11 @@ public class JDBCRemoteInstance implements DBSInstance {
     @NotNull
     private final List<JDBCExecutionContext> allContexts = new ArrayList<>();
     private final DBPExclusiveResource exclusiveLock = new SimpleExclusiveLock();
+    // Pre-opened contexts for openIsolatedContext
+    @NotNull
+    private final List<PooledContext> pooledContexts = new ArrayList<>();
+    @Nullable
+    private ContextPoolJob contextPoolJob;
 
     protected JDBCRemoteInstance(@NotNull DBRProgressMonitor monitor, @NotNull JDBCDataSource dataSource, boolean initContext)
         throws DBException {
@@ -158,6 +166,11 @@ public class JDBCRemoteInstance implements DBSInstance {
         if (sharedInstance != null) {
             return sharedInstance.openIsolatedContext(monitor, purpose, initFrom);
         }
+        JDBCExecutionContext pooledContext = takePooledContext(monitor, purpose, initFrom);
+        if (pooledContext != null) {
+            scheduleContextPoolFill();
+            return pooledContext;
+        }
         JDBCExecutionContext context = dataSource.createExecutionContext(this, purpose);
         DBExecUtils.tryExecuteRecover(monitor, getDataSource(), monitor1 -> {
             try {
@@ -169,6 +182,82 @@ public class JDBCRemoteInstance implements DBSInstance {
         return context;
     }
 
+    /**
+     * Max number of pre-opened isolated contexts. Pool is disabled if there can be only one connection.
+     */
+    protected int getContextPoolSize() {
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (container.getDriver().isEmbedded() || container.isForceUseSingleConnection()) {
+            return 0;
+        }
+        return container.getPreferenceStore().getInt(ModelPreferences.CONNECTION_POOL_SIZE);
+    }
+
+    /**
+     * Opens missing pooled contexts in background
+     */
+    public void scheduleContextPoolFill() {
+        if (sharedInstance != null) {
+            sharedInstance.scheduleContextPoolFill();
+            return;
+        }
+        if (getContextPoolSize() <= 0) {
+            return;
+        }
+        ContextPoolJob job;
+        synchronized (pooledContexts) {
+            if (contextPoolJob == null) {
+                contextPoolJob = new ContextPoolJob();
+            }
+            job = contextPoolJob;
+        }
+        // Running job is rescheduled by Eclipse jobs and checks the pool once again
+        job.schedule();
+    }
+
+    @Nullable
+    private JDBCExecutionContext takePooledContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose, @Nullable DBCExecutionContext initFrom) {
+        for (;;) {
+            PooledContext pooled;
+            synchronized (pooledContexts) {
+                if (pooledContexts.isEmpty()) {
+                    return null;
+                }
+                pooled = pooledContexts.remove(0);
+            }
+            JDBCExecutionContext context = pooled.context;
+            if (!isPooledContextAlive(monitor, pooled)) {
+                context.close();
+                continue;
+            }
+            context.setContextName(purpose);
+            if (initFrom != null) {
+                try {
+                    dataSource.initializeContextState(monitor, context, (JDBCExecutionContext) initFrom);
+                } catch (DBException e) {
+                    log.warn("Error while initializing context state", e);
+                }
+            }
+            return context;
+        }
+    }
+
+    private boolean isPooledContextAlive(@NotNull DBRProgressMonitor monitor, @NotNull PooledContext pooled) {
+        // Context opened less than keep-alive interval ago is used without validation.
+        // Older contexts (or all contexts if keep-alive is disabled) are validated with a ping.
+        int keepAliveInterval = dataSource.getContainer().getConnectionConfiguration().getKeepAliveInterval();
+        if (keepAliveInterval > 0 && System.currentTimeMillis() - pooled.openTime < keepAliveInterval * 1000L) {
+            return pooled.context.isConnected();
+        }
+        try {
+            pooled.context.checkContextAlive(monitor);
+            return true;
+        } catch (DBException e) {
+            log.debug("Pooled context is dead: " + e.getMessage());
+            return false;
+        }
+    }
+
     @NotNull
     @Override
     public JDBCExecutionContext[] getAllContexts() {
@@ -225,6 +314,14 @@ public class JDBCRemoteInstance implements DBSInstance {
      * @param keepMeta do not close meta context
      */
     public void shutdown(DBRProgressMonitor monitor, boolean keepMeta) {
+        synchronized (pooledContexts) {
+            if (contextPoolJob != null) {
+                contextPoolJob.cancel();
+                contextPoolJob = null;
+            }
+            // Pooled contexts are in the contexts list, they are closed below
+            pooledContexts.clear();
+        }
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         List<JDBCExecutionContext> ctxCopy;
@@ -248,6 +345,9 @@ public class JDBCRemoteInstance implements DBSInstance {
     }
 
     boolean removeContext(JDBCExecutionContext context) {
+        synchronized (pooledContexts) {
+            pooledContexts.removeIf(pc -> pc.context == context);
+        }
         synchronized (allContexts) {
             if (context == executionContext) {
                 executionContext = null;
@@ -258,4 +358,69 @@ public class JDBCRemoteInstance implements DBSInstance {
             return allContexts.remove(context);
         }
     }
+
+    private static class PooledContext {
+        private final JDBCExecutionContext context;
+        private final long openTime;
+
+        PooledContext(JDBCExecutionContext context) {
+            this.context = context;
+            this.openTime = System.currentTimeMillis();
+        }
+    }
+
+    private class ContextPoolJob extends AbstractJob {
+
+        private static final long CONNECT_WAIT_DELAY = 500;
+
+        ContextPoolJob() {
+            super("Open pooled connections (" + dataSource.getContainer().getName() + ")");
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return family == JDBCRemoteInstance.this;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            if (!dataSource.getContainer().isConnected()) {
+                // Data source is still initializing. Do not compete with it for connection.
+                synchronized (pooledContexts) {
+                    if (contextPoolJob == this) {
+                        schedule(CONNECT_WAIT_DELAY);
+                    }
+                }
+                return Status.OK_STATUS;
+            }
+            while (!monitor.isCanceled()) {
+                synchronized (pooledContexts) {
+                    if (contextPoolJob != this || pooledContexts.size() >= getContextPoolSize()) {
+                        break;
+                    }
+                }
+                JDBCExecutionContext context = dataSource.createExecutionContext(JDBCRemoteInstance.this, JDBCExecutionContext.TYPE_POOLED);
+                try {
+                    context.connect(monitor, null, null, null, true);
+                } catch (DBCException e) {
+                    log.debug("Error opening pooled connection: " + e.getMessage());
+                    break;
+                }
+                boolean added;
+                synchronized (pooledContexts) {
+                    // Instance may be shut down while connection was opening
+                    added = contextPoolJob == this;
+                    if (added) {
+                        pooledContexts.add(new PooledContext(context));
+                    }
+                }
+                if (!added) {
+                    context.close();
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
 }
@@ -205,7 +205,10 @@ public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements
         }
     }
 
-    protected boolean isReadDecimalsAsDouble() {
+    /**
+     * @return true if DOUBLE, REAL and FLOAT values must be read with getDouble
+     */
+    public boolean isReadDecimalsAsDouble() {
         return false;
     }
 
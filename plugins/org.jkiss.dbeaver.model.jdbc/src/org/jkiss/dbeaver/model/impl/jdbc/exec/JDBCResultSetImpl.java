@@ -19,7 +19,9 @@ package org.jkiss.dbeaver.model.impl.jdbc.exec;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.DBDRowBatch;
 import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSetMetaData;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
@@ -184,6 +186,26 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         }
     }
 
+    @Override
+    public void setResultsFetchSize(int fetchSize) throws DBCException
+    {
+        if (this.original == null) {
+            return;
+        }
+        try {
+            original.setFetchSize(fetchSize);
+        }
+        catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+    }
+
+    @Override
+    public void prepareRowBatch(@NotNull DBCSession session, @NotNull DBDRowBatch batch)
+    {
+        JDBCRowBatchReaders.prepareBatch(session, batch);
+    }
+
     @Override
     public boolean moveTo(int position) throws DBCException
     {
@@ -0,0 +1,249 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDRowBatch;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCDateTimeValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCNumberValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCStringValueHandler;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * Typed column readers for JDBC row batches.
+ * <p>
+ * Typed readers are used only for standard value handlers and repeat their fetch logic.
+ * If driver returns something unexpected then value is read by the value handler.
+ */
+class JDBCRowBatchReaders {
+
+    // Number handlers which only tune the standard fetch logic (e.g. read decimals as double) use typed readers too
+    private static final ClassValue<Boolean> STANDARD_NUMBER_HANDLER = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (!JDBCNumberValueHandler.class.isAssignableFrom(type)) {
+                return false;
+            }
+            for (Class<?> handlerClass = type; handlerClass != JDBCNumberValueHandler.class; handlerClass = handlerClass.getSuperclass()) {
+                try {
+                    handlerClass.getDeclaredMethod("fetchColumnValue", DBCSession.class, JDBCResultSet.class, DBSTypedObject.class, int.class);
+                    return false;
+                } catch (NoSuchMethodException e) {
+                    // Not overridden here
+                }
+            }
+            return true;
+        }
+    };
+
+    static void prepareBatch(@NotNull DBCSession session, @NotNull DBDRowBatch batch) {
+        boolean nativeDateFormat = session.getDataSource().getContainer().isUseNativeDateTimeFormat();
+        for (int i = 0; i < batch.getColumnCount(); i++) {
+            DBDAttributeBinding binding = batch.getBinding(i);
+            DBSAttributeBase attribute = batch.getAttribute(i);
+            if (binding == null || attribute == null || binding.getParentObject() != null) {
+                continue;
+            }
+            Class<? extends DBDValueHandler> handlerClass = binding.getValueHandler().getClass();
+            if (STANDARD_NUMBER_HANDLER.get(handlerClass)) {
+                switch (attribute.getTypeID()) {
+                    case Types.INTEGER:
+                        batch.setColumnReader(i, DBDRowBatch.ColumnType.LONG, JDBCRowBatchReaders::readInteger);
+                        break;
+                    case Types.SMALLINT:
+                        batch.setColumnReader(i, DBDRowBatch.ColumnType.INT, JDBCRowBatchReaders::readSmallInt);
+                        break;
+                    case Types.BIGINT:
+                        batch.setColumnReader(i, DBDRowBatch.ColumnType.LONG, JDBCRowBatchReaders::readBigInt);
+                        break;
+                    case Types.DOUBLE:
+                    case Types.REAL:
+                    case Types.FLOAT:
+                        if (((JDBCNumberValueHandler) binding.getValueHandler()).isReadDecimalsAsDouble()) {
+                            batch.setColumnReader(i, DBDRowBatch.ColumnType.DOUBLE, JDBCRowBatchReaders::readDoubleValue);
+                        } else {
+                            batch.setColumnReader(i, DBDRowBatch.ColumnType.DOUBLE, JDBCRowBatchReaders::readDouble);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            } else if (handlerClass == JDBCStringValueHandler.class) {
+                batch.setColumnReader(i, DBDRowBatch.ColumnType.STRING, JDBCRowBatchReaders::readString);
+            } else if (handlerClass == JDBCDateTimeValueHandler.class && !nativeDateFormat &&
+                attribute.getTypeID() == Types.TIMESTAMP)
+            {
+                batch.setColumnReader(i, DBDRowBatch.ColumnType.TIMESTAMP, JDBCRowBatchReaders::readTimestamp);
+            }
+        }
+    }
+
+    private static void readInteger(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        JDBCResultSet dbResult = (JDBCResultSet) resultSet;
+        int index = getIndex(batch, column);
+        try {
+            // Read value with maximum precision. Some drivers reports INTEGER but means long [JDBC:SQLite]
+            long value = dbResult.getLong(index);
+            if (dbResult.wasNull()) {
+                batch.setNull(row, column);
+            } else {
+                batch.setLong(row, column, value);
+            }
+        } catch (SQLException | ClassCastException | NumberFormatException e) {
+            readHandlerValue(session, resultSet, batch, row, column);
+        }
+    }
+
+    private static void readSmallInt(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        JDBCResultSet dbResult = (JDBCResultSet) resultSet;
+        int index = getIndex(batch, column);
+        try {
+            int value = dbResult.getInt(index);
+            if (dbResult.wasNull()) {
+                batch.setNull(row, column);
+            } else {
+                batch.setLong(row, column, value);
+            }
+        } catch (SQLException | ClassCastException | NumberFormatException e) {
+            readHandlerValue(session, resultSet, batch, row, column);
+        }
+    }
+
+    private static void readBigInt(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        // BIGINT may be unsigned, keep whatever number driver returns
+        Object value = readNumberObject(session, resultSet, batch, row, column);
+        if (value instanceof Long) {
+            batch.setLong(row, column, (Long) value);
+        } else {
+            batch.setObject(row, column, value);
+        }
+    }
+
+    private static void readDouble(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        Object value = readNumberObject(session, resultSet, batch, row, column);
+        if (value instanceof Double) {
+            batch.setDouble(row, column, (Double) value);
+        } else {
+            batch.setObject(row, column, value);
+        }
+    }
+
+    private static void readDoubleValue(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        JDBCResultSet dbResult = (JDBCResultSet) resultSet;
+        int index = getIndex(batch, column);
+        try {
+            // Always read as double to avoid precision loose (#7214)
+            double value = dbResult.getDouble(index);
+            if (dbResult.wasNull()) {
+                batch.setNull(row, column);
+            } else {
+                batch.setDouble(row, column, value);
+            }
+        } catch (SQLException | ClassCastException | NumberFormatException e) {
+            readHandlerValue(session, resultSet, batch, row, column);
+        }
+    }
+
+    private static void readString(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        try {
+            // Use getObject instead of getString because sometimes CHAR/VARCHAR holds something specific
+            batch.setObject(row, column, ((JDBCResultSet) resultSet).getObject(getIndex(batch, column)));
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+    }
+
+    private static void readTimestamp(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        Object value;
+        try {
+            value = ((JDBCResultSet) resultSet).getObject(getIndex(batch, column));
+        } catch (SQLException e) {
+            // Value handler has workarounds for various drivers
+            readHandlerValue(session, resultSet, batch, row, column);
+            return;
+        }
+        if (value == null) {
+            batch.setNull(row, column);
+        } else if (value.getClass() == Timestamp.class) {
+            Timestamp timestamp = (Timestamp) value;
+            batch.setTimestamp(row, column, timestamp.getTime(), timestamp.getNanos());
+        } else {
+            DBSAttributeBase attribute = batch.getAttribute(column);
+            DBDValueHandler valueHandler = batch.getBinding(column).getValueHandler();
+            batch.setObject(row, column, valueHandler.getValueFromObject(session, attribute, value, false, false));
+        }
+    }
+
+    /**
+     * Reads number the same way as standard number handler does for non-specific types
+     */
+    @Nullable
+    private static Object readNumberObject(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        try {
+            Object value = ((JDBCResultSet) resultSet).getObject(getIndex(batch, column));
+            if (value == null || value instanceof Number) {
+                return value;
+            }
+        } catch (SQLException e) {
+            // Value handler will try other getters
+        }
+        DBDAttributeBinding binding = batch.getBinding(column);
+        return binding.getValueHandler().fetchValueObject(session, resultSet, batch.getAttribute(column), binding.getOrdinalPosition());
+    }
+
+    private static void readHandlerValue(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        DBDAttributeBinding binding = batch.getBinding(column);
+        batch.setObject(row, column, binding.getValueHandler().fetchValueObject(
+            session, resultSet, batch.getAttribute(column), binding.getOrdinalPosition()));
+    }
+
+    private static int getIndex(@NotNull DBDRowBatch batch, int column) {
+        // JDBC uses 1-based indexes
+        return batch.getBinding(column).getOrdinalPosition() + 1;
+    }
+
+}
@@ -179,8 +179,9 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
             if (monitor.isCanceled()) {
                 return statistics;
             }
-            if (dbStat instanceof JDBCStatement && (fetchSize > 0 || maxRows > 0)) {
-                DBExecUtils.setStatementFetchSize(dbStat, firstRow, maxRows, fetchSize);
+            DBCAdaptiveFetcher fetcher = null;
+            if (dbStat instanceof JDBCStatement && (fetchSize > 0 || maxRows > 0 || DBCAdaptiveFetcher.isAdaptive(dbStat, fetchSize))) {
+                fetcher = DBCAdaptiveFetcher.prepare(dbStat, firstRow, maxRows, fetchSize);
             }
 
             long startTime = System.currentTimeMillis();
@@ -193,14 +194,8 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                         dataReceiver.fetchStart(session, dbResult, firstRow, maxRows);
 
                         DBFetchProgress fetchProgress = new DBFetchProgress(session.getProgressMonitor());
-                        while (dbResult.nextRow()) {
-                            if (fetchProgress.isCanceled() || (hasLimits && fetchProgress.isMaxRowsFetched(maxRows))) {
-                                // Fetch not more than max rows
-                                break;
-                            }
-                            dataReceiver.fetchRow(session, dbResult);
-                            fetchProgress.monitorRowFetch();
-                        }
+                        // Fetch not more than max rows
+                        DBExecUtils.fetchResultSet(session, dbResult, dataReceiver, fetcher, fetchProgress, hasLimits ? maxRows : 0);
                         fetchProgress.dumpStatistics(statistics);
                     } finally {
                         // First - close cursor
@@ -27,6 +27,13 @@ public interface LSMAnalyzer {
     @Nullable
     STMTreeRuleNode parseSqlQueryTree(@NotNull STMSource source, @Nullable STMErrorListener errorListener);
 
+    /**
+     * Parses query text without error reporting.
+     * Trees of recently parsed queries are cached and shared between callers, so they must not be modified.
+     */
+    @Nullable
+    STMTreeRuleNode parseSqlQueryTree(@NotNull String queryText);
+
     @Nullable
     LSMElement parseSqlQueryModel(@NotNull STMSource source);
     
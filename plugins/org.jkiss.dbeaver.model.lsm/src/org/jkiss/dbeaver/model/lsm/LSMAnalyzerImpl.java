@@ -16,11 +16,9 @@
  */
 package org.jkiss.dbeaver.model.lsm;
 
-import org.antlr.v4.runtime.ANTLRErrorListener;
-import org.antlr.v4.runtime.ConsoleErrorListener;
-import org.antlr.v4.runtime.Lexer;
-import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
@@ -29,15 +27,38 @@ import org.jkiss.dbeaver.model.lsm.mapping.SyntaxModelMappingResult;
 import org.jkiss.dbeaver.model.lsm.sql.impl.SelectStatement;
 import org.jkiss.dbeaver.model.stm.STMErrorListener;
 import org.jkiss.dbeaver.model.stm.STMParserOverrides;
+import org.jkiss.dbeaver.model.stm.STMSkippingErrorListener;
 import org.jkiss.dbeaver.model.stm.STMSource;
 import org.jkiss.dbeaver.model.stm.STMTreeRuleNode;
 import org.jkiss.utils.Pair;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public abstract class LSMAnalyzerImpl<TLexer extends Lexer, TParser extends STMParserOverrides> implements LSMAnalyzer {
 
     private static final Log log = Log.getLog(LSMAnalyzerImpl.class);
-    
+
+    private static final int TREE_CACHE_SIZE = 32;
+
+    private static final ANTLRErrorListener BAIL_ERROR_LISTENER = new BaseErrorListener() {
+        @Override
+        public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine, String msg, RecognitionException e) {
+            throw new ParseCancellationException(msg, e);
+        }
+    };
+
     private final SyntaxModel syntaxModel;
-    
+    // Recently parsed query trees by query text. Completion parses the same query many times while user types
+    private final Map<String, STMTreeRuleNode> treeCache = Collections.synchronizedMap(
+        new LinkedHashMap<>(TREE_CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, STMTreeRuleNode> eldest) {
+                return size() > TREE_CACHE_SIZE;
+            }
+        });
+
     public LSMAnalyzerImpl() {
         Pair<TLexer, TParser> pair = this.createParser(STMSource.fromString(""));
         syntaxModel = new SyntaxModel(pair.getSecond());
@@ -68,12 +89,42 @@ public abstract class LSMAnalyzerImpl<TLexer extends Lexer, TParser extends STMP
         return parser;
     }
 
+    /**
+     * Prepares parser which uses SLL prediction and stops on the first error
+     */
+    @NotNull
+    private TParser prepareFastParser(@NotNull STMSource source) {
+        Pair<TLexer, TParser> pair = this.createParser(source);
+        TLexer lexer = pair.getFirst();
+        TParser parser = pair.getSecond();
+
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(BAIL_ERROR_LISTENER);
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+
+        return parser;
+    }
+
     @Nullable
     @Override
     public STMTreeRuleNode parseSqlQueryTree(@NotNull STMSource source, @Nullable STMErrorListener errorListener) {
+        // Stream may be read twice
+        CharStream stream = source.getStream();
+        STMSource streamSource = () -> stream;
         try {
-            TParser parser = prepareParser(source, errorListener);
-            STMTreeRuleNode result = parseSqlQueryImpl(parser);
+            // SLL prediction is much faster and gives the same result for correct queries.
+            // Full LL parse is required for erroneous or ambiguous input only.
+            TParser parser = prepareFastParser(streamSource);
+            STMTreeRuleNode result;
+            try {
+                result = parseSqlQueryImpl(parser);
+            } catch (ParseCancellationException e) {
+                stream.seek(0);
+                parser = prepareParser(streamSource, errorListener);
+                result = parseSqlQueryImpl(parser);
+            }
             result.fixup(parser);
             return result;
         } catch (RecognitionException e) {
@@ -82,6 +133,19 @@ public abstract class LSMAnalyzerImpl<TLexer extends Lexer, TParser extends STMP
         }
     }
 
+    @Nullable
+    @Override
+    public STMTreeRuleNode parseSqlQueryTree(@NotNull String queryText) {
+        STMTreeRuleNode result = treeCache.get(queryText);
+        if (result == null) {
+            result = parseSqlQueryTree(STMSource.fromString(queryText), new STMSkippingErrorListener());
+            if (result != null) {
+                treeCache.put(queryText, result);
+            }
+        }
+        return result;
+    }
+
     @Nullable
     @Override
     public LSMElement parseSqlQueryModel(@NotNull STMSource source) {
@@ -60,7 +60,6 @@ import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.Pair;
 
-import java.io.StringReader;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -983,11 +982,10 @@ public class SQLCompletionAnalyzer implements DBRRunnableParametrized<DBRProgres
         }
         List<Pair<String, String>> tableRefs = new ArrayList<>();
         try {
-            STMSource querySource = STMSource.fromReader(new StringReader(activeQuery.getText()));
             LSMAnalyzer analyzer = LSMDialectRegistry.getInstance().getAnalyzerForDialect(
                 request.getContext().getDataSource().getSQLDialect()
             );
-            STMTreeRuleNode tree = analyzer.parseSqlQueryTree(querySource, new STMSkippingErrorListener());
+            STMTreeRuleNode tree = analyzer.parseSqlQueryTree(activeQuery.getText());
             tableRefs = getTableAndAliasFromSources(tree);
         } catch (Exception e) {
             log.debug("Failed to extract table names from query", e);
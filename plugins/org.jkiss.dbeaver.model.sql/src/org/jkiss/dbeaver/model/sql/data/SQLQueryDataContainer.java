@@ -116,7 +116,7 @@ public class SQLQueryDataContainer implements DBSDataContainer, SQLQueryContaine
             firstRow,
             maxRows))
         {
-            DBExecUtils.setStatementFetchSize(dbcStatement, firstRow, maxRows, fetchSize);
+            DBCAdaptiveFetcher fetcher = DBCAdaptiveFetcher.prepare(dbcStatement, firstRow, maxRows, fetchSize);
 
             // Execute statement
 
@@ -143,10 +143,7 @@ public class SQLQueryDataContainer implements DBSDataContainer, SQLQueryContaine
                         long fetchStartTime = System.currentTimeMillis();
 
                         // Fetch all rows
-                        while (!fetchProgress.isMaxRowsFetched(maxRows) && !fetchProgress.isCanceled() && resultSet.nextRow()) {
-                            dataReceiver.fetchRow(session, resultSet);
-                            fetchProgress.monitorRowFetch();
-                        }
+                        DBExecUtils.fetchResultSet(session, resultSet, dataReceiver, fetcher, fetchProgress, maxRows);
                         statistics.addFetchTime(System.currentTimeMillis() - fetchStartTime);
                     }
                     finally {
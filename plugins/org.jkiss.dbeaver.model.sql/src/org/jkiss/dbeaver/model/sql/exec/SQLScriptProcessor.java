@@ -16,22 +16,32 @@
  */
 package org.jkiss.dbeaver.model.sql.exec;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBFetchProgress;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.*;
 import org.jkiss.dbeaver.model.sql.data.SQLQueryDataContainer;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
+import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * SQLScriptProcessor
@@ -39,8 +49,13 @@ import java.util.List;
 public class SQLScriptProcessor {
     private static final String STAT_LOG_PREFIX = "-----------------> ";
 
+    private static final Pattern INSERT_SHAPE_PATTERN = Pattern.compile(
+        "^\\s*INSERT\\s+INTO\\s+(.+?)\\s*VALUES\\s*\\(", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern RETURNING_PATTERN = Pattern.compile("\\bRETURNING\\b", Pattern.CASE_INSENSITIVE);
+
     private final DBCExecutionContext executionContext;
-    private final List<SQLScriptElement> queries;
+    private final Iterator<SQLScriptElement> queries;
+    private final int queryCount;
     private final SQLScriptContext scriptContext;
     private final DBDDataReceiver dataReceiver;
     private final Log log;
@@ -54,6 +69,8 @@ public class SQLScriptProcessor {
     private long fetchFlags;
     private SQLScriptCommitType commitType = SQLScriptCommitType.AUTOCOMMIT;
     private SQLScriptErrorHandling errorHandling = SQLScriptErrorHandling.STOP_ROLLBACK;
+    private int commitLines;
+    private int insertBatchSize;
 
     public SQLScriptProcessor(
         @NotNull DBCExecutionContext executionContext,
@@ -61,8 +78,32 @@ public class SQLScriptProcessor {
         @NotNull SQLScriptContext scriptContext,
         @NotNull DBDDataReceiver dataReceiver,
         @NotNull Log log) {
+        this(executionContext, queries.iterator(), queries.size(), scriptContext, dataReceiver, log);
+    }
+
+    /**
+     * Creates processor which reads queries one by one (e.g. from {@link org.jkiss.dbeaver.model.sql.parser.SQLScriptStreamParser}).
+     * Processed queries are not kept.
+     */
+    public SQLScriptProcessor(
+        @NotNull DBCExecutionContext executionContext,
+        @NotNull Iterator<SQLScriptElement> queries,
+        @NotNull SQLScriptContext scriptContext,
+        @NotNull DBDDataReceiver dataReceiver,
+        @NotNull Log log) {
+        this(executionContext, queries, -1, scriptContext, dataReceiver, log);
+    }
+
+    private SQLScriptProcessor(
+        @NotNull DBCExecutionContext executionContext,
+        @NotNull Iterator<SQLScriptElement> queries,
+        int queryCount,
+        @NotNull SQLScriptContext scriptContext,
+        @NotNull DBDDataReceiver dataReceiver,
+        @NotNull Log log) {
         this.executionContext = executionContext;
         this.queries = queries;
+        this.queryCount = queryCount;
         this.scriptContext = scriptContext;
         this.dataReceiver = dataReceiver;
         this.log = log;
@@ -92,6 +133,29 @@ public class SQLScriptProcessor {
         this.errorHandling = errorHandling;
     }
 
+    public int getCommitLines() {
+        return commitLines;
+    }
+
+    /**
+     * Number of statements after which transaction is committed. Used with {@link SQLScriptCommitType#NLINES}.
+     */
+    public void setCommitLines(int commitLines) {
+        this.commitLines = commitLines;
+    }
+
+    public int getInsertBatchSize() {
+        return insertBatchSize;
+    }
+
+    /**
+     * Max number of consecutive INSERT statements of the same shape which are executed as one JDBC batch.
+     * Batches are not used if errors are ignored because batch error can't be mapped to the failed statement.
+     */
+    public void setInsertBatchSize(int insertBatchSize) {
+        this.insertBatchSize = insertBatchSize;
+    }
+
     public void runScript(DBRProgressMonitor monitor) throws DBCException {
         RuntimeUtils.setThreadName("SQL script execution");
         statistics = new DBCStatistics();
@@ -109,27 +173,62 @@ public class SQLScriptProcessor {
                     txnManager.setAutoCommit(monitor, newAutoCommit);
                 }
 
-                monitor.beginTask("Execute queries (" + queries.size() + ")", queries.size());
+                if (queryCount >= 0) {
+                    monitor.beginTask("Execute queries (" + queryCount + ")", queryCount);
+                } else {
+                    monitor.beginTask("Execute queries", IProgressMonitor.UNKNOWN);
+                }
 
-                for (SQLScriptElement query : queries) {
-                    if (monitor.isCanceled()) {
+                boolean commitByLines = commitType == SQLScriptCommitType.NLINES && commitLines > 0 &&
+                    txnManager != null && txnManager.isSupportsTransactions() && !newAutoCommit;
+                boolean batchInserts = insertBatchSize > 1 && errorHandling != SQLScriptErrorHandling.IGNORE &&
+                    session instanceof JDBCSession && session.getDataSource().getInfo().supportsBatchUpdates();
+                List<SQLQuery> insertBatch = new ArrayList<>();
+                String insertBatchShape = null;
+                int executedCount = 0;
+                int uncommittedCount = 0;
+                while (!monitor.isCanceled()) {
+                    SQLScriptElement query = queries.hasNext() ? queries.next() : null;
+                    String queryShape = batchInserts && query != null ? getInsertShape(query) : null;
+                    if (!insertBatch.isEmpty() &&
+                        (queryShape == null || !queryShape.equals(insertBatchShape) || insertBatch.size() >= insertBatchSize))
+                    {
+                        // Flush pending inserts
+                        int batchSize = insertBatch.size();
+                        boolean runNext = batchSize == 1 ?
+                            executeSingleQuery(session, insertBatch.get(0)) :
+                            executeInsertBatch((JDBCSession) session, insertBatch);
+                        insertBatch.clear();
+                        if (!checkQueryResult(runNext)) {
+                            break;
+                        }
+                        executedCount += batchSize;
+                        uncommittedCount += batchSize;
+                        monitor.worked(batchSize);
+                    }
+                    if (commitByLines && uncommittedCount >= commitLines) {
+                        monitor.subTask("Commit");
+                        txnManager.commit(session);
+                        uncommittedCount = 0;
+                    }
+                    if (query == null) {
                         break;
                     }
+                    if (queryShape != null) {
+                        insertBatch.add((SQLQuery) query);
+                        insertBatchShape = queryShape;
+                        continue;
+                    }
                     // Execute query
                     boolean runNext = executeSingleQuery(session, query);
-                    if (!runNext) {
-                        if (lastError == null) {
-                            // Execution cancel
-                            break;
-                        }
-                        if (errorHandling != SQLScriptErrorHandling.IGNORE) {
-                            log.error(lastError);
-                            break;
-                        } else {
-                            log.warn("Query failed: " + lastError.getMessage());
-                        }
+                    if (!checkQueryResult(runNext)) {
+                        break;
+                    }
+                    executedCount++;
+                    uncommittedCount++;
+                    if (queryCount < 0 && executedCount % 1000 == 0) {
+                        monitor.subTask(executedCount + " queries executed");
                     }
-
                     monitor.worked(1);
                 }
                 monitor.done();
@@ -169,6 +268,43 @@ public class SQLScriptProcessor {
         }
     }
 
+    /**
+     * Checks query execution result
+     *
+     * @return true if script execution should be continued
+     */
+    private boolean checkQueryResult(boolean runNext) {
+        if (!runNext) {
+            if (lastError == null) {
+                // Execution cancel
+                return false;
+            }
+            if (errorHandling != SQLScriptErrorHandling.IGNORE) {
+                log.error(lastError);
+                return false;
+            } else {
+                log.warn("Query failed: " + lastError.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns INSERT target (table and column list) if query can be executed in a batch
+     */
+    @Nullable
+    private static String getInsertShape(@NotNull SQLScriptElement element) {
+        if (!(element instanceof SQLQuery) || !CommonUtils.isEmpty(((SQLQuery) element).getParameters())) {
+            return null;
+        }
+        String text = element.getText();
+        Matcher matcher = INSERT_SHAPE_PATTERN.matcher(text);
+        if (!matcher.find() || RETURNING_PATTERN.matcher(text).find()) {
+            return null;
+        }
+        return CommonUtils.compactWhiteSpaces(matcher.group(1));
+    }
+
     private boolean executeSingleQuery(@NotNull DBCSession session, @NotNull SQLScriptElement element) {
         if (element instanceof SQLControlCommand) {
             log.debug(STAT_LOG_PREFIX + "Execute command\n" + element.getText());
@@ -210,6 +346,55 @@ public class SQLScriptProcessor {
         return lastError == null || errorHandling == SQLScriptErrorHandling.IGNORE;
     }
 
+    private boolean executeInsertBatch(@NotNull JDBCSession session, @NotNull List<SQLQuery> queries) {
+        lastError = null;
+        try {
+            statistics.reset();
+            statistics.setQueryText(queries.get(0).getText());
+
+            DBExecUtils.tryExecuteRecover(session, session.getDataSource(), param -> {
+                try {
+                    long execStartTime = System.currentTimeMillis();
+                    executeStatementBatch(session, queries, execStartTime);
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            });
+        } catch (Throwable ex) {
+            if (!(ex instanceof DBException)) {
+                log.error("Unexpected error while processing SQL", ex);
+            }
+            lastError = ex;
+        }
+
+        return lastError == null;
+    }
+
+    private void executeStatementBatch(@NotNull JDBCSession session, @NotNull List<SQLQuery> queries, long startTime) throws DBCException {
+        try (JDBCStatement statement = session.createStatement()) {
+            log.debug(STAT_LOG_PREFIX + "Execute batch of " + queries.size() + " queries\n" + queries.get(0).getText());
+            for (SQLQuery query : queries) {
+                statement.addBatch(query.getText());
+            }
+            int[] updateCounts = statement.executeBatch();
+
+            statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+            for (int updateCount : updateCounts) {
+                statistics.addStatementsCount();
+                if (updateCount >= 0) {
+                    statistics.addRowsUpdated(updateCount);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DBCException(e, executionContext);
+        } finally {
+            log.debug(STAT_LOG_PREFIX + "Time: " + RuntimeUtils.formatExecutionTime(statistics.getExecuteTime()) +
+                (statistics.getRowsUpdated() >= 0 ? ", updated " + statistics.getRowsUpdated() + " row(s)" : ""));
+
+            totalStatistics.accumulate(statistics);
+        }
+    }
+
     private void executeStatement(@NotNull DBCSession session, SQLQuery sqlQuery, long startTime) throws DBCException {
         SQLQueryDataContainer dataContainer = new SQLQueryDataContainer(() -> executionContext, sqlQuery, scriptContext, log);
         DBCExecutionSource source = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), this, sqlQuery);
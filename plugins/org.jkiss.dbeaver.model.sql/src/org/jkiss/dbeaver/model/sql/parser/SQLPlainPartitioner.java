@@ -0,0 +1,73 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.*;
+
+/**
+ * Partitioner which treats the whole document as SQL code.
+ * Used for large documents where full partition scan is too expensive. Comments and strings are still
+ * highlighted by the default content type scanner.
+ */
+public class SQLPlainPartitioner implements IDocumentPartitioner {
+
+    private static final String[] CONTENT_TYPES = { IDocument.DEFAULT_CONTENT_TYPE };
+
+    private IDocument document;
+
+    @Override
+    public void connect(IDocument document) {
+        this.document = document;
+    }
+
+    @Override
+    public void disconnect() {
+        this.document = null;
+    }
+
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event) {
+        // nothing
+    }
+
+    @Override
+    public boolean documentChanged(DocumentEvent event) {
+        // There is always a single partition
+        return false;
+    }
+
+    @Override
+    public String[] getLegalContentTypes() {
+        return CONTENT_TYPES;
+    }
+
+    @Override
+    public String getContentType(int offset) {
+        return IDocument.DEFAULT_CONTENT_TYPE;
+    }
+
+    @Override
+    public ITypedRegion[] computePartitioning(int offset, int length) {
+        return new ITypedRegion[] { new TypedRegion(offset, length, IDocument.DEFAULT_CONTENT_TYPE) };
+    }
+
+    @Override
+    public ITypedRegion getPartition(int offset) {
+        return new TypedRegion(0, document == null ? 0 : document.getLength(), IDocument.DEFAULT_CONTENT_TYPE);
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.Document;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Incremental script parser.
+ * <p>
+ * Reads script by chunks and parses each chunk with {@link SQLScriptParser}.
+ * The last element of a chunk may be truncated, so its text is moved to the next chunk and parsed again.
+ * Only the current chunk is kept in memory, thus scripts of any size may be executed.
+ * <p>
+ * Element offsets are relative to the chunk they were parsed from.
+ */
+public class SQLScriptStreamParser implements Iterator<SQLScriptElement> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final DBPDataSource dataSource;
+    private final SQLSyntaxManager syntaxManager;
+    private final SQLRuleManager ruleManager;
+    private final Reader reader;
+    private final int chunkSize;
+    private final Deque<SQLScriptElement> elements = new ArrayDeque<>();
+    private final char[] readBuffer;
+
+    private StringBuilder buffer = new StringBuilder();
+    private boolean eof;
+    private long readChars;
+
+    public SQLScriptStreamParser(@NotNull DBPDataSource dataSource, @NotNull Reader reader) {
+        this(dataSource, reader, DEFAULT_CHUNK_SIZE);
+    }
+
+    public SQLScriptStreamParser(@NotNull DBPDataSource dataSource, @NotNull Reader reader, int chunkSize) {
+        this.dataSource = dataSource;
+        this.reader = reader;
+        this.chunkSize = chunkSize;
+        this.readBuffer = new char[Math.min(chunkSize, 64 * 1024)];
+        this.syntaxManager = new SQLSyntaxManager();
+        this.syntaxManager.init(dataSource.getSQLDialect(), dataSource.getContainer().getPreferenceStore());
+        this.ruleManager = new SQLRuleManager(syntaxManager);
+        this.ruleManager.loadRules(dataSource, false);
+    }
+
+    /**
+     * Number of characters read from the script so far
+     */
+    public long getReadChars() {
+        return readChars;
+    }
+
+    /**
+     * Returns next script element or null if the end of script was reached
+     */
+    @Nullable
+    public SQLScriptElement nextElement() throws IOException {
+        while (elements.isEmpty()) {
+            if (eof && buffer.length() == 0) {
+                return null;
+            }
+            parseNextChunk();
+        }
+        return elements.poll();
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            SQLScriptElement element = nextElement();
+            if (element == null) {
+                return false;
+            }
+            elements.addFirst(element);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public SQLScriptElement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return elements.poll();
+    }
+
+    private void parseNextChunk() throws IOException {
+        // Chunk grows until it contains at least one complete element. Grow it exponentially to avoid quadratic re-parsing.
+        int chunkLength = buffer.length() + Math.max(chunkSize, buffer.length());
+        while (!eof && buffer.length() < chunkLength) {
+            int count = reader.read(readBuffer, 0, Math.min(readBuffer.length, chunkLength - buffer.length()));
+            if (count < 0) {
+                eof = true;
+            } else {
+                buffer.append(readBuffer, 0, count);
+                readChars += count;
+            }
+        }
+        String chunkText = buffer.toString();
+        SQLParserContext parserContext = new SQLParserContext(dataSource, syntaxManager, ruleManager, new Document(chunkText));
+        List<SQLScriptElement> chunkElements = SQLScriptParser.extractScriptQueries(
+            parserContext, 0, chunkText.length(), true, false, true);
+        if (eof) {
+            elements.addAll(chunkElements);
+            buffer = new StringBuilder();
+            return;
+        }
+        if (chunkElements.size() < 2) {
+            // The only element may be incomplete. Read more.
+            return;
+        }
+        SQLScriptElement lastElement = chunkElements.remove(chunkElements.size() - 1);
+        elements.addAll(chunkElements);
+        buffer = new StringBuilder(chunkText.length() - lastElement.getOffset() + chunkSize);
+        buffer.append(chunkText, lastElement.getOffset(), chunkText.length());
+    }
+
+}
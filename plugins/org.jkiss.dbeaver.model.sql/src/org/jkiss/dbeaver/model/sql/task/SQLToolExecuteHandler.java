@@ -16,17 +16,24 @@
  */
 package org.jkiss.dbeaver.model.sql.task;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBPObjectStatistics;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.edit.SQLDatabasePersistActionComment;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.model.runtime.PrintStreamProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTask;
 import org.jkiss.dbeaver.model.task.DBTTaskExecutionListener;
@@ -38,10 +45,10 @@ import org.jkiss.utils.CommonUtils;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -99,120 +106,210 @@ public abstract class SQLToolExecuteHandler<OBJECT_TYPE extends DBSObject, SETTI
                 Throwable throwable = warnings.get(0);
                 throw new DBCException("Tool execution error: " + throwable.getMessage(), throwable);
             }
-            for (OBJECT_TYPE object : objectList) {
-                monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
-                try (DBCSession session = DBUtils.openUtilSession(monitor, object, "Execute " + task.getType().getName())) {
-                    List<DBEPersistAction> queries = new ArrayList<>();
-                    generateObjectQueries(session, settings, queries, object);
+            int parallelism = Math.min(settings.getParallelism(), objectList.size());
+            if (parallelism > 1) {
+                lastError = executeParallel(monitor, task, settings, log, outLog, listener, parallelism);
+            } else {
+                for (OBJECT_TYPE object : objectList) {
+                    monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
+                    try (DBCSession session = DBUtils.openUtilSession(monitor, object, "Execute " + task.getType().getName())) {
+                        Exception error = processObject(session, settings, object, log, outLog, !(listener instanceof SQLToolRunListener) ? null :
+                            (action, actionStatistics) -> ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, actionStatistics));
+                        if (error != null) {
+                            lastError = error;
+                        }
+                    }
+                    monitor.worked(1);
+                }
+            }
+        } catch (Exception e) {
+            lastError = e;
+            outLog.println("Process error\n" + e.getMessage());
+        } finally {
+            monitor.done();
+        }
+        listener.taskFinished(task, null, lastError, settings);
+
+        outLog.println("Tool execution finished");
+        outLog.flush();
+    }
 
-                    DBCExecutionContext context = session.getExecutionContext();
-                    DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
-                    boolean isAutoCommitModeSwitchedOn = true;
+    /**
+     * Processes objects in several jobs. Each job uses its own isolated execution contexts.
+     * Objects are scheduled by estimated size (the biggest first), results are reported in the original objects order.
+     */
+    private Exception executeParallel(DBRProgressMonitor monitor, DBTTask task, SETTINGS settings, Log log, PrintStream outLog, DBTTaskExecutionListener listener, int parallelism) throws InterruptedException {
+        List<ObjectResult> results = new ArrayList<>();
+        for (OBJECT_TYPE object : settings.getObjectList()) {
+            results.add(new ObjectResult(object));
+        }
+        List<ObjectResult> schedule = new ArrayList<>(results);
+        schedule.sort(Comparator.comparingLong((ObjectResult result) -> result.estimatedSize).reversed());
+        Queue<ObjectResult> queue = new ConcurrentLinkedQueue<>(schedule);
 
-                    try {
-                        if(isRunInAutoCommit() && txnManager != null && !txnManager.isAutoCommit()){
-                            isAutoCommitModeSwitchedOn = false;
-                            txnManager.setAutoCommit(monitor, true);
+        List<ToolWorkerJob> workers = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            ToolWorkerJob worker = new ToolWorkerJob(task, settings, log, outLog, queue, listener instanceof SQLToolRunListener, i + 1);
+            workers.add(worker);
+            worker.schedule();
+        }
+
+        Exception lastError = null;
+        boolean canceled = false;
+        try {
+            for (ObjectResult result : results) {
+                while (!result.finished.await(100, TimeUnit.MILLISECONDS)) {
+                    if (!canceled && monitor.isCanceled()) {
+                        // Do not start new objects and cancel running statements
+                        canceled = true;
+                        queue.clear();
+                        for (ToolWorkerJob worker : workers) {
+                            worker.cancel();
                         }
+                    }
+                    if (canceled && workers.stream().allMatch(worker -> worker.getState() == Job.NONE)) {
+                        // All workers stopped, the rest of objects will not be processed
+                        break;
+                    }
+                }
+                if (result.finished.getCount() > 0) {
+                    // Object was not processed
+                    break;
+                }
+                monitor.subTask("Process [" + DBUtils.getObjectFullName(result.object, DBPEvaluationContext.UI) + "]");
+                for (ActionResult actionResult : result.actions) {
+                    ((SQLToolRunListener) listener).handleActionStatistics(
+                        result.object, actionResult.action, result.session, actionResult.statistics);
+                }
+                if (result.error != null) {
+                    lastError = result.error;
+                }
+                monitor.worked(1);
+            }
+        } finally {
+            queue.clear();
+            for (ToolWorkerJob worker : workers) {
+                if (canceled || monitor.isCanceled()) {
+                    worker.cancel();
+                }
+                worker.join();
+            }
+        }
+        return lastError;
+    }
 
-                        for (DBEPersistAction action : queries) {
-                            if (monitor.isCanceled()) {
-                                break;
-                            }
-                            if (!CommonUtils.isEmpty(action.getTitle())) {
-                                monitor.subTask(action.getTitle());
-                            }
-                            try {
-                                if (action instanceof SQLDatabasePersistActionComment) {
-                                    continue;
-                                }
-                                String script = action.getScript();
-                                if (!CommonUtils.isEmpty(script)) {
-                                    long startTime = System.currentTimeMillis();
-                                    try (final DBCStatement statement = session.prepareStatement(
-                                        DBCStatementType.SCRIPT,
-                                        script,
-                                        false,
-                                        false,
-                                        false)) {
-                                        long execTime = System.currentTimeMillis() - startTime;
-                                        statement.executeStatement();
-                                        if (listener instanceof SQLToolRunListener) {
-                                            if (action.getType() != DBEPersistAction.ActionType.INITIALIZER && action.getType() != DBEPersistAction.ActionType.FINALIZER) {
-                                                SQLToolStatisticsSimple statisticsSimple = new SQLToolStatisticsSimple(object, false);
-                                                if (SQLToolExecuteHandler.this instanceof SQLToolRunStatisticsGenerator) {
-                                                    List<? extends SQLToolStatistics> executeStatistics =
-                                                            ((SQLToolRunStatisticsGenerator) SQLToolExecuteHandler.this).getExecuteStatistics(
-                                                                    object,
-                                                                    settings,
-                                                                    action,
-                                                                    session,
-                                                                    statement);
-                                                    monitor.subTask("\tFinished in " + RuntimeUtils.formatExecutionTime(execTime));
-                                                    if (!CommonUtils.isEmpty(executeStatistics)) {
-                                                        for (SQLToolStatistics stat : executeStatistics) {
-                                                            stat.setExecutionTime(execTime);
-                                                        }
-                                                        ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, executeStatistics);
-                                                    } else {
-                                                        ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(statisticsSimple));
-                                                    }
-                                                } else {
-                                                    ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(statisticsSimple));
-                                                }
-                                            }
-                                        }
+    /**
+     * Executes object queries
+     *
+     * @return last query error or null
+     */
+    private Exception processObject(DBCSession session, SETTINGS settings, OBJECT_TYPE object, Log log, PrintStream outLog, @Nullable ActionStatisticsHandler statisticsHandler) throws DBException {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        Exception lastError = null;
+        DBCStatistics objectStatistics = new DBCStatistics();
+
+        List<DBEPersistAction> queries = new ArrayList<>();
+        generateObjectQueries(session, settings, queries, object);
 
-                                        statistics.addStatementsCount();
-                                        statistics.addExecuteTime(execTime);
-                                        try {
-                                            long updateCount = statement.getUpdateRowCount();
-                                            if (updateCount >= 0) {
-                                                statistics.addRowsUpdated(updateCount);
-                                            }
-                                        } catch (DBCException e) {
-                                            // In some cases we can't read update count
-                                            // This is bad but we can live with it
-                                            // Just print a warning
-                                            log.warn("Can't obtain update count", e);
+        DBCExecutionContext context = session.getExecutionContext();
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        boolean isAutoCommitModeSwitchedOn = true;
+
+        try {
+            if(isRunInAutoCommit() && txnManager != null && !txnManager.isAutoCommit()){
+                isAutoCommitModeSwitchedOn = false;
+                txnManager.setAutoCommit(monitor, true);
+            }
+
+            for (DBEPersistAction action : queries) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                if (!CommonUtils.isEmpty(action.getTitle())) {
+                    monitor.subTask(action.getTitle());
+                }
+                try {
+                    if (action instanceof SQLDatabasePersistActionComment) {
+                        continue;
+                    }
+                    String script = action.getScript();
+                    if (!CommonUtils.isEmpty(script)) {
+                        long startTime = System.currentTimeMillis();
+                        try (final DBCStatement statement = session.prepareStatement(
+                            DBCStatementType.SCRIPT,
+                            script,
+                            false,
+                            false,
+                            false)) {
+                            long execTime = System.currentTimeMillis() - startTime;
+                            statement.executeStatement();
+                            if (statisticsHandler != null &&
+                                action.getType() != DBEPersistAction.ActionType.INITIALIZER && action.getType() != DBEPersistAction.ActionType.FINALIZER)
+                            {
+                                SQLToolStatisticsSimple statisticsSimple = new SQLToolStatisticsSimple(object, false);
+                                if (SQLToolExecuteHandler.this instanceof SQLToolRunStatisticsGenerator) {
+                                    List<? extends SQLToolStatistics> executeStatistics =
+                                            ((SQLToolRunStatisticsGenerator) SQLToolExecuteHandler.this).getExecuteStatistics(
+                                                    object,
+                                                    settings,
+                                                    action,
+                                                    session,
+                                                    statement);
+                                    monitor.subTask("\tFinished in " + RuntimeUtils.formatExecutionTime(execTime));
+                                    if (!CommonUtils.isEmpty(executeStatistics)) {
+                                        for (SQLToolStatistics stat : executeStatistics) {
+                                            stat.setExecutionTime(execTime);
                                         }
+                                        statisticsHandler.handleActionStatistics(action, executeStatistics);
+                                    } else {
+                                        statisticsHandler.handleActionStatistics(action, Collections.singletonList(statisticsSimple));
                                     }
+                                } else {
+                                    statisticsHandler.handleActionStatistics(action, Collections.singletonList(statisticsSimple));
                                 }
-                            } catch (Exception e) {
-                                lastError = e;
-                                log.debug("Error executing query", e);
-                                outLog.println("Error executing query\n" + e.getMessage());
-                                if(listener instanceof SQLToolRunListener) {
-                                    SQLToolStatisticsSimple errorStat = new SQLToolStatisticsSimple(object, true);
-                                    errorStat.setStatusMessage(e.getMessage());
-                                    ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(errorStat));
-                                }
-                            } finally {
-                                monitor.worked(1);
                             }
-                        }
-                    } finally {
-                        if (!isAutoCommitModeSwitchedOn) {
+
+                            objectStatistics.addStatementsCount();
+                            objectStatistics.addExecuteTime(execTime);
                             try {
-                                txnManager.setAutoCommit(monitor, false);
+                                long updateCount = statement.getUpdateRowCount();
+                                if (updateCount >= 0) {
+                                    objectStatistics.addRowsUpdated(updateCount);
+                                }
                             } catch (DBCException e) {
-                                log.debug("Cannot set auto-commit status", e);
+                                // In some cases we can't read update count
+                                // This is bad but we can live with it
+                                // Just print a warning
+                                log.warn("Can't obtain update count", e);
                             }
                         }
                     }
+                } catch (Exception e) {
+                    lastError = e;
+                    log.debug("Error executing query", e);
+                    outLog.println("Error executing query\n" + e.getMessage());
+                    if (statisticsHandler != null) {
+                        SQLToolStatisticsSimple errorStat = new SQLToolStatisticsSimple(object, true);
+                        errorStat.setStatusMessage(e.getMessage());
+                        statisticsHandler.handleActionStatistics(action, Collections.singletonList(errorStat));
+                    }
+                } finally {
+                    monitor.worked(1);
                 }
-                monitor.worked(1);
             }
-        } catch (Exception e) {
-            lastError = e;
-            outLog.println("Process error\n" + e.getMessage());
         } finally {
-            monitor.done();
+            if (!isAutoCommitModeSwitchedOn) {
+                try {
+                    txnManager.setAutoCommit(monitor, false);
+                } catch (DBCException e) {
+                    log.debug("Cannot set auto-commit status", e);
+                }
+            }
+            synchronized (statistics) {
+                statistics.accumulate(objectStatistics);
+            }
         }
-        listener.taskFinished(task, null, lastError, settings);
-
-        outLog.println("Tool execution finished");
-        outLog.flush();
+        return lastError;
     }
 
     public String generateScript(DBRProgressMonitor monitor, SETTINGS settings) throws DBCException {
@@ -259,4 +356,97 @@ public abstract class SQLToolExecuteHandler<OBJECT_TYPE extends DBSObject, SETTI
         return false;
     }
 
+    private interface ActionStatisticsHandler {
+        void handleActionStatistics(DBEPersistAction action, List<? extends SQLToolStatistics> statistics);
+    }
+
+    private static class ActionResult {
+        final DBEPersistAction action;
+        final List<? extends SQLToolStatistics> statistics;
+
+        ActionResult(DBEPersistAction action, List<? extends SQLToolStatistics> statistics) {
+            this.action = action;
+            this.statistics = statistics;
+        }
+    }
+
+    /**
+     * Results of object processing in parallel mode. They are reported after the object is finished,
+     * so listener receives already closed session.
+     */
+    private static class ObjectResult {
+        final DBSObject object;
+        final long estimatedSize;
+        final List<ActionResult> actions = new ArrayList<>();
+        final CountDownLatch finished = new CountDownLatch(1);
+        volatile DBCSession session;
+        volatile Exception error;
+
+        ObjectResult(DBSObject object) {
+            this.object = object;
+            this.estimatedSize = object instanceof DBPObjectStatistics && ((DBPObjectStatistics) object).hasStatistics() ?
+                ((DBPObjectStatistics) object).getStatObjectSize() : 0;
+        }
+    }
+
+    private class ToolWorkerJob extends AbstractJob {
+        private final DBTTask task;
+        private final SETTINGS settings;
+        private final Log log;
+        private final PrintStream outLog;
+        private final Queue<ObjectResult> queue;
+        private final boolean collectStatistics;
+
+        ToolWorkerJob(DBTTask task, SETTINGS settings, Log log, PrintStream outLog, Queue<ObjectResult> queue, boolean collectStatistics, int number) {
+            super("Execute " + task.getType().getName() + " (" + number + ")");
+            this.task = task;
+            this.settings = settings;
+            this.log = log;
+            this.outLog = outLog;
+            this.queue = queue;
+            this.collectStatistics = collectStatistics;
+            setUser(false);
+            setSystem(true);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            Map<DBSInstance, DBCExecutionContext> contexts = new HashMap<>();
+            try {
+                while (!monitor.isCanceled()) {
+                    ObjectResult result = queue.poll();
+                    if (result == null) {
+                        break;
+                    }
+                    try {
+                        DBSInstance instance = DBUtils.getObjectOwnerInstance(result.object);
+                        DBCExecutionContext context = contexts.get(instance);
+                        if (context == null) {
+                            context = instance.openIsolatedContext(
+                                monitor, "Execute " + task.getType().getName(), DBUtils.getDefaultContext(result.object, false));
+                            contexts.put(instance, context);
+                        }
+                        try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Execute " + task.getType().getName())) {
+                            result.session = session;
+                            result.error = processObject(session, settings, (OBJECT_TYPE) result.object, log, outLog, !collectStatistics ? null :
+                                (action, actionStatistics) -> result.actions.add(new ActionResult(action, actionStatistics)));
+                        }
+                    } catch (Exception e) {
+                        result.error = e;
+                        log.debug("Error processing object", e);
+                        outLog.println("Process error\n" + e.getMessage());
+                    } finally {
+                        result.finished.countDown();
+                    }
+                }
+            } finally {
+                for (DBCExecutionContext context : contexts.values()) {
+                    context.close();
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
 }
@@ -0,0 +1,75 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Difference between two subsequent server session samples.
+ * Changed sessions are new session objects which are equal to previously sampled ones.
+ */
+public class DBAServerSessionDelta<SESSION_TYPE> {
+
+    private final long sampleTime;
+    private final List<SESSION_TYPE> addedSessions;
+    private final List<SESSION_TYPE> changedSessions;
+    private final List<SESSION_TYPE> removedSessions;
+
+    public DBAServerSessionDelta(
+        long sampleTime,
+        @NotNull List<SESSION_TYPE> addedSessions,
+        @NotNull List<SESSION_TYPE> changedSessions,
+        @NotNull List<SESSION_TYPE> removedSessions)
+    {
+        this.sampleTime = sampleTime;
+        this.addedSessions = Collections.unmodifiableList(addedSessions);
+        this.changedSessions = Collections.unmodifiableList(changedSessions);
+        this.removedSessions = Collections.unmodifiableList(removedSessions);
+    }
+
+    public long getSampleTime() {
+        return sampleTime;
+    }
+
+    @NotNull
+    public List<SESSION_TYPE> getAddedSessions() {
+        return addedSessions;
+    }
+
+    @NotNull
+    public List<SESSION_TYPE> getChangedSessions() {
+        return changedSessions;
+    }
+
+    @NotNull
+    public List<SESSION_TYPE> getRemovedSessions() {
+        return removedSessions;
+    }
+
+    public boolean isEmpty() {
+        return addedSessions.isEmpty() && changedSessions.isEmpty() && removedSessions.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "+" + addedSessions.size() + " ~" + changedSessions.size() + " -" + removedSessions.size();
+    }
+}
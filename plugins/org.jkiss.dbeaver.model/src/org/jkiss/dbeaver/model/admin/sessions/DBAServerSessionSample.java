@@ -0,0 +1,68 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Session state sample. Subsequent samples with the same session state are merged into one.
+ */
+public class DBAServerSessionSample<SESSION_TYPE> {
+
+    private final long startTime;
+    private long endTime;
+    private final SESSION_TYPE session;
+
+    DBAServerSessionSample(long startTime, @NotNull SESSION_TYPE session) {
+        this.startTime = startTime;
+        this.endTime = startTime;
+        this.session = session;
+    }
+
+    /**
+     * Time of the first sample with this session state
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Time of the last sample with this session state
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    void setEndTime(long endTime) {
+        this.endTime = endTime;
+    }
+
+    @NotNull
+    public SESSION_TYPE getSession() {
+        return session;
+    }
+
+    public boolean contains(long time) {
+        return time >= startTime && time <= endTime;
+    }
+
+    @Override
+    public String toString() {
+        return session + " [" + startTime + " - " + endTime + "]";
+    }
+}
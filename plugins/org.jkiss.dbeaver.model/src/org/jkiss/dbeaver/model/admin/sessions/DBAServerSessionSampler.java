@@ -0,0 +1,307 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.admin.locks.DBAServerLock;
+import org.jkiss.dbeaver.model.admin.locks.DBAServerLockManager;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.meta.Property;
+import org.jkiss.utils.BeanUtils;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Server sessions sampler.
+ * <p>
+ * Each sample reads all server sessions (or locks) and compares them with the previous sample.
+ * Result is a delta: new, changed and gone sessions, so viewers may update only changed rows.
+ * Session state is a set of its {@link Property} values.
+ * <p>
+ * Sampler keeps a bounded history of each session state (active session history).
+ * Subsequent samples with the same state are merged, so history size limits number of state changes.
+ * History of gone sessions is kept for {@link #getHistoryDuration()}.
+ */
+public class DBAServerSessionSampler<SESSION_TYPE> {
+
+    private static final Log log = Log.getLog(DBAServerSessionSampler.class);
+
+    public static final int DEFAULT_HISTORY_SIZE = 100;
+    public static final long DEFAULT_HISTORY_DURATION = 30 * 60 * 1000L;
+
+    /**
+     * Reads sessions from server
+     */
+    public interface SessionReader<SESSION_TYPE> {
+        Collection<SESSION_TYPE> readSessions(@NotNull DBCSession session, @Nullable Map<String, Object> options)
+            throws DBException;
+    }
+
+    private static class SessionHistory<SESSION_TYPE> {
+        private final DBAServerSessionSample<SESSION_TYPE>[] samples;
+        private int firstSample;
+        private int sampleCount;
+        private SESSION_TYPE session;
+        private Object[] state;
+        private long sampleNumber;
+        private boolean alive;
+
+        @SuppressWarnings("unchecked")
+        SessionHistory(int historySize) {
+            this.samples = new DBAServerSessionSample[historySize];
+        }
+
+        DBAServerSessionSample<SESSION_TYPE> getSample(int index) {
+            return samples[(firstSample + index) % samples.length];
+        }
+
+        DBAServerSessionSample<SESSION_TYPE> getLastSample() {
+            return sampleCount == 0 ? null : getSample(sampleCount - 1);
+        }
+
+        void addSample(long time, SESSION_TYPE session) {
+            DBAServerSessionSample<SESSION_TYPE> sample = new DBAServerSessionSample<>(time, session);
+            if (sampleCount < samples.length) {
+                samples[(firstSample + sampleCount) % samples.length] = sample;
+                sampleCount++;
+            } else {
+                // Overwrite the oldest one
+                samples[firstSample] = sample;
+                firstSample = (firstSample + 1) % samples.length;
+            }
+        }
+
+        void removeSamplesBefore(long time) {
+            while (sampleCount > 0 && samples[firstSample].getEndTime() < time) {
+                samples[firstSample] = null;
+                firstSample = (firstSample + 1) % samples.length;
+                sampleCount--;
+            }
+        }
+    }
+
+    private final SessionReader<SESSION_TYPE> sessionReader;
+    private final Function<SESSION_TYPE, Object> keyReader;
+    private final int historySize;
+    private final long historyDuration;
+
+    private final Map<Object, SessionHistory<SESSION_TYPE>> histories = new LinkedHashMap<>();
+    private final Map<Class<?>, List<Method>> stateGetters = new HashMap<>();
+    private long sampleNumber;
+
+    /**
+     * @param sessionReader   reads sessions from server
+     * @param keyReader       returns session identity. Sessions are compared with equals/hashCode if null.
+     * @param historySize     max number of state changes kept for each session
+     * @param historyDuration history duration (ms)
+     */
+    public DBAServerSessionSampler(
+        @NotNull SessionReader<SESSION_TYPE> sessionReader,
+        @Nullable Function<SESSION_TYPE, Object> keyReader,
+        int historySize,
+        long historyDuration)
+    {
+        this.sessionReader = sessionReader;
+        this.keyReader = keyReader != null ? keyReader : session -> session;
+        this.historySize = Math.max(1, historySize);
+        this.historyDuration = historyDuration;
+    }
+
+    @NotNull
+    public static <SESSION_TYPE extends DBAServerSession> DBAServerSessionSampler<SESSION_TYPE> forSessions(
+        @NotNull DBAServerSessionManager<SESSION_TYPE> sessionManager)
+    {
+        return new DBAServerSessionSampler<>(
+            sessionManager::getSessions,
+            null,
+            DEFAULT_HISTORY_SIZE,
+            DEFAULT_HISTORY_DURATION);
+    }
+
+    @NotNull
+    public static <LOCK_TYPE extends DBAServerLock> DBAServerSessionSampler<LOCK_TYPE> forLocks(
+        @NotNull DBAServerLockManager<LOCK_TYPE, ?> lockManager)
+    {
+        return new DBAServerSessionSampler<>(
+            (session, options) -> lockManager.getLocks(session, options).values(),
+            DBAServerLock::getId,
+            DEFAULT_HISTORY_SIZE,
+            DEFAULT_HISTORY_DURATION);
+    }
+
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    public long getHistoryDuration() {
+        return historyDuration;
+    }
+
+    /**
+     * Reads sessions from server and adds them as a new sample
+     */
+    @NotNull
+    public DBAServerSessionDelta<SESSION_TYPE> sample(@NotNull DBCSession session, @Nullable Map<String, Object> options)
+        throws DBException
+    {
+        Collection<SESSION_TYPE> sessions = sessionReader.readSessions(session, options);
+        return addSample(System.currentTimeMillis(), sessions == null ? Collections.emptyList() : sessions);
+    }
+
+    /**
+     * Adds sessions sample and returns its difference with the previous sample
+     */
+    @NotNull
+    public synchronized DBAServerSessionDelta<SESSION_TYPE> addSample(long sampleTime, @NotNull Collection<SESSION_TYPE> sessions) {
+        sampleNumber++;
+        List<SESSION_TYPE> added = new ArrayList<>();
+        List<SESSION_TYPE> changed = new ArrayList<>();
+        List<SESSION_TYPE> removed = new ArrayList<>();
+
+        for (SESSION_TYPE session : sessions) {
+            Object key = keyReader.apply(session);
+            SessionHistory<SESSION_TYPE> history = histories.get(key);
+            if (history != null && history.sampleNumber == sampleNumber) {
+                // Duplicate session in the same sample
+                continue;
+            }
+            Object[] state = readSessionState(session);
+            if (history == null) {
+                history = new SessionHistory<>(historySize);
+                histories.put(key, history);
+            }
+            history.sampleNumber = sampleNumber;
+            if (!history.alive) {
+                history.alive = true;
+                added.add(session);
+            } else if (!Arrays.equals(history.state, state)) {
+                changed.add(session);
+            } else {
+                // Same state. Keep previous session object, viewers already show it.
+                DBAServerSessionSample<SESSION_TYPE> lastSample = history.getLastSample();
+                if (lastSample != null) {
+                    lastSample.setEndTime(sampleTime);
+                    continue;
+                }
+            }
+            history.session = session;
+            history.state = state;
+            history.addSample(sampleTime, session);
+        }
+
+        long minTime = sampleTime - historyDuration;
+        for (Iterator<SessionHistory<SESSION_TYPE>> iter = histories.values().iterator(); iter.hasNext(); ) {
+            SessionHistory<SESSION_TYPE> history = iter.next();
+            if (history.alive && history.sampleNumber != sampleNumber) {
+                history.alive = false;
+                removed.add(history.session);
+            }
+            history.removeSamplesBefore(minTime);
+            if (!history.alive && history.sampleCount == 0) {
+                iter.remove();
+            }
+        }
+
+        return new DBAServerSessionDelta<>(sampleTime, added, changed, removed);
+    }
+
+    /**
+     * Returns sessions of the last sample
+     */
+    @NotNull
+    public synchronized List<SESSION_TYPE> getSessions() {
+        List<SESSION_TYPE> result = new ArrayList<>();
+        for (SessionHistory<SESSION_TYPE> history : histories.values()) {
+            if (history.alive) {
+                result.add(history.session);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns session states which were sampled at the specified time
+     */
+    @NotNull
+    public synchronized List<SESSION_TYPE> getSessionsAt(long time) {
+        List<SESSION_TYPE> result = new ArrayList<>();
+        for (SessionHistory<SESSION_TYPE> history : histories.values()) {
+            for (int i = history.sampleCount - 1; i >= 0; i--) {
+                DBAServerSessionSample<SESSION_TYPE> sample = history.getSample(i);
+                if (sample.contains(time)) {
+                    result.add(sample.getSession());
+                    break;
+                } else if (sample.getEndTime() < time) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns session state history, the oldest state first
+     */
+    @NotNull
+    public synchronized List<DBAServerSessionSample<SESSION_TYPE>> getSessionHistory(@NotNull SESSION_TYPE session) {
+        SessionHistory<SESSION_TYPE> history = histories.get(keyReader.apply(session));
+        if (history == null) {
+            return Collections.emptyList();
+        }
+        List<DBAServerSessionSample<SESSION_TYPE>> result = new ArrayList<>(history.sampleCount);
+        for (int i = 0; i < history.sampleCount; i++) {
+            result.add(history.getSample(i));
+        }
+        return result;
+    }
+
+    public synchronized void reset() {
+        histories.clear();
+    }
+
+    private Object[] readSessionState(@NotNull SESSION_TYPE session) {
+        List<Method> getters = stateGetters.computeIfAbsent(session.getClass(), DBAServerSessionSampler::findStateGetters);
+        Object[] state = new Object[getters.size()];
+        for (int i = 0; i < state.length; i++) {
+            try {
+                state[i] = getters.get(i).invoke(session);
+            } catch (Throwable e) {
+                log.debug("Error reading session property '" + getters.get(i).getName() + "': " + e.getMessage());
+            }
+        }
+        return state;
+    }
+
+    private static List<Method> findStateGetters(Class<?> sessionClass) {
+        List<Method> getters = new ArrayList<>();
+        for (Method method : sessionClass.getMethods()) {
+            if (method.getParameterCount() == 0 && method.isAnnotationPresent(Property.class) && BeanUtils.isGetterName(method.getName())) {
+                getters.add(method);
+            }
+        }
+        // Stable order, so states of the same class may be compared
+        getters.sort(Comparator.comparing(Method::getName));
+        return getters;
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+/**
+ * Data receiver which can receive rows by batches.
+ * Fetch loops (see {@link org.jkiss.dbeaver.model.exec.DBExecUtils#fetchResultSet}) call {@link #fetchBatch}
+ * instead of {@link #fetchRow} if receiver created a batch.
+ */
+public interface DBDDataReceiverBatch extends DBDDataReceiver {
+
+    /**
+     * Creates rows batch. Called after {@link #fetchStart}.
+     *
+     * @return batch or null if rows must be fetched one by one
+     */
+    @Nullable
+    DBDRowBatch createRowBatch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException;
+
+    /**
+     * Receives batch of fetched rows. Batch is reused after this call.
+     */
+    void fetchBatch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch) throws DBCException;
+
+}
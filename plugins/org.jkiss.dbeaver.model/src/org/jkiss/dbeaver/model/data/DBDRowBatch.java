@@ -0,0 +1,266 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+
+import java.sql.Timestamp;
+
+/**
+ * Batch of result set rows stored by columns.
+ * <p>
+ * Each column has a reader which is resolved once per result set. By default values are read with attribute value handler.
+ * Result set implementations may replace readers with typed ones (see {@link DBCResultSet#prepareRowBatch}),
+ * typed columns keep values in primitive arrays and box them only on {@link #getValue(int, int)}.
+ */
+public class DBDRowBatch {
+
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    public enum ColumnType {
+        INT,
+        LONG,
+        DOUBLE,
+        STRING,
+        TIMESTAMP,
+        OBJECT
+    }
+
+    /**
+     * Reads value of the current result set row into the batch
+     */
+    public interface ColumnReader {
+        void readValue(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+            throws DBCException;
+    }
+
+    private final DBDAttributeBinding[] bindings;
+    private final DBSAttributeBase[] attributes;
+    private final int capacity;
+    private final ColumnType[] types;
+    private final ColumnReader[] readers;
+    private final long[][] longValues;
+    private final int[][] nanoValues;
+    private final double[][] doubleValues;
+    private final Object[][] objectValues;
+    private final boolean[][] nullValues;
+    private final Throwable[][] errors;
+    private int rowCount;
+
+    /**
+     * @param bindings   result set attributes. Skipped columns may be null.
+     * @param attributes attributes passed to value handlers. Columns with null attribute are not read.
+     * @param capacity   max rows in batch
+     */
+    public DBDRowBatch(@NotNull DBDAttributeBinding[] bindings, @NotNull DBSAttributeBase[] attributes, int capacity) {
+        this.bindings = bindings;
+        this.attributes = attributes;
+        this.capacity = capacity;
+        int columnCount = bindings.length;
+        this.types = new ColumnType[columnCount];
+        this.readers = new ColumnReader[columnCount];
+        this.longValues = new long[columnCount][];
+        this.nanoValues = new int[columnCount][];
+        this.doubleValues = new double[columnCount][];
+        this.objectValues = new Object[columnCount][];
+        this.nullValues = new boolean[columnCount][];
+        this.errors = new Throwable[columnCount][];
+        for (int i = 0; i < columnCount; i++) {
+            setColumnReader(i, ColumnType.OBJECT, DBDRowBatch::readHandlerValue);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return bindings.length;
+    }
+
+    public boolean isFull() {
+        return rowCount >= capacity;
+    }
+
+    @Nullable
+    public DBDAttributeBinding getBinding(int column) {
+        return bindings[column];
+    }
+
+    @Nullable
+    public DBSAttributeBase getAttribute(int column) {
+        return attributes[column];
+    }
+
+    @NotNull
+    public ColumnType getColumnType(int column) {
+        return types[column];
+    }
+
+    /**
+     * Sets column reader. Must be called before the first row is read.
+     */
+    public void setColumnReader(int column, @NotNull ColumnType type, @NotNull ColumnReader reader) {
+        types[column] = type;
+        readers[column] = reader;
+        longValues[column] = type == ColumnType.INT || type == ColumnType.LONG || type == ColumnType.TIMESTAMP ? new long[capacity] : null;
+        nanoValues[column] = type == ColumnType.TIMESTAMP ? new int[capacity] : null;
+        doubleValues[column] = type == ColumnType.DOUBLE ? new double[capacity] : null;
+        objectValues[column] = type == ColumnType.STRING || type == ColumnType.OBJECT ? new Object[capacity] : null;
+        nullValues[column] = new boolean[capacity];
+    }
+
+    /**
+     * Reads current result set row into the batch.
+     * Errors are not thrown, they are kept in the batch (see {@link #getError(int, int)}).
+     */
+    public void readRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) {
+        int row = rowCount;
+        for (int i = 0; i < bindings.length; i++) {
+            nullValues[i][row] = false;
+            if (objectValues[i] != null) {
+                objectValues[i][row] = null;
+            }
+            if (errors[i] != null) {
+                errors[i][row] = null;
+            }
+            if (attributes[i] == null) {
+                nullValues[i][row] = true;
+                continue;
+            }
+            try {
+                readers[i].readValue(session, resultSet, this, row, i);
+            } catch (Throwable e) {
+                setError(row, i, e);
+            }
+        }
+        rowCount++;
+    }
+
+    public void clear() {
+        rowCount = 0;
+    }
+
+    public void setNull(int row, int column) {
+        nullValues[column][row] = true;
+    }
+
+    public void setLong(int row, int column, long value) {
+        longValues[column][row] = value;
+    }
+
+    public void setDouble(int row, int column, double value) {
+        doubleValues[column][row] = value;
+    }
+
+    public void setTimestamp(int row, int column, long millis, int nanos) {
+        longValues[column][row] = millis;
+        nanoValues[column][row] = nanos;
+    }
+
+    /**
+     * Sets object value. For typed columns it overrides typed value of this row
+     * (e.g. when driver returned something unexpected).
+     */
+    public void setObject(int row, int column, @Nullable Object value) {
+        if (value == null) {
+            nullValues[column][row] = true;
+            return;
+        }
+        if (objectValues[column] == null) {
+            objectValues[column] = new Object[capacity];
+        }
+        objectValues[column][row] = value;
+    }
+
+    public void setError(int row, int column, @NotNull Throwable error) {
+        if (errors[column] == null) {
+            errors[column] = new Throwable[capacity];
+        }
+        errors[column][row] = error;
+        nullValues[column][row] = true;
+    }
+
+    public boolean isNull(int row, int column) {
+        return nullValues[column][row];
+    }
+
+    @Nullable
+    public Throwable getError(int row, int column) {
+        return errors[column] == null ? null : errors[column][row];
+    }
+
+    public long getLong(int row, int column) {
+        return longValues[column][row];
+    }
+
+    public double getDouble(int row, int column) {
+        return doubleValues[column][row];
+    }
+
+    /**
+     * Returns value as object. Typed values are boxed.
+     */
+    @Nullable
+    public Object getValue(int row, int column) {
+        if (nullValues[column][row]) {
+            return null;
+        }
+        if (objectValues[column] != null) {
+            Object value = objectValues[column][row];
+            if (value != null || types[column] == ColumnType.STRING || types[column] == ColumnType.OBJECT) {
+                return value;
+            }
+        }
+        switch (types[column]) {
+            case INT:
+                return (int) longValues[column][row];
+            case LONG:
+                return longValues[column][row];
+            case DOUBLE:
+                return doubleValues[column][row];
+            case TIMESTAMP: {
+                Timestamp timestamp = new Timestamp(longValues[column][row]);
+                timestamp.setNanos(nanoValues[column][row]);
+                return timestamp;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static void readHandlerValue(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        DBDAttributeBinding binding = batch.bindings[column];
+        batch.setObject(row, column, binding.getValueHandler().fetchValueObject(
+            session,
+            resultSet,
+            batch.attributes[column],
+            binding.getOrdinalPosition()));
+    }
+
+}
@@ -0,0 +1,521 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.local;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.aggregate.FunctionCount;
+import org.jkiss.dbeaver.model.data.aggregate.FunctionCountDistinct;
+import org.jkiss.dbeaver.model.data.aggregate.FunctionCountNulls;
+import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunction;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
+import org.jkiss.utils.CommonUtils;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates data filters, ordering and grouping over already fetched rows.
+ * <p>
+ * Rows are processed by columns: values of each referenced attribute are read into a vector once,
+ * conditions are evaluated over selection vectors of row indexes.
+ * Big inputs are processed in parallel (chunked filtering, parallel sort and hash aggregation partitioned by key hash).
+ * <p>
+ * Only constraints with logical operators are supported. Custom criteria, WHERE and ORDER BY texts are SQL and
+ * can't be evaluated locally (see {@link #isSupported(DBDDataFilter)}).
+ */
+public class LocalQueryEngine<ROW> {
+
+    // Minimal number of rows which are processed in parallel
+    public static final int PARALLEL_THRESHOLD = 50_000;
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final Set<DBCLogicalOperator> UNSUPPORTED_OPERATORS = EnumSet.of(
+        DBCLogicalOperator.BETWEEN,
+        DBCLogicalOperator.SOUNDS,
+        DBCLogicalOperator.CONTAINS,
+        DBCLogicalOperator.CONTAINS_KEY);
+
+    /**
+     * Reads attribute value from row
+     */
+    public interface ValueReader<ROW> {
+        @Nullable
+        Object getValue(@NotNull ROW row);
+    }
+
+    /**
+     * Maps filter constraints to row values
+     */
+    public interface AttributeResolver<ROW> {
+        /**
+         * @return value reader or null if constraint attribute is not present in rows
+         */
+        @Nullable
+        ValueReader<ROW> getReader(@NotNull DBDAttributeConstraint constraint);
+    }
+
+    /**
+     * Creates new aggregate function instance for each group
+     */
+    public interface FunctionFactory {
+        @NotNull
+        IAggregateFunction createFunction() throws DBException;
+    }
+
+    /**
+     * Aggregate function applied to group rows
+     */
+    public static class Aggregate<ROW> {
+        private final FunctionFactory factory;
+        private final ValueReader<ROW> argument;
+
+        /**
+         * @param argument function argument. Null means all rows (e.g. COUNT(*)).
+         *                 Null argument values are not passed to functions, the same way as SQL does.
+         */
+        public Aggregate(@NotNull FunctionFactory factory, @Nullable ValueReader<ROW> argument) {
+            this.factory = factory;
+            this.argument = argument;
+        }
+    }
+
+    private final List<ROW> rows;
+    private final AttributeResolver<ROW> resolver;
+    private final boolean parallel;
+
+    public LocalQueryEngine(@NotNull List<ROW> rows, @NotNull AttributeResolver<ROW> resolver) {
+        this(rows, resolver, rows.size() >= PARALLEL_THRESHOLD);
+    }
+
+    public LocalQueryEngine(@NotNull List<ROW> rows, @NotNull AttributeResolver<ROW> resolver, boolean parallel) {
+        this.rows = rows instanceof RandomAccess ? rows : new ArrayList<>(rows);
+        this.resolver = resolver;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Checks that filter can be evaluated locally
+     */
+    public static boolean isSupported(@NotNull DBDDataFilter filter) {
+        if (!CommonUtils.isEmpty(filter.getWhere()) || !CommonUtils.isEmpty(filter.getOrder())) {
+            return false;
+        }
+        for (DBDAttributeConstraint constraint : filter.getConstraints()) {
+            if (!CommonUtils.isEmpty(constraint.getCriteria())) {
+                return false;
+            }
+            if (constraint.getOperator() != null && UNSUPPORTED_OPERATORS.contains(constraint.getOperator())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns rows which match filter conditions in filter order.
+     * Rows with equal order keys (or all rows if there is no ordering) keep their original order.
+     */
+    @NotNull
+    public List<ROW> select(@NotNull DBDDataFilter filter) throws DBCException {
+        if (!isSupported(filter)) {
+            throw new DBCException("Filter can't be evaluated locally");
+        }
+        int[] selection = filter(filter);
+        selection = sort(selection, filter.getOrderConstraints());
+        List<ROW> result = new ArrayList<>(selection.length);
+        for (int index : selection) {
+            result.add(rows.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Groups rows by keys and computes aggregates for each group.
+     * Each result row contains key values followed by aggregate results.
+     * Groups are returned in order of their first rows.
+     */
+    @NotNull
+    public List<Object[]> group(@NotNull List<ValueReader<ROW>> keys, @NotNull List<Aggregate<ROW>> aggregates) throws DBException {
+        int rowCount = rows.size();
+        Object[][] keyVectors = new Object[keys.size()][];
+        for (int i = 0; i < keys.size(); i++) {
+            keyVectors[i] = readVector(keys.get(i), null);
+        }
+        Object[][] argVectors = new Object[aggregates.size()][];
+        for (int i = 0; i < aggregates.size(); i++) {
+            ValueReader<ROW> argument = aggregates.get(i).argument;
+            argVectors[i] = argument == null ? null : readVector(argument, null);
+        }
+        int[] hashes = new int[rowCount];
+        forEachChunk(rowCount, (from, to) -> {
+            for (int row = from; row < to; row++) {
+                int hash = 1;
+                for (Object[] keyVector : keyVectors) {
+                    hash = 31 * hash + valueHash(keyVector[row]);
+                }
+                hashes[row] = hash;
+            }
+        });
+
+        // Each partition owns groups with the same hash remainder, so partitions don't need to be merged
+        int partitionCount = parallel ? ForkJoinPool.commonPool().getParallelism() : 1;
+        List<ForkJoinTask<List<GroupState>>> tasks = new ArrayList<>(partitionCount);
+        for (int p = 0; p < partitionCount; p++) {
+            final int partition = p;
+            ForkJoinTask<List<GroupState>> task = ForkJoinTask.adapt(
+                () -> aggregatePartition(partition, partitionCount, hashes, keyVectors, argVectors, aggregates));
+            tasks.add(partitionCount > 1 ? task.fork() : task);
+        }
+        List<GroupState> groups = new ArrayList<>();
+        try {
+            for (ForkJoinTask<List<GroupState>> task : tasks) {
+                groups.addAll(partitionCount > 1 ? task.join() : task.invoke());
+            }
+        } catch (RuntimeException e) {
+            // Function creation error
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof DBException) {
+                    throw (DBException) cause;
+                }
+            }
+            throw e;
+        }
+        groups.sort(Comparator.comparingInt(group -> group.firstRow));
+
+        List<Object[]> result = new ArrayList<>(groups.size());
+        for (GroupState group : groups) {
+            Object[] resultRow = new Object[keys.size() + aggregates.size()];
+            System.arraycopy(group.key.values, 0, resultRow, 0, keys.size());
+            for (int i = 0; i < aggregates.size(); i++) {
+                IAggregateFunction function = group.functions[i];
+                int valueCount = group.valueCounts[i];
+                if (valueCount > 0) {
+                    resultRow[keys.size() + i] = function.getResult(valueCount);
+                } else if (isCountFunction(function)) {
+                    resultRow[keys.size() + i] = 0;
+                }
+            }
+            result.add(resultRow);
+        }
+        return result;
+    }
+
+    private List<GroupState> aggregatePartition(
+        int partition,
+        int partitionCount,
+        int[] hashes,
+        Object[][] keyVectors,
+        Object[][] argVectors,
+        List<Aggregate<ROW>> aggregates
+    ) {
+        Map<GroupKey, GroupState> groups = new LinkedHashMap<>();
+        for (int row = 0; row < hashes.length; row++) {
+            if (partitionCount > 1 && Math.floorMod(hashes[row], partitionCount) != partition) {
+                continue;
+            }
+            Object[] keyValues = new Object[keyVectors.length];
+            for (int k = 0; k < keyVectors.length; k++) {
+                keyValues[k] = keyVectors[k][row];
+            }
+            GroupKey key = new GroupKey(keyValues, hashes[row]);
+            GroupState group = groups.get(key);
+            if (group == null) {
+                group = new GroupState(key, row, createFunctions(aggregates));
+                groups.put(key, group);
+            }
+            for (int i = 0; i < aggregates.size(); i++) {
+                Object value;
+                if (argVectors[i] == null) {
+                    // All rows
+                    value = row;
+                } else {
+                    value = argVectors[i][row];
+                    if (value == null) {
+                        continue;
+                    }
+                }
+                if (group.functions[i].accumulate(value, false)) {
+                    group.valueCounts[i]++;
+                }
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private IAggregateFunction[] createFunctions(List<Aggregate<ROW>> aggregates) {
+        IAggregateFunction[] functions = new IAggregateFunction[aggregates.size()];
+        for (int i = 0; i < functions.length; i++) {
+            try {
+                functions[i] = aggregates.get(i).factory.createFunction();
+            } catch (DBException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        return functions;
+    }
+
+    private static int valueHash(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        }
+        return value.getClass().isArray() ? Arrays.deepHashCode(new Object[]{value}) : value.hashCode();
+    }
+
+    private static boolean isCountFunction(IAggregateFunction function) {
+        return function instanceof FunctionCount || function instanceof FunctionCountDistinct || function instanceof FunctionCountNulls;
+    }
+
+    ///////////////////////////////////////////////////
+    // Filtering
+
+    private int[] filter(DBDDataFilter filter) throws DBCException {
+        int[] selection = IntStream.range(0, rows.size()).toArray();
+        List<ConstraintPredicate<ROW>> predicates = new ArrayList<>();
+        for (DBDAttributeConstraint constraint : filter.getConstraints()) {
+            if (constraint.getOperator() == null) {
+                continue;
+            }
+            ValueReader<ROW> reader = resolver.getReader(constraint);
+            if (reader == null) {
+                throw new DBCException("Attribute '" + constraint.getAttributeName() + "' is not available locally");
+            }
+            predicates.add(new ConstraintPredicate<>(constraint, reader));
+        }
+        if (predicates.isEmpty()) {
+            return selection;
+        }
+        if (filter.isAnyConstraint()) {
+            // Each condition is checked only for rows which didn't match previous conditions
+            boolean[] matched = new boolean[rows.size()];
+            int[] remaining = selection;
+            for (ConstraintPredicate<ROW> predicate : predicates) {
+                boolean[] mask = evaluate(predicate, remaining);
+                int count = 0;
+                for (int i = 0; i < remaining.length; i++) {
+                    if (mask[i]) {
+                        matched[remaining[i]] = true;
+                    } else {
+                        remaining[count++] = remaining[i];
+                    }
+                }
+                remaining = Arrays.copyOf(remaining, count);
+            }
+            return IntStream.range(0, rows.size()).filter(row -> matched[row]).toArray();
+        } else {
+            for (ConstraintPredicate<ROW> predicate : predicates) {
+                selection = compact(selection, evaluate(predicate, selection));
+                if (selection.length == 0) {
+                    break;
+                }
+            }
+            return selection;
+        }
+    }
+
+    private boolean[] evaluate(ConstraintPredicate<ROW> predicate, int[] selection) {
+        Object[] vector = readVector(predicate.reader, selection);
+        boolean[] mask = new boolean[selection.length];
+        forEachChunk(selection.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                mask[i] = predicate.test(vector[i]);
+            }
+        });
+        return mask;
+    }
+
+    private static int[] compact(int[] selection, boolean[] mask) {
+        int count = 0;
+        int[] result = new int[selection.length];
+        for (int i = 0; i < selection.length; i++) {
+            if (mask[i]) {
+                result[count++] = selection[i];
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static class ConstraintPredicate<ROW> {
+        private final DBCLogicalOperator operator;
+        private final boolean reverse;
+        private final Object value;
+        private final ValueReader<ROW> reader;
+
+        ConstraintPredicate(DBDAttributeConstraint constraint, ValueReader<ROW> reader) {
+            this.operator = constraint.getOperator();
+            this.reverse = constraint.isReverseOperator();
+            this.value = constraint.getValue();
+            this.reader = reader;
+        }
+
+        boolean test(Object cellValue) {
+            if (operator.getArgumentCount() == 0) {
+                return operator.evaluate(cellValue, null) != reverse;
+            }
+            if (DBUtils.isNullValue(value)) {
+                // Constraints with empty value are the same as IS NULL
+                return DBUtils.isNullValue(cellValue) != reverse;
+            }
+            if (DBUtils.isNullValue(cellValue)) {
+                // NULL never matches comparison, even negated one
+                return false;
+            }
+            boolean result;
+            if (operator.getArgumentCount() < 0 || (operator == DBCLogicalOperator.EQUALS && value instanceof Object[])) {
+                result = containsValue(cellValue);
+            } else {
+                result = operator.evaluate(cellValue, new Object[]{value});
+            }
+            return result != reverse;
+        }
+
+        private boolean containsValue(Object cellValue) {
+            if (!value.getClass().isArray()) {
+                return DBUtils.compareDataValues(cellValue, value) == 0;
+            }
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                Object item = Array.get(value, i);
+                if (!DBUtils.isNullValue(item) && DBUtils.compareDataValues(cellValue, item) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    ///////////////////////////////////////////////////
+    // Ordering
+
+    private int[] sort(int[] selection, List<DBDAttributeConstraint> orderConstraints) throws DBCException {
+        if (orderConstraints.isEmpty() || selection.length < 2) {
+            return selection;
+        }
+        int orderCount = orderConstraints.size();
+        Object[][] vectors = new Object[orderCount][];
+        boolean[] descending = new boolean[orderCount];
+        for (int i = 0; i < orderCount; i++) {
+            DBDAttributeConstraint constraint = orderConstraints.get(i);
+            ValueReader<ROW> reader = resolver.getReader(constraint);
+            if (reader == null) {
+                throw new DBCException("Attribute '" + constraint.getAttributeName() + "' is not available locally");
+            }
+            vectors[i] = readVector(reader, selection);
+            descending[i] = constraint.isOrderDescending();
+        }
+        // Sort positions in selection. Sort is stable, so equal rows keep original order
+        Integer[] positions = new Integer[selection.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        Comparator<Integer> comparator = (pos1, pos2) -> {
+            for (int i = 0; i < orderCount; i++) {
+                int result = DBUtils.compareDataValues(vectors[i][pos1], vectors[i][pos2]);
+                if (result != 0) {
+                    return descending[i] ? -result : result;
+                }
+            }
+            return 0;
+        };
+        if (parallel) {
+            Arrays.parallelSort(positions, comparator);
+        } else {
+            Arrays.sort(positions, comparator);
+        }
+        int[] result = new int[selection.length];
+        for (int i = 0; i < positions.length; i++) {
+            result[i] = selection[positions[i]];
+        }
+        return result;
+    }
+
+    ///////////////////////////////////////////////////
+    // Vectors
+
+    /**
+     * Reads values of selected rows. Null selection means all rows.
+     */
+    private Object[] readVector(ValueReader<ROW> reader, @Nullable int[] selection) {
+        int length = selection == null ? rows.size() : selection.length;
+        Object[] vector = new Object[length];
+        forEachChunk(length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                Object value = reader.getValue(rows.get(selection == null ? i : selection[i]));
+                vector[i] = DBUtils.isNullValue(value) ? null : value;
+            }
+        });
+        return vector;
+    }
+
+    private interface ChunkProcessor {
+        void process(int from, int to);
+    }
+
+    private void forEachChunk(int length, ChunkProcessor processor) {
+        if (!parallel || length < CHUNK_SIZE * 2) {
+            processor.process(0, length);
+            return;
+        }
+        int chunkCount = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunkCount).parallel().forEach(
+            chunk -> processor.process(chunk * CHUNK_SIZE, Math.min(length, (chunk + 1) * CHUNK_SIZE)));
+    }
+
+    private static class GroupKey {
+        private final Object[] values;
+        private final int hash;
+
+        GroupKey(Object[] values, int hash) {
+            this.values = values;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof GroupKey && hash == ((GroupKey) obj).hash && Arrays.deepEquals(values, ((GroupKey) obj).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class GroupState {
+        private final GroupKey key;
+        private final int firstRow;
+        private final IAggregateFunction[] functions;
+        private final int[] valueCounts;
+
+        GroupState(GroupKey key, int firstRow, IAggregateFunction[] functions) {
+            this.key = key;
+            this.firstRow = firstRow;
+            this.functions = functions;
+            this.valueCounts = new int[functions.length];
+        }
+    }
+
+}
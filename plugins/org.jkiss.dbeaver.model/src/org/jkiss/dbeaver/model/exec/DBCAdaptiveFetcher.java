@@ -0,0 +1,286 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.DBDRowBatch;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Adaptive result set fetcher.
+ * <p>
+ * Reading starts with a small fetch size. During the first batches the fetcher measures
+ * row size and round-trip latency and then tunes result set fetch size so that a single
+ * round trip transfers about {@link #TARGET_BATCH_BYTES}. Wide rows get smaller batches,
+ * narrow rows get bigger ones.
+ * <p>
+ * Row size is measured by sampling scalar values of the first rows of each calibration batch.
+ * Values are sampled after they were read into a row batch (see {@link #sampleRow(DBDRowBatch, int)}),
+ * the fetcher never reads the result set itself. LOB and long columns and rows which are not read
+ * by batches are estimated from metadata.
+ */
+public class DBCAdaptiveFetcher {
+
+    private static final Log log = Log.getLog(DBCAdaptiveFetcher.class);
+
+    public static final int MIN_FETCH_SIZE = 10;
+    public static final int MAX_FETCH_SIZE = 50000;
+    public static final int INITIAL_FETCH_SIZE = 200;
+    public static final long TARGET_BATCH_BYTES = 4L * 1024 * 1024;
+
+    private static final int CALIBRATION_BATCHES = 3;
+    private static final int SAMPLE_ROWS_PER_BATCH = 20;
+    // Bigger batches do not make fast round trips any faster, so we do not grow fetch size for them
+    private static final long LOW_LATENCY_NANOS = 2_000_000L;
+    private static final int DEFAULT_VALUE_SIZE = 16;
+    private static final int DEFAULT_STRING_SIZE = 256;
+    private static final int MAX_LOB_ESTIMATE = 64 * 1024;
+
+    private final boolean enabled;
+    private final long maxRows;
+    private final int maxFetchSize;
+    private int fetchSize;
+
+    private DBCResultSet resultSet;
+    private int[] sampledColumns;
+    // Metadata estimate of columns which are not sampled
+    private long estimatedRowBytes;
+    // Metadata estimate of sampled columns. Used until some rows are sampled.
+    private long estimatedSampledBytes;
+    private long rowCount;
+    private int batchNumber;
+    private int batchRows;
+    private long slowestFetchNanos;
+    private long sampledBytes;
+    private int sampledRows;
+
+    private DBCAdaptiveFetcher(boolean enabled, long maxRows, int fetchSize, int maxFetchSize) {
+        this.enabled = enabled;
+        this.maxRows = maxRows;
+        this.fetchSize = fetchSize;
+        this.maxFetchSize = maxFetchSize;
+    }
+
+    /**
+     * Sets statement fetch size and creates fetcher for its result sets.
+     * If adaptive fetch is disabled then fetch size is set as is (see {@link DBExecUtils#setStatementFetchSize}).
+     */
+    @NotNull
+    public static DBCAdaptiveFetcher prepare(@NotNull DBCStatement statement, long firstRow, long maxRows, int fetchSize) {
+        boolean adaptive = isAdaptive(statement, fetchSize);
+        boolean limited = firstRow >= 0 && maxRows > 0;
+        if (!adaptive || (limited && firstRow + maxRows <= INITIAL_FETCH_SIZE)) {
+            // Small limited reads or static fetch size
+            DBExecUtils.setStatementFetchSize(statement, firstRow, maxRows, fetchSize);
+            return new DBCAdaptiveFetcher(false, maxRows, fetchSize, fetchSize);
+        }
+        int maxFetchSize = MAX_FETCH_SIZE;
+        if (limited) {
+            maxFetchSize = (int) Math.min(MAX_FETCH_SIZE, firstRow + maxRows);
+        }
+        int initialFetchSize = Math.min(INITIAL_FETCH_SIZE, maxFetchSize);
+        try {
+            statement.setResultsFetchSize(initialFetchSize);
+        } catch (Exception e) {
+            log.warn(e);
+        }
+        return new DBCAdaptiveFetcher(true, maxRows, initialFetchSize, maxFetchSize);
+    }
+
+    /**
+     * Checks whether statement fetch size will be tuned adaptively.
+     * Explicit fetch size (e.g. configured in data transfer) is always used as is.
+     */
+    public static boolean isAdaptive(@NotNull DBCStatement statement, int fetchSize) {
+        if (fetchSize > 0) {
+            return false;
+        }
+        DBPPreferenceStore preferenceStore = statement.getSession().getDataSource().getContainer().getPreferenceStore();
+        return preferenceStore.getBoolean(ModelPreferences.RESULT_SET_ADAPTIVE_FETCH_SIZE);
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Moves result set to the next row and tunes fetch size on batch boundaries.
+     */
+    public boolean nextRow(@NotNull DBCResultSet resultSet) throws DBCException {
+        if (!enabled || batchNumber >= CALIBRATION_BATCHES && resultSet == this.resultSet) {
+            return resultSet.nextRow();
+        }
+        if (resultSet != this.resultSet) {
+            // Statement may produce multiple result sets
+            startResultSet(resultSet);
+        }
+        long startTime = System.nanoTime();
+        boolean hasRow = resultSet.nextRow();
+        long fetchTime = System.nanoTime() - startTime;
+        if (!hasRow) {
+            return false;
+        }
+        if (fetchTime > slowestFetchNanos) {
+            // Round trip happens on one of batch rows. It is the slowest one.
+            slowestFetchNanos = fetchTime;
+        }
+        batchRows++;
+        rowCount++;
+        if (batchRows >= fetchSize) {
+            finishBatch(resultSet);
+        }
+        return true;
+    }
+
+    private void startResultSet(DBCResultSet resultSet) {
+        this.resultSet = resultSet;
+        this.batchNumber = 0;
+        this.batchRows = 0;
+        this.rowCount = 0;
+        this.slowestFetchNanos = 0;
+        this.sampledBytes = 0;
+        this.sampledRows = 0;
+        this.estimatedRowBytes = 0;
+        this.estimatedSampledBytes = 0;
+        this.sampledColumns = null;
+        try {
+            List<Integer> sampled = new ArrayList<>();
+            Collection<? extends DBCAttributeMetaData> attributes = resultSet.getMeta().getAttributes();
+            int index = 0;
+            for (DBCAttributeMetaData attribute : attributes) {
+                if (isSafeToSample(attribute)) {
+                    sampled.add(index);
+                    estimatedSampledBytes += estimateValueSize(attribute);
+                } else {
+                    estimatedRowBytes += estimateValueSize(attribute);
+                }
+                index++;
+            }
+            sampledColumns = sampled.stream().mapToInt(Integer::intValue).toArray();
+        } catch (Exception e) {
+            log.debug("Can't read result set metadata for adaptive fetch: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Samples values of the row which was just read into the batch.
+     * Must be called after {@link #nextRow(DBCResultSet)} and {@link DBDRowBatch#readRow}.
+     */
+    public void sampleRow(@NotNull DBDRowBatch batch, int row) {
+        if (!enabled || sampledColumns == null || batchNumber >= CALIBRATION_BATCHES || batchRows > SAMPLE_ROWS_PER_BATCH) {
+            return;
+        }
+        long rowBytes = 0;
+        for (int index : sampledColumns) {
+            if (index >= batch.getColumnCount()) {
+                // Batch doesn't match result set metadata
+                sampledColumns = null;
+                return;
+            }
+            rowBytes += getValueSize(batch.getValue(row, index));
+        }
+        sampledBytes += rowBytes;
+        sampledRows++;
+    }
+
+    private void finishBatch(DBCResultSet resultSet) {
+        batchNumber++;
+        long bytesPerRow = Math.max(1, estimatedRowBytes + (sampledRows == 0 ? estimatedSampledBytes : sampledBytes / sampledRows));
+        long newFetchSize = TARGET_BATCH_BYTES / bytesPerRow;
+        if (slowestFetchNanos < LOW_LATENCY_NANOS) {
+            newFetchSize = Math.min(newFetchSize, fetchSize);
+        }
+        if (maxRows > 0) {
+            newFetchSize = Math.min(newFetchSize, maxRows - rowCount);
+        }
+        newFetchSize = Math.max(MIN_FETCH_SIZE, Math.min(maxFetchSize, newFetchSize));
+        if (newFetchSize != fetchSize) {
+            try {
+                resultSet.setResultsFetchSize((int) newFetchSize);
+                log.debug("Adaptive fetch size " + fetchSize + " -> " + newFetchSize +
+                    " (" + bytesPerRow + " bytes/row, round trip " + (slowestFetchNanos / 1_000_000L) + "ms)");
+                fetchSize = (int) newFetchSize;
+            } catch (Exception e) {
+                log.debug("Can't change result set fetch size: " + e.getMessage());
+                batchNumber = CALIBRATION_BATCHES;
+            }
+        }
+        batchRows = 0;
+        slowestFetchNanos = 0;
+    }
+
+    private static boolean isSafeToSample(DBCAttributeMetaData attribute) {
+        switch (attribute.getDataKind()) {
+            case CONTENT:
+            case OBJECT:
+            case ARRAY:
+            case STRUCT:
+            case DOCUMENT:
+            case ROWID:
+            case ANY:
+            case UNKNOWN:
+                return false;
+            default:
+                break;
+        }
+        switch (attribute.getTypeID()) {
+            // Long columns are streamed by some drivers and can't be read twice
+            case Types.LONGVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.LONGVARBINARY:
+            case Types.CLOB:
+            case Types.NCLOB:
+            case Types.BLOB:
+            case Types.SQLXML:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private static long estimateValueSize(DBCAttributeMetaData attribute) {
+        long maxLength = attribute.getMaxLength();
+        DBPDataKind dataKind = attribute.getDataKind();
+        if (dataKind == DBPDataKind.NUMERIC || dataKind == DBPDataKind.BOOLEAN || dataKind == DBPDataKind.DATETIME) {
+            return DEFAULT_VALUE_SIZE;
+        }
+        if (maxLength <= 0) {
+            return dataKind == DBPDataKind.CONTENT ? MAX_LOB_ESTIMATE : DEFAULT_STRING_SIZE;
+        }
+        return Math.min(maxLength, MAX_LOB_ESTIMATE);
+    }
+
+    private static long getValueSize(Object value) {
+        if (value == null) {
+            return 1;
+        } else if (value instanceof CharSequence) {
+            return 2L * ((CharSequence) value).length();
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        return DEFAULT_VALUE_SIZE;
+    }
+
+}
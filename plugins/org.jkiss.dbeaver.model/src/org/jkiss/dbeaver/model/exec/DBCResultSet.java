@@ -21,6 +21,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBPCloseableObject;
 import org.jkiss.dbeaver.model.DBPObject;
+import org.jkiss.dbeaver.model.data.DBDRowBatch;
 import org.jkiss.dbeaver.model.data.DBDValueMeta;
 
 /**
@@ -31,6 +32,7 @@ public interface DBCResultSet extends DBPObject, DBPCloseableObject
     String FEATURE_NAME_JDBC            = "jdbc";
     String FEATURE_NAME_DOCUMENT        = "document";
     String FEATURE_NAME_LOCAL           = "local";
+    String FEATURE_NAME_CACHED          = "cached";
 
     DBCSession getSession();
 
@@ -56,6 +58,20 @@ public interface DBCResultSet extends DBPObject, DBPCloseableObject
 
     boolean nextRow() throws DBCException;
 
+    /**
+     * Changes fetch size for the rest of the result set.
+     * Does nothing by default.
+     */
+    default void setResultsFetchSize(int fetchSize) throws DBCException {
+    }
+
+    /**
+     * Prepares column readers of the rows batch.
+     * By default all values are read with attribute value handlers.
+     */
+    default void prepareRowBatch(@NotNull DBCSession session, @NotNull DBDRowBatch batch) throws DBCException {
+    }
+
     boolean moveTo(int position) throws DBCException;
 
     @NotNull
@@ -23,6 +23,8 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPErrorAssistant;
@@ -273,6 +275,85 @@ public class DBExecUtils {
         }
     }
 
+    /**
+     * Fetches result set rows into the receiver.
+     * Rows are passed by batches if receiver supports them (see {@link DBDDataReceiverBatch}).
+     *
+     * @param fetcher adaptive fetcher of the statement, may be null
+     * @param maxRows max rows to fetch. Zero or negative means no limit
+     */
+    public static void fetchResultSet(
+        @NotNull DBCSession session,
+        @NotNull DBCResultSet resultSet,
+        @NotNull DBDDataReceiver dataReceiver,
+        @Nullable DBCAdaptiveFetcher fetcher,
+        @NotNull DBFetchProgress fetchProgress,
+        long maxRows) throws DBCException
+    {
+        DBDRowBatch batch = null;
+        if (dataReceiver instanceof DBDDataReceiverBatch) {
+            batch = ((DBDDataReceiverBatch) dataReceiver).createRowBatch(session, resultSet);
+        }
+        if (batch == null) {
+            while (!fetchProgress.isMaxRowsFetched(maxRows) && !fetchProgress.isCanceled() &&
+                (fetcher == null ? resultSet.nextRow() : fetcher.nextRow(resultSet)))
+            {
+                dataReceiver.fetchRow(session, resultSet);
+                fetchProgress.monitorRowFetch();
+            }
+            return;
+        }
+        boolean hasMoreRows = true;
+        while (hasMoreRows) {
+            batch.clear();
+            try {
+                while (!batch.isFull()) {
+                    if (fetchProgress.isMaxRowsFetched(maxRows) || fetchProgress.isCanceled() ||
+                        !(fetcher == null ? resultSet.nextRow() : fetcher.nextRow(resultSet)))
+                    {
+                        hasMoreRows = false;
+                        break;
+                    }
+                    batch.readRow(session, resultSet);
+                    if (fetcher != null) {
+                        // Sample values already read by the batch, result set columns can't be read twice
+                        fetcher.sampleRow(batch, batch.getRowCount() - 1);
+                    }
+                    fetchProgress.monitorRowFetch();
+                }
+            } finally {
+                // Pass rows read before error too
+                if (batch.getRowCount() > 0) {
+                    ((DBDDataReceiverBatch) dataReceiver).fetchBatch(session, resultSet, batch);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates rows batch for the result set.
+     * Returns null if some attribute values depend on the result set cursor (e.g. LOBs), such rows can't be batched.
+     *
+     * @param bindings   result set attributes
+     * @param attributes attributes passed to value handlers
+     */
+    @Nullable
+    public static DBDRowBatch createRowBatch(
+        @NotNull DBCSession session,
+        @NotNull DBCResultSet resultSet,
+        @NotNull DBDAttributeBinding[] bindings,
+        @NotNull DBSAttributeBase[] attributes) throws DBCException
+    {
+        for (DBDAttributeBinding binding : bindings) {
+            if (binding != null && binding.getDataKind() == DBPDataKind.CONTENT) {
+                return null;
+            }
+        }
+        DBDRowBatch batch = new DBDRowBatch(bindings, attributes, DBDRowBatch.DEFAULT_BATCH_SIZE);
+        resultSet.prepareRowBatch(session, batch);
+        return batch;
+    }
+
     public static void executeScript(DBRProgressMonitor monitor, DBCExecutionContext executionContext, String jobName, List<DBEPersistAction> persistActions) {
         try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.UTIL, jobName)) {
             executeScript(session, persistActions.toArray(new DBEPersistAction[0]));
@@ -0,0 +1,143 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDRowBatch;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.AbstractResultSet;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSetMeta;
+
+import java.util.List;
+
+/**
+ * Result set which replays rows stored in {@link DBCResultCache}.
+ * <p>
+ * Attributes metadata is the metadata of original result set. Rows are shared with the cache and must not be modified.
+ * Feature {@link DBCResultSet#FEATURE_NAME_CACHED} returns time when result was cached.
+ */
+public class DBCCachedResultSet extends AbstractResultSet<DBCSession, DBCStatement> {
+
+    private final List<DBCAttributeMetaData> attributes;
+    private final List<Object[]> rows;
+    private final long cacheTime;
+    private int curPosition = -1;
+
+    DBCCachedResultSet(
+        @NotNull DBCSession session,
+        @NotNull List<DBCAttributeMetaData> attributes,
+        @NotNull List<Object[]> rows,
+        long cacheTime)
+    {
+        super(session, null);
+        this.attributes = attributes;
+        this.rows = rows;
+        this.cacheTime = cacheTime;
+    }
+
+    public long getCacheTime() {
+        return cacheTime;
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Nullable
+    @Override
+    public Object getAttributeValue(int index) throws DBCException {
+        if (curPosition < 0 || curPosition >= rows.size()) {
+            throw new DBCException("No current row");
+        }
+        Object[] row = rows.get(curPosition);
+        if (index < 0 || index >= row.length) {
+            throw new DBCException("Attribute index out of range (" + index + "/" + row.length + ")");
+        }
+        return row[index];
+    }
+
+    @Nullable
+    @Override
+    public Object getAttributeValue(String name) throws DBCException {
+        for (int i = 0; i < attributes.size(); i++) {
+            if (attributes.get(i).getName().equals(name)) {
+                return getAttributeValue(i);
+            }
+        }
+        throw new DBCException("Bad attribute name: " + name);
+    }
+
+    @Override
+    public boolean nextRow() {
+        if (curPosition + 1 >= rows.size()) {
+            return false;
+        }
+        curPosition++;
+        return true;
+    }
+
+    @Override
+    public boolean moveTo(int position) {
+        if (position < 0 || position >= rows.size()) {
+            return false;
+        }
+        curPosition = position;
+        return true;
+    }
+
+    /**
+     * Cached values are already converted by value handlers, so they are passed to the batch as is.
+     */
+    @Override
+    public void prepareRowBatch(@NotNull DBCSession session, @NotNull DBDRowBatch batch) {
+        for (int i = 0; i < batch.getColumnCount(); i++) {
+            DBDAttributeBinding binding = batch.getBinding(i);
+            if (binding != null && batch.getAttribute(i) != null && binding.getParentObject() == null) {
+                batch.setColumnReader(i, DBDRowBatch.ColumnType.OBJECT, DBCCachedResultSet::readValue);
+            }
+        }
+    }
+
+    @NotNull
+    @Override
+    public DBCResultSetMetaData getMeta() {
+        return new LocalResultSetMeta(attributes);
+    }
+
+    @Override
+    public Object getFeature(String name) {
+        if (FEATURE_NAME_CACHED.equals(name)) {
+            return cacheTime;
+        }
+        return super.getFeature(name);
+    }
+
+    @Override
+    public void close() {
+        // Rows are owned by the cache
+        curPosition = -1;
+    }
+
+    private static void readValue(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch, int row, int column)
+        throws DBCException
+    {
+        batch.setObject(row, column, resultSet.getAttributeValue(batch.getBinding(column).getOrdinalPosition()));
+    }
+
+}
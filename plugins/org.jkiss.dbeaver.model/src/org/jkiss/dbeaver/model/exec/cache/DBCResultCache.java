@@ -0,0 +1,720 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceListener;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.temporal.Temporal;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of read-only query results.
+ * <p>
+ * Results are keyed by data source, normalized query text, parameters, data filter and fetched segment.
+ * When total size of results exceeds memory limit, least recently used results are spilled into temp files.
+ * Results which don't fit into disk limit are removed. Results expire after configured time
+ * and are invalidated when data source executes statements which may modify data or ends transaction.
+ * Only results consisting of plain values (strings, numbers, dates, binaries) are cached.
+ * Cache does nothing unless {@link ModelPreferences#RESULT_CACHE_ENABLED} is set.
+ */
+public class DBCResultCache implements DBPPreferenceListener {
+
+    private static final Log log = Log.getLog(DBCResultCache.class);
+
+    private static final String CACHE_FOLDER = "result-cache"; //$NON-NLS-1$
+    private static final String RESULT_FILE_EXT = ".result"; //$NON-NLS-1$
+
+    private static final long OBJECT_OVERHEAD = 16;
+    private static final long REFERENCE_SIZE = 8;
+
+    private static final Pattern READ_ONLY_QUERY_PATTERN = Pattern.compile(
+        "^(SELECT|WITH|SHOW|EXPLAIN|DESCRIBE|DESC|VALUES)\\b", Pattern.CASE_INSENSITIVE);
+    // Keywords which may turn read-only query into modifying one. False positives only cause extra invalidation.
+    private static final Pattern MODIFYING_KEYWORD_PATTERN = Pattern.compile(
+        "\\b(INSERT|UPDATE|DELETE|MERGE|UPSERT|REPLACE|CREATE|ALTER|DROP|TRUNCATE|GRANT|REVOKE|CALL|EXEC|EXECUTE|INTO|NEXTVAL|SETVAL|LOCK)\\b",
+        Pattern.CASE_INSENSITIVE);
+
+    private static DBCResultCache instance;
+
+    private static class Entry {
+        private final String dataSourceId;
+        private final List<DBCAttributeMetaData> attributes;
+        private final long size;
+        private final long createTime;
+        // Rows are null when result is spilled into the file
+        private volatile List<Object[]> rows;
+        private volatile Path file;
+        private boolean spilling;
+
+        Entry(@NotNull String dataSourceId, @NotNull List<DBCAttributeMetaData> attributes, @NotNull List<Object[]> rows, long size) {
+            this.dataSourceId = dataSourceId;
+            this.attributes = attributes;
+            this.rows = rows;
+            this.size = size;
+            this.createTime = System.currentTimeMillis();
+        }
+    }
+
+    // Key -> result. Access order is used for LRU spilling and eviction.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    // Data source id -> invalidation counter. Results read before invalidation are not stored.
+    private final Map<String, Long> generations = new HashMap<>();
+    private final boolean listenPreferences;
+    private volatile boolean enabled;
+    private volatile long memoryLimit;
+    private volatile long diskLimit;
+    private volatile long timeToLive;
+    private Path folder;
+    private long memorySize;
+    private long diskSize;
+    private long hitCount;
+    private long missCount;
+
+    @NotNull
+    public static synchronized DBCResultCache getInstance() {
+        if (instance == null) {
+            instance = new DBCResultCache();
+        }
+        return instance;
+    }
+
+    private DBCResultCache() {
+        this.listenPreferences = true;
+        ModelPreferences.getPreferences().addPropertyChangeListener(this);
+        loadSettings();
+    }
+
+    /**
+     * Creates enabled cache with explicit limits
+     *
+     * @param folder      folder for spilled results. If null then results are not spilled.
+     * @param memoryLimit max size of results kept in memory (bytes)
+     * @param diskLimit   max size of spilled results (bytes)
+     * @param timeToLive  result expiration time (ms). Zero means that results do not expire.
+     */
+    DBCResultCache(@Nullable Path folder, long memoryLimit, long diskLimit, long timeToLive) throws IOException {
+        this.listenPreferences = false;
+        this.enabled = true;
+        this.memoryLimit = memoryLimit;
+        this.diskLimit = folder == null ? 0 : diskLimit;
+        this.timeToLive = timeToLive;
+        if (folder != null) {
+            Files.createDirectories(folder);
+            this.folder = folder;
+            deleteResultFiles();
+        }
+    }
+
+    public void dispose() {
+        if (listenPreferences) {
+            ModelPreferences.getPreferences().removePropertyChangeListener(this);
+            synchronized (DBCResultCache.class) {
+                if (instance == this) {
+                    instance = null;
+                }
+            }
+        }
+        enabled = false;
+        clear();
+    }
+
+    private void loadSettings() {
+        final DBPPreferenceStore preferences = ModelPreferences.getPreferences();
+        memoryLimit = preferences.getLong(ModelPreferences.RESULT_CACHE_MAX_SIZE) * 1024 * 1024;
+        diskLimit = preferences.getLong(ModelPreferences.RESULT_CACHE_DISK_MAX_SIZE) * 1024 * 1024;
+        timeToLive = preferences.getLong(ModelPreferences.RESULT_CACHE_TTL) * 1000;
+        enabled = preferences.getBoolean(ModelPreferences.RESULT_CACHE_ENABLED) && memoryLimit > 0;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    @Override
+    public void preferenceChange(PreferenceChangeEvent event) {
+        final String property = event.getProperty();
+        if (ModelPreferences.RESULT_CACHE_ENABLED.equals(property) || ModelPreferences.RESULT_CACHE_MAX_SIZE.equals(property) ||
+            ModelPreferences.RESULT_CACHE_DISK_MAX_SIZE.equals(property) || ModelPreferences.RESULT_CACHE_TTL.equals(property))
+        {
+            loadSettings();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized int getResultCount() {
+        return entries.size();
+    }
+
+    public synchronized long getMemorySize() {
+        return memorySize;
+    }
+
+    public synchronized long getDiskSize() {
+        return diskSize;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Keys
+
+    /**
+     * Makes cache key of the query result or returns null if query result can't be cached.
+     *
+     * @param query      query text with applied data filter
+     * @param parameters bound query parameter values
+     * @param offset     first fetched row
+     * @param maxRows    max fetched rows
+     */
+    @Nullable
+    public String makeQueryKey(
+        @NotNull DBCExecutionContext context,
+        @NotNull String query,
+        @Nullable List<?> parameters,
+        long offset,
+        long maxRows)
+    {
+        if (!enabled || !isReadOnlyQuery(query) || !isCommittedRead(context)) {
+            return null;
+        }
+        StringBuilder key = makeContextKey(context);
+        key.append(normalizeQuery(query)).append('\n');
+        if (parameters != null) {
+            for (Object param : parameters) {
+                key.append(param).append('\u0000');
+            }
+        }
+        return key.append('\n').append(offset).append(':').append(maxRows).toString();
+    }
+
+    /**
+     * Makes cache key of the entity data
+     */
+    @Nullable
+    public String makeEntityKey(
+        @NotNull DBCExecutionContext context,
+        @NotNull DBSEntity entity,
+        @Nullable DBDDataFilter dataFilter,
+        long offset,
+        long maxRows)
+    {
+        if (!enabled || !isCommittedRead(context)) {
+            return null;
+        }
+        StringBuilder key = makeContextKey(context);
+        key.append(DBUtils.getObjectFullId(entity)).append('\n');
+        if (dataFilter != null && dataFilter.hasFilters()) {
+            SQLUtils.appendConditionString(dataFilter, context.getDataSource(), null, key, true);
+            key.append('\n');
+            SQLUtils.appendOrderString(dataFilter, context.getDataSource(), null, false, key);
+        }
+        return key.append('\n').append(offset).append(':').append(maxRows).toString();
+    }
+
+    /**
+     * Results are shared by all contexts of the data source. A context in manual commit mode may see
+     * its own uncommitted changes, so its results are neither stored nor taken from the cache.
+     */
+    private static boolean isCommittedRead(@NotNull DBCExecutionContext context) {
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        if (txnManager == null) {
+            return true;
+        }
+        try {
+            return txnManager.isAutoCommit();
+        } catch (DBCException e) {
+            log.debug("Can't read auto-commit mode: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @NotNull
+    private static StringBuilder makeContextKey(@NotNull DBCExecutionContext context) {
+        StringBuilder key = new StringBuilder(256);
+        key.append(context.getDataSource().getContainer().getId()).append('\n');
+        // The same query text may refer to different objects in different schemas
+        DBCExecutionContextDefaults<?, ?> contextDefaults = context.getContextDefaults();
+        if (contextDefaults != null) {
+            DBSObject catalog = contextDefaults.getDefaultCatalog();
+            DBSObject schema = contextDefaults.getDefaultSchema();
+            if (catalog != null) {
+                key.append(catalog.getName());
+            }
+            key.append('.');
+            if (schema != null) {
+                key.append(schema.getName());
+            }
+        }
+        return key.append('\n');
+    }
+
+    /**
+     * Checks whether query only reads data. Used to decide whether query result can be cached
+     * and whether query execution invalidates cached results.
+     */
+    public static boolean isReadOnlyQuery(@Nullable String query) {
+        if (query == null) {
+            return false;
+        }
+        String text = skipLeadingComments(query);
+        return READ_ONLY_QUERY_PATTERN.matcher(text).find() && !MODIFYING_KEYWORD_PATTERN.matcher(text).find();
+    }
+
+    @NotNull
+    private static String skipLeadingComments(@NotNull String query) {
+        int pos = 0;
+        int length = query.length();
+        while (pos < length) {
+            char c = query.charAt(pos);
+            if (Character.isWhitespace(c) || c == '(') {
+                pos++;
+            } else if (query.startsWith("--", pos)) { //$NON-NLS-1$
+                int lineEnd = query.indexOf('\n', pos);
+                pos = lineEnd < 0 ? length : lineEnd + 1;
+            } else if (query.startsWith("/*", pos)) { //$NON-NLS-1$
+                int commentEnd = query.indexOf("*/", pos + 2); //$NON-NLS-1$
+                pos = commentEnd < 0 ? length : commentEnd + 2;
+            } else {
+                break;
+            }
+        }
+        return query.substring(pos);
+    }
+
+    /**
+     * Collapses whitespaces outside of quoted strings and identifiers and removes trailing delimiter
+     */
+    @NotNull
+    public static String normalizeQuery(@NotNull String query) {
+        StringBuilder result = new StringBuilder(query.length());
+        char quote = 0;
+        boolean space = false;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (quote != 0) {
+                result.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                space = result.length() > 0;
+                continue;
+            }
+            if (space) {
+                result.append(' ');
+                space = false;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            }
+            result.append(c);
+        }
+        int length = result.length();
+        while (length > 0 && (result.charAt(length - 1) == ';' || result.charAt(length - 1) == ' ')) {
+            length--;
+        }
+        result.setLength(length);
+        return result.toString();
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Results
+
+    /**
+     * Opens result set over cached result
+     *
+     * @return result set or null if result is not cached or expired
+     */
+    @Nullable
+    public DBCCachedResultSet openResultSet(@NotNull DBCSession session, @NotNull String key) {
+        final Entry entry = findEntry(key);
+        final List<Object[]> rows = entry == null ? null : readEntryRows(key, entry);
+        if (rows == null) {
+            return null;
+        }
+        return new DBCCachedResultSet(session, entry.attributes, rows, entry.createTime);
+    }
+
+    /**
+     * Wraps data receiver with recorder which stores fetched rows in the cache
+     */
+    @NotNull
+    public DBCResultCacheRecorder createRecorder(
+        @NotNull DBPDataSourceContainer container,
+        @NotNull String key,
+        @NotNull DBDDataReceiver receiver)
+    {
+        return new DBCResultCacheRecorder(this, container.getId(), getGeneration(container.getId()), key, receiver);
+    }
+
+    synchronized long getGeneration(@NotNull String dataSourceId) {
+        return generations.getOrDefault(dataSourceId, 0L);
+    }
+
+    /**
+     * Passes cached result to the data receiver the same way as data containers pass fetched rows
+     */
+    @NotNull
+    public static DBCStatistics readCachedData(
+        @NotNull DBCSession session,
+        @NotNull DBCCachedResultSet resultSet,
+        @NotNull DBDDataReceiver dataReceiver,
+        long offset,
+        long maxRows) throws DBCException
+    {
+        final DBCStatistics statistics = new DBCStatistics();
+        try {
+            dataReceiver.fetchStart(session, resultSet, offset, maxRows);
+            try {
+                final DBFetchProgress fetchProgress = new DBFetchProgress(session.getProgressMonitor());
+                DBExecUtils.fetchResultSet(session, resultSet, dataReceiver, null, fetchProgress, 0);
+                fetchProgress.dumpStatistics(statistics);
+            } finally {
+                resultSet.close();
+                dataReceiver.fetchEnd(session, resultSet);
+            }
+        } finally {
+            dataReceiver.close();
+        }
+        return statistics;
+    }
+
+    @Nullable
+    List<Object[]> getRows(@NotNull String key) {
+        final Entry entry = findEntry(key);
+        return entry == null ? null : readEntryRows(key, entry);
+    }
+
+    @Nullable
+    private synchronized Entry findEntry(@NotNull String key) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null && timeToLive > 0 && System.currentTimeMillis() - entry.createTime > timeToLive) {
+            removeEntry(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return entry;
+    }
+
+    @Nullable
+    private List<Object[]> readEntryRows(@NotNull String key, @NotNull Entry entry) {
+        final List<Object[]> rows;
+        final Path file;
+        synchronized (this) {
+            rows = entry.rows;
+            file = entry.file;
+        }
+        if (rows != null) {
+            return rows;
+        }
+        try {
+            return readRows(file);
+        } catch (Exception e) {
+            log.debug("Error reading cached result: " + e.getMessage());
+            synchronized (this) {
+                if (entries.get(key) == entry) {
+                    removeEntry(key, entry);
+                }
+            }
+            return null;
+        }
+    }
+
+    boolean isResultSizeAllowed(long size) {
+        return size <= Math.max(memoryLimit, diskLimit);
+    }
+
+    void putResult(
+        @NotNull String dataSourceId,
+        long generation,
+        @NotNull String key,
+        @NotNull List<DBCAttributeMetaData> attributes,
+        @NotNull List<Object[]> rows,
+        long size)
+    {
+        if (!enabled || !isResultSizeAllowed(size)) {
+            return;
+        }
+        final List<Entry> spillEntries = new ArrayList<>();
+        synchronized (this) {
+            if (generations.getOrDefault(dataSourceId, 0L) != generation) {
+                // Data source was modified while result was read
+                return;
+            }
+            final Entry prevEntry = entries.get(key);
+            if (prevEntry != null) {
+                removeEntry(key, prevEntry);
+            }
+            entries.put(key, new Entry(dataSourceId, attributes, rows, size));
+            memorySize += size;
+
+            // Spill or evict least recently used results
+            long spillSize = 0;
+            for (Iterator<Map.Entry<String, Entry>> iter = entries.entrySet().iterator(); memorySize - spillSize > memoryLimit && iter.hasNext(); ) {
+                final Map.Entry<String, Entry> eldest = iter.next();
+                final Entry entry = eldest.getValue();
+                if (entry.rows == null || entry.spilling) {
+                    continue;
+                }
+                if (diskLimit > 0 && entry.size <= diskLimit) {
+                    entry.spilling = true;
+                    spillSize += entry.size;
+                    spillEntries.add(entry);
+                } else {
+                    iter.remove();
+                    memorySize -= entry.size;
+                }
+            }
+        }
+        for (Entry entry : spillEntries) {
+            spillEntry(entry);
+        }
+        if (!spillEntries.isEmpty()) {
+            evictSpilledEntries();
+        }
+    }
+
+    private void spillEntry(@NotNull Entry entry) {
+        Path file = null;
+        try {
+            file = Files.createTempFile(getFolder(), "result", RESULT_FILE_EXT); //$NON-NLS-1$
+            writeRows(file, entry.rows);
+        } catch (IOException e) {
+            log.debug("Error spilling cached result: " + e.getMessage());
+            deleteFile(file);
+            file = null;
+        }
+        synchronized (this) {
+            // Spilling result is kept in memory size until it is written
+            entry.spilling = false;
+            memorySize -= entry.size;
+            if (!entries.containsValue(entry)) {
+                // Removed concurrently
+                deleteFile(file);
+                return;
+            }
+            if (file == null) {
+                entries.values().remove(entry);
+                return;
+            }
+            entry.file = file;
+            entry.rows = null;
+            diskSize += entry.size;
+        }
+    }
+
+    private void evictSpilledEntries() {
+        synchronized (this) {
+            for (Iterator<Map.Entry<String, Entry>> iter = entries.entrySet().iterator(); diskSize > diskLimit && iter.hasNext(); ) {
+                final Entry entry = iter.next().getValue();
+                if (entry.file != null) {
+                    iter.remove();
+                    diskSize -= entry.size;
+                    deleteFile(entry.file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all results of the data source. Results which are read at the moment won't be stored.
+     */
+    public void invalidate(@NotNull DBPDataSourceContainer container) {
+        invalidate(container.getId());
+    }
+
+    void invalidate(@NotNull String dataSourceId) {
+        synchronized (this) {
+            generations.merge(dataSourceId, 1L, Long::sum);
+            for (Iterator<Map.Entry<String, Entry>> iter = entries.entrySet().iterator(); iter.hasNext(); ) {
+                final Entry entry = iter.next().getValue();
+                if (entry.dataSourceId.equals(dataSourceId)) {
+                    iter.remove();
+                    releaseEntry(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all results
+     */
+    public void clear() {
+        synchronized (this) {
+            for (Entry entry : entries.values()) {
+                deleteFile(entry.file);
+            }
+            entries.clear();
+            memorySize = 0;
+            diskSize = 0;
+            for (Map.Entry<String, Long> generation : generations.entrySet()) {
+                generation.setValue(generation.getValue() + 1);
+            }
+        }
+    }
+
+    private void removeEntry(@NotNull String key, @NotNull Entry entry) {
+        entries.remove(key);
+        releaseEntry(entry);
+    }
+
+    private void releaseEntry(@NotNull Entry entry) {
+        if (entry.file != null) {
+            diskSize -= entry.size;
+            deleteFile(entry.file);
+        } else if (!entry.spilling) {
+            memorySize -= entry.size;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Values
+
+    static boolean isCacheableValue(@Nullable Object value) {
+        return value == null ||
+            value instanceof String ||
+            value instanceof Number ||
+            value instanceof Boolean ||
+            value instanceof Character ||
+            value instanceof Date ||
+            value instanceof byte[] ||
+            (value instanceof Temporal && value instanceof Serializable);
+    }
+
+    /**
+     * Copies mutable values, so changes made by consumers don't affect cached result
+     */
+    @Nullable
+    static Object copyValue(@Nullable Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        } else if (value instanceof Date) {
+            return ((Date) value).clone();
+        }
+        return value;
+    }
+
+    static long estimateRowSize(int columnCount) {
+        return OBJECT_OVERHEAD + REFERENCE_SIZE * columnCount;
+    }
+
+    static long estimateValueSize(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String) {
+            return OBJECT_OVERHEAD * 2 + ((String) value).length() * 2L;
+        } else if (value instanceof byte[]) {
+            return OBJECT_OVERHEAD + ((byte[]) value).length;
+        } else {
+            return OBJECT_OVERHEAD * 2;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Files
+
+    @NotNull
+    private synchronized Path getFolder() throws IOException {
+        if (folder == null) {
+            folder = DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), CACHE_FOLDER);
+            Files.createDirectories(folder);
+            deleteResultFiles();
+        }
+        return folder;
+    }
+
+    private static void writeRows(@NotNull Path file, @NotNull List<Object[]> rows) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(rows.size());
+            for (Object[] row : rows) {
+                out.writeObject(row);
+            }
+        }
+    }
+
+    @NotNull
+    private static List<Object[]> readRows(@NotNull Path file) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int rowCount = in.readInt();
+            List<Object[]> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows.add((Object[]) in.readObject());
+            }
+            return rows;
+        }
+    }
+
+    private static void deleteFile(@Nullable Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Error deleting cached result: " + e.getMessage());
+        }
+    }
+
+    private void deleteResultFiles() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, "*" + RESULT_FILE_EXT)) { //$NON-NLS-1$
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.debug("Error clearing result cache: " + e.getMessage());
+        }
+    }
+
+}
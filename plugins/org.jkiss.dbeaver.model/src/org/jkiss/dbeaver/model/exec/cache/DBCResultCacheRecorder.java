@@ -0,0 +1,172 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDDataReceiverBatch;
+import org.jkiss.dbeaver.model.data.DBDRowBatch;
+import org.jkiss.dbeaver.model.exec.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data receiver which passes rows to the target receiver and keeps their copy for {@link DBCResultCache}.
+ * <p>
+ * Only rows fetched in batches are recorded, values are taken after value handlers.
+ * Result is not recorded if target receiver doesn't support batches, if some value can't be cached
+ * or if result exceeds cache size.
+ * Recorded rows are stored by {@link #storeResults()} which must be called after successful fetch.
+ */
+public class DBCResultCacheRecorder implements DBDDataReceiverBatch {
+
+    private final DBCResultCache cache;
+    private final String dataSourceId;
+    private final long generation;
+    private final String key;
+    private final DBDDataReceiver receiver;
+
+    private List<DBCAttributeMetaData> attributes;
+    private final List<Object[]> rows = new ArrayList<>();
+    private long resultSize;
+    private boolean cacheable;
+
+    DBCResultCacheRecorder(
+        @NotNull DBCResultCache cache,
+        @NotNull String dataSourceId,
+        long generation,
+        @NotNull String key,
+        @NotNull DBDDataReceiver receiver)
+    {
+        this.cache = cache;
+        this.dataSourceId = dataSourceId;
+        this.generation = generation;
+        this.key = key;
+        this.receiver = receiver;
+    }
+
+    @NotNull
+    public DBDDataReceiver getReceiver() {
+        return receiver;
+    }
+
+    @Override
+    public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+        receiver.fetchStart(session, resultSet, offset, maxRows);
+        attributes = new ArrayList<>(resultSet.getMeta().getAttributes());
+        resetRows(true);
+    }
+
+    @Override
+    public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
+        // Values are read by target receiver, there is nothing to record
+        resetRows(false);
+        receiver.fetchRow(session, resultSet);
+    }
+
+    @Nullable
+    @Override
+    public DBDRowBatch createRowBatch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        DBDRowBatch batch = null;
+        if (receiver instanceof DBDDataReceiverBatch) {
+            batch = ((DBDDataReceiverBatch) receiver).createRowBatch(session, resultSet);
+        }
+        if (batch == null) {
+            resetRows(false);
+        }
+        return batch;
+    }
+
+    @Override
+    public void fetchBatch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch) throws DBCException {
+        if (cacheable) {
+            recordBatch(batch);
+        }
+        ((DBDDataReceiverBatch) receiver).fetchBatch(session, resultSet, batch);
+    }
+
+    @Override
+    public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException {
+        if (session.getProgressMonitor().isCanceled()) {
+            resetRows(false);
+        }
+        receiver.fetchEnd(session, resultSet);
+    }
+
+    @Override
+    public void close() {
+        receiver.close();
+    }
+
+    @NotNull
+    @Override
+    public DBCStatistics getStatistics() {
+        return receiver.getStatistics();
+    }
+
+    /**
+     * Puts recorded rows into the cache
+     */
+    public void storeResults() {
+        if (cacheable && attributes != null) {
+            cache.putResult(dataSourceId, generation, key, attributes, new ArrayList<>(rows), resultSize);
+        }
+        resetRows(false);
+    }
+
+    private void recordBatch(@NotNull DBDRowBatch batch) {
+        int columnCount = attributes.size();
+        for (int rowNum = 0; rowNum < batch.getRowCount(); rowNum++) {
+            Object[] row = new Object[columnCount];
+            long rowSize = DBCResultCache.estimateRowSize(columnCount);
+            for (int i = 0; i < batch.getColumnCount(); i++) {
+                DBDAttributeBinding binding = batch.getBinding(i);
+                if (binding == null || batch.getAttribute(i) == null) {
+                    continue;
+                }
+                int position = binding.getOrdinalPosition();
+                if (binding.getParentObject() != null || position < 0 || position >= columnCount || batch.getError(rowNum, i) != null) {
+                    resetRows(false);
+                    return;
+                }
+                Object value = batch.getValue(rowNum, i);
+                if (!DBCResultCache.isCacheableValue(value)) {
+                    resetRows(false);
+                    return;
+                }
+                row[position] = DBCResultCache.copyValue(value);
+                rowSize += DBCResultCache.estimateValueSize(value);
+            }
+            rows.add(row);
+            resultSize += rowSize;
+            if (!cache.isResultSizeAllowed(resultSize)) {
+                resetRows(false);
+                return;
+            }
+        }
+    }
+
+    private void resetRows(boolean cacheable) {
+        this.cacheable = cacheable;
+        rows.clear();
+        resultSize = 0;
+    }
+
+}
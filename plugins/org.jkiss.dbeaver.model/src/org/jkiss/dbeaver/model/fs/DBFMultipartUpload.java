@@ -0,0 +1,45 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.fs;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Multipart upload of a single file
+ */
+public interface DBFMultipartUpload {
+
+    /**
+     * Uploads part. May be called concurrently for different parts.
+     *
+     * @param partNumber 1-based part number
+     */
+    void uploadPart(int partNumber, @NotNull byte[] data, int length) throws IOException;
+
+    /**
+     * Completes upload. Called after all parts were uploaded.
+     */
+    void complete(int partCount) throws IOException;
+
+    /**
+     * Aborts upload and removes uploaded parts
+     */
+    void abort();
+
+}
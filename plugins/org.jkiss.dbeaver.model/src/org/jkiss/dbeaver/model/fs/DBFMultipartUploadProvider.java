@@ -0,0 +1,40 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.fs;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * File system provider which can upload files by parts (e.g. object storage multipart upload).
+ * <p>
+ * Implemented by {@link java.nio.file.spi.FileSystemProvider} of remote file systems.
+ * Parts are uploaded in parallel by {@link org.jkiss.dbeaver.model.fs.stream.FSMultipartOutputStream}.
+ */
+public interface DBFMultipartUploadProvider {
+
+    /**
+     * Minimal size of all parts except the last one
+     */
+    int getMinPartSize();
+
+    @NotNull
+    DBFMultipartUpload startUpload(@NotNull Path path) throws IOException;
+
+}
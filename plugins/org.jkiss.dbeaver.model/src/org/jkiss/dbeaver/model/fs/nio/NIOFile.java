@@ -23,15 +23,14 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.content.IContentDescription;
+import org.jkiss.dbeaver.model.fs.stream.FSStreamUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 
 /**
  * NIOFile
@@ -60,7 +59,7 @@ public final class NIOFile extends NIOResource implements IFile {
 
     public void create(InputStream source, int updateFlags, IProgressMonitor monitor) throws CoreException {
         try {
-            Files.copy(source, getNioPath(), StandardCopyOption.REPLACE_EXISTING);
+            FSStreamUtils.copyToFile(source, getNioPath());
 
             NIOMonitor.notifyResourceChange(this, NIOListener.Action.CREATE);
         } catch (IOException e) {
@@ -101,7 +100,7 @@ public final class NIOFile extends NIOResource implements IFile {
 
     public InputStream getContents() throws CoreException {
         try {
-            return Files.newInputStream(getNioPath());
+            return FSStreamUtils.openInputStream(getNioPath());
         } catch (Exception ex) {
             throw new CoreException(GeneralUtils.makeExceptionStatus(ex)); //$NON-NLS-1$
         }
@@ -153,7 +152,7 @@ public final class NIOFile extends NIOResource implements IFile {
 
     public void setContents(InputStream source, int updateFlags, IProgressMonitor monitor) throws CoreException {
         try {
-            Files.copy(source, getNioPath(), StandardCopyOption.REPLACE_EXISTING);
+            FSStreamUtils.copyToFile(source, getNioPath());
 
             NIOMonitor.notifyResourceChange(this, NIOListener.Action.CHANGE);
         } catch (IOException e) {
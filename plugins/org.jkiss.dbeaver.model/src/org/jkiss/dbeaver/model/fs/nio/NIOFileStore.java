@@ -21,12 +21,12 @@ import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.filesystem.provider.FileStore;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.jkiss.dbeaver.model.fs.stream.FSStreamUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
@@ -70,7 +70,7 @@ public class NIOFileStore extends FileStore {
     @Override
     public InputStream openInputStream(int options, IProgressMonitor monitor) throws CoreException {
         try {
-            return Files.newInputStream(path);
+            return FSStreamUtils.openInputStream(path);
         } catch (IOException e) {
             throw new CoreException(GeneralUtils.makeExceptionStatus(e));
         }
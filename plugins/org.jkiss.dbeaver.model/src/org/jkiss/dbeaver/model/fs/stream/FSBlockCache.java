@@ -0,0 +1,198 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.fs.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local on-disk cache of remote file blocks.
+ * <p>
+ * Each block is kept in a separate file. When total size exceeds the limit, least recently used blocks are removed.
+ * Index is kept in memory, so cache folder is cleared on creation.
+ */
+public class FSBlockCache {
+
+    private static final Log log = Log.getLog(FSBlockCache.class);
+
+    private static final String BLOCK_FILE_EXT = ".block"; //$NON-NLS-1$
+
+    private final Path folder;
+    private final long maxSize;
+    // Block file name -> block size. Access order is used for LRU eviction.
+    private final LinkedHashMap<String, Integer> blocks = new LinkedHashMap<>(64, 0.75f, true);
+    private long cacheSize;
+    private long hitCount;
+    private long missCount;
+
+    public FSBlockCache(@NotNull Path folder, long maxSize) throws IOException {
+        this.folder = folder;
+        this.maxSize = maxSize;
+        Files.createDirectories(folder);
+        deleteBlockFiles();
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getCacheSize() {
+        return cacheSize;
+    }
+
+    public synchronized int getBlockCount() {
+        return blocks.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Reads cached block
+     *
+     * @param fileKey file identity, must change when file content changes. Used in file names.
+     * @return block data or null if block is not cached
+     */
+    @Nullable
+    public byte[] getBlock(@NotNull String fileKey, long blockIndex) {
+        final String blockName = getBlockName(fileKey, blockIndex);
+        synchronized (this) {
+            if (blocks.get(blockName) == null) {
+                missCount++;
+                return null;
+            }
+            hitCount++;
+        }
+        try {
+            return Files.readAllBytes(folder.resolve(blockName));
+        } catch (NoSuchFileException e) {
+            // Evicted concurrently
+            return null;
+        } catch (IOException e) {
+            log.debug("Error reading cached block: " + e.getMessage());
+            removeBlock(blockName);
+            return null;
+        }
+    }
+
+    public void putBlock(@NotNull String fileKey, long blockIndex, @NotNull byte[] data, int length) {
+        if (length > maxSize) {
+            return;
+        }
+        final String blockName = getBlockName(fileKey, blockIndex);
+        synchronized (this) {
+            if (blocks.containsKey(blockName)) {
+                return;
+            }
+        }
+        final Path blockFile = folder.resolve(blockName);
+        try {
+            final Path tempFile = Files.createTempFile(folder, "block", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+            try {
+                Files.write(tempFile, length == data.length ? data : Arrays.copyOf(data, length));
+                Files.move(tempFile, blockFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            log.debug("Error caching block: " + e.getMessage());
+            return;
+        }
+        final List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            final Integer prevSize = blocks.put(blockName, length);
+            cacheSize += length - (prevSize == null ? 0 : prevSize);
+            for (Iterator<Map.Entry<String, Integer>> iter = blocks.entrySet().iterator(); cacheSize > maxSize && iter.hasNext(); ) {
+                final Map.Entry<String, Integer> eldest = iter.next();
+                if (eldest.getKey().equals(blockName)) {
+                    continue;
+                }
+                iter.remove();
+                cacheSize -= eldest.getValue();
+                evicted.add(eldest.getKey());
+            }
+        }
+        for (String name : evicted) {
+            deleteBlockFile(name);
+        }
+    }
+
+    /**
+     * Removes all blocks
+     */
+    public void clear() {
+        synchronized (this) {
+            blocks.clear();
+            cacheSize = 0;
+        }
+        deleteBlockFiles();
+    }
+
+    private void removeBlock(@NotNull String blockName) {
+        synchronized (this) {
+            final Integer size = blocks.remove(blockName);
+            if (size == null) {
+                return;
+            }
+            cacheSize -= size;
+        }
+        deleteBlockFile(blockName);
+    }
+
+    private void deleteBlockFile(@NotNull String blockName) {
+        try {
+            Files.deleteIfExists(folder.resolve(blockName));
+        } catch (IOException e) {
+            log.debug("Error deleting cached block: " + e.getMessage());
+        }
+    }
+
+    private void deleteBlockFiles() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, "*" + BLOCK_FILE_EXT)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.debug("Error clearing block cache: " + e.getMessage());
+        }
+    }
+
+    @NotNull
+    private static String getBlockName(@NotNull String fileKey, long blockIndex) {
+        return fileKey + "-" + blockIndex + BLOCK_FILE_EXT;
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.fs.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.fs.DBFMultipartUpload;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Output stream which uploads data by parts in parallel.
+ * <p>
+ * Data is buffered until part is full, then the part is uploaded in background.
+ * Number of parts in flight is limited, so memory usage is bounded by {@code partSize * (maxParallel + 1)}.
+ * Upload is completed on close. If any part fails then upload is aborted.
+ */
+public class FSMultipartOutputStream extends OutputStream {
+
+    private final DBFMultipartUpload upload;
+    private final int partSize;
+    private final ExecutorService executor;
+    private final Semaphore uploadSlots;
+    private final List<Future<?>> uploads = new ArrayList<>();
+
+    private byte[] buffer;
+    private int bufferLength;
+    private int partCount;
+    private volatile IOException uploadError;
+    private boolean closed;
+
+    public FSMultipartOutputStream(@NotNull DBFMultipartUpload upload, int partSize, int maxParallel, @NotNull ExecutorService executor) {
+        this.upload = upload;
+        this.partSize = partSize;
+        this.executor = executor;
+        this.uploadSlots = new Semaphore(maxParallel);
+        this.buffer = new byte[partSize];
+    }
+
+    public int getPartCount() {
+        return partCount;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(@NotNull byte[] data, int offset, int length) throws IOException {
+        checkState();
+        while (length > 0) {
+            final int count = Math.min(length, partSize - bufferLength);
+            System.arraycopy(data, offset, buffer, bufferLength, count);
+            bufferLength += count;
+            offset += count;
+            length -= count;
+            if (bufferLength == partSize) {
+                uploadPart();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            // Empty file still needs one part
+            if (bufferLength > 0 || partCount == 0) {
+                uploadPart();
+            }
+            for (Future<?> future : uploads) {
+                future.get();
+            }
+            if (uploadError != null) {
+                throw uploadError;
+            }
+            upload.complete(partCount);
+        } catch (InterruptedException e) {
+            abort();
+            throw new InterruptedIOException("Upload interrupted");
+        } catch (ExecutionException e) {
+            abort();
+            throw new IOException("Error uploading part", e.getCause());
+        } catch (IOException | RuntimeException e) {
+            abort();
+            throw e;
+        } finally {
+            buffer = null;
+        }
+    }
+
+    private void uploadPart() throws IOException {
+        final byte[] partData = buffer;
+        final int partLength = bufferLength;
+        final int partNumber = ++partCount;
+        try {
+            uploadSlots.acquire();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException("Upload interrupted");
+        }
+        if (uploadError != null) {
+            uploadSlots.release();
+            throw new IOException("Error uploading part", uploadError);
+        }
+        uploads.add(executor.submit(() -> {
+            try {
+                if (uploadError == null) {
+                    upload.uploadPart(partNumber, partData, partLength);
+                }
+            } catch (IOException e) {
+                uploadError = e;
+            } finally {
+                uploadSlots.release();
+            }
+        }));
+        buffer = closed ? null : new byte[partSize];
+        bufferLength = 0;
+    }
+
+    private void checkState() throws IOException {
+        if (uploadError != null) {
+            throw new IOException("Error uploading part", uploadError);
+        }
+        if (closed && buffer == null) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void abort() {
+        for (Future<?> future : uploads) {
+            future.cancel(false);
+        }
+        upload.abort();
+    }
+
+}
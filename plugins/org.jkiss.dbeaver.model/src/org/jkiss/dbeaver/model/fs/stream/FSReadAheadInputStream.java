@@ -0,0 +1,214 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.fs.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Input stream which reads remote file by blocks.
+ * <p>
+ * Current block and next {@code readAhead} blocks are read in parallel with ranged reads.
+ * Blocks may be kept in {@link FSBlockCache}, so repeated reads of the same file do not go to the remote side.
+ */
+public class FSReadAheadInputStream extends InputStream {
+
+    /**
+     * Reads file range
+     */
+    public interface RangeReader {
+        /**
+         * Reads bytes from the specified position until buffer is filled or end of file is reached.
+         * May be called concurrently.
+         *
+         * @return number of bytes read
+         */
+        int readRange(long position, @NotNull byte[] buffer, int length) throws IOException;
+    }
+
+    private final RangeReader reader;
+    private final long size;
+    private final int blockSize;
+    private final int readAhead;
+    private final ExecutorService executor;
+    private final FSBlockCache cache;
+    private final String fileKey;
+
+    private final Map<Long, Future<byte[]>> pendingBlocks = new HashMap<>();
+    private long position;
+    private long currentIndex = -1;
+    private byte[] currentBlock;
+    private boolean closed;
+
+    /**
+     * @param size      file size
+     * @param readAhead number of blocks read in advance
+     * @param cache     block cache or null
+     * @param fileKey   file identity in block cache (see {@link FSBlockCache#getBlock})
+     */
+    public FSReadAheadInputStream(
+        @NotNull RangeReader reader,
+        long size,
+        int blockSize,
+        int readAhead,
+        @NotNull ExecutorService executor,
+        @Nullable FSBlockCache cache,
+        @Nullable String fileKey
+    ) {
+        this.reader = reader;
+        this.size = size;
+        this.blockSize = blockSize;
+        this.readAhead = readAhead;
+        this.executor = executor;
+        this.cache = fileKey == null ? null : cache;
+        this.fileKey = fileKey;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] buffer = new byte[1];
+        final int count = read(buffer, 0, 1);
+        return count <= 0 ? -1 : buffer[0] & 0xff;
+    }
+
+    @Override
+    public int read(@NotNull byte[] buffer, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1;
+        }
+        final byte[] block = getBlock(position / blockSize);
+        final int blockOffset = (int) (position % blockSize);
+        if (blockOffset >= block.length) {
+            // File was truncated after we got its size
+            return -1;
+        }
+        final int count = Math.min(length, block.length - blockOffset);
+        System.arraycopy(block, blockOffset, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long count) {
+        if (count <= 0) {
+            return 0;
+        }
+        final long skipped = Math.min(count, size - position);
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        if (currentBlock == null || position / blockSize != currentIndex) {
+            return 0;
+        }
+        return Math.max(0, currentBlock.length - (int) (position % blockSize));
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Future<byte[]> future : pendingBlocks.values()) {
+            future.cancel(false);
+        }
+        pendingBlocks.clear();
+        currentBlock = null;
+    }
+
+    @NotNull
+    private byte[] getBlock(long index) throws IOException {
+        if (index == currentIndex) {
+            return currentBlock;
+        }
+        final long lastIndex = Math.min(index + readAhead, (size - 1) / blockSize);
+        // Blocks we have passed or jumped over are not needed anymore
+        for (Iterator<Map.Entry<Long, Future<byte[]>>> iter = pendingBlocks.entrySet().iterator(); iter.hasNext(); ) {
+            final Map.Entry<Long, Future<byte[]>> entry = iter.next();
+            if (entry.getKey() < index || entry.getKey() > lastIndex) {
+                entry.getValue().cancel(false);
+                iter.remove();
+            }
+        }
+        for (long i = index; i <= lastIndex; i++) {
+            if (!pendingBlocks.containsKey(i)) {
+                final long blockIndex = i;
+                pendingBlocks.put(i, executor.submit(() -> loadBlock(blockIndex)));
+            }
+        }
+        final Future<byte[]> future = pendingBlocks.remove(index);
+        try {
+            currentBlock = future.get();
+            currentIndex = index;
+            return currentBlock;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw new InterruptedIOException("Block read interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Error reading block " + index, e.getCause());
+        }
+    }
+
+    @NotNull
+    private byte[] loadBlock(long index) throws IOException {
+        if (cache != null) {
+            final byte[] cached = cache.getBlock(fileKey, index);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final long start = index * blockSize;
+        final int length = (int) Math.min(blockSize, size - start);
+        byte[] data = new byte[length];
+        final int count = reader.readRange(start, data, length);
+        if (count < length) {
+            data = Arrays.copyOf(data, Math.max(count, 0));
+        }
+        if (cache != null && count == length) {
+            cache.putBlock(fileKey, index, data, data.length);
+        }
+        return data;
+    }
+
+}
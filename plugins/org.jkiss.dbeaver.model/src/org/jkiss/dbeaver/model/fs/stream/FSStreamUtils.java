@@ -0,0 +1,173 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.fs.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.fs.DBFMultipartUploadProvider;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.utils.SecurityUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams of virtual file system files.
+ * <p>
+ * Local files are read and written directly. Remote files are read with read-ahead and local block cache
+ * and written with parallel multipart upload if file system provider supports it (see {@link DBFMultipartUploadProvider}).
+ */
+public class FSStreamUtils {
+
+    private static final Log log = Log.getLog(FSStreamUtils.class);
+
+    public static final int BLOCK_SIZE = 1024 * 1024;
+    public static final int READ_AHEAD_BLOCKS = 4;
+    public static final int PART_SIZE = 8 * 1024 * 1024;
+    public static final int MAX_PARALLEL_PARTS = 4;
+    private static final int MAX_THREADS = 8;
+
+    private static final String CACHE_FOLDER = "remote-fs-cache"; //$NON-NLS-1$
+
+    private static ExecutorService executor;
+    private static FSBlockCache blockCache;
+    private static boolean blockCacheInitialized;
+
+    public static boolean isRemotePath(@NotNull Path path) {
+        return path.getFileSystem() != FileSystems.getDefault();
+    }
+
+    @NotNull
+    public static InputStream openInputStream(@NotNull Path path) throws IOException {
+        if (!isRemotePath(path) || !ModelPreferences.getPreferences().getBoolean(ModelPreferences.FS_REMOTE_CACHE_ENABLED)) {
+            return Files.newInputStream(path);
+        }
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (attributes.size() <= BLOCK_SIZE) {
+            // Single request anyway
+            return Files.newInputStream(path);
+        }
+        return new FSReadAheadInputStream(
+            createRangeReader(path),
+            attributes.size(),
+            BLOCK_SIZE,
+            READ_AHEAD_BLOCKS,
+            getExecutor(),
+            getBlockCache(),
+            makeFileKey(path, attributes));
+    }
+
+    @NotNull
+    public static OutputStream openOutputStream(@NotNull Path path) throws IOException {
+        final FileSystemProvider provider = path.getFileSystem().provider();
+        if (isRemotePath(path) && provider instanceof DBFMultipartUploadProvider) {
+            final DBFMultipartUploadProvider uploadProvider = (DBFMultipartUploadProvider) provider;
+            return new FSMultipartOutputStream(
+                uploadProvider.startUpload(path),
+                Math.max(PART_SIZE, uploadProvider.getMinPartSize()),
+                MAX_PARALLEL_PARTS,
+                getExecutor());
+        }
+        return Files.newOutputStream(path);
+    }
+
+    /**
+     * Writes stream into the file, replaces existing file
+     */
+    public static void copyToFile(@NotNull InputStream source, @NotNull Path path) throws IOException {
+        if (!isRemotePath(path)) {
+            Files.copy(source, path, StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+        try (OutputStream out = openOutputStream(path)) {
+            source.transferTo(out);
+        }
+    }
+
+    /**
+     * Reader which opens a new channel for each range, so ranges are read by separate requests
+     */
+    @NotNull
+    public static FSReadAheadInputStream.RangeReader createRangeReader(@NotNull Path path) {
+        return (position, buffer, length) -> {
+            try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+                channel.position(position);
+                final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, length);
+                while (byteBuffer.hasRemaining()) {
+                    if (channel.read(byteBuffer) < 0) {
+                        break;
+                    }
+                }
+                return byteBuffer.position();
+            }
+        };
+    }
+
+    @NotNull
+    private static String makeFileKey(@NotNull Path path, @NotNull BasicFileAttributes attributes) {
+        return SecurityUtils.makeDigest(path.toUri() + "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis());
+    }
+
+    @NotNull
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(MAX_THREADS, runnable -> {
+                final Thread thread = new Thread(runnable, "Remote file IO " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    @Nullable
+    private static synchronized FSBlockCache getBlockCache() {
+        if (!blockCacheInitialized) {
+            blockCacheInitialized = true;
+            final DBPPreferenceStore preferences = ModelPreferences.getPreferences();
+            final long maxSize = preferences.getLong(ModelPreferences.FS_REMOTE_CACHE_MAX_SIZE) * 1024 * 1024;
+            if (maxSize > 0) {
+                try {
+                    blockCache = new FSBlockCache(
+                        DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), CACHE_FOLDER),
+                        maxSize);
+                } catch (IOException e) {
+                    log.debug("Error creating remote file block cache: " + e.getMessage());
+                }
+            }
+        }
+        return blockCache;
+    }
+
+}
@@ -44,7 +44,7 @@ public abstract class AbstractExecutionContext<DATASOURCE extends DBPDataSource>
 
     @NotNull
     protected final DATASOURCE dataSource;
-    protected final String purpose;
+    protected String purpose;
     protected final long id;
     private final Map<String, Object> contextAttributes = new LinkedHashMap<>();
 
@@ -71,6 +71,13 @@ public abstract class AbstractExecutionContext<DATASOURCE extends DBPDataSource>
         return purpose;
     }
 
+    /**
+     * Changes context name. Used when already opened context is handed over for another purpose.
+     */
+    public void setContextName(@NotNull String purpose) {
+        this.purpose = purpose;
+    }
+
     @NotNull
     @Override
     public DATASOURCE getDataSource() {
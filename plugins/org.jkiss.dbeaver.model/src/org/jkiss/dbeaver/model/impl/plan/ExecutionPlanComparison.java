@@ -0,0 +1,192 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.*;
+
+/**
+ * Difference between two versions of the same query execution plan.
+ * <p>
+ * Plan is considered regressed if a new full table scan appeared or if total cost jumped
+ * at least {@link #COST_REGRESSION_RATIO} times.
+ */
+public class ExecutionPlanComparison {
+
+    public static final double COST_REGRESSION_RATIO = 2.0;
+
+    @NotNull
+    private final ExecutionPlanSnapshot oldPlan;
+    @NotNull
+    private final ExecutionPlanSnapshot newPlan;
+    private final boolean structureChanged;
+    private final List<String> addedNodes = new ArrayList<>();
+    private final List<String> removedNodes = new ArrayList<>();
+    private final List<String> regressions = new ArrayList<>();
+
+    public ExecutionPlanComparison(@NotNull ExecutionPlanSnapshot oldPlan, @NotNull ExecutionPlanSnapshot newPlan) {
+        this.oldPlan = oldPlan;
+        this.newPlan = newPlan;
+
+        List<ExecutionPlanSnapshot.Node> oldNodes = oldPlan.getAllNodes();
+        List<ExecutionPlanSnapshot.Node> newNodes = newPlan.getAllNodes();
+        this.structureChanged = !getSignatures(oldNodes).equals(getSignatures(newNodes));
+
+        Map<String, Integer> oldCounts = countSignatures(oldNodes);
+        Map<String, Integer> newCounts = countSignatures(newNodes);
+        for (ExecutionPlanSnapshot.Node node : newNodes) {
+            String signature = node.getSignature();
+            if (!consume(oldCounts, signature)) {
+                addedNodes.add(signature);
+                if (node.isFullScan()) {
+                    regressions.add("New full scan: " + signature);
+                }
+            }
+        }
+        for (ExecutionPlanSnapshot.Node node : oldNodes) {
+            if (!consume(newCounts, node.getSignature())) {
+                removedNodes.add(node.getSignature());
+            }
+        }
+
+        Double oldCost = oldPlan.getCost();
+        Double newCost = newPlan.getCost();
+        if (oldCost != null && newCost != null && oldCost > 0 && newCost >= oldCost * COST_REGRESSION_RATIO) {
+            regressions.add("Cost increased from " + formatNumber(oldCost) + " to " + formatNumber(newCost) +
+                " (x" + formatNumber(newCost / oldCost) + ")");
+        }
+    }
+
+    @NotNull
+    public ExecutionPlanSnapshot getOldPlan() {
+        return oldPlan;
+    }
+
+    @NotNull
+    public ExecutionPlanSnapshot getNewPlan() {
+        return newPlan;
+    }
+
+    /**
+     * True if nodes order or set differs. Estimates are not compared.
+     */
+    public boolean isStructureChanged() {
+        return structureChanged;
+    }
+
+    @NotNull
+    public List<String> getAddedNodes() {
+        return addedNodes;
+    }
+
+    @NotNull
+    public List<String> getRemovedNodes() {
+        return removedNodes;
+    }
+
+    @Nullable
+    public Double getCostDelta() {
+        return delta(oldPlan.getCost(), newPlan.getCost());
+    }
+
+    @Nullable
+    public Double getRowsDelta() {
+        return delta(oldPlan.getRows(), newPlan.getRows());
+    }
+
+    public boolean isRegression() {
+        return !regressions.isEmpty();
+    }
+
+    @NotNull
+    public List<String> getRegressions() {
+        return regressions;
+    }
+
+    /**
+     * Short human-readable description of changes
+     */
+    @NotNull
+    public String getSummary() {
+        List<String> lines = new ArrayList<>(regressions);
+        Double costDelta = getCostDelta();
+        if (costDelta != null && costDelta != 0) {
+            lines.add("Cost " + (costDelta > 0 ? "+" : "") + formatNumber(costDelta));
+        }
+        Double rowsDelta = getRowsDelta();
+        if (rowsDelta != null && rowsDelta != 0) {
+            lines.add("Rows " + (rowsDelta > 0 ? "+" : "") + formatNumber(rowsDelta));
+        }
+        if (!addedNodes.isEmpty()) {
+            lines.add("Added: " + String.join(", ", addedNodes));
+        }
+        if (!removedNodes.isEmpty()) {
+            lines.add("Removed: " + String.join(", ", removedNodes));
+        }
+        if (lines.isEmpty()) {
+            return structureChanged ? "Nodes order changed" : "No changes";
+        }
+        return String.join("; ", lines);
+    }
+
+    @NotNull
+    private static List<String> getSignatures(@NotNull List<ExecutionPlanSnapshot.Node> nodes) {
+        List<String> signatures = new ArrayList<>(nodes.size());
+        for (ExecutionPlanSnapshot.Node node : nodes) {
+            signatures.add(node.getSignature());
+        }
+        return signatures;
+    }
+
+    @NotNull
+    private static Map<String, Integer> countSignatures(@NotNull List<ExecutionPlanSnapshot.Node> nodes) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (ExecutionPlanSnapshot.Node node : nodes) {
+            counts.merge(node.getSignature(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static boolean consume(@NotNull Map<String, Integer> counts, @NotNull String signature) {
+        Integer count = counts.get(signature);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            counts.remove(signature);
+        } else {
+            counts.put(signature, count - 1);
+        }
+        return true;
+    }
+
+    @Nullable
+    private static Double delta(@Nullable Double oldValue, @Nullable Double newValue) {
+        return oldValue == null || newValue == null ? null : newValue - oldValue;
+    }
+
+    @NotNull
+    public static String formatNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        return String.format(Locale.ENGLISH, "%.2f", value);
+    }
+
+}
@@ -0,0 +1,246 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.SecurityUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Execution plans history.
+ * <p>
+ * Plans are stored in workspace metadata, one file per data source and query fingerprint.
+ * Fingerprint is a digest of the query text with comments, literals and formatting removed,
+ * so the same query with different parameter values shares history.
+ * A new version is stored only if plan differs from the last stored one.
+ */
+public class ExecutionPlanHistory {
+
+    private static final Log log = Log.getLog(ExecutionPlanHistory.class);
+
+    public static final int MAX_PLAN_VERSIONS = 20;
+
+    private static final String HISTORY_FOLDER = "plan-history";
+    private static final String HISTORY_FILE_EXT = ".json";
+
+    private static final Gson gson = new GsonBuilder().create();
+
+    private static ExecutionPlanHistory instance;
+
+    private static class HistoryFile {
+        private String query;
+        private List<ExecutionPlanSnapshot> plans;
+    }
+
+    @NotNull
+    private final Path folder;
+
+    public static synchronized ExecutionPlanHistory getInstance() {
+        if (instance == null) {
+            instance = new ExecutionPlanHistory(
+                DBWorkbench.getPlatform().getWorkspace().getMetadataFolder().resolve(HISTORY_FOLDER));
+        }
+        return instance;
+    }
+
+    public ExecutionPlanHistory(@NotNull Path folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * Stores plan in history.
+     *
+     * @return comparison with the previous plan version or null if there is no previous version
+     * or plan didn't change
+     */
+    @Nullable
+    public ExecutionPlanComparison addPlan(@NotNull DBPDataSourceContainer container, @NotNull DBCPlan plan) throws IOException {
+        ExecutionPlanComparison comparison = addPlan(container.getId(), ExecutionPlanSnapshot.create(plan));
+        if (comparison != null && comparison.isRegression()) {
+            log.debug("Execution plan regression in '" + container.getName() + "': " + comparison.getSummary());
+        }
+        return comparison;
+    }
+
+    @Nullable
+    public synchronized ExecutionPlanComparison addPlan(@NotNull String dataSourceId, @NotNull ExecutionPlanSnapshot plan) throws IOException {
+        if (CommonUtils.isEmptyTrimmed(plan.getQuery()) || plan.getNodes().isEmpty()) {
+            return null;
+        }
+        Path file = getHistoryFile(dataSourceId, plan.getQuery());
+        HistoryFile history = readHistory(file);
+        if (history == null) {
+            history = new HistoryFile();
+            history.plans = new ArrayList<>();
+        }
+        history.query = plan.getQuery();
+
+        ExecutionPlanSnapshot lastPlan = history.plans.isEmpty() ? null : history.plans.get(history.plans.size() - 1);
+        if (lastPlan != null && lastPlan.isSamePlan(plan)) {
+            return null;
+        }
+        history.plans.add(plan);
+        while (history.plans.size() > MAX_PLAN_VERSIONS) {
+            history.plans.remove(0);
+        }
+        writeHistory(file, history);
+
+        return lastPlan == null ? null : new ExecutionPlanComparison(lastPlan, plan);
+    }
+
+    /**
+     * Returns stored plan versions, oldest first
+     */
+    @NotNull
+    public synchronized List<ExecutionPlanSnapshot> getPlans(@NotNull String dataSourceId, @NotNull String query) throws IOException {
+        HistoryFile history = readHistory(getHistoryFile(dataSourceId, query));
+        return history == null ? new ArrayList<>() : history.plans;
+    }
+
+    public synchronized void clearPlans(@NotNull String dataSourceId, @NotNull String query) throws IOException {
+        Files.deleteIfExists(getHistoryFile(dataSourceId, query));
+    }
+
+    @NotNull
+    public static String getQueryFingerprint(@NotNull String query) {
+        return SecurityUtils.makeDigest(normalizeQuery(query));
+    }
+
+    /**
+     * Removes comments and literals, collapses whitespaces and converts unquoted text to lower case.
+     */
+    @NotNull
+    static String normalizeQuery(@NotNull String query) {
+        StringBuilder result = new StringBuilder(query.length());
+        int length = query.length();
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; i++) {
+            char ch = query.charAt(i);
+            char next = i + 1 < length ? query.charAt(i + 1) : 0;
+            if (ch == '-' && next == '-') {
+                while (i < length && query.charAt(i) != '\n') {
+                    i++;
+                }
+                pendingSpace = true;
+            } else if (ch == '/' && next == '*') {
+                int end = query.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 1;
+                pendingSpace = true;
+            } else if (Character.isWhitespace(ch)) {
+                pendingSpace = true;
+            } else {
+                if (pendingSpace && result.length() > 0) {
+                    result.append(' ');
+                }
+                pendingSpace = false;
+                if (ch == '\'') {
+                    // String literal, quotes inside are escaped by doubling
+                    i++;
+                    while (i < length) {
+                        if (query.charAt(i) == '\'') {
+                            if (i + 1 < length && query.charAt(i + 1) == '\'') {
+                                i += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        i++;
+                    }
+                    result.append('?');
+                } else if (ch == '"') {
+                    int end = query.indexOf('"', i + 1);
+                    end = end < 0 ? length - 1 : end;
+                    result.append(query, i, end + 1);
+                    i = end;
+                } else if (Character.isDigit(ch) && (result.length() == 0 || !isIdentifierPart(result.charAt(result.length() - 1)))) {
+                    while (i + 1 < length && (Character.isLetterOrDigit(query.charAt(i + 1)) || query.charAt(i + 1) == '.')) {
+                        i++;
+                    }
+                    result.append('?');
+                } else {
+                    result.append(Character.toLowerCase(ch));
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isIdentifierPart(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '_' || ch == '$';
+    }
+
+    @NotNull
+    private Path getHistoryFile(@NotNull String dataSourceId, @NotNull String query) {
+        return folder
+            .resolve(CommonUtils.escapeFileName(dataSourceId))
+            .resolve(getQueryFingerprint(query).toLowerCase(Locale.ENGLISH) + HISTORY_FILE_EXT);
+    }
+
+    @Nullable
+    private static HistoryFile readHistory(@NotNull Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            HistoryFile history = gson.fromJson(reader, HistoryFile.class);
+            if (history == null || history.plans == null) {
+                return null;
+            }
+            return history;
+        } catch (JsonParseException e) {
+            log.debug("Corrupted plan history file '" + file + "', reset it", e);
+            return null;
+        }
+    }
+
+    private static void writeHistory(@NotNull Path file, @NotNull HistoryFile history) throws IOException {
+        Path parent = file.getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            gson.toJson(history, writer);
+        }
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
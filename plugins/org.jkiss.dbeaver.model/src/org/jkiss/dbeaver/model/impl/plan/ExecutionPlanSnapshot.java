@@ -0,0 +1,287 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNodeKind;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Database independent copy of execution plan stored in plan history.
+ * Keeps nodes structure, cost and row estimates.
+ */
+public class ExecutionPlanSnapshot {
+
+    // Node type names of full table scans used by different databases
+    private static final String[] FULL_SCAN_TYPES = {
+        "seq scan",             // PostgreSQL
+        "table scan",           // SQL Server, DB2, Derby
+        "table access full",    // Oracle
+        "full scan",            // Oracle index full scans, Exasol, etc
+    };
+
+    public static class Node {
+        private String kind;
+        private String type;
+        private String name;
+        private Double cost;
+        private Double rows;
+        private List<Node> children;
+
+        Node() {
+        }
+
+        Node(@Nullable String kind, @Nullable String type, @Nullable String name, @Nullable Double cost, @Nullable Double rows) {
+            this.kind = kind;
+            this.type = type;
+            this.name = name;
+            this.cost = cost;
+            this.rows = rows;
+        }
+
+        @Nullable
+        public String getKind() {
+            return kind;
+        }
+
+        @Nullable
+        public String getType() {
+            return type;
+        }
+
+        @Nullable
+        public String getName() {
+            return name;
+        }
+
+        @Nullable
+        public Double getCost() {
+            return cost;
+        }
+
+        @Nullable
+        public Double getRows() {
+            return rows;
+        }
+
+        @NotNull
+        public List<Node> getChildren() {
+            return children == null ? List.of() : children;
+        }
+
+        void addChild(@NotNull Node child) {
+            if (children == null) {
+                children = new ArrayList<>();
+            }
+            children.add(child);
+        }
+
+        /**
+         * Full scans are detected by node kind or by the node type names used by different databases
+         * (e.g. PostgreSQL "Seq Scan", Oracle "TABLE ACCESS FULL", SQL Server "Table Scan").
+         * Other nodes with "full" in their names (e.g. "Hash Full Join") are not scans.
+         */
+        public boolean isFullScan() {
+            if (DBCPlanNodeKind.TABLE_SCAN.name().equals(kind)) {
+                return true;
+            }
+            if (type == null) {
+                return false;
+            }
+            String lcType = type.toLowerCase(Locale.ENGLISH);
+            for (String scanType : FULL_SCAN_TYPES) {
+                if (lcType.contains(scanType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Node signature, used to match nodes between plan versions. Doesn't include estimates.
+         */
+        @NotNull
+        public String getSignature() {
+            StringBuilder signature = new StringBuilder(CommonUtils.notEmpty(type));
+            if (CommonUtils.isEmpty(type)) {
+                signature.append(CommonUtils.notEmpty(kind));
+            }
+            if (!CommonUtils.isEmpty(name)) {
+                signature.append(" on ").append(name);
+            }
+            return signature.toString();
+        }
+
+        @Override
+        public String toString() {
+            return getSignature();
+        }
+    }
+
+    private String query;
+    private long time;
+    private Double cost;
+    private Double rows;
+    private List<Node> nodes;
+
+    ExecutionPlanSnapshot() {
+    }
+
+    ExecutionPlanSnapshot(@NotNull String query, long time, @NotNull List<Node> nodes) {
+        this.query = query;
+        this.time = time;
+        this.nodes = nodes;
+        for (Node node : nodes) {
+            cost = sum(cost, node.cost);
+            rows = sum(rows, node.rows);
+        }
+    }
+
+    @NotNull
+    public static ExecutionPlanSnapshot create(@NotNull DBCPlan plan) {
+        List<Node> nodes = new ArrayList<>();
+        List<? extends DBCPlanNode> planNodes = plan.getPlanNodes(null);
+        if (planNodes != null) {
+            for (DBCPlanNode planNode : planNodes) {
+                nodes.add(copyNode(planNode));
+            }
+        }
+        return new ExecutionPlanSnapshot(CommonUtils.notEmpty(plan.getQueryString()), System.currentTimeMillis(), nodes);
+    }
+
+    @NotNull
+    public String getQuery() {
+        return CommonUtils.notEmpty(query);
+    }
+
+    /**
+     * Time when plan was evaluated
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Total plan cost (sum of root nodes costs) or null if planner doesn't provide costs
+     */
+    @Nullable
+    public Double getCost() {
+        return cost;
+    }
+
+    /**
+     * Total row estimate (sum of root nodes row counts) or null if planner doesn't provide it
+     */
+    @Nullable
+    public Double getRows() {
+        return rows;
+    }
+
+    @NotNull
+    public List<Node> getNodes() {
+        return nodes == null ? List.of() : nodes;
+    }
+
+    /**
+     * Returns nodes in depth-first order
+     */
+    @NotNull
+    public List<Node> getAllNodes() {
+        List<Node> result = new ArrayList<>();
+        collectNodes(getNodes(), result);
+        return result;
+    }
+
+    /**
+     * Checks that plans have the same structure and estimates
+     */
+    public boolean isSamePlan(@NotNull ExecutionPlanSnapshot snapshot) {
+        return isSameNodes(getNodes(), snapshot.getNodes());
+    }
+
+    private static boolean isSameNodes(@NotNull List<Node> nodes1, @NotNull List<Node> nodes2) {
+        if (nodes1.size() != nodes2.size()) {
+            return false;
+        }
+        for (int i = 0; i < nodes1.size(); i++) {
+            Node node1 = nodes1.get(i);
+            Node node2 = nodes2.get(i);
+            if (!node1.getSignature().equals(node2.getSignature()) ||
+                !CommonUtils.equalObjects(node1.cost, node2.cost) ||
+                !CommonUtils.equalObjects(node1.rows, node2.rows) ||
+                !isSameNodes(node1.getChildren(), node2.getChildren()))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collectNodes(@NotNull List<Node> nodes, @NotNull List<Node> result) {
+        for (Node node : nodes) {
+            result.add(node);
+            collectNodes(node.getChildren(), result);
+        }
+    }
+
+    @NotNull
+    private static Node copyNode(@NotNull DBCPlanNode planNode) {
+        Double cost = null;
+        Double rows = null;
+        if (planNode instanceof DBCPlanCostNode) {
+            cost = toDouble(((DBCPlanCostNode) planNode).getNodeCost());
+            rows = toDouble(((DBCPlanCostNode) planNode).getNodeRowCount());
+        }
+        DBCPlanNodeKind kind = planNode.getNodeKind();
+        Node node = new Node(
+            kind == null ? null : kind.name(),
+            planNode.getNodeType(),
+            planNode.getNodeName(),
+            cost,
+            rows);
+        Collection<? extends DBCPlanNode> nested = planNode.getNested();
+        if (nested != null) {
+            for (DBCPlanNode child : nested) {
+                node.addChild(copyNode(child));
+            }
+        }
+        return node;
+    }
+
+    @Nullable
+    private static Double toDouble(@Nullable Number value) {
+        return value == null ? null : value.doubleValue();
+    }
+
+    @Nullable
+    private static Double sum(@Nullable Double total, @Nullable Double value) {
+        if (value == null) {
+            return total;
+        }
+        return total == null ? value : total + value;
+    }
+
+}
@@ -22,6 +22,8 @@ package org.jkiss.dbeaver.model.qm;
  */
 public class QMConstants {
     public static final String QM_SESSION_ID_ATTR = "qm_session_id";
+    // Context attribute with System.nanoTime() of connection open start
+    public static final String QM_CONNECT_START_ATTR = "qm_connect_start";
 
     public static final String PROP_PREFIX = "qm.";
 
@@ -31,6 +33,14 @@ public class QMConstants {
     public static final String PROP_HISTORY_DAYS = PROP_PREFIX + "historyDays";
     public static final String PROP_STORE_LOG_FILE = PROP_PREFIX + "storeLogs";
     public static final String PROP_LOG_DIRECTORY = PROP_PREFIX + "logDirectory";
+    public static final String PROP_LOG_FORMAT = PROP_PREFIX + "logFormat";
+    public static final String PROP_LOG_COMPRESS = PROP_PREFIX + "logCompress";
+    public static final String PROP_LOG_MAX_SIZE = PROP_PREFIX + "logMaxSize";
+    public static final String PROP_METRICS_ENABLED = PROP_PREFIX + "metricsEnabled";
+    public static final String PROP_METRICS_FILE = PROP_PREFIX + "metricsFile";
+
+    public static final String LOG_FORMAT_TEXT = "text";
+    public static final String LOG_FORMAT_JSON = "json";
 
     public static final int EVENT_TYPE_SESSION = 1;
     public static final int EVENT_TYPE_TXN = 2;
@@ -0,0 +1,105 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+/**
+ * Latency histogram with logarithmic buckets.
+ * <p>
+ * Each power of two is split into {@link #SUB_BUCKET_COUNT} linear sub-buckets (the same layout HdrHistogram uses),
+ * so any recorded value is kept with relative error below 1/{@link #SUB_BUCKET_COUNT}.
+ * Histogram has fixed size and doesn't allocate anything on record.
+ */
+public class QMLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = getBucketIndex(Long.MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalSum;
+    private long maxValue;
+
+    public synchronized void recordValue(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[getBucketIndex(value)]++;
+        totalCount++;
+        totalSum += value;
+        if (value > maxValue) {
+            maxValue = value;
+        }
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized long getTotalSum() {
+        return totalSum;
+    }
+
+    public synchronized long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Returns the highest value which is equivalent (within histogram precision) to the value at the given percentile.
+     *
+     * @param percentile percentile in range 0..100
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long countAtPercentile = (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * totalCount);
+        if (countAtPercentile < 1) {
+            countAtPercentile = 1;
+        }
+        long runningCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            runningCount += counts[i];
+            if (runningCount >= countAtPercentile) {
+                return Math.min(getBucketUpperBound(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        totalCount = 0;
+        totalSum = 0;
+        maxValue = 0;
+    }
+
+    static int getBucketIndex(long value) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long getBucketUpperBound(int index) {
+        int shift = Math.max(0, (index >> SUB_BUCKET_BITS) - 1);
+        long subBucket = index - ((long) shift << SUB_BUCKET_BITS);
+        // Upper bound of the last bucket overflows to Long.MIN_VALUE - 1 == Long.MAX_VALUE
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
@@ -17,227 +17,563 @@
 package org.jkiss.dbeaver.runtime.qm;
 
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceListener;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.qm.*;
 import org.jkiss.dbeaver.model.qm.meta.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 
-import java.io.File;
-import java.io.FileWriter;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Calendar;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Query manager log writer
+ * Query manager log writer.
+ * <p>
+ * Events are collected into a bounded buffer and written into the log by a background job, so event dispatching
+ * never waits for file IO. If the writer can't keep up then new events are dropped and counted,
+ * dropped events count is reported in the log itself.
+ * Log files are rolled daily and (optionally) by size. Output may be in text or JSON Lines format and may be compressed.
  */
 public class QMLogFileWriter implements QMMetaListener, DBPPreferenceListener {
 
     private static final Log log = Log.getLog(QMLogFileWriter.class);
-    private static final DateTimeFormatter LOG_FILENAME_FORMATTER = DateTimeFormatter
-        .ofPattern("'dbeaver_sql_'" + GeneralUtils.DEFAULT_DATE_PATTERN + "'.log'", Locale.ENGLISH);
 
-    private File logFile;
-    private boolean enabled;
+    private static final String LOG_FILE_PREFIX = "dbeaver_sql_";
+    private static final DateTimeFormatter LOG_FILE_DATE_FORMATTER = DateTimeFormatter
+        .ofPattern(GeneralUtils.DEFAULT_DATE_PATTERN, Locale.ENGLISH);
+    // dbeaver_sql_<date>[.<segment>].<log|jsonl>[.gz]
+    private static final Pattern LOG_FILE_NAME_PATTERN = Pattern
+        .compile(Pattern.quote(LOG_FILE_PREFIX) + "(\\d+)(?:\\.\\d+)?\\.(?:log|jsonl)(?:\\.gz)?");
+
+    private static final int MAX_PENDING_EVENTS = 10000;
+    private static final int ENCODER_BUFFER_SIZE = 64 * 1024;
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final long MEGABYTE = 1024 * 1024L;
 
-    private Writer logWriter;
-    private QMEventFilter eventFilter;
     private final String lineSeparator;
+    private final LogWriterJob writerJob = new LogWriterJob();
+
+    // Dispatcher adds events into the pending buffer, writer swaps buffers and writes events
+    private final Object bufferLock = new Object();
+    private List<QMMetaEvent> pendingEvents = new ArrayList<>();
+    private List<QMMetaEvent> writeEvents = new ArrayList<>();
+    private long pendingDroppedEvents;
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private volatile boolean enabled;
+    private volatile QMEventFilter eventFilter;
+
+    // Settings and writer state, guarded by writerLock
+    private final Object writerLock = new Object();
+    private Path logFolder;
+    private int daysToKeepLogs;
+    private boolean jsonFormat;
+    private boolean compress;
+    private long maxFileSize;
+    private TimeZone timeZone;
+
+    private final StringBuilder encoder = new StringBuilder(ENCODER_BUFFER_SIZE);
+    private char[] transferBuffer = new char[ENCODER_BUFFER_SIZE];
+    private Writer logWriter;
+    private CountingOutputStream logStream;
+    private long logFileDay = Long.MIN_VALUE;
+    private int logFileSegment;
+    private boolean writeFailed;
+    private long cachedDateDay = Long.MIN_VALUE;
+    private final char[] cachedDate = new char[10];
 
     public QMLogFileWriter()
     {
         lineSeparator = GeneralUtils.getDefaultLineSeparator();
         ModelPreferences.getPreferences().addPropertyChangeListener(this);
-        initLogFile();
+        loadSettings();
     }
 
     public void dispose()
     {
         ModelPreferences.getPreferences().removePropertyChangeListener(this);
+        writerJob.cancel();
+        // Write what is left
+        flushPendingEvents();
+        enabled = false;
+        synchronized (writerLock) {
+            closeLogFile();
+        }
     }
 
-    private synchronized void initLogFile()
+    /**
+     * Total number of events which were not written because of the writer overflow or IO errors
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    private void loadSettings()
     {
         final DBPPreferenceStore preferences = ModelPreferences.getPreferences();
+        synchronized (writerLock) {
+            closeLogFile();
+            logFolder = Path.of(preferences.getString(QMConstants.PROP_LOG_DIRECTORY));
+            daysToKeepLogs = preferences.getInt(QMConstants.PROP_HISTORY_DAYS);
+            jsonFormat = QMConstants.LOG_FORMAT_JSON.equals(preferences.getString(QMConstants.PROP_LOG_FORMAT));
+            compress = preferences.getBoolean(QMConstants.PROP_LOG_COMPRESS);
+            maxFileSize = Math.max(0, preferences.getLong(QMConstants.PROP_LOG_MAX_SIZE)) * MEGABYTE;
+            timeZone = TimeZone.getDefault();
+            // Start from the first segment and purge old logs on the next write
+            logFileDay = Long.MIN_VALUE;
+            cachedDateDay = Long.MIN_VALUE;
+            writeFailed = false;
+        }
+        eventFilter = new DefaultEventFilter();
         enabled = preferences.getBoolean(QMConstants.PROP_STORE_LOG_FILE);
-        if (enabled) {
-            final int daysToKeepLogs = preferences.getInt(QMConstants.PROP_HISTORY_DAYS);
-            final String logFolderPath = preferences.getString(QMConstants.PROP_LOG_DIRECTORY);
+    }
 
-            try {
-                purgeOldLogs(Path.of(logFolderPath), daysToKeepLogs);
-            } catch (IOException e) {
-                log.debug("Error purging old logs: " + e.getMessage());
+    @Override
+    public void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events)
+    {
+        if (!enabled) {
+            return;
+        }
+        final QMEventFilter filter = eventFilter;
+        boolean hasChanges = false;
+        synchronized (bufferLock) {
+            for (QMMetaEvent event : events) {
+                if (!isLoggedEvent(event) || !filter.accept(event)) {
+                    continue;
+                }
+                if (pendingEvents.size() < MAX_PENDING_EVENTS) {
+                    pendingEvents.add(event);
+                } else {
+                    pendingDroppedEvents++;
+                }
+                hasChanges = true;
             }
+        }
+        if (hasChanges) {
+            writerJob.schedule();
+        }
+    }
 
-            File logFolder = new File(logFolderPath);
-            if (!logFolder.exists()) {
-                if (!logFolder.mkdirs()) {
-                    log.error("Can't create log folder '" + logFolderPath + "'");
-                }
+    @Override
+    public void preferenceChange(PreferenceChangeEvent event)
+    {
+        if (event.getProperty().startsWith(QMConstants.PROP_PREFIX)) {
+            loadSettings();
+        }
+    }
+
+    private static boolean isLoggedEvent(@NotNull QMMetaEvent event) {
+        QMMObject object = event.getObject();
+        if (object instanceof QMMStatementExecuteInfo) {
+            return event.getAction() == QMEventAction.END;
+        }
+        return object instanceof QMMTransactionInfo || object instanceof QMMConnectionInfo;
+    }
+
+    private void flushPendingEvents() {
+        synchronized (writerLock) {
+            List<QMMetaEvent> events;
+            long dropped;
+            synchronized (bufferLock) {
+                events = pendingEvents;
+                pendingEvents = writeEvents;
+                writeEvents = events;
+                dropped = pendingDroppedEvents;
+                pendingDroppedEvents = 0;
             }
-            logFile = new File(logFolder, LOG_FILENAME_FORMATTER.format(LocalDate.now()));
             try {
-                logWriter = new FileWriter(logFile, true);
-            } catch (IOException e) {
-                log.error("Can't open log writer", e);
-            }
-        } else {
-            if (logWriter != null) {
-                ContentUtils.close(logWriter);
-                logWriter = null;
+                if (enabled && (!events.isEmpty() || dropped > 0)) {
+                    writeEvents(events, dropped);
+                }
+            } finally {
+                events.clear();
             }
         }
-        eventFilter = new DefaultEventFilter();
     }
 
-    private static void purgeOldLogs(@NotNull Path logDirectory, int daysToKeep) throws IOException {
-        final LocalDate today = LocalDate.now();
-        final LocalDate judgementDay = today.minusDays(daysToKeep);
-
-        Files.list(logDirectory)
-            .filter(file -> {
-                try {
-                    final LocalDate date = LOG_FILENAME_FORMATTER.parse(file.getFileName().toString(), LocalDate::from);
-                    return judgementDay.isAfter(date);
-                } catch (DateTimeParseException e) {
-                    return false;
+    private void writeEvents(@NotNull List<QMMetaEvent> events, long dropped) {
+        droppedEvents.addAndGet(dropped);
+        try {
+            long currentTime = System.currentTimeMillis();
+            openLogFile(getLocalDay(currentTime));
+            if (dropped > 0) {
+                encodeDroppedEvents(currentTime, dropped);
+            }
+            for (QMMetaEvent event : events) {
+                if (jsonFormat) {
+                    encodeJsonEvent(event);
+                } else {
+                    encodeTextEvent(event);
                 }
-            })
-            .forEach(file -> {
-                try {
-                    Files.delete(file);
-                } catch (IOException e) {
-                    log.debug("Unable to purge the old log file '" + file + "': " + e.getMessage());
+                if (encoder.length() >= ENCODER_BUFFER_SIZE) {
+                    writeEncodedData();
                 }
-            });
+            }
+            writeEncodedData();
+            logWriter.flush();
+            writeFailed = false;
+
+            if (maxFileSize > 0 && logStream.getCount() >= maxFileSize) {
+                // Continue in the next segment
+                closeLogFile();
+                logFileSegment++;
+            }
+        } catch (IOException e) {
+            // Do not disable the writer, log file will be reopened with the next events
+            droppedEvents.addAndGet(events.size());
+            if (!writeFailed) {
+                log.warn("IO error writing QM log", e);
+                writeFailed = true;
+            }
+            encoder.setLength(0);
+            closeLogFile();
+        }
     }
 
-    @Override
-    public synchronized void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events)
-    {
-        if (!enabled || logWriter == null) {
+    private void writeEncodedData() throws IOException {
+        int length = encoder.length();
+        if (length == 0) {
             return;
         }
+        if (transferBuffer.length < length) {
+            transferBuffer = new char[Math.max(length, transferBuffer.length * 2)];
+        }
+        encoder.getChars(0, length, transferBuffer, 0);
+        encoder.setLength(0);
+        logWriter.write(transferBuffer, 0, length);
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Log files
 
-        StringBuilder logBuffer = new StringBuilder(4000);
-        for (QMMetaEvent event : events) {
-            if (eventFilter.accept(event)) {
-                writeEvent(logBuffer, event);
+    private void openLogFile(long day) throws IOException {
+        if (logWriter != null && day == logFileDay) {
+            return;
+        }
+        closeLogFile();
+        if (day != logFileDay) {
+            logFileDay = day;
+            logFileSegment = 0;
+            try {
+                purgeOldLogs(logFolder, LocalDate.ofEpochDay(day).minusDays(daysToKeepLogs));
+            } catch (IOException e) {
+                log.debug("Error purging old logs: " + e.getMessage());
             }
         }
+        Files.createDirectories(logFolder);
+        Path logFile = getLogFile(day, logFileSegment);
+        while (maxFileSize > 0 && Files.exists(logFile) && Files.size(logFile) >= maxFileSize) {
+            logFileSegment++;
+            logFile = getLogFile(day, logFileSegment);
+        }
+        OutputStream fileStream = Files.newOutputStream(logFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        logStream = new CountingOutputStream(fileStream, Files.size(logFile));
+        // Appending to existing compressed file adds a new gzip member, which is still a valid gzip file
+        OutputStream outputStream = compress ? new GZIPOutputStream(logStream, ENCODER_BUFFER_SIZE, true) : logStream;
+        logWriter = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+    }
 
-        try {
-            logWriter.write(logBuffer.toString());
-            logWriter.flush();
-        } catch (IOException e) {
-            log.warn("IO error writing QM log. Disable log file writer", e);
+    private void closeLogFile() {
+        if (logWriter != null) {
             ContentUtils.close(logWriter);
             logWriter = null;
+            logStream = null;
         }
     }
 
-    @Override
-    public void preferenceChange(PreferenceChangeEvent event)
-    {
-        if (event.getProperty().startsWith(QMConstants.PROP_PREFIX)) {
-            initLogFile();
+    @NotNull
+    private Path getLogFile(long day, int segment) {
+        StringBuilder fileName = new StringBuilder(LOG_FILE_PREFIX);
+        fileName.append(LOG_FILE_DATE_FORMATTER.format(LocalDate.ofEpochDay(day)));
+        if (segment > 0) {
+            fileName.append('.').append(segment);
+        }
+        fileName.append(jsonFormat ? ".jsonl" : ".log");
+        if (compress) {
+            fileName.append(".gz");
         }
+        return logFolder.resolve(fileName.toString());
     }
 
-    private void writeEvent(StringBuilder buffer, QMMetaEvent event)
+    private static void purgeOldLogs(@NotNull Path logDirectory, @NotNull LocalDate judgementDay) throws IOException {
+        if (!Files.isDirectory(logDirectory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            files.filter(file -> {
+                    Matcher matcher = LOG_FILE_NAME_PATTERN.matcher(file.getFileName().toString());
+                    if (!matcher.matches()) {
+                        return false;
+                    }
+                    try {
+                        return judgementDay.isAfter(LOG_FILE_DATE_FORMATTER.parse(matcher.group(1), LocalDate::from));
+                    } catch (DateTimeParseException e) {
+                        return false;
+                    }
+                })
+                .forEach(file -> {
+                    try {
+                        Files.delete(file);
+                    } catch (IOException e) {
+                        log.debug("Unable to purge the old log file '" + file + "': " + e.getMessage());
+                    }
+                });
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Text format
+
+    private void encodeTextEvent(@NotNull QMMetaEvent event)
     {
         QMMObject object = event.getObject();
         QMEventAction action = event.getAction();
-        // Filter
-        if (object instanceof QMMStatementInfo || object instanceof QMMTransactionSavepointInfo ||
-            (object instanceof QMMStatementExecuteInfo && action != QMEventAction.END)) {
-            return;
-        }
 
         // Entry
         int severity = object instanceof QMMStatementExecuteInfo ? IStatus.INFO : IStatus.OK;
-        buffer.append("!ENTRY ");
-        appendEntryInfo(buffer, severity, object.getObjectId(), object.getOpenTime());
+        encoder.append("!ENTRY ");
+        appendEntryInfo(severity, object.getObjectId(), object.getOpenTime());
 
         // Message
-        buffer.append("!MESSAGE ");
+        encoder.append("!MESSAGE ");
         if (object instanceof QMMStatementExecuteInfo) {
             QMMStatementExecuteInfo executeInfo = (QMMStatementExecuteInfo)object;
-            buffer.append(executeInfo.getQueryString());
-            buffer.append(lineSeparator);
-            buffer.append("!SUBENTRY 1 ");
+            encoder.append(executeInfo.getQueryString());
+            encoder.append(lineSeparator);
+            encoder.append("!SUBENTRY 1 ");
             int subSeverity = executeInfo.hasError() ? IStatus.ERROR : severity;
-            appendEntryInfo(buffer, subSeverity, executeInfo.getErrorCode(), object.getCloseTime());
-            buffer.append("!MESSAGE ");
+            appendEntryInfo(subSeverity, executeInfo.getErrorCode(), object.getCloseTime());
+            encoder.append("!MESSAGE ");
             if (executeInfo.hasError()) {
-                buffer.append(executeInfo.getErrorMessage());
+                encoder.append(executeInfo.getErrorMessage());
             } else {
-                buffer.append("SUCCESS [").append(executeInfo.getUpdateRowCount()).append("]");
+                encoder.append("SUCCESS [").append(executeInfo.getUpdateRowCount()).append("]");
             }
 
         } else if (object instanceof QMMTransactionInfo) {
             QMMTransactionInfo transactionInfo = (QMMTransactionInfo) object;
             if (transactionInfo.isCommitted()) {
-                buffer.append("COMMIT");
+                encoder.append("COMMIT");
             } else {
-                buffer.append("ROLLBACK");
+                encoder.append("ROLLBACK");
             }
         } else if (object instanceof QMMConnectionInfo) {
             QMMConnectionInfo sessionInfo = (QMMConnectionInfo) object;
-            buffer.append(action).append(" SESSION [").append(sessionInfo.getContainerName()).append("]");
+            encoder.append(action).append(" SESSION [").append(sessionInfo.getContainerName()).append("]");
         }
-        buffer.append(lineSeparator);
+        encoder.append(lineSeparator);
 
-        buffer.append(lineSeparator);
+        encoder.append(lineSeparator);
     }
 
-    private void appendEntryInfo(StringBuilder buffer, int severity, long code, long time)
+    private void encodeDroppedEvents(long time, long dropped) {
+        if (jsonFormat) {
+            encoder.append("{\"timestamp\":").append(time).append(",\"type\":\"dropped\",\"count\":").append(dropped).append("}\n");
+        } else {
+            encoder.append("!ENTRY ");
+            appendEntryInfo(IStatus.WARNING, 0, time);
+            encoder.append("!MESSAGE Dropped ").append(dropped).append(" event(s): log writer overflow");
+            encoder.append(lineSeparator);
+            encoder.append(lineSeparator);
+        }
+    }
+
+    private void appendEntryInfo(int severity, long code, long time)
     {
-        buffer.append(DBConstants.MODEL_BUNDLE_ID).append(" ").append(severity).append(" ").append(code).append(" ");
-        appendDate(buffer, time);
-        buffer.append(lineSeparator);
-    }
-
-    private void appendDate(StringBuilder sb, long timestamp) {
-        Calendar c = Calendar.getInstance();
-        c.setTimeInMillis(timestamp);
-        appendPaddedInt(c.get(Calendar.YEAR), 4, sb).append('-');
-        appendPaddedInt(c.get(Calendar.MONTH) + 1, 2, sb).append('-');
-        appendPaddedInt(c.get(Calendar.DAY_OF_MONTH), 2, sb).append(' ');
-        appendPaddedInt(c.get(Calendar.HOUR_OF_DAY), 2, sb).append(':');
-        appendPaddedInt(c.get(Calendar.MINUTE), 2, sb).append(':');
-        appendPaddedInt(c.get(Calendar.SECOND), 2, sb).append('.');
-        appendPaddedInt(c.get(Calendar.MILLISECOND), 3, sb);
-    }
-
-    private StringBuilder appendPaddedInt(int value, int pad, StringBuilder buffer) {
-        pad = pad - 1;
-        if (pad == 0)
-            return buffer.append(Integer.toString(value));
-        int padding = (int) Math.pow(10, pad);
-        if (value >= padding)
-            return buffer.append(Integer.toString(value));
-        while (padding > value && padding > 1) {
-            buffer.append('0');
-            padding = padding / 10;
-        }
-        buffer.append(value);
-        return buffer;
+        encoder.append(DBConstants.MODEL_BUNDLE_ID).append(" ").append(severity).append(" ").append(code).append(" ");
+        appendDate(time);
+        encoder.append(lineSeparator);
+    }
+
+    /**
+     * Appends date in format yyyy-MM-dd HH:mm:ss.SSS.
+     * Date part is cached, so it doesn't allocate anything (unlike Calendar or formatters).
+     */
+    private void appendDate(long timestamp) {
+        long localTime = timestamp + timeZone.getOffset(timestamp);
+        long day = Math.floorDiv(localTime, MILLIS_PER_DAY);
+        if (day != cachedDateDay) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            formatPaddedInt(cachedDate, 0, date.getYear(), 4);
+            cachedDate[4] = '-';
+            formatPaddedInt(cachedDate, 5, date.getMonthValue(), 2);
+            cachedDate[7] = '-';
+            formatPaddedInt(cachedDate, 8, date.getDayOfMonth(), 2);
+            cachedDateDay = day;
+        }
+        int millisOfDay = (int) Math.floorMod(localTime, MILLIS_PER_DAY);
+        encoder.append(cachedDate).append(' ');
+        appendPaddedInt(millisOfDay / 3600000, 2).append(':');
+        appendPaddedInt(millisOfDay / 60000 % 60, 2).append(':');
+        appendPaddedInt(millisOfDay / 1000 % 60, 2).append('.');
+        appendPaddedInt(millisOfDay % 1000, 3);
+    }
+
+    private long getLocalDay(long timestamp) {
+        return Math.floorDiv(timestamp + timeZone.getOffset(timestamp), MILLIS_PER_DAY);
+    }
+
+    private StringBuilder appendPaddedInt(int value, int pad) {
+        for (int padding = pad == 3 ? 100 : 10; padding > 1 && value < padding; padding /= 10) {
+            encoder.append('0');
+        }
+        return encoder.append(value);
+    }
+
+    private static void formatPaddedInt(char[] buffer, int offset, int value, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // JSON Lines format
+
+    private void encodeJsonEvent(@NotNull QMMetaEvent event) {
+        QMMObject object = event.getObject();
+        encoder.append("{\"timestamp\":").append(object.getOpenTime());
+        encoder.append(",\"id\":").append(object.getObjectId());
+        if (object instanceof QMMStatementExecuteInfo) {
+            QMMStatementExecuteInfo executeInfo = (QMMStatementExecuteInfo) object;
+            encoder.append(",\"type\":\"query\"");
+            appendJsonConnection(executeInfo.getConnection());
+            DBCExecutionPurpose purpose = executeInfo.getStatement() == null ? null : executeInfo.getStatement().getPurpose();
+            if (purpose != null) {
+                encoder.append(",\"purpose\":\"").append(purpose.name()).append('"');
+            }
+            encoder.append(",\"query\":");
+            appendJsonString(executeInfo.getQueryString());
+            encoder.append(",\"duration\":").append(object.getDuration());
+            encoder.append(",\"updatedRows\":").append(executeInfo.getUpdateRowCount());
+            encoder.append(",\"fetchedRows\":").append(executeInfo.getFetchRowCount());
+            if (executeInfo.hasError()) {
+                encoder.append(",\"errorCode\":").append(executeInfo.getErrorCode());
+                encoder.append(",\"error\":");
+                appendJsonString(executeInfo.getErrorMessage());
+            }
+        } else if (object instanceof QMMTransactionInfo) {
+            encoder.append(",\"type\":\"transaction\"");
+            appendJsonConnection(object.getConnection());
+            encoder.append(",\"result\":\"").append(((QMMTransactionInfo) object).isCommitted() ? "commit" : "rollback").append('"');
+        } else if (object instanceof QMMConnectionInfo) {
+            encoder.append(",\"type\":\"session\"");
+            appendJsonConnection((QMMConnectionInfo) object);
+            encoder.append(",\"action\":\"").append(event.getAction().name()).append('"');
+        }
+        encoder.append("}\n");
+    }
+
+    private void appendJsonConnection(@Nullable QMMConnectionInfo connection) {
+        if (connection != null) {
+            encoder.append(",\"datasource\":");
+            appendJsonString(connection.getContainerName());
+        }
+    }
+
+    private void appendJsonString(@Nullable String value) {
+        if (value == null) {
+            encoder.append("null");
+            return;
+        }
+        encoder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    encoder.append("\\\"");
+                    break;
+                case '\\':
+                    encoder.append("\\\\");
+                    break;
+                case '\n':
+                    encoder.append("\\n");
+                    break;
+                case '\r':
+                    encoder.append("\\r");
+                    break;
+                case '\t':
+                    encoder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        encoder.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        encoder.append(c);
+                    }
+                    break;
+            }
+        }
+        encoder.append('"');
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(@NotNull OutputStream out, long count) {
+            super(out);
+            this.count = count;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private class LogWriterJob extends AbstractJob {
+
+        LogWriterJob() {
+            super("Write QM log");
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            flushPendingEvents();
+            return Status.OK_STATUS;
+        }
     }
 
 }
@@ -0,0 +1,456 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceListener;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.qm.QMConstants;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Query manager metrics handler.
+ * <p>
+ * Collects latency histograms and counters per data source and execution purpose.
+ * Metrics are exposed via JMX (see {@link QMMetricsMXBean}) and may be periodically written into a file
+ * in Prometheus text format (e.g. for node exporter textfile collector).
+ * Handler does nothing unless {@link QMConstants#PROP_METRICS_ENABLED} is set.
+ */
+public class QMMetricsHandler extends DefaultExecutionHandler implements QMMetricsMXBean, DBPPreferenceListener {
+
+    private static final Log log = Log.getLog(QMMetricsHandler.class);
+
+    private static final String METRIC_PREFIX = "dbeaver_qm_";
+    private static final String JMX_OBJECT_NAME = "org.jkiss.dbeaver:type=QueryMetrics";
+    private static final long FILE_WRITE_PERIOD = 15000;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private enum Latency {
+        CONNECT("connect_seconds", "Time to open connection of execution context"),
+        EXECUTE("execute_seconds", "Statement execution time"),
+        RESULT_SET_OPEN("result_set_open_seconds", "Time from statement execution start to result set open"),
+        FETCH("fetch_seconds", "Time from result set open to result set close");
+
+        private final String metricName;
+        private final String description;
+
+        Latency(String metricName, String description) {
+            this.metricName = METRIC_PREFIX + metricName;
+            this.description = description;
+        }
+    }
+
+    private enum Counter {
+        EXECUTIONS("statements_executed_total", "Executed statements"),
+        ERRORS("statement_errors_total", "Failed statements"),
+        ROWS_FETCHED("rows_fetched_total", "Rows fetched from result sets"),
+        ROWS_UPDATED("rows_updated_total", "Rows updated by statements"),
+        QUERY_CHARACTERS("query_characters_total", "Length of executed query texts"),
+        COMMITS("transaction_commits_total", "Committed transactions"),
+        ROLLBACKS("transaction_rollbacks_total", "Rolled back transactions");
+
+        private final String metricName;
+        private final String description;
+
+        Counter(String metricName, String description) {
+            this.metricName = METRIC_PREFIX + metricName;
+            this.description = description;
+        }
+    }
+
+    private static class Metrics {
+        private final String labels;
+        private final QMLatencyHistogram[] latencies = new QMLatencyHistogram[Latency.values().length];
+        private final LongAdder[] counters = new LongAdder[Counter.values().length];
+
+        Metrics(@NotNull DBPDataSourceContainer container, @Nullable DBCExecutionPurpose purpose) {
+            StringBuilder buffer = new StringBuilder();
+            buffer.append("datasource=\"").append(escapeLabel(container.getId())).append("\"");
+            buffer.append(",datasource_name=\"").append(escapeLabel(container.getName())).append("\"");
+            if (purpose != null) {
+                buffer.append(",purpose=\"").append(purpose.name()).append("\"");
+            }
+            this.labels = buffer.toString();
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new QMLatencyHistogram();
+            }
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new LongAdder();
+            }
+        }
+
+        void recordLatency(@NotNull Latency latency, long startTime) {
+            latencies[latency.ordinal()].recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+        }
+
+        void addCounter(@NotNull Counter counter, long value) {
+            counters[counter.ordinal()].add(value);
+        }
+    }
+
+    private final Map<String, Metrics> metrics = new ConcurrentHashMap<>();
+    private final Map<DBCStatement, Long> executeStartTimes = new ConcurrentHashMap<>();
+    private final Map<DBCResultSet, Long> fetchStartTimes = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+    private volatile Path metricsFile;
+    private ObjectName registeredName;
+    private MetricsFileJob fileJob;
+
+    public QMMetricsHandler() {
+        ModelPreferences.getPreferences().addPropertyChangeListener(this);
+        loadSettings();
+    }
+
+    public synchronized void dispose() {
+        ModelPreferences.getPreferences().removePropertyChangeListener(this);
+        enabled = false;
+        unregisterBean();
+        stopFileJob();
+        executeStartTimes.clear();
+        fetchStartTimes.clear();
+    }
+
+    @NotNull
+    @Override
+    public String getHandlerName() {
+        return "Metrics";
+    }
+
+    private synchronized void loadSettings() {
+        final DBPPreferenceStore preferences = ModelPreferences.getPreferences();
+        enabled = preferences.getBoolean(QMConstants.PROP_METRICS_ENABLED);
+        String fileName = preferences.getString(QMConstants.PROP_METRICS_FILE);
+        metricsFile = enabled && !CommonUtils.isEmpty(fileName) ? Path.of(fileName) : null;
+
+        if (enabled) {
+            registerBean();
+        } else {
+            unregisterBean();
+            executeStartTimes.clear();
+            fetchStartTimes.clear();
+        }
+        if (metricsFile != null) {
+            if (fileJob == null) {
+                fileJob = new MetricsFileJob();
+                fileJob.schedule();
+            }
+        } else {
+            stopFileJob();
+        }
+    }
+
+    private void registerBean() {
+        if (registeredName != null) {
+            return;
+        }
+        try {
+            ObjectName objectName = new ObjectName(JMX_OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+                registeredName = objectName;
+            }
+        } catch (Throwable e) {
+            log.debug("Error registering QM metrics MBean", e);
+        }
+    }
+
+    private void unregisterBean() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (Throwable e) {
+            log.debug("Error unregistering QM metrics MBean", e);
+        }
+        registeredName = null;
+    }
+
+    private void stopFileJob() {
+        if (fileJob != null) {
+            fileJob.cancel();
+            fileJob = null;
+        }
+    }
+
+    @Override
+    public void preferenceChange(PreferenceChangeEvent event) {
+        if (QMConstants.PROP_METRICS_ENABLED.equals(event.getProperty()) || QMConstants.PROP_METRICS_FILE.equals(event.getProperty())) {
+            loadSettings();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Event handlers
+
+    @Override
+    public void handleContextOpen(@NotNull DBCExecutionContext context, boolean transactional) {
+        if (!enabled) {
+            return;
+        }
+        // Contexts which support it (main, metadata and isolated JDBC contexts) report connection open start
+        Long startTime = context.getContextAttribute(QMConstants.QM_CONNECT_START_ATTR);
+        if (startTime != null) {
+            context.removeContextAttribute(QMConstants.QM_CONNECT_START_ATTR);
+            getMetrics(context.getDataSource().getContainer(), null).recordLatency(Latency.CONNECT, startTime);
+        }
+    }
+
+    @Override
+    public void handleTransactionCommit(@NotNull DBCExecutionContext context) {
+        if (enabled) {
+            getMetrics(context.getDataSource().getContainer(), null).addCounter(Counter.COMMITS, 1);
+        }
+    }
+
+    @Override
+    public void handleTransactionRollback(@NotNull DBCExecutionContext context, DBCSavepoint savepoint) {
+        if (enabled) {
+            getMetrics(context.getDataSource().getContainer(), null).addCounter(Counter.ROLLBACKS, 1);
+        }
+    }
+
+    @Override
+    public void handleStatementExecuteBegin(@NotNull DBCStatement statement) {
+        if (enabled) {
+            executeStartTimes.put(statement, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void handleStatementExecuteEnd(@NotNull DBCStatement statement, long rows, Throwable error) {
+        if (!enabled) {
+            return;
+        }
+        // Keep start time, it is used for result set open latency
+        Long startTime = executeStartTimes.get(statement);
+        if (startTime == null) {
+            return;
+        }
+        Metrics statementMetrics = getMetrics(statement.getSession());
+        statementMetrics.recordLatency(Latency.EXECUTE, startTime);
+        statementMetrics.addCounter(Counter.EXECUTIONS, 1);
+        if (error != null) {
+            statementMetrics.addCounter(Counter.ERRORS, 1);
+        }
+        if (rows > 0) {
+            statementMetrics.addCounter(Counter.ROWS_UPDATED, rows);
+        }
+        String queryString = statement.getQueryString();
+        if (queryString != null) {
+            statementMetrics.addCounter(Counter.QUERY_CHARACTERS, queryString.length());
+        }
+    }
+
+    @Override
+    public void handleStatementClose(@NotNull DBCStatement statement, long rows) {
+        executeStartTimes.remove(statement);
+    }
+
+    @Override
+    public void handleResultSetOpen(@NotNull DBCResultSet resultSet) {
+        if (!enabled) {
+            return;
+        }
+        DBCStatement statement = resultSet.getSourceStatement();
+        if (statement != null) {
+            Long startTime = executeStartTimes.get(statement);
+            if (startTime != null) {
+                getMetrics(statement.getSession()).recordLatency(Latency.RESULT_SET_OPEN, startTime);
+            }
+        }
+        fetchStartTimes.put(resultSet, System.nanoTime());
+    }
+
+    @Override
+    public void handleResultSetClose(@NotNull DBCResultSet resultSet, long rowCount) {
+        Long startTime = fetchStartTimes.remove(resultSet);
+        if (!enabled || startTime == null) {
+            return;
+        }
+        Metrics sessionMetrics = getMetrics(resultSet.getSession());
+        sessionMetrics.recordLatency(Latency.FETCH, startTime);
+        if (rowCount > 0) {
+            sessionMetrics.addCounter(Counter.ROWS_FETCHED, rowCount);
+        }
+    }
+
+    @NotNull
+    private Metrics getMetrics(@NotNull DBCSession session) {
+        return getMetrics(session.getDataSource().getContainer(), session.getPurpose());
+    }
+
+    @NotNull
+    private Metrics getMetrics(@NotNull DBPDataSourceContainer container, @Nullable DBCExecutionPurpose purpose) {
+        String key = purpose == null ? container.getId() : container.getId() + "/" + purpose.name();
+        return metrics.computeIfAbsent(key, k -> new Metrics(container, purpose));
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Export
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Metrics entry : metrics.values()) {
+            for (Counter counter : Counter.values()) {
+                long value = entry.counters[counter.ordinal()].sum();
+                if (value > 0) {
+                    result.put(counter.metricName + "{" + entry.labels + "}", value);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getLatencies() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Metrics entry : metrics.values()) {
+            for (Latency latency : Latency.values()) {
+                QMLatencyHistogram histogram = entry.latencies[latency.ordinal()];
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                for (double quantile : QUANTILES) {
+                    result.put(
+                        latency.metricName + "{" + entry.labels + ",quantile=\"" + quantile + "\"}",
+                        histogram.getValueAtPercentile(quantile * 100));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String getPrometheusMetrics() {
+        List<Metrics> entries = new ArrayList<>(metrics.values());
+        entries.sort(Comparator.comparing(m -> m.labels));
+
+        StringBuilder buffer = new StringBuilder(4096);
+        for (Latency latency : Latency.values()) {
+            buffer.append("# HELP ").append(latency.metricName).append(' ').append(latency.description).append('\n');
+            buffer.append("# TYPE ").append(latency.metricName).append(" summary\n");
+            for (Metrics entry : entries) {
+                QMLatencyHistogram histogram = entry.latencies[latency.ordinal()];
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                for (double quantile : QUANTILES) {
+                    buffer.append(latency.metricName).append('{').append(entry.labels)
+                        .append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(toSeconds(histogram.getValueAtPercentile(quantile * 100))).append('\n');
+                }
+                buffer.append(latency.metricName).append("_sum{").append(entry.labels).append("} ")
+                    .append(toSeconds(histogram.getTotalSum())).append('\n');
+                buffer.append(latency.metricName).append("_count{").append(entry.labels).append("} ")
+                    .append(histogram.getTotalCount()).append('\n');
+            }
+        }
+        for (Counter counter : Counter.values()) {
+            buffer.append("# HELP ").append(counter.metricName).append(' ').append(counter.description).append('\n');
+            buffer.append("# TYPE ").append(counter.metricName).append(" counter\n");
+            for (Metrics entry : entries) {
+                long value = entry.counters[counter.ordinal()].sum();
+                if (value > 0) {
+                    buffer.append(counter.metricName).append('{').append(entry.labels).append("} ").append(value).append('\n');
+                }
+            }
+        }
+        return buffer.toString();
+    }
+
+    @Override
+    public void reset() {
+        metrics.clear();
+    }
+
+    private static double toSeconds(long micros) {
+        return micros / 1000000.0;
+    }
+
+    private static String escapeLabel(@NotNull String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private void writeMetricsFile(@NotNull Path file) throws IOException {
+        Path folder = file.toAbsolutePath().getParent();
+        if (folder != null && !Files.exists(folder)) {
+            Files.createDirectories(folder);
+        }
+        // Write into temp file and then move it, so readers never see partially written file
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tempFile, getPrometheusMetrics(), StandardCharsets.UTF_8);
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private class MetricsFileJob extends AbstractJob {
+
+        MetricsFileJob() {
+            super("Write QM metrics");
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            Path file = metricsFile;
+            if (file == null || fileJob != this) {
+                return Status.OK_STATUS;
+            }
+            try {
+                writeMetricsFile(file);
+            } catch (IOException e) {
+                log.debug("Error writing QM metrics file '" + file + "': " + e.getMessage());
+            }
+            if (fileJob == this && !monitor.isCanceled()) {
+                schedule(FILE_WRITE_PERIOD);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
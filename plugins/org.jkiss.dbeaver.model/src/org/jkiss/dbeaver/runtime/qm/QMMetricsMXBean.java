@@ -0,0 +1,44 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import java.util.Map;
+
+/**
+ * Query manager metrics exposed via JMX.
+ * Metric names and labels are the same as in Prometheus export.
+ */
+public interface QMMetricsMXBean {
+
+    /**
+     * Counters by metric name with labels
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Latency quantiles (in microseconds) by metric name with labels
+     */
+    Map<String, Long> getLatencies();
+
+    /**
+     * All metrics in Prometheus text exposition format
+     */
+    String getPrometheusMetrics();
+
+    void reset();
+
+}
@@ -44,6 +44,8 @@ public class QMRegistryImpl implements QMRegistry {
 
     private QMExecutionHandler defaultHandler;
     private QMMCollectorImpl metaHandler;
+    private QMMetricsHandler metricsHandler;
+    private QMResultCacheHandler resultCacheHandler;
     private final List<QMExecutionHandler> handlers = new ArrayList<>();
     private QMEventBrowser eventBrowser;
     private DefaultEventBrowser defaultEventBrowser = new DefaultEventBrowser();
@@ -56,6 +58,12 @@ public class QMRegistryImpl implements QMRegistry {
 
         metaHandler = new QMMCollectorImpl();
         registerHandler(metaHandler);
+
+        metricsHandler = new QMMetricsHandler();
+        registerHandler(metricsHandler);
+
+        resultCacheHandler = new QMResultCacheHandler();
+        registerHandler(resultCacheHandler);
     }
 
     public void dispose()
@@ -65,6 +73,16 @@ public class QMRegistryImpl implements QMRegistry {
             metaHandler.dispose();
             metaHandler = null;
         }
+        if (metricsHandler != null) {
+            unregisterHandler(metricsHandler);
+            metricsHandler.dispose();
+            metricsHandler = null;
+        }
+        if (resultCacheHandler != null) {
+            unregisterHandler(resultCacheHandler);
+            resultCacheHandler.dispose();
+            resultCacheHandler = null;
+        }
 
         synchronized (handlers) {
             if (!handlers.isEmpty()) {
@@ -0,0 +1,77 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCSavepoint;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.exec.cache.DBCResultCache;
+
+/**
+ * Query manager handler which invalidates cached query results.
+ * <p>
+ * Results of data source are removed from {@link DBCResultCache} when it executes statement which may modify data
+ * and when transaction is committed or rolled back (cached result may contain uncommitted changes).
+ * Statements are checked both before and after execution, so results read concurrently are not kept.
+ */
+public class QMResultCacheHandler extends DefaultExecutionHandler {
+
+    private final DBCResultCache resultCache = DBCResultCache.getInstance();
+
+    public void dispose() {
+        resultCache.dispose();
+    }
+
+    @NotNull
+    @Override
+    public String getHandlerName() {
+        return "Result cache";
+    }
+
+    @Override
+    public void handleStatementExecuteBegin(@NotNull DBCStatement statement) {
+        invalidateModified(statement);
+    }
+
+    @Override
+    public void handleStatementExecuteEnd(@NotNull DBCStatement statement, long rows, Throwable error) {
+        invalidateModified(statement);
+    }
+
+    @Override
+    public void handleTransactionCommit(@NotNull DBCExecutionContext context) {
+        if (resultCache.isEnabled()) {
+            resultCache.invalidate(context.getDataSource().getContainer());
+        }
+    }
+
+    @Override
+    public void handleTransactionRollback(@NotNull DBCExecutionContext context, @Nullable DBCSavepoint savepoint) {
+        if (resultCache.isEnabled()) {
+            resultCache.invalidate(context.getDataSource().getContainer());
+        }
+    }
+
+    private void invalidateModified(@NotNull DBCStatement statement) {
+        if (resultCache.isEnabled() && !DBCResultCache.isReadOnlyQuery(statement.getQueryString())) {
+            resultCache.invalidate(statement.getSession().getDataSource().getContainer());
+        }
+    }
+
+}
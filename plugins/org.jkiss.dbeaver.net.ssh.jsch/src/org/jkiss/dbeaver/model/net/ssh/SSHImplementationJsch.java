@@ -50,8 +50,22 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
 
     private static final Log log = Log.getLog(SSHImplementationJsch.class);
 
+    private static final SSHSessionCache<Session[]> SESSION_CACHE = new SSHSessionCache<>(new SSHSessionCache.SessionHandler<Session[]>() {
+        @Override
+        public boolean isSessionAlive(@NotNull Session[] session) {
+            return session[session.length - 1].isConnected();
+        }
+
+        @Override
+        public void closeSession(@NotNull Session[] session) {
+            disconnectSessions(session);
+        }
+    });
+
     private transient JSch jsch;
     private transient volatile Session[] sessions;
+    private transient SSHSessionCache.SessionReference<Session[]> sessionReference;
+    private transient SSHPortForwardConfiguration forwardedPort;
 
     @Override
     protected synchronized void setupTunnel(@NotNull DBRProgressMonitor monitor, @NotNull DBWHandlerConfiguration configuration, @NotNull SSHHostConfiguration[] hosts, @NotNull SSHPortForwardConfiguration portForward) throws DBException, IOException {
@@ -60,7 +74,23 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
             JSch.setLogger(new JschLoggerProxy());
         }
 
-        sessions = new Session[hosts.length];
+        sessionReference = SESSION_CACHE.acquire(getSharedSessionKey(configuration, hosts), () -> openSessions(monitor, configuration, hosts));
+        sessions = sessionReference.getSession();
+
+        final Session session = sessions[sessions.length - 1];
+        try {
+            log.debug("Set port forwarding " + portForward.getLocalHost() + ":" + portForward.getLocalPort() + " -> " + portForward.getRemoteHost() + ":" + portForward.getRemotePort());
+            session.setPortForwardingL(portForward.getLocalHost(), portForward.getLocalPort(), portForward.getRemoteHost(), portForward.getRemotePort());
+            forwardedPort = portForward;
+        } catch (JSchException e) {
+            closeTunnel(monitor);
+            throw new DBException("Cannot establish tunnel to " + portForward.getRemoteHost() + ":" + portForward.getRemotePort(), e);
+        }
+    }
+
+    @NotNull
+    private Session[] openSessions(@NotNull DBRProgressMonitor monitor, @NotNull DBWHandlerConfiguration configuration, @NotNull SSHHostConfiguration[] hosts) throws DBException, IOException {
+        final Session[] sessions = new Session[hosts.length];
 
         for (int index = 0; index < hosts.length; index++) {
             final SSHHostConfiguration host = hosts[index];
@@ -115,22 +145,31 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
                 } else {
                     session.setConfig("PreferredAuthentications", "publickey,keyboard-interactive,password");
                 }
+                if (configuration.getBooleanProperty(SSHConstants.PROP_COMPRESSION)) {
+                    session.setConfig("compression.s2c", "zlib@openssh.com,zlib,none");
+                    session.setConfig("compression.c2s", "zlib@openssh.com,zlib,none");
+                }
 
                 log.debug("Connect to tunnel host");
 
                 session.connect();
-
-                if (index == hosts.length - 1) {
-                    log.debug("Set port forwarding " + portForward.getLocalHost() + ":" + portForward.getLocalPort() + " -> " + portForward.getRemoteHost() + ":" + portForward.getRemotePort());
-                    session.setPortForwardingL(portForward.getLocalHost(), portForward.getLocalPort(), portForward.getRemoteHost(), portForward.getRemotePort());
-                }
             } catch (JSchException e) {
-                closeTunnel(monitor);
+                disconnectSessions(sessions);
                 throw new DBException("Cannot establish tunnel to " + host.getHostname() + ":" + host.getPort(), e);
             }
 
             sessions[index] = session;
         }
+
+        return sessions;
+    }
+
+    private static void disconnectSessions(@NotNull Session[] sessions) {
+        for (int index = sessions.length - 1; index >= 0; index--) {
+            if (sessions[index] != null && sessions[index].isConnected()) {
+                sessions[index].disconnect();
+            }
+        }
     }
 
     private void setupHostKeyVerification(Session session, DBWHandlerConfiguration configuration) throws JSchException {
@@ -161,21 +200,27 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
 
     @Override
     public synchronized void closeTunnel(DBRProgressMonitor monitor) {
-        if (ArrayUtils.isEmpty(sessions)) {
+        final SSHSessionCache.SessionReference<Session[]> sessionReference = this.sessionReference;
+        if (sessionReference == null) {
             return;
         }
+        final SSHPortForwardConfiguration forwardedPort = this.forwardedPort;
         RuntimeUtils.runTask(monitor1 -> {
-            Session[] sessions = this.sessions;
-            if (ArrayUtils.isEmpty(sessions)) {
-                return;
-            }
-            for (Session session : sessions) {
-                if (session != null && session.isConnected()) {
-                    session.disconnect();
+            final Session[] sessions = sessionReference.getSession();
+            final Session session = sessions[sessions.length - 1];
+            if (forwardedPort != null && session.isConnected()) {
+                // Session may be shared with other tunnels, remove our forwarding only
+                try {
+                    session.delPortForwardingL(forwardedPort.getLocalHost(), forwardedPort.getLocalPort());
+                } catch (JSchException e) {
+                    log.debug("Error removing port forwarding: " + e.getMessage());
                 }
             }
+            sessionReference.release();
         }, "Close SSH session", 1000);
-        sessions = null;
+        this.sessionReference = null;
+        this.forwardedPort = null;
+        this.sessions = null;
     }
 
     @Override
@@ -202,11 +247,19 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
             }
         }
         if (!isAlive) {
+            invalidateSession();
             closeTunnel(monitor);
             initTunnel(monitor, savedConfiguration, savedConnectionInfo);
         }
     }
 
+    private synchronized void invalidateSession() {
+        if (sessionReference != null) {
+            // Session is released asynchronously, make sure the new tunnel doesn't pick it up again
+            sessionReference.invalidate();
+        }
+    }
+
     @Override
     public void getFile(
         @NotNull String src,
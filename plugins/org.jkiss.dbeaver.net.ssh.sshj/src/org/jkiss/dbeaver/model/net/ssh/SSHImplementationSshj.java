@@ -19,8 +19,6 @@ package org.jkiss.dbeaver.model.net.ssh;
 import com.jcraft.jsch.Identity;
 import net.schmizz.sshj.SSHClient;
 import net.schmizz.sshj.connection.channel.direct.DirectConnection;
-import net.schmizz.sshj.connection.channel.direct.LocalPortForwarder;
-import net.schmizz.sshj.connection.channel.direct.Parameters;
 import net.schmizz.sshj.sftp.SFTPClient;
 import net.schmizz.sshj.transport.verification.PromiscuousVerifier;
 import net.schmizz.sshj.userauth.method.AuthMethod;
@@ -44,8 +42,6 @@ import org.jkiss.utils.CommonUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.net.InetAddress;
-import java.net.ServerSocket;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -56,7 +52,23 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
 
     private static final Log log = Log.getLog(SSHImplementationSshj.class);
 
-    private final List<LocalPortListener> listeners = new ArrayList<>();
+    private static final SSHSessionCache<SSHClient[]> SESSION_CACHE = new SSHSessionCache<>(new SSHSessionCache.SessionHandler<SSHClient[]>() {
+        @Override
+        public boolean isSessionAlive(@NotNull SSHClient[] session) {
+            final SSHClient client = session[session.length - 1];
+            return client.isConnected() && client.isAuthenticated();
+        }
+
+        @Override
+        public void closeSession(@NotNull SSHClient[] session) {
+            for (int index = session.length - 1; index >= 0; index--) {
+                disconnectClient(session[index]);
+            }
+        }
+    });
+
+    private SSHSessionCache.SessionReference<SSHClient[]> sessionReference;
+    private SSHJPortForwarder.Listener listener;
     private SSHClient[] clients;
 
     @Override
@@ -66,10 +78,47 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
         @NotNull SSHHostConfiguration[] hosts,
         @NotNull SSHPortForwardConfiguration portForward
     ) throws DBException {
-        this.clients = new SSHClient[hosts.length];
+        final String sessionKey = getSharedSessionKey(configuration, hosts);
+        try {
+            this.sessionReference = SESSION_CACHE.acquire(sessionKey, () -> connectClients(monitor, configuration, hosts));
+        } catch (IOException e) {
+            throw new DBException("Cannot establish SSH session", e);
+        }
+        this.clients = sessionReference.getSession();
+
+        final SSHClient client = clients[clients.length - 1];
+        if (sessionReference.isShared()) {
+            monitor.subTask(String.format(
+                "Use shared SSH session to %s:%d",
+                client.getRemoteHostname(), client.getRemotePort()));
+        }
+        log.debug(String.format(
+            "Set port forwarding %s:%d -> %s:%d",
+            portForward.getLocalHost(), portForward.getLocalPort(),
+            portForward.getRemoteHost(), portForward.getRemotePort()));
+        try {
+            this.listener = SSHJPortForwarder.getInstance().bind(
+                client,
+                portForward.getLocalHost(), portForward.getLocalPort(),
+                portForward.getRemoteHost(), portForward.getRemotePort());
+        } catch (IOException e) {
+            closeTunnel(monitor);
+            throw new DBException("Cannot forward port " + portForward.getLocalHost() + ":" + portForward.getLocalPort(), e);
+        }
+    }
+
+    @NotNull
+    private SSHClient[] connectClients(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBWHandlerConfiguration configuration,
+        @NotNull SSHHostConfiguration[] hosts
+    ) throws DBException {
+        final SSHClient[] clients = new SSHClient[hosts.length];
 
         final int connectTimeout = configuration.getIntProperty(SSHConstants.PROP_CONNECT_TIMEOUT);
         final int keepAliveInterval = configuration.getIntProperty(SSHConstants.PROP_ALIVE_INTERVAL) / 1000; // sshj uses seconds for keep-alive interval
+        final boolean useCompression = configuration.getBooleanProperty(SSHConstants.PROP_COMPRESSION);
+        final int windowSize = configuration.getIntProperty(SSHConstants.PROP_WINDOW_SIZE);
 
         for (int index = 0; index < hosts.length; index++) {
             final SSHHostConfiguration host = hosts[index];
@@ -78,6 +127,10 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
 
             client.setConnectTimeout(connectTimeout);
             client.getConnection().getKeepAlive().setKeepAliveInterval(keepAliveInterval);
+            if (windowSize > 0) {
+                // Initial window of forwarding channels
+                client.getConnection().setWindowSize(windowSize);
+            }
 
             try {
                 setupHostKeyVerification(client, configuration, host);
@@ -137,23 +190,22 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
                         break;
                 }
 
-                if (index == hosts.length - 1) {
-                    log.debug(String.format(
-                        "Set port forwarding %s:%d -> %s:%d",
-                        portForward.getLocalHost(), portForward.getLocalPort(),
-                        portForward.getRemoteHost(), portForward.getRemotePort()));
-                    setPortForwarding(
-                        client,
-                        portForward.getLocalHost(), portForward.getLocalPort(),
-                        portForward.getRemoteHost(), portForward.getRemotePort());
+                if (useCompression) {
+                    // Negotiated after authentication for delayed compression
+                    client.useCompression();
                 }
             } catch (IOException e) {
-                closeTunnel(monitor);
+                disconnectClient(client);
+                for (int prevIndex = index - 1; prevIndex >= 0; prevIndex--) {
+                    disconnectClient(clients[prevIndex]);
+                }
                 throw new DBException("Cannot establish tunnel to " + host.getHostname() + ":" + host.getPort(), e);
             }
 
             clients[index] = client;
         }
+
+        return clients;
     }
 
     private static void setupHostKeyVerification(
@@ -175,28 +227,29 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
 
     @Override
     public synchronized void closeTunnel(DBRProgressMonitor monitor) {
-        listeners.forEach(LocalPortListener::disconnect);
-        listeners.clear();
+        if (listener != null) {
+            listener.close();
+            listener = null;
+        }
 
-        RuntimeUtils.runTask(monitor1 -> {
-            final SSHClient[] clients = this.clients;
+        final SSHSessionCache.SessionReference<SSHClient[]> sessionReference = this.sessionReference;
+        if (sessionReference != null) {
+            // Shared session is closed only when the last tunnel releases it
+            RuntimeUtils.runTask(monitor1 -> sessionReference.release(), "Close SSH session", 1000);
+        }
 
-            if (ArrayUtils.isEmpty(clients)) {
-                return;
-            }
+        this.sessionReference = null;
+        this.clients = null;
+    }
 
-            for (SSHClient client : clients) {
-                if (client != null && client.isConnected()) {
-                    try {
-                        client.disconnect();
-                    } catch (Exception e) {
-                        log.debug("Error closing session: " + e.getMessage());
-                    }
-                }
+    private static void disconnectClient(@NotNull SSHClient client) {
+        if (client.isConnected()) {
+            try {
+                client.disconnect();
+            } catch (Exception e) {
+                log.debug("Error closing session: " + e.getMessage());
             }
-        }, "Close SSH session", 1000);
-
-        clients = null;
+        }
     }
 
     @Override
@@ -211,10 +264,18 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
 
     @Override
     public void invalidateTunnel(DBRProgressMonitor monitor) throws DBException, IOException {
+        invalidateSession();
         closeTunnel(monitor);
         initTunnel(monitor, savedConfiguration, savedConnectionInfo);
     }
 
+    private synchronized void invalidateSession() {
+        if (sessionReference != null) {
+            // Session is released asynchronously, make sure the new tunnel doesn't pick it up again
+            sessionReference.invalidate();
+        }
+    }
+
     @Override
     public void getFile(
         @NotNull String src,
@@ -277,57 +338,4 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
         return sftpClient;
 
     }
-
-    private int setPortForwarding(@NotNull SSHClient client, String host, int port) throws IOException {
-        return setPortForwarding(client, "127.0.0.1", 0, host, port);
-    }
-
-    private int setPortForwarding(
-        @NotNull SSHClient client,
-        @NotNull String localHost, int localPort,
-        @NotNull String remoteHost, int remotePort
-    ) throws IOException {
-        final ServerSocket ss = new ServerSocket(localPort, 0, InetAddress.getByName(localHost));
-        final Parameters parameters = new Parameters(localHost, ss.getLocalPort(), remoteHost, remotePort);
-        final LocalPortForwarder forwarder = client.newLocalPortForwarder(parameters, ss);
-        final LocalPortListener listener = new LocalPortListener(forwarder, parameters);
-
-        listener.start();
-        listeners.add(listener);
-
-        return ss.getLocalPort();
-    }
-
-    private static class LocalPortListener extends Thread {
-        private final LocalPortForwarder forwarder;
-
-        public LocalPortListener(@NotNull LocalPortForwarder forwarder, @NotNull Parameters parameters) {
-            this.forwarder = forwarder;
-
-            setName(String.format(
-                "Port forwarder listener (%s:%d -> %s:%d)",
-                parameters.getLocalHost(), parameters.getLocalPort(),
-                parameters.getRemoteHost(), parameters.getRemotePort()
-            ));
-        }
-
-        @Override
-        public void run() {
-            try {
-                forwarder.listen();
-            } catch (IOException e) {
-                log.error("Error while listening on the port forwarder", e);
-            }
-        }
-
-        public void disconnect() {
-            try {
-                if (forwarder.isRunning()) {
-                    forwarder.close();
-                }
-            } catch (Exception e) {
-                log.error("Error while stopping port forwarding", e);
-            }
-        }
-    }
 }
@@ -0,0 +1,272 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import net.schmizz.sshj.SSHClient;
+import net.schmizz.sshj.connection.channel.direct.DirectConnection;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.utils.RuntimeUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local port forwarding for SSHJ tunnels.
+ * <p>
+ * All local listeners are served by one selector thread instead of a thread per listener.
+ * Accepted connections are forwarded through direct-tcpip channels of the tunnel's SSH client.
+ * SSHJ channels provide blocking streams only, so data is copied by pooled threads.
+ */
+class SSHJPortForwarder {
+
+    private static final Log log = Log.getLog(SSHJPortForwarder.class);
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+    private static final long CLOSE_TIMEOUT = 5000;
+
+    private static SSHJPortForwarder instance;
+
+    private final Selector selector;
+    private final Queue<Listener> pendingListeners = new ConcurrentLinkedQueue<>();
+    private final Queue<Listener> closingListeners = new ConcurrentLinkedQueue<>();
+    private final ExecutorService executor;
+
+    /**
+     * Local listener of a single tunnel
+     */
+    class Listener {
+        private final SSHClient client;
+        private final ServerSocketChannel serverChannel;
+        private final String remoteHost;
+        private final int remotePort;
+        private final Set<Closeable> connections = ConcurrentHashMap.newKeySet();
+        private final CountDownLatch deregistered = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        private Listener(@NotNull SSHClient client, @NotNull ServerSocketChannel serverChannel, @NotNull String remoteHost, int remotePort) {
+            this.client = client;
+            this.serverChannel = serverChannel;
+            this.remoteHost = remoteHost;
+            this.remotePort = remotePort;
+        }
+
+        int getLocalPort() {
+            return serverChannel.socket().getLocalPort();
+        }
+
+        /**
+         * Stops listening and closes all connections forwarded by this listener.
+         * Returns after the selector has deregistered the channel, so the local port is released.
+         */
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closeQuietly(serverChannel);
+            for (Closeable connection : connections) {
+                closeQuietly(connection);
+            }
+            connections.clear();
+            closingListeners.add(this);
+            selector.wakeup();
+            try {
+                if (!deregistered.await(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    log.debug("Timeout waiting for SSH port forwarding listener to close");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private SSHJPortForwarder() throws IOException {
+        this.selector = Selector.open();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "SSH port forwarding");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Thread selectorThread = new Thread(this::run, "SSH port forwarding listener");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    @NotNull
+    static synchronized SSHJPortForwarder getInstance() throws IOException {
+        if (instance == null) {
+            instance = new SSHJPortForwarder();
+        }
+        return instance;
+    }
+
+    @NotNull
+    Listener bind(
+        @NotNull SSHClient client,
+        @NotNull String localHost, int localPort,
+        @NotNull String remoteHost, int remotePort
+    ) throws IOException {
+        final ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        try {
+            if (!RuntimeUtils.isWindows()) {
+                // Same as ServerSocket does by default
+                serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            }
+            serverChannel.bind(new InetSocketAddress(InetAddress.getByName(localHost), localPort));
+            serverChannel.configureBlocking(false);
+        } catch (IOException e) {
+            closeQuietly(serverChannel);
+            throw e;
+        }
+        final Listener listener = new Listener(client, serverChannel, remoteHost, remotePort);
+        pendingListeners.add(listener);
+        selector.wakeup();
+        return listener;
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                selector.select();
+                for (Listener listener = pendingListeners.poll(); listener != null; listener = pendingListeners.poll()) {
+                    if (!listener.closed) {
+                        try {
+                            listener.serverChannel.register(selector, SelectionKey.OP_ACCEPT, listener);
+                        } catch (ClosedChannelException e) {
+                            // Closed concurrently, it is in the closing queue now
+                        }
+                    }
+                }
+                if (!closingListeners.isEmpty()) {
+                    final List<Listener> closing = new ArrayList<>();
+                    for (Listener listener = closingListeners.poll(); listener != null; listener = closingListeners.poll()) {
+                        closing.add(listener);
+                    }
+                    // Keys of closed channels are deregistered by the next selection operation
+                    selector.selectNow();
+                    for (Listener listener : closing) {
+                        listener.deregistered.countDown();
+                    }
+                }
+                final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    final SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        accept((Listener) key.attachment());
+                    }
+                }
+            } catch (Throwable e) {
+                log.error("Error in SSH port forwarding listener", e);
+            }
+        }
+    }
+
+    private void accept(@NotNull Listener listener) {
+        final SocketChannel socketChannel;
+        try {
+            socketChannel = listener.serverChannel.accept();
+        } catch (IOException e) {
+            log.debug("Error accepting forwarded connection: " + e.getMessage());
+            return;
+        }
+        if (socketChannel == null) {
+            return;
+        }
+        // Opening of the channel waits for the server, do not block the selector
+        executor.execute(() -> forward(listener, socketChannel.socket()));
+    }
+
+    private void forward(@NotNull Listener listener, @NotNull Socket socket) {
+        final DirectConnection channel;
+        try {
+            channel = listener.client.newDirectConnection(listener.remoteHost, listener.remotePort);
+        } catch (Exception e) {
+            log.debug("Error opening forwarding channel to " + listener.remoteHost + ":" + listener.remotePort + ": " + e.getMessage());
+            closeQuietly(socket);
+            return;
+        }
+        final Closeable connection = () -> {
+            closeQuietly(socket);
+            closeQuietly(channel);
+        };
+        listener.connections.add(connection);
+        if (listener.closed) {
+            listener.connections.remove(connection);
+            closeQuietly(connection);
+            return;
+        }
+        try {
+            socket.setTcpNoDelay(true);
+            final InputStream socketInput = socket.getInputStream();
+            final OutputStream socketOutput = socket.getOutputStream();
+            executor.execute(() -> copy(socketInput, channel.getOutputStream(), listener, connection));
+            copy(channel.getInputStream(), socketOutput, listener, connection);
+        } catch (IOException e) {
+            log.debug("Error forwarding connection: " + e.getMessage());
+            listener.connections.remove(connection);
+            closeQuietly(connection);
+        }
+    }
+
+    private static void copy(@NotNull InputStream input, @NotNull OutputStream output, @NotNull Listener listener, @NotNull Closeable connection) {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try {
+            for (int count = input.read(buffer); count >= 0; count = input.read(buffer)) {
+                output.write(buffer, 0, count);
+                output.flush();
+            }
+        } catch (IOException e) {
+            // Closed by other side
+        } finally {
+            // Either side finished - close both, so the other copier stops too
+            listener.connections.remove(connection);
+            closeQuietly(connection);
+        }
+    }
+
+    private static void closeQuietly(@NotNull Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.debug("Error closing forwarded connection: " + e.getMessage());
+        }
+    }
+}
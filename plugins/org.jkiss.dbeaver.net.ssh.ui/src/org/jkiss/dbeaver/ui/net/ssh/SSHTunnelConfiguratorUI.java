@@ -88,6 +88,8 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<Obje
 
     private Text keepAliveText;
     private Text tunnelTimeout;
+    private Button shareSessionCheck;
+    private Button compressionCheck;
     private VariablesHintLabel variablesHintLabel;
 
     @Override
@@ -206,6 +208,18 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<Obje
 
             tunnelTimeout = UIUtils.createLabelText(client, SSHUIMessages.model_ssh_configurator_label_tunnel_timeout, String.valueOf(SSHConstants.DEFAULT_CONNECT_TIMEOUT));
             setNumberEditStyles(tunnelTimeout);
+
+            shareSessionCheck = UIUtils.createCheckbox(client, SSHUIMessages.model_ssh_configurator_label_share_session, true);
+            shareSessionCheck.setToolTipText(SSHUIMessages.model_ssh_configurator_label_share_session_description);
+            GridData ssgd = new GridData(GridData.FILL_HORIZONTAL);
+            ssgd.horizontalSpan = 2;
+            shareSessionCheck.setLayoutData(ssgd);
+
+            compressionCheck = UIUtils.createCheckbox(client, SSHUIMessages.model_ssh_configurator_label_compression, false);
+            compressionCheck.setToolTipText(SSHUIMessages.model_ssh_configurator_label_compression_description);
+            GridData ccgd = new GridData(GridData.FILL_HORIZONTAL);
+            ccgd.horizontalSpan = 2;
+            compressionCheck.setLayoutData(ccgd);
         }
 
         {
@@ -444,6 +458,9 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<Obje
             tunnelTimeout.setText(String.valueOf(timeoutValue));
         }
 
+        shareSessionCheck.setSelection(CommonUtils.getBoolean(configuration.getProperty(SSHConstants.PROP_SHARE_SESSION), true));
+        compressionCheck.setSelection(configuration.getBooleanProperty(SSHConstants.PROP_COMPRESSION));
+
         savedConfiguration = new DBWHandlerConfiguration(configuration);
 
         DBPDataSourceContainer dataSource = savedConfiguration.getDataSource();
@@ -509,6 +526,8 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<Obje
         if (conTimeout != 0 && conTimeout != SSHConstants.DEFAULT_CONNECT_TIMEOUT) {
             configuration.setProperty(SSHConstants.PROP_CONNECT_TIMEOUT, conTimeout);
         }
+        configuration.setProperty(SSHConstants.PROP_SHARE_SESSION, shareSessionCheck.getSelection() ? null : false);
+        configuration.setProperty(SSHConstants.PROP_COMPRESSION, compressionCheck.getSelection() ? true : null);
     }
 
     @Override
@@ -20,6 +20,7 @@ import com.jcraft.jsch.AgentConnector;
 import com.jcraft.jsch.AgentIdentityRepository;
 import com.jcraft.jsch.JUnixSocketFactory;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
@@ -160,6 +161,23 @@ public abstract class SSHImplementationAbstract implements SSHImplementation {
         @NotNull SSHPortForwardConfiguration portForwardingConfiguration
     ) throws DBException, IOException;
 
+    /**
+     * Returns key of the shared session (see {@link SSHSessionCache}) or null if session sharing is disabled
+     */
+    @Nullable
+    protected static String getSharedSessionKey(@NotNull DBWHandlerConfiguration configuration, @NotNull SSHHostConfiguration[] hosts) {
+        if (!CommonUtils.getBoolean(configuration.getProperty(SSHConstants.PROP_SHARE_SESSION), true)) {
+            return null;
+        }
+        return SSHSessionCache.makeSessionKey(
+            hosts,
+            configuration.getIntProperty(SSHConstants.PROP_CONNECT_TIMEOUT),
+            configuration.getIntProperty(SSHConstants.PROP_ALIVE_INTERVAL),
+            configuration.getBooleanProperty(SSHConstants.PROP_BYPASS_HOST_VERIFICATION),
+            configuration.getBooleanProperty(SSHConstants.PROP_COMPRESSION),
+            configuration.getIntProperty(SSHConstants.PROP_WINDOW_SIZE));
+    }
+
     @NotNull
     private static SSHHostConfiguration loadConfiguration(@NotNull DBWHandlerConfiguration configuration, @NotNull String prefix) throws DBException {
         final SSHConstants.AuthType authType = CommonUtils.valueOf(SSHConstants.AuthType.class, configuration.getStringProperty(prefix + SSHConstants.PROP_AUTH_TYPE), SSHConstants.AuthType.PASSWORD);
@@ -0,0 +1,239 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.net.ssh.config.SSHAuthConfiguration;
+import org.jkiss.dbeaver.model.net.ssh.config.SSHHostConfiguration;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reference-counted cache of SSH sessions.
+ * <p>
+ * Tunnels with the same host chain, credentials and session options share one SSH transport.
+ * Each tunnel opens its own port forwarding channels over it. Session is closed when the last tunnel releases it.
+ *
+ * @param <T> implementation-specific session type
+ */
+public class SSHSessionCache<T> {
+
+    private static final Log log = Log.getLog(SSHSessionCache.class);
+
+    public interface SessionFactory<T> {
+        @NotNull
+        T openSession() throws DBException, IOException;
+    }
+
+    public interface SessionHandler<T> {
+        boolean isSessionAlive(@NotNull T session);
+
+        void closeSession(@NotNull T session);
+    }
+
+    /**
+     * Tunnel's share of the session. Must be released exactly once.
+     */
+    public static class SessionReference<T> {
+        private final SSHSessionCache<T> cache;
+        private final Entry<T> entry;
+        private final T session;
+        private boolean released;
+
+        private SessionReference(@NotNull SSHSessionCache<T> cache, @NotNull Entry<T> entry, @NotNull T session) {
+            this.cache = cache;
+            this.entry = entry;
+            this.session = session;
+        }
+
+        @NotNull
+        public T getSession() {
+            return session;
+        }
+
+        public boolean isShared() {
+            return entry.key != null;
+        }
+
+        /**
+         * Removes session from the cache, so next {@link #acquire} opens a new one.
+         * Other tunnels keep using this session until they release it.
+         */
+        public void invalidate() {
+            cache.detachEntry(entry);
+        }
+
+        public synchronized void release() {
+            if (!released) {
+                released = true;
+                cache.releaseEntry(entry);
+            }
+        }
+    }
+
+    private static class Entry<T> {
+        private final String key;
+        private T session;
+        private int refCount;
+        private boolean detached;
+
+        Entry(@Nullable String key) {
+            this.key = key;
+        }
+    }
+
+    private final SessionHandler<T> handler;
+    private final Map<String, Entry<T>> entries = new HashMap<>();
+
+    public SSHSessionCache(@NotNull SessionHandler<T> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Returns session for the specified key. Opens new session if there is no alive session with the same key.
+     * Concurrent calls with the same key wait for the first one, so only one handshake is made.
+     *
+     * @param key session key (see {@link #makeSessionKey}) or null if session must not be shared
+     */
+    @NotNull
+    public SessionReference<T> acquire(@Nullable String key, @NotNull SessionFactory<T> factory) throws DBException, IOException {
+        while (true) {
+            final Entry<T> entry;
+            synchronized (entries) {
+                Entry<T> existing = key == null ? null : entries.get(key);
+                if (existing == null) {
+                    existing = new Entry<>(key);
+                    if (key != null) {
+                        entries.put(key, existing);
+                    }
+                }
+                existing.refCount++;
+                entry = existing;
+            }
+            synchronized (entry) {
+                if (entry.detached) {
+                    // Previous owner failed to open session or it was closed
+                    releaseEntry(entry);
+                    continue;
+                }
+                if (entry.session != null && !handler.isSessionAlive(entry.session)) {
+                    log.debug("Shared SSH session is dead, open new one");
+                    detachEntry(entry);
+                    releaseEntry(entry);
+                    continue;
+                }
+                if (entry.session == null) {
+                    try {
+                        entry.session = factory.openSession();
+                    } catch (Throwable e) {
+                        detachEntry(entry);
+                        releaseEntry(entry);
+                        throw e;
+                    }
+                }
+                return new SessionReference<>(this, entry, entry.session);
+            }
+        }
+    }
+
+    /**
+     * Returns number of shared sessions
+     */
+    public int getSessionCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void detachEntry(@NotNull Entry<T> entry) {
+        synchronized (entries) {
+            entry.detached = true;
+            if (entry.key != null && entries.get(entry.key) == entry) {
+                entries.remove(entry.key);
+            }
+        }
+    }
+
+    private void releaseEntry(@NotNull Entry<T> entry) {
+        final T session;
+        synchronized (entries) {
+            entry.refCount--;
+            if (entry.refCount > 0) {
+                return;
+            }
+            entry.detached = true;
+            if (entry.key != null && entries.get(entry.key) == entry) {
+                entries.remove(entry.key);
+            }
+            session = entry.session;
+            entry.session = null;
+        }
+        if (session != null) {
+            handler.closeSession(session);
+        }
+    }
+
+    /**
+     * Makes session key from the host chain and options which affect the session.
+     * Secrets are not kept in the key, only their digest.
+     */
+    @NotNull
+    public static String makeSessionKey(@NotNull SSHHostConfiguration[] hosts, @NotNull Object... options) {
+        final StringBuilder key = new StringBuilder();
+        for (SSHHostConfiguration host : hosts) {
+            final SSHAuthConfiguration auth = host.getAuthConfiguration();
+            if (key.length() > 0) {
+                key.append(" -> ");
+            }
+            key.append(host.getUsername()).append('@').append(host.getHostname()).append(':').append(host.getPort())
+                .append('/').append(auth.getType())
+                .append('/').append(digestSecrets(
+                    auth.getPassword(),
+                    auth.getKeyFile() == null ? null : auth.getKeyFile().toAbsolutePath().toString(),
+                    auth.getKeyValue()));
+        }
+        for (Object option : options) {
+            key.append(';').append(option);
+        }
+        return key.toString();
+    }
+
+    @NotNull
+    private static String digestSecrets(@Nullable String... secrets) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String secret : secrets) {
+                if (secret != null) {
+                    digest.update(secret.getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+            return CommonUtils.toHexString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
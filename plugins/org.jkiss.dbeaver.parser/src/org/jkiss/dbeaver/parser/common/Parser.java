@@ -28,9 +28,13 @@ import org.jkiss.dbeaver.parser.common.grammar.nfa.ParseOperationKind;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.StreamSupport;
 
 public class Parser {
+    private static final Pattern EMPTY_PATTERN = Pattern.compile("");
+
     private final GrammarInfo grammar;
     private final NfaFragment nfa;
 
@@ -69,7 +73,7 @@ public class Parser {
         ImmList<ParsingStep> allPrevSteps,
         GrammarNfaTransition transition,
         Predicate<StackFrame> condition,
-        IntFunction<Integer> exprPosition
+        IntUnaryOperator exprPosition
     ) {
         ImmList<ParsingStep> prevSteps = allPrevSteps.filter(
             s -> s.stack.exprId == transition.getOperation().getExprId() && condition.test(s.stack)
@@ -81,14 +85,14 @@ public class Parser {
         ) {
             return ImmList.of(new ParsingStep(prevSteps, transition, StackFrame.push(
                 transition.getOperation().getExprId(),
-                exprPosition.apply(prevSteps.peek().stack.exprPosition),
+                exprPosition.applyAsInt(prevSteps.peek().stack.exprPosition),
                 transition.getOperation().getRule(),
                 prevSteps.flatMap(prevStep -> prevStep.stack.pop())
             )));
         } else {
             return prevSteps.map(prevStep -> new ParsingStep(ImmList.of(prevStep), transition, StackFrame.push(
                 transition.getOperation().getExprId(),
-                exprPosition.apply(prevStep.stack.exprPosition),
+                exprPosition.applyAsInt(prevStep.stack.exprPosition),
                 transition.getOperation().getRule(),
                 prevStep.stack.pop()
             )));
@@ -151,6 +155,8 @@ public class Parser {
 
     public ParseResult parse(String text, boolean firstResult, BooleanSupplier cancellationChecker) {
         PositionsQueue queue = new PositionsQueue(text.length(), nfa.getFrom());
+        // The same matcher is switched between patterns of the states
+        Matcher matcher = EMPTY_PATTERN.matcher(text);
 
         ArrayList<ParserState> results = new ArrayList<>();
         ArrayDeque<LocalState> localStates = new ArrayDeque<>();
@@ -159,7 +165,7 @@ public class Parser {
                 if (state.nfaState == nfa.getTo()) {
                     results.add(state);
                 }
-                GrammarNfaState.DispatchResult dispatchResult = state.nfaState.dispatch(text, state.position);
+                GrammarNfaState.DispatchResult dispatchResult = state.nfaState.dispatch(text, state.position, matcher);
                 if (dispatchResult != null) {
                     localStates.clear();
                     for (GrammarNfaTransition t : dispatchResult.transitions) {
@@ -178,7 +184,7 @@ public class Parser {
                             // just apply the context-local operations between the terms
                             ImmList<ParsingStep> stepsDone = evaluateOperation(localState.prevSteps, localState.transitionToGo);
                             if (!stepsDone.isEmpty()) {
-                                for (GrammarNfaTransition t : localState.transitionToGo.getTo().getNextByTerm(dispatchResult.term)) {
+                                for (GrammarNfaTransition t : localState.transitionToGo.getTo().getNextByTermId(dispatchResult.term.id)) {
                                     if (t.getTo() == nfa.getTo()) {
                                         ImmList<ParsingStep> finalSteps = stepsDone.filter(s -> s.stack.isRoot());
                                         if (!finalSteps.isEmpty()) {
@@ -385,7 +391,7 @@ public class Parser {
             return exprId;
         }
 
-        public Integer getExprPosition() {
+        public int getExprPosition() {
             return exprPosition;
         }
 
@@ -529,31 +535,31 @@ public class Parser {
     }
 
     private static class PositionsQueue {
-        private final PriorityQueue<Integer> queueOfPositions = new PriorityQueue<Integer>();
-        private final List<HashMap<GrammarNfaState, ParserState>> localStatesByPos;
+        private final BitSet queueOfPositions = new BitSet();
+        private final HashMap<GrammarNfaState, ParserState>[] localStatesByPos;
 
         private int currentPosition = 0;
         private int boundaryPosition = 0;
 
         @SuppressWarnings("unchecked")
         public PositionsQueue(int positions, GrammarNfaState initialState) {
-            localStatesByPos = Arrays.asList(new HashMap[positions + 1]);
+            localStatesByPos = new HashMap[positions + 1];
             HashMap<GrammarNfaState, ParserState> states = new HashMap<>();
             states.put(initialState, ParserState.initial(initialState));
-            localStatesByPos.set(0, states);
-            queueOfPositions.offer(0);
+            localStatesByPos[0] = states;
+            queueOfPositions.set(0);
         }
 
         public void enqueue(ParserState state) {
             if (state.position <= currentPosition) {
                 throw new IllegalStateException("");
             }
-            HashMap<GrammarNfaState, ParserState> states = localStatesByPos.get(state.position);
+            HashMap<GrammarNfaState, ParserState> states = localStatesByPos[state.position];
             if (states == null) {
                 states = new HashMap<>();
                 states.put(state.nfaState, state);
-                localStatesByPos.set(state.position, states);
-                queueOfPositions.offer(state.position);
+                localStatesByPos[state.position] = states;
+                queueOfPositions.set(state.position);
             } else {
                 states.compute(state.nfaState, (k, oldState) -> state.merge(oldState));
             }
@@ -564,16 +570,18 @@ public class Parser {
         }
 
         public boolean isNotEmpty() {
-            return queueOfPositions.size() > 0;
+            return !queueOfPositions.isEmpty();
         }
 
         public Iterable<ParserState> dequeue() {
-            Integer position = queueOfPositions.poll();
-            if (position == null) {
+            // positions are enqueued only ahead of the current one, so the queue is just a set of pending positions
+            int position = queueOfPositions.nextSetBit(currentPosition);
+            if (position < 0) {
                 return Collections.emptyList();
             } else {
+                queueOfPositions.clear(position);
                 currentPosition = position;
-                HashMap<GrammarNfaState, ParserState> states = localStatesByPos.get(position);
+                HashMap<GrammarNfaState, ParserState> states = localStatesByPos[position];
                 if (states == null) {
                     return Collections.emptyList();
                 } else {
@@ -583,7 +591,7 @@ public class Parser {
         }
 
         public Collection<ParserState> getBoundaryStates() {
-            return Collections.unmodifiableCollection(localStatesByPos.get(boundaryPosition).values());
+            return Collections.unmodifiableCollection(localStatesByPos[boundaryPosition].values());
         }
     }
 
@@ -674,7 +682,7 @@ public class Parser {
                             // just apply the context-local operations between the terms
                             ImmList<ParsingStep> stepsDone = evaluateOperation(localState.prevSteps, localState.transitionToGo);
                             if (!stepsDone.isEmpty()) {
-                                for (GrammarNfaTransition t : localState.transitionToGo.getTo().getNextByTerm(term)) {
+                                for (GrammarNfaTransition t : localState.transitionToGo.getTo().getNextByTermId(term.id)) {
                                     if (t.getTo() == nfa.getTo()) {
                                         ImmList<ParsingStep> finalSteps = stepsDone.filter(s -> s.stack.isRoot());
                                         if (!finalSteps.isEmpty()) {
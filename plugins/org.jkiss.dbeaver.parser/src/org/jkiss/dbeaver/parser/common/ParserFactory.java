@@ -16,18 +16,32 @@
  */
 package org.jkiss.dbeaver.parser.common;
 
-import org.jkiss.dbeaver.parser.common.grammar.GrammarInfo;
+import org.jkiss.dbeaver.parser.common.grammar.*;
 import org.jkiss.dbeaver.parser.common.grammar.nfa.GrammarNfaBuilder;
 import org.jkiss.dbeaver.parser.common.grammar.nfa.GrammarNfaBuilder.NfaFragment;
 import org.jkiss.dbeaver.parser.common.grammar.nfa.GrammarNfaTransition;
 
-import java.util.List;
+import java.util.*;
 
 /**
  * Factory of parsers caching parser finite state machine
  */
 public class ParserFactory {
-    
+
+    private static final int FACTORY_CACHE_SIZE = 32;
+
+    /**
+     * Factories of successfully analyzed grammars by grammar text.
+     * Building and analyzing grammar graph is much more expensive than parsing of a short text.
+     */
+    private static final Map<String, ParserFactory> factoryCache = Collections.synchronizedMap(
+        new LinkedHashMap<>(FACTORY_CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParserFactory> eldest) {
+                return size() > FACTORY_CACHE_SIZE;
+            }
+        });
+
     private final GrammarInfo grammar;
     private final NfaFragment nfa;
     private final List<String> errors;
@@ -38,7 +52,23 @@ public class ParserFactory {
         this.errors = errors;
     }
     
+    /**
+     * Returns parser factory for the grammar.
+     * Factory is shared by all equal grammars, so parse trees may refer rules of another (but equal) grammar instance.
+     */
     public static ParserFactory getFactory(GrammarInfo grammar) {
+        String grammarKey = makeGrammarKey(grammar);
+        ParserFactory factory = factoryCache.get(grammarKey);
+        if (factory == null) {
+            factory = createFactory(grammar);
+            if (factory.errors.isEmpty()) {
+                factoryCache.put(grammarKey, factory);
+            }
+        }
+        return factory;
+    }
+
+    private static ParserFactory createFactory(GrammarInfo grammar) {
         GrammarNfaBuilder builder = new GrammarNfaBuilder(grammar);
         NfaFragment root = builder.traverseGrammar();
         List<GrammarNfaTransition> terminalTransitions = builder.getTerminalTransitions();
@@ -53,10 +83,88 @@ public class ParserFactory {
         if (analyzer.getErrors().size() > 0) {
             return new ParserFactory(grammar, null, analyzer.getErrors());
         }
+        builder.buildTransitionTables();
 
         return new ParserFactory(grammar, root, List.of());
     }
 
+    private static String makeGrammarKey(GrammarInfo grammar) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(grammar.getName()).append('\n')
+            .append(grammar.getStartRuleName()).append('\n')
+            .append(grammar.getSkipRuleName()).append('\n');
+        List<GrammarRule> rules = new ArrayList<>(grammar.getRules());
+        rules.sort(Comparator.comparing(GrammarRule::getName));
+        for (GrammarRule rule : rules) {
+            sb.append(rule.getName()).append(rule.isUseSkipRule() ? " s" : " -").append(rule.isCaseSensitiveTerms() ? "c " : "- ");
+            rule.getExpression().apply(GrammarKeyPrinter.INSTANCE, sb).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Prints expression unambiguously, unlike {@link ExpressionPrinter} which omits tags and check operators
+     */
+    private static class GrammarKeyPrinter implements ExpressionVisitor<StringBuilder, StringBuilder> {
+
+        private static final GrammarKeyPrinter INSTANCE = new GrammarKeyPrinter();
+
+        private StringBuilder visitGroup(String name, GroupExpression group, StringBuilder sb) {
+            sb.append(name).append('(');
+            for (RuleExpression child : group.children) {
+                child.apply(this, sb).append(' ');
+            }
+            return sb.append(')');
+        }
+
+        private StringBuilder visitTerminal(String name, TerminalExpression terminal, StringBuilder sb) {
+            // Patterns may contain any characters, so they are prefixed with length
+            return sb.append(name).append(terminal.pattern.length()).append(':').append(terminal.pattern)
+                .append('#').append(terminal.tag);
+        }
+
+        @Override
+        public StringBuilder visitAlternative(AlternativeExpression alternativesExpr, StringBuilder sb) {
+            return visitGroup("alt", alternativesExpr, sb);
+        }
+
+        @Override
+        public StringBuilder visitCharacters(CharactersExpression characters, StringBuilder sb) {
+            return visitTerminal("chars", characters, sb);
+        }
+
+        @Override
+        public StringBuilder visitCheck(CheckExpression checkExpression, StringBuilder sb) {
+            return checkExpression.child.apply(this, sb.append("check(")).append(')');
+        }
+
+        @Override
+        public StringBuilder visitCheckNot(CheckNotExpression checkNotExpression, StringBuilder sb) {
+            return checkNotExpression.child.apply(this, sb.append("checkNot(")).append(')');
+        }
+
+        @Override
+        public StringBuilder visitSequence(SequenceExpression sequenceExpression, StringBuilder sb) {
+            return visitGroup("seq", sequenceExpression, sb);
+        }
+
+        @Override
+        public StringBuilder visitRuleCall(RuleCallExpression ruleCallExpression, StringBuilder sb) {
+            return sb.append("call(").append(ruleCallExpression.ruleName).append('#').append(ruleCallExpression.tag).append(')');
+        }
+
+        @Override
+        public StringBuilder visitNumber(NumberExpression numberExpression, StringBuilder sb) {
+            sb.append("num").append(numberExpression.min).append(',').append(numberExpression.max).append('(');
+            return numberExpression.child.apply(this, sb).append(')');
+        }
+
+        @Override
+        public StringBuilder visitRegex(RegexExpression regexExpression, StringBuilder sb) {
+            return visitTerminal("regex", regexExpression, sb);
+        }
+    }
+
     public List<String> getErrors() {
         return this.errors;
     }
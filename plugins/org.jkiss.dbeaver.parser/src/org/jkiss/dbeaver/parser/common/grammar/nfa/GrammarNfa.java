@@ -54,6 +54,15 @@ public class GrammarNfa {
         n.getFrom().remove(n);
     }
 
+    /**
+     * Builds transition tables of all states. Must be called when grammar analysis is complete.
+     */
+    public void buildTransitionTables() {
+        for (GrammarNfaState s : this.states) {
+            s.buildTransitionTable();
+        }
+    }
+
     public void compact() {
         for (GrammarNfaState s : this.states) {
             s.compact();
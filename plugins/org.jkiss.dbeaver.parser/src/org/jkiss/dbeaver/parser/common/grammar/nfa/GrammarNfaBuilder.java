@@ -67,6 +67,13 @@ public class GrammarNfaBuilder {
         return this.terminalTransitions;
     }
 
+    /**
+     * Freezes analyzed grammar graph into transition tables used by the parser
+     */
+    public void buildTransitionTables() {
+        this.nfa.buildTransitionTables();
+    }
+
     private int nextExprId() {
         return this.exprId++;
     }
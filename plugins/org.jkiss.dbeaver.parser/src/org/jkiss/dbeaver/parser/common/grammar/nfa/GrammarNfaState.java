@@ -28,14 +28,24 @@ import java.util.stream.Collectors;
  * State in the grammar graph
  */
 public class GrammarNfaState {
+    private static final GrammarNfaTransition[] NO_TRANSITIONS = new GrammarNfaTransition[0];
+
     private final int id;
     private final GrammarRule rule;
     private final ArrayList<GrammarNfaTransition> next;
 
     private HashMap<TermPatternInfo, ArrayList<GrammarNfaTransition>> nextByTerm = null;
 
-    private TermGroup eofGroup = null;
-    private LinkedHashMap<String, TermGroup> termGroupByName = null;
+    // Transition table: ids of expected terms in ascending order and transitions by each of them
+    private int[] nextTermIds = null;
+    private GrammarNfaTransition[][] nextByTermId = null;
+
+    // Dispatch table: regex group numbers of the state pattern with their terms and transitions
+    private TermPatternInfo eofTerm = null;
+    private List<GrammarNfaTransition> eofTransitions = null;
+    private int[] groupIndexes = null;
+    private TermPatternInfo[] groupTerms = null;
+    private List<GrammarNfaTransition>[] groupTransitions = null;
     private Pattern pattern = null;
 
     public GrammarNfaState(int id, GrammarRule rule) {
@@ -94,6 +104,9 @@ public class GrammarNfaState {
     }
 
     public Iterable<GrammarNfaTransition> getNextByTerm(TermPatternInfo term) {
+        if (nextTermIds != null) {
+            return Arrays.asList(getNextByTermId(term.id));
+        }
         if (nextByTerm != null) {
             ArrayList<GrammarNfaTransition> transitions = nextByTerm.get(term);
             if (transitions != null) {
@@ -103,6 +116,34 @@ public class GrammarNfaState {
         return Collections.emptyList();
     }
 
+    /**
+     * Returns transitions by the expected term id. Transition table must be built.
+     */
+    public GrammarNfaTransition[] getNextByTermId(int termId) {
+        int index = Arrays.binarySearch(nextTermIds, termId);
+        return index < 0 ? NO_TRANSITIONS : nextByTermId[index];
+    }
+
+    /**
+     * Builds transition table from the expected terms. Expected terms must not change after that.
+     */
+    public void buildTransitionTable() {
+        if (nextByTerm == null) {
+            nextTermIds = new int[0];
+            nextByTermId = new GrammarNfaTransition[0][];
+            return;
+        }
+        List<TermPatternInfo> terms = new ArrayList<>(nextByTerm.keySet());
+        terms.sort(Comparator.comparingInt(t -> t.id));
+        nextTermIds = new int[terms.size()];
+        nextByTermId = new GrammarNfaTransition[terms.size()][];
+        for (int i = 0; i < nextTermIds.length; i++) {
+            TermPatternInfo term = terms.get(i);
+            nextTermIds[i] = term.id;
+            nextByTermId[i] = nextByTerm.get(term).toArray(NO_TRANSITIONS);
+        }
+    }
+
     public void compact() {
         this.next.trimToSize();
 
@@ -118,36 +159,60 @@ public class GrammarNfaState {
         //     System.out.println("WTF " + rule.getName());
         // }
         List<TermPatternInfo> parts = new ArrayList<>(nextByTerm.size());
-        this.termGroupByName = new LinkedHashMap<>();
         for (Map.Entry<TermPatternInfo, ArrayList<GrammarNfaTransition>> step : nextByTerm.entrySet()) {
-            String groupName = step.getKey().makeRegexGroupName();
-            TermGroup termGroup = new TermGroup(groupName, step.getKey(), step.getValue());
+            step.getValue().trimToSize();
             if (step.getKey().isEOF()) {
-                this.eofGroup = termGroup;
+                this.eofTerm = step.getKey();
+                this.eofTransitions = Collections.unmodifiableList(step.getValue());
             } else {
                 parts.add(step.getKey());
-                this.termGroupByName.put(groupName, termGroup);
             }
         }
-        parts.sort(Comparator.comparingInt(a -> a.caps.priority));
+        parts.sort(Comparator.comparingInt(t -> t.caps.priority));
+
+        // Resolve group numbers once, so dispatch doesn't have to look groups up by name
+        this.groupIndexes = new int[parts.size()];
+        this.groupTerms = parts.toArray(new TermPatternInfo[0]);
+        @SuppressWarnings("unchecked")
+        List<GrammarNfaTransition>[] transitions = new List[parts.size()];
+        this.groupTransitions = transitions;
+        int groupIndex = 1;
+        for (int i = 0; i < groupTerms.length; i++) {
+            groupIndexes[i] = groupIndex + 1;
+            groupTransitions[i] = Collections.unmodifiableList(nextByTerm.get(groupTerms[i]));
+            groupIndex += Pattern.compile(groupTerms[i].makeRegexGroup()).matcher("").groupCount();
+        }
         this.pattern = Pattern.compile("(" + parts.stream().map(TermPatternInfo::makeRegexGroup).collect(Collectors.joining("|")) + ")");
     }
 
     public DispatchResult dispatch(String text, int position) {
+        if (pattern == null) {
+            throw new IllegalStateException();
+        }
+        return dispatch(text, position, this.pattern.matcher(text));
+    }
+
+    /**
+     * Recognizes term at the given position.
+     *
+     * @param matcher matcher over the same text. It is switched to the pattern of this state,
+     *                so one matcher may be reused for all dispatches of the text.
+     */
+    public DispatchResult dispatch(String text, int position, Matcher matcher) {
         if (pattern == null) {
             throw new IllegalStateException();
         }
         if (position >= text.length()) {
-            if (eofGroup != null) {
-                return new DispatchResult(eofGroup.term, position, eofGroup.transitions);
+            if (eofTerm != null) {
+                return new DispatchResult(eofTerm, position, eofTransitions);
             }
         } else {
-            Matcher matcher = this.pattern.matcher(text);
+            matcher.usePattern(this.pattern);
             if (matcher.find(position)) {
-                for (TermGroup g : this.termGroupByName.values()) {
-                    int end = matcher.end(g.groupName);
-                    if (end > 0 && end - position > 0 && matcher.start(g.groupName) == position) {
-                        return new DispatchResult(g.term, end, g.transitions);
+                for (int i = 0; i < groupIndexes.length; i++) {
+                    int end = matcher.end(groupIndexes[i]);
+                    if (end > 0 && end - position > 0 && matcher.start(groupIndexes[i]) == position) {
+                        return new DispatchResult(groupTerms[i], end, groupTransitions[i]);
                     }
                 }
             }
@@ -155,28 +220,15 @@ public class GrammarNfaState {
         return null;
     }
 
-    private static class TermGroup {
-        private final String groupName;
-        private final TermPatternInfo term;
-        private final ArrayList<GrammarNfaTransition> transitions;
-
-        public TermGroup(String groupName, TermPatternInfo term, ArrayList<GrammarNfaTransition> transitions) {
-            this.groupName = groupName;
-            this.term = term;
-            this.transitions = transitions;
-            this.transitions.trimToSize();
-        }
-    }
-
     public static class DispatchResult {
         public final TermPatternInfo term;
         public final int end;
         public final List<GrammarNfaTransition> transitions;
 
-        public DispatchResult(TermPatternInfo term, int end, ArrayList<GrammarNfaTransition> transitions) {
+        public DispatchResult(TermPatternInfo term, int end, List<GrammarNfaTransition> transitions) {
             this.term = term;
             this.end = end;
-            this.transitions = Collections.unmodifiableList(transitions);
+            this.transitions = transitions;
         }
     }
 }
\ No newline at end of file
@@ -408,6 +408,9 @@ public class DataSourceDescriptor
 
     public void setName(String name) {
         this.name = name;
+        if (registry instanceof DataSourceRegistry) {
+            ((DataSourceRegistry) registry).invalidateDataSourceNames();
+        }
     }
 
     @Nullable
@@ -753,6 +756,9 @@ public class DataSourceDescriptor
 
     public void setHidden(boolean hidden) {
         this.hidden = hidden;
+        if (registry instanceof DataSourceRegistry) {
+            ((DataSourceRegistry) registry).invalidateDataSourceNames();
+        }
     }
 
     @Override
@@ -52,6 +52,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -64,6 +67,8 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
     public static final String DEFAULT_ACTIVE_OBJECT = "default.activeObject"; //$NON-NLS-1$
 
     private static final long DISCONNECT_ALL_TIMEOUT = 5000;
+    // Delay of background save after data source modification. Modifications made during this delay are saved together.
+    private static final long STORAGE_SAVE_DELAY = 500;
 
     private static final Log log = Log.getLog(DataSourceRegistry.class);
 
@@ -73,16 +78,27 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
     private final DataSourceConfigurationManager configurationManager;
 
     private final List<DBPDataSourceConfigurationStorage> storages = new ArrayList<>();
+    // Data sources in load order. Guarded by itself, it is used only by modifications.
+    // Readers use lock-free indexes and snapshots which are rebuilt on each modification.
     private final Map<String, DataSourceDescriptor> dataSources = new LinkedHashMap<>();
+    private final Map<String, DataSourceDescriptor> dataSourceIndex = new ConcurrentHashMap<>();
+    private volatile DataSourceSnapshot dataSourceSnapshot = new DataSourceSnapshot(Collections.emptyList());
     private final List<DBPEventListener> dataSourceListeners = new ArrayList<>();
     private final List<DataSourceFolder> dataSourceFolders = new ArrayList<>();
     private final List<DBSObjectFilter> savedFilters = new ArrayList<>();
     private final List<DBWNetworkProfile> networkProfiles = new ArrayList<>();
     private final Map<String, DBAAuthProfile> authProfiles = new LinkedHashMap<>();
     private volatile boolean saveInProgress = false;
+    // Storages modified since the last save
+    private final Set<DBPDataSourceConfigurationStorage> dirtyStorages = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean fullSaveRequested = new AtomicBoolean();
+    private final AtomicLong saveRequestCounter = new AtomicLong();
+    private final Object saveLock = new Object();
+    private long completedSaveRequest;
 
     private final DBVModel.ModelChangeListener modelChangeListener = new DBVModel.ModelChangeListener();
     private volatile ConfigSaver configSaver;
+    private volatile StorageSaver storageSaver;
     private DBACredentialsProvider authCredentialsProvider;
     protected Throwable lastError;
 
@@ -122,6 +138,11 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
             }
             this.dataSourceListeners.clear();
         }
+        // Modified data sources are saved in background, write them before descriptors are disposed
+        if (storageSaver != null) {
+            storageSaver.cancel();
+        }
+        flushStorageChanges(new VoidProgressMonitor());
         // Disconnect in 5 seconds or die
         closeConnections(DISCONNECT_ALL_TIMEOUT);
         // Do not save config on shutdown.
@@ -136,17 +157,17 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
                 dataSourceDescriptor.dispose();
             }
             this.dataSources.clear();
+            this.dataSourceIndex.clear();
+            updateDataSourceSnapshot();
         }
     }
 
     private void closeConnections(long waitTime) {
         boolean hasConnections = false;
-        synchronized (dataSources) {
-            for (DataSourceDescriptor dataSource : dataSources.values()) {
-                if (dataSource.isConnected()) {
-                    hasConnections = true;
-                    break;
-                }
+        for (DataSourceDescriptor dataSource : dataSourceSnapshot.dataSources) {
+            if (dataSource.isConnected()) {
+                hasConnections = true;
+                break;
             }
         }
         if (!hasConnections) {
@@ -193,19 +214,23 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
     @Nullable
     @Override
     public DataSourceDescriptor getDataSource(String id) {
-        synchronized (dataSources) {
-            return dataSources.get(id);
-        }
+        return id == null ? null : dataSourceIndex.get(id);
     }
 
     @Nullable
     @Override
     public DataSourceDescriptor getDataSource(DBPDataSource dataSource) {
-        synchronized (dataSources) {
-            for (DataSourceDescriptor dsd : dataSources.values()) {
-                if (dsd.getDataSource() == dataSource) {
-                    return dsd;
-                }
+        if (dataSource == null) {
+            return null;
+        }
+        // Data source knows its container, check that it is ours
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (container != null && dataSourceIndex.get(container.getId()) == container && container.getDataSource() == dataSource) {
+            return (DataSourceDescriptor) container;
+        }
+        for (DataSourceDescriptor dsd : dataSourceSnapshot.dataSources) {
+            if (dsd.getDataSource() == dataSource) {
+                return dsd;
             }
         }
         return null;
@@ -214,12 +239,9 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
     @Nullable
     @Override
     public DataSourceDescriptor findDataSourceByName(String name) {
-        synchronized (dataSources) {
-            for (DataSourceDescriptor dsd : dataSources.values()) {
-                if (!dsd.isHidden() && dsd.getName().equals(name)) {
-                    return dsd;
-                }
-            }
+        DataSourceDescriptor dsd = dataSourceSnapshot.getNameIndex().get(name);
+        if (dsd != null && !dsd.isHidden() && dsd.getName().equals(name)) {
+            return dsd;
         }
         return null;
     }
@@ -227,10 +249,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
     @NotNull
     @Override
     public List<? extends DBPDataSourceContainer> getDataSourcesByProfile(@NotNull DBWNetworkProfile profile) {
-        List<DataSourceDescriptor> dsCopy;
-        synchronized (dataSources) {
-            dsCopy = CommonUtils.copyList(dataSources.values());
-        }
+        List<DataSourceDescriptor> dsCopy = new ArrayList<>(dataSourceSnapshot.dataSources);
         dsCopy.removeIf(ds -> !CommonUtils.equalObjects(ds.getConnectionConfiguration().getConfigProfileName(), profile.getProfileName()));
         return dsCopy;
     }
@@ -238,13 +257,24 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
     @NotNull
     @Override
     public List<DataSourceDescriptor> getDataSources() {
-        List<DataSourceDescriptor> dsCopy;
+        return new ArrayList<>(dataSourceSnapshot.getSortedDataSources());
+    }
+
+    /**
+     * Must be called under dataSources lock after data sources list change
+     */
+    private void updateDataSourceSnapshot() {
+        dataSourceSnapshot = new DataSourceSnapshot(Collections.unmodifiableList(new ArrayList<>(dataSources.values())));
+    }
+
+    /**
+     * Called when data source name or visibility changes.
+     * Creates new snapshot of the same data sources, so their sorted list and name index are built again.
+     */
+    void invalidateDataSourceNames() {
         synchronized (dataSources) {
-            dsCopy = CommonUtils.copyList(dataSources.values());
+            dataSourceSnapshot = new DataSourceSnapshot(dataSourceSnapshot.dataSources);
         }
-        dsCopy.sort((o1, o2) -> CommonUtils.notNull(o1.getName(), o1.getId()).compareToIgnoreCase(
-            CommonUtils.notNull(o2.getName(), o2.getId())));
-        return dsCopy;
     }
 
     @NotNull
@@ -304,7 +334,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
         if (parent != null) {
             folderImpl.setParent(null);
         }
-        for (DataSourceDescriptor ds : dataSources.values()) {
+        for (DataSourceDescriptor ds : dataSourceSnapshot.dataSources) {
             if (ds.getFolder() == folder) {
                 if (dropContents) {
                     removeDataSource(ds);
@@ -532,9 +562,15 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
         final DataSourceDescriptor descriptor = (DataSourceDescriptor) dataSource;
         synchronized (dataSources) {
             this.dataSources.put(descriptor.getId(), descriptor);
+            this.dataSourceIndex.put(descriptor.getId(), descriptor);
+            updateDataSourceSnapshot();
             DBPDataSourceConfigurationStorage storage = descriptor.getStorage();
-            if (!storages.contains(storage) && !descriptor.isDetached()) {
-                storages.add(storage);
+            if (!descriptor.isDetached()) {
+                synchronized (storages) {
+                    if (!storages.contains(storage)) {
+                        storages.add(storage);
+                    }
+                }
             }
         }
     }
@@ -554,9 +590,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
 
     @Override
     public void removeDataSourceFromList(@NotNull DBPDataSourceContainer dataSource) {
-        synchronized (dataSources) {
-            this.dataSources.remove(dataSource.getId());
-        }
+        removeDataSourceFromIndex(dataSource);
         try {
             this.fireDataSourceEvent(DBPEvent.Action.OBJECT_REMOVE, dataSource);
         } finally {
@@ -564,11 +598,19 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
         }
     }
 
+    private void removeDataSourceFromIndex(@NotNull DBPDataSourceContainer dataSource) {
+        synchronized (dataSources) {
+            this.dataSources.remove(dataSource.getId());
+            this.dataSourceIndex.remove(dataSource.getId());
+            updateDataSourceSnapshot();
+        }
+    }
+
     public void updateDataSource(@NotNull DBPDataSourceContainer dataSource) throws DBException {
         if (!(dataSource instanceof DataSourceDescriptor)) {
             return;
         }
-        if (!dataSources.containsKey(dataSource.getId())) {
+        if (!dataSourceIndex.containsKey(dataSource.getId())) {
             addDataSource(dataSource);
         } else {
             if (!((DataSourceDescriptor) dataSource).isDetached()) {
@@ -585,7 +627,12 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
     }
 
     protected void persistDataSourceUpdate(@NotNull DBPDataSourceContainer container) {
-        saveDataSources();
+        scheduleStorageSave(getContainerStorage(container));
+    }
+
+    @Nullable
+    private static DBPDataSourceConfigurationStorage getContainerStorage(@NotNull DBPDataSourceContainer container) {
+        return container instanceof DataSourceDescriptor ? ((DataSourceDescriptor) container).getStorage() : null;
     }
 
     protected void persistDataFolderDelete(@NotNull String folderPath, boolean dropContents) {
@@ -593,7 +640,37 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
     }
 
     protected void persistDataSourceDelete(@NotNull DBPDataSourceContainer container) {
-        saveDataSources();
+        scheduleStorageSave(getContainerStorage(container));
+    }
+
+    /**
+     * Schedules background save of the changed storage.
+     * Only the changed storage is rewritten, and a burst of modifications results in a single write.
+     */
+    private void scheduleStorageSave(@Nullable DBPDataSourceConfigurationStorage changedStorage) {
+        if (project.isInMemory()) {
+            return;
+        }
+        requestSave(changedStorage);
+        if (storageSaver == null) {
+            storageSaver = new StorageSaver();
+        }
+        storageSaver.schedule(STORAGE_SAVE_DELAY);
+    }
+
+    /**
+     * Writes changes which are scheduled for background save
+     */
+    private void flushStorageChanges(DBRProgressMonitor monitor) {
+        if (hasPendingChanges()) {
+            saveRequested(monitor, saveRequestCounter.get());
+        }
+    }
+
+    private boolean hasPendingChanges() {
+        synchronized (saveLock) {
+            return completedSaveRequest < saveRequestCounter.get();
+        }
     }
 
     @Override
@@ -610,13 +687,14 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
 
     @Override
     public void refreshConfig() {
-        if (!saveInProgress) {
+        // Reload would discard changes which are not saved yet
+        if (!saveInProgress && !hasPendingChanges()) {
             this.loadDataSources(true);
         }
     }
 
     public void refreshConfig(@Nullable Collection<String> dataSourceIds) {
-        if (saveInProgress) {
+        if (saveInProgress || hasPendingChanges()) {
             return;
         }
         loadDataSources(
@@ -770,7 +848,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
 
             if (purgeUntouched) {
                 List<DataSourceDescriptor> removedDataSource = new ArrayList<>();
-                for (DataSourceDescriptor ds : dataSources.values()) {
+                for (DataSourceDescriptor ds : dataSourceSnapshot.dataSources) {
                     if (!parseResults.addedDataSources.contains(ds) && !parseResults.updatedDataSources.contains(ds) &&
                         !ds.isProvided() && !ds.isExternallyProvided() && !ds.isDetached())
                     {
@@ -778,7 +856,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
                     }
                 }
                 for (DataSourceDescriptor ds : removedDataSource) {
-                    this.dataSources.remove(ds.getId());
+                    removeDataSourceFromIndex(ds);
                     this.fireDataSourceEvent(DBPEvent.Action.OBJECT_REMOVE, ds);
                     ds.dispose();
                 }
@@ -834,14 +912,73 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
     }
 
     protected void saveDataSources(DBRProgressMonitor monitor) {
+        saveDataSources(monitor, null);
+    }
+
+    /**
+     * Saves modified storages.
+     * Concurrent save requests are coalesced: if another thread saved configuration after this request
+     * was made then nothing is written.
+     *
+     * @param changedStorage storage which was changed or null if all storages must be saved
+     */
+    private void saveDataSources(DBRProgressMonitor monitor, @Nullable DBPDataSourceConfigurationStorage changedStorage) {
         if (project.isInMemory()) {
             return;
         }
+        saveRequested(monitor, requestSave(changedStorage));
+    }
+
+    /**
+     * Registers the change and returns its save request number
+     */
+    private long requestSave(@Nullable DBPDataSourceConfigurationStorage changedStorage) {
+        if (changedStorage == null || !hasStorage(changedStorage)) {
+            fullSaveRequested.set(true);
+        } else {
+            dirtyStorages.add(changedStorage);
+        }
+        return saveRequestCounter.incrementAndGet();
+    }
+
+    private void saveRequested(DBRProgressMonitor monitor, long saveRequest) {
+        synchronized (saveLock) {
+            if (completedSaveRequest >= saveRequest) {
+                // Saved by another thread
+                return;
+            }
+            long lastSaveRequest = saveRequestCounter.get();
+            // Consume changes before serialization, so all consumed changes will be saved
+            boolean fullSave = fullSaveRequested.getAndSet(false);
+            Set<DBPDataSourceConfigurationStorage> changedStorages = new HashSet<>();
+            for (DBPDataSourceConfigurationStorage storage : dirtyStorages) {
+                if (dirtyStorages.remove(storage)) {
+                    changedStorages.add(storage);
+                }
+            }
+            List<DBPDataSourceConfigurationStorage> storagesToSave;
+            synchronized (storages) {
+                storagesToSave = new ArrayList<>(storages);
+            }
+            if (!fullSave) {
+                storagesToSave.removeIf(storage -> !changedStorages.contains(storage));
+            }
+            saveStorages(monitor, storagesToSave);
+            completedSaveRequest = lastSaveRequest;
+        }
+    }
+
+    private boolean hasStorage(@NotNull DBPDataSourceConfigurationStorage storage) {
+        synchronized (storages) {
+            return storages.contains(storage);
+        }
+    }
 
+    private void saveStorages(DBRProgressMonitor monitor, List<DBPDataSourceConfigurationStorage> storagesToSave) {
         updateProjectNature();
         saveInProgress = true;
         try {
-            for (DBPDataSourceConfigurationStorage storage : storages) {
+            for (DBPDataSourceConfigurationStorage storage : storagesToSave) {
                 if (storage instanceof DataSourceFileStorage && ((DataSourceFileStorage) storage).isLegacy()) {
                     // Legacy storage. We must save it in the modern format
                     ((DataSourceFileStorage) storage).convertToModern(project);
@@ -879,11 +1016,9 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
 
     private List<DataSourceDescriptor> getDataSources(DBPDataSourceConfigurationStorage storage) {
         List<DataSourceDescriptor> result = new ArrayList<>();
-        synchronized (dataSources) {
-            for (DataSourceDescriptor ds : dataSources.values()) {
-                if (CommonUtils.equalObjects(ds.getStorage(), storage)) {
-                    result.add(ds);
-                }
+        for (DataSourceDescriptor ds : dataSourceSnapshot.dataSources) {
+            if (CommonUtils.equalObjects(ds.getStorage(), storage)) {
+                result.add(ds);
             }
         }
 
@@ -900,7 +1035,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
                 final IProjectDescription description = eclipseProject.getDescription();
                 if (description != null) {
                     String[] natureIds = description.getNatureIds();
-                    if (!dataSources.isEmpty()) {
+                    if (!dataSourceSnapshot.dataSources.isEmpty()) {
                         // Add nature
                         if (!ArrayUtils.contains(natureIds, DBeaverNature.NATURE_ID)) {
                             description.setNatureIds(ArrayUtils.add(String.class, natureIds, DBeaverNature.NATURE_ID));
@@ -969,6 +1104,8 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
 
     @Override
     public void checkForErrors() throws DBException {
+        // Errors of background save must be reported too
+        flushStorageChanges(new VoidProgressMonitor());
         Throwable lastError = getLastError();
         if (lastError != null) {
             if (lastError instanceof DBException) {
@@ -1011,6 +1148,48 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
         Set<DataSourceFolder> updatedFolders = new LinkedHashSet<>();
     }
 
+    /**
+     * Immutable list of data sources with views derived from it.
+     * Views are built on demand and belong to this snapshot only, so a stale view never replaces a newer snapshot.
+     */
+    private static class DataSourceSnapshot {
+        private final List<DataSourceDescriptor> dataSources;
+        private volatile List<DataSourceDescriptor> sortedDataSources;
+        private volatile Map<String, DataSourceDescriptor> nameIndex;
+
+        DataSourceSnapshot(@NotNull List<DataSourceDescriptor> dataSources) {
+            this.dataSources = dataSources;
+        }
+
+        @NotNull
+        List<DataSourceDescriptor> getSortedDataSources() {
+            List<DataSourceDescriptor> sorted = sortedDataSources;
+            if (sorted == null) {
+                List<DataSourceDescriptor> dsCopy = new ArrayList<>(dataSources);
+                dsCopy.sort((o1, o2) -> CommonUtils.notNull(o1.getName(), o1.getId()).compareToIgnoreCase(
+                    CommonUtils.notNull(o2.getName(), o2.getId())));
+                sorted = Collections.unmodifiableList(dsCopy);
+                sortedDataSources = sorted;
+            }
+            return sorted;
+        }
+
+        @NotNull
+        Map<String, DataSourceDescriptor> getNameIndex() {
+            Map<String, DataSourceDescriptor> index = nameIndex;
+            if (index == null) {
+                index = new HashMap<>();
+                for (DataSourceDescriptor dsd : dataSources) {
+                    if (!dsd.isHidden() && dsd.getName() != null) {
+                        index.putIfAbsent(dsd.getName(), dsd);
+                    }
+                }
+                nameIndex = index;
+            }
+            return index;
+        }
+    }
+
     private class DisconnectTask implements DBRRunnableWithProgress {
         boolean disconnected;
 
@@ -1023,10 +1202,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
                     return false;
                 }
             };
-            List<DataSourceDescriptor> dsSnapshot;
-            synchronized (dataSources) {
-                dsSnapshot = CommonUtils.copyList(dataSources.values());
-            }
+            List<DataSourceDescriptor> dsSnapshot = dataSourceSnapshot.dataSources;
             monitor.beginTask("Disconnect all databases", dsSnapshot.size());
             try {
                 for (DataSourceDescriptor dataSource : dsSnapshot) {
@@ -1050,6 +1226,19 @@ public class DataSourceRegistry implements DBPDataSourceRegistry, DataSourcePers
         }
     }
 
+    private class StorageSaver extends AbstractJob {
+        StorageSaver() {
+            super("Datasource storage save");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            flushStorageChanges(monitor);
+            return Status.OK_STATUS;
+        }
+    }
+
     private class ConfigSaver extends AbstractJob {
         ConfigSaver() {
             super("Datasource configuration save");
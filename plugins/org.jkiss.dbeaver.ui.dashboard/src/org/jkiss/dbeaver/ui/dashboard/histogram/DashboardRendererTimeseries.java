@@ -34,13 +34,17 @@ import org.jkiss.dbeaver.ui.dashboard.control.DashboardChartComposite;
 import org.jkiss.dbeaver.ui.dashboard.control.DashboardItem;
 import org.jkiss.dbeaver.ui.dashboard.control.DashboardRendererBase;
 import org.jkiss.dbeaver.ui.dashboard.model.*;
+import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardDataSeries;
 import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardDataset;
 import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardDatasetRow;
 
 import java.awt.*;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Histogram dashboard renderer
@@ -197,9 +201,13 @@ public class DashboardRendererTimeseries extends DashboardRendererBase {
         XYPlot plot = (XYPlot) chart.getPlot();
         TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
 
+        Map<String, DashboardDataSeries> seriesStore = getSeriesStore(chartComposite);
+        Map<String, DashboardDataSeries.Resolution> shownResolutions = getShownResolutions(chartComposite);
         if (container.getDashboardFetchType() == DashboardFetchType.stats) {
             // Clean previous data before stats update
             chartDataset.removeAllSeries();
+            seriesStore.clear();
+            shownResolutions.clear();
         }
 
         long currentTime = System.currentTimeMillis();
@@ -224,6 +232,11 @@ public class DashboardRendererTimeseries extends DashboardRendererBase {
                 chartDataset.addSeries(series);
                 plot.getRenderer().setSeriesStroke(chartDataset.getSeriesCount() - 1, plot.getRenderer().getBaseStroke());
             }
+            DashboardDataSeries dataSeries = seriesStore.computeIfAbsent(
+                seriesName,
+                name -> new DashboardDataSeries(name, null, Math.max(DashboardDataSeries.DEFAULT_RAW_CAPACITY, container.getDashboardMaxItems())));
+            // Values added before already shown ones require full chart series refill
+            boolean inOrder = true;
 
             switch (container.getDashboardCalcType()) {
                 case value: {
@@ -244,7 +257,7 @@ public class DashboardRendererTimeseries extends DashboardRendererBase {
                         }
                         Object value = row.getValues()[i];
                         if (value instanceof Number) {
-                            series.addOrUpdate(makeDataItem(container, row), (Number) value);
+                            inOrder &= dataSeries.addValue(row.getTimestamp().getTime(), ((Number) value).doubleValue());
                         }
                     }
                     break;
@@ -264,15 +277,17 @@ public class DashboardRendererTimeseries extends DashboardRendererBase {
                                 if (container.getDashboardValueType() != DashboardValueType.decimal) {
                                     deltaValue = Math.round(deltaValue);
                                 }
-                                series.addOrUpdate(
-                                    makeDataItem(container, row),
-                                    deltaValue);
+                                inOrder &= dataSeries.addValue(row.getTimestamp().getTime(), deltaValue);
                             }
                         }
                     }
                     break;
                 }
             }
+            DashboardDataSeries.Resolution resolution = getChartResolution(container, dataSeries);
+            boolean refill = !inOrder || resolution != shownResolutions.get(seriesName);
+            updateChartSeries(container, series, dataSeries, resolution, refill);
+            shownResolutions.put(seriesName, resolution);
         }
 
         if (!rows.isEmpty()) {
@@ -280,17 +295,93 @@ public class DashboardRendererTimeseries extends DashboardRendererBase {
         }
     }
 
-    private RegularTimePeriod makeDataItem(DashboardContainer container, DashboardDatasetRow row) {
+    /**
+     * Returns the finest resolution which covers dashboard max age. Long periods are shown with downsampled values.
+     */
+    private DashboardDataSeries.Resolution getChartResolution(DashboardContainer container, DashboardDataSeries dataSeries) {
+        long maxAge = container.getDashboardMaxAge();
+        if (maxAge > 0 &&
+            (container.getDashboardInterval() == DashboardInterval.second || container.getDashboardInterval() == DashboardInterval.millisecond))
+        {
+            return dataSeries.getResolution(System.currentTimeMillis() - maxAge);
+        }
+        return DashboardDataSeries.Resolution.RAW;
+    }
+
+    /**
+     * Adds new values of the series store to the chart series.
+     * Values are appended starting from the last shown period (its value may be changed, e.g. minute average).
+     * Chart series is refilled only if the resolution was changed or old values were modified.
+     */
+    private void updateChartSeries(
+        DashboardContainer container,
+        TimeSeries series,
+        DashboardDataSeries dataSeries,
+        DashboardDataSeries.Resolution resolution,
+        boolean refill)
+    {
+        int valueCount = dataSeries.getValueCount(resolution);
+        int firstValue = Math.max(0, valueCount - container.getDashboardMaxItems());
+        if (!refill && series.getItemCount() > 0) {
+            RegularTimePeriod lastPeriod = series.getTimePeriod(series.getItemCount() - 1);
+            int newFirstValue = valueCount;
+            while (newFirstValue > firstValue &&
+                makeDataItem(container, new Date(dataSeries.getTime(resolution, newFirstValue - 1))).compareTo(lastPeriod) >= 0)
+            {
+                newFirstValue--;
+            }
+            firstValue = newFirstValue;
+        }
+        if (firstValue >= valueCount && !refill) {
+            return;
+        }
+        series.setNotify(false);
+        try {
+            if (refill) {
+                series.clear();
+            }
+            for (int i = firstValue; i < valueCount; i++) {
+                series.addOrUpdate(
+                    makeDataItem(container, new Date(dataSeries.getTime(resolution, i))),
+                    dataSeries.getValue(resolution, i));
+            }
+        } finally {
+            // Fires single change event
+            series.setNotify(true);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, DashboardDataSeries.Resolution> getShownResolutions(DashboardChartComposite chartComposite) {
+        Map<String, DashboardDataSeries.Resolution> resolutions = (Map<String, DashboardDataSeries.Resolution>) chartComposite.getData("series_resolutions");
+        if (resolutions == null) {
+            resolutions = new HashMap<>();
+            chartComposite.setData("series_resolutions", resolutions);
+        }
+        return resolutions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, DashboardDataSeries> getSeriesStore(DashboardChartComposite chartComposite) {
+        Map<String, DashboardDataSeries> seriesStore = (Map<String, DashboardDataSeries>) chartComposite.getData("series_store");
+        if (seriesStore == null) {
+            seriesStore = new LinkedHashMap<>();
+            chartComposite.setData("series_store", seriesStore);
+        }
+        return seriesStore;
+    }
+
+    private RegularTimePeriod makeDataItem(DashboardContainer container, Date timestamp) {
         switch (container.getDashboardInterval()) {
-            case second: return new FixedMillisecond(row.getTimestamp().getTime());
-            case minute: return new Minute(row.getTimestamp());
-            case hour: return new Hour(row.getTimestamp());
-            case day: return new Day(row.getTimestamp());
-            case week: return new Week(row.getTimestamp());
-            case month: return new Month(row.getTimestamp());
-            case year: return new Year(row.getTimestamp());
+            case second: return new FixedMillisecond(timestamp.getTime());
+            case minute: return new Minute(timestamp);
+            case hour: return new Hour(timestamp);
+            case day: return new Day(timestamp);
+            case week: return new Week(timestamp);
+            case month: return new Month(timestamp);
+            case year: return new Year(timestamp);
             default:
-                return new FixedMillisecond(row.getTimestamp().getTime());
+                return new FixedMillisecond(timestamp.getTime());
         }
     }
 
@@ -300,6 +391,8 @@ public class DashboardRendererTimeseries extends DashboardRendererBase {
         if (plot != null) {
             TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
             chartDataset.removeAllSeries();
+            getSeriesStore(getChartComposite(container)).clear();
+            getShownResolutions(getChartComposite(container)).clear();
         }
     }
 
@@ -16,21 +16,150 @@
  */
 package org.jkiss.dbeaver.ui.dashboard.model.data;
 
-import java.util.ArrayList;
-import java.util.List;
+import org.jkiss.code.NotNull;
 
 /**
- * Histogram data.
+ * Time series data.
+ * <p>
+ * Values are kept in primitive ring buffers. Besides raw values series keeps
+ * per-minute and per-10-minutes averages, so long periods can be shown without keeping all raw values.
+ * Averages are built from values which are added in time order.
  */
 public class DashboardDataSeries {
 
-    private String title;
-    private String description;
-    private List<Number> values = new ArrayList<>();
+    public static final int DEFAULT_RAW_CAPACITY = 1000;
+    // One day of minutes and one week of 10-minutes
+    public static final int MINUTE_CAPACITY = 24 * 60;
+    public static final int TEN_MINUTES_CAPACITY = 7 * 24 * 6;
+
+    public enum Resolution {
+        RAW(0),
+        MINUTE(60 * 1000L),
+        TEN_MINUTES(10 * 60 * 1000L);
+
+        private final long period;
+
+        Resolution(long period) {
+            this.period = period;
+        }
+
+        public long getPeriod() {
+            return period;
+        }
+    }
+
+    private static class RingBuffer {
+        private final long[] times;
+        private final double[] values;
+        private int first;
+        private int count;
+
+        RingBuffer(int capacity) {
+            this.times = new long[capacity];
+            this.values = new double[capacity];
+        }
+
+        boolean isFull() {
+            return count == times.length;
+        }
+
+        private int physical(int index) {
+            return (first + index) % times.length;
+        }
+
+        long getTime(int index) {
+            return times[physical(index)];
+        }
+
+        double getValue(int index) {
+            return values[physical(index)];
+        }
+
+        void append(long time, double value) {
+            if (isFull()) {
+                first = (first + 1) % times.length;
+                count--;
+            }
+            int pos = physical(count);
+            times[pos] = time;
+            values[pos] = value;
+            count++;
+        }
+
+        void setLastValue(double value) {
+            values[physical(count - 1)] = value;
+        }
+
+        /**
+         * Adds or replaces value keeping buffer sorted by time
+         */
+        void put(long time, double value) {
+            if (count == 0 || time > getTime(count - 1)) {
+                append(time, value);
+                return;
+            }
+            int low = 0, high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midTime = getTime(mid);
+                if (midTime < time) {
+                    low = mid + 1;
+                } else if (midTime > time) {
+                    high = mid - 1;
+                } else {
+                    values[physical(mid)] = value;
+                    return;
+                }
+            }
+            if (low == 0 && isFull()) {
+                // Older than everything we keep
+                return;
+            }
+            if (isFull()) {
+                // Drop the oldest value
+                first = (first + 1) % times.length;
+                count--;
+                low--;
+            }
+            for (int i = count; i > low; i--) {
+                int to = physical(i), from = physical(i - 1);
+                times[to] = times[from];
+                values[to] = values[from];
+            }
+            times[physical(low)] = time;
+            values[physical(low)] = value;
+            count++;
+        }
+
+        void clear() {
+            first = 0;
+            count = 0;
+        }
+    }
+
+    private final String title;
+    private final String description;
+    private final RingBuffer rawValues;
+    private final RingBuffer[] aggregates;
+    private final long[] bucketStart;
+    private final double[] bucketSum;
+    private final int[] bucketCount;
 
     public DashboardDataSeries(String title, String description) {
+        this(title, description, DEFAULT_RAW_CAPACITY);
+    }
+
+    public DashboardDataSeries(String title, String description, int rawCapacity) {
         this.title = title;
         this.description = description;
+        this.rawValues = new RingBuffer(Math.max(1, rawCapacity));
+        this.aggregates = new RingBuffer[] {
+            new RingBuffer(MINUTE_CAPACITY),
+            new RingBuffer(TEN_MINUTES_CAPACITY)
+        };
+        this.bucketStart = new long[aggregates.length];
+        this.bucketSum = new double[aggregates.length];
+        this.bucketCount = new int[aggregates.length];
     }
 
     public String getTitle() {
@@ -41,11 +170,76 @@ public class DashboardDataSeries {
         return description;
     }
 
-    public List<Number> getValues() {
-        return values;
+    /**
+     * Adds value. Value with the same time replaces previous one.
+     *
+     * @return false if value was inserted before (or replaced) already existing values
+     */
+    public boolean addValue(long time, double value) {
+        boolean inOrder = rawValues.count == 0 || time > rawValues.getTime(rawValues.count - 1);
+        rawValues.put(time, value);
+        if (!inOrder) {
+            return false;
+        }
+        for (int i = 0; i < aggregates.length; i++) {
+            long period = Resolution.values()[i + 1].getPeriod();
+            long bucket = time - Math.floorMod(time, period);
+            if (bucketCount[i] > 0 && bucketStart[i] == bucket) {
+                bucketSum[i] += value;
+                bucketCount[i]++;
+                aggregates[i].setLastValue(bucketSum[i] / bucketCount[i]);
+            } else {
+                bucketStart[i] = bucket;
+                bucketSum[i] = value;
+                bucketCount[i] = 1;
+                aggregates[i].append(bucket, value);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the finest resolution which has values since the specified time
+     */
+    @NotNull
+    public Resolution getResolution(long fromTime) {
+        if (covers(rawValues, fromTime)) {
+            return Resolution.RAW;
+        }
+        for (int i = 0; i < aggregates.length - 1; i++) {
+            if (covers(aggregates[i], fromTime)) {
+                return Resolution.values()[i + 1];
+            }
+        }
+        return Resolution.TEN_MINUTES;
+    }
+
+    public int getValueCount(@NotNull Resolution resolution) {
+        return getBuffer(resolution).count;
+    }
+
+    public long getTime(@NotNull Resolution resolution, int index) {
+        return getBuffer(resolution).getTime(index);
+    }
+
+    public double getValue(@NotNull Resolution resolution, int index) {
+        return getBuffer(resolution).getValue(index);
+    }
+
+    public void clear() {
+        rawValues.clear();
+        for (int i = 0; i < aggregates.length; i++) {
+            aggregates[i].clear();
+            bucketCount[i] = 0;
+        }
+    }
+
+    private RingBuffer getBuffer(Resolution resolution) {
+        return resolution == Resolution.RAW ? rawValues : aggregates[resolution.ordinal() - 1];
     }
 
-    public void addValue(Number value) {
-        values.add(value);
+    private static boolean covers(RingBuffer buffer, long fromTime) {
+        // Buffer which never dropped values has everything
+        return !buffer.isFull() || buffer.getTime(0) <= fromTime;
     }
 }
@@ -18,11 +18,12 @@ package org.jkiss.dbeaver.ui.dashboard.view;
 
 import org.apache.commons.jexl3.JexlContext;
 import org.eclipse.ui.*;
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
-import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.DBPErrorAssistant;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
@@ -120,28 +121,45 @@ public class DashboardUpdater {
             }
         }
 
+        // Coalesce due dashboards by execution context, so each data source is read in a single session
+        Map<DBCExecutionContext, List<DashboardContainer>> contextDashboards = new LinkedHashMap<>();
         for (DashboardContainer dashboard : dashboards) {
-            if (!dashboard.isAutoUpdateEnabled()) {
+            if (!dashboard.isAutoUpdateEnabled() || !dashboard.getDataSourceContainer().isConnected()) {
+                monitor.worked(1);
                 continue;
             }
-            DBPDataSource dataSource = dashboard.getDataSourceContainer().getDataSource();
-            if (dataSource == null) {
+            if (dashboard.getMapQuery() != null) {
+                // Map query data was already read
+                fetchDashboardMapData(monitor, dashboard);
+                monitor.worked(1);
+                continue;
+            }
+            DBCExecutionContext executionContext = dashboard.getGroup().getView().getExecutionContext();
+            if (executionContext == null || dashboard.getQueryList().isEmpty()) {
+                monitor.worked(1);
                 continue;
             }
+            contextDashboards.computeIfAbsent(executionContext, k -> new ArrayList<>()).add(dashboard);
+        }
+
+        for (Map.Entry<DBCExecutionContext, List<DashboardContainer>> entry : contextDashboards.entrySet()) {
+            DBCExecutionContext executionContext = entry.getKey();
+            List<DashboardContainer> contextDashboardList = entry.getValue();
+            // Dashboards which were updated before connection recover
+            Set<DashboardContainer> updatedDashboards = new HashSet<>();
             try {
-                DBExecUtils.tryExecuteRecover(dashboards, dataSource, param -> {
+                DBExecUtils.tryExecuteRecover(contextDashboardList, executionContext.getDataSource(), param -> {
                     try {
-                        updateDashboard(monitor, dashboard);
+                        updateDashboards(monitor, executionContext, param, updatedDashboards);
                     } catch (Throwable e) {
-                        log.debug("Datasource '" + dashboard.getDataSourceContainer().getName() + "' dashboard query failed. Stopping update of dashboards for this datasource.");
-                        dashboard.disableAutoUpdate();
                         throw new InvocationTargetException(e);
                     }
                 });
             } catch (DBException e) {
-                log.debug("Error reading dashboard '" + dashboard.getDashboardId() + "' data: " + GeneralUtils.getRootCause(e).getMessage());
+                log.debug("Error reading dashboards data of '" + executionContext.getDataSource().getContainer().getName() + "': " +
+                    GeneralUtils.getRootCause(e).getMessage());
             }
-            monitor.worked(1);
+            monitor.worked(contextDashboardList.size());
         }
         monitor.done();
     }
@@ -171,57 +189,87 @@ public class DashboardUpdater {
         }
     }
 
-    private void updateDashboard(DBRProgressMonitor monitor, DashboardContainer dashboard) throws DBCException {
-        if (!dashboard.getDataSourceContainer().isConnected() || DBWorkbench.getPlatform().isShuttingDown()) {
-            return;
-        }
-
-        if (dashboard.getMapQuery() != null) {
-            fetchDashboardMapData(monitor, dashboard);
-            return;
-        }
-        List<? extends DashboardQuery> queries = dashboard.getQueryList();
-        if (queries.isEmpty()) {
-            return;
-        }
-        DashboardViewContainer view = dashboard.getGroup().getView();
-        DBCExecutionContext executionContext = view.getExecutionContext();
-        if (executionContext == null) {
+    private void updateDashboards(
+        DBRProgressMonitor monitor,
+        DBCExecutionContext executionContext,
+        List<DashboardContainer> dashboards,
+        Set<DashboardContainer> updatedDashboards) throws DBCException
+    {
+        if (DBWorkbench.getPlatform().isShuttingDown()) {
             return;
         }
         try (DBCSession session = executionContext.openSession(
-            monitor, DBCExecutionPurpose.UTIL, "Read dashboard '" + dashboard.getDashboardTitle() + "' data")) {
+            monitor, DBCExecutionPurpose.UTIL, "Read dashboards data")) {
             session.enableLogging(false);
+            updateDashboards(session, dashboards, updatedDashboards);
+        }
+    }
 
-            DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
-            boolean revertTxn = false;
-            if (false) {
-                // FIXME: dashboards must be queued in auto-commit mode?
-                // FIXME: we can't switch to auto-commit because connection may be used by another tasks (e.g. SQL editor)
-                if (txnManager != null && txnManager.isSupportsTransactions() && !txnManager.isAutoCommit()) {
-                    txnManager.setAutoCommit(monitor, true);
-                    revertTxn = true;
-                }
+    /**
+     * Updates dashboards in the specified session.
+     * Query error disables auto update of the failed dashboard only, the rest dashboards are updated.
+     * Lost connection error is rethrown, so the caller may recover connection and retry the dashboards
+     * which are not in {@code updatedDashboards}.
+     */
+    public void updateDashboards(
+        @NotNull DBCSession session,
+        @NotNull List<DashboardContainer> dashboards,
+        @NotNull Set<DashboardContainer> updatedDashboards) throws DBCException
+    {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        // The same query may be used by several dashboards (e.g. in different views)
+        Map<String, DashboardDataset> queryResults = new HashMap<>();
+        for (DashboardContainer dashboard : dashboards) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            if (updatedDashboards.contains(dashboard) || !dashboard.isAutoUpdateEnabled()) {
+                continue;
             }
             try {
-                for (DashboardQuery query : queries) {
-                    try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.getQueryText(), false, false, false)) {
-                        if (dbStat.executeStatement()) {
-                            try (DBCResultSet dbResults = dbStat.openResultSet()) {
-                                if (dbResults != null) {
-                                    fetchDashboardData(dashboard, dbResults);
-                                }
+                updateDashboard(session, dashboard, queryResults);
+            } catch (Exception e) {
+                if (e instanceof DBCException &&
+                    DBExecUtils.discoverErrorType(session.getDataSource(), e) == DBPErrorAssistant.ErrorType.CONNECTION_LOST)
+                {
+                    throw (DBCException) e;
+                }
+                log.debug("Dashboard '" + dashboard.getDashboardId() + "' of '" + dashboard.getDataSourceContainer().getName() +
+                    "' update failed. Stopping update of this dashboard: " + GeneralUtils.getRootCause(e).getMessage());
+                dashboard.disableAutoUpdate();
+            }
+            updatedDashboards.add(dashboard);
+        }
+    }
+
+    private void updateDashboard(DBCSession session, DashboardContainer dashboard, Map<String, DashboardDataset> queryResults) throws DBCException {
+        for (DashboardQuery query : dashboard.getQueryList()) {
+            String queryText = query.getQueryText();
+            String resultKey = queryText + "\n" + dashboard.getDashboardMaxItems();
+            DashboardDataset dataset = queryResults.get(resultKey);
+            if (dataset == null) {
+                try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, queryText, false, false, false)) {
+                    if (dbStat.executeStatement()) {
+                        try (DBCResultSet dbResults = dbStat.openResultSet()) {
+                            if (dbResults != null) {
+                                dataset = fetchDashboardData(dashboard, dbResults);
                             }
                         }
-                    } catch (Exception e) {
-                        throw new DBCException("Error updating dashboard " + dashboard.getDashboardId(), e, session.getExecutionContext());
                     }
+                } catch (Exception e) {
+                    throw new DBCException("Error updating dashboard " + dashboard.getDashboardId(), e, session.getExecutionContext());
                 }
-            } finally {
-                if (revertTxn) {
-                    txnManager.setAutoCommit(monitor, false);
+                if (dataset == null) {
+                    continue;
                 }
+                queryResults.put(resultKey, dataset);
+            }
+            switch (dashboard.getDashboardFetchType()) {
+                case rows:
+                    dataset = transposeDataset(dataset);
+                    break;
             }
+            dashboard.updateDashboardData(dataset);
         }
     }
 
@@ -300,7 +348,7 @@ public class DashboardUpdater {
         }
     }
 
-    private void fetchDashboardData(DashboardContainer dashboard, DBCResultSet dbResults) throws DBCException {
+    private DashboardDataset fetchDashboardData(DashboardContainer dashboard, DBCResultSet dbResults) throws DBCException {
         DBCResultSetMetaData meta = dbResults.getMeta();
         List<DBCAttributeMetaData> rsAttrs = meta.getAttributes();
         List<String> colNames = new ArrayList<>();
@@ -334,13 +382,7 @@ public class DashboardUpdater {
                 break;
             }
         }
-
-        switch (dashboard.getDashboardFetchType()) {
-            case rows:
-                dataset = transposeDataset(dataset);
-                break;
-        }
-        dashboard.updateDashboardData(dataset);
+        return dataset;
     }
 
     private DashboardDataset transposeDataset(DashboardDataset dataset) {
@@ -21,8 +21,9 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
-import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDDataReceiverBatch;
 import org.jkiss.dbeaver.model.data.DBDDataReceiverInteractive;
+import org.jkiss.dbeaver.model.data.DBDRowBatch;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.data.DBDValueError;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -39,7 +40,7 @@ import java.util.Map;
 /**
  * Data pump for SQL queries
  */
-class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteractive {
+class ResultSetDataReceiver implements DBDDataReceiverBatch, DBDDataReceiverInteractive {
 
     private static final Log log = Log.getLog(ResultSetDataReceiver.class);
 
@@ -129,29 +130,52 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
                     metaAttribute,
                     metaColumns[i].getOrdinalPosition());
             } catch (Throwable e) {
-                // Do not reports the same error multiple times
-                // There are a lot of error could occur during result set fetch
-                // We report certain error only once
-
-                row[i] = new DBDValueError(e);
-
-                List<String> attrErrors = this.attrErrors.computeIfAbsent(
-                    metaColumns[i].getMetaAttribute(),
-                    k -> new ArrayList<>());
-                String errMessage = e.getClass().getName();
-                if (!errMessage.startsWith("java.lang.")) {
-                    errMessage += ":" + e.getMessage();
-                }
-                if (!attrErrors.contains(errMessage)) {
-                    log.warn("Can't read column '" + metaColumns[i].getName() + "' value", e);
-                    attrErrors.add(errMessage);
-                    errorList.add(e);
-                }
+                row[i] = makeValueError(metaColumns[i], e);
             }
         }
         rows.add(row);
     }
 
+    @Override
+    public DBDRowBatch createRowBatch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        DBSAttributeBase[] attributes = new DBSAttributeBase[columnsCount];
+        for (int i = 0; i < columnsCount; i++) {
+            attributes[i] = metaColumns[i].getAttribute();
+        }
+        return DBExecUtils.createRowBatch(session, resultSet, metaColumns, attributes);
+    }
+
+    @Override
+    public void fetchBatch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBDRowBatch batch) {
+        for (int rowNum = 0; rowNum < batch.getRowCount(); rowNum++) {
+            Object[] row = new Object[columnsCount];
+            for (int i = 0; i < columnsCount; i++) {
+                Throwable error = batch.getError(rowNum, i);
+                row[i] = error == null ? batch.getValue(rowNum, i) : makeValueError(metaColumns[i], error);
+            }
+            rows.add(row);
+        }
+    }
+
+    private DBDValueError makeValueError(DBDAttributeBinding attribute, Throwable e) {
+        // Do not reports the same error multiple times
+        // There are a lot of error could occur during result set fetch
+        // We report certain error only once
+        List<String> attrErrors = this.attrErrors.computeIfAbsent(
+            attribute.getMetaAttribute(),
+            k -> new ArrayList<>());
+        String errMessage = e.getClass().getName();
+        if (!errMessage.startsWith("java.lang.")) {
+            errMessage += ":" + e.getMessage();
+        }
+        if (!attrErrors.contains(errMessage)) {
+            log.warn("Can't read column '" + attribute.getName() + "' value", e);
+            attrErrors.add(errMessage);
+            errorList.add(e);
+        }
+        return new DBDValueError(e);
+    }
+
     @Override
     public void fetchEnd(DBCSession session, final DBCResultSet resultSet) {
         if (!nextSegmentRead) {
@@ -25,10 +25,15 @@ import org.eclipse.ui.progress.UIJob;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.cache.DBCCachedResultSet;
+import org.jkiss.dbeaver.model.exec.cache.DBCResultCache;
+import org.jkiss.dbeaver.model.exec.cache.DBCResultCacheRecorder;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.ILoadService;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.ProgressLoaderVisualizer;
 import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
@@ -110,6 +115,9 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
 
         final DBSDataContainer dataContainer = executionSource.getDataContainer();
         final DBDDataFilter dataFilter = executionSource.getUseDataFilter();
+        final DBCResultCache resultCache = DBCResultCache.getInstance();
+        final String cacheKey = dataContainer instanceof DBSEntity ?
+            resultCache.makeEntityKey(getExecutionContext(), (DBSEntity) dataContainer, dataFilter, offset, maxRows) : null;
 
         progressMonitor.beginTask("Read data", 1);
         try (DBCSession session = getExecutionContext().openSession(
@@ -120,15 +128,31 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
             progressMonitor.subTask("Read data from container");
             DBExecUtils.tryExecuteRecover(monitor, session.getDataSource(), monitor1 -> {
                 try {
+                    DBDDataReceiver dataReceiver = executionSource.getExecutionController().getDataReceiver();
+                    if (cacheKey != null && !refresh) {
+                        DBCCachedResultSet cachedResultSet = resultCache.openResultSet(session, cacheKey);
+                        if (cachedResultSet != null) {
+                            statistics = DBCResultCache.readCachedData(session, cachedResultSet, dataReceiver, offset, maxRows);
+                            return;
+                        }
+                    }
+                    DBCResultCacheRecorder cacheRecorder = null;
+                    if (cacheKey != null) {
+                        cacheRecorder = resultCache.createRecorder(session.getDataSource().getContainer(), cacheKey, dataReceiver);
+                        dataReceiver = cacheRecorder;
+                    }
                     statistics = dataContainer.readData(
                         executionSource,
                         session,
-                        executionSource.getExecutionController().getDataReceiver(),
+                        dataReceiver,
                         executionSource.getUseDataFilter(),
                         offset,
                         maxRows,
                         finalFlags,
                         0);
+                    if (cacheRecorder != null) {
+                        cacheRecorder.storeResults();
+                    }
                 } catch (Throwable e) {
                     throw new InvocationTargetException(e);
                 }
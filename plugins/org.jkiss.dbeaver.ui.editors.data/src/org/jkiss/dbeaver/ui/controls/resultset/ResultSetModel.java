@@ -27,6 +27,7 @@ import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.*;
+import org.jkiss.dbeaver.model.data.local.LocalQueryEngine;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.trace.DBCTrace;
 import org.jkiss.dbeaver.model.struct.*;
@@ -35,6 +36,7 @@ import org.jkiss.dbeaver.model.virtual.DBVEntity;
 import org.jkiss.dbeaver.model.virtual.DBVUtils;
 import org.jkiss.dbeaver.runtime.jobs.DataSourceJob;
 import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
@@ -58,6 +60,8 @@ public class ResultSetModel {
 
     // Data
     private List<ResultSetRow> curRows = new ArrayList<>();
+    // All fetched rows when data filter is applied locally. Null if rows are not filtered locally.
+    private List<ResultSetRow> localSourceRows = null;
     private Long totalRowCount = null;
     private int changesCount = 0;
     private volatile boolean hasData = false;
@@ -69,6 +73,9 @@ public class ResultSetModel {
 
     private DBCStatistics statistics;
     private DBCTrace trace;
+    // Status of the data. Null if data was read from database.
+    @Nullable
+    private ResultSetStatus dataStatus;
     private transient boolean metadataChanged;
     private transient boolean metadataDynamic;
 
@@ -355,6 +362,13 @@ public class ResultSetModel {
         return curRows.size();
     }
 
+    /**
+     * Number of fetched rows. It differs from row count if rows are filtered locally.
+     */
+    public int getFetchedRowCount() {
+        return getSourceRows().size();
+    }
+
     @NotNull
     public List<ResultSetRow> getAllRows() {
         return curRows;
@@ -590,6 +604,13 @@ public class ResultSetModel {
         } else {
             this.trace = null;
         }
+        Object cacheTime = resultSet.getFeature(DBCResultSet.FEATURE_NAME_CACHED);
+        if (cacheTime instanceof Long) {
+            this.dataStatus = new ResultSetStatus(ResultSetMessages.controls_resultset_viewer_status_cached_read_only);
+            this.dataStatus.setCacheTime((Long) cacheTime);
+        } else {
+            this.dataStatus = null;
+        }
 
         this.clearData();
         this.updateMetaData(newAttributes);
@@ -771,7 +792,7 @@ public class ResultSetModel {
             }
         }
         if (reset) {
-            updateRowColors(true, curRows);
+            updateRowColors(true, getSourceRows());
         }
     }
 
@@ -865,22 +886,87 @@ public class ResultSetModel {
     void appendData(@NotNull List<Object[]> rows, boolean resetOldRows) {
         if (resetOldRows) {
             curRows.clear();
+            if (localSourceRows != null) {
+                localSourceRows.clear();
+            }
         }
         int rowCount = rows.size();
-        int firstRowNum = curRows.size();
+        int firstRowNum = getSourceRows().size();
         List<ResultSetRow> newRows = new ArrayList<>(rowCount);
         for (int i = 0; i < rowCount; i++) {
             newRows.add(
                 new ResultSetRow(firstRowNum + i, rows.get(i)));
         }
-        curRows.addAll(newRows);
-
         updateRowColors(resetOldRows, newRows);
+
+        if (localSourceRows != null) {
+            // Next segment must pass the same local filter
+            localSourceRows.addAll(newRows);
+            try {
+                applyLocalFilter();
+                return;
+            } catch (DBCException e) {
+                log.error("Error filtering fetched rows", e);
+            }
+            localSourceRows = null;
+            curRows.addAll(newRows);
+            updateVisualNumbers();
+        } else {
+            curRows.addAll(newRows);
+        }
+    }
+
+    /**
+     * Filters and orders all fetched rows with the current data filter.
+     * Fetched rows are kept, so filter may be changed later without data re-read.
+     * Custom criteria can't be evaluated locally (see {@link LocalQueryEngine#isSupported(DBDDataFilter)}).
+     */
+    void applyLocalFilter() throws DBCException {
+        List<ResultSetRow> sourceRows = localSourceRows;
+        if (sourceRows == null) {
+            sourceRows = new ArrayList<>(curRows);
+            sourceRows.sort(Comparator.comparingInt(ResultSetRow::getRowNumber));
+        }
+        LocalQueryEngine<ResultSetRow> engine = new LocalQueryEngine<>(sourceRows, constraint -> {
+            DBDAttributeBinding binding = getAttributeBinding(constraint.getAttribute());
+            return binding == null ? null : row -> getCellValue(binding, row);
+        });
+        List<ResultSetRow> filteredRows = engine.select(dataFilter);
+        this.localSourceRows = sourceRows;
+        this.curRows = filteredRows;
+        updateVisualNumbers();
+    }
+
+    /**
+     * Shows all fetched rows in original order
+     */
+    void resetLocalFilter() {
+        if (localSourceRows != null) {
+            curRows = localSourceRows;
+            localSourceRows = null;
+            updateVisualNumbers();
+        }
+    }
+
+    public boolean isLocallyFiltered() {
+        return localSourceRows != null;
+    }
+
+    @NotNull
+    private List<ResultSetRow> getSourceRows() {
+        return localSourceRows != null ? localSourceRows : curRows;
+    }
+
+    private void updateVisualNumbers() {
+        for (int i = 0; i < curRows.size(); i++) {
+            curRows.get(i).setVisualNumber(i);
+        }
     }
 
     void clearData() {
         // Refresh all rows
         this.curRows = new ArrayList<>();
+        this.localSourceRows = null;
         this.totalRowCount = null;
         this.singleSourceEntity = null;
 
@@ -909,11 +995,14 @@ public class ResultSetModel {
 
     @NotNull
     ResultSetRow addNewRow(int rowNum, @NotNull Object[] data) {
-        ResultSetRow newRow = new ResultSetRow(curRows.size(), data);
+        ResultSetRow newRow = new ResultSetRow(getSourceRows().size(), data);
         newRow.setVisualNumber(rowNum);
         newRow.setState(ResultSetRow.STATE_ADDED);
         shiftRows(newRow, 1);
         curRows.add(rowNum, newRow);
+        if (localSourceRows != null) {
+            localSourceRows.add(newRow);
+        }
         changesCount++;
         return newRow;
     }
@@ -942,6 +1031,9 @@ public class ResultSetModel {
         int index = row.getVisualNumber();
         if (this.curRows.size() > index) {
             this.curRows.remove(index);
+            if (localSourceRows != null) {
+                localSourceRows.removeIf(r -> r == row);
+            }
             this.shiftRows(row, -1);
         } else {
             log.debug("Error removing row from list: invalid row index: " + index);
@@ -967,6 +1059,8 @@ public class ResultSetModel {
             if (row.getVisualNumber() >= relative.getVisualNumber()) {
                 row.setVisualNumber(row.getVisualNumber() + delta);
             }
+        }
+        for (ResultSetRow row : getSourceRows()) {
             if (row.getRowNumber() >= relative.getRowNumber()) {
                 row.setRowNumber(row.getRowNumber() + delta);
             }
@@ -974,7 +1068,7 @@ public class ResultSetModel {
     }
 
     void releaseAllData() {
-        final List<ResultSetRow> oldRows = curRows;
+        final List<ResultSetRow> oldRows = getSourceRows();
         // Cleanup in separate job.
         // Sometimes model cleanup takes much time (e.g. freeing LOB values)
         // So let's do it in separate job to avoid UI locking
@@ -1106,6 +1200,15 @@ public class ResultSetModel {
     }
 
     public void resetOrdering() {
+        if (localSourceRows != null) {
+            // Filter and ordering are evaluated together
+            try {
+                applyLocalFilter();
+                return;
+            } catch (DBCException e) {
+                log.error("Error ordering rows locally", e);
+            }
+        }
         final boolean hasOrdering = dataFilter.hasOrdering();
 
         // First sort in original order to reset multi-column orderings
@@ -1134,9 +1237,7 @@ public class ResultSetModel {
                 return result;
             });
         }
-        for (int i = 0; i < curRows.size(); i++) {
-            curRows.get(i).setVisualNumber(i);
-        }
+        updateVisualNumbers();
     }
 
     private void fillVisibleAttributes() {
@@ -1181,4 +1282,9 @@ public class ResultSetModel {
     public DBCTrace getTrace() {
         return trace;
     }
+
+    @Nullable
+    public ResultSetStatus getDataStatus() {
+        return dataStatus;
+    }
 }
@@ -23,6 +23,7 @@ public class ResultSetStatus {
 
     private boolean readOnly;
     private String readOnlyStatus;
+    private long cacheTime;
 
     public ResultSetStatus() {
         this.readOnly = true;
@@ -49,4 +50,22 @@ public class ResultSetStatus {
     public void setReadOnlyStatus(String readOnlyStatus) {
         this.readOnlyStatus = readOnlyStatus;
     }
+
+    /**
+     * Data was taken from result cache instead of database
+     */
+    public boolean isCached() {
+        return cacheTime > 0;
+    }
+
+    /**
+     * Time when data was put into result cache or zero if data was read from database
+     */
+    public long getCacheTime() {
+        return cacheTime;
+    }
+
+    public void setCacheTime(long cacheTime) {
+        this.cacheTime = cacheTime;
+    }
 }
@@ -54,6 +54,7 @@ import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.*;
+import org.jkiss.dbeaver.model.data.local.LocalQueryEngine;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
@@ -209,6 +210,11 @@ public class ResultSetViewer extends Viewer
     private ResultSetRow curRow;
     // Mode
     private boolean recordMode;
+    // Filters and ordering are evaluated over fetched rows
+    private boolean localMode;
+    // Filter used to read data in local mode
+    @Nullable
+    private DBDDataFilter serverDataFilter;
     private int[] selectedRecords = new int[0];
 
     private Integer segmentFetchSize;
@@ -516,10 +522,41 @@ public class ResultSetViewer extends Viewer
     }
 
     public boolean supportsDataFilter() {
+        if (localMode) {
+            return true;
+        }
         DBSDataContainer dataContainer = getDataContainer();
         return dataContainer != null && dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_FILTER);
     }
 
+    public boolean isLocalMode() {
+        return localMode;
+    }
+
+    /**
+     * Switches local mode. In local mode filters, ordering and grouping are evaluated over fetched rows
+     * and query is executed again only on explicit refresh or next segment read.
+     */
+    public void setLocalMode(boolean localMode) {
+        if (this.localMode == localMode) {
+            return;
+        }
+        this.localMode = localMode;
+        if (localMode) {
+            serverDataFilter = new DBDDataFilter(model.getDataFilter());
+        } else {
+            serverDataFilter = null;
+            if (model.isLocallyFiltered()) {
+                // Apply the same filter on server side
+                DBDDataFilter dataFilter = new DBDDataFilter(model.getDataFilter());
+                model.resetLocalFilter();
+                redrawData(false, true);
+                refreshWithFilter(dataFilter);
+            }
+        }
+        updateToolbar();
+    }
+
     public boolean supportsNavigation() {
         return activePresentationDescriptor != null && activePresentationDescriptor.supportsNavigation();
     }
@@ -2190,6 +2227,12 @@ public class ResultSetViewer extends Viewer
                 }
             }
         }
+        ResultSetStatus dataStatus = model.getDataStatus();
+        if (dataStatus != null && dataStatus.isCached()) {
+            statusMessage += " - " + NLS.bind(
+                ResultSetMessages.controls_resultset_viewer_status_cached,
+                RuntimeUtils.formatExecutionTime(System.currentTimeMillis() - dataStatus.getCacheTime()));
+        }
         boolean hasWarnings = !dataReceiver.getErrorList().isEmpty();
         if (hasWarnings) {
             statusMessage += " - " + dataReceiver.getErrorList().size() + " warning(s)";
@@ -2287,8 +2330,11 @@ public class ResultSetViewer extends Viewer
         if (CommonUtils.isNotEmpty(model.getDataFilter().getOrder())) {
             orderingMode = ResultSetUtils.OrderingMode.SERVER_SIDE;
         }
+        if (localMode) {
+            orderingMode = ResultSetUtils.OrderingMode.CLIENT_SIDE;
+        }
         if (constraint.getOrderPosition() == 0 && forceOrder != ColumnOrder.NONE) {
-            if (orderingMode == ResultSetUtils.OrderingMode.SERVER_SIDE && supportsDataFilter()) {
+            if (orderingMode == ResultSetUtils.OrderingMode.SERVER_SIDE && supportsDataFilter() && !localMode) {
                 if (ConfirmationDialog.confirmAction(
                     viewerPanel.getShell(),
                     ConfirmationDialog.WARNING,
@@ -2355,11 +2401,61 @@ public class ResultSetViewer extends Viewer
     private void reorderLocally()
     {
         this.rejectChanges();
-        this.getModel().resetOrdering();
+        if (localMode) {
+            // Ordering must be kept for next segments
+            filterLocally();
+        } else {
+            this.getModel().resetOrdering();
+        }
         this.getActivePresentation().refreshData(false, false, true);
         this.updateFiltersText();
     }
 
+    /**
+     * Applies filter to fetched rows.
+     * Shows error if filter contains custom conditions which can't be evaluated locally.
+     */
+    private void applyLocalFilter(@NotNull DBDDataFilter filter) {
+        if (!LocalQueryEngine.isSupported(filter)) {
+            DBWorkbench.getPlatformUI().showError(
+                ResultSetMessages.controls_resultset_viewer_local_filter_error_title,
+                ResultSetMessages.controls_resultset_viewer_local_filter_unsupported_message);
+            return;
+        }
+        boolean visibilityChanged = !model.getDataFilter().equalVisibility(filter);
+        model.updateDataFilter(filter, true);
+        filterLocally();
+
+        curRow = model.getRowCount() > 0 ? model.getRow(0) : null;
+        selectedRecords = curRow == null ? new int[0] : new int[] { curRow.getVisualNumber() };
+        redrawData(visibilityChanged, false);
+        updateFiltersText();
+        updateStatusMessage();
+        updatePanelsContent(true);
+    }
+
+    private void filterLocally() {
+        try {
+            UIUtils.runInProgressService(monitor -> {
+                monitor.beginTask("Filter rows", 1);
+                try {
+                    model.applyLocalFilter();
+                } catch (DBCException e) {
+                    throw new InvocationTargetException(e);
+                } finally {
+                    monitor.done();
+                }
+            });
+        } catch (InvocationTargetException e) {
+            DBWorkbench.getPlatformUI().showError(
+                ResultSetMessages.controls_resultset_viewer_local_filter_error_title,
+                null,
+                e.getTargetException());
+        } catch (InterruptedException e) {
+            // Ignore
+        }
+    }
+
 
     ///////////////////////////////////////
     // Data & metadata
@@ -2382,6 +2478,14 @@ public class ResultSetViewer extends Viewer
         }
         this.curRow = null;
         this.model.setData(rows);
+        if (localMode && !model.isMetadataChanged() && model.getDataFilter().hasFilters() && LocalQueryEngine.isSupported(model.getDataFilter())) {
+            // Keep local filter after data re-read
+            try {
+                model.applyLocalFilter();
+            } catch (DBCException e) {
+                log.error("Error filtering rows locally", e);
+            }
+        }
         this.curRow = (this.model.getRowCount() > 0 ? this.model.getRow(0) : null);
         if (focusRow > 0 && focusRow < model.getRowCount()) {
             this.curRow = model.getRow(focusRow);
@@ -2504,6 +2608,10 @@ public class ResultSetViewer extends Viewer
         {
             return true;
         }
+        ResultSetStatus dataStatus = model.getDataStatus();
+        if (dataStatus != null && dataStatus.isReadOnly()) {
+            return true;
+        }
         DBCExecutionContext executionContext = getExecutionContext();
         return
             executionContext == null ||
@@ -2518,6 +2626,10 @@ public class ResultSetViewer extends Viewer
         if (model.isUpdateInProgress()) {
             return "Update in progress";
         }
+        ResultSetStatus dataStatus = model.getDataStatus();
+        if (dataStatus != null && dataStatus.isReadOnly()) {
+            return dataStatus.getReadOnlyStatus();
+        }
         if (!(activePresentation instanceof IResultSetEditor) || (decorator.getDecoratorFeatures() & IResultSetDecorator.FEATURE_EDIT) == 0) {
             return "Active presentation doesn't support data edit";
         }
@@ -3416,6 +3528,8 @@ public class ResultSetViewer extends Viewer
             }
         }
         filtersMenu.add(new Separator());
+        filtersMenu.add(new LocalModeToggleAction());
+        filtersMenu.add(new Separator());
         if (getDataContainer() instanceof DBSEntity) {
             filtersMenu.add(ActionUtils.makeCommandContribution(site, ResultSetHandlerMain.CMD_FILTER_SAVE_SETTING));
         }
@@ -3853,6 +3967,10 @@ public class ResultSetViewer extends Viewer
         if (!checkForChanges()) {
             return;
         }
+        if (localMode) {
+            applyLocalFilter(filter);
+            return;
+        }
 
         DBSDataContainer dataContainer = getDataContainer();
         if (dataContainer != null) {
@@ -3959,7 +4077,7 @@ public class ResultSetViewer extends Viewer
                 runDataPump(
                     dataContainer,
                     model.getDataFilter(),
-                    model.getRowCount(),
+                    model.getFetchedRowCount(),
                     getSegmentMaxRows(),
                     -1,//curRow == null ? -1 : curRow.getRowNumber(), // Do not reposition cursor after next segment read!
                     false,
@@ -4005,7 +4123,7 @@ public class ResultSetViewer extends Viewer
             runDataPump(
                 dataContainer,
                 model.getDataFilter(),
-                model.getRowCount(),
+                model.getFetchedRowCount(),
                 -1,
                 curRow == null ? -1 : curRow.getRowNumber(),
                 false,
@@ -4126,6 +4244,12 @@ public class ResultSetViewer extends Viewer
         // Cancel any refresh jobs
         autoRefreshControl.cancelRefresh();
 
+        DBDDataFilter useDataFilter = dataFilter;
+        if (localMode && serverDataFilter != null && (dataFilter == null || dataFilter == model.getDataFilter())) {
+            // Conditions of the current filter were applied locally
+            useDataFilter = serverDataFilter;
+        }
+
         // Read data
         Composite progressControl = viewerPanel;
         if (activePresentation.getControl() instanceof Composite) {
@@ -4134,7 +4258,7 @@ public class ResultSetViewer extends Viewer
 
         ResultSetJobDataRead dataPumpJob = new ResultSetDataPumpJob(
             dataContainer,
-            new ResultSetExecutionSource(dataContainer, this, this, dataFilter),
+            new ResultSetExecutionSource(dataContainer, this, this, useDataFilter),
             executionContext,
             progressControl,
             focusRow,
@@ -4972,6 +5096,26 @@ public class ResultSetViewer extends Viewer
 
     }
 
+    private class LocalModeToggleAction extends Action {
+        LocalModeToggleAction()
+        {
+            super(ResultSetMessages.actions_name_local_filter_mode, AS_CHECK_BOX);
+            setToolTipText("Filter, order and group fetched rows without query re-execution");
+        }
+
+        @Override
+        public boolean isChecked() {
+            return localMode;
+        }
+
+        @Override
+        public void run()
+        {
+            setLocalMode(!localMode);
+        }
+
+    }
+
     private class ColorizeDataTypesToggleAction extends Action {
         ColorizeDataTypesToggleAction()
         {
@@ -5215,11 +5359,19 @@ public class ResultSetViewer extends Viewer
 
                     if (!scroll) {
                         final DBDDataFilter dataFilter = executionSource.getDataFilter();
-                        if (dataFilter != null) {
+                        if (localMode && (dataFilter == null || dataFilter == serverDataFilter)) {
+                            // Model keeps local filter
+                            if (metadataChanged) {
+                                serverDataFilter = new DBDDataFilter(model.getDataFilter());
+                            }
+                        } else if (dataFilter != null) {
                             boolean visibilityChanged = !model.getDataFilter().equalVisibility(dataFilter);
                             model.updateDataFilter(dataFilter, true);
                             // New data filter may have different columns visibility
                             redrawData(visibilityChanged, false);
+                            if (localMode) {
+                                serverDataFilter = new DBDDataFilter(model.getDataFilter());
+                            }
                         }
                     }
                     if (!panelUpdated) {
@@ -52,6 +52,8 @@ public class ResultSetMessages extends NLS {
     public static String controls_resultset_viewer_action_filter_input;
     public static String controls_resultset_viewer_action_filter_remove;
     public static String controls_resultset_viewer_action_custom_filter;
+    public static String controls_resultset_viewer_local_filter_error_title;
+    public static String controls_resultset_viewer_local_filter_unsupported_message;
     public static String controls_resultset_viewer_action_column_view;
     public static String controls_resultset_viewer_action_logical_structure;
     public static String controls_resultset_viewer_action_view_format;
@@ -75,6 +77,8 @@ public class ResultSetMessages extends NLS {
     public static String controls_resultset_viewer_status_no_data;
     public static String controls_resultset_viewer_status_row;
     public static String controls_resultset_viewer_status_rows_fetched;
+    public static String controls_resultset_viewer_status_cached;
+    public static String controls_resultset_viewer_status_cached_read_only;
     public static String controls_resultset_viewer_status_rows_updated;
     public static String controls_resultset_viewer_status_rows_size;
     public static String controls_resultset_viewer_status_rows_time;
@@ -118,6 +122,7 @@ public class ResultSetMessages extends NLS {
     public static String actions_name_color_by;
     public static String actions_name_color_reset_by;
     public static String actions_name_colorize_data_types;
+    public static String actions_name_local_filter_mode;
     public static String actions_name_row_colors;
     public static String actions_name_structurize_complex_types;
     public static String actions_spreadsheet_copy_special;
@@ -314,6 +319,8 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_resultsets_label_read_metadata_tip;
     public static String pref_page_database_resultsets_label_read_references_tip;
     public static String pref_page_database_resultsets_label_fetch_size_tip;
+    public static String pref_page_database_resultsets_label_adaptive_fetch_size;
+    public static String pref_page_database_resultsets_label_adaptive_fetch_size_tip;
 
     public static String pref_page_content_cache_clob;
     public static String pref_page_content_cache_blob;
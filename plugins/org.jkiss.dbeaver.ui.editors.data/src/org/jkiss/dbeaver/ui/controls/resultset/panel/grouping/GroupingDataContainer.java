@@ -18,27 +18,49 @@ package org.jkiss.dbeaver.ui.controls.resultset.panel.grouping;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.local.LocalQueryEngine;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSet;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.registry.functions.AggregateFunctionDescriptor;
+import org.jkiss.dbeaver.registry.functions.FunctionsRegistry;
 import org.jkiss.dbeaver.ui.controls.resultset.IResultSetController;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
 import org.jkiss.utils.ArrayUtils;
 
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 public class GroupingDataContainer implements DBSDataContainer {
 
     private static final Log log = Log.getLog(GroupingDataContainer.class);
 
+    // FUNC(*), FUNC(column) or FUNC(DISTINCT column)
+    private static final Pattern LOCAL_FUNCTION_PATTERN = Pattern.compile("(\\w+)\\s*\\(\\s*(DISTINCT\\s+)?(.+?)\\s*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> NUMERIC_FUNCTIONS = Set.of("count", "countDistinct", "countNulls", "sum", "avg");
+
     private IResultSetController parentController;
     private String query;
     private String[] attributes;
+    // Functions of local grouping. Null if grouping is performed by query.
+    private List<String> localFunctions;
+    private String localDefaultSorting;
+    private boolean localDuplicatesOnly;
 
     public GroupingDataContainer(IResultSetController parentController) {
         this.parentController = parentController;
@@ -77,6 +99,9 @@ public class GroupingDataContainer implements DBSDataContainer {
     @NotNull
     @Override
     public DBCStatistics readData(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @NotNull DBDDataReceiver dataReceiver, DBDDataFilter dataFilter, long firstRow, long maxRows, long flags, int fetchSize) throws DBCException {
+        if (localFunctions != null) {
+            return readLocalData(source, session, dataReceiver, dataFilter, firstRow, maxRows);
+        }
         DBCStatistics statistics = new DBCStatistics();
         if (query == null) {
             statistics.addMessage("Empty query");
@@ -152,6 +177,156 @@ public class GroupingDataContainer implements DBSDataContainer {
         }
     }
 
+    /**
+     * Groups rows fetched by parent viewer
+     */
+    @NotNull
+    private DBCStatistics readLocalData(
+        @NotNull DBCExecutionSource source,
+        @NotNull DBCSession session,
+        @NotNull DBDDataReceiver dataReceiver,
+        @Nullable DBDDataFilter dataFilter,
+        long firstRow,
+        long maxRows
+    ) throws DBCException {
+        DBCStatistics statistics = new DBCStatistics();
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        if (dataFilter != null && !LocalQueryEngine.isSupported(dataFilter)) {
+            throw new DBCException("Custom conditions can't be evaluated in local grouping");
+        }
+        ResultSetModel model = parentController.getModel();
+        List<ResultSetRow> rows = new ArrayList<>(model.getAllRows());
+        List<DBDAttributeBinding> modelAttributes = Arrays.asList(model.getAttributes());
+
+        long startTime = System.currentTimeMillis();
+        List<LocalQueryEngine.ValueReader<ResultSetRow>> keys = new ArrayList<>();
+        List<DBDAttributeBinding> keyBindings = new ArrayList<>();
+        for (String attrName : ArrayUtils.safeArray(attributes)) {
+            DBDAttributeBinding binding = DBUtils.findObject(modelAttributes, attrName, true);
+            if (binding == null) {
+                throw new DBCException("Attribute '" + attrName + "' not found in result set");
+            }
+            keyBindings.add(binding);
+            keys.add(row -> model.getCellValue(binding, row));
+        }
+        List<LocalQueryEngine.Aggregate<ResultSetRow>> aggregates = new ArrayList<>();
+        List<Object> functionTypes = new ArrayList<>();
+        for (String function : localFunctions) {
+            Matcher matcher = LOCAL_FUNCTION_PATTERN.matcher(function.trim());
+            if (!matcher.matches()) {
+                throw new DBCException("Function '" + function + "' can't be evaluated locally");
+            }
+            String functionId = matcher.group(2) == null ? matcher.group(1) : matcher.group(1) + "Distinct";
+            AggregateFunctionDescriptor descriptor = findAggregateFunction(functionId);
+            if (descriptor == null) {
+                throw new DBCException("Aggregate function '" + matcher.group(1) + "' is not supported locally");
+            }
+            String argument = matcher.group(3);
+            DBDAttributeBinding binding = null;
+            if (!argument.equals("*")) {
+                binding = DBUtils.findObject(modelAttributes, DBUtils.getUnQuotedIdentifier(getDataSource(), argument), true);
+                if (binding == null) {
+                    throw new DBCException("Attribute '" + argument + "' not found in result set");
+                }
+            }
+            LocalQueryEngine.ValueReader<ResultSetRow> argReader = null;
+            if (binding != null) {
+                DBDAttributeBinding argBinding = binding;
+                argReader = row -> model.getCellValue(argBinding, row);
+            }
+            aggregates.add(new LocalQueryEngine.Aggregate<>(descriptor::createFunction, argReader));
+            functionTypes.add(binding == null || NUMERIC_FUNCTIONS.contains(descriptor.getId()) ? DBPDataKind.NUMERIC : binding);
+        }
+
+        monitor.subTask("Group fetched rows");
+        List<Object[]> groups;
+        try {
+            groups = new LocalQueryEngine<>(rows, constraint -> null).group(keys, aggregates);
+        } catch (DBCException e) {
+            throw e;
+        } catch (DBException e) {
+            throw new DBCException("Error creating aggregate function", e);
+        }
+        int countColumn = keys.size() + aggregates.size() - 1;
+        if (localDuplicatesOnly) {
+            groups.removeIf(group -> !(group[countColumn] instanceof Number) || ((Number) group[countColumn]).longValue() <= 1);
+        }
+
+        List<String> labels = new ArrayList<>();
+        for (DBDAttributeBinding binding : keyBindings) {
+            labels.add(binding.getName());
+        }
+        labels.addAll(localFunctions);
+        if (dataFilter != null) {
+            groups = new LocalQueryEngine<>(groups, constraint -> {
+                int index = labels.indexOf(constraint.getAttributeName());
+                return index < 0 ? null : row -> row[index];
+            }).select(dataFilter);
+        }
+        if ((dataFilter == null || !dataFilter.hasOrdering()) && localDefaultSorting != null) {
+            Comparator<Object[]> comparator = (o1, o2) -> DBUtils.compareDataValues(o1[countColumn], o2[countColumn]);
+            groups.sort("DESC".equalsIgnoreCase(localDefaultSorting) ? comparator.reversed() : comparator);
+        }
+        statistics.setExecuteTime(System.currentTimeMillis() - startTime);
+
+        try (LocalStatement dbStat = new LocalStatement(session, getName())) {
+            LocalResultSet<LocalStatement> dbResult = new LocalResultSet<>(session, dbStat);
+            for (int i = 0; i < keyBindings.size(); i++) {
+                dbResult.addColumn(labels.get(i), keyBindings.get(i));
+            }
+            for (int i = 0; i < functionTypes.size(); i++) {
+                Object type = functionTypes.get(i);
+                String label = labels.get(keyBindings.size() + i);
+                if (type instanceof DBDAttributeBinding) {
+                    dbResult.addColumn(label, (DBDAttributeBinding) type);
+                } else {
+                    dbResult.addColumn(label, (DBPDataKind) type);
+                }
+            }
+            boolean hasLimits = firstRow >= 0 && maxRows > 0;
+            for (int i = (int) Math.max(firstRow, 0); i < groups.size(); i++) {
+                if (hasLimits && i - firstRow >= maxRows) {
+                    break;
+                }
+                dbResult.addRow(groups.get(i));
+            }
+            try {
+                dataReceiver.fetchStart(session, dbResult, firstRow, maxRows);
+                startTime = System.currentTimeMillis();
+                long rowCount = 0;
+                while (dbResult.nextRow()) {
+                    if (monitor.isCanceled()) {
+                        break;
+                    }
+                    dataReceiver.fetchRow(session, dbResult);
+                    rowCount++;
+                }
+                statistics.setFetchTime(System.currentTimeMillis() - startTime);
+                statistics.setRowsFetched(rowCount);
+            } finally {
+                try {
+                    dataReceiver.fetchEnd(session, dbResult);
+                } catch (Throwable e) {
+                    log.error("Error while finishing result set fetch", e); //$NON-NLS-1$
+                }
+                dbResult.close();
+            }
+            return statistics;
+        } finally {
+            dataReceiver.close();
+        }
+    }
+
+    @Nullable
+    private static AggregateFunctionDescriptor findAggregateFunction(@NotNull String id) {
+        for (AggregateFunctionDescriptor function : FunctionsRegistry.getInstance().getAggregateFunctions()) {
+            if (function.getId().equalsIgnoreCase(id)) {
+                return function;
+            }
+        }
+        return null;
+    }
+
     @Override
     public long countData(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @Nullable DBDDataFilter dataFilter, long flags) throws DBCException {
         return 0;
@@ -170,6 +345,19 @@ public class GroupingDataContainer implements DBSDataContainer {
         this.attributes = attributes;
     }
 
+    /**
+     * Enables grouping of rows fetched by parent viewer.
+     *
+     * @param functions       aggregate functions or null to perform grouping by query
+     * @param defaultSorting  direction of default ordering by the last function or null
+     * @param duplicatesOnly  show only groups with the last function (count) greater than 1
+     */
+    public void setLocalGrouping(@Nullable List<String> functions, @Nullable String defaultSorting, boolean duplicatesOnly) {
+        this.localFunctions = functions == null ? null : new ArrayList<>(functions);
+        this.localDefaultSorting = defaultSorting;
+        this.localDuplicatesOnly = duplicatesOnly;
+    }
+
     @Override
     public String toString() {
         return getName();
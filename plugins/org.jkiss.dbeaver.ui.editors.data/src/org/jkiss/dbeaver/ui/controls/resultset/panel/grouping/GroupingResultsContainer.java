@@ -187,6 +187,7 @@ public class GroupingResultsContainer implements IResultSetContainer {
         groupingViewer.resetHistory();
         dataContainer.setGroupingQuery(null);
         dataContainer.setGroupingAttributes(null);
+        dataContainer.setLocalGrouping(null, null, false);
         if (!(groupingViewer.getActivePresentation() instanceof EmptyPresentation)) {
             groupingViewer.showEmptyPresentation();
         }
@@ -197,8 +198,9 @@ public class GroupingResultsContainer implements IResultSetContainer {
             groupingViewer.showEmptyPresentation();
             return;
         }
+        boolean isLocalGrouping = isLocalGrouping();
         DBCStatistics statistics = presentation.getController().getModel().getStatistics();
-        if (statistics == null) {
+        if (statistics == null && !isLocalGrouping) {
             throw new DBException("No main query - can't perform grouping");
         }
         DBSDataContainer dbsDataContainer = presentation.getController().getDataContainer();
@@ -207,15 +209,7 @@ public class GroupingResultsContainer implements IResultSetContainer {
         if (dataSource == null) {
             throw new DBException("No active datasource");
         }
-        SQLDialect dialect = SQLUtils.getDialectFromDataSource(dataSource);
-        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
-        syntaxManager.init(dialect, presentation.getController().getPreferenceStore());
-        String queryText = statistics.getQueryText();
         boolean isShowDuplicatesOnly = dataSource.getContainer().getPreferenceStore().getBoolean(ResultSetPreferences.RS_GROUPING_SHOW_DUPLICATES_ONLY);
-
-        var groupingQueryGenerator = new SQLGroupingQueryGenerator(dataSource, dbsDataContainer, dialect, syntaxManager, groupAttributes, groupFunctions, isShowDuplicatesOnly);
-        dataContainer.setGroupingQuery(groupingQueryGenerator.generateGroupingQuery(queryText));
-        dataContainer.setGroupingAttributes(groupAttributes.toArray(String[]::new));
         DBDDataFilter dataFilter;
         if (presentation.getController().getModel().isMetadataChanged()) {
             dataFilter = new DBDDataFilter();
@@ -225,6 +219,33 @@ public class GroupingResultsContainer implements IResultSetContainer {
 
         boolean isDefaultGrouping = groupFunctions.size() == 1 && groupFunctions.get(0).equals(DEFAULT_FUNCTION);
         String defaultSorting = dataSource.getContainer().getPreferenceStore().getString(ResultSetPreferences.RS_GROUPING_DEFAULT_SORTING);
+        dataContainer.setGroupingAttributes(groupAttributes.toArray(String[]::new));
+        if (isLocalGrouping) {
+            // Group rows fetched by owner viewer
+            dataContainer.setGroupingQuery(null);
+            dataContainer.setLocalGrouping(
+                groupFunctions,
+                isDefaultGrouping && !CommonUtils.isEmpty(defaultSorting) ? defaultSorting : null,
+                isDefaultGrouping && isShowDuplicatesOnly);
+            // Ordering by function alias can't be evaluated locally
+            dataFilter.setOrder(null);
+            DataEditorFeatures.RESULT_SET_PANEL_GROUPING.use(Map.of(
+                "custom", isCustomQuery,
+                "default", isDefaultGrouping,
+                "dups", isShowDuplicatesOnly,
+                "local", true));
+            groupingViewer.setDataFilter(dataFilter, true);
+            return;
+        }
+        dataContainer.setLocalGrouping(null, null, false);
+
+        SQLDialect dialect = SQLUtils.getDialectFromDataSource(dataSource);
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(dialect, presentation.getController().getPreferenceStore());
+        String queryText = statistics.getQueryText();
+
+        var groupingQueryGenerator = new SQLGroupingQueryGenerator(dataSource, dbsDataContainer, dialect, syntaxManager, groupAttributes, groupFunctions, isShowDuplicatesOnly);
+        dataContainer.setGroupingQuery(groupingQueryGenerator.generateGroupingQuery(queryText));
         if (!CommonUtils.isEmpty(defaultSorting) && isDefaultGrouping) {
             if (false/*dialect.supportsOrderByIndex()*/) {
                 // By default sort by count in desc order
@@ -248,6 +269,11 @@ public class GroupingResultsContainer implements IResultSetContainer {
         //groupingViewer.refresh();
     }
 
+    private boolean isLocalGrouping() {
+        IResultSetController ownerController = presentation.getController();
+        return ownerController instanceof ResultSetViewer && ((ResultSetViewer) ownerController).isLocalMode();
+    }
+
     void setGrouping(List<String> attributes, List<String> functions) {
         groupAttributes.clear();
         addGroupingAttributes(attributes);
@@ -541,7 +541,8 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
 
         @Override
         protected LoadingJob<Collection<SESSION_TYPE>> createLoadService(boolean forUpdate) {
-            return LoadingJob.createService(new LoadSessionsService(), new SessionLoadVisualizer());
+            LoadSessionsService loadService = new LoadSessionsService();
+            return LoadingJob.createService(loadService, new SessionLoadVisualizer(loadService));
         }
 
         private class SearchFilter extends ViewerFilter {
@@ -576,14 +577,21 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
         }
 
         private final class SessionLoadVisualizer extends ObjectsLoadVisualizer {
+            private final LoadSessionsService loadService;
+
+            SessionLoadVisualizer(LoadSessionsService loadService) {
+                this.loadService = loadService;
+            }
+
             @Override
             public void completeLoading(Collection<SESSION_TYPE> items) {
                 Collection<DBAServerSession> previouslySelectedSessions = getSelectedSessions();
                 super.completeLoading(items);
                 if (items != null) {
-                    Object[] sessionsToSelect = previouslySelectedSessions.stream().filter(items::contains).toArray();
+                    Set<SESSION_TYPE> loadedSessions = new HashSet<>(items);
+                    Object[] sessionsToSelect = previouslySelectedSessions.stream().filter(loadedSessions::contains).toArray();
                     sessionTable.getItemsViewer().setSelection(new StructuredSelection(sessionsToSelect));
-                    if (items.contains(curSession)) {
+                    if (loadedSessions.contains(curSession)) {
                         onSessionSelect(curSession);
                     } else {
                         onSessionSelect(null);
@@ -593,7 +601,13 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
 
             @Override
             protected void afterCompleteLoading(@NotNull Collection<SESSION_TYPE> items) {
-                setListData(items, false, false, true);
+                DBAServerSessionDelta<SESSION_TYPE> delta = loadService.getDelta();
+                if (delta != null && !CommonUtils.isEmpty(getListData())) {
+                    // Update only new, changed and gone sessions
+                    updateListData(delta.getAddedSessions(), delta.getChangedSessions(), delta.getRemovedSessions());
+                } else {
+                    setListData(items, false, false, true);
+                }
             }
         }
     }
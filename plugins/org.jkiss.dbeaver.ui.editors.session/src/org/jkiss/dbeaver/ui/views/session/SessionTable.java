@@ -26,7 +26,9 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionDelta;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionSampler;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -48,11 +50,13 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
     private static final Log log = Log.getLog(SessionTable.class);
 
     private DBAServerSessionManager<SESSION_TYPE> sessionManager;
+    private DBAServerSessionSampler<SESSION_TYPE> sessionSampler;
 
     SessionTable(Composite parent, int style, IWorkbenchSite site, DBAServerSessionManager<SESSION_TYPE> sessionManager)
     {
         super(parent, style, site, CONTENT_PROVIDER);
         this.sessionManager = sessionManager;
+        this.sessionSampler = DBAServerSessionSampler.forSessions(sessionManager);
         //setFitWidth(true);
     }
 
@@ -60,6 +64,10 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
         return sessionManager;
     }
 
+    public DBAServerSessionSampler<SESSION_TYPE> getSessionSampler() {
+        return sessionSampler;
+    }
+
     @NotNull
     @Override
     protected String getListConfigId(List<Class<?>> classList) {
@@ -84,6 +92,7 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
     public void init(DBAServerSessionManager<SESSION_TYPE> sessionManager)
     {
         this.sessionManager = sessionManager;
+        this.sessionSampler = DBAServerSessionSampler.forSessions(sessionManager);
     }
 
     protected Map<String, Object> getSessionOptions() {
@@ -130,6 +139,8 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
 
     class LoadSessionsService extends DatabaseLoadService<Collection<SESSION_TYPE>> {
 
+        private DBAServerSessionDelta<SESSION_TYPE> delta;
+
         LoadSessionsService()
         {
             super("Load sessions", sessionManager.getDataSource());
@@ -155,9 +166,17 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
         
         private Collection<SESSION_TYPE> getSessions(DBRProgressMonitor monitor, DBCExecutionContext context) throws DBException {
             try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Retrieve server sessions")) {
-                return sessionManager.getSessions(session, getSessionOptions());
+                delta = sessionSampler.sample(session, getSessionOptions());
+                return sessionSampler.getSessions();
             }
         }
+
+        /**
+         * Difference with the previously loaded sessions
+         */
+        DBAServerSessionDelta<SESSION_TYPE> getDelta() {
+            return delta;
+        }
     }
 
     private class KillSessionsService extends DatabaseLoadService<Void> {
@@ -140,6 +140,8 @@ import java.net.URI;
 import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -208,6 +210,7 @@ public class SQLEditor extends SQLEditorBase implements
 
     private volatile QueryProcessor curQueryProcessor;
     private final List<QueryProcessor> queryProcessors = new ArrayList<>();
+    private volatile ParallelQueryExecutor parallelQueryExecutor;
 
     private DBPDataSourceContainer dataSourceContainer;
     private DBPDataSource curDataSource;
@@ -687,6 +690,7 @@ public class SQLEditor extends SQLEditorBase implements
     @Override
     public boolean isFoldingEnabled() {
         return SQLEditorUtils.isSQLSyntaxParserEnabled(getEditorInput())
+            && !isLargeFileMode()
             && getActivePreferenceStore().getBoolean(SQLPreferenceConstants.FOLDING_ENABLED);
     }
 
@@ -2696,6 +2700,13 @@ public class SQLEditor extends SQLEditorBase implements
             createQueryProcessor(true, true);
         }
 
+        if (!export && newTab && forceScript && canExecuteInParallel(queries)) {
+            return processQueriesInParallel(
+                queries,
+                getActivePreferenceStore().getBoolean(SQLPreferenceConstants.RESULT_SET_CLOSE_ON_ERROR),
+                queryListener);
+        }
+
         return curQueryProcessor.processQueries(
             scriptContext,
             queries,
@@ -2706,12 +2717,76 @@ public class SQLEditor extends SQLEditorBase implements
             queryListener);
     }
 
+    /**
+     * Queries may be executed in parallel if all of them are read-only selects
+     * which do not depend on parameters or on script commands.
+     */
+    private boolean canExecuteInParallel(@NotNull List<SQLScriptElement> queries) {
+        if (queries.size() < 2 || !getActivePreferenceStore().getBoolean(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTE)) {
+            return false;
+        }
+        if (getExecutionContext() == null || dataSourceContainer == null ||
+            dataSourceContainer.isForceUseSingleConnection() || dataSourceContainer.getDriver().isEmbedded())
+        {
+            return false;
+        }
+        if (parallelQueryExecutor != null && parallelQueryExecutor.isActive()) {
+            return false;
+        }
+        for (SQLScriptElement element : queries) {
+            if (!(element instanceof SQLQuery)) {
+                return false;
+            }
+            SQLQuery query = (SQLQuery) element;
+            if (query.getType() != SQLQueryType.SELECT || query.isModifiyng() || !CommonUtils.isEmpty(query.getParameters())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean processQueriesInParallel(
+        @NotNull List<SQLScriptElement> queries,
+        boolean closeTabOnError,
+        @Nullable SQLQueryListener queryListener
+    ) {
+        final DBCExecutionContext context = getExecutionContext();
+        if (context == null) {
+            DBWorkbench.getPlatformUI().showError(
+                SQLEditorMessages.editors_sql_error_cant_execute_query_title,
+                ModelMessages.error_not_connected_to_database);
+            return false;
+        }
+        showScriptPositionRuler(true);
+        ParallelQueryExecutor executor = new ParallelQueryExecutor(context, closeTabOnError, queryListener);
+        QueryProcessor firstProcessor = curQueryProcessor;
+        for (int i = 0; i < queries.size(); i++) {
+            // Each query gets its own processor (and result tab)
+            QueryProcessor processor = i == 0 ? firstProcessor : createQueryProcessor(false, false);
+            SQLQuery query = (SQLQuery) queries.get(i);
+            processor.getFirstResults().query = query;
+            processor.setParallelExecutor(executor);
+            executor.addQuery(processor, query, createScriptContext());
+        }
+        curQueryProcessor = firstProcessor;
+        curResultsContainer = firstProcessor.getFirstResults();
+
+        parallelQueryExecutor = executor;
+        executor.start(getActivePreferenceStore().getInt(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS));
+        return true;
+    }
+
     public boolean isActiveQueryRunning() {
-        return curQueryProcessor != null && curQueryProcessor.curJobRunning.get() > 0;
+        return (curQueryProcessor != null && curQueryProcessor.curJobRunning.get() > 0) ||
+            (parallelQueryExecutor != null && parallelQueryExecutor.isActive());
     }
 
     public void cancelActiveQuery() {
-        if (isActiveQueryRunning()) {
+        ParallelQueryExecutor executor = parallelQueryExecutor;
+        if (executor != null && executor.isActive()) {
+            executor.cancel();
+        }
+        if (curQueryProcessor != null && curQueryProcessor.curJobRunning.get() > 0) {
             curQueryProcessor.cancelJob();
         }
     }
@@ -3395,6 +3470,8 @@ public class SQLEditor extends SQLEditorBase implements
         private AtomicInteger curJobRunning = new AtomicInteger(0);
         private final List<QueryResultsContainer> resultContainers = new ArrayList<>();
         private volatile DBDDataReceiver curDataReceiver = null;
+        // Executor which owns context of the shown results (if they were produced by parallel execution)
+        private ParallelQueryExecutor parallelExecutor;
 
         QueryProcessor(boolean makeDefault) {
             // Create first (default) results provider
@@ -3410,6 +3487,15 @@ public class SQLEditor extends SQLEditorBase implements
             return curJobRunning.get();
         }
 
+        void setParallelExecutor(@Nullable ParallelQueryExecutor executor) {
+            ParallelQueryExecutor prevExecutor = parallelExecutor;
+            parallelExecutor = executor;
+            if (prevExecutor != null && prevExecutor != executor) {
+                // Previous results are replaced, their context is not needed anymore
+                prevExecutor.releaseProcessor(this);
+            }
+        }
+
         private QueryResultsContainer createResultsProvider(int resultSetNumber, boolean makeDefault) {
             QueryResultsContainer resultsProvider = new QueryResultsContainer(this, resultSetNumber, getMaxResultsTabIndex() + 1, makeDefault);
             resultContainers.add(resultsProvider);
@@ -3478,6 +3564,31 @@ public class SQLEditor extends SQLEditorBase implements
             }
         }
 
+        /**
+         * Creates job which executes single query in the specified context.
+         * Used for parallel execution, job is scheduled by the caller.
+         */
+        @NotNull
+        SQLQueryJob createContextJob(
+            @NotNull DBCExecutionContext executionContext,
+            @NotNull SQLScriptContext scriptContext,
+            @NotNull SQLQuery query,
+            boolean closeTabOnError,
+            @Nullable SQLQueryListener queryListener
+        ) {
+            SQLEditorQueryListener listener = new SQLEditorQueryListener(this, closeTabOnError);
+            if (queryListener != null) {
+                listener.setExtListener(queryListener);
+            }
+            SQLQueryJob job = new SQLQueryJob(getSite(),
+                SQLEditorMessages.editors_sql_job_execute_query,
+                executionContext, getFirstResults(), Collections.singletonList(query), scriptContext, this, listener,
+                false);
+            job.setFetchResultSets(true);
+            curJob = job;
+            return job;
+        }
+
         boolean processQueries(SQLScriptContext scriptContext, final List<SQLScriptElement> queries, boolean forceScript, final boolean fetchResults, boolean export, boolean closeTabOnError, SQLQueryListener queryListener)
         {
             if (queries.isEmpty()) {
@@ -3497,6 +3608,7 @@ public class SQLEditor extends SQLEditorBase implements
                     ModelMessages.error_not_connected_to_database);
                 return false;
             }
+            setParallelExecutor(null);
             final boolean isSingleQuery = !forceScript && (queries.size() == 1);
 
             // Prepare execution job
@@ -3597,6 +3709,7 @@ public class SQLEditor extends SQLEditorBase implements
         void removeResults(QueryResultsContainer resultsContainer) {
             resultContainers.remove(resultsContainer);
             if (resultContainers.isEmpty()) {
+                setParallelExecutor(null);
                 queryProcessors.remove(this);
                 if (curQueryProcessor == this) {
                     if (queryProcessors.isEmpty()) {
@@ -3678,6 +3791,204 @@ public class SQLEditor extends SQLEditorBase implements
         }
     }
 
+    /**
+     * Executes queries of separate result tabs concurrently.
+     * Workers open their own isolated contexts and take queries from the shared queue,
+     * so number of open connections never exceeds number of workers.
+     * If isolated context can't be opened then remaining queries are executed one by one in the editor context.
+     * Contexts stay open while result tabs are shown (results may read LOBs lazily),
+     * they are closed when all tabs are closed or reused for other queries.
+     */
+    private class ParallelQueryExecutor {
+        private final DBCExecutionContext executionContext;
+        private final boolean closeTabOnError;
+        private final SQLQueryListener queryListener;
+        private final Queue<ParallelQueryTask> tasks = new ConcurrentLinkedQueue<>();
+        private final List<ParallelQueryWorker> workers = new ArrayList<>();
+        private final Set<QueryProcessor> processors = new HashSet<>();
+        private final List<DBCExecutionContext> isolatedContexts = new ArrayList<>();
+        private final AtomicInteger activeWorkers = new AtomicInteger();
+        private final AtomicBoolean editorContextUsed = new AtomicBoolean();
+        private volatile boolean canceled;
+
+        ParallelQueryExecutor(@NotNull DBCExecutionContext executionContext, boolean closeTabOnError, @Nullable SQLQueryListener queryListener) {
+            this.executionContext = executionContext;
+            this.closeTabOnError = closeTabOnError;
+            this.queryListener = queryListener;
+        }
+
+        void addQuery(@NotNull QueryProcessor processor, @NotNull SQLQuery query, @NotNull SQLScriptContext scriptContext) {
+            tasks.add(new ParallelQueryTask(processor, query, scriptContext));
+            synchronized (processors) {
+                processors.add(processor);
+            }
+        }
+
+        void start(int maxWorkers) {
+            int workerCount = Math.max(1, Math.min(maxWorkers, tasks.size()));
+            synchronized (workers) {
+                for (int i = 0; i < workerCount; i++) {
+                    workers.add(new ParallelQueryWorker(this, i + 1));
+                }
+                activeWorkers.set(workerCount);
+                for (ParallelQueryWorker worker : workers) {
+                    worker.schedule();
+                }
+            }
+        }
+
+        boolean isActive() {
+            return activeWorkers.get() > 0;
+        }
+
+        /**
+         * Cancels all running queries. Queries which were not started yet are discarded.
+         */
+        void cancel() {
+            canceled = true;
+            tasks.clear();
+            synchronized (workers) {
+                for (ParallelQueryWorker worker : workers) {
+                    worker.cancel();
+                }
+            }
+        }
+
+        boolean hasTasks() {
+            return !canceled && !isDisposed() && !tasks.isEmpty();
+        }
+
+        @Nullable
+        ParallelQueryTask nextTask() {
+            return canceled || isDisposed() ? null : tasks.poll();
+        }
+
+        /**
+         * Editor context is used when isolated context can't be opened.
+         * Only one worker may use it, queries of the same connection must not run concurrently.
+         */
+        boolean acquireEditorContext() {
+            return editorContextUsed.compareAndSet(false, true);
+        }
+
+        void addIsolatedContext(@NotNull DBCExecutionContext context) {
+            synchronized (processors) {
+                isolatedContexts.add(context);
+            }
+        }
+
+        void releaseProcessor(@NotNull QueryProcessor processor) {
+            synchronized (processors) {
+                processors.remove(processor);
+            }
+            closeUnusedContexts();
+        }
+
+        void workerFinished() {
+            if (activeWorkers.decrementAndGet() <= 0 && parallelQueryExecutor == this) {
+                parallelQueryExecutor = null;
+            }
+            closeUnusedContexts();
+        }
+
+        private void closeUnusedContexts() {
+            List<DBCExecutionContext> contextsToClose;
+            synchronized (processors) {
+                if (!processors.isEmpty() || isActive() || isolatedContexts.isEmpty()) {
+                    return;
+                }
+                contextsToClose = new ArrayList<>(isolatedContexts);
+                isolatedContexts.clear();
+            }
+            for (DBCExecutionContext context : contextsToClose) {
+                new CloseContextJob(context).schedule();
+            }
+        }
+    }
+
+    private static class ParallelQueryTask {
+        private final QueryProcessor processor;
+        private final SQLQuery query;
+        private final SQLScriptContext scriptContext;
+
+        ParallelQueryTask(QueryProcessor processor, SQLQuery query, SQLScriptContext scriptContext) {
+            this.processor = processor;
+            this.query = query;
+            this.scriptContext = scriptContext;
+        }
+    }
+
+    private class ParallelQueryWorker extends AbstractJob {
+        private final ParallelQueryExecutor executor;
+        private volatile SQLQueryJob curJob;
+
+        ParallelQueryWorker(@NotNull ParallelQueryExecutor executor, int workerNumber) {
+            super("Execute queries of " + getEditorInput().getName() + " (" + workerNumber + ")");
+            this.executor = executor;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            DBCExecutionContext context = null;
+            try {
+                // Context is opened before the task is taken, so the task is never lost if this worker quits
+                while (executor.hasTasks() && !monitor.isCanceled()) {
+                    if (context == null) {
+                        try {
+                            context = executor.executionContext.getOwnerInstance().openIsolatedContext(
+                                monitor,
+                                "SQLEditor <" + getEditorInput().getName() + "> parallel query",
+                                executor.executionContext);
+                            executor.addIsolatedContext(context);
+                        } catch (Exception e) {
+                            if (!executor.acquireEditorContext()) {
+                                // Another worker runs remaining queries in the editor context
+                                log.debug("Can't open isolated context for parallel query execution", e);
+                                break;
+                            }
+                            log.warn("Can't open isolated context for parallel query execution. " +
+                                "Remaining queries are executed one by one in the editor context", e);
+                            context = executor.executionContext;
+                        }
+                    }
+                    ParallelQueryTask task = executor.nextTask();
+                    if (task == null) {
+                        break;
+                    }
+                    SQLQueryJob job = task.processor.createContextJob(
+                        context,
+                        task.scriptContext,
+                        task.query,
+                        executor.closeTabOnError,
+                        executor.queryListener);
+                    curJob = job;
+                    job.schedule();
+                    try {
+                        job.join();
+                    } catch (InterruptedException e) {
+                        break;
+                    } finally {
+                        curJob = null;
+                    }
+                }
+            } finally {
+                // Isolated context is closed by executor when its results are released
+                executor.workerFinished();
+            }
+            return Status.OK_STATUS;
+        }
+
+        @Override
+        protected void canceling() {
+            SQLQueryJob job = curJob;
+            if (job != null) {
+                job.cancel();
+            }
+            super.canceling();
+        }
+    }
+
     public class QueryResultsContainer implements
         DBSDataContainer,
         IResultSetContainer,
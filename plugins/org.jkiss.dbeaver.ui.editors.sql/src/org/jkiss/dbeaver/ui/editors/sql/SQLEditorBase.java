@@ -132,6 +132,8 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
     private final SQLEditorCompletionContext completionContext;
     private SQLOccurrencesHighlighter occurrencesHighlighter;
     private SQLSymbolInserter sqlSymbolInserter;
+    private boolean largeFileMode;
+    private SQLStatementIndex statementIndex;
 
     private int lastQueryErrorPosition = -1;
 
@@ -486,6 +488,22 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
         }
 
         super.doSetInput(input);
+
+        IDocumentProvider documentProvider = getDocumentProvider();
+        IDocument document = documentProvider == null ? null : documentProvider.getDocument(input);
+        int largeFileThreshold = getActivePreferenceStore().getInt(SQLPreferenceConstants.LARGE_FILE_THRESHOLD);
+        largeFileMode = document != null && largeFileThreshold > 0 && document.getLength() > largeFileThreshold * 1024L * 1024L;
+        if (largeFileMode) {
+            log.debug("Large SQL script " + input.getName() + " (" + document.getLength() + " chars), syntax features are limited");
+        }
+    }
+
+    /**
+     * Large documents are edited without partitioning, folding, occurrences and reconciling.
+     * Syntax is highlighted only in the visible area and statements are extracted using background index.
+     */
+    public boolean isLargeFileMode() {
+        return largeFileMode;
     }
 
     @Override
@@ -605,6 +623,10 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
     public void dispose() {
         DBWorkbench.getPlatform().getPreferenceStore().removePropertyChangeListener(this);
         this.occurrencesHighlighter.dispose();
+        if (statementIndex != null) {
+            statementIndex.uninstall();
+            statementIndex = null;
+        }
 /*
         if (this.activationListener != null) {
             Shell shell = this.getEditorSite().getShell();
@@ -722,7 +744,21 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
         ruleScanner.refreshRules(getDataSource(), ruleManager);
         parserContext = new SQLParserContext(getDataSource(), syntaxManager, ruleManager, document != null ? document : new Document());
 
-        if (document instanceof IDocumentExtension3) {
+        if (largeFileMode && document instanceof IDocumentExtension3) {
+            if (statementIndex == null) {
+                statementIndex = new SQLStatementIndex(this);
+            }
+            statementIndex.install(document);
+            // Presentation reconciler and edit strategies still need SQL partitioning.
+            // Plain partitioner makes the whole document a single code partition without scanning it
+            IDocumentPartitioner partitioner = new SQLPlainPartitioner();
+            partitioner.connect(document);
+            try {
+                ((IDocumentExtension3)document).setDocumentPartitioner(SQLParserPartitions.SQL_PARTITIONING, partitioner);
+            } catch (Throwable e) {
+                log.warn("Error setting SQL partitioner", e); //$NON-NLS-1$
+            }
+        } else if (document instanceof IDocumentExtension3) {
             IDocumentPartitioner partitioner = new FastPartitioner(
                 new SQLPartitionScanner(getDataSource(), dialect, ruleManager),
                 SQLParserPartitions.SQL_CONTENT_TYPES);
@@ -803,10 +839,28 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
         if (selection instanceof IBlockTextSelection) {
             return SQLScriptParser.extractActiveQuery(parserContext, ((IBlockTextSelection) selection).getRegions());
         } else {
+            if (statementIndex != null && selection.getLength() == 0) {
+                IRegion statementRegion = statementIndex.getStatementRegion(selection.getOffset());
+                if (statementRegion != null) {
+                    return SQLScriptParser.extractActiveQuery(parserContext, statementRegion.getOffset(), statementRegion.getLength());
+                }
+            }
             return SQLScriptParser.extractActiveQuery(parserContext, selection.getOffset(), selection.getLength());
         }
     }
 
+    /**
+     * Creates parser context with its own scanner. Used for parsing outside of UI thread.
+     */
+    @Nullable
+    SQLParserContext createParserContext(@NotNull IDocument document) {
+        SQLParserContext context = parserContext;
+        if (context == null) {
+            return null;
+        }
+        return new SQLParserContext(getDataSource(), context.getSyntaxManager(), context.getRuleManager(), document);
+    }
+
     public SQLScriptElement extractQueryAtPos(int currentPos) {
         return parserContext == null ? null : SQLScriptParser.extractQueryAtPos(parserContext, currentPos);
     }
@@ -1060,6 +1114,7 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
 
     public boolean isFoldingEnabled() {
         return SQLEditorUtils.isSQLSyntaxParserApplied(getEditorInput())
+            && !isLargeFileMode()
             && DBWorkbench.getPlatform().getPreferenceStore().getBoolean(SQLPreferenceConstants.FOLDING_ENABLED);
     }
 
@@ -296,7 +296,9 @@ public class SQLEditorSourceViewerConfiguration extends TextSourceViewerConfigur
     @Override
     public IPresentationReconciler getPresentationReconciler(ISourceViewer sourceViewer) {
         // Create a presentation reconciler to handle handle document changes.
-        PresentationReconciler reconciler = new PresentationReconciler();
+        // Large documents are highlighted only in the visible area
+        PresentationReconciler reconciler = editor.isLargeFileMode() ?
+            new SQLViewportPresentationReconciler() : new PresentationReconciler();
         String docPartitioning = getConfiguredDocumentPartitioning(sourceViewer);
         reconciler.setDocumentPartitioning(docPartitioning);
 
@@ -424,7 +426,7 @@ public class SQLEditorSourceViewerConfiguration extends TextSourceViewerConfigur
     }
 
     public IReconciler getReconciler(ISourceViewer sourceViewer) {
-        if (reconcilingStrategy == null) {
+        if (reconcilingStrategy == null || editor.isLargeFileMode()) {
             return null;
         }
         return new MonoReconciler(reconcilingStrategy, true);
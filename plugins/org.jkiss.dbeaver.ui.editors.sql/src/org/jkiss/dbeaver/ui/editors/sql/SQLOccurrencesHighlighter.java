@@ -67,7 +67,7 @@ class SQLOccurrencesHighlighter {
     }
 
     public boolean isEnabled() {
-        return markOccurrencesUnderCursor || this.markOccurrencesForSelection;
+        return (markOccurrencesUnderCursor || this.markOccurrencesForSelection) && !editor.isLargeFileMode();
     }
 
     /////////////////////////////////////////////////////////////////
@@ -78,7 +78,7 @@ class SQLOccurrencesHighlighter {
             this.occurrencesFinderJob.cancel();
         }
 
-        if (this.markOccurrencesUnderCursor || this.markOccurrencesForSelection) {
+        if (isEnabled()) {
             if (selection != null) {
                 IDocument document = editor.getViewer().getDocument();
                 if (document != null) {
@@ -204,7 +204,7 @@ class SQLOccurrencesHighlighter {
         if (markUnderCursor != this.markOccurrencesUnderCursor || markSelection != this.markOccurrencesForSelection) {
             this.markOccurrencesUnderCursor = markUnderCursor;
             this.markOccurrencesForSelection = markSelection;
-            if (this.markOccurrencesUnderCursor || this.markOccurrencesForSelection) {
+            if (isEnabled()) {
                 this.installOccurrencesFinder();
             } else {
                 this.uninstallOccurrencesFinder();
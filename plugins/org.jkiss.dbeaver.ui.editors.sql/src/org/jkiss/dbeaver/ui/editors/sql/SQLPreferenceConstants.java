@@ -83,6 +83,7 @@ public class SQLPreferenceConstants {
     public static final String MARK_OCCURRENCES_FOR_SELECTION          = "SQLEditor.markOccurrences.forSelection";
     public static final String FOLDING_ENABLED                         = "SQLEditor.Folding.enabled";
     public static final String PROBLEM_MARKERS_ENABLED                 = "SQLEditor.problemMarkers.enabled";
+    public static final String LARGE_FILE_THRESHOLD                    = "SQLEditor.largeFile.threshold";
 
     // Auto-save
     public static final String AUTO_SAVE_ON_CHANGE                     = "SQLEditor.autoSaveOnChange";
@@ -151,6 +152,8 @@ public class SQLPreferenceConstants {
     public static final String SCRIPT_COMMIT_LINES                      = "script.commit.lines"; //$NON-NLS-1$
     public static final String SCRIPT_ERROR_HANDLING                    = "script.error.handling"; //$NON-NLS-1$
     public static final String SCRIPT_FETCH_RESULT_SETS                 = "script.fetch.resultset"; //$NON-NLS-1$
+    public static final String SCRIPT_PARALLEL_EXECUTE                  = "script.parallel.execute"; //$NON-NLS-1$
+    public static final String SCRIPT_PARALLEL_MAX_CONNECTIONS          = "script.parallel.maxConnections"; //$NON-NLS-1$
     public static final String NEW_SCRIPT_TEMPLATE_ENABLED              = "new.script.template.enabled"; //$NON-NLS-1$
     public static final String NEW_SCRIPT_TEMPLATE                      = "new.script.template"; //$NON-NLS-1$
     public static final String STATEMENT_INVALIDATE_BEFORE_EXECUTE      = "statement.invalidate.before.execute"; //$NON-NLS-1$
@@ -0,0 +1,212 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.sql;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.*;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.parser.SQLParserContext;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of script statement positions.
+ * Used in large-file mode, where statement extraction shouldn't scan document around the cursor.
+ * Index is built in background and is valid only for the document modification it was built for.
+ * After modification only statements starting from the modified one are parsed again, previous statements are kept.
+ */
+class SQLStatementIndex {
+
+    private static final Log log = Log.getLog(SQLStatementIndex.class);
+
+    private static final long INDEX_DELAY = 1000;
+
+    private final SQLEditorBase editor;
+    private final IndexJob indexJob = new IndexJob();
+    private final IDocumentListener documentListener = new IDocumentListener() {
+        @Override
+        public void documentAboutToBeChanged(DocumentEvent event) {
+            // nothing
+        }
+
+        @Override
+        public void documentChanged(DocumentEvent event) {
+            synchronized (SQLStatementIndex.this) {
+                changeOffset = Math.min(changeOffset, event.getOffset());
+            }
+            scheduleIndex(INDEX_DELAY);
+        }
+    };
+    private IDocument document;
+    // Index of the last indexed document modification
+    private volatile IndexData data;
+    // The lowest offset changed since the last index. Text before it is the same as in the last index.
+    private int changeOffset;
+
+    SQLStatementIndex(@NotNull SQLEditorBase editor) {
+        this.editor = editor;
+    }
+
+    void install(@NotNull IDocument document) {
+        uninstall();
+        this.document = document;
+        synchronized (this) {
+            changeOffset = 0;
+        }
+        document.addDocumentListener(documentListener);
+        scheduleIndex(0);
+    }
+
+    void uninstall() {
+        indexJob.cancel();
+        if (document != null) {
+            document.removeDocumentListener(documentListener);
+            document = null;
+        }
+        data = null;
+    }
+
+    void scheduleIndex(long delay) {
+        indexJob.cancel();
+        indexJob.schedule(delay);
+    }
+
+    /**
+     * Returns region of the statement which contains specified offset or null if index is not ready yet.
+     */
+    @Nullable
+    IRegion getStatementRegion(int offset) {
+        IndexData indexData = data;
+        IDocument curDocument = document;
+        if (indexData == null || curDocument == null || getModificationStamp(curDocument) != indexData.modificationStamp) {
+            return null;
+        }
+        int pos = Arrays.binarySearch(indexData.starts, offset);
+        if (pos < 0) {
+            pos = -pos - 2;
+        }
+        if (pos < 0 || offset > indexData.ends[pos]) {
+            return null;
+        }
+        return new Region(indexData.starts[pos], indexData.ends[pos] - indexData.starts[pos]);
+    }
+
+    /**
+     * Returns count of leading statements which are not affected by change at the specified offset.
+     * Statement which precedes the changed one is parsed again too: change of delimiter after it may join statements.
+     */
+    private static int getUnchangedCount(@NotNull IndexData indexData, int changeOffset) {
+        int pos = Arrays.binarySearch(indexData.ends, changeOffset);
+        // Statements which end before the change
+        int count = pos < 0 ? -pos - 1 : pos;
+        return Math.max(count - 1, 0);
+    }
+
+    private static long getModificationStamp(@NotNull IDocument document) {
+        return document instanceof IDocumentExtension4 ?
+            ((IDocumentExtension4) document).getModificationStamp() : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+    }
+
+    private static class IndexData {
+        private final long modificationStamp;
+        private final int[] starts;
+        private final int[] ends;
+
+        IndexData(long modificationStamp, int[] starts, int[] ends) {
+            this.modificationStamp = modificationStamp;
+            this.starts = starts;
+            this.ends = ends;
+        }
+    }
+
+    private class IndexJob extends AbstractJob {
+        IndexJob() {
+            super("Index SQL statements");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            IDocument curDocument = document;
+            if (curDocument == null || editor.isDisposed()) {
+                return Status.OK_STATUS;
+            }
+            long modificationStamp = getModificationStamp(curDocument);
+            if (modificationStamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+                return Status.OK_STATUS;
+            }
+            // Scanner of the editor parser context can't be used outside of UI thread
+            SQLParserContext parserContext = editor.createParserContext(curDocument);
+            if (parserContext == null) {
+                return Status.OK_STATUS;
+            }
+            IndexData prevData;
+            int prevChangeOffset;
+            synchronized (SQLStatementIndex.this) {
+                prevData = data;
+                prevChangeOffset = changeOffset;
+            }
+            if (prevData != null && prevData.modificationStamp == modificationStamp) {
+                // Already indexed
+                return Status.OK_STATUS;
+            }
+            int keptCount = prevData == null ? 0 : getUnchangedCount(prevData, prevChangeOffset);
+            // Parsing starts from the first statement which is not kept
+            int parseOffset = keptCount == 0 ? 0 : prevData.starts[keptCount];
+            List<SQLScriptElement> elements;
+            try {
+                elements = SQLScriptParser.extractScriptQueries(
+                    parserContext, parseOffset, curDocument.getLength() - parseOffset, true, false, false);
+            } catch (Exception e) {
+                // Document was changed during indexing
+                log.debug("Error indexing SQL statements: " + e.getMessage());
+                return Status.OK_STATUS;
+            }
+            if (elements == null || monitor.isCanceled()) {
+                return Status.OK_STATUS;
+            }
+            int[] starts = new int[keptCount + elements.size()];
+            int[] ends = new int[starts.length];
+            if (keptCount > 0) {
+                System.arraycopy(prevData.starts, 0, starts, 0, keptCount);
+                System.arraycopy(prevData.ends, 0, ends, 0, keptCount);
+            }
+            for (int i = 0; i < elements.size(); i++) {
+                SQLScriptElement element = elements.get(i);
+                starts[keptCount + i] = element.getOffset();
+                ends[keptCount + i] = element.getOffset() + element.getLength();
+            }
+            synchronized (SQLStatementIndex.this) {
+                // Changes made during indexing are indexed by the next run
+                if (getModificationStamp(curDocument) == modificationStamp) {
+                    data = new IndexData(modificationStamp, starts, ends);
+                    changeOffset = Integer.MAX_VALUE;
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -45,6 +45,8 @@ import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.data.DBDDataReceiverInteractive;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.cache.DBCResultCache;
+import org.jkiss.dbeaver.model.exec.cache.DBCResultCacheRecorder;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.local.StatResultSet;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
@@ -108,6 +110,7 @@ public class SQLQueryJob extends DataSourceJob
     private long rsMaxRows;
 
     private DBCStatement curStatement;
+    private DBCAdaptiveFetcher curFetcher;
     private final List<DBCResultSet> curResultSets = new ArrayList<>();
     private Throwable lastError = null;
 
@@ -553,6 +556,14 @@ public class SQLQueryJob extends DataSourceJob
     }
 
     private void executeStatement(@NotNull DBCSession session, SQLQuery sqlQuery, long startTime, SQLQueryResult curResult) throws DBCException {
+        final String cacheKey = getResultCacheKey(session, sqlQuery);
+        if (cacheKey != null && !CommonUtils.isBitSet(fetchFlags, DBSDataContainer.FLAG_REFRESH)) {
+            DBCResultSet cachedResultSet = DBCResultCache.getInstance().openResultSet(session, cacheKey);
+            if (cachedResultSet != null) {
+                fetchCachedResults(session, sqlQuery, cachedResultSet, startTime, curResult);
+                return;
+            }
+        }
         AbstractExecutionSource source = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), partSite.getPart(), sqlQuery);
         source.setScriptContext(scriptContext);
         final DBCStatement dbcStatement = DBUtils.makeStatement(
@@ -562,7 +573,7 @@ public class SQLQueryJob extends DataSourceJob
             sqlQuery,
             rsOffset,
             rsMaxRows);
-        DBExecUtils.setStatementFetchSize(dbcStatement, rsOffset, rsMaxRows, fetchSize);
+        curFetcher = DBCAdaptiveFetcher.prepare(dbcStatement, rsOffset, rsMaxRows, fetchSize);
         curStatement = dbcStatement;
 
         int statementTimeout = getDataSourceContainer().getPreferenceStore().getInt(SQLPreferenceConstants.STATEMENT_TIMEOUT);
@@ -591,6 +602,7 @@ public class SQLQueryJob extends DataSourceJob
             // result sets, we should warn user because it may lead to UI freeze
             int resultSetCounter = 0;
             boolean confirmed = false;
+            DBCResultCacheRecorder cacheRecorder = null;
             while (true) {
                 // Fetch data only if we have to fetch all results or if it is rs requested
                 if (fetchResultSetNumber < 0 || fetchResultSetNumber == resultSetNumber) {
@@ -628,6 +640,10 @@ public class SQLQueryJob extends DataSourceJob
                         } else {
                             DBDDataReceiver dataReceiver = resultsConsumer.getDataReceiver(sqlQuery, resultSetNumber);
                             if (dataReceiver != null) {
+                                if (cacheKey != null && resultSetCounter == 1) {
+                                    cacheRecorder = DBCResultCache.getInstance().createRecorder(getDataSourceContainer(), cacheKey, dataReceiver);
+                                    dataReceiver = cacheRecorder;
+                                }
                                 try {
                                     hasResultSet = fetchQueryData(session, resultSet, curResult, curResult.addExecuteResult(true), dataReceiver, true);
                                 } catch (DBCException e) {
@@ -637,6 +653,7 @@ public class SQLQueryJob extends DataSourceJob
                                         // Some rows were fetched so we don't want to fail entire query
                                         // Ad error as a warning
                                         log.warn("Fetch failed", e);
+                                        cacheRecorder = null;
                                         statistics.setRowsFetched(rowsFetched);
                                         statistics.setError(e);
                                     }
@@ -688,6 +705,10 @@ public class SQLQueryJob extends DataSourceJob
                     break;
                 }
             };
+            if (cacheRecorder != null && resultSetCounter == 1) {
+                // Results of statements which produce multiple result sets are not cached
+                cacheRecorder.storeResults();
+            }
         }
         finally {
             try {
@@ -775,6 +796,47 @@ public class SQLQueryJob extends DataSourceJob
         fetchQueryData(session, fakeResultSet, resultInfo, executeResult, dataReceiver, false);
     }
 
+    /**
+     * Returns result cache key if query result may be taken from the cache
+     */
+    @Nullable
+    private String getResultCacheKey(@NotNull DBCSession session, @NotNull SQLQuery sqlQuery) {
+        final DBCResultCache resultCache = DBCResultCache.getInstance();
+        if (!resultCache.isEnabled() || !fetchResultSets || resultsConsumer == null ||
+            (fetchResultSetNumber >= 0 && fetchResultSetNumber != resultSetNumber) ||
+            sqlQuery.getType() != SQLQueryType.SELECT)
+        {
+            return null;
+        }
+        List<String> parameters = null;
+        if (!CommonUtils.isEmpty(sqlQuery.getParameters())) {
+            parameters = new ArrayList<>();
+            for (SQLQueryParameter parameter : sqlQuery.getParameters()) {
+                parameters.add(parameter.getName() + "=" + parameter.getValue());
+            }
+        }
+        return resultCache.makeQueryKey(session.getExecutionContext(), sqlQuery.getText(), parameters, rsOffset, rsMaxRows);
+    }
+
+    private void fetchCachedResults(
+        @NotNull DBCSession session,
+        @NotNull SQLQuery sqlQuery,
+        @NotNull DBCResultSet resultSet,
+        long startTime,
+        @NotNull SQLQueryResult curResult) throws DBCException
+    {
+        statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+        statistics.addStatementsCount();
+        curResult.setHasResultSet(true);
+
+        DBDDataReceiver dataReceiver = resultsConsumer.getDataReceiver(sqlQuery, resultSetNumber);
+        if (dataReceiver != null) {
+            fetchQueryData(session, resultSet, curResult, curResult.addExecuteResult(true), dataReceiver, true);
+        }
+        resultSetNumber++;
+        fetchResultSetNumber = resultSetNumber;
+    }
+
     private boolean fetchQueryData(DBCSession session, DBCResultSet resultSet, SQLQueryResult result, SQLQueryResult.ExecuteResult executeResult, DBDDataReceiver dataReceiver, boolean updateStatistics)
         throws DBCException
     {
@@ -834,10 +896,10 @@ public class SQLQueryJob extends DataSourceJob
 
             // Fetch all rows
             rowsFetched = 0;
-            while ((!hasLimits() || !fetchProgress.isMaxRowsFetched(rsMaxRows)) && !fetchProgress.isCanceled() && resultSet.nextRow()) {
-                dataReceiver.fetchRow(session, resultSet);
-                rowsFetched++;
-                fetchProgress.monitorRowFetch();
+            try {
+                DBExecUtils.fetchResultSet(session, resultSet, dataReceiver, curFetcher, fetchProgress, hasLimits() ? rsMaxRows : 0);
+            } finally {
+                rowsFetched = (int) fetchProgress.getRowCount();
             }
             if (updateStatistics) {
                 statistics.addFetchTime(System.currentTimeMillis() - fetchStartTime);
@@ -893,6 +955,7 @@ public class SQLQueryJob extends DataSourceJob
                     log.error("Error closing statement", e);
                 } finally {
                     curStatement = null;
+                    curFetcher = null;
                 }
             }
         }
@@ -53,6 +53,12 @@ public class SQLEditorMessages extends NLS {
     public static String editors_sql_variables;
     public static String editors_sql_variables_tip;
     public static String editors_sql_explain_plan;
+    public static String editors_sql_plan_history_column_date;
+    public static String editors_sql_plan_history_column_cost;
+    public static String editors_sql_plan_history_column_rows;
+    public static String editors_sql_plan_history_column_changes;
+    public static String editors_sql_plan_history_action_clear;
+    public static String editors_sql_plan_history_regression;
     public static String editors_sql_output;
     public static String editors_sql_output_tip;
     public static String editors_sql_warning_many_subtables_title;
@@ -259,6 +265,9 @@ public class SQLEditorMessages extends NLS {
     public static String pref_page_sql_editor_checkbox_create_script_folders;
     public static String pref_page_sql_editor_checkbox_reset_cursor;
     public static String pref_page_sql_editor_checkbox_max_editor_on_script_exec;
+    public static String pref_page_sql_editor_checkbox_parallel_execute;
+    public static String pref_page_sql_editor_checkbox_parallel_execute_tip;
+    public static String pref_page_sql_editor_label_parallel_max_connections;
     public static String pref_page_sql_editor_checkbox_show_statistics_for_queries_with_results;
     public static String pref_page_sql_editor_checkbox_show_statistics_for_queries_with_results_tip;
     public static String pref_page_sql_editor_checkbox_enable_sql_anonymous_parameters;
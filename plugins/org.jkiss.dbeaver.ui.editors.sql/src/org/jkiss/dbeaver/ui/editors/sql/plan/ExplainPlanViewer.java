@@ -22,6 +22,7 @@ import org.eclipse.jface.action.IContributionManager;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StackLayout;
 import org.eclipse.swt.layout.GridData;
@@ -30,21 +31,26 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.ui.IWorkbenchPart;
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPContextProvider;
 import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPMessageType;
 import org.jkiss.dbeaver.model.edit.DBEObjectConfigurator;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.exec.plan.*;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanComparison;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanHistory;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.DatabaseLoadService;
 import org.jkiss.dbeaver.model.runtime.load.ILoadVisualizerExt;
 import org.jkiss.dbeaver.model.sql.SQLQuery;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.runtime.DBeaverNotifications;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
 import org.jkiss.dbeaver.ui.LoadingJob;
 import org.jkiss.dbeaver.ui.UIIcon;
@@ -399,10 +405,11 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
                     return null;
                 }
 
+                boolean readSavedPlan = savedQueryId != null && planner instanceof DBCSavedQueryPlanner;
                 DBExecUtils.tryExecuteRecover(monitor, executionContext.getDataSource(), param -> {
                     try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Explain '" + query + "'")) {
                         try {
-                            if (savedQueryId != null && planner instanceof DBCSavedQueryPlanner) {
+                            if (readSavedPlan) {
                                 plan = ((DBCSavedQueryPlanner) planner).readSavedQueryExecutionPlan(session, savedQueryId);
                             } else {
                                 plan = planner.planQueryExecution(session, query, configuration);
@@ -412,12 +419,31 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
                         }
                     }
                 });
+                if (plan != null && !readSavedPlan) {
+                    addPlanToHistory(plan);
+                }
             } catch (Throwable ex) {
                 throw new InvocationTargetException(ex);
             }
             return plan;
         }
 
+        private void addPlanToHistory(@NotNull DBCPlan plan) {
+            DBPDataSource dataSource = executionContext.getDataSource();
+            try {
+                ExecutionPlanComparison comparison = ExecutionPlanHistory.getInstance().addPlan(dataSource.getContainer(), plan);
+                if (comparison != null && comparison.isRegression()) {
+                    DBeaverNotifications.showNotification(
+                        dataSource,
+                        "sql.plan.regression",
+                        NLS.bind(SQLEditorMessages.editors_sql_plan_history_regression, String.join("; ", comparison.getRegressions())),
+                        DBPMessageType.ERROR);
+                }
+            } catch (IOException e) {
+                log.debug("Error saving execution plan history", e);
+            }
+        }
+
     }
 
     private class RefreshPlanAction extends Action {
@@ -0,0 +1,158 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.sql.plan.history;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IContributionManager;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBIcon;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanComparison;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanHistory;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanSnapshot;
+import org.jkiss.dbeaver.ui.DBeaverIcons;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.editors.sql.internal.SQLEditorMessages;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Shows stored versions of the current query plan with differences between them
+ */
+public class SQLPlanHistoryViewer extends Viewer {
+
+    private static final Log log = Log.getLog(SQLPlanHistoryViewer.class);
+
+    private final Table historyTable;
+    private final ClearHistoryAction clearHistoryAction = new ClearHistoryAction();
+
+    private DBPDataSource dataSource;
+    private DBCPlan plan;
+
+    public SQLPlanHistoryViewer(@NotNull Composite parent) {
+        historyTable = new Table(parent, SWT.FULL_SELECTION);
+        historyTable.setHeaderVisible(true);
+        historyTable.setLinesVisible(true);
+        historyTable.setLayoutData(new GridData(GridData.FILL_BOTH));
+        UIUtils.createTableColumn(historyTable, SWT.LEFT, SQLEditorMessages.editors_sql_plan_history_column_date);
+        UIUtils.createTableColumn(historyTable, SWT.RIGHT, SQLEditorMessages.editors_sql_plan_history_column_cost);
+        UIUtils.createTableColumn(historyTable, SWT.RIGHT, SQLEditorMessages.editors_sql_plan_history_column_rows);
+        UIUtils.createTableColumn(historyTable, SWT.LEFT, SQLEditorMessages.editors_sql_plan_history_column_changes);
+        UIUtils.setControlContextMenu(historyTable, manager -> UIUtils.fillDefaultTableContextMenu(manager, historyTable));
+    }
+
+    void showHistory(@Nullable DBPDataSource dataSource, @Nullable DBCPlan plan) {
+        this.dataSource = dataSource;
+        this.plan = plan;
+        refresh();
+    }
+
+    void contributeActions(@NotNull IContributionManager contributionManager) {
+        contributionManager.add(clearHistoryAction);
+    }
+
+    @Override
+    public Control getControl() {
+        return historyTable;
+    }
+
+    @Override
+    public Object getInput() {
+        return plan;
+    }
+
+    @Override
+    public ISelection getSelection() {
+        return StructuredSelection.EMPTY;
+    }
+
+    @Override
+    public void refresh() {
+        historyTable.removeAll();
+        clearHistoryAction.setEnabled(false);
+        if (dataSource == null || plan == null || CommonUtils.isEmpty(plan.getQueryString())) {
+            return;
+        }
+        List<ExecutionPlanSnapshot> plans;
+        try {
+            plans = ExecutionPlanHistory.getInstance().getPlans(dataSource.getContainer().getId(), plan.getQueryString());
+        } catch (IOException e) {
+            log.error("Error reading plan history", e);
+            return;
+        }
+        DateFormat dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.MEDIUM);
+        // Newest version first
+        for (int i = plans.size() - 1; i >= 0; i--) {
+            ExecutionPlanSnapshot snapshot = plans.get(i);
+            ExecutionPlanComparison comparison = i > 0 ? new ExecutionPlanComparison(plans.get(i - 1), snapshot) : null;
+            TableItem item = new TableItem(historyTable, SWT.NONE);
+            item.setText(0, dateFormat.format(new Date(snapshot.getTime())));
+            item.setText(1, snapshot.getCost() == null ? "" : ExecutionPlanComparison.formatNumber(snapshot.getCost()));
+            item.setText(2, snapshot.getRows() == null ? "" : ExecutionPlanComparison.formatNumber(snapshot.getRows()));
+            item.setText(3, comparison == null ? "" : comparison.getSummary());
+            if (comparison != null && comparison.isRegression()) {
+                item.setImage(0, DBeaverIcons.getImage(DBIcon.SMALL_ERROR));
+            }
+        }
+        UIUtils.packColumns(historyTable);
+        clearHistoryAction.setEnabled(!plans.isEmpty());
+    }
+
+    @Override
+    public void setInput(Object input) {
+    }
+
+    @Override
+    public void setSelection(ISelection selection, boolean reveal) {
+    }
+
+    private class ClearHistoryAction extends Action {
+        ClearHistoryAction() {
+            super(SQLEditorMessages.editors_sql_plan_history_action_clear, DBeaverIcons.getImageDescriptor(UIIcon.ERASE));
+        }
+
+        @Override
+        public void run() {
+            if (dataSource == null || plan == null) {
+                return;
+            }
+            try {
+                ExecutionPlanHistory.getInstance().clearPlans(dataSource.getContainer().getId(), plan.getQueryString());
+            } catch (IOException e) {
+                log.error("Error clearing plan history", e);
+            }
+            refresh();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.sql.plan.history;
+
+import org.eclipse.jface.action.IContributionManager;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.ui.IWorkbenchPart;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.ui.editors.sql.SQLPlanViewProvider;
+
+/**
+ * Execution plan history presentation
+ */
+public class SQLPlanViewProviderHistory implements SQLPlanViewProvider {
+
+    @Override
+    public Viewer createPlanViewer(IWorkbenchPart workbenchPart, Composite parent) {
+        return new SQLPlanHistoryViewer(parent);
+    }
+
+    @Override
+    public void visualizeQueryPlan(Viewer viewer, SQLQuery query, DBCPlan plan) {
+        ((SQLPlanHistoryViewer) viewer).showHistory(query == null ? null : query.getDataSource(), plan);
+    }
+
+    @Override
+    public void contributeActions(Viewer viewer, IContributionManager contributionManager, SQLQuery lastQuery, DBCPlan lastPlan) {
+        ((SQLPlanHistoryViewer) viewer).contributeActions(contributionManager);
+    }
+}
@@ -60,6 +60,8 @@ public class PrefPageSQLExecute extends TargetPrefPage
     private Button fetchResultSetsCheck;
     private Button resetCursorCheck;
     private Button maxEditorCheck;
+    private Button parallelExecuteCheck;
+    private Spinner parallelMaxConnectionsText;
     private Button showStatisticsForQueriesWithResultsCheck;
 
     private Text statementDelimiterText;
@@ -92,6 +94,8 @@ public class PrefPageSQLExecute extends TargetPrefPage
             store.contains(SQLPreferenceConstants.SCRIPT_ERROR_HANDLING) ||
             store.contains(SQLPreferenceConstants.SCRIPT_COMMIT_LINES) ||
             store.contains(SQLPreferenceConstants.SCRIPT_FETCH_RESULT_SETS) ||
+            store.contains(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTE) ||
+            store.contains(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS) ||
 
             store.contains(ModelPreferences.SCRIPT_STATEMENT_DELIMITER) ||
             store.contains(ModelPreferences.SCRIPT_IGNORE_NATIVE_DELIMITER) ||
@@ -217,6 +221,22 @@ public class PrefPageSQLExecute extends TargetPrefPage
                 false,
                 2
             );
+            parallelExecuteCheck = UIUtils.createCheckbox(
+                scriptsGroup,
+                SQLEditorMessages.pref_page_sql_editor_checkbox_parallel_execute,
+                SQLEditorMessages.pref_page_sql_editor_checkbox_parallel_execute_tip,
+                false,
+                2
+            );
+            {
+                UIUtils.createControlLabel(scriptsGroup, SQLEditorMessages.pref_page_sql_editor_label_parallel_max_connections);
+                parallelMaxConnectionsText = new Spinner(scriptsGroup, SWT.BORDER);
+                parallelMaxConnectionsText.setSelection(0);
+                parallelMaxConnectionsText.setDigits(0);
+                parallelMaxConnectionsText.setIncrement(1);
+                parallelMaxConnectionsText.setMinimum(1);
+                parallelMaxConnectionsText.setMaximum(64);
+            }
         }
         // Parameters
         {
@@ -280,6 +300,8 @@ public class PrefPageSQLExecute extends TargetPrefPage
             fetchResultSetsCheck.setSelection(store.getBoolean(SQLPreferenceConstants.SCRIPT_FETCH_RESULT_SETS));
             resetCursorCheck.setSelection(store.getBoolean(SQLPreferenceConstants.RESET_CURSOR_ON_EXECUTE));
             maxEditorCheck.setSelection(store.getBoolean(SQLPreferenceConstants.MAXIMIZE_EDITOR_ON_SCRIPT_EXECUTE));
+            parallelExecuteCheck.setSelection(store.getBoolean(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTE));
+            parallelMaxConnectionsText.setSelection(store.getInt(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS));
             showStatisticsForQueriesWithResultsCheck.setSelection(
                 store.getBoolean(SQLPreferenceConstants.SHOW_STATISTICS_FOR_QUERIES_WITH_RESULTS)
             );
@@ -317,6 +339,8 @@ public class PrefPageSQLExecute extends TargetPrefPage
             store.setValue(SQLPreferenceConstants.SCRIPT_FETCH_RESULT_SETS, fetchResultSetsCheck.getSelection());
             store.setValue(SQLPreferenceConstants.RESET_CURSOR_ON_EXECUTE, resetCursorCheck.getSelection());
             store.setValue(SQLPreferenceConstants.MAXIMIZE_EDITOR_ON_SCRIPT_EXECUTE, maxEditorCheck.getSelection());
+            store.setValue(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTE, parallelExecuteCheck.getSelection());
+            store.setValue(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS, parallelMaxConnectionsText.getSelection());
             store.setValue(
                 SQLPreferenceConstants.SHOW_STATISTICS_FOR_QUERIES_WITH_RESULTS,
                 showStatisticsForQueriesWithResultsCheck.getSelection()
@@ -350,6 +374,8 @@ public class PrefPageSQLExecute extends TargetPrefPage
         store.setToDefault(SQLPreferenceConstants.SCRIPT_ERROR_HANDLING);
         store.setToDefault(SQLPreferenceConstants.SCRIPT_COMMIT_LINES);
         store.setToDefault(SQLPreferenceConstants.SCRIPT_FETCH_RESULT_SETS);
+        store.setToDefault(SQLPreferenceConstants.SCRIPT_PARALLEL_EXECUTE);
+        store.setToDefault(SQLPreferenceConstants.SCRIPT_PARALLEL_MAX_CONNECTIONS);
 
         store.setToDefault(SQLPreferenceConstants.RESET_CURSOR_ON_EXECUTE);
         store.setToDefault(SQLPreferenceConstants.MAXIMIZE_EDITOR_ON_SCRIPT_EXECUTE);
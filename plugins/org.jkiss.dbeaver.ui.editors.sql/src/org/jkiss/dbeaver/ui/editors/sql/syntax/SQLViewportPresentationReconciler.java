@@ -0,0 +1,120 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.sql.syntax;
+
+import org.eclipse.jface.text.*;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
+
+/**
+ * Presentation reconciler for large documents.
+ * Only the visible part of document (plus some margin) is tokenized. Other parts are highlighted when they are scrolled into view.
+ */
+public class SQLViewportPresentationReconciler extends PresentationReconciler {
+
+    private static final int VIEWPORT_MARGIN = 32 * 1024;
+
+    private ITextViewer viewer;
+    private final IViewportListener viewportListener = verticalOffset -> updateViewport();
+    private final ITextInputListener inputListener = new ITextInputListener() {
+        @Override
+        public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+            // nothing
+        }
+
+        @Override
+        public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+            presentedStart = presentedEnd = 0;
+        }
+    };
+    private int presentedStart;
+    private int presentedEnd;
+
+    @Override
+    public void install(ITextViewer viewer) {
+        // Listeners must be added before the super listener, so presented range is reset before initial presentation
+        this.viewer = viewer;
+        viewer.addTextInputListener(inputListener);
+        viewer.addViewportListener(viewportListener);
+        super.install(viewer);
+    }
+
+    @Override
+    public void uninstall() {
+        super.uninstall();
+        if (viewer != null) {
+            viewer.removeViewportListener(viewportListener);
+            viewer.removeTextInputListener(inputListener);
+            viewer = null;
+        }
+    }
+
+    @Override
+    protected TextPresentation createPresentation(IRegion damage, IDocument document) {
+        IRegion window = getViewportWindow(document);
+        int start = Math.max(damage.getOffset(), window.getOffset());
+        int end = Math.min(damage.getOffset() + damage.getLength(), window.getOffset() + window.getLength());
+        if (start >= end) {
+            return null;
+        }
+        if (start < presentedStart || end > presentedEnd || presentedStart == presentedEnd) {
+            if (presentedStart == presentedEnd || end < presentedStart || start > presentedEnd) {
+                presentedStart = start;
+                presentedEnd = end;
+            } else {
+                presentedStart = Math.min(presentedStart, start);
+                presentedEnd = Math.max(presentedEnd, end);
+            }
+        }
+        return super.createPresentation(new Region(start, end - start), document);
+    }
+
+    private void updateViewport() {
+        if (!(viewer instanceof ITextViewerExtension2)) {
+            return;
+        }
+        IDocument document = viewer.getDocument();
+        if (document == null) {
+            return;
+        }
+        int top = viewer.getTopIndexStartOffset();
+        int bottom = Math.max(top, viewer.getBottomIndexEndOffset());
+        if (top >= presentedStart && bottom <= presentedEnd) {
+            // Already highlighted
+            return;
+        }
+        IRegion window = getViewportWindow(document);
+        ((ITextViewerExtension2) viewer).invalidateTextPresentation(window.getOffset(), window.getLength());
+    }
+
+    /**
+     * Visible part of document extended with margins. Window starts from the line start.
+     */
+    private IRegion getViewportWindow(IDocument document) {
+        int length = document.getLength();
+        int top = viewer == null ? 0 : viewer.getTopIndexStartOffset();
+        int bottom = viewer == null ? 0 : Math.max(top, viewer.getBottomIndexEndOffset());
+        int start = Math.max(0, top - VIEWPORT_MARGIN);
+        int end = Math.min(length, bottom + VIEWPORT_MARGIN);
+        try {
+            start = document.getLineOffset(document.getLineOfOffset(start));
+        } catch (BadLocationException e) {
+            // Use as is
+        }
+        return new Region(start, Math.max(0, end - start));
+    }
+
+}
@@ -557,6 +557,58 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
         setListData(items, true, false);
     }
 
+    /**
+     * Applies list changes without full viewer refresh.
+     * Changed objects replace list objects which are equal to them.
+     */
+    protected void updateListData(
+        @NotNull Collection<OBJECT_TYPE> added,
+        @NotNull Collection<OBJECT_TYPE> changed,
+        @NotNull Collection<OBJECT_TYPE> removed)
+    {
+        final Control itemsControl = itemsViewer.getControl();
+        if (itemsControl.isDisposed()) {
+            return;
+        }
+        if (CommonUtils.isEmpty(objectList) || columnController == null) {
+            // Columns are not created yet
+            setListData(added, false, false);
+            return;
+        }
+        itemsControl.setRedraw(false);
+        try {
+            if (!removed.isEmpty()) {
+                Set<OBJECT_TYPE> removedSet = new HashSet<>(removed);
+                objectList.removeIf(removedSet::contains);
+            }
+            if (!changed.isEmpty()) {
+                Map<OBJECT_TYPE, OBJECT_TYPE> changedMap = new HashMap<>();
+                for (OBJECT_TYPE object : changed) {
+                    changedMap.put(object, object);
+                }
+                for (ListIterator<OBJECT_TYPE> iter = objectList.listIterator(); iter.hasNext(); ) {
+                    OBJECT_TYPE newObject = changedMap.get(iter.next());
+                    if (newObject != null) {
+                        iter.set(newObject);
+                    }
+                }
+            }
+            objectList.addAll(added);
+
+            if (itemsViewer instanceof AbstractTableViewer && groupingColumn == null) {
+                AbstractTableViewer tableViewer = (AbstractTableViewer) itemsViewer;
+                tableViewer.remove(removed.toArray());
+                tableViewer.update(changed.toArray(), null);
+                tableViewer.add(added.toArray());
+            } else {
+                itemsViewer.refresh();
+            }
+        } finally {
+            itemsControl.setRedraw(true);
+        }
+        setInfo(getItemsLoadMessage(objectList.size()));
+    }
+
     public void repackColumns() {
         if (columnController != null) {
             columnController.repackColumns();
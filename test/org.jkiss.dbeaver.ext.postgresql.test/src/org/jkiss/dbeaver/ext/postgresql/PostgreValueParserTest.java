@@ -143,6 +143,20 @@ public class PostgreValueParserTest {
 //        Assert.assertArrayEquals(booleans, (Object[]) PostgreValueParser.convertStringToValue(session, arrayBooleanItemType,"{'on,'off'}", true));
     }
 
+    @Test
+    public void convertStringToArrayWithSpecialItems() throws DBCException {
+        Assert.assertArrayEquals(new String[]{"A", null, "NULL", "a b", "x\"y", "c,d", ""},
+            (Object[]) PostgreValueParser.convertStringToValue(session, arrayStringItemType, "{A,NULL,\"NULL\", a b ,\"x\\\"y\",c\\,d,\"\"}"));
+        Assert.assertArrayEquals(new Object[]{1, null, "3000000000"},
+            (Object[]) PostgreValueParser.convertStringToValue(session, arrayIntItemType, "{1,null,3000000000}"));
+        Assert.assertArrayEquals(new Integer[]{},
+            (Object[]) PostgreValueParser.convertStringToValue(session, arrayIntItemType, "{ }"));
+        Assert.assertEquals(2,
+            ((Object[]) PostgreValueParser.convertStringToValue(session, arrayIntItemType, "[1:2][1:2]={{1,2},{3,4}}")).length);
+        Assert.assertEquals("{1,}", PostgreValueParser.convertStringToValue(session, arrayIntItemType, "{1,}"));
+        Assert.assertEquals("{\"1}", PostgreValueParser.convertStringToValue(session, arrayIntItemType, "{\"1}"));
+    }
+
     @Test
     public void parseSingleObject() throws DBCException {
         Assert.assertArrayEquals(new String[]{}, PostgreValueParser.parseSingleObject(""));
@@ -150,6 +164,7 @@ public class PostgreValueParserTest {
         Assert.assertArrayEquals(new String[]{"A", " B"}, PostgreValueParser.parseSingleObject("A, B"));
         Assert.assertArrayEquals(new String[]{"A", null, "B", null}, PostgreValueParser.parseSingleObject("A,,B,"));
         Assert.assertArrayEquals(new String[]{"A a", "", "B", ""}, PostgreValueParser.parseSingleObject("\"A a\",\"\",B,\"\""));
+        Assert.assertArrayEquals(new String[]{"a\"b", "c\\d", "(1,2)"}, PostgreValueParser.parseSingleObject("\"a\"\"b\",\"c\\\\d\",\"(1,2)\""));
     }
 
     @Test
@@ -0,0 +1,89 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.lsm.test;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.tree.Trees;
+import org.jkiss.dbeaver.model.lsm.sql.dialect.SQLStandardAnalyzer;
+import org.jkiss.dbeaver.model.lsm.sql.impl.syntax.SQLStandardLexer;
+import org.jkiss.dbeaver.model.lsm.sql.impl.syntax.SQLStandardParser;
+import org.jkiss.dbeaver.model.stm.STMSkippingErrorListener;
+import org.jkiss.dbeaver.model.stm.STMSource;
+import org.jkiss.dbeaver.model.stm.STMTreeRuleNode;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LSMAnalyzerTest {
+
+    private static final List<String> RULE_NAMES = Arrays.asList(SQLStandardParser.ruleNames);
+
+    @Test
+    public void testTwoStageParseMatchesFullParse() throws Exception {
+        SQLStandardAnalyzer analyzer = new SQLStandardAnalyzer();
+        List<String> statements = LSMTestStatements.readSelectStatements();
+
+        for (String stmtText : statements) {
+            SQLStandardParser parser = new SQLStandardParser(new CommonTokenStream(new SQLStandardLexer(CharStreams.fromString(stmtText))));
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            String expected = Trees.toStringTree(parser.sqlQuery(), RULE_NAMES);
+
+            STMTreeRuleNode tree = analyzer.parseSqlQueryTree(STMSource.fromString(stmtText), new STMSkippingErrorListener());
+            Assert.assertNotNull(tree);
+            Assert.assertEquals(expected, Trees.toStringTree(tree, RULE_NAMES));
+
+            // Reader based source can't be re-created, it must be re-read on LL fallback
+            tree = analyzer.parseSqlQueryTree(STMSource.fromReader(new StringReader(stmtText)), new STMSkippingErrorListener());
+            Assert.assertNotNull(tree);
+            Assert.assertEquals(expected, Trees.toStringTree(tree, RULE_NAMES));
+        }
+    }
+
+    @Test
+    public void testErroneousQueryFallback() throws Exception {
+        SQLStandardAnalyzer analyzer = new SQLStandardAnalyzer();
+        String text = "select a, from t where";
+
+        SQLStandardParser parser = new SQLStandardParser(new CommonTokenStream(new SQLStandardLexer(CharStreams.fromString(text))));
+        parser.removeErrorListeners();
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        String expected = Trees.toStringTree(parser.sqlQuery(), RULE_NAMES);
+
+        STMTreeRuleNode tree = analyzer.parseSqlQueryTree(STMSource.fromReader(new StringReader(text)), new STMSkippingErrorListener());
+        Assert.assertNotNull(tree);
+        Assert.assertEquals(expected, Trees.toStringTree(tree, RULE_NAMES));
+    }
+
+    @Test
+    public void testTreeCache() {
+        SQLStandardAnalyzer analyzer = new SQLStandardAnalyzer();
+        String text = "select a.x, b.y from t1 a join t2 b on a.id = b.id";
+
+        STMTreeRuleNode tree = analyzer.parseSqlQueryTree(text);
+        Assert.assertNotNull(tree);
+        Assert.assertSame(tree, analyzer.parseSqlQueryTree(text));
+        Assert.assertNotSame(tree, analyzer.parseSqlQueryTree(text + " where a.x > 1"));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.lsm.test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Statement corpora shared by LSM tests and benchmarks.
+ */
+final class LSMTestStatements {
+
+    private static final String SELECT_STATEMENTS_RESOURCE_NAME = "SelectStatements.sql.txt";
+
+    private LSMTestStatements() {
+    }
+
+    /**
+     * Reads select statements corpus. Statements are separated by empty lines, comment lines are skipped.
+     */
+    static List<String> readSelectStatements() {
+        InputStream stream = LSMTestStatements.class.getResourceAsStream(SELECT_STATEMENTS_RESOURCE_NAME);
+        if (stream == null) {
+            throw new IllegalStateException("Resource " + SELECT_STATEMENTS_RESOURCE_NAME + " not found");
+        }
+        List<String> result = new ArrayList<>();
+        try (Scanner scanner = new Scanner(stream)) {
+            StringBuilder sb = new StringBuilder();
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine();
+                String trimmed = line.trim();
+                if (trimmed.length() > 0) {
+                    if (!(trimmed.startsWith("#") || trimmed.startsWith("--"))) {
+                        sb.append(line).append(" \n");
+                    }
+                } else if (sb.toString().trim().length() > 0) {
+                    result.add(sb.toString());
+                    sb.setLength(0);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.lsm.test;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.jkiss.dbeaver.model.lsm.sql.dialect.SQLStandardAnalyzer;
+import org.jkiss.dbeaver.model.lsm.sql.impl.syntax.SQLStandardLexer;
+import org.jkiss.dbeaver.model.lsm.sql.impl.syntax.SQLStandardParser;
+import org.jkiss.dbeaver.model.stm.STMSkippingErrorListener;
+import org.jkiss.dbeaver.model.stm.STMSource;
+
+import java.util.List;
+
+/**
+ * Measures parse time of select statements corpus.
+ * Compares full LL parse, two-stage (SLL then LL) parse and cached parse of the same statements.
+ * Run as a plain java application: ParseSelectStmtBenchmark [iterations]
+ */
+public class ParseSelectStmtBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        List<String> statements = LSMTestStatements.readSelectStatements();
+
+        SQLStandardAnalyzer analyzer = new SQLStandardAnalyzer();
+        Runnable llParse = () -> {
+            for (String text : statements) {
+                SQLStandardParser parser = new SQLStandardParser(new CommonTokenStream(new SQLStandardLexer(CharStreams.fromString(text))));
+                parser.removeErrorListeners();
+                parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+                parser.sqlQuery();
+            }
+        };
+        Runnable twoStageParse = () -> {
+            for (String text : statements) {
+                analyzer.parseSqlQueryTree(STMSource.fromString(text), new STMSkippingErrorListener());
+            }
+        };
+        Runnable cachedParse = () -> {
+            for (String text : statements) {
+                analyzer.parseSqlQueryTree(text);
+            }
+        };
+
+        System.out.println("Statements: " + statements.size() + ", iterations: " + iterations);
+        measure("LL", llParse, iterations, statements.size());
+        measure("SLL/LL", twoStageParse, iterations, statements.size());
+        measure("Cached", cachedParse, iterations, statements.size());
+    }
+
+    private static void measure(String name, Runnable task, int iterations, int statementCount) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long totalTime = System.nanoTime() - startTime;
+        System.out.printf("%-8s %10.1f us/statement%n", name, totalTime / 1000.0 / iterations / statementCount);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.parser.common.test;
+
+import org.jkiss.dbeaver.model.lsm.sql.dialect.SQLStandardAnalyzer;
+import org.jkiss.dbeaver.model.stm.STMSkippingErrorListener;
+import org.jkiss.dbeaver.model.stm.STMSource;
+import org.jkiss.dbeaver.parser.common.Parser;
+import org.jkiss.dbeaver.parser.common.ParserFactory;
+import org.jkiss.dbeaver.parser.common.grammar.GrammarInfo;
+import org.jkiss.dbeaver.parser.common.grammar.GrammarInfoBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.jkiss.dbeaver.parser.common.grammar.ExpressionFactory.*;
+
+/**
+ * Compares parse time of simple select statements with this parser and with ANTLR based LSM analyzer.
+ * Run as a plain java application: ParserBenchmark [iterations]
+ */
+public class ParserBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        List<String> statements = makeStatements();
+
+        long startTime = System.nanoTime();
+        Parser parser = ParserFactory.getFactory(buildSelectGrammar()).createParser();
+        long coldTime = System.nanoTime() - startTime;
+        startTime = System.nanoTime();
+        ParserFactory.getFactory(buildSelectGrammar()).createParser();
+        long cachedTime = System.nanoTime() - startTime;
+        System.out.printf("Parser factory: %.1f us, cached: %.1f us%n", coldTime / 1000.0, cachedTime / 1000.0);
+
+        for (String text : statements) {
+            if (!parser.parse(text).isSuccess()) {
+                throw new IllegalStateException("Can't parse " + text);
+            }
+        }
+
+        SQLStandardAnalyzer analyzer = new SQLStandardAnalyzer();
+        System.out.println("Statements: " + statements.size() + ", iterations: " + iterations);
+        measure("Parser", () -> {
+            for (String text : statements) {
+                parser.parse(text).getTrees(false);
+            }
+        }, iterations, statements.size());
+        measure("ANTLR", () -> {
+            for (String text : statements) {
+                analyzer.parseSqlQueryTree(STMSource.fromString(text), new STMSkippingErrorListener());
+            }
+        }, iterations, statements.size());
+    }
+
+    private static GrammarInfo buildSelectGrammar() {
+        GrammarInfoBuilder gb = new GrammarInfoBuilder("select");
+        gb.setUseSkipRule(false);
+        gb.setRule("sp", regex("[\\s]*"));
+        gb.setSkipRuleName("sp");
+        gb.setUseSkipRule(true);
+
+        gb.setStartRuleName("stmt");
+        gb.setRule("stmt", seq("select", call("columns"), "from", call("name"), optional(call("filter"))));
+        gb.setRule("columns", seq(call("name"), zeroOrMore(",", call("name"))));
+        gb.setRule("filter", seq("where", call("condition"), zeroOrMore("and", call("condition"))));
+        gb.setRule("condition", seq(call("name"), alt("=", "<>", "<", ">"), alt(call("name"), call("value"))));
+        gb.setRule("name", regex("[^\\d\\W][\\w]*"));
+        gb.setRule("value", regex("[\\d]+"));
+        return gb.buildGrammarInfo();
+    }
+
+    private static List<String> makeStatements() {
+        List<String> statements = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            StringBuilder sb = new StringBuilder("select c0");
+            for (int c = 1; c < i; c++) {
+                sb.append(", c").append(c);
+            }
+            sb.append(" from t").append(i);
+            statements.add(sb.toString());
+            sb.append(" where c0 = ").append(i);
+            for (int c = 1; c < i; c++) {
+                sb.append(" and c").append(c).append(" > c").append(c - 1);
+            }
+            statements.add(sb.toString());
+        }
+        return statements;
+    }
+
+    private static void measure(String name, Runnable task, int iterations, int statementCount) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long totalTime = System.nanoTime() - startTime;
+        System.out.printf("%-8s %10.1f us/statement%n", name, totalTime / 1000.0 / iterations / statementCount);
+    }
+}
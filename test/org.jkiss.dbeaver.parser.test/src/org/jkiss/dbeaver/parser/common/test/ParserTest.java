@@ -319,4 +319,14 @@ public class ParserTest {
         Assert.assertTrue(p.parse("Enum8('hello' = 1, 'world' = 2)").isSuccess());
         
     }
+
+    @Test
+    public void parserFactoryCache() {
+        ParserFactory factory = ParserFactory.getFactory(new GrammarCtx(true).grammar);
+        Assert.assertSame(factory, ParserFactory.getFactory(new GrammarCtx(true).grammar));
+        Assert.assertNotSame(factory, ParserFactory.getFactory(new GrammarCtx(false).grammar));
+
+        List<ParseTreeNode> tree = factory.createParser().parse("(1 + 2) * 3").getTrees(false);
+        Assert.assertEquals(1, tree.size());
+    }
 }
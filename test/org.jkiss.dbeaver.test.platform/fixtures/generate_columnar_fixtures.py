@@ -0,0 +1,569 @@
+#!/usr/bin/env python3
+#
+# DBeaver - Universal Database Manager
+# Copyright (C) 2010-2023 DBeaver Corp and others
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+"""
+Generates golden Parquet and Arrow IPC files for ColumnarFixturesTest.
+
+The files are written independently of DBeaver's own columnar writers:
+ - with pyarrow when it is installed (or when --pyarrow is given);
+ - otherwise with the stdlib-only writer below, which follows the Parquet, Thrift compact protocol,
+   Snappy, Arrow IPC and FlatBuffers specifications.
+
+Both ways produce the same logical content, so the test doesn't depend on how the files were made.
+
+Usage: generate_columnar_fixtures.py [--pyarrow | --stdlib] [output directory]
+"""
+
+import os
+import struct
+import sys
+
+ROWS = 100
+ROW_GROUP_SIZE = 60
+WORDS = ['alpha', 'beta', 'gamma']
+BASE_TIMESTAMP = 1686824430000000  # 2023-06-15T10:20:30Z in microseconds
+
+DEFAULT_OUTPUT = os.path.join(os.path.dirname(os.path.abspath(__file__)),
+                              '..', 'src', 'org', 'jkiss', 'dbeaver', 'tools', 'transfer', 'fixtures')
+
+
+# Fixture content, must be kept in sync with ColumnarFixturesTest
+
+def id_value(row):
+    return row * 1000
+
+
+def word_value(row):
+    return None if row % 7 == 0 else WORDS[row % 3]
+
+
+def note_value(row):
+    # Long repeated suffix makes Snappy emit copies with 2-byte offsets
+    return 'row %d of the golden columnar fixture' % row
+
+
+def price_value(row):
+    # Unscaled DECIMAL(9,2) value
+    return None if row % 5 == 0 else row * 101 - 5000
+
+
+def flag_value(row):
+    return row % 2 == 0
+
+
+def created_value(row):
+    return BASE_TIMESTAMP + row * 1000000
+
+
+# Common encoders
+
+def varint(n):
+    out = bytearray()
+    while True:
+        b = n & 0x7f
+        n >>= 7
+        if n:
+            out.append(b | 0x80)
+        else:
+            out.append(b)
+            return bytes(out)
+
+
+def zigzag(n):
+    return (n << 1) ^ (n >> 63)
+
+
+def pad(data, alignment=8):
+    return data + b'\0' * (-len(data) % alignment)
+
+
+def snappy(data):
+    """Snappy block format: literals plus 1- and 2-byte offset copies"""
+    out = bytearray(varint(len(data)))
+    literal_start = 0
+    i = 0
+
+    def flush_literal(end):
+        n = end - literal_start
+        if n == 0:
+            return
+        if n <= 60:
+            out.append((n - 1) << 2)
+        elif n <= 0x100:
+            out.append(60 << 2)
+            out.append(n - 1)
+        else:
+            out.append(61 << 2)
+            out.extend(struct.pack('<H', n - 1))
+        out.extend(data[literal_start:end])
+
+    while i < len(data):
+        best_length, best_offset = 0, 0
+        for offset in range(1, min(i, 2047) + 1):
+            length = 0
+            while i + length < len(data) and length < 64 and data[i + length] == data[i + length - offset]:
+                length += 1
+            if length > best_length:
+                best_length, best_offset = length, offset
+        if best_length < 4 or i - literal_start >= 0x10000:
+            if i - literal_start >= 0x10000:
+                flush_literal(i)
+                literal_start = i
+            i += 1
+            continue
+        flush_literal(i)
+        if best_length <= 11:
+            out.append(((best_offset >> 8) << 5) | ((best_length - 4) << 2) | 1)
+            out.append(best_offset & 0xff)
+        else:
+            out.append(((best_length - 1) << 2) | 2)
+            out.extend(struct.pack('<H', best_offset))
+        i += best_length
+        literal_start = i
+    flush_literal(len(data))
+    return bytes(out)
+
+
+def rle_bit_packed(values, bit_width):
+    """RLE/bit-packing hybrid: a repeated run for the leading equal values, then bit-packed groups"""
+    out = bytearray()
+    run = 1
+    while run < len(values) and values[run] == values[0]:
+        run += 1
+    if run >= 8:
+        out += varint(run << 1)
+        out += values[0].to_bytes((bit_width + 7) // 8, 'little')
+        values = values[run:]
+    if values:
+        groups = (len(values) + 7) // 8
+        out += varint((groups << 1) | 1)
+        bits, count = 0, 0
+        for i in range(groups * 8):
+            bits |= (values[i] if i < len(values) else 0) << count
+            count += bit_width
+            while count >= 8:
+                out.append(bits & 0xff)
+                bits >>= 8
+                count -= 8
+    return bytes(out)
+
+
+# Parquet
+
+class Thrift:
+    """Thrift compact protocol writer"""
+
+    def __init__(self):
+        self.out = bytearray()
+        self.stack = []
+        self.last = 0
+
+    def field(self, field_id, field_type):
+        delta = field_id - self.last
+        if 0 < delta <= 15:
+            self.out.append((delta << 4) | field_type)
+        else:
+            self.out.append(field_type)
+            self.out += varint(zigzag(field_id))
+        self.last = field_id
+
+    def begin(self, field_id=None):
+        if field_id is not None:
+            self.field(field_id, 12)
+        self.stack.append(self.last)
+        self.last = 0
+        return self
+
+    def end(self):
+        self.out.append(0)
+        self.last = self.stack.pop()
+        return self
+
+    def i32(self, field_id, value):
+        self.field(field_id, 5)
+        self.out += varint(zigzag(value))
+        return self
+
+    def i64(self, field_id, value):
+        self.field(field_id, 6)
+        self.out += varint(zigzag(value))
+        return self
+
+    def bool(self, field_id, value):
+        self.field(field_id, 1 if value else 2)
+        return self
+
+    def string(self, field_id, value):
+        self.field(field_id, 8)
+        value = value.encode()
+        self.out += varint(len(value)) + value
+        return self
+
+    def list(self, field_id, element_type, size):
+        self.field(field_id, 9)
+        self.out.append((size << 4) | element_type if size < 15 else 0xf0 | element_type)
+        if size >= 15:
+            self.out += varint(size)
+        return self
+
+    def i32_list(self, field_id, values):
+        self.list(field_id, 5, len(values))
+        for value in values:
+            self.out += varint(zigzag(value))
+        return self
+
+    def string_list(self, field_id, values):
+        self.list(field_id, 8, len(values))
+        for value in values:
+            value = value.encode()
+            self.out += varint(len(value)) + value
+        return self
+
+
+PARQUET_INT64, PARQUET_BYTE_ARRAY = 2, 6
+ENCODING_PLAIN, ENCODING_RLE, ENCODING_RLE_DICTIONARY = 0, 3, 8
+PAGE_DATA, PAGE_DICTIONARY, PAGE_DATA_V2 = 0, 2, 3
+CODEC_SNAPPY = 1
+
+
+def page_header(page_type, uncompressed_size, compressed_size):
+    return Thrift().begin().i32(1, page_type).i32(2, uncompressed_size).i32(3, compressed_size)
+
+
+def data_page(values, num_values, encoding, levels, num_nulls, v2):
+    if v2:
+        # Levels are not compressed in data pages v2 and have no length prefix
+        compressed = snappy(values)
+        header = page_header(PAGE_DATA_V2, len(levels) + len(values), len(levels) + len(compressed))
+        header.begin(8).i32(1, num_values).i32(2, num_nulls).i32(3, num_values).i32(4, encoding) \
+            .i32(5, len(levels)).i32(6, 0).bool(7, True).end()
+        return bytes(header.end().out) + levels + compressed
+    body = (struct.pack('<i', len(levels)) + levels if levels else b'') + values
+    compressed = snappy(body)
+    header = page_header(PAGE_DATA, len(body), len(compressed))
+    header.begin(5).i32(1, num_values).i32(2, encoding).i32(3, ENCODING_RLE).i32(4, ENCODING_RLE).end()
+    return bytes(header.end().out) + compressed
+
+
+def dictionary_page(values, num_values):
+    compressed = snappy(values)
+    header = page_header(PAGE_DICTIONARY, len(values), len(compressed))
+    header.begin(7).i32(1, num_values).i32(2, ENCODING_PLAIN).bool(3, False).end()
+    return bytes(header.end().out) + compressed
+
+
+def write_parquet_stdlib(path, v2):
+    out = bytearray(b'PAR1')
+    row_groups = []
+    for first in range(0, ROWS, ROW_GROUP_SIZE):
+        rows = range(first, min(first + ROW_GROUP_SIZE, ROWS))
+        chunks = []
+
+        # Required INT64, PLAIN
+        offset = len(out)
+        values = b''.join(struct.pack('<q', id_value(row)) for row in rows)
+        out += data_page(values, len(rows), ENCODING_PLAIN, b'', 0, v2)
+        chunks.append(('id', PARQUET_INT64, offset, None, offset, len(out) - offset, [ENCODING_PLAIN]))
+
+        # Required BYTE_ARRAY, PLAIN
+        offset = len(out)
+        values = b''.join(struct.pack('<i', len(note_value(row))) + note_value(row).encode() for row in rows)
+        out += data_page(values, len(rows), ENCODING_PLAIN, b'', 0, v2)
+        chunks.append(('note', PARQUET_BYTE_ARRAY, offset, None, offset, len(out) - offset, [ENCODING_PLAIN]))
+
+        # Optional BYTE_ARRAY, dictionary encoded
+        dictionary_offset = len(out)
+        dictionary = b''.join(struct.pack('<i', len(w)) + w.encode() for w in WORDS)
+        out += dictionary_page(dictionary, len(WORDS))
+        offset = len(out)
+        words = [word_value(row) for row in rows]
+        levels = rle_bit_packed([0 if w is None else 1 for w in words], 1)
+        indexes = bytes([2]) + rle_bit_packed([WORDS.index(w) for w in words if w is not None], 2)
+        out += data_page(indexes, len(rows), ENCODING_RLE_DICTIONARY, levels, words.count(None), v2)
+        chunks.append(('word', PARQUET_BYTE_ARRAY, offset, dictionary_offset, dictionary_offset,
+                       len(out) - dictionary_offset, [ENCODING_PLAIN, ENCODING_RLE, ENCODING_RLE_DICTIONARY]))
+        row_groups.append((len(rows), chunks))
+
+    meta = Thrift().begin().i32(1, 2 if v2 else 1)
+    meta.list(2, 12, 4)
+    meta.begin().string(4, 'schema').i32(5, 3).end()
+    meta.begin().i32(1, PARQUET_INT64).i32(3, 0).string(4, 'id').end()
+    meta.begin().i32(1, PARQUET_BYTE_ARRAY).i32(3, 0).string(4, 'note').i32(6, 0) \
+        .begin(10).begin(1).end().end().end()
+    meta.begin().i32(1, PARQUET_BYTE_ARRAY).i32(3, 1).string(4, 'word').i32(6, 0) \
+        .begin(10).begin(1).end().end().end()
+    meta.i64(3, ROWS)
+    meta.list(4, 12, len(row_groups))
+    for row_count, chunks in row_groups:
+        meta.begin().list(1, 12, len(chunks))
+        total_size = 0
+        for name, physical_type, data_offset, dictionary_offset, chunk_offset, size, encodings in chunks:
+            meta.begin().i64(2, chunk_offset).begin(3)
+            meta.i32(1, physical_type).i32_list(2, encodings).string_list(3, [name]).i32(4, CODEC_SNAPPY)
+            meta.i64(5, row_count).i64(6, size).i64(7, size).i64(9, data_offset)
+            if dictionary_offset is not None:
+                meta.i64(11, dictionary_offset)
+            meta.end().end()
+            total_size += size
+        meta.i64(2, total_size).i64(3, row_count).end()
+    meta.string(6, 'generate_columnar_fixtures.py')
+    meta.end()
+    out += meta.out + struct.pack('<i', len(meta.out)) + b'PAR1'
+    with open(path, 'wb') as f:
+        f.write(out)
+
+
+# Arrow IPC
+
+class Table:
+    def __init__(self, *fields):
+        # (field index, struct format or None for offsets, value)
+        self.fields = [f for f in fields if f[2] is not None]
+
+
+class String:
+    def __init__(self, value):
+        self.value = value.encode()
+
+
+class TableVector:
+    def __init__(self, tables):
+        self.tables = tables
+
+
+class StructVector:
+    def __init__(self, fmt, structs):
+        self.fmt = fmt
+        self.structs = structs
+
+
+class FlatBuffer:
+    """FlatBuffers writer. Objects are written front to back, so all offsets point forward."""
+
+    def __init__(self, root):
+        self.out = bytearray(4)
+        struct.pack_into('<I', self.out, 0, self.write(root))
+
+    def align(self, alignment, extra=0):
+        self.out += b'\0' * (-(len(self.out) + extra) % alignment)
+
+    def write(self, obj):
+        children = []
+        if isinstance(obj, String):
+            self.align(4)
+            position = len(self.out)
+            self.out += struct.pack('<I', len(obj.value)) + obj.value + b'\0'
+        elif isinstance(obj, StructVector):
+            self.align(8, 4)
+            position = len(self.out)
+            self.out += struct.pack('<I', len(obj.structs))
+            for s in obj.structs:
+                self.out += struct.pack(obj.fmt, *s)
+        elif isinstance(obj, TableVector):
+            self.align(4)
+            position = len(self.out)
+            self.out += struct.pack('<I', len(obj.tables))
+            for table in obj.tables:
+                children.append((len(self.out), table))
+                self.out += b'\0' * 4
+        else:
+            # Table layout: vtable, soffset to vtable, fields
+            layout = []
+            size = 4
+            for index, fmt, value in obj.fields:
+                fmt = fmt or '<I'
+                field_size = struct.calcsize(fmt)
+                size += -size % field_size
+                layout.append((index, fmt, value, size))
+                size += field_size
+            slots = max([f[0] for f in obj.fields], default=-1) + 1
+            vtable = [0] * slots
+            for index, fmt, value, offset in layout:
+                vtable[index] = offset
+            self.align(2)
+            vtable_position = len(self.out)
+            self.out += struct.pack('<HH', 4 + slots * 2, size) + struct.pack('<%dH' % slots, *vtable)
+            self.align(8)
+            position = len(self.out)
+            self.out += struct.pack('<i', position - vtable_position) + b'\0' * (size - 4)
+            for index, fmt, value, offset in layout:
+                if isinstance(value, (Table, String, TableVector, StructVector)):
+                    children.append((position + offset, value))
+                else:
+                    struct.pack_into(fmt, self.out, position + offset, value)
+        for slot, child in children:
+            struct.pack_into('<I', self.out, slot, self.write(child) - slot)
+        return position
+
+
+ARROW_MAGIC = b'ARROW1'
+ARROW_VERSION_V5 = 4
+HEADER_SCHEMA, HEADER_RECORD_BATCH = 1, 3
+TYPE_INT, TYPE_UTF8, TYPE_BOOL, TYPE_DECIMAL, TYPE_TIMESTAMP = 2, 5, 6, 7, 10
+TIME_UNIT_MICROSECOND = 2
+
+
+def arrow_schema():
+    def field(name, nullable, type_type, type_table):
+        return Table((0, None, String(name)), (1, '<B', int(nullable)), (2, '<B', type_type),
+                     (3, None, type_table), (5, None, TableVector([])))
+
+    return Table((0, '<h', 0), (1, None, TableVector([
+        field('id', False, TYPE_INT, Table((0, '<i', 64), (1, '<B', 1))),
+        field('word', True, TYPE_UTF8, Table()),
+        field('price', True, TYPE_DECIMAL, Table((0, '<i', 9), (1, '<i', 2), (2, '<i', 128))),
+        field('flag', True, TYPE_BOOL, Table()),
+        field('created', True, TYPE_TIMESTAMP, Table((0, '<h', TIME_UNIT_MICROSECOND))),
+    ])))
+
+
+def arrow_message(header_type, header, body_length):
+    metadata = FlatBuffer(Table((0, '<h', ARROW_VERSION_V5), (1, '<B', header_type), (2, None, header),
+                                (3, '<q', body_length))).out
+    # Continuation marker and length prefix take 8 bytes, so padded metadata keeps the body aligned
+    metadata = pad(metadata)
+    return struct.pack('<Ii', 0xFFFFFFFF, len(metadata)) + metadata
+
+
+def bitmap(bits):
+    out = bytearray((len(bits) + 7) // 8)
+    for i, bit in enumerate(bits):
+        if bit:
+            out[i >> 3] |= 1 << (i & 7)
+    return bytes(out)
+
+
+def arrow_record_batch(rows):
+    body = bytearray()
+    buffers = []
+    nodes = []
+
+    def add_buffer(data):
+        buffers.append((len(body), len(data)))
+        body.extend(pad(data))
+
+    def add_column(values, encode):
+        nulls = values.count(None)
+        nodes.append((len(values), nulls))
+        add_buffer(bitmap([v is not None for v in values]) if nulls else b'')
+        encode(values)
+
+    def fixed(fmt, default):
+        return lambda values: add_buffer(b''.join(struct.pack(fmt, default if v is None else v) for v in values))
+
+    def utf8(values):
+        offsets, data = [0], bytearray()
+        for v in values:
+            data += (v or '').encode()
+            offsets.append(len(data))
+        add_buffer(struct.pack('<%di' % len(offsets), *offsets))
+        add_buffer(bytes(data))
+
+    def decimal(values):
+        add_buffer(b''.join((v or 0).to_bytes(16, 'little', signed=True) for v in values))
+
+    add_column([id_value(row) for row in rows], fixed('<q', 0))
+    add_column([word_value(row) for row in rows], utf8)
+    add_column([price_value(row) for row in rows], decimal)
+    add_column([flag_value(row) for row in rows], lambda values: add_buffer(bitmap(values)))
+    add_column([created_value(row) for row in rows], fixed('<q', 0))
+
+    batch = Table((0, '<q', len(rows)), (1, None, StructVector('<qq', nodes)),
+                  (2, None, StructVector('<qq', buffers)))
+    return arrow_message(HEADER_RECORD_BATCH, batch, len(body)), bytes(body)
+
+
+def write_arrow_stdlib(path, file_format):
+    out = bytearray(pad(ARROW_MAGIC) if file_format else b'')
+    schema = arrow_schema()
+    out += arrow_message(HEADER_SCHEMA, schema, 0)
+    blocks = []
+    for first in range(0, ROWS, ROW_GROUP_SIZE):
+        metadata, body = arrow_record_batch(range(first, min(first + ROW_GROUP_SIZE, ROWS)))
+        blocks.append((len(out), len(metadata), 0, len(body)))
+        out += metadata + body
+    # End of stream
+    out += struct.pack('<Ii', 0xFFFFFFFF, 0)
+    if file_format:
+        footer = FlatBuffer(Table((0, '<h', ARROW_VERSION_V5), (1, None, schema),
+                                  (2, None, StructVector('<qiiq', [])),
+                                  (3, None, StructVector('<qiiq', blocks)))).out
+        out += footer + struct.pack('<i', len(footer)) + ARROW_MAGIC
+    with open(path, 'wb') as f:
+        f.write(out)
+
+
+# pyarrow
+
+def write_pyarrow(output):
+    import decimal
+    import pyarrow as pa
+    import pyarrow.parquet as pq
+
+    rows = range(ROWS)
+    parquet_table = pa.table({
+        'id': pa.array([id_value(row) for row in rows], pa.int64()),
+        'note': pa.array([note_value(row) for row in rows], pa.string()),
+        'word': pa.array([word_value(row) for row in rows], pa.string()),
+    }, schema=pa.schema([pa.field('id', pa.int64(), False), pa.field('note', pa.string(), False),
+                         pa.field('word', pa.string())]))
+    for name, version in (('snappy_dictionary.parquet', '1.0'), ('data_page_v2.parquet', '2.0')):
+        pq.write_table(parquet_table, os.path.join(output, name), row_group_size=ROW_GROUP_SIZE,
+                       compression='snappy', use_dictionary=['word'], data_page_version=version)
+
+    prices = [price_value(row) for row in rows]
+    arrow_table = pa.table({
+        'id': pa.array([id_value(row) for row in rows], pa.int64()),
+        'word': pa.array([word_value(row) for row in rows], pa.string()),
+        'price': pa.array([None if p is None else decimal.Decimal(p).scaleb(-2) for p in prices],
+                          pa.decimal128(9, 2)),
+        'flag': pa.array([flag_value(row) for row in rows], pa.bool_()),
+        'created': pa.array([created_value(row) for row in rows], pa.timestamp('us')),
+    }, schema=pa.schema([pa.field('id', pa.int64(), False), pa.field('word', pa.string()),
+                         pa.field('price', pa.decimal128(9, 2)), pa.field('flag', pa.bool_()),
+                         pa.field('created', pa.timestamp('us'))]))
+    batches = arrow_table.to_batches(max_chunksize=ROW_GROUP_SIZE)
+    for name, new_writer in (('stream.arrows', pa.ipc.new_stream), ('file.arrow', pa.ipc.new_file)):
+        with pa.OSFile(os.path.join(output, name), 'wb') as sink, new_writer(sink, arrow_table.schema) as writer:
+            for batch in batches:
+                writer.write_batch(batch)
+
+
+def main(args):
+    mode = None
+    if args and args[0] in ('--pyarrow', '--stdlib'):
+        mode = args.pop(0)
+    output = args[0] if args else DEFAULT_OUTPUT
+    os.makedirs(output, exist_ok=True)
+    if mode is None:
+        try:
+            import pyarrow  # noqa: F401
+            mode = '--pyarrow'
+        except ImportError:
+            mode = '--stdlib'
+    if mode == '--pyarrow':
+        write_pyarrow(output)
+    else:
+        write_parquet_stdlib(os.path.join(output, 'snappy_dictionary.parquet'), False)
+        write_parquet_stdlib(os.path.join(output, 'data_page_v2.parquet'), True)
+        write_arrow_stdlib(os.path.join(output, 'stream.arrows'), False)
+        write_arrow_stdlib(os.path.join(output, 'file.arrow'), True)
+    print('Fixtures written to ' + os.path.abspath(output) + ' (' + mode[2:] + ')')
+
+
+if __name__ == '__main__':
+    main(sys.argv[1:])
@@ -0,0 +1,191 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.dbeaver.model.admin.locks.DBAServerLock;
+import org.jkiss.dbeaver.model.admin.locks.DBAServerLockManager;
+import org.jkiss.dbeaver.model.meta.Property;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public class DBAServerSessionSamplerTest {
+
+    @Test
+    public void sampleDelta() {
+        DBAServerSessionSampler<TestSession> sampler = createSampler(10, 60_000);
+
+        DBAServerSessionDelta<TestSession> delta = sampler.addSample(1000, Arrays.asList(
+            new TestSession(1, "select 1"),
+            new TestSession(2, null)));
+        Assert.assertEquals(2, delta.getAddedSessions().size());
+        Assert.assertTrue(delta.getChangedSessions().isEmpty());
+
+        delta = sampler.addSample(2000, Arrays.asList(
+            new TestSession(1, "select 1"),
+            new TestSession(2, "select 2"),
+            new TestSession(3, null)));
+        Assert.assertEquals(Collections.singletonList(new TestSession(3, null)), delta.getAddedSessions());
+        Assert.assertEquals(1, delta.getChangedSessions().size());
+        Assert.assertEquals("select 2", delta.getChangedSessions().get(0).getActiveQuery());
+        Assert.assertTrue(delta.getRemovedSessions().isEmpty());
+
+        delta = sampler.addSample(3000, Collections.singletonList(new TestSession(3, null)));
+        Assert.assertEquals(2, delta.getRemovedSessions().size());
+        Assert.assertEquals(1, sampler.getSessions().size());
+
+        delta = sampler.addSample(4000, Collections.singletonList(new TestSession(3, null)));
+        Assert.assertTrue(delta.isEmpty());
+    }
+
+    @Test
+    public void sampleHistory() {
+        DBAServerSessionSampler<TestSession> sampler = createSampler(2, 10_000);
+        sampler.addSample(1000, Collections.singletonList(new TestSession(1, "q1")));
+        sampler.addSample(2000, Collections.singletonList(new TestSession(1, "q1")));
+        sampler.addSample(3000, Collections.singletonList(new TestSession(1, "q2")));
+
+        List<DBAServerSessionSample<TestSession>> history = sampler.getSessionHistory(new TestSession(1, null));
+        Assert.assertEquals(2, history.size());
+        Assert.assertEquals(1000, history.get(0).getStartTime());
+        Assert.assertEquals(2000, history.get(0).getEndTime());
+        Assert.assertEquals("q1", sampler.getSessionsAt(1500).get(0).getActiveQuery());
+        Assert.assertEquals("q2", sampler.getSessionsAt(3000).get(0).getActiveQuery());
+
+        // History size is limited
+        sampler.addSample(4000, Collections.singletonList(new TestSession(1, "q3")));
+        Assert.assertTrue(sampler.getSessionsAt(1500).isEmpty());
+
+        // Gone sessions are kept until history expiration
+        sampler.addSample(5000, Collections.emptyList());
+        Assert.assertEquals(1, sampler.getSessionsAt(4000).size());
+        sampler.addSample(20000, Collections.emptyList());
+        Assert.assertTrue(sampler.getSessionHistory(new TestSession(1, null)).isEmpty());
+    }
+
+    @Test
+    public void sampleLocksById() {
+        @SuppressWarnings("unchecked")
+        DBAServerSessionSampler<TestLock> sampler = DBAServerSessionSampler.forLocks(Mockito.mock(DBAServerLockManager.class));
+
+        DBAServerSessionDelta<TestLock> delta = sampler.addSample(1000, Arrays.asList(new TestLock(1, 2), new TestLock(2, 2)));
+        Assert.assertEquals(2, delta.getAddedSessions().size());
+
+        // Locks are read as new objects each time, they are matched by id
+        delta = sampler.addSample(2000, Arrays.asList(new TestLock(1, 2), new TestLock(2, 2)));
+        Assert.assertTrue(delta.isEmpty());
+
+        delta = sampler.addSample(3000, Collections.singletonList(new TestLock(2, 2)));
+        Assert.assertEquals(1, delta.getRemovedSessions().size());
+        Assert.assertEquals(1, delta.getRemovedSessions().get(0).getId());
+
+        // What was blocking in the past
+        List<TestLock> pastLocks = sampler.getSessionsAt(1500);
+        Assert.assertEquals(2, pastLocks.size());
+        Assert.assertEquals(2, pastLocks.get(0).getHoldID());
+        Assert.assertEquals(1, sampler.getSessionsAt(3000).size());
+    }
+
+    private static DBAServerSessionSampler<TestSession> createSampler(int historySize, long historyDuration) {
+        return new DBAServerSessionSampler<>(
+            (session, options) -> Collections.emptyList(),
+            null,
+            historySize,
+            historyDuration);
+    }
+
+    public static class TestSession extends AbstractServerSession {
+        private final int pid;
+        private final String query;
+
+        TestSession(int pid, String query) {
+            this.pid = pid;
+            this.query = query;
+        }
+
+        @Property
+        public int getPid() {
+            return pid;
+        }
+
+        @Property
+        @Override
+        public String getActiveQuery() {
+            return query;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TestSession && ((TestSession) o).pid == pid;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pid);
+        }
+    }
+
+    public static class TestLock implements DBAServerLock {
+        private final int id;
+        private final int holdId;
+        private final List<DBAServerLock> waiting = new ArrayList<>();
+        private DBAServerLock holdBy;
+
+        TestLock(int id, int holdId) {
+            this.id = id;
+            this.holdId = holdId;
+        }
+
+        @Property
+        @Override
+        public String getTitle() {
+            return "Lock " + id;
+        }
+
+        @Override
+        public Object getId() {
+            return id;
+        }
+
+        @Override
+        public DBAServerLock getHoldBy() {
+            return holdBy;
+        }
+
+        @Override
+        public void setHoldBy(DBAServerLock lock) {
+            this.holdBy = lock;
+        }
+
+        @Property
+        @Override
+        public Object getHoldID() {
+            return holdId;
+        }
+
+        @Override
+        public List<DBAServerLock> waitThis() {
+            return waiting;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Timestamp;
+
+public class DBDRowBatchTest {
+
+    private final DBCSession session = Mockito.mock(DBCSession.class);
+    private final DBCResultSet resultSet = Mockito.mock(DBCResultSet.class);
+
+    private DBDAttributeBinding[] bindings;
+    private DBSAttributeBase[] attributes;
+    private DBDValueHandler valueHandler;
+
+    @Before
+    public void setUp() {
+        valueHandler = Mockito.mock(DBDValueHandler.class);
+        bindings = new DBDAttributeBinding[3];
+        attributes = new DBSAttributeBase[3];
+        for (int i = 0; i < bindings.length; i++) {
+            bindings[i] = Mockito.mock(DBDAttributeBinding.class);
+            Mockito.when(bindings[i].getOrdinalPosition()).thenReturn(i);
+            Mockito.when(bindings[i].getValueHandler()).thenReturn(valueHandler);
+            attributes[i] = Mockito.mock(DBSAttributeBase.class);
+        }
+    }
+
+    @Test
+    public void testDefaultReaderUsesValueHandler() throws DBCException {
+        Mockito.when(valueHandler.fetchValueObject(session, resultSet, attributes[1], 1)).thenReturn("value");
+        DBDRowBatch batch = new DBDRowBatch(bindings, attributes, 2);
+        Assert.assertEquals(DBDRowBatch.ColumnType.OBJECT, batch.getColumnType(1));
+
+        batch.readRow(session, resultSet);
+        Assert.assertEquals(1, batch.getRowCount());
+        Assert.assertEquals("value", batch.getValue(0, 1));
+        Assert.assertTrue(batch.isNull(0, 0));
+        Assert.assertNull(batch.getValue(0, 0));
+    }
+
+    @Test
+    public void testTypedValuesAreBoxedOnRead() {
+        DBDRowBatch batch = new DBDRowBatch(bindings, attributes, 2);
+        batch.setColumnReader(0, DBDRowBatch.ColumnType.LONG, (s, rs, b, row, column) -> b.setLong(row, column, 42));
+        batch.setColumnReader(1, DBDRowBatch.ColumnType.DOUBLE, (s, rs, b, row, column) -> b.setDouble(row, column, 1.5));
+        batch.setColumnReader(2, DBDRowBatch.ColumnType.TIMESTAMP, (s, rs, b, row, column) -> b.setTimestamp(row, column, 1000, 123456789));
+
+        batch.readRow(session, resultSet);
+        Assert.assertEquals(42L, batch.getLong(0, 0));
+        Assert.assertEquals(42L, batch.getValue(0, 0));
+        Assert.assertEquals(1.5, batch.getValue(0, 1));
+        Timestamp timestamp = (Timestamp) batch.getValue(0, 2);
+        Assert.assertNotNull(timestamp);
+        Assert.assertEquals(1000, timestamp.getTime());
+        Assert.assertEquals(123456789, timestamp.getNanos());
+    }
+
+    @Test
+    public void testObjectOverridesTypedValue() {
+        DBDRowBatch batch = new DBDRowBatch(bindings, attributes, 2);
+        batch.setColumnReader(0, DBDRowBatch.ColumnType.LONG, (s, rs, b, row, column) -> {
+            if (row == 0) {
+                b.setObject(row, column, "unexpected");
+            } else {
+                b.setLong(row, column, row);
+            }
+        });
+        batch.readRow(session, resultSet);
+        batch.readRow(session, resultSet);
+        Assert.assertEquals("unexpected", batch.getValue(0, 0));
+        Assert.assertEquals(1L, batch.getValue(1, 0));
+        Assert.assertTrue(batch.isFull());
+    }
+
+    @Test
+    public void testSkippedColumnIsNotRead() {
+        attributes[0] = null;
+        DBDRowBatch batch = new DBDRowBatch(bindings, attributes, 1);
+        batch.setColumnReader(0, DBDRowBatch.ColumnType.LONG, (s, rs, b, row, column) -> Assert.fail("Skipped column was read"));
+        batch.readRow(session, resultSet);
+        Assert.assertTrue(batch.isNull(0, 0));
+    }
+
+    @Test
+    public void testReadErrorIsKeptPerValue() {
+        int[] readCount = new int[1];
+        DBDRowBatch batch = new DBDRowBatch(bindings, attributes, 2);
+        batch.setColumnReader(0, DBDRowBatch.ColumnType.LONG, (s, rs, b, row, column) -> {
+            if (readCount[0]++ == 0) {
+                throw new DBCException("Broken value");
+            }
+            b.setLong(row, column, 7);
+        });
+        batch.readRow(session, resultSet);
+        batch.readRow(session, resultSet);
+
+        Assert.assertTrue(batch.isNull(0, 0));
+        Assert.assertEquals("Broken value", batch.getError(0, 0).getMessage());
+        Assert.assertNull(batch.getError(1, 0));
+        Assert.assertEquals(7L, batch.getValue(1, 0));
+
+        // Batch is reused, values of the previous rows are reset
+        batch.clear();
+        Assert.assertEquals(0, batch.getRowCount());
+        batch.readRow(session, resultSet);
+        Assert.assertNull(batch.getError(0, 0));
+        Assert.assertFalse(batch.isNull(0, 0));
+        Assert.assertEquals(7L, batch.getValue(0, 0));
+    }
+
+}
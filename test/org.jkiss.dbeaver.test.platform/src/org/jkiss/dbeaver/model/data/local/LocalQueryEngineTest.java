@@ -0,0 +1,169 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.local;
+
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.aggregate.FunctionCount;
+import org.jkiss.dbeaver.model.data.aggregate.FunctionSum;
+import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LocalQueryEngineTest {
+
+    private static final String[] COLUMNS = {"id", "name", "amount"};
+
+    private static List<Object[]> makeRows(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{i, "name" + (i % 10), i % 3 == 0 ? null : (long) (i % 100)});
+        }
+        return rows;
+    }
+
+    private static LocalQueryEngine<Object[]> makeEngine(List<Object[]> rows, boolean parallel) {
+        return new LocalQueryEngine<>(rows, constraint -> {
+            int index = Arrays.asList(COLUMNS).indexOf(constraint.getAttributeName());
+            return index < 0 ? null : row -> row[index];
+        }, parallel);
+    }
+
+    private static DBDDataFilter makeFilter(DBDAttributeConstraint... constraints) {
+        List<DBDAttributeConstraint> list = new ArrayList<>();
+        for (String column : COLUMNS) {
+            DBDAttributeConstraint constraint = null;
+            for (DBDAttributeConstraint c : constraints) {
+                if (c.getAttributeName().equals(column)) {
+                    constraint = c;
+                }
+            }
+            list.add(constraint != null ? constraint : new DBDAttributeConstraint(column, list.size()));
+        }
+        return new DBDDataFilter(list);
+    }
+
+    private static DBDAttributeConstraint condition(String column, DBCLogicalOperator operator, Object value) {
+        DBDAttributeConstraint constraint = new DBDAttributeConstraint(column, Arrays.asList(COLUMNS).indexOf(column));
+        constraint.setOperator(operator);
+        constraint.setValue(value);
+        return constraint;
+    }
+
+    private static DBDAttributeConstraint order(String column, int position, boolean descending) {
+        DBDAttributeConstraint constraint = new DBDAttributeConstraint(column, Arrays.asList(COLUMNS).indexOf(column));
+        constraint.setOrderPosition(position);
+        constraint.setOrderDescending(descending);
+        return constraint;
+    }
+
+    @Test
+    public void testFilterConditions() throws Exception {
+        List<Object[]> rows = makeRows(1000);
+        LocalQueryEngine<Object[]> engine = makeEngine(rows, false);
+
+        List<Object[]> result = engine.select(makeFilter(condition("name", DBCLogicalOperator.EQUALS, "name5")));
+        Assert.assertEquals(100, result.size());
+
+        result = engine.select(makeFilter(
+            condition("name", DBCLogicalOperator.EQUALS, "name5"),
+            condition("amount", DBCLogicalOperator.GREATER, 50)));
+        for (Object[] row : result) {
+            Assert.assertEquals("name5", row[1]);
+            Assert.assertTrue((Long) row[2] > 50);
+        }
+        Assert.assertEquals(34, result.size());
+
+        // NULLs never match negated comparisons
+        DBDAttributeConstraint notEquals = condition("amount", DBCLogicalOperator.EQUALS, 1L);
+        notEquals.setReverseOperator(true);
+        Assert.assertEquals(1000 - 334 - 7, engine.select(makeFilter(notEquals)).size());
+
+        Assert.assertEquals(334, engine.select(makeFilter(condition("amount", DBCLogicalOperator.IS_NULL, null))).size());
+        // Numbers of different types are compared by value
+        Assert.assertEquals(3, engine.select(makeFilter(condition("id", DBCLogicalOperator.IN, new Object[]{1L, 2, 3}))).size());
+        Assert.assertEquals(100, engine.select(makeFilter(condition("name", DBCLogicalOperator.LIKE, "name1%"))).size());
+    }
+
+    @Test
+    public void testAnyConstraint() throws Exception {
+        List<Object[]> rows = makeRows(100);
+        DBDDataFilter filter = makeFilter(
+            condition("id", DBCLogicalOperator.LESS, 10),
+            condition("name", DBCLogicalOperator.EQUALS, "name0"));
+        filter.setAnyConstraint(true);
+        List<Object[]> result = makeEngine(rows, false).select(filter);
+        // 0..9 and 10, 20, ..., 90
+        Assert.assertEquals(19, result.size());
+        Assert.assertEquals(0, result.get(0)[0]);
+        Assert.assertEquals(90, result.get(18)[0]);
+    }
+
+    @Test
+    public void testParallelSortIsStable() throws Exception {
+        List<Object[]> rows = makeRows(LocalQueryEngine.PARALLEL_THRESHOLD * 2);
+        DBDDataFilter filter = makeFilter(order("name", 1, true));
+        List<Object[]> parallel = makeEngine(rows, true).select(filter);
+        List<Object[]> serial = makeEngine(rows, false).select(filter);
+        Assert.assertEquals(rows.size(), parallel.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            Assert.assertSame(serial.get(i), parallel.get(i));
+        }
+        Assert.assertEquals("name9", parallel.get(0)[1]);
+        // Equal keys keep original order
+        Assert.assertEquals(9, parallel.get(0)[0]);
+        Assert.assertEquals(19, parallel.get(1)[0]);
+    }
+
+    @Test
+    public void testParallelGrouping() throws Exception {
+        List<Object[]> rows = makeRows(LocalQueryEngine.PARALLEL_THRESHOLD * 2);
+        List<LocalQueryEngine.ValueReader<Object[]>> keys = List.of(row -> row[1]);
+        List<LocalQueryEngine.Aggregate<Object[]>> aggregates = List.of(
+            new LocalQueryEngine.Aggregate<>(FunctionCount::new, null),
+            new LocalQueryEngine.Aggregate<>(FunctionCount::new, row -> row[2]),
+            new LocalQueryEngine.Aggregate<>(FunctionSum::new, row -> row[2]));
+
+        List<Object[]> parallel = makeEngine(rows, true).group(keys, aggregates);
+        List<Object[]> serial = makeEngine(rows, false).group(keys, aggregates);
+        Assert.assertEquals(10, parallel.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            Assert.assertArrayEquals(serial.get(i), parallel.get(i));
+        }
+        // Groups are ordered by their first rows
+        Assert.assertEquals("name0", parallel.get(0)[0]);
+        Assert.assertEquals(rows.size() / 10, parallel.get(0)[1]);
+        // NULL values are not counted
+        long nonNullCount = rows.stream().filter(row -> "name0".equals(row[1]) && row[2] != null).count();
+        Assert.assertEquals((int) nonNullCount, parallel.get(0)[2]);
+    }
+
+    @Test
+    public void testUnsupportedFilter() {
+        DBDDataFilter filter = makeFilter();
+        Assert.assertTrue(LocalQueryEngine.isSupported(filter));
+        filter.setWhere("id > 10");
+        Assert.assertFalse(LocalQueryEngine.isSupported(filter));
+        filter = makeFilter(condition("id", DBCLogicalOperator.BETWEEN, 1));
+        Assert.assertFalse(LocalQueryEngine.isSupported(filter));
+    }
+
+}
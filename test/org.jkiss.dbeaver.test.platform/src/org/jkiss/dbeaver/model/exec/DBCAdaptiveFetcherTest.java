@@ -0,0 +1,158 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDRowBatch;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.sql.Types;
+import java.util.Collections;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DBCAdaptiveFetcherTest {
+
+    @Mock
+    private DBCStatement statement;
+    @Mock
+    private DBCSession session;
+    @Mock
+    private DBPDataSource dataSource;
+    @Mock
+    private DBPDataSourceContainer dataSourceContainer;
+    @Mock
+    private DBPPreferenceStore preferenceStore;
+    @Mock
+    private DBCResultSet resultSet;
+    @Mock
+    private DBCResultSetMetaData resultSetMeta;
+    @Mock
+    private DBCAttributeMetaData attributeMeta;
+
+    @Before
+    public void setUp() throws DBCException {
+        Mockito.when(statement.getSession()).thenReturn(session);
+        Mockito.when(session.getDataSource()).thenReturn(dataSource);
+        Mockito.when(dataSource.getContainer()).thenReturn(dataSourceContainer);
+        Mockito.when(dataSourceContainer.getPreferenceStore()).thenReturn(preferenceStore);
+        Mockito.when(preferenceStore.getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE)).thenReturn(true);
+        Mockito.when(preferenceStore.getBoolean(ModelPreferences.RESULT_SET_ADAPTIVE_FETCH_SIZE)).thenReturn(true);
+
+        Mockito.when(attributeMeta.getDataKind()).thenReturn(DBPDataKind.STRING);
+        Mockito.when(attributeMeta.getTypeID()).thenReturn(Types.VARCHAR);
+        Mockito.when(attributeMeta.getMaxLength()).thenReturn(100L);
+        Mockito.when(resultSetMeta.getAttributes()).thenAnswer(invocation -> Collections.singletonList(attributeMeta));
+        Mockito.when(resultSet.getMeta()).thenReturn(resultSetMeta);
+        Mockito.when(resultSet.nextRow()).thenReturn(true);
+    }
+
+    @Test
+    public void testExplicitFetchSizeIsNotAdaptive() throws DBCException {
+        DBCAdaptiveFetcher fetcher = DBCAdaptiveFetcher.prepare(statement, -1, -1, 500);
+        Assert.assertEquals(500, fetcher.getFetchSize());
+        Mockito.verify(statement).setResultsFetchSize(500);
+
+        for (int i = 0; i < 2000; i++) {
+            Assert.assertTrue(fetcher.nextRow(resultSet));
+        }
+        Mockito.verify(resultSet, Mockito.never()).setResultsFetchSize(Mockito.anyInt());
+    }
+
+    @Test
+    public void testDefaultFetchSizeIsAdaptive() throws DBCException {
+        DBCAdaptiveFetcher fetcher = DBCAdaptiveFetcher.prepare(statement, -1, -1, 0);
+        Assert.assertEquals(DBCAdaptiveFetcher.INITIAL_FETCH_SIZE, fetcher.getFetchSize());
+        Mockito.verify(statement).setResultsFetchSize(DBCAdaptiveFetcher.INITIAL_FETCH_SIZE);
+    }
+
+    @Test
+    public void testAdaptiveFetchDoesNotNeedStaticFetchSize() throws DBCException {
+        Mockito.when(preferenceStore.getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE)).thenReturn(false);
+        Assert.assertTrue(DBCAdaptiveFetcher.isAdaptive(statement, 0));
+        Assert.assertFalse(DBCAdaptiveFetcher.isAdaptive(statement, 1000));
+
+        DBCAdaptiveFetcher fetcher = DBCAdaptiveFetcher.prepare(statement, -1, -1, 0);
+        Assert.assertEquals(DBCAdaptiveFetcher.INITIAL_FETCH_SIZE, fetcher.getFetchSize());
+        Mockito.verify(statement).setResultsFetchSize(DBCAdaptiveFetcher.INITIAL_FETCH_SIZE);
+    }
+
+    @Test
+    public void testAdaptiveFetchDisabled() throws DBCException {
+        Mockito.when(preferenceStore.getBoolean(ModelPreferences.RESULT_SET_ADAPTIVE_FETCH_SIZE)).thenReturn(false);
+        DBCAdaptiveFetcher fetcher = DBCAdaptiveFetcher.prepare(statement, -1, -1, 0);
+        Assert.assertEquals(0, fetcher.getFetchSize());
+        Mockito.verify(statement, Mockito.never()).setResultsFetchSize(DBCAdaptiveFetcher.INITIAL_FETCH_SIZE);
+    }
+
+    @Test
+    public void testResultSetIsNotReadByFetcher() throws DBCException {
+        DBCAdaptiveFetcher fetcher = DBCAdaptiveFetcher.prepare(statement, -1, -1, 0);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(fetcher.nextRow(resultSet));
+        }
+        Mockito.verify(resultSet, Mockito.never()).getAttributeValue(Mockito.anyInt());
+        Mockito.verify(resultSet, Mockito.never()).getAttributeValue(Mockito.anyString());
+    }
+
+    @Test
+    public void testWideRowsReduceFetchSize() throws DBCException {
+        DBCAdaptiveFetcher fetcher = DBCAdaptiveFetcher.prepare(statement, -1, -1, 0);
+        DBDRowBatch batch = createBatch();
+        // 2Mb per row
+        batch.setObject(0, 0, new String(new char[1024 * 1024]));
+        for (int i = 0; i < DBCAdaptiveFetcher.INITIAL_FETCH_SIZE; i++) {
+            Assert.assertTrue(fetcher.nextRow(resultSet));
+            fetcher.sampleRow(batch, 0);
+        }
+        Mockito.verify(resultSet).setResultsFetchSize(DBCAdaptiveFetcher.MIN_FETCH_SIZE);
+        Assert.assertEquals(DBCAdaptiveFetcher.MIN_FETCH_SIZE, fetcher.getFetchSize());
+    }
+
+    @Test
+    public void testNarrowRowsKeepFetchSizeOnFastNetwork() throws DBCException {
+        DBCAdaptiveFetcher fetcher = DBCAdaptiveFetcher.prepare(statement, -1, -1, 0);
+        DBDRowBatch batch = createBatch();
+        batch.setObject(0, 0, "x");
+        for (int i = 0; i < DBCAdaptiveFetcher.INITIAL_FETCH_SIZE * 3; i++) {
+            Assert.assertTrue(fetcher.nextRow(resultSet));
+            fetcher.sampleRow(batch, 0);
+        }
+        // Round trips are fast, bigger batches won't help
+        Mockito.verify(resultSet, Mockito.never()).setResultsFetchSize(Mockito.anyInt());
+        Assert.assertEquals(DBCAdaptiveFetcher.INITIAL_FETCH_SIZE, fetcher.getFetchSize());
+    }
+
+    private static DBDRowBatch createBatch() {
+        return new DBDRowBatch(
+            new DBDAttributeBinding[] { Mockito.mock(DBDAttributeBinding.class) },
+            new DBSAttributeBase[] { Mockito.mock(DBSAttributeBase.class) },
+            DBDRowBatch.DEFAULT_BATCH_SIZE);
+    }
+
+}
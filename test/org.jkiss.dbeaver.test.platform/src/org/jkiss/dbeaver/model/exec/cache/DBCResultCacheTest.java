@@ -0,0 +1,152 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec.cache;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class DBCResultCacheTest {
+
+    private static final String DATA_SOURCE_ID = "test-ds";
+
+    private static List<Object[]> makeRows(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{(long) i, "name" + i, i % 2 == 0 ? null : new byte[]{(byte) i}});
+        }
+        return rows;
+    }
+
+    private static void putRows(DBCResultCache cache, String key, List<Object[]> rows, long size) {
+        cache.putResult(DATA_SOURCE_ID, cache.getGeneration(DATA_SOURCE_ID), key, Collections.emptyList(), rows, size);
+    }
+
+    @Test
+    public void testNormalizeQuery() {
+        Assert.assertEquals(
+            "SELECT a, b FROM t WHERE c = 'x  y' AND \"D  E\" = 1",
+            DBCResultCache.normalizeQuery("  SELECT a,\n\tb   FROM t\r\nWHERE c = 'x  y' AND \"D  E\" = 1 ;\n"));
+        Assert.assertEquals(DBCResultCache.normalizeQuery("select 1"), DBCResultCache.normalizeQuery("select\n 1;"));
+    }
+
+    @Test
+    public void testReadOnlyQuery() {
+        Assert.assertTrue(DBCResultCache.isReadOnlyQuery("select * from t"));
+        Assert.assertTrue(DBCResultCache.isReadOnlyQuery("-- comment\n/* block */ (SELECT 1) UNION (SELECT 2)"));
+        Assert.assertTrue(DBCResultCache.isReadOnlyQuery("WITH x AS (SELECT 1) SELECT * FROM x"));
+        Assert.assertFalse(DBCResultCache.isReadOnlyQuery("update t set a = 1"));
+        Assert.assertFalse(DBCResultCache.isReadOnlyQuery("SELECT * INTO t2 FROM t"));
+        Assert.assertFalse(DBCResultCache.isReadOnlyQuery("WITH x AS (DELETE FROM t RETURNING *) SELECT * FROM x"));
+        Assert.assertFalse(DBCResultCache.isReadOnlyQuery("SELECT nextval('seq')"));
+        Assert.assertFalse(DBCResultCache.isReadOnlyQuery(null));
+    }
+
+    @Test
+    public void testSpillAndEvict() throws Exception {
+        Path folder = Files.createTempDirectory("result-cache-test");
+        DBCResultCache cache = new DBCResultCache(folder, 1000, 2000, 0);
+        try {
+            List<Object[]> rows = makeRows(10);
+            putRows(cache, "q1", rows, 600);
+            putRows(cache, "q2", makeRows(5), 600);
+            // q1 is spilled to disk, q2 stays in memory
+            Assert.assertEquals(600, cache.getMemorySize());
+            Assert.assertEquals(600, cache.getDiskSize());
+
+            List<Object[]> cachedRows = cache.getRows("q1");
+            Assert.assertNotNull(cachedRows);
+            Assert.assertEquals(rows.size(), cachedRows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Assert.assertArrayEquals(rows.get(i), cachedRows.get(i));
+            }
+
+            putRows(cache, "q3", makeRows(1), 600);
+            putRows(cache, "q4", makeRows(1), 600);
+            putRows(cache, "q5", makeRows(1), 600);
+            // Disk limit exceeded - least recently used result is removed
+            Assert.assertTrue(cache.getDiskSize() <= 2000);
+            Assert.assertEquals(4, cache.getResultCount());
+            Assert.assertNotNull(cache.getRows("q5"));
+
+            // Result bigger than both limits is not cached
+            putRows(cache, "huge", makeRows(1), 3000);
+            Assert.assertNull(cache.getRows("huge"));
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        DBCResultCache cache = new DBCResultCache(null, 10000, 0, 0);
+        putRows(cache, "q1", makeRows(3), 100);
+        Assert.assertNotNull(cache.getRows("q1"));
+
+        long generation = cache.getGeneration(DATA_SOURCE_ID);
+        cache.invalidate(DATA_SOURCE_ID);
+        Assert.assertNull(cache.getRows("q1"));
+        Assert.assertEquals(0, cache.getMemorySize());
+
+        // Result read before invalidation is not stored
+        cache.putResult(DATA_SOURCE_ID, generation, "q2", Collections.emptyList(), makeRows(3), 100);
+        Assert.assertNull(cache.getRows("q2"));
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        DBCResultCache cache = new DBCResultCache(null, 10000, 0, 1);
+        putRows(cache, "q1", makeRows(3), 100);
+        Thread.sleep(10);
+        Assert.assertNull(cache.getRows("q1"));
+        Assert.assertEquals(0, cache.getResultCount());
+    }
+
+    @Test
+    public void testManualCommitContextIsNotCached() throws Exception {
+        DBCResultCache cache = new DBCResultCache(null, 10000, 0, 0);
+        DBCExecutionContext context = Mockito.mock(
+            DBCExecutionContext.class, Mockito.withSettings().extraInterfaces(DBCTransactionManager.class));
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getId()).thenReturn(DATA_SOURCE_ID);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+        Mockito.when(context.getDataSource()).thenReturn(dataSource);
+        Mockito.when(context.isConnected()).thenReturn(true);
+        DBCTransactionManager txnManager = (DBCTransactionManager) context;
+
+        Mockito.when(txnManager.isAutoCommit()).thenReturn(true);
+        Assert.assertNotNull(cache.makeQueryKey(context, "select * from t", null, 0, 200));
+
+        // Uncommitted changes of this context must not be visible to other contexts
+        Mockito.when(txnManager.isAutoCommit()).thenReturn(false);
+        Assert.assertNull(cache.makeQueryKey(context, "select * from t", null, 0, 200));
+        Assert.assertNull(cache.makeEntityKey(context, Mockito.mock(DBSEntity.class), null, 0, 200));
+    }
+
+}
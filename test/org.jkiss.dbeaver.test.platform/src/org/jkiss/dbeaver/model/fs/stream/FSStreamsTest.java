@@ -0,0 +1,229 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.fs.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.fs.DBFMultipartUpload;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FSStreamsTest {
+
+    private static final int BLOCK_SIZE = 1000;
+
+    private ExecutorService executor;
+    private Path cacheFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        executor = Executors.newFixedThreadPool(4);
+        cacheFolder = Files.createTempDirectory("fs-cache-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheFolder)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(cacheFolder);
+    }
+
+    @Test
+    public void readAheadReadsWholeFile() throws IOException {
+        byte[] data = makeData(10_500);
+        RemoteFile remote = new RemoteFile(data);
+        FSBlockCache cache = new FSBlockCache(cacheFolder, 1_000_000);
+
+        Assert.assertArrayEquals(data, readAll(new FSReadAheadInputStream(remote, data.length, BLOCK_SIZE, 3, executor, cache, "file1")));
+        Assert.assertEquals(11, remote.requests.get());
+        Assert.assertEquals(11, cache.getBlockCount());
+
+        // Second read is served by cache
+        Assert.assertArrayEquals(data, readAll(new FSReadAheadInputStream(remote, data.length, BLOCK_SIZE, 3, executor, cache, "file1")));
+        Assert.assertEquals(11, remote.requests.get());
+
+        // Changed file has another key
+        Assert.assertArrayEquals(data, readAll(new FSReadAheadInputStream(remote, data.length, BLOCK_SIZE, 3, executor, cache, "file2")));
+        Assert.assertEquals(22, remote.requests.get());
+    }
+
+    @Test
+    public void readAheadSkip() throws IOException {
+        byte[] data = makeData(10_000);
+        RemoteFile remote = new RemoteFile(data);
+        try (InputStream in = new FSReadAheadInputStream(remote, data.length, BLOCK_SIZE, 2, executor, null, null)) {
+            Assert.assertEquals(data[0] & 0xff, in.read());
+            Assert.assertEquals(7_499, in.skip(7_499));
+            byte[] buffer = new byte[10];
+            Assert.assertEquals(10, in.read(buffer));
+            for (int i = 0; i < buffer.length; i++) {
+                Assert.assertEquals(data[7_500 + i], buffer[i]);
+            }
+            Assert.assertEquals(2_490, in.skip(100_000));
+            Assert.assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void blockCacheEvictsLeastRecentlyUsed() throws IOException {
+        FSBlockCache cache = new FSBlockCache(cacheFolder, 2_500);
+        byte[] block = makeData(1_000);
+        cache.putBlock("f", 0, block, block.length);
+        cache.putBlock("f", 1, block, block.length);
+        Assert.assertNotNull(cache.getBlock("f", 0));
+        cache.putBlock("f", 2, block, block.length);
+
+        Assert.assertEquals(2, cache.getBlockCount());
+        Assert.assertEquals(2_000, cache.getCacheSize());
+        Assert.assertArrayEquals(block, cache.getBlock("f", 0));
+        Assert.assertNull(cache.getBlock("f", 1));
+        Assert.assertNotNull(cache.getBlock("f", 2));
+
+        cache.clear();
+        Assert.assertEquals(0, cache.getBlockCount());
+        Assert.assertNull(cache.getBlock("f", 0));
+    }
+
+    @Test
+    public void multipartUpload() throws IOException {
+        byte[] data = makeData(25_000);
+        RemoteUpload upload = new RemoteUpload();
+        try (OutputStream out = new FSMultipartOutputStream(upload, 10_000, 2, executor)) {
+            out.write(data, 0, 100);
+            out.write(data, 100, data.length - 100);
+        }
+        Assert.assertEquals(3, upload.completedParts);
+        Assert.assertArrayEquals(data, upload.getContent());
+
+        RemoteUpload empty = new RemoteUpload();
+        new FSMultipartOutputStream(empty, 10_000, 2, executor).close();
+        Assert.assertEquals(1, empty.completedParts);
+        Assert.assertEquals(0, empty.getContent().length);
+    }
+
+    @Test
+    public void multipartUploadAbort() {
+        RemoteUpload upload = new RemoteUpload();
+        upload.failPart = 2;
+        try (OutputStream out = new FSMultipartOutputStream(upload, 1_000, 2, executor)) {
+            out.write(makeData(5_000));
+            Assert.fail();
+        } catch (IOException e) {
+            // expected
+        }
+        Assert.assertTrue(upload.aborted);
+        Assert.assertEquals(0, upload.completedParts);
+    }
+
+    @NotNull
+    private static byte[] makeData(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    @NotNull
+    private static byte[] readAll(@NotNull InputStream in) throws IOException {
+        try (in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[333];
+            for (int count = in.read(buffer); count >= 0; count = in.read(buffer)) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Object storage stand-in which serves ranged reads
+     */
+    private static class RemoteFile implements FSReadAheadInputStream.RangeReader {
+        private final byte[] data;
+        private final AtomicInteger requests = new AtomicInteger();
+
+        RemoteFile(@NotNull byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int readRange(long position, @NotNull byte[] buffer, int length) {
+            requests.incrementAndGet();
+            int count = (int) Math.min(length, data.length - position);
+            System.arraycopy(data, (int) position, buffer, 0, count);
+            return count;
+        }
+    }
+
+    /**
+     * Object storage stand-in which accepts multipart uploads
+     */
+    private static class RemoteUpload implements DBFMultipartUpload {
+        private final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+        private volatile int failPart = -1;
+        private int completedParts;
+        private boolean aborted;
+
+        @Override
+        public void uploadPart(int partNumber, @NotNull byte[] data, int length) throws IOException {
+            if (partNumber == failPart) {
+                throw new IOException("Part upload failed");
+            }
+            byte[] part = new byte[length];
+            System.arraycopy(data, 0, part, 0, length);
+            parts.put(partNumber, part);
+        }
+
+        @Override
+        public void complete(int partCount) {
+            completedParts = partCount;
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+            parts.clear();
+        }
+
+        @NotNull
+        byte[] getContent() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (int i = 1; i <= completedParts; i++) {
+                out.writeBytes(parts.get(i));
+            }
+            return out.toByteArray();
+        }
+    }
+}
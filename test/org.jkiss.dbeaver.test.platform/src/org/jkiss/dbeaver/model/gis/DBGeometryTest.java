@@ -0,0 +1,112 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class DBGeometryTest {
+
+    private static final int WKB_POINT = 1;
+    private static final int EWKB_SRID_FLAG = 0x20000000;
+
+    @Test
+    public void testPlainWKBIsDecodedOnDemand() {
+        DBGeometry geometry = DBGeometry.fromWKB(makePoint(ByteOrder.LITTLE_ENDIAN, 0, 1.5, 2.5), 0);
+        Assert.assertFalse(geometry.isDecoded());
+        Assert.assertEquals(0, geometry.getSRID());
+
+        assertPoint(geometry.getGeometry(), 1.5, 2.5, 0);
+        Assert.assertTrue(geometry.isDecoded());
+        Assert.assertNull(geometry.getDecodeError());
+    }
+
+    @Test
+    public void testEWKBSridLittleEndian() {
+        DBGeometry geometry = DBGeometry.fromWKB(makePoint(ByteOrder.LITTLE_ENDIAN, 4326, 10, 20), 0);
+        // SRID is read from header without geometry decoding
+        Assert.assertEquals(4326, geometry.getSRID());
+        Assert.assertFalse(geometry.isDecoded());
+        assertPoint(geometry.getGeometry(), 10, 20, 4326);
+    }
+
+    @Test
+    public void testEWKBSridBigEndian() {
+        DBGeometry geometry = DBGeometry.fromWKB(makePoint(ByteOrder.BIG_ENDIAN, 3857, -10, -20), 0);
+        Assert.assertEquals(3857, geometry.getSRID());
+        Assert.assertFalse(geometry.isDecoded());
+        assertPoint(geometry.getGeometry(), -10, -20, 3857);
+    }
+
+    @Test
+    public void testExplicitSridOverridesEWKB() {
+        DBGeometry geometry = DBGeometry.fromWKB(makePoint(ByteOrder.BIG_ENDIAN, 4326, 1, 2), 2180);
+        Assert.assertEquals(2180, geometry.getSRID());
+        assertPoint(geometry.getGeometry(), 1, 2, 2180);
+    }
+
+    @Test
+    public void testCorruptedWKB() {
+        byte[] wkb = makePoint(ByteOrder.LITTLE_ENDIAN, 4326, 1, 2);
+        // Cut coordinates
+        byte[] corrupted = new byte[12];
+        System.arraycopy(wkb, 0, corrupted, 0, corrupted.length);
+
+        DBGeometry geometry = DBGeometry.fromWKB(corrupted, 0);
+        Assert.assertEquals(4326, geometry.getSRID());
+        Assert.assertNull(geometry.getGeometry());
+        Assert.assertNotNull(geometry.getDecodeError());
+        // Binary value is kept as is
+        Assert.assertSame(corrupted, geometry.getWKB());
+        Assert.assertEquals("0101000020E6100000000000", geometry.getString());
+    }
+
+    @Test
+    public void testCopyKeepsDecodeError() {
+        DBGeometry geometry = DBGeometry.fromWKB(new byte[] { 1, 1, 0 }, 0);
+        Assert.assertEquals(0, geometry.getSRID());
+        Assert.assertNotNull(geometry.getDecodeError());
+        Assert.assertNotNull(new DBGeometry(geometry).getDecodeError());
+    }
+
+    private static void assertPoint(Geometry geometry, double x, double y, int srid) {
+        Assert.assertTrue(geometry instanceof Point);
+        Assert.assertEquals(x, ((Point) geometry).getX(), 0);
+        Assert.assertEquals(y, ((Point) geometry).getY(), 0);
+        Assert.assertEquals(srid, geometry.getSRID());
+    }
+
+    private static byte[] makePoint(ByteOrder byteOrder, int srid, double x, double y) {
+        ByteBuffer buffer = ByteBuffer.allocate(srid == 0 ? 21 : 25).order(byteOrder);
+        buffer.put((byte) (byteOrder == ByteOrder.BIG_ENDIAN ? 0 : 1));
+        if (srid == 0) {
+            buffer.putInt(WKB_POINT);
+        } else {
+            buffer.putInt(WKB_POINT | EWKB_SRID_FLAG);
+            buffer.putInt(srid);
+        }
+        buffer.putDouble(x);
+        buffer.putDouble(y);
+        return buffer.array();
+    }
+
+}
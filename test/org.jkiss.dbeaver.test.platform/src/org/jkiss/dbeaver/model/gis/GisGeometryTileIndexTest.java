@@ -0,0 +1,112 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.*;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import java.util.*;
+
+public class GisGeometryTileIndexTest {
+
+    private final GeometryFactory factory = new GeometryFactory();
+
+    @Test
+    public void testExtentCoversNotRenderedGeometries() {
+        GisGeometryTileIndex index = new GisGeometryTileIndex(createGrid(10));
+        Assert.assertEquals(100, index.size());
+
+        List<GisGeometryTileIndex.Feature> features = index.query(null, 10);
+        Assert.assertEquals(10, features.size());
+        // Map must be fit to all geometries, not only to rendered ones
+        Assert.assertEquals(new Envelope(0, 9, 0, 9), index.getExtent());
+    }
+
+    @Test
+    public void testViewportQuery() {
+        GisGeometryTileIndex index = new GisGeometryTileIndex(createGrid(10));
+
+        Set<Integer> indexes = new HashSet<>();
+        for (GisGeometryTileIndex.Feature feature : index.query(new Envelope(0, 1, 0, 1), 100)) {
+            indexes.add(feature.getIndex());
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList(0, 1, 10, 11)), indexes);
+
+        Assert.assertTrue(index.query(new Envelope(20, 30, 20, 30), 100).isEmpty());
+    }
+
+    @Test
+    public void testNullGeometriesKeepIndexes() {
+        List<Geometry> geometries = new ArrayList<>();
+        geometries.add(null);
+        geometries.add(factory.createPoint(new Coordinate(5, 5)));
+        geometries.add(factory.createPoint());
+        GisGeometryTileIndex index = new GisGeometryTileIndex(geometries);
+
+        List<GisGeometryTileIndex.Feature> features = index.query(null, 10);
+        Assert.assertEquals(1, features.size());
+        Assert.assertEquals(1, features.get(0).getIndex());
+        Assert.assertEquals(new Envelope(5, 5, 5, 5), index.getExtent());
+    }
+
+    @Test
+    public void testBiggestGeometriesAreKept() throws ParseException {
+        WKTReader reader = new WKTReader(factory);
+        GisGeometryTileIndex index = new GisGeometryTileIndex(Arrays.asList(
+            reader.read("POLYGON ((0 0, 1 0, 1 1, 0 1, 0 0))"),
+            reader.read("POLYGON ((0 0, 3 0, 3 3, 0 3, 0 0))"),
+            reader.read("POLYGON ((0 0, 2 0, 2 2, 0 2, 0 0))")));
+
+        List<GisGeometryTileIndex.Feature> features = index.query(null, 2);
+        Assert.assertEquals(2, features.size());
+        Assert.assertEquals(1, features.get(0).getIndex());
+        Assert.assertEquals(2, features.get(1).getIndex());
+    }
+
+    @Test
+    public void testSimplify() {
+        Coordinate[] coordinates = new Coordinate[101];
+        for (int i = 0; i < coordinates.length; i++) {
+            // Almost straight line
+            coordinates[i] = new Coordinate(i, (i % 2) * 0.01);
+        }
+        LineString line = factory.createLineString(coordinates);
+        line.setSRID(GisConstants.SRID_4326);
+
+        Geometry simplified = GisGeometryTileIndex.simplify(line, 1);
+        Assert.assertEquals(2, simplified.getNumPoints());
+        Assert.assertEquals(GisConstants.SRID_4326, simplified.getSRID());
+        Assert.assertSame(line, GisGeometryTileIndex.simplify(line, 0));
+
+        Point point = factory.createPoint(new Coordinate(1, 1));
+        Assert.assertSame(point, GisGeometryTileIndex.simplify(point, 1));
+    }
+
+    private List<Geometry> createGrid(int size) {
+        List<Geometry> geometries = new ArrayList<>();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                geometries.add(factory.createPoint(new Coordinate(x, y)));
+            }
+        }
+        return geometries;
+    }
+
+}
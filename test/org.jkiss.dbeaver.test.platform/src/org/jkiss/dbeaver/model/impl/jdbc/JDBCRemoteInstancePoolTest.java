@@ -0,0 +1,128 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class JDBCRemoteInstancePoolTest {
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private final List<JDBCExecutionContext> pooledContexts = new ArrayList<>();
+    private final List<JDBCExecutionContext> isolatedContexts = new ArrayList<>();
+    private final DBPConnectionConfiguration connectionConfiguration = new DBPConnectionConfiguration();
+
+    private DBPDataSourceContainer container;
+    private JDBCRemoteInstance instance;
+
+    @Before
+    public void setUp() {
+        DBPPreferenceStore preferenceStore = Mockito.mock(DBPPreferenceStore.class);
+        Mockito.when(preferenceStore.getInt(ModelPreferences.CONNECTION_POOL_SIZE)).thenReturn(1);
+        container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getName()).thenReturn("test");
+        Mockito.when(container.isConnected()).thenReturn(true);
+        Mockito.when(container.getDriver()).thenReturn(Mockito.mock(DBPDriver.class));
+        Mockito.when(container.getPreferenceStore()).thenReturn(preferenceStore);
+        Mockito.when(container.getConnectionConfiguration()).thenReturn(connectionConfiguration);
+        connectionConfiguration.setKeepAliveInterval(600);
+
+        // Context factory is protected, so it is dispatched by the default answer
+        JDBCDataSource dataSource = Mockito.mock(JDBCDataSource.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getContainer":
+                    return container;
+                case "createExecutionContext":
+                    return createContext(invocation.getArgument(1));
+                default:
+                    return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+        instance = new JDBCRemoteInstance(dataSource) {};
+    }
+
+    @Test
+    public void testPooledContextIsHandedOut() throws Exception {
+        fillPool();
+        Assert.assertEquals(1, pooledContexts.size());
+
+        DBCExecutionContext context = instance.openIsolatedContext(monitor, "Test", null);
+        Assert.assertSame(pooledContexts.get(0), context);
+        Mockito.verify(pooledContexts.get(0)).setContextName("Test");
+        Assert.assertTrue(isolatedContexts.isEmpty());
+
+        // Taken context is replaced in background
+        fillPool();
+        Assert.assertEquals(2, pooledContexts.size());
+    }
+
+    @Test
+    public void testDeadPooledContextIsClosed() throws Exception {
+        fillPool();
+        JDBCExecutionContext pooledContext = pooledContexts.get(0);
+        // Keep-alive is disabled, so pooled context is validated before use
+        connectionConfiguration.setKeepAliveInterval(0);
+        Mockito.doThrow(new DBException("Connection reset")).when(pooledContext).checkContextAlive(Mockito.any());
+
+        DBCExecutionContext context = instance.openIsolatedContext(monitor, "Test", null);
+        Mockito.verify(pooledContext).close();
+        Assert.assertEquals(1, isolatedContexts.size());
+        Assert.assertSame(isolatedContexts.get(0), context);
+    }
+
+    @Test
+    public void testNoPoolForSingleConnection() throws Exception {
+        Mockito.when(container.isForceUseSingleConnection()).thenReturn(true);
+        fillPool();
+        Assert.assertTrue(pooledContexts.isEmpty());
+
+        DBCExecutionContext context = instance.openIsolatedContext(monitor, "Test", null);
+        Assert.assertSame(isolatedContexts.get(0), context);
+    }
+
+    private void fillPool() throws InterruptedException {
+        instance.scheduleContextPoolFill();
+        Job.getJobManager().join(instance, null);
+    }
+
+    private JDBCExecutionContext createContext(String purpose) {
+        JDBCExecutionContext context = Mockito.mock(JDBCExecutionContext.class);
+        Mockito.when(context.isConnected()).thenReturn(true);
+        if (JDBCExecutionContext.TYPE_POOLED.equals(purpose)) {
+            pooledContexts.add(context);
+        } else {
+            isolatedContexts.add(context);
+        }
+        return context;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDRowBatch;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCNumberValueHandler;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Types;
+
+public class JDBCRowBatchReadersTest {
+
+    private DBCSession session;
+    private JDBCResultSetImpl resultSet;
+
+    @Before
+    public void setUp() {
+        session = Mockito.mock(DBCSession.class);
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(session.getDataSource()).thenReturn(dataSource);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+        Mockito.when(container.isUseNativeDateTimeFormat()).thenReturn(false);
+
+        resultSet = Mockito.mock(JDBCResultSetImpl.class);
+        Mockito.doCallRealMethod().when(resultSet).prepareRowBatch(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testIntegerIsReadAsLong() throws SQLException {
+        DBDRowBatch batch = prepareBatch(new JDBCNumberValueHandler(null, null), Types.INTEGER);
+        Assert.assertEquals(DBDRowBatch.ColumnType.LONG, batch.getColumnType(0));
+
+        Mockito.when(resultSet.getLong(1)).thenReturn(10L);
+        batch.readRow(session, resultSet);
+        Assert.assertEquals(10L, batch.getValue(0, 0));
+        Mockito.verify(resultSet, Mockito.never()).getObject(1);
+    }
+
+    @Test
+    public void testDoubleKeepsDriverNumber() throws SQLException {
+        DBDRowBatch batch = prepareBatch(new JDBCNumberValueHandler(null, null), Types.DOUBLE);
+        Assert.assertEquals(DBDRowBatch.ColumnType.DOUBLE, batch.getColumnType(0));
+
+        Mockito.when(resultSet.getObject(1)).thenReturn(1.5, new BigDecimal("0.1"), null);
+        batch.readRow(session, resultSet);
+        batch.readRow(session, resultSet);
+        batch.readRow(session, resultSet);
+        Assert.assertEquals(1.5, batch.getValue(0, 0));
+        Assert.assertEquals(new BigDecimal("0.1"), batch.getValue(1, 0));
+        Assert.assertNull(batch.getValue(2, 0));
+        Mockito.verify(resultSet, Mockito.never()).getDouble(1);
+    }
+
+    @Test
+    public void testDoubleIsReadAsDoubleWhenHandlerRequiresIt() throws SQLException {
+        JDBCNumberValueHandler valueHandler = new JDBCNumberValueHandler(null, null) {
+            @Override
+            public boolean isReadDecimalsAsDouble() {
+                return true;
+            }
+        };
+        DBDRowBatch batch = prepareBatch(valueHandler, Types.DOUBLE);
+        Assert.assertEquals(DBDRowBatch.ColumnType.DOUBLE, batch.getColumnType(0));
+
+        Mockito.when(resultSet.getDouble(1)).thenReturn(0.1, 0.0);
+        Mockito.when(resultSet.wasNull()).thenReturn(false, true);
+        batch.readRow(session, resultSet);
+        batch.readRow(session, resultSet);
+        Assert.assertEquals(0.1, batch.getValue(0, 0));
+        Assert.assertNull(batch.getValue(1, 0));
+        Mockito.verify(resultSet, Mockito.never()).getObject(1);
+    }
+
+    @Test
+    public void testCustomFetchIsNotReplaced() {
+        JDBCNumberValueHandler valueHandler = new JDBCNumberValueHandler(null, null) {
+            @Override
+            protected Object fetchColumnValue(DBCSession session, JDBCResultSet resultSet, DBSTypedObject type, int index) {
+                return 1;
+            }
+        };
+        DBDRowBatch batch = prepareBatch(valueHandler, Types.INTEGER);
+        Assert.assertEquals(DBDRowBatch.ColumnType.OBJECT, batch.getColumnType(0));
+    }
+
+    private DBDRowBatch prepareBatch(DBDValueHandler valueHandler, int typeId) {
+        DBDAttributeBinding binding = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(binding.getValueHandler()).thenReturn(valueHandler);
+        Mockito.when(binding.getOrdinalPosition()).thenReturn(0);
+        DBSAttributeBase attribute = Mockito.mock(DBSAttributeBase.class);
+        Mockito.when(attribute.getTypeID()).thenReturn(typeId);
+
+        DBDRowBatch batch = new DBDRowBatch(new DBDAttributeBinding[] { binding }, new DBSAttributeBase[] { attribute }, 3);
+        resultSet.prepareRowBatch(session, batch);
+        return batch;
+    }
+
+}
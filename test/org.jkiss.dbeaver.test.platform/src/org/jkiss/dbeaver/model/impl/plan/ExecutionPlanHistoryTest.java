@@ -0,0 +1,120 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNodeKind;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ExecutionPlanHistoryTest {
+
+    @Test
+    public void normalizeQuery() {
+        Assert.assertEquals(
+            "select * from \"Orders\" where id = ? and name = ? and t1.c2 = ?",
+            ExecutionPlanHistory.normalizeQuery("SELECT *\n  FROM \"Orders\" -- comment\nWHERE id = 10 /* c */ AND name = 'it''s' and T1.c2 = 1.5e3"));
+        Assert.assertEquals(
+            ExecutionPlanHistory.getQueryFingerprint("select * from t where id = 1"),
+            ExecutionPlanHistory.getQueryFingerprint("SELECT * FROM t\nWHERE id = 42"));
+        Assert.assertNotEquals(
+            ExecutionPlanHistory.getQueryFingerprint("select * from t1"),
+            ExecutionPlanHistory.getQueryFingerprint("select * from t2"));
+    }
+
+    @Test
+    public void comparePlans() {
+        ExecutionPlanSnapshot indexPlan = makePlan(10.0, "Index Scan", DBCPlanNodeKind.INDEX_SCAN);
+        ExecutionPlanSnapshot seqScanPlan = makePlan(250.0, "Seq Scan", DBCPlanNodeKind.DEFAULT);
+
+        ExecutionPlanComparison regression = new ExecutionPlanComparison(indexPlan, seqScanPlan);
+        Assert.assertTrue(regression.isStructureChanged());
+        Assert.assertTrue(regression.isRegression());
+        Assert.assertEquals(2, regression.getRegressions().size());
+        Assert.assertEquals(List.of("Seq Scan on orders"), regression.getAddedNodes());
+        Assert.assertEquals(List.of("Index Scan on orders"), regression.getRemovedNodes());
+        Assert.assertEquals(240.0, regression.getCostDelta(), 0.0);
+
+        ExecutionPlanComparison improvement = new ExecutionPlanComparison(seqScanPlan, indexPlan);
+        Assert.assertFalse(improvement.isRegression());
+
+        ExecutionPlanComparison costJump = new ExecutionPlanComparison(indexPlan, makePlan(15.0, "Index Scan", DBCPlanNodeKind.INDEX_SCAN));
+        Assert.assertFalse(costJump.isStructureChanged());
+        Assert.assertFalse(costJump.isRegression());
+    }
+
+    @Test
+    public void detectFullScans() {
+        Assert.assertTrue(makeNode(DBCPlanNodeKind.TABLE_SCAN, "Scan").isFullScan());
+        Assert.assertTrue(makeNode(DBCPlanNodeKind.DEFAULT, "Parallel Seq Scan").isFullScan());
+        Assert.assertTrue(makeNode(DBCPlanNodeKind.DEFAULT, "TABLE ACCESS FULL").isFullScan());
+        Assert.assertTrue(makeNode(DBCPlanNodeKind.DEFAULT, "Clustered Index Scan; Table Scan").isFullScan());
+        Assert.assertTrue(makeNode(DBCPlanNodeKind.DEFAULT, "INDEX FAST FULL SCAN").isFullScan());
+
+        Assert.assertFalse(makeNode(DBCPlanNodeKind.JOIN, "Hash Full Join").isFullScan());
+        Assert.assertFalse(makeNode(DBCPlanNodeKind.JOIN, "Merge Full Join").isFullScan());
+        Assert.assertFalse(makeNode(DBCPlanNodeKind.DEFAULT, "HASH JOIN FULL OUTER").isFullScan());
+        Assert.assertFalse(makeNode(DBCPlanNodeKind.INDEX_SCAN, "Index Scan").isFullScan());
+    }
+
+    @Test
+    public void storePlans() throws Exception {
+        Path folder = Files.createTempDirectory("plan-history");
+        try {
+            ExecutionPlanHistory history = new ExecutionPlanHistory(folder);
+            Assert.assertNull(history.addPlan("ds1", makePlan(10.0, "Index Scan", DBCPlanNodeKind.INDEX_SCAN)));
+            // Same plan is not stored twice
+            Assert.assertNull(history.addPlan("ds1", makePlan(10.0, "Index Scan", DBCPlanNodeKind.INDEX_SCAN)));
+            ExecutionPlanComparison comparison = history.addPlan("ds1", makePlan(250.0, "Seq Scan", DBCPlanNodeKind.DEFAULT));
+            Assert.assertNotNull(comparison);
+            Assert.assertTrue(comparison.isRegression());
+
+            List<ExecutionPlanSnapshot> plans = history.getPlans("ds1", "SELECT * FROM orders WHERE id = 2");
+            Assert.assertEquals(2, plans.size());
+            Assert.assertEquals("Seq Scan on orders", plans.get(1).getNodes().get(0).getChildren().get(0).getSignature());
+            Assert.assertTrue(history.getPlans("ds2", "select * from orders where id = 1").isEmpty());
+
+            for (int i = 0; i < ExecutionPlanHistory.MAX_PLAN_VERSIONS + 5; i++) {
+                history.addPlan("ds1", makePlan(i, "Seq Scan", DBCPlanNodeKind.DEFAULT));
+            }
+            Assert.assertEquals(ExecutionPlanHistory.MAX_PLAN_VERSIONS, history.getPlans("ds1", "select * from orders where id = 1").size());
+
+            history.clearPlans("ds1", "select * from orders where id = 1");
+            Assert.assertTrue(history.getPlans("ds1", "select * from orders where id = 1").isEmpty());
+        } finally {
+            try (var files = Files.walk(folder)) {
+                files.sorted((p1, p2) -> p2.compareTo(p1)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @NotNull
+    private static ExecutionPlanSnapshot.Node makeNode(@NotNull DBCPlanNodeKind kind, @NotNull String type) {
+        return new ExecutionPlanSnapshot.Node(kind.name(), type, "orders", 1.0, 1.0);
+    }
+
+    @NotNull
+    private static ExecutionPlanSnapshot makePlan(double cost, @NotNull String scanType, @NotNull DBCPlanNodeKind scanKind) {
+        ExecutionPlanSnapshot.Node root = new ExecutionPlanSnapshot.Node(DBCPlanNodeKind.AGGREGATE.name(), "Aggregate", null, cost, 1.0);
+        root.addChild(new ExecutionPlanSnapshot.Node(scanKind.name(), scanType, "orders", cost * 0.9, 100.0));
+        return new ExecutionPlanSnapshot("select * from orders where id = 1", System.currentTimeMillis(), List.of(root));
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.net.ssh.config.SSHAuthConfiguration;
+import org.jkiss.dbeaver.model.net.ssh.config.SSHHostConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SSHSessionCacheTest {
+
+    @Test
+    public void sharedSessionIsReferenceCounted() throws Exception {
+        TestSessionHandler handler = new TestSessionHandler();
+        SSHSessionCache<TestSession> cache = new SSHSessionCache<>(handler);
+
+        SSHSessionCache.SessionReference<TestSession> ref1 = cache.acquire("bastion", handler::open);
+        SSHSessionCache.SessionReference<TestSession> ref2 = cache.acquire("bastion", handler::open);
+        SSHSessionCache.SessionReference<TestSession> other = cache.acquire("other", handler::open);
+        Assert.assertSame(ref1.getSession(), ref2.getSession());
+        Assert.assertNotSame(ref1.getSession(), other.getSession());
+        Assert.assertEquals(2, handler.opened.get());
+        Assert.assertEquals(2, cache.getSessionCount());
+
+        ref1.release();
+        ref1.release();
+        Assert.assertFalse(ref2.getSession().closed);
+
+        ref2.release();
+        Assert.assertTrue(ref2.getSession().closed);
+        Assert.assertEquals(1, cache.getSessionCount());
+
+        other.release();
+        Assert.assertEquals(0, cache.getSessionCount());
+    }
+
+    @Test
+    public void privateSessionIsNotShared() throws Exception {
+        TestSessionHandler handler = new TestSessionHandler();
+        SSHSessionCache<TestSession> cache = new SSHSessionCache<>(handler);
+
+        SSHSessionCache.SessionReference<TestSession> ref1 = cache.acquire(null, handler::open);
+        SSHSessionCache.SessionReference<TestSession> ref2 = cache.acquire(null, handler::open);
+        Assert.assertNotSame(ref1.getSession(), ref2.getSession());
+        Assert.assertFalse(ref1.isShared());
+        Assert.assertEquals(0, cache.getSessionCount());
+
+        ref1.release();
+        Assert.assertTrue(ref1.getSession().closed);
+        Assert.assertFalse(ref2.getSession().closed);
+        ref2.release();
+    }
+
+    @Test
+    public void deadSessionIsReplaced() throws Exception {
+        TestSessionHandler handler = new TestSessionHandler();
+        SSHSessionCache<TestSession> cache = new SSHSessionCache<>(handler);
+
+        SSHSessionCache.SessionReference<TestSession> ref1 = cache.acquire("bastion", handler::open);
+        ref1.getSession().alive = false;
+
+        SSHSessionCache.SessionReference<TestSession> ref2 = cache.acquire("bastion", handler::open);
+        Assert.assertNotSame(ref1.getSession(), ref2.getSession());
+        Assert.assertFalse(ref1.getSession().closed);
+
+        // Old holder closes dead session, new one is not affected
+        ref1.release();
+        Assert.assertTrue(ref1.getSession().closed);
+        Assert.assertFalse(ref2.getSession().closed);
+        Assert.assertEquals(1, cache.getSessionCount());
+        ref2.release();
+    }
+
+    @Test
+    public void invalidatedSessionIsNotReused() throws Exception {
+        TestSessionHandler handler = new TestSessionHandler();
+        SSHSessionCache<TestSession> cache = new SSHSessionCache<>(handler);
+
+        SSHSessionCache.SessionReference<TestSession> ref1 = cache.acquire("bastion", handler::open);
+        SSHSessionCache.SessionReference<TestSession> other = cache.acquire("bastion", handler::open);
+        // Session still looks alive, but tunnel was invalidated before it was released
+        ref1.invalidate();
+        Assert.assertEquals(0, cache.getSessionCount());
+
+        SSHSessionCache.SessionReference<TestSession> ref2 = cache.acquire("bastion", handler::open);
+        Assert.assertNotSame(ref1.getSession(), ref2.getSession());
+        Assert.assertEquals(2, handler.opened.get());
+
+        ref1.release();
+        Assert.assertFalse("Session is still used by other tunnel", ref1.getSession().closed);
+        other.release();
+        Assert.assertTrue(ref1.getSession().closed);
+        Assert.assertFalse(ref2.getSession().closed);
+        Assert.assertEquals(1, cache.getSessionCount());
+        ref2.release();
+    }
+
+    @Test
+    public void failedOpenIsNotCached() throws Exception {
+        TestSessionHandler handler = new TestSessionHandler();
+        SSHSessionCache<TestSession> cache = new SSHSessionCache<>(handler);
+
+        try {
+            cache.acquire("bastion", () -> {
+                throw new DBException("Auth failed");
+            });
+            Assert.fail();
+        } catch (DBException e) {
+            Assert.assertEquals(0, cache.getSessionCount());
+        }
+        SSHSessionCache.SessionReference<TestSession> ref = cache.acquire("bastion", handler::open);
+        Assert.assertEquals(1, handler.opened.get());
+        ref.release();
+    }
+
+    @Test
+    public void concurrentAcquireOpensOneSession() throws Exception {
+        TestSessionHandler handler = new TestSessionHandler();
+        SSHSessionCache<TestSession> cache = new SSHSessionCache<>(handler);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future[30];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> cache.acquire("bastion", () -> {
+                    // Slow handshake
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        throw new DBException("Interrupted");
+                    }
+                    return handler.open();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(1, handler.opened.get());
+    }
+
+    @Test
+    public void sessionKey() {
+        SSHHostConfiguration host = new SSHHostConfiguration("user", "bastion", SSHAuthConfiguration.usingPassword("secret", true));
+        String key = SSHSessionCache.makeSessionKey(new SSHHostConfiguration[]{host}, 10000, false);
+        Assert.assertFalse(key.contains("secret"));
+        Assert.assertEquals(key, SSHSessionCache.makeSessionKey(
+            new SSHHostConfiguration[]{new SSHHostConfiguration("user", "bastion", SSHAuthConfiguration.usingPassword("secret", false))}, 10000, false));
+        Assert.assertNotEquals(key, SSHSessionCache.makeSessionKey(
+            new SSHHostConfiguration[]{new SSHHostConfiguration("user", "bastion", SSHAuthConfiguration.usingPassword("other", true))}, 10000, false));
+        Assert.assertNotEquals(key, SSHSessionCache.makeSessionKey(new SSHHostConfiguration[]{host}, 10000, true));
+    }
+
+    private static class TestSession {
+        volatile boolean alive = true;
+        volatile boolean closed;
+    }
+
+    private static class TestSessionHandler implements SSHSessionCache.SessionHandler<TestSession> {
+        private final AtomicInteger opened = new AtomicInteger();
+
+        @NotNull
+        TestSession open() {
+            opened.incrementAndGet();
+            return new TestSession();
+        }
+
+        @Override
+        public boolean isSessionAlive(@NotNull TestSession session) {
+            return session.alive;
+        }
+
+        @Override
+        public void closeSession(@NotNull TestSession session) {
+            session.closed = true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.*;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SQLPlainPartitionerTest {
+
+    // Default large file threshold of SQL editor is 10Mb
+    private static final int LARGE_DOCUMENT_SIZE = 11 * 1024 * 1024;
+
+    private Document document;
+
+    @Before
+    public void setUp() {
+        String line = "select * from test_table where id = 1; -- comment\n";
+        StringBuilder text = new StringBuilder(LARGE_DOCUMENT_SIZE + line.length());
+        while (text.length() < LARGE_DOCUMENT_SIZE) {
+            text.append(line);
+        }
+        document = new Document(text.toString());
+    }
+
+    @Test
+    public void testNoPartitioningWithoutPartitioner() {
+        Assert.assertThrows(BadPartitioningException.class,
+            () -> document.computePartitioning(SQLParserPartitions.SQL_PARTITIONING, 0, 100, false));
+    }
+
+    @Test
+    public void testViewportRegions() throws BadLocationException {
+        installPartitioner();
+        int offset = document.getLength() / 2;
+        int length = 64 * 1024;
+
+        ITypedRegion[] regions = TextUtilities.computePartitioning(document, SQLParserPartitions.SQL_PARTITIONING, offset, length, false);
+        Assert.assertEquals(1, regions.length);
+        Assert.assertEquals(offset, regions[0].getOffset());
+        Assert.assertEquals(length, regions[0].getLength());
+        Assert.assertEquals(IDocument.DEFAULT_CONTENT_TYPE, regions[0].getType());
+
+        Assert.assertEquals(IDocument.DEFAULT_CONTENT_TYPE,
+            TextUtilities.getContentType(document, SQLParserPartitions.SQL_PARTITIONING, offset, false));
+    }
+
+    @Test
+    public void testRegionsAfterEdit() throws BadLocationException {
+        installPartitioner();
+        document.replace(0, 0, "/* header */\n");
+
+        ITypedRegion partition = TextUtilities.getPartition(document, SQLParserPartitions.SQL_PARTITIONING, 10, false);
+        Assert.assertEquals(0, partition.getOffset());
+        Assert.assertEquals(document.getLength(), partition.getLength());
+
+        int tail = document.getLength() - 100;
+        ITypedRegion[] regions = TextUtilities.computePartitioning(document, SQLParserPartitions.SQL_PARTITIONING, tail, 100, false);
+        Assert.assertEquals(1, regions.length);
+        Assert.assertEquals(tail, regions[0].getOffset());
+    }
+
+    private void installPartitioner() {
+        IDocumentPartitioner partitioner = new SQLPlainPartitioner();
+        partitioner.connect(document);
+        document.setDocumentPartitioner(SQLParserPartitions.SQL_PARTITIONING, partitioner);
+    }
+
+}
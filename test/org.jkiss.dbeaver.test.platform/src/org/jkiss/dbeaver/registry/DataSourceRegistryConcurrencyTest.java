@@ -0,0 +1,108 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.jkiss.dbeaver.model.DBPDataSourceConfigurationStorage;
+import org.jkiss.dbeaver.model.app.DBPProject;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class DataSourceRegistryConcurrencyTest {
+
+    private static final int DATA_SOURCE_COUNT = 500;
+    private static final int READER_COUNT = 4;
+
+    private DataSourceRegistry registry;
+    private DBPDataSourceConfigurationStorage storage;
+    private DBPDriver driver;
+
+    @Before
+    public void setUp() {
+        DBPProject project = Mockito.mock(DBPProject.class);
+        // Closed project, nothing is loaded
+        Mockito.when(project.isOpen()).thenReturn(false);
+        DataSourceConfigurationManager configurationManager = Mockito.mock(DataSourceConfigurationManager.class);
+        storage = Mockito.mock(DBPDataSourceConfigurationStorage.class);
+        Mockito.when(storage.isDefault()).thenReturn(true);
+        driver = Mockito.mock(DBPDriver.class);
+        registry = new DataSourceRegistry(project, configurationManager);
+    }
+
+    @After
+    public void tearDown() {
+        registry.dispose();
+    }
+
+    @Test
+    public void testAddedDataSourcesAreVisibleToConcurrentReaders() throws Exception {
+        AtomicBoolean finished = new AtomicBoolean();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < READER_COUNT; i++) {
+            Thread reader = new Thread(() -> {
+                while (!finished.get()) {
+                    // Readers keep rebuilding sorted list and name index of the snapshot they see
+                    registry.getDataSources();
+                    registry.findDataSourceByName("ds-0");
+                }
+            }, "Registry reader " + i);
+            reader.setDaemon(true);
+            reader.start();
+            readers.add(reader);
+        }
+        try {
+            for (int i = 0; i < DATA_SOURCE_COUNT; i++) {
+                String name = "ds-" + i;
+                DataSourceDescriptor descriptor = createDataSource("id-" + i, name);
+                registry.addDataSourceToList(descriptor);
+
+                Assert.assertSame(name, descriptor, registry.findDataSourceByName(name));
+                Assert.assertTrue(name, registry.getDataSources().contains(descriptor));
+            }
+            for (int i = 0; i < DATA_SOURCE_COUNT; i += 10) {
+                DataSourceDescriptor descriptor = registry.getDataSource("id-" + i);
+                Assert.assertNotNull(descriptor);
+                descriptor.setName("renamed-" + i);
+
+                Assert.assertSame(descriptor, registry.findDataSourceByName("renamed-" + i));
+                Assert.assertNull(registry.findDataSourceByName("ds-" + i));
+            }
+        } finally {
+            finished.set(true);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+        Assert.assertEquals(DATA_SOURCE_COUNT, registry.getDataSources().size());
+    }
+
+    private DataSourceDescriptor createDataSource(String id, String name) {
+        DataSourceDescriptor descriptor = new DataSourceDescriptor(
+            registry, storage, DataSourceOriginLocal.INSTANCE, id, driver, new DBPConnectionConfiguration());
+        descriptor.setName(name);
+        return descriptor;
+    }
+
+}
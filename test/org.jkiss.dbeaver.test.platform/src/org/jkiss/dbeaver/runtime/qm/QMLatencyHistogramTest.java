@@ -0,0 +1,83 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QMLatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        final QMLatencyHistogram histogram = new QMLatencyHistogram();
+        Assert.assertEquals(0, histogram.getTotalCount());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+        Assert.assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final QMLatencyHistogram histogram = new QMLatencyHistogram();
+        for (int i = 0; i < 16; i++) {
+            histogram.recordValue(i);
+        }
+        Assert.assertEquals(16, histogram.getTotalCount());
+        Assert.assertEquals(120, histogram.getTotalSum());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(0));
+        Assert.assertEquals(7, histogram.getValueAtPercentile(50));
+        Assert.assertEquals(15, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testPercentilePrecision() {
+        final QMLatencyHistogram histogram = new QMLatencyHistogram();
+        for (int i = 1; i <= 100000; i++) {
+            histogram.recordValue(i);
+        }
+        assertWithinPrecision(50000, histogram.getValueAtPercentile(50));
+        assertWithinPrecision(90000, histogram.getValueAtPercentile(90));
+        assertWithinPrecision(99000, histogram.getValueAtPercentile(99));
+        Assert.assertEquals(100000, histogram.getValueAtPercentile(100));
+        Assert.assertEquals(100000, histogram.getMaxValue());
+    }
+
+    @Test
+    public void testExtremeValues() {
+        final QMLatencyHistogram histogram = new QMLatencyHistogram();
+        histogram.recordValue(-5);
+        histogram.recordValue(Long.MAX_VALUE);
+        Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testReset() {
+        final QMLatencyHistogram histogram = new QMLatencyHistogram();
+        histogram.recordValue(1000);
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getTotalCount());
+        Assert.assertEquals(0, histogram.getMaxValue());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        // 8 sub-buckets per power of two
+        Assert.assertTrue("Expected ~" + expected + " but was " + actual,
+            actual >= expected && actual <= expected + expected / 8);
+    }
+
+}
@@ -0,0 +1,286 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.meta.Property;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.model.navigator.meta.DBXTreeNode;
+import org.jkiss.dbeaver.model.runtime.DBRProgressListener;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class CompareObjectsExecutorTest {
+
+    private final DBPDataSourceContainer dataSourceContainer = Mockito.mock(DBPDataSourceContainer.class);
+    private final DBXTreeNode meta = Mockito.mock(DBXTreeNode.class);
+
+    @Test
+    public void testIdenticalTreesAreSkipped() throws Exception {
+        DBNDatabaseNode root1 = createTree("a", "b");
+        DBNDatabaseNode root2 = createTree("b", "a");
+
+        TestSink sink = compare(root1, root2);
+        Assert.assertEquals(0, sink.lines.size());
+        // Root and two children
+        Assert.assertEquals(Arrays.asList(3), sink.skipped);
+    }
+
+    @Test
+    public void testIdenticalSubtreesAreSkipped() throws Exception {
+        DBNDatabaseNode root1 = createTree("a", "b");
+        DBNDatabaseNode root2 = createTree("a", "b", "c");
+
+        TestSink sink = compare(root1, root2);
+        // Children "a" and "b" are skipped, root and "c" are reported
+        Assert.assertEquals(Arrays.asList(1, 1), sink.skipped);
+        Assert.assertEquals(2, sink.lines.size());
+    }
+
+    @Test
+    public void testInitializeErrorDoesNotAffectNextCompare() throws Exception {
+        IStatus[] initStatus = new IStatus[] { new Status(IStatus.ERROR, "test", "Broken node") };
+        DBNDatabaseNode root1 = createTree(() -> initStatus[0], "a");
+        DBNDatabaseNode root2 = createTree("a");
+
+        CompareObjectsSettings settings = createSettings(root1, root2);
+        CompareObjectsExecutor executor = new CompareObjectsExecutor(settings);
+        try {
+            try {
+                executor.compareObjects(new VoidProgressMonitor(), settings.getNodes(), new TestSink());
+                Assert.fail("Initialize error expected");
+            } catch (DBException e) {
+                Assert.assertEquals("Broken node", e.getMessage());
+            }
+
+            initStatus[0] = Status.OK_STATUS;
+            TestSink sink = new TestSink();
+            executor.compareObjects(new VoidProgressMonitor(), settings.getNodes(), sink);
+            Assert.assertNull(executor.getInitializeError());
+            Assert.assertEquals(Arrays.asList(2), sink.skipped);
+        } finally {
+            executor.dispose();
+        }
+    }
+
+    @Test
+    public void testPropertyDifferenceIsReported() throws Exception {
+        DBNDatabaseNode root1 = createTree(new TestObject("a", "1"));
+        DBNDatabaseNode root2 = createTree(new TestObject("a", "2"));
+
+        TestSink sink = compare(false, root1, root2);
+        Assert.assertEquals(0, sink.skipped.size());
+        // Root and "a" are reported
+        Assert.assertEquals(2, sink.lines.size());
+
+        sink = compare(false, createTree(new TestObject("a", "1")), createTree(new TestObject("a", "1")));
+        Assert.assertEquals(Arrays.asList(2), sink.skipped);
+    }
+
+    @Test
+    public void testValuesWithEqualStringsAreNotSkipped() throws Exception {
+        // The same string representation, but values are different
+        DBNDatabaseNode root1 = createTree(new TestObject("a", new TestValue(1)));
+        DBNDatabaseNode root2 = createTree(new TestObject("a", new TestValue(2)));
+        Assert.assertEquals(new TestValue(1).toString(), new TestValue(2).toString());
+        Assert.assertFalse(CompareUtils.equalPropertyValues(new TestValue(1), new TestValue(2)));
+
+        TestSink sink = compare(false, root1, root2);
+        Assert.assertEquals(0, sink.skipped.size());
+        Assert.assertEquals(2, sink.lines.size());
+    }
+
+    private TestSink compare(DBNDatabaseNode... roots) throws Exception {
+        return compare(true, roots);
+    }
+
+    private TestSink compare(boolean onlyStructure, DBNDatabaseNode... roots) throws Exception {
+        CompareObjectsSettings settings = createSettings(roots);
+        settings.setCompareOnlyStructure(onlyStructure);
+        CompareObjectsExecutor executor = new CompareObjectsExecutor(settings);
+        try {
+            TestSink sink = new TestSink();
+            executor.compareObjects(new VoidProgressMonitor(), settings.getNodes(), sink);
+            return sink;
+        } finally {
+            executor.dispose();
+        }
+    }
+
+    private CompareObjectsSettings createSettings(DBNDatabaseNode... roots) {
+        CompareObjectsSettings settings = new CompareObjectsSettings(Arrays.asList(roots));
+        settings.setShowOnlyDifferences(true);
+        settings.setCompareOnlyStructure(true);
+        settings.setSkipSystemObjects(false);
+        return settings;
+    }
+
+    private DBNDatabaseNode createTree(String... childNames) throws DBException {
+        return createTree(() -> Status.OK_STATUS, childNames);
+    }
+
+    private DBNDatabaseNode createTree(Supplier<IStatus> rootStatus, String... childNames) throws DBException {
+        DBNDatabaseNode root = createNode("root", rootStatus);
+        List<DBNDatabaseNode> children = new ArrayList<>();
+        for (String childName : childNames) {
+            DBNDatabaseNode child = createNode(childName, () -> Status.OK_STATUS);
+            Mockito.when(child.isChildOf(root)).thenReturn(true);
+            children.add(child);
+        }
+        Mockito.when(root.getChildren(Mockito.any())).thenReturn(children.toArray(new DBNDatabaseNode[0]));
+        return root;
+    }
+
+    private DBNDatabaseNode createTree(TestObject child) throws DBException {
+        DBNDatabaseNode root = createNode("root", () -> Status.OK_STATUS);
+        DBNDatabaseNode childNode = createNode(child.getName(), () -> Status.OK_STATUS, child);
+        Mockito.when(childNode.isChildOf(root)).thenReturn(true);
+        Mockito.when(root.getChildren(Mockito.any())).thenReturn(new DBNDatabaseNode[] { childNode });
+        return root;
+    }
+
+    private DBNDatabaseNode createNode(String name, Supplier<IStatus> initStatus) throws DBException {
+        return createNode(name, initStatus, Mockito.mock(DBSObject.class));
+    }
+
+    private DBNDatabaseNode createNode(String name, Supplier<IStatus> initStatus, DBSObject object) throws DBException {
+        DBNDatabaseNode node = Mockito.mock(DBNDatabaseNode.class);
+        Mockito.when(node.getNodeName()).thenReturn(name);
+        Mockito.when(node.getNodeFullName()).thenReturn(name);
+        Mockito.when(node.getNodeType()).thenReturn("table");
+        Mockito.when(node.getObject()).thenReturn(object);
+        Mockito.when(node.getMeta()).thenReturn(meta);
+        Mockito.when(node.getDataSourceContainer()).thenReturn(dataSourceContainer);
+        Mockito.when(node.getChildren(Mockito.any())).thenReturn(new DBNDatabaseNode[0]);
+        Mockito.when(node.initializeNode(Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            DBRProgressListener listener = invocation.getArgument(1);
+            listener.onTaskFinished(initStatus.get());
+            return true;
+        });
+        return node;
+    }
+
+    public static class TestObject implements DBSObject {
+        private final String name;
+        private final Object value;
+
+        TestObject(String name, Object value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Property(viewable = true, order = 1)
+        public Object getValue() {
+            return value;
+        }
+
+        @Nullable
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @Override
+        public boolean isPersisted() {
+            return true;
+        }
+
+        @Nullable
+        @Override
+        public DBSObject getParentObject() {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public DBPDataSource getDataSource() {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + value;
+        }
+    }
+
+    private static class TestValue {
+        private final int id;
+
+        TestValue(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TestValue && ((TestValue) obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "value";
+        }
+    }
+
+    private static class TestSink implements CompareReportSink {
+        private final List<CompareReportLine> lines = new ArrayList<>();
+        private final List<Integer> skipped = new ArrayList<>();
+
+        @Override
+        public void reportStart(@NotNull List<DBNDatabaseNode> nodes) {
+        }
+
+        @Override
+        public void reportLine(@NotNull CompareReportLine line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void reportSkipped(int lineCount) {
+            skipped.add(lineCount);
+        }
+
+        @Override
+        public void reportEnd() {
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+public class ArrowIpcFormatTest {
+
+    private static final List<ColumnarColumn> COLUMNS = Arrays.asList(
+        new ColumnarColumn("flag", ColumnarDataType.BOOLEAN),
+        new ColumnarColumn("id", ColumnarDataType.INT64),
+        new ColumnarColumn("ratio", ColumnarDataType.FLOAT64),
+        new ColumnarColumn("amount", ColumnarDataType.DECIMAL, 20, 3),
+        new ColumnarColumn("day", ColumnarDataType.DATE),
+        new ColumnarColumn("created", ColumnarDataType.TIMESTAMP),
+        new ColumnarColumn("name", ColumnarDataType.STRING));
+
+    @Test
+    public void writeAndReadBatches() throws IOException {
+        final ColumnarVector[] vectors = new ColumnarVector[COLUMNS.size()];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = new ColumnarVector(COLUMNS.get(i));
+        }
+        for (int row = 0; row < 100; row++) {
+            final boolean nullRow = row % 10 == 0;
+            vectors[0].addValue(nullRow ? null : row % 2 == 0);
+            vectors[1].addValue(nullRow ? null : (long) row << 33);
+            vectors[2].addValue(nullRow ? null : row / 4.0);
+            vectors[3].addValue(nullRow ? null : new BigDecimal("-1234567890.125").add(BigDecimal.valueOf(row)));
+            vectors[4].addValue(nullRow ? null : Date.valueOf("2023-01-01"));
+            vectors[5].addValue(nullRow ? null : Timestamp.valueOf("2023-06-15 10:20:30.123456"));
+            vectors[6].addValue(nullRow ? null : "row " + row);
+        }
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ArrowIpcWriter writer = new ArrowIpcWriter(buffer, COLUMNS);
+        writer.writeHeader();
+        writer.writeBatch(vectors);
+        writer.writeBatch(vectors);
+        writer.writeFooter();
+
+        final byte[] data = buffer.toByteArray();
+        Assert.assertEquals("ARROW1", new String(data, 0, 6, StandardCharsets.US_ASCII));
+        Assert.assertEquals("ARROW1", new String(data, data.length - 6, 6, StandardCharsets.US_ASCII));
+
+        final ArrowIpcReader reader = new ArrowIpcReader(new ByteArrayInputStream(data));
+        Assert.assertEquals(COLUMNS.toString(), reader.readSchema().toString());
+        int batchCount = 0;
+        for (ColumnarVector[] batch = reader.readBatch(); batch != null; batch = reader.readBatch()) {
+            batchCount++;
+            for (int i = 0; i < vectors.length; i++) {
+                Assert.assertEquals(vectors[i].size(), batch[i].size());
+                Assert.assertEquals(vectors[i].getNullCount(), batch[i].getNullCount());
+                for (int row = 0; row < vectors[i].size(); row++) {
+                    Assert.assertEquals(vectors[i].getValue(row), batch[i].getValue(row));
+                }
+            }
+        }
+        Assert.assertEquals(2, batchCount);
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads golden files produced outside of DBeaver by fixtures/generate_columnar_fixtures.py.
+ * Expected values must be kept in sync with the script.
+ */
+public class ColumnarFixturesTest {
+
+    private static final int ROWS = 100;
+    private static final int BATCH_SIZE = 60;
+    private static final String[] WORDS = {"alpha", "beta", "gamma"};
+
+    @Test
+    public void readParquetSnappyDictionary() throws IOException {
+        readParquet("snappy_dictionary.parquet");
+    }
+
+    @Test
+    public void readParquetDataPageV2() throws IOException {
+        readParquet("data_page_v2.parquet");
+    }
+
+    @Test
+    public void readArrowStream() throws IOException {
+        readArrow("stream.arrows");
+    }
+
+    @Test
+    public void readArrowFile() throws IOException {
+        readArrow("file.arrow");
+    }
+
+    private void readParquet(String name) throws IOException {
+        final Path file = Files.createTempFile("dbeaver-test", ".parquet");
+        try {
+            try (InputStream in = openFixture(name)) {
+                Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (SeekableByteChannel channel = Files.newByteChannel(file); ParquetFileReader reader = new ParquetFileReader(channel)) {
+                Assert.assertEquals("[id INT64, note STRING, word STRING]", reader.readSchema().toString());
+                Assert.assertEquals(ROWS, reader.getRowCount());
+                final List<ColumnarVector[]> batches = readBatches(reader);
+                Assert.assertEquals(2, batches.size());
+                int row = 0;
+                for (ColumnarVector[] batch : batches) {
+                    Assert.assertEquals(Math.min(BATCH_SIZE, ROWS - row), batch[0].size());
+                    for (int i = 0; i < batch[0].size(); i++, row++) {
+                        Assert.assertEquals(row * 1000L, batch[0].getValue(i));
+                        Assert.assertEquals("row " + row + " of the golden columnar fixture", batch[1].getValue(i));
+                        Assert.assertEquals(getWord(row), batch[2].getValue(i));
+                    }
+                }
+                Assert.assertEquals(ROWS, row);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private void readArrow(String name) throws IOException {
+        try (ArrowIpcReader reader = new ArrowIpcReader(openFixture(name))) {
+            Assert.assertEquals(
+                "[id INT64, word STRING, price DECIMAL(9,2), flag BOOLEAN, created TIMESTAMP]",
+                reader.readSchema().toString());
+            final List<ColumnarVector[]> batches = readBatches(reader);
+            Assert.assertEquals(2, batches.size());
+            int row = 0;
+            for (ColumnarVector[] batch : batches) {
+                Assert.assertEquals(Math.min(BATCH_SIZE, ROWS - row), batch[0].size());
+                for (int i = 0; i < batch[0].size(); i++, row++) {
+                    Assert.assertEquals(row * 1000L, batch[0].getValue(i));
+                    Assert.assertEquals(getWord(row), batch[1].getValue(i));
+                    Assert.assertEquals(row % 5 == 0 ? null : BigDecimal.valueOf(row * 101L - 5000, 2), batch[2].getValue(i));
+                    Assert.assertEquals(row % 2 == 0, batch[3].getValue(i));
+                    Assert.assertEquals(
+                        Timestamp.valueOf(LocalDateTime.of(2023, 6, 15, 10, 20, 30).plusSeconds(row)),
+                        batch[4].getValue(i));
+                }
+            }
+            Assert.assertEquals(ROWS, row);
+        }
+    }
+
+    private static String getWord(int row) {
+        return row % 7 == 0 ? null : WORDS[row % 3];
+    }
+
+    private static List<ColumnarVector[]> readBatches(ColumnarReader reader) throws IOException {
+        final List<ColumnarVector[]> batches = new ArrayList<>();
+        for (ColumnarVector[] batch = reader.readBatch(); batch != null; batch = reader.readBatch()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private InputStream openFixture(String name) throws IOException {
+        final InputStream in = getClass().getResourceAsStream("fixtures/" + name);
+        if (in == null) {
+            throw new IOException("Fixture " + name + " not found");
+        }
+        return in;
+    }
+
+}
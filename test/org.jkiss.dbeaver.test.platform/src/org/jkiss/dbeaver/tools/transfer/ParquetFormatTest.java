@@ -0,0 +1,166 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+public class ParquetFormatTest {
+
+    private static final List<ColumnarColumn> COLUMNS = Arrays.asList(
+        new ColumnarColumn("flag", ColumnarDataType.BOOLEAN),
+        new ColumnarColumn("small", ColumnarDataType.INT32),
+        new ColumnarColumn("id", ColumnarDataType.INT64),
+        new ColumnarColumn("ratio", ColumnarDataType.FLOAT64),
+        new ColumnarColumn("price", ColumnarDataType.DECIMAL, 9, 2),
+        new ColumnarColumn("amount", ColumnarDataType.DECIMAL, 20, 3),
+        new ColumnarColumn("day", ColumnarDataType.DATE),
+        new ColumnarColumn("at", ColumnarDataType.TIME),
+        new ColumnarColumn("created", ColumnarDataType.TIMESTAMP),
+        new ColumnarColumn("updated", ColumnarDataType.TIMESTAMP_TZ),
+        new ColumnarColumn("name", ColumnarDataType.STRING),
+        new ColumnarColumn("payload", ColumnarDataType.BINARY));
+
+    @Test
+    public void writeAndReadUncompressed() throws IOException {
+        writeAndRead(ParquetFileWriter.Compression.NONE);
+    }
+
+    @Test
+    public void writeAndReadGzip() throws IOException {
+        writeAndRead(ParquetFileWriter.Compression.GZIP);
+    }
+
+    @Test
+    public void notParquetFile() throws IOException {
+        final Path file = Files.createTempFile("dbeaver-test", ".parquet");
+        try {
+            Files.write(file, "not a parquet file at all".getBytes());
+            try (ParquetFileReader reader = new ParquetFileReader(Files.newByteChannel(file))) {
+                reader.readSchema();
+                Assert.fail("Bad file must be rejected");
+            } catch (IOException e) {
+                Assert.assertEquals("Not a Parquet file", e.getMessage());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void integerOverflowIsRejected() {
+        final ColumnarVector int32 = new ColumnarVector(new ColumnarColumn("v", ColumnarDataType.INT32));
+        int32.addValue(Integer.MAX_VALUE);
+        Assert.assertThrows(ArithmeticException.class, () -> int32.addValue(Integer.MAX_VALUE + 1L));
+        Assert.assertThrows(ArithmeticException.class, () -> int32.addValue(new BigDecimal("1.5")));
+
+        final ColumnarVector int64 = new ColumnarVector(new ColumnarColumn("v", ColumnarDataType.INT64));
+        int64.addValue(new BigInteger("9223372036854775807"));
+        // Unsigned BIGINT value doesn't fit
+        Assert.assertThrows(ArithmeticException.class, () -> int64.addValue(new BigInteger("18446744073709551615")));
+        Assert.assertEquals(1, int64.size());
+        Assert.assertEquals(Long.MAX_VALUE, int64.getValue(0));
+    }
+
+    @Test
+    public void decimalScaleIsNotRounded() {
+        final ColumnarVector decimal = new ColumnarVector(new ColumnarColumn("v", ColumnarDataType.DECIMAL, 5, 1));
+        decimal.addValue(new BigDecimal("1.50"));
+        decimal.addValue(7);
+        Assert.assertThrows(IllegalArgumentException.class, () -> decimal.addValue(new BigDecimal("1.25")));
+        Assert.assertThrows(IllegalArgumentException.class, () -> decimal.addValue(new BigDecimal("123456")));
+        Assert.assertEquals(2, decimal.size());
+        Assert.assertEquals(new BigDecimal("1.5"), decimal.getValue(0));
+        Assert.assertEquals(new BigDecimal("7.0"), decimal.getValue(1));
+    }
+
+    private void writeAndRead(ParquetFileWriter.Compression compression) throws IOException {
+        final ColumnarVector[] vectors = new ColumnarVector[COLUMNS.size()];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = new ColumnarVector(COLUMNS.get(i));
+        }
+        // More than one data page per column chunk
+        final int rowCount = 25_000;
+        for (int row = 0; row < rowCount; row++) {
+            final boolean nullRow = row % 10 == 0;
+            vectors[0].addValue(nullRow ? null : row % 3 == 0);
+            vectors[1].addValue(nullRow ? null : -row);
+            vectors[2].addValue(nullRow ? null : (long) row << 33);
+            vectors[3].addValue(nullRow ? null : row / 4.0);
+            vectors[4].addValue(nullRow ? null : new BigDecimal("-12345.67").add(BigDecimal.valueOf(row)));
+            vectors[5].addValue(nullRow ? null : new BigDecimal("-1234567890123456.125").add(BigDecimal.valueOf(row)));
+            vectors[6].addValue(nullRow ? null : Date.valueOf("2023-01-01"));
+            vectors[7].addValue(nullRow ? null : Time.valueOf("10:20:30"));
+            vectors[8].addValue(nullRow ? null : Timestamp.valueOf("2023-06-15 10:20:30.123456"));
+            vectors[9].addValue(nullRow ? null : Instant.parse("2023-06-15T10:20:30.654321Z"));
+            // Column without nulls
+            vectors[10].addValue("row " + row);
+            vectors[11].addValue(nullRow ? null : new byte[]{(byte) row, (byte) (row >> 8)});
+        }
+
+        final Path file = Files.createTempFile("dbeaver-test", ".parquet");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                final ParquetFileWriter writer = new ParquetFileWriter(out, COLUMNS, compression);
+                writer.writeHeader();
+                writer.writeRowGroup(vectors);
+                writer.writeRowGroup(vectors);
+                writer.writeFooter();
+            }
+
+            try (SeekableByteChannel channel = Files.newByteChannel(file); ParquetFileReader reader = new ParquetFileReader(channel)) {
+                Assert.assertEquals(COLUMNS.toString(), reader.readSchema().toString());
+                Assert.assertEquals(rowCount * 2L, reader.getRowCount());
+                int batchCount = 0;
+                for (ColumnarVector[] batch = reader.readBatch(); batch != null; batch = reader.readBatch()) {
+                    batchCount++;
+                    for (int i = 0; i < vectors.length; i++) {
+                        Assert.assertEquals(vectors[i].size(), batch[i].size());
+                        Assert.assertEquals(vectors[i].getNullCount(), batch[i].getNullCount());
+                        for (int row = 0; row < vectors[i].size(); row++) {
+                            final Object expected = vectors[i].getValue(row);
+                            if (expected instanceof byte[]) {
+                                Assert.assertArrayEquals((byte[]) expected, (byte[]) batch[i].getValue(row));
+                            } else {
+                                Assert.assertEquals(COLUMNS.get(i).getName(), expected, batch[i].getValue(row));
+                            }
+                        }
+                    }
+                }
+                Assert.assertEquals(2, batchCount);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.dashboard.model.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DashboardDataSeriesTest {
+
+    private static final long MINUTE = DashboardDataSeries.Resolution.MINUTE.getPeriod();
+
+    @Test
+    public void testRawValuesAreKeptInRing() {
+        DashboardDataSeries series = new DashboardDataSeries("test", null, 3);
+        for (int i = 1; i <= 5; i++) {
+            Assert.assertTrue(series.addValue(i * 1000L, i));
+        }
+        Assert.assertEquals(3, series.getValueCount(DashboardDataSeries.Resolution.RAW));
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals((i + 3) * 1000L, series.getTime(DashboardDataSeries.Resolution.RAW, i));
+            Assert.assertEquals(i + 3, series.getValue(DashboardDataSeries.Resolution.RAW, i), 0);
+        }
+    }
+
+    @Test
+    public void testOutOfOrderValues() {
+        DashboardDataSeries series = new DashboardDataSeries("test", null, 10);
+        Assert.assertTrue(series.addValue(1000, 1));
+        Assert.assertTrue(series.addValue(3000, 3));
+        Assert.assertFalse(series.addValue(2000, 2));
+        // Value with the same time replaces the old one
+        Assert.assertFalse(series.addValue(3000, 30));
+
+        Assert.assertEquals(3, series.getValueCount(DashboardDataSeries.Resolution.RAW));
+        Assert.assertEquals(2000, series.getTime(DashboardDataSeries.Resolution.RAW, 1));
+        Assert.assertEquals(2, series.getValue(DashboardDataSeries.Resolution.RAW, 1), 0);
+        Assert.assertEquals(30, series.getValue(DashboardDataSeries.Resolution.RAW, 2), 0);
+    }
+
+    @Test
+    public void testMinuteAverages() {
+        DashboardDataSeries series = new DashboardDataSeries("test", null, 10);
+        series.addValue(0, 1);
+        series.addValue(MINUTE / 2, 3);
+        series.addValue(MINUTE + 1000, 10);
+
+        Assert.assertEquals(2, series.getValueCount(DashboardDataSeries.Resolution.MINUTE));
+        Assert.assertEquals(0, series.getTime(DashboardDataSeries.Resolution.MINUTE, 0));
+        Assert.assertEquals(2, series.getValue(DashboardDataSeries.Resolution.MINUTE, 0), 0);
+        Assert.assertEquals(MINUTE, series.getTime(DashboardDataSeries.Resolution.MINUTE, 1));
+        Assert.assertEquals(10, series.getValue(DashboardDataSeries.Resolution.MINUTE, 1), 0);
+        Assert.assertEquals(1, series.getValueCount(DashboardDataSeries.Resolution.TEN_MINUTES));
+        Assert.assertEquals(14 / 3.0, series.getValue(DashboardDataSeries.Resolution.TEN_MINUTES, 0), 1e-9);
+    }
+
+    @Test
+    public void testResolutionCoversPeriod() {
+        DashboardDataSeries series = new DashboardDataSeries("test", null, 10);
+        for (int i = 0; i < 100; i++) {
+            series.addValue(i * 10000L, i);
+        }
+        // Raw values cover the last 100 seconds only
+        Assert.assertEquals(DashboardDataSeries.Resolution.RAW, series.getResolution(950000));
+        Assert.assertEquals(DashboardDataSeries.Resolution.MINUTE, series.getResolution(0));
+
+        series.clear();
+        Assert.assertEquals(0, series.getValueCount(DashboardDataSeries.Resolution.RAW));
+        Assert.assertEquals(0, series.getValueCount(DashboardDataSeries.Resolution.MINUTE));
+        Assert.assertEquals(DashboardDataSeries.Resolution.RAW, series.getResolution(0));
+    }
+
+}
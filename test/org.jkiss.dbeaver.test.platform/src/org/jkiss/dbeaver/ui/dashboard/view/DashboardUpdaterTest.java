@@ -0,0 +1,124 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.dashboard.view;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPErrorAssistant;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.ui.dashboard.model.DashboardContainer;
+import org.jkiss.dbeaver.ui.dashboard.model.DashboardFetchType;
+import org.jkiss.dbeaver.ui.dashboard.model.DashboardQuery;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+
+public class DashboardUpdaterTest {
+
+    private DBCSession session;
+    private DBCExecutionContext executionContext;
+    private DBPDataSourceContainer dataSourceContainer;
+
+    @Before
+    public void setUp() throws DBCException {
+        dataSourceContainer = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(dataSourceContainer.getName()).thenReturn("test");
+        setDataSource(Mockito.mock(DBPDataSource.class));
+        setUpStatements();
+    }
+
+    @Test
+    public void testQueryErrorDisablesFailedDashboardOnly() throws DBCException {
+        DashboardContainer bad = createDashboard("bad");
+        DashboardContainer good = createDashboard("good");
+        Set<DashboardContainer> updated = new HashSet<>();
+
+        new DashboardUpdater().updateDashboards(session, Arrays.asList(bad, good), updated);
+
+        Mockito.verify(bad).disableAutoUpdate();
+        Mockito.verify(bad, Mockito.never()).updateDashboardData(Mockito.any());
+        Mockito.verify(good, Mockito.never()).disableAutoUpdate();
+        Mockito.verify(good).updateDashboardData(Mockito.any());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(bad, good)), updated);
+    }
+
+    @Test
+    public void testLostConnectionIsRethrown() throws DBCException {
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class, Mockito.withSettings().extraInterfaces(DBPErrorAssistant.class));
+        Mockito.when(((DBPErrorAssistant) dataSource).discoverErrorType(Mockito.any())).thenReturn(DBPErrorAssistant.ErrorType.CONNECTION_LOST);
+        setDataSource(dataSource);
+        setUpStatements();
+
+        DashboardContainer bad = createDashboard("bad");
+        DashboardContainer good = createDashboard("good");
+        Set<DashboardContainer> updated = new HashSet<>();
+
+        Assert.assertThrows(DBCException.class,
+            () -> new DashboardUpdater().updateDashboards(session, Arrays.asList(bad, good), updated));
+        // Dashboards are updated again after recover
+        Mockito.verify(bad, Mockito.never()).disableAutoUpdate();
+        Assert.assertTrue(updated.isEmpty());
+    }
+
+    private void setUpStatements() throws DBCException {
+        DBCStatement badStatement = Mockito.mock(DBCStatement.class);
+        Mockito.when(badStatement.executeStatement()).thenThrow(new DBCException("Broken query"));
+        Mockito.when(session.prepareStatement(Mockito.any(), Mockito.eq("select bad"), Mockito.anyBoolean(), Mockito.anyBoolean(), Mockito.anyBoolean()))
+            .thenReturn(badStatement);
+
+        DBCAttributeMetaData attribute = Mockito.mock(DBCAttributeMetaData.class);
+        Mockito.when(attribute.getLabel()).thenReturn("value");
+        DBCResultSetMetaData meta = Mockito.mock(DBCResultSetMetaData.class);
+        Mockito.when(meta.getAttributes()).thenAnswer(invocation -> Collections.singletonList(attribute));
+        DBCResultSet resultSet = Mockito.mock(DBCResultSet.class);
+        Mockito.when(resultSet.getMeta()).thenReturn(meta);
+        Mockito.when(resultSet.nextRow()).thenReturn(true, false);
+        Mockito.when(resultSet.getAttributeValue("value")).thenReturn(1);
+        DBCStatement goodStatement = Mockito.mock(DBCStatement.class);
+        Mockito.when(goodStatement.executeStatement()).thenReturn(true);
+        Mockito.when(goodStatement.openResultSet()).thenReturn(resultSet);
+        Mockito.when(session.prepareStatement(Mockito.any(), Mockito.eq("select good"), Mockito.anyBoolean(), Mockito.anyBoolean(), Mockito.anyBoolean()))
+            .thenReturn(goodStatement);
+    }
+
+    private void setDataSource(DBPDataSource dataSource) {
+        executionContext = Mockito.mock(DBCExecutionContext.class);
+        Mockito.when(executionContext.getDataSource()).thenReturn(dataSource);
+        session = Mockito.mock(DBCSession.class);
+        Mockito.when(session.getProgressMonitor()).thenReturn(new VoidProgressMonitor());
+        Mockito.when(session.getDataSource()).thenReturn(dataSource);
+        Mockito.when(session.getExecutionContext()).thenReturn(executionContext);
+    }
+
+    private DashboardContainer createDashboard(String name) {
+        DashboardQuery query = Mockito.mock(DashboardQuery.class);
+        Mockito.when(query.getQueryText()).thenReturn("select " + name);
+        DashboardContainer dashboard = Mockito.mock(DashboardContainer.class);
+        Mockito.when(dashboard.getDashboardId()).thenReturn(name);
+        Mockito.when(dashboard.getDataSourceContainer()).thenReturn(dataSourceContainer);
+        Mockito.when(dashboard.isAutoUpdateEnabled()).thenReturn(true);
+        Mockito.when(dashboard.getDashboardMaxItems()).thenReturn(100);
+        Mockito.when(dashboard.getDashboardFetchType()).thenReturn(DashboardFetchType.columns);
+        Mockito.doReturn(Collections.singletonList(query)).when(dashboard).getQueryList();
+        return dashboard;
+    }
+
+}